@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The primary metric from a single JMH benchmark run, as read from a JSON result file.
+ *
+ * @author Peter Abeles
+ */
+public class BenchmarkResult {
+    /** Fully qualified name of the benchmark method */
+    public String benchmark;
+    /** JMH benchmark mode, e.g. "thrpt", "avgt", "sample", "ss" */
+    public String mode;
+    /** Parameters the benchmark was run with, sorted by name */
+    public Map<String, String> params = new TreeMap<>();
+    /** The measured score */
+    public double score;
+    /** Half width of the confidence interval. NaN if it couldn't be computed. */
+    public double scoreError;
+    /** Units of the score */
+    public String scoreUnit;
+
+    /**
+     * Returns a string which uniquely identifies the benchmark and its parameters
+     */
+    public String getKey() {
+        var builder = new StringBuilder(benchmark);
+        builder.append(':').append(mode);
+        for (Map.Entry<String, String> e : params.entrySet()) {
+            builder.append(':').append(e.getKey()).append('=').append(e.getValue());
+        }
+        return builder.toString();
+    }
+
+    /**
+     * True if a larger score means the code ran faster
+     */
+    public boolean isHigherBetter() {
+        return "thrpt".equals(mode);
+    }
+
+    /**
+     * Reads all the results in a JMH JSON file
+     */
+    public static List<BenchmarkResult> load( Path path ) throws IOException {
+        return parse(new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses the contents of a JMH JSON file
+     */
+    @SuppressWarnings("unchecked")
+    public static List<BenchmarkResult> parse( String json ) {
+        Object root = JsonParser.parse(json);
+        if (!(root instanceof List))
+            throw new IllegalArgumentException("Expected an array of benchmark results");
+
+        var results = new ArrayList<BenchmarkResult>();
+        for (Object o : (List<Object>)root) {
+            var entry = (Map<String, Object>)o;
+            var metric = (Map<String, Object>)entry.get("primaryMetric");
+            if (metric == null)
+                throw new IllegalArgumentException("Missing primaryMetric");
+
+            var result = new BenchmarkResult();
+            result.benchmark = (String)entry.get("benchmark");
+            result.mode = (String)entry.get("mode");
+            var params = (Map<String, Object>)entry.get("params");
+            if (params != null) {
+                params.forEach(( key, value ) -> result.params.put(key, String.valueOf(value)));
+            }
+            result.score = toDouble(metric.get("score"));
+            result.scoreError = toDouble(metric.get("scoreError"));
+            result.scoreUnit = (String)metric.get("scoreUnit");
+            results.add(result);
+        }
+        return results;
+    }
+
+    /**
+     * JMH writes "NaN" as a string when the error can't be computed
+     */
+    private static double toDouble( Object o ) {
+        if (o instanceof Number)
+            return ((Number)o).doubleValue();
+        if (o instanceof String)
+            return Double.parseDouble((String)o);
+        return Double.NaN;
+    }
+
+    @Override
+    public String toString() {
+        return getKey() + " = " + score + " +- " + scoreError + " " + scoreUnit;
+    }
+}
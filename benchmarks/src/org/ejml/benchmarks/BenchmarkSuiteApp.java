@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs the benchmark suite and saves the results in a JSON file, which can then be compared against a previous run
+ * using {@link CompareBenchmarkResultsApp}. By default every benchmark in this module is run.
+ *
+ * <pre>
+ * --Include=regex      Only run benchmarks which match the regex. Can be specified multiple times.
+ * --Exclude=regex      Skip benchmarks which match the regex. Can be specified multiple times.
+ * --Param=name=a,b,c   Overrides the values of a benchmark parameter, e.g. --Param=size=100,1000
+ * --Output=file        Where the JSON results are saved. Default is "ejml_benchmarks.json"
+ * --Quick              Fewer and shorter iterations. Useful for checking that everything runs.
+ * </pre>
+ *
+ * @author Peter Abeles
+ */
+public class BenchmarkSuiteApp {
+    public static final String PACKAGE = "org.ejml.benchmarks";
+
+    public List<String> includes = new ArrayList<>();
+    public List<String> excludes = new ArrayList<>();
+    public List<String[]> params = new ArrayList<>();
+    public String outputPath = "ejml_benchmarks.json";
+    public boolean quick = false;
+
+    public void parseArguments( String[] args ) {
+        for (String arg : args) {
+            if (arg.isEmpty())
+                continue;
+            if (arg.startsWith("--Include=")) {
+                includes.add(value(arg));
+            } else if (arg.startsWith("--Exclude=")) {
+                excludes.add(value(arg));
+            } else if (arg.startsWith("--Output=")) {
+                outputPath = value(arg);
+            } else if (arg.startsWith("--Param=")) {
+                String[] words = value(arg).split("=", 2);
+                if (words.length != 2)
+                    throw new IllegalArgumentException("Expected --Param=name=values but got " + arg);
+                params.add(new String[]{words[0], words[1]});
+            } else if (arg.equals("--Quick")) {
+                quick = true;
+            } else {
+                throw new IllegalArgumentException("Unknown argument " + arg);
+            }
+        }
+    }
+
+    private static String value( String arg ) {
+        return arg.substring(arg.indexOf('=') + 1);
+    }
+
+    /**
+     * Creates the JMH options for the requested configuration
+     */
+    public ChainedOptionsBuilder createOptions() {
+        ChainedOptionsBuilder builder = new OptionsBuilder()
+                .resultFormat(ResultFormatType.JSON)
+                .result(outputPath)
+                .shouldFailOnError(true);
+
+        if (includes.isEmpty()) {
+            builder.include(PACKAGE + ".");
+        } else {
+            for (String regex : includes) {
+                builder.include(regex);
+            }
+        }
+        for (String regex : excludes) {
+            builder.exclude(regex);
+        }
+        for (String[] p : params) {
+            builder.param(p[0], p[1].split(","));
+        }
+
+        if (quick) {
+            builder.forks(1)
+                    .warmupIterations(1)
+                    .warmupTime(TimeValue.milliseconds(200))
+                    .measurementIterations(2)
+                    .measurementTime(TimeValue.milliseconds(200));
+        }
+        return builder;
+    }
+
+    public void process() throws RunnerException {
+        new Runner(createOptions().build()).run();
+        System.out.println("Saved results to " + outputPath);
+    }
+
+    public static void main( String[] args ) throws RunnerException {
+        var app = new BenchmarkSuiteApp();
+        app.parseArguments(args);
+        app.process();
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares benchmark results against a baseline and decides which ones have regressed. A benchmark has regressed
+ * when it's slower by more than the relative threshold and the difference is larger than the combined confidence
+ * interval of the two measurements, which prevents noisy benchmarks from being flagged.
+ *
+ * @author Peter Abeles
+ */
+public class CompareBenchmarkResults {
+    /** Relative change in runtime which is considered significant. 0.1 = 10% */
+    public double threshold = 0.10;
+
+    /** Benchmarks which are significantly slower than the baseline */
+    public final List<Change> regressions = new ArrayList<>();
+    /** Benchmarks which are significantly faster than the baseline */
+    public final List<Change> improvements = new ArrayList<>();
+    /** Benchmarks which are in the baseline but were not found in the current results */
+    public final List<BenchmarkResult> missing = new ArrayList<>();
+    /** Benchmarks which are in the current results but not in the baseline */
+    public final List<BenchmarkResult> added = new ArrayList<>();
+    /** Number of benchmarks which were compared */
+    public int totalCompared;
+
+    public CompareBenchmarkResults( double threshold ) {
+        this.threshold = threshold;
+    }
+
+    public CompareBenchmarkResults() {}
+
+    /**
+     * Compares the current results against the baseline
+     */
+    public void process( List<BenchmarkResult> baseline, List<BenchmarkResult> current ) {
+        regressions.clear();
+        improvements.clear();
+        missing.clear();
+        added.clear();
+        totalCompared = 0;
+
+        Map<String, BenchmarkResult> lookup = new HashMap<>();
+        for (BenchmarkResult r : current) {
+            lookup.put(r.getKey(), r);
+        }
+
+        for (BenchmarkResult b : baseline) {
+            BenchmarkResult c = lookup.remove(b.getKey());
+            if (c == null) {
+                missing.add(b);
+                continue;
+            }
+            totalCompared++;
+
+            var change = new Change(b, c);
+            if (!isSignificant(b, c, change.relative))
+                continue;
+            if (change.relative > 0)
+                regressions.add(change);
+            else
+                improvements.add(change);
+        }
+        // keep the order they were listed in
+        for (BenchmarkResult r : current) {
+            if (lookup.containsKey(r.getKey()))
+                added.add(r);
+        }
+
+        regressions.sort(( a, b ) -> Double.compare(b.relative, a.relative));
+        improvements.sort(( a, b ) -> Double.compare(a.relative, b.relative));
+    }
+
+    private boolean isSignificant( BenchmarkResult b, BenchmarkResult c, double relative ) {
+        if (Math.abs(relative) <= threshold)
+            return false;
+
+        // If the error is unknown then the threshold is all that can be used
+        double errorB = Double.isNaN(b.scoreError) ? 0.0 : b.scoreError;
+        double errorC = Double.isNaN(c.scoreError) ? 0.0 : c.scoreError;
+        return Math.abs(c.score - b.score) > errorB + errorC;
+    }
+
+    public boolean hasRegressions() {
+        return !regressions.isEmpty();
+    }
+
+    /**
+     * Describes how much a single benchmark has changed
+     */
+    public static class Change {
+        public final BenchmarkResult baseline;
+        public final BenchmarkResult current;
+        /** Relative change in runtime. Positive is slower and negative is faster. */
+        public final double relative;
+
+        public Change( BenchmarkResult baseline, BenchmarkResult current ) {
+            this.baseline = baseline;
+            this.current = current;
+            if (baseline.score == 0.0)
+                this.relative = 0.0;
+            else if (baseline.isHigherBetter())
+                this.relative = (baseline.score - current.score)/baseline.score;
+            else
+                this.relative = (current.score - baseline.score)/baseline.score;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-80s %12.4g -> %12.4g %-10s %+7.1f%%", baseline.getKey(),
+                    baseline.score, current.score, current.scoreUnit, 100.0*relative);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Compares two JSON result files created by {@link BenchmarkSuiteApp} and prints which benchmarks have changed.
+ * The exit code is 1 if there are any regressions, making it easy to use in a script.
+ *
+ * <pre>
+ * Usage: baseline.json current.json [--Threshold=0.1]
+ * </pre>
+ *
+ * @author Peter Abeles
+ */
+public class CompareBenchmarkResultsApp {
+    public static void printUsage() {
+        System.out.println("Usage: baseline.json current.json [--Threshold=0.1]");
+        System.out.println();
+        System.out.println("  --Threshold   Relative change in runtime that's considered significant. Default 0.1");
+    }
+
+    public static void print( String title, List<?> items ) {
+        if (items.isEmpty())
+            return;
+        System.out.println(title + ": " + items.size());
+        for (Object o : items) {
+            System.out.println("  " + o);
+        }
+        System.out.println();
+    }
+
+    public static void main( String[] args ) throws IOException {
+        String baselinePath = null;
+        String currentPath = null;
+        double threshold = 0.10;
+
+        for (String arg : args) {
+            if (arg.isEmpty())
+                continue;
+            if (arg.startsWith("--Threshold=")) {
+                threshold = Double.parseDouble(arg.substring("--Threshold=".length()));
+            } else if (arg.startsWith("--")) {
+                printUsage();
+                System.exit(2);
+            } else if (baselinePath == null) {
+                baselinePath = arg;
+            } else if (currentPath == null) {
+                currentPath = arg;
+            } else {
+                printUsage();
+                System.exit(2);
+            }
+        }
+        if (currentPath == null) {
+            printUsage();
+            System.exit(2);
+        }
+
+        var compare = new CompareBenchmarkResults(threshold);
+        compare.process(BenchmarkResult.load(Paths.get(baselinePath)), BenchmarkResult.load(Paths.get(currentPath)));
+
+        print("Regressions", compare.regressions);
+        print("Improvements", compare.improvements);
+        print("Missing", compare.missing);
+        print("Added", compare.added);
+        System.out.printf("Compared %d benchmarks. regressions=%d improvements=%d threshold=%.1f%%%n",
+                compare.totalCompared, compare.regressions.size(), compare.improvements.size(), 100.0*threshold);
+
+        if (compare.hasRegressions())
+            System.exit(1);
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.benchmarks;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal JSON parser which is just good enough to read the result files written by JMH. Objects are converted into
+ * a {@link Map}, arrays into a {@link List}, numbers into {@link Double}, and the remaining literals into
+ * {@link String}, {@link Boolean}, or null.
+ *
+ * @author Peter Abeles
+ */
+public class JsonParser {
+    private final String text;
+    private int index;
+
+    private JsonParser( String text ) {
+        this.text = text;
+    }
+
+    /**
+     * Parses the JSON document contained in the string
+     *
+     * @param text JSON document
+     * @return The root value
+     */
+    public static Object parse( String text ) {
+        var parser = new JsonParser(text);
+        Object value = parser.parseValue();
+        parser.skipWhitespace();
+        if (parser.index != text.length())
+            throw parser.error("Unexpected trailing characters");
+        return value;
+    }
+
+    private Object parseValue() {
+        skipWhitespace();
+        if (index >= text.length())
+            throw error("Unexpected end of document");
+
+        char c = text.charAt(index);
+        switch (c) {
+            case '{': return parseObject();
+            case '[': return parseArray();
+            case '"': return parseString();
+            case 't': return parseLiteral("true", Boolean.TRUE);
+            case 'f': return parseLiteral("false", Boolean.FALSE);
+            case 'n': return parseLiteral("null", null);
+            default: return parseNumber();
+        }
+    }
+
+    private Map<String, Object> parseObject() {
+        var map = new LinkedHashMap<String, Object>();
+        index++;
+        skipWhitespace();
+        if (peek() == '}') {
+            index++;
+            return map;
+        }
+        while (true) {
+            skipWhitespace();
+            if (peek() != '"')
+                throw error("Expected a key");
+            String key = parseString();
+            skipWhitespace();
+            expect(':');
+            map.put(key, parseValue());
+            skipWhitespace();
+            char c = next();
+            if (c == '}')
+                return map;
+            if (c != ',')
+                throw error("Expected ',' or '}'");
+        }
+    }
+
+    private List<Object> parseArray() {
+        var list = new ArrayList<>();
+        index++;
+        skipWhitespace();
+        if (peek() == ']') {
+            index++;
+            return list;
+        }
+        while (true) {
+            list.add(parseValue());
+            skipWhitespace();
+            char c = next();
+            if (c == ']')
+                return list;
+            if (c != ',')
+                throw error("Expected ',' or ']'");
+        }
+    }
+
+    private String parseString() {
+        expect('"');
+        var builder = new StringBuilder();
+        while (true) {
+            char c = next();
+            if (c == '"')
+                return builder.toString();
+            if (c != '\\') {
+                builder.append(c);
+                continue;
+            }
+            c = next();
+            switch (c) {
+                case 'b': builder.append('\b'); break;
+                case 'f': builder.append('\f'); break;
+                case 'n': builder.append('\n'); break;
+                case 'r': builder.append('\r'); break;
+                case 't': builder.append('\t'); break;
+                case 'u':
+                    if (index + 4 > text.length())
+                        throw error("Truncated unicode escape");
+                    builder.append((char)Integer.parseInt(text.substring(index, index + 4), 16));
+                    index += 4;
+                    break;
+                default: builder.append(c);
+            }
+        }
+    }
+
+    private Double parseNumber() {
+        int start = index;
+        while (index < text.length() && "+-0123456789.eE".indexOf(text.charAt(index)) >= 0) {
+            index++;
+        }
+        if (start == index)
+            throw error("Unexpected character '" + text.charAt(index) + "'");
+        return Double.parseDouble(text.substring(start, index));
+    }
+
+    private Object parseLiteral( String literal, Object value ) {
+        if (!text.startsWith(literal, index))
+            throw error("Unknown literal");
+        index += literal.length();
+        return value;
+    }
+
+    private void skipWhitespace() {
+        while (index < text.length() && Character.isWhitespace(text.charAt(index))) {
+            index++;
+        }
+    }
+
+    private char peek() {
+        if (index >= text.length())
+            throw error("Unexpected end of document");
+        return text.charAt(index);
+    }
+
+    private char next() {
+        char c = peek();
+        index++;
+        return c;
+    }
+
+    private void expect( char c ) {
+        if (next() != c)
+            throw error("Expected '" + c + "'");
+    }
+
+    private IllegalArgumentException error( String message ) {
+        return new IllegalArgumentException(message + " at character " + index);
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.benchmarks.dense;
+
+import org.ejml.data.BMatrixRMaj;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.CommonOps_DDRM;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Common operations on row-major dense matrices. At least one operation from each family in {@link CommonOps_DDRM} is
+ * covered: multiplication, element-wise operations, reductions, row/column operations, comparisons, sub-matrices,
+ * and linear algebra.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+public class BenchmarkCommonOps_DDRM {
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    public DMatrixRMaj A = new DMatrixRMaj(1, 1);
+    public DMatrixRMaj B = new DMatrixRMaj(1, 1);
+    public DMatrixRMaj C = new DMatrixRMaj(1, 1);
+    public DMatrixRMaj V = new DMatrixRMaj(1, 1);
+    public DMatrixRMaj S = new DMatrixRMaj(1, 1);
+    public BMatrixRMaj M = new BMatrixRMaj(1, 1);
+
+    @Setup
+    public void setup() {
+        var rand = new Random(234);
+
+        A.reshape(size, size);
+        B.reshape(size, size);
+        C.reshape(size, size);
+        V.reshape(size, 1);
+
+        RandomMatrices_DDRM.fillUniform(A, -1, 1, rand);
+        RandomMatrices_DDRM.fillUniform(B, -1, 1, rand);
+        RandomMatrices_DDRM.fillUniform(V, -1, 1, rand);
+        S.setTo(RandomMatrices_DDRM.symmetricPosDef(size, rand));
+        CommonOps_DDRM.elementLessThan(A, 0.0, M);
+    }
+
+    // @formatter:off
+    // Multiplication
+    @Benchmark public DMatrixRMaj mult() { return CommonOps_DDRM.mult(A, B, C); }
+    @Benchmark public DMatrixRMaj multTransA() { return CommonOps_DDRM.multTransA(A, B, C); }
+    @Benchmark public DMatrixRMaj multTransB() { return CommonOps_DDRM.multTransB(A, B, C); }
+    @Benchmark public DMatrixRMaj multTransAB() { return CommonOps_DDRM.multTransAB(A, B, C); }
+    @Benchmark public void multAdd() { CommonOps_DDRM.multAdd(A, B, C); }
+    @Benchmark public void multAddTransA() { CommonOps_DDRM.multAddTransA(A, B, C); }
+    @Benchmark public DMatrixRMaj multVector() { return CommonOps_DDRM.mult(A, V, C); }
+    @Benchmark public double dot() { return CommonOps_DDRM.dot(V, V); }
+    @Benchmark public DMatrixRMaj kron() { return CommonOps_DDRM.kron(V, V, C); }
+
+    // Element-wise
+    @Benchmark public DMatrixRMaj add() { return CommonOps_DDRM.add(A, B, C); }
+    @Benchmark public void scale() { CommonOps_DDRM.scale(1.5, A, C); }
+    @Benchmark public DMatrixRMaj elementMult() { return CommonOps_DDRM.elementMult(A, B, C); }
+    @Benchmark public DMatrixRMaj elementDiv() { return CommonOps_DDRM.elementDiv(A, B, C); }
+    @Benchmark public void abs() { CommonOps_DDRM.abs(A, C); }
+    @Benchmark public DMatrixRMaj apply() { return CommonOps_DDRM.apply(A, x -> x*x, C); }
+
+    // Reductions
+    @Benchmark public double elementSum() { return CommonOps_DDRM.elementSum(A); }
+    @Benchmark public double elementSumAbs() { return CommonOps_DDRM.elementSumAbs(A); }
+    @Benchmark public double elementMaxAbs() { return CommonOps_DDRM.elementMaxAbs(A); }
+    @Benchmark public double elementMin() { return CommonOps_DDRM.elementMin(A); }
+    @Benchmark public double trace() { return CommonOps_DDRM.trace(A); }
+
+    // Row and column operations
+    @Benchmark public DMatrixRMaj sumRows() { return CommonOps_DDRM.sumRows(A, V); }
+    @Benchmark public DMatrixRMaj sumCols() { return CommonOps_DDRM.sumCols(A, V); }
+    @Benchmark public DMatrixRMaj maxCols() { return CommonOps_DDRM.maxCols(A, V); }
+
+    // Comparisons
+    @Benchmark public BMatrixRMaj elementLessThan() { return CommonOps_DDRM.elementLessThan(A, B, M); }
+    @Benchmark public DMatrixRMaj elements() { return CommonOps_DDRM.elements(A, M, C); }
+    @Benchmark public int countTrue() { return CommonOps_DDRM.countTrue(M); }
+
+    // Sub-matrices and structure
+    @Benchmark public DMatrixRMaj transpose() { return CommonOps_DDRM.transpose(A, C); }
+    @Benchmark public void extract() { CommonOps_DDRM.extract(A, 0, size/2, 0, size/2, C, 0, 0); }
+    @Benchmark public void concatRows() { CommonOps_DDRM.concatRows(A, B, C); }
+    @Benchmark public DMatrixRMaj extractDiag() { return CommonOps_DDRM.extractDiag(A, V); }
+
+    // Linear algebra
+    @Benchmark public double det() { return CommonOps_DDRM.det(A); }
+    @Benchmark public boolean invert() { return CommonOps_DDRM.invert(A, C); }
+    @Benchmark public boolean invertSPD() { return CommonOps_DDRM.invertSPD(S, C); }
+    @Benchmark public boolean solve() { return CommonOps_DDRM.solve(A, B, C); }
+    @Benchmark public boolean solveSPD() { return CommonOps_DDRM.solveSPD(S, B, C); }
+    @Benchmark public void pinv() { CommonOps_DDRM.pinv(A, C); }
+    @Benchmark public DMatrixRMaj rref() { return CommonOps_DDRM.rref(A, -1, C); }
+    // @formatter:on
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.benchmarks.dense;
+
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.CommonOps_MT_DDRM;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Concurrent versions of the operations in {@link BenchmarkCommonOps_DDRM} so that the two can be compared directly.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+public class BenchmarkCommonOps_MT_DDRM {
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    public DMatrixRMaj A = new DMatrixRMaj(1, 1);
+    public DMatrixRMaj B = new DMatrixRMaj(1, 1);
+    public DMatrixRMaj C = new DMatrixRMaj(1, 1);
+
+    @Setup
+    public void setup() {
+        var rand = new Random(234);
+
+        A.reshape(size, size);
+        B.reshape(size, size);
+        C.reshape(size, size);
+
+        RandomMatrices_DDRM.fillUniform(A, -1, 1, rand);
+        RandomMatrices_DDRM.fillUniform(B, -1, 1, rand);
+    }
+
+    // @formatter:off
+    @Benchmark public void mult() { CommonOps_MT_DDRM.mult(A, B, C); }
+    @Benchmark public void multAdd() { CommonOps_MT_DDRM.multAdd(A, B, C); }
+    @Benchmark public void multTransA() { CommonOps_MT_DDRM.multTransA(A, B, C); }
+    @Benchmark public void multTransB() { CommonOps_MT_DDRM.multTransB(A, B, C); }
+    @Benchmark public void transpose() { CommonOps_MT_DDRM.transpose(A, C); }
+    // @formatter:on
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.benchmarks.dense;
+
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.ejml.dense.row.factory.DecompositionFactory_DDRM;
+import org.ejml.interfaces.decomposition.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decompositions of square row-major matrices created using the default factory settings.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+public class BenchmarkDecomposition_DDRM {
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    public DMatrixRMaj A, SPD;
+
+    CholeskyDecomposition_F64<DMatrixRMaj> chol;
+    LUDecomposition_F64<DMatrixRMaj> lu;
+    QRDecomposition<DMatrixRMaj> qr;
+    SingularValueDecomposition_F64<DMatrixRMaj> svd;
+    EigenDecomposition_F64<DMatrixRMaj> eigSymm;
+    EigenDecomposition_F64<DMatrixRMaj> eigGeneral;
+
+    @Setup
+    public void setup() {
+        var rand = new Random(234);
+        A = RandomMatrices_DDRM.rectangle(size, size, -1, 1, rand);
+        SPD = RandomMatrices_DDRM.symmetricPosDef(size, rand);
+
+        chol = DecompositionFactory_DDRM.chol(size, true);
+        lu = DecompositionFactory_DDRM.lu(size, size);
+        qr = DecompositionFactory_DDRM.qr(size, size);
+        svd = DecompositionFactory_DDRM.svd(size, size, true, true, true);
+        eigSymm = DecompositionFactory_DDRM.eig(size, true, true);
+        eigGeneral = DecompositionFactory_DDRM.eig(size, true, false);
+    }
+
+    // The input is copied since some decompositions modify it
+    // @formatter:off
+    @Benchmark public boolean cholesky() { return chol.decompose(SPD.copy()); }
+    @Benchmark public boolean lu() { return lu.decompose(A.copy()); }
+    @Benchmark public boolean qr() { return qr.decompose(A.copy()); }
+    @Benchmark public boolean svd() { return svd.decompose(A.copy()); }
+    @Benchmark public boolean eigSymmetric() { return eigSymm.decompose(SPD.copy()); }
+    @Benchmark public boolean eigGeneral() { return eigGeneral.decompose(A.copy()); }
+    // @formatter:on
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.benchmarks.dense;
+
+import org.ejml.data.*;
+import org.ejml.dense.fixed.CommonOps_DDF10;
+import org.ejml.dense.fixed.CommonOps_DDF12;
+import org.ejml.dense.fixed.CommonOps_DDF7;
+import org.ejml.dense.fixed.CommonOps_DDF8;
+import org.ejml.dense.row.CommonOps_DDRM;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares fixed sized matrices which are larger than 6x6, and are stored in arrays, against {@link DMatrixRMaj}
+ * of the same size.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+public class BenchmarkFixedLargeOps_DDF {
+    DMatrix7x7 a7 = new DMatrix7x7(), b7 = new DMatrix7x7(), c7 = new DMatrix7x7();
+    DMatrix8x8 a8 = new DMatrix8x8(), b8 = new DMatrix8x8(), c8 = new DMatrix8x8();
+    DMatrix10x10 a10 = new DMatrix10x10(), b10 = new DMatrix10x10(), c10 = new DMatrix10x10();
+    DMatrix12x12 a12 = new DMatrix12x12(), b12 = new DMatrix12x12(), c12 = new DMatrix12x12();
+
+    DMatrixRMaj ra7 = new DMatrixRMaj(7, 7), rb7 = new DMatrixRMaj(7, 7), rc7 = new DMatrixRMaj(7, 7);
+    DMatrixRMaj ra8 = new DMatrixRMaj(8, 8), rb8 = new DMatrixRMaj(8, 8), rc8 = new DMatrixRMaj(8, 8);
+    DMatrixRMaj ra10 = new DMatrixRMaj(10, 10), rb10 = new DMatrixRMaj(10, 10), rc10 = new DMatrixRMaj(10, 10);
+    DMatrixRMaj ra12 = new DMatrixRMaj(12, 12), rb12 = new DMatrixRMaj(12, 12), rc12 = new DMatrixRMaj(12, 12);
+
+    @Setup
+    public void setup() {
+        var rand = new Random(234);
+        for (DMatrixFixed m : new DMatrixFixed[]{a7, b7, a8, b8, a10, b10, a12, b12}) {
+            fill(m, rand);
+        }
+        ra7.setTo(a7); rb7.setTo(b7);
+        ra8.setTo(a8); rb8.setTo(b8);
+        ra10.setTo(a10); rb10.setTo(b10);
+        ra12.setTo(a12); rb12.setTo(b12);
+    }
+
+    private static void fill( DMatrixFixed m, Random rand ) {
+        for (int row = 0; row < m.getNumRows(); row++) {
+            for (int col = 0; col < m.getNumCols(); col++) {
+                m.set(row, col, rand.nextDouble()*2.0 - 1.0);
+            }
+        }
+    }
+
+    // @formatter:off
+    @Benchmark public void mult7() { CommonOps_DDF7.mult(a7, b7, c7); }
+    @Benchmark public void mult8() { CommonOps_DDF8.mult(a8, b8, c8); }
+    @Benchmark public void mult10() { CommonOps_DDF10.mult(a10, b10, c10); }
+    @Benchmark public void mult12() { CommonOps_DDF12.mult(a12, b12, c12); }
+    @Benchmark public void mult7_rmaj() { CommonOps_DDRM.mult(ra7, rb7, rc7); }
+    @Benchmark public void mult8_rmaj() { CommonOps_DDRM.mult(ra8, rb8, rc8); }
+    @Benchmark public void mult10_rmaj() { CommonOps_DDRM.mult(ra10, rb10, rc10); }
+    @Benchmark public void mult12_rmaj() { CommonOps_DDRM.mult(ra12, rb12, rc12); }
+    @Benchmark public void multTransB7() { CommonOps_DDF7.multTransB(a7, b7, c7); }
+    @Benchmark public void multTransB12() { CommonOps_DDF12.multTransB(a12, b12, c12); }
+    @Benchmark public void multTransB7_rmaj() { CommonOps_DDRM.multTransB(ra7, rb7, rc7); }
+    @Benchmark public void multTransB12_rmaj() { CommonOps_DDRM.multTransB(ra12, rb12, rc12); }
+    @Benchmark public void add8() { CommonOps_DDF8.add(a8, b8, c8); }
+    @Benchmark public void add12() { CommonOps_DDF12.add(a12, b12, c12); }
+    @Benchmark public void add8_rmaj() { CommonOps_DDRM.add(ra8, rb8, rc8); }
+    @Benchmark public void add12_rmaj() { CommonOps_DDRM.add(ra12, rb12, rc12); }
+    @Benchmark public DMatrix8x8 transpose8() { return CommonOps_DDF8.transpose(a8, c8); }
+    @Benchmark public DMatrix12x12 transpose12() { return CommonOps_DDF12.transpose(a12, c12); }
+    @Benchmark public DMatrixRMaj transpose8_rmaj() { return CommonOps_DDRM.transpose(ra8, rc8); }
+    @Benchmark public DMatrixRMaj transpose12_rmaj() { return CommonOps_DDRM.transpose(ra12, rc12); }
+    // @formatter:on
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.benchmarks.dense;
+
+import org.ejml.data.*;
+import org.ejml.dense.fixed.CommonOps_DDF2;
+import org.ejml.dense.fixed.CommonOps_DDF3;
+import org.ejml.dense.fixed.CommonOps_DDF4;
+import org.ejml.dense.fixed.CommonOps_DDF5;
+import org.ejml.dense.fixed.CommonOps_DDF6;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Operations on fixed sized matrices. These are small enough that the results are reported in nanoseconds.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+public class BenchmarkFixedOps_DDF {
+    DMatrix2x2 a2 = new DMatrix2x2(), b2 = new DMatrix2x2(), c2 = new DMatrix2x2();
+    DMatrix3x3 a3 = new DMatrix3x3(), b3 = new DMatrix3x3(), c3 = new DMatrix3x3();
+    DMatrix4x4 a4 = new DMatrix4x4(), b4 = new DMatrix4x4(), c4 = new DMatrix4x4();
+    DMatrix5x5 a5 = new DMatrix5x5(), b5 = new DMatrix5x5(), c5 = new DMatrix5x5();
+    DMatrix6x6 a6 = new DMatrix6x6(), b6 = new DMatrix6x6(), c6 = new DMatrix6x6();
+
+    @Setup
+    public void setup() {
+        var rand = new Random(234);
+        for (DMatrixFixed m : new DMatrixFixed[]{a2, b2, a3, b3, a4, b4, a5, b5, a6, b6}) {
+            fill(m, rand);
+        }
+    }
+
+    private static void fill( DMatrixFixed m, Random rand ) {
+        for (int row = 0; row < m.getNumRows(); row++) {
+            for (int col = 0; col < m.getNumCols(); col++) {
+                m.set(row, col, rand.nextDouble()*2.0 - 1.0);
+            }
+        }
+    }
+
+    // @formatter:off
+    @Benchmark public void mult2() { CommonOps_DDF2.mult(a2, b2, c2); }
+    @Benchmark public void mult3() { CommonOps_DDF3.mult(a3, b3, c3); }
+    @Benchmark public void mult4() { CommonOps_DDF4.mult(a4, b4, c4); }
+    @Benchmark public void mult5() { CommonOps_DDF5.mult(a5, b5, c5); }
+    @Benchmark public void mult6() { CommonOps_DDF6.mult(a6, b6, c6); }
+    @Benchmark public boolean invert2() { return CommonOps_DDF2.invert(a2, c2); }
+    @Benchmark public boolean invert3() { return CommonOps_DDF3.invert(a3, c3); }
+    @Benchmark public boolean invert4() { return CommonOps_DDF4.invert(a4, c4); }
+    @Benchmark public boolean invert5() { return CommonOps_DDF5.invert(a5, c5); }
+    @Benchmark public double det2() { return CommonOps_DDF2.det(a2); }
+    @Benchmark public double det3() { return CommonOps_DDF3.det(a3); }
+    @Benchmark public double det4() { return CommonOps_DDF4.det(a4); }
+    @Benchmark public double det5() { return CommonOps_DDF5.det(a5); }
+    @Benchmark public DMatrix3x3 transpose3() { return CommonOps_DDF3.transpose(a3, c3); }
+    @Benchmark public DMatrix6x6 transpose6() { return CommonOps_DDF6.transpose(a6, c6); }
+    // @formatter:on
+}
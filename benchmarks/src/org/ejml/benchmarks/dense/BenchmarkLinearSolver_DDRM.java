@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.benchmarks.dense;
+
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.ejml.dense.row.factory.LinearSolverFactory_DDRM;
+import org.ejml.dense.row.factory.LinearSolverFactory_MT_DDRM;
+import org.ejml.interfaces.linsol.LinearSolverDense;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Solves a square system with multiple right hand sides using the single and multi threaded solvers.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+public class BenchmarkLinearSolver_DDRM {
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    public DMatrixRMaj A, SPD, B, X;
+
+    LinearSolverDense<DMatrixRMaj> lu, qr, chol, chol_MT, qr_MT;
+
+    @Setup
+    public void setup() {
+        var rand = new Random(234);
+        A = RandomMatrices_DDRM.rectangle(size, size, -1, 1, rand);
+        SPD = RandomMatrices_DDRM.symmetricPosDef(size, rand);
+        B = RandomMatrices_DDRM.rectangle(size, 5, -1, 1, rand);
+        X = new DMatrixRMaj(size, 5);
+
+        lu = LinearSolverFactory_DDRM.lu(size);
+        qr = LinearSolverFactory_DDRM.qr(size, size);
+        chol = LinearSolverFactory_DDRM.chol(size);
+        qr_MT = LinearSolverFactory_MT_DDRM.qr(size, size);
+        chol_MT = LinearSolverFactory_MT_DDRM.chol(size);
+    }
+
+    private static void solve( LinearSolverDense<DMatrixRMaj> solver, DMatrixRMaj A, DMatrixRMaj B, DMatrixRMaj X ) {
+        if (solver.modifiesA())
+            A = A.copy();
+        if (!solver.setA(A))
+            throw new RuntimeException("Solver failed");
+        solver.solve(B, X);
+    }
+
+    // @formatter:off
+    @Benchmark public void lu() { solve(lu, A, B, X); }
+    @Benchmark public void qr() { solve(qr, A, B, X); }
+    @Benchmark public void chol() { solve(chol, SPD, B, X); }
+    @Benchmark public void qr_MT() { solve(qr_MT, A, B, X); }
+    @Benchmark public void chol_MT() { solve(chol_MT, SPD, B, X); }
+    // @formatter:on
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.benchmarks.sparse;
+
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+import org.ejml.sparse.csc.RandomMatrices_DSCC;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Common operations on compressed sparse column matrices with a fixed number of non-zero elements per column.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+public class BenchmarkCommonOps_DSCC {
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    @Param({"10"})
+    public int countPerColumn;
+
+    DMatrixSparseCSC A, B, C = new DMatrixSparseCSC(1, 1);
+    DMatrixRMaj denseB, denseC = new DMatrixRMaj(1, 1);
+
+    @Setup
+    public void setup() {
+        var rand = new Random(234);
+        A = RandomMatrices_DSCC.generateUniform(size, size, countPerColumn, -1, 1, rand);
+        B = CommonOps_DSCC.transpose(A, null, null);
+        denseB = RandomMatrices_DDRM.rectangle(size, 5, -1, 1, rand);
+    }
+
+    // @formatter:off
+    @Benchmark public void mult() { CommonOps_DSCC.mult(A, B, C); }
+    @Benchmark public void multTransADense() { CommonOps_DSCC.multTransA(A, denseB, denseC, null); }
+    @Benchmark public void multDense() { CommonOps_DSCC.mult(A, denseB, denseC); }
+    @Benchmark public void add() { CommonOps_DSCC.add(1.5, A, 2.5, B, C, null, null); }
+    @Benchmark public void transpose() { CommonOps_DSCC.transpose(A, C, null); }
+    @Benchmark public double elementSum() { return CommonOps_DSCC.elementSum(A); }
+    // @formatter:on
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.benchmarks.sparse;
+
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.interfaces.decomposition.CholeskySparseDecomposition_F64;
+import org.ejml.interfaces.decomposition.LUSparseDecomposition_F64;
+import org.ejml.interfaces.decomposition.QRSparseDecomposition;
+import org.ejml.sparse.FillReducing;
+import org.ejml.sparse.csc.factory.DecompositionFactory_DSCC;
+import org.ejml.sparse.csc.factory.DecompositionFactory_MT_DSCC;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sparse decompositions of the 2D Laplacian. See {@link BenchmarkLinearSolver_DSCC#laplacian2D}.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+public class BenchmarkDecomposition_DSCC {
+    /** Number of grid points along each side */
+    @Param({"30", "100"})
+    public int gridSize;
+
+    DMatrixSparseCSC A;
+
+    CholeskySparseDecomposition_F64 cholesky, cholesky_MT;
+    LUSparseDecomposition_F64<DMatrixSparseCSC> lu;
+    QRSparseDecomposition<DMatrixSparseCSC> qr;
+
+    @Setup
+    public void setup() {
+        A = BenchmarkLinearSolver_DSCC.laplacian2D(gridSize);
+
+        cholesky = DecompositionFactory_DSCC.cholesky();
+        cholesky_MT = DecompositionFactory_MT_DSCC.cholesky();
+        lu = DecompositionFactory_DSCC.lu(FillReducing.NONE);
+        qr = DecompositionFactory_DSCC.qr(FillReducing.NONE);
+    }
+
+    // @formatter:off
+    @Benchmark public boolean cholesky() { return cholesky.decompose(A); }
+    @Benchmark public boolean cholesky_MT() { return cholesky_MT.decompose(A); }
+    @Benchmark public boolean lu() { return lu.decompose(A); }
+    @Benchmark public boolean qr() { return qr.decompose(A); }
+    // @formatter:on
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.benchmarks.sparse;
+
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.data.DMatrixSparseTriplet;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.ejml.interfaces.linsol.LinearSolverSparse;
+import org.ejml.ops.DConvertMatrixStruct;
+import org.ejml.sparse.FillReducing;
+import org.ejml.sparse.csc.factory.LinearSolverFactory_DSCC;
+import org.ejml.sparse.csc.factory.LinearSolverFactory_MT_DSCC;
+import org.ejml.sparse.csc.linsol.iterative.PreconditionerIC0_DSCC;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Direct and iterative sparse solvers applied to the 5-point Laplacian on a square grid, which is the sort of
+ * symmetric positive definite system that comes up when discretizing PDEs.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+public class BenchmarkLinearSolver_DSCC {
+    /** Number of grid points along each side */
+    @Param({"30", "100"})
+    public int gridSize;
+
+    DMatrixSparseCSC A;
+    DMatrixRMaj B, X;
+
+    LinearSolverSparse<DMatrixSparseCSC, DMatrixRMaj> cholesky, lu, qr, cg, cholesky_MT, cg_MT;
+
+    @Setup
+    public void setup() {
+        var rand = new Random(234);
+        A = laplacian2D(gridSize);
+        B = RandomMatrices_DDRM.rectangle(A.numRows, 1, -1, 1, rand);
+        X = new DMatrixRMaj(A.numRows, 1);
+
+        cholesky = LinearSolverFactory_DSCC.cholesky(FillReducing.NONE);
+        lu = LinearSolverFactory_DSCC.lu(FillReducing.NONE);
+        qr = LinearSolverFactory_DSCC.qr(FillReducing.NONE);
+        cg = LinearSolverFactory_DSCC.conjugateGradient(new PreconditionerIC0_DSCC());
+        cholesky_MT = LinearSolverFactory_MT_DSCC.cholesky(FillReducing.NONE);
+        cg_MT = LinearSolverFactory_MT_DSCC.conjugateGradient(new PreconditionerIC0_DSCC());
+    }
+
+    /**
+     * Creates the 5-point Laplacian for a grid with N points along each side.
+     */
+    public static DMatrixSparseCSC laplacian2D( int N ) {
+        var triplet = new DMatrixSparseTriplet(N*N, N*N, 5*N*N);
+        for (int y = 0; y < N; y++) {
+            for (int x = 0; x < N; x++) {
+                int i = y*N + x;
+                triplet.addItem(i, i, 4.0);
+                if (x > 0) triplet.addItem(i, i - 1, -1.0);
+                if (x + 1 < N) triplet.addItem(i, i + 1, -1.0);
+                if (y > 0) triplet.addItem(i, i - N, -1.0);
+                if (y + 1 < N) triplet.addItem(i, i + N, -1.0);
+            }
+        }
+        return DConvertMatrixStruct.convert(triplet, (DMatrixSparseCSC)null);
+    }
+
+    private void solve( LinearSolverSparse<DMatrixSparseCSC, DMatrixRMaj> solver ) {
+        if (!solver.setA(solver.modifiesA() ? A.copy() : A))
+            throw new RuntimeException("Solver failed");
+        solver.solve(B, X);
+    }
+
+    // @formatter:off
+    @Benchmark public void cholesky() { solve(cholesky); }
+    @Benchmark public void lu() { solve(lu); }
+    @Benchmark public void qr() { solve(qr); }
+    @Benchmark public void conjugateGradient() { solve(cg); }
+    @Benchmark public void cholesky_MT() { solve(cholesky_MT); }
+    @Benchmark public void conjugateGradient_MT() { solve(cg_MT); }
+    // @formatter:on
+}
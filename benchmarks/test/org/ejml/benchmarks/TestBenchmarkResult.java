@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.benchmarks;
+
+import org.ejml.EjmlStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestBenchmarkResult extends EjmlStandardJUnit {
+    /** Trimmed down version of what JMH writes */
+    public static final String EXAMPLE = "[\n" +
+            "    {\n" +
+            "        \"jmhVersion\" : \"1.33\",\n" +
+            "        \"benchmark\" : \"org.ejml.benchmarks.dense.BenchmarkCommonOps_DDRM.mult\",\n" +
+            "        \"mode\" : \"avgt\",\n" +
+            "        \"threads\" : 1,\n" +
+            "        \"forks\" : 1,\n" +
+            "        \"jvmArgs\" : [ ],\n" +
+            "        \"params\" : {\n" +
+            "            \"size\" : \"100\"\n" +
+            "        },\n" +
+            "        \"primaryMetric\" : {\n" +
+            "            \"score\" : 0.1234,\n" +
+            "            \"scoreError\" : 0.0021,\n" +
+            "            \"scoreConfidence\" : [ 0.1213, 0.1255 ],\n" +
+            "            \"scoreUnit\" : \"ms/op\",\n" +
+            "            \"rawData\" : [ [ 0.12, 1.2e-1 ] ]\n" +
+            "        },\n" +
+            "        \"secondaryMetrics\" : { }\n" +
+            "    },\n" +
+            "    {\n" +
+            "        \"benchmark\" : \"org.ejml.benchmarks.dense.BenchmarkFixedOps_DDF.det3\",\n" +
+            "        \"mode\" : \"thrpt\",\n" +
+            "        \"primaryMetric\" : {\n" +
+            "            \"score\" : 5.5E7,\n" +
+            "            \"scoreError\" : \"NaN\",\n" +
+            "            \"scoreUnit\" : \"ops/s\"\n" +
+            "        }\n" +
+            "    }\n" +
+            "]\n";
+
+    @Test void parse() {
+        var results = BenchmarkResult.parse(EXAMPLE);
+        assertEquals(2, results.size());
+
+        BenchmarkResult a = results.get(0);
+        assertEquals("org.ejml.benchmarks.dense.BenchmarkCommonOps_DDRM.mult", a.benchmark);
+        assertEquals("avgt", a.mode);
+        assertEquals("100", a.params.get("size"));
+        assertEquals(0.1234, a.score);
+        assertEquals(0.0021, a.scoreError);
+        assertEquals("ms/op", a.scoreUnit);
+        assertFalse(a.isHigherBetter());
+
+        BenchmarkResult b = results.get(1);
+        assertTrue(b.params.isEmpty());
+        assertEquals(5.5e7, b.score);
+        assertTrue(Double.isNaN(b.scoreError));
+        assertTrue(b.isHigherBetter());
+    }
+
+    @Test void getKey_params() {
+        var a = new BenchmarkResult();
+        a.benchmark = "foo";
+        a.mode = "avgt";
+        a.params.put("size", "10");
+        a.params.put("alpha", "2");
+
+        var b = new BenchmarkResult();
+        b.benchmark = "foo";
+        b.mode = "avgt";
+        b.params.put("alpha", "2");
+        b.params.put("size", "10");
+
+        // order the parameters were added shouldn't matter
+        assertEquals(a.getKey(), b.getKey());
+
+        b.params.put("size", "11");
+        assertNotEquals(a.getKey(), b.getKey());
+    }
+
+    @Test void parse_malformed() {
+        assertThrows(IllegalArgumentException.class, () -> BenchmarkResult.parse("[{\"benchmark\" : \"foo\"}]"));
+        assertThrows(IllegalArgumentException.class, () -> BenchmarkResult.parse("[{\"benchmark\" : \"foo\""));
+        assertThrows(IllegalArgumentException.class, () -> BenchmarkResult.parse("{}"));
+    }
+
+    @Test void jsonEscapes() {
+        assertEquals("a\"b\\c\ndé", JsonParser.parse("\"a\\\"b\\\\c\\nd\\u00e9\""));
+    }
+}
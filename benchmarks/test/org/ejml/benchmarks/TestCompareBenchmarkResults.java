@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.benchmarks;
+
+import org.ejml.EjmlStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestCompareBenchmarkResults extends EjmlStandardJUnit {
+    @Test void lowerIsBetter() {
+        var alg = new CompareBenchmarkResults(0.1);
+
+        // 20% slower and outside the error
+        alg.process(List.of(create("a", "avgt", 1.0, 0.01)), List.of(create("a", "avgt", 1.2, 0.01)));
+        assertEquals(1, alg.totalCompared);
+        assertEquals(1, alg.regressions.size());
+        assertEquals(0.2, alg.regressions.get(0).relative, 1e-8);
+        assertTrue(alg.improvements.isEmpty());
+
+        // 20% faster
+        alg.process(List.of(create("a", "avgt", 1.0, 0.01)), List.of(create("a", "avgt", 0.8, 0.01)));
+        assertTrue(alg.regressions.isEmpty());
+        assertEquals(1, alg.improvements.size());
+
+        // 5% slower is below the threshold
+        alg.process(List.of(create("a", "avgt", 1.0, 0.01)), List.of(create("a", "avgt", 1.05, 0.01)));
+        assertFalse(alg.hasRegressions());
+    }
+
+    @Test void higherIsBetter() {
+        var alg = new CompareBenchmarkResults(0.1);
+
+        // throughput dropped, so it's slower
+        alg.process(List.of(create("a", "thrpt", 100, 1)), List.of(create("a", "thrpt", 70, 1)));
+        assertEquals(1, alg.regressions.size());
+        assertEquals(0.3, alg.regressions.get(0).relative, 1e-8);
+
+        alg.process(List.of(create("a", "thrpt", 100, 1)), List.of(create("a", "thrpt", 130, 1)));
+        assertFalse(alg.hasRegressions());
+        assertEquals(1, alg.improvements.size());
+    }
+
+    /**
+     * Changes inside the confidence interval are considered noise
+     */
+    @Test void withinError() {
+        var alg = new CompareBenchmarkResults(0.1);
+        alg.process(List.of(create("a", "avgt", 1.0, 0.2)), List.of(create("a", "avgt", 1.3, 0.2)));
+        assertFalse(alg.hasRegressions());
+
+        // unknown error falls back on the threshold
+        alg.process(List.of(create("a", "avgt", 1.0, Double.NaN)), List.of(create("a", "avgt", 1.3, Double.NaN)));
+        assertTrue(alg.hasRegressions());
+    }
+
+    @Test void matchByParams() {
+        BenchmarkResult b10 = create("a", "avgt", 1.0, 0.0);
+        BenchmarkResult b20 = create("a", "avgt", 2.0, 0.0);
+        BenchmarkResult c10 = create("a", "avgt", 1.0, 0.0);
+        BenchmarkResult c30 = create("a", "avgt", 9.0, 0.0);
+        b10.params.put("size", "10");
+        b20.params.put("size", "20");
+        c10.params.put("size", "10");
+        c30.params.put("size", "30");
+
+        var alg = new CompareBenchmarkResults();
+        alg.process(List.of(b10, b20), List.of(c30, c10));
+        assertEquals(1, alg.totalCompared);
+        assertFalse(alg.hasRegressions());
+        assertEquals(1, alg.missing.size());
+        assertSame(b20, alg.missing.get(0));
+        assertEquals(1, alg.added.size());
+        assertSame(c30, alg.added.get(0));
+    }
+
+    @Test void sortedWorstFirst() {
+        var alg = new CompareBenchmarkResults(0.1);
+        alg.process(List.of(create("a", "avgt", 1.0, 0), create("b", "avgt", 1.0, 0)),
+                List.of(create("a", "avgt", 1.5, 0), create("b", "avgt", 3.0, 0)));
+        assertEquals(2, alg.regressions.size());
+        assertEquals("b", alg.regressions.get(0).baseline.benchmark);
+        assertEquals("a", alg.regressions.get(1).baseline.benchmark);
+    }
+
+    private static BenchmarkResult create( String name, String mode, double score, double error ) {
+        var r = new BenchmarkResult();
+        r.benchmark = name;
+        r.mode = mode;
+        r.score = score;
+        r.scoreError = error;
+        r.scoreUnit = "ms/op";
+        return r;
+    }
+}
@@ -31,8 +31,11 @@ public class GenerateMatrixFixedN extends CodeGeneratorBase {
 
     @Override
     public void generate() throws FileNotFoundException {
-        for (int dimension = 2; dimension <= 6; dimension++) {
-            print(dimension);
+        for (int dimension = 2; dimension <= GenerateMatrixFixedNxN.MAX_DIMENSION; dimension++) {
+            if (GenerateMatrixFixedNxN.isUnrolled(dimension))
+                print(dimension);
+            else
+                printArray(dimension);
         }
     }
 
@@ -128,6 +131,109 @@ public class GenerateMatrixFixedN extends CodeGeneratorBase {
                 "}\n\n");
     }
 
+    /**
+     * Vector which stores its elements in an array
+     */
+    public void printArray( int dimen ) throws FileNotFoundException {
+        String className = classPreamble + dimen;
+
+        setOutputFile(className);
+
+        out.print("import org.ejml.ops.MatrixIO;\n" +
+                "\n" +
+                "/**\n" +
+                " * Fixed sized vector with " + dimen + " elements. Can represent a " + dimen + " x 1 or 1 x " + dimen + " matrix, context dependent.\n" +
+                " * The elements are stored in an array which always has a length of " + dimen + ".\n" +
+                standardClassDocClosing("Peter Abeles") +
+                "public class " + className + " implements DMatrixFixed {\n" +
+                "    public final double[] data = new double[" + dimen + "];\n" +
+                "\n" +
+                "    public " + className + "() {}\n" +
+                "\n" +
+                "    public " + className + "( " + className + " o ) {\n" +
+                "        System.arraycopy(o.data, 0, data, 0, " + dimen + ");\n" +
+                "    }\n" +
+                "\n" +
+                "    @Override public void zero() {\n" +
+                "        for (int i = 0; i < " + dimen + "; i++) {\n" +
+                "            data[i] = 0.0;\n" +
+                "        }\n" +
+                "    }\n" +
+                "\n" +
+                "    public void setTo( " + className + " o ) {\n" +
+                "        System.arraycopy(o.data, 0, data, 0, " + dimen + ");\n" +
+                "    }\n" +
+                "\n" +
+                "    public void setTo( int offset , double[] array ) {\n" +
+                "        System.arraycopy(array, offset, data, 0, " + dimen + ");\n" +
+                "    }\n" +
+                "\n" +
+                "    @Override public double get( int row, int col ) {\n" +
+                "        return data[index(row, col)];\n" +
+                "    }\n" +
+                "\n" +
+                "    @Override public double unsafe_get( int row, int col ) {\n" +
+                "        return data[Math.max(row, col)];\n" +
+                "    }\n" +
+                "\n" +
+                "    @Override public void set( int row, int col, double val ) {\n" +
+                "        data[index(row, col)] = val;\n" +
+                "    }\n" +
+                "\n" +
+                "    @Override public void unsafe_set( int row, int col, double val ) {\n" +
+                "        data[Math.max(row, col)] = val;\n" +
+                "    }\n" +
+                "\n" +
+                "    private static int index( int row, int col ) {\n" +
+                "        if (row != 0 && col != 0)\n" +
+                "            throw new IllegalArgumentException(\"Row or column must be zero since this is a vector\");\n" +
+                "\n" +
+                "        int w = Math.max(row,col);\n" +
+                "        if (w < 0 || w >= " + dimen + ")\n" +
+                "            throw new IllegalArgumentException(\"Out of range. \"+w);\n" +
+                "        return w;\n" +
+                "    }\n" +
+                "\n" +
+                "    @Override public void setTo( Matrix original ) {\n" +
+                "        DMatrix m = (DMatrix)original;\n" +
+                "\n" +
+                "        if (m.getNumCols() == 1 && m.getNumRows() == " + dimen + ") {\n" +
+                "            for (int i = 0; i < " + dimen + "; i++) {\n" +
+                "                data[i] = m.get(i,0);\n" +
+                "            }\n" +
+                "        } else if (m.getNumRows() == 1 && m.getNumCols() == " + dimen + ") {\n" +
+                "            for (int i = 0; i < " + dimen + "; i++) {\n" +
+                "                data[i] = m.get(0,i);\n" +
+                "            }\n" +
+                "        } else {\n" +
+                "            throw new IllegalArgumentException(\"Incompatible shape\");\n" +
+                "        }\n" +
+                "    }\n" +
+                "\n" +
+                "    @Override public int getNumRows() {return " + dimen + ";}\n" +
+                "\n" +
+                "    @Override public int getNumCols() {return 1;}\n" +
+                "\n" +
+                "    @Override public int getNumElements() {return " + dimen + ";}\n" +
+                "\n" +
+                "    @Override public <T extends Matrix> T copy() {\n" +
+                "        return (T)new " + className + "(this);\n" +
+                "    }\n" +
+                "\n" +
+                "    @Override public void print() {\n" +
+                "        MatrixIO.printFancy(System.out, this, MatrixIO.DEFAULT_LENGTH);\n" +
+                "    }\n" +
+                "\n" +
+                "    @Override public void print( String format ) {\n" +
+                "        MatrixIO.print(System.out, this, format);\n" +
+                "    }\n" +
+                "\n" +
+                "    @Override public <T extends Matrix> T createLike() {return (T)new " + className + "();}\n" +
+                "\n" +
+                "    @Override public MatrixType getType() {return MatrixType.UNSPECIFIED;}\n" +
+                "}\n\n");
+    }
+
     private void printClassParam( int dimen ) {
         out.print("    public double ");
         for (int i = 1; i <= dimen; i++) {
@@ -27,12 +27,37 @@ import java.io.FileNotFoundException;
  */
 public class GenerateMatrixFixedNxN extends CodeGeneratorBase {
 
+    /** Largest matrix dimension which fixed sized code is generated for */
+    public static final int MAX_DIMENSION = 12;
+
+    /**
+     * Largest matrix dimension where elements are stored as class variables and operations are fully unrolled.
+     * The byte code of an unrolled operation grows with the number of elements or faster, e.g. multiplication is
+     * about 10*N<sup>3</sup> bytes. At 6x6 that's already 2.3 kB, far beyond what the JIT will inline, and at 10x10
+     * it's larger than the 8000 byte limit for methods which the JIT will compile at all. For larger matrices the
+     * elements are stored in a fixed length array and the operations are loops with constant bounds, which the JIT
+     * can unroll and vectorize itself. Matrix products are only unrolled along the inner product, see
+     * GenerateCommonOps_DDF, which keeps their size linear in N.
+     */
+    public static final int MAX_UNROLLED = 6;
+
     String classPreamble = "DMatrix";
 
+    /**
+     * Returns true if matrices of this dimension store their elements as class variables and operations on them are
+     * fully unrolled. Otherwise elements are stored in an array and operations are loops.
+     */
+    public static boolean isUnrolled( int dimen ) {
+        return dimen <= MAX_UNROLLED;
+    }
+
     @Override
     public void generate() throws FileNotFoundException {
-        for (int dimension = 2; dimension <= 6; dimension++) {
-            print(dimension);
+        for (int dimension = 2; dimension <= MAX_DIMENSION; dimension++) {
+            if (isUnrolled(dimension))
+                print(dimension);
+            else
+                printArray(dimension);
         }
     }
 
@@ -111,6 +136,100 @@ public class GenerateMatrixFixedNxN extends CodeGeneratorBase {
                 "}\n\n");
     }
 
+    /**
+     * Matrix which stores its elements in a row-major array
+     */
+    public void printArray( int dimen ) throws FileNotFoundException {
+        String className = classPreamble + dimen + "x" + dimen;
+        int length = dimen*dimen;
+
+        setOutputFile(className);
+
+        out.print("import org.ejml.ops.MatrixIO;\n\n" +
+                "/**\n" +
+                " * Fixed sized " + dimen + " by " + dimen + " matrix. The elements are stored in a row-major array which always has a\n" +
+                " * length of " + length + ". Element (row,col) is at index row*" + dimen + " + col. The array can be wrapped by\n" +
+                " * {@link DMatrixRMaj#wrap} to use it with operations for arbitrary sized matrices.\n" +
+                standardClassDocClosing("Peter Abeles") +
+                "public class " + className + " implements DMatrixFixed {\n" +
+                "    public final double[] data = new double[" + length + "];\n" +
+                "\n" +
+                "    public " + className + "() {}\n" +
+                "\n" +
+                "    public " + className + "( " + className + " o ) {\n" +
+                "        System.arraycopy(o.data, 0, data, 0, " + length + ");\n" +
+                "    }\n" +
+                "\n" +
+                "    @Override public void zero() {\n" +
+                "        for (int i = 0; i < " + length + "; i++) {\n" +
+                "            data[i] = 0.0;\n" +
+                "        }\n" +
+                "    }\n" +
+                "\n" +
+                "    public void setTo( " + className + " o ) {\n" +
+                "        System.arraycopy(o.data, 0, data, 0, " + length + ");\n" +
+                "    }\n" +
+                "\n" +
+                "    public void setTo( int offset , double[] a ) {\n" +
+                "        System.arraycopy(a, offset, data, 0, " + length + ");\n" +
+                "    }\n" +
+                "\n" +
+                "    @Override public double get( int row, int col ) {\n" +
+                "        if (row < 0 || row >= " + dimen + " || col < 0 || col >= " + dimen + ")\n" +
+                "            throw new IllegalArgumentException(\"Row and/or column out of range. \"+row+\" \"+col);\n" +
+                "        return data[row*" + dimen + " + col];\n" +
+                "    }\n" +
+                "\n" +
+                "    @Override public double unsafe_get( int row, int col ) {\n" +
+                "        return data[row*" + dimen + " + col];\n" +
+                "    }\n" +
+                "\n" +
+                "    @Override public void set( int row, int col, double val ) {\n" +
+                "        if (row < 0 || row >= " + dimen + " || col < 0 || col >= " + dimen + ")\n" +
+                "            throw new IllegalArgumentException(\"Row and/or column out of range. \"+row+\" \"+col);\n" +
+                "        data[row*" + dimen + " + col] = val;\n" +
+                "    }\n" +
+                "\n" +
+                "    @Override public void unsafe_set( int row, int col, double val ) {\n" +
+                "        data[row*" + dimen + " + col] = val;\n" +
+                "    }\n" +
+                "\n" +
+                "    @Override public void setTo( Matrix original ) {\n" +
+                "        if (original.getNumCols() != " + dimen + " || original.getNumRows() != " + dimen + ")\n" +
+                "            throw new IllegalArgumentException(\"Rows and/or columns do not match\");\n" +
+                "        DMatrix m = (DMatrix)original;\n" +
+                "\n" +
+                "        for (int row = 0, index = 0; row < " + dimen + "; row++) {\n" +
+                "            for (int col = 0; col < " + dimen + "; col++) {\n" +
+                "                data[index++] = m.get(row, col);\n" +
+                "            }\n" +
+                "        }\n" +
+                "    }\n" +
+                "\n" +
+                "    @Override public int getNumRows() {return " + dimen + ";}\n" +
+                "\n" +
+                "    @Override public int getNumCols() {return " + dimen + ";}\n" +
+                "\n" +
+                "    @Override public int getNumElements() {return " + length + ";}\n" +
+                "\n" +
+                "    @Override public <T extends Matrix> T copy() {\n" +
+                "        return (T)new " + className + "(this);\n" +
+                "    }\n" +
+                "\n" +
+                "    @Override public void print() {\n" +
+                "        MatrixIO.printFancy(System.out, this, MatrixIO.DEFAULT_LENGTH);\n" +
+                "    }\n" +
+                "\n" +
+                "    @Override public void print( String format ) {\n" +
+                "        MatrixIO.print(System.out, this, format);\n" +
+                "    }\n" +
+                "\n" +
+                "    @Override public <T extends Matrix> T createLike() {return (T)new " + className + "();}\n" +
+                "\n" +
+                "    @Override public MatrixType getType() {return MatrixType.UNSPECIFIED;}\n" +
+                "}\n\n");
+    }
+
     private void printClassParam( int dimen ) {
         for (int y = 1; y <= dimen; y++) {
             out.print("    public double ");
@@ -20,7 +20,8 @@ package org.ejml;
 
 /**
  * This is a list of parameters that are used across the code. To tune performance
- * for a particular system change these values.
+ * for a particular system change these values. Machine specific values can also be loaded
+ * from a profile, see {@link EjmlProfile}.
  *
  * @author Peter Abeles
  */
@@ -57,6 +58,26 @@ public class EjmlParameters {
     public static int MULT_TRANAB_COLUMN_SWITCH = 40;
     public static int MULT_INNER_SWITCH = 100;
 
+    /**
+     * Matrix multiplication switches to the packed cache blocked algorithm when every dimension is at least
+     * this large.
+     */
+    public static int MULT_PACKED_SWITCH = 32;
+
+    /**
+     * Block sizes used by the packed matrix multiplication. A MC by KC block of the left matrix should fit inside
+     * the L2 cache and a KC by NC block of the right matrix inside the L3 cache.
+     */
+    public static int MULT_PACKED_MC = 128;
+    public static int MULT_PACKED_KC = 256;
+    public static int MULT_PACKED_NC = 4096;
+
+    /**
+     * Strassen-Winograd matrix multiplication stops recursing once a dimension is less than or equal to this
+     * value and uses the packed algorithm instead.
+     */
+    public static int MULT_STRASSEN_CUTOFF = 512;
+
     public static int CMULT_COLUMN_SWITCH = 7;
     public static int CMULT_TRANAB_COLUMN_SWITCH = 20;
 
@@ -74,6 +95,30 @@ public class EjmlParameters {
 
     public static int SWITCH_BLOCK64_QR = 1500;
 
+    /**
+     * Matrices which are at least this wide are decomposed using the blocked LU algorithm, which updates the
+     * trailing submatrix with matrix multiplication. Block width is specified by {@link #BLOCK_WIDTH_LU}.
+     */
+    public static int SWITCH_BLOCK_LU = 200;
+    public static int BLOCK_WIDTH_LU = 64;
+
+    /**
+     * Symmetric eigen decompositions which compute eigenvectors switch from the QR algorithm to the divide and
+     * conquer algorithm for matrices which are at least this wide.
+     */
+    public static int SWITCH_EIG_DIVIDE_CONQUER = 200;
+
+    /**
+     * SVDs which compute U or V switch from the implicit QR algorithm to the divide and conquer algorithm for
+     * matrices whose smallest side is at least this long.
+     */
+    public static int SWITCH_SVD_DIVIDE_CONQUER = 500;
+
+    static {
+        // Must come after all the default values have been assigned
+        EjmlProfile.applyDefault(EjmlParameters.class);
+    }
+
     public enum MemoryUsage {
         /**
          * Use lower memory algorithm while not totally sacrificing speed.
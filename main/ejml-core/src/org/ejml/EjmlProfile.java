@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml;
+
+import org.ejml.concurrency.EjmlConcurrency;
+import org.ejml.simd.EjmlSimd;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+
+/**
+ * <p>
+ * Loads and saves machine specific values of the tuning parameters in {@link EjmlParameters},
+ * {@link EjmlConcurrency}, and {@link EjmlSimd}. A profile is a properties file where each key is the name of the class and the
+ * name of the field, e.g. "EjmlParameters.BLOCK_WIDTH=64". Only public static non-final int fields can be
+ * set and keys which don't match a field are ignored. Profiles are typically created by running the autotuner
+ * in ejml-ddense on the target machine.
+ * </p>
+ *
+ * <p>
+ * The default profile is applied when the parameter classes are first loaded. Its location is specified by
+ * the system property "{@value #PROPERTY_PATH}" and if not set then {@link #defaultFile()} is used if it exists.
+ * Set the property to an empty string to skip loading a profile.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class EjmlProfile {
+    /** System property used to specify the location of the default profile */
+    public static final String PROPERTY_PATH = "ejml.profile";
+
+    // Contents of the default profile. Only loaded once
+    private static @Nullable Properties defaultProfile;
+    private static boolean defaultLoaded = false;
+
+    /**
+     * Location of the default profile when the system property isn't set, "~/.ejml/profile.properties"
+     */
+    public static File defaultFile() {
+        return new File(new File(System.getProperty("user.home", "."), ".ejml"), "profile.properties");
+    }
+
+    /**
+     * Returns the location of the default profile or null if there isn't one
+     */
+    public static @Nullable File findDefault() {
+        String path = System.getProperty(PROPERTY_PATH);
+        if (path != null)
+            return path.isEmpty() ? null : new File(path);
+        File file = defaultFile();
+        return file.exists() ? file : null;
+    }
+
+    /**
+     * Applies values in the default profile to the specified class. Called by the static initializer of
+     * classes with tuning parameters. Problems are printed to stderr since an exception here would prevent
+     * the class from loading.
+     */
+    public static synchronized void applyDefault( Class<?> owner ) {
+        if (!defaultLoaded) {
+            defaultLoaded = true;
+            try {
+                File file = findDefault();
+                if (file != null)
+                    defaultProfile = load(file);
+            } catch (IOException | RuntimeException e) {
+                System.err.println("EJML: Failed to load profile. " + e.getMessage());
+            }
+        }
+        if (defaultProfile == null)
+            return;
+        try {
+            apply(defaultProfile, owner);
+        } catch (RuntimeException e) {
+            System.err.println("EJML: Bad value in profile. " + e.getMessage());
+        }
+    }
+
+    /**
+     * Applies the profile to all classes with tuning parameters
+     *
+     * @return Number of parameters which were modified
+     */
+    public static int applyAll( Properties profile ) {
+        return apply(profile, EjmlParameters.class) + apply(profile, EjmlConcurrency.class) +
+                apply(profile, EjmlSimd.class);
+    }
+
+    /**
+     * Sets the fields in 'owner' which have values in the profile.
+     *
+     * @return Number of parameters which were modified
+     * @throws IllegalArgumentException If a value can't be parsed
+     */
+    public static int apply( Properties profile, Class<?> owner ) {
+        int count = 0;
+        String prefix = owner.getSimpleName() + ".";
+        for (String key : profile.stringPropertyNames()) {
+            if (!key.startsWith(prefix))
+                continue;
+            Field field = findTunable(owner, key.substring(prefix.length()));
+            if (field == null)
+                continue;
+            String value = profile.getProperty(key).trim();
+            try {
+                field.setInt(null, Integer.parseInt(value));
+                count++;
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Not an integer. " + key + "=" + value, e);
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Creates a profile from the current value of every tuning parameter in the specified classes
+     */
+    public static Properties capture( Class<?>... owners ) {
+        Properties profile = new Properties();
+        for (Class<?> owner : owners) {
+            for (Field field : owner.getDeclaredFields()) {
+                if (!isTunable(field))
+                    continue;
+                try {
+                    profile.setProperty(owner.getSimpleName() + "." + field.getName(),
+                            Integer.toString(field.getInt(null)));
+                } catch (IllegalAccessException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        }
+        return profile;
+    }
+
+    /**
+     * Creates a profile from the current value of every tuning parameter
+     */
+    public static Properties captureAll() {
+        return capture(EjmlParameters.class, EjmlConcurrency.class, EjmlSimd.class);
+    }
+
+    public static Properties load( File file ) throws IOException {
+        try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+            return load(reader);
+        }
+    }
+
+    public static Properties load( Reader reader ) throws IOException {
+        Properties profile = new Properties();
+        profile.load(reader);
+        return profile;
+    }
+
+    /**
+     * Saves the profile. Parent directories are created if they don't exist.
+     *
+     * @param comment Optional comment that's written at the top of the file
+     */
+    public static void save( Properties profile, File file, @Nullable String comment ) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs())
+            throw new IOException("Failed to create directory " + parent.getPath());
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+            save(profile, writer, comment);
+        }
+    }
+
+    public static void save( Properties profile, Writer writer, @Nullable String comment ) throws IOException {
+        profile.store(writer, comment);
+    }
+
+    private static @Nullable Field findTunable( Class<?> owner, String name ) {
+        try {
+            Field field = owner.getDeclaredField(name);
+            return isTunable(field) ? field : null;
+        } catch (NoSuchFieldException e) {
+            return null;
+        }
+    }
+
+    private static boolean isTunable( Field field ) {
+        int mod = field.getModifiers();
+        return Modifier.isPublic(mod) && Modifier.isStatic(mod) && !Modifier.isFinal(mod) &&
+                field.getType() == int.class;
+    }
+}
@@ -17,12 +17,14 @@
  */
 package org.ejml.concurrency;
 
+import org.ejml.EjmlProfile;
 import org.ejml.data.Matrix;
 import org.ejml.data.MatrixSparse;
 import pabeles.concurrency.ConcurrencyOps;
 
 /**
- * Central class for controlling concurrency in EJML.
+ * Central class for controlling concurrency in EJML. The threshold can be set in a machine specific profile,
+ * see {@link EjmlProfile}.
  *
  * @author Peter Abeles
  */
@@ -33,6 +35,10 @@ public class EjmlConcurrency extends ConcurrencyOps {
 	/** Minimum number of elements in a matrix before it will switch to concurrent implementation */
 	public static int ELEMENT_THRESHOLD = 50_000;
 
+	static {
+		EjmlProfile.applyDefault(EjmlConcurrency.class);
+	}
+
 	/**
 	 * Sets the maximum number of threads available in the thread pool and adjusts USE_CONCURRENT. If
 	 * the number of threads is less than 2 then USE_CONCURRENT will be set to false and the single thread
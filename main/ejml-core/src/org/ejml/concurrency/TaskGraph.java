@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.concurrency;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * <p>
+ * Dynamic task scheduler for tiled algorithms. Tasks are added in the order a single thread would run them and
+ * declare which pieces of data they read and write. Data is identified by a non-negative integer handle, e.g.
+ * the index of a tile. Dependencies are inferred from the handles: a task waits for the last task which wrote
+ * to anything it reads or writes, and a write also waits for every read since the previous write. When
+ * {@link #execute()} is called, a task is run on the thread pool in {@link EjmlConcurrency} as soon as all
+ * its dependencies have finished. Independent tasks run out of order, which removes the barrier between each
+ * step in a blocked algorithm.
+ * </p>
+ *
+ * <p>
+ * When a task finishes, it runs the successor with the highest priority on the same thread and forks the
+ * others. Tasks on the critical path, e.g. the factorization of the next panel, should be given a higher
+ * priority.
+ * </p>
+ *
+ * <p>
+ * If a task throws an exception the remaining tasks are skipped and the first exception is thrown by
+ * {@link #execute()}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class TaskGraph {
+    // All the tasks in the order they were added
+    private final List<Task> tasks = new ArrayList<>();
+
+    // Last task to write to each handle
+    private Task[] lastWriter = new Task[0];
+    // Tasks which have read each handle since it was last written to
+    private List<Task>[] readers = createReaders(0);
+
+    // Number of tasks which have yet to finish
+    private final AtomicInteger remaining = new AtomicInteger();
+    // First exception thrown by a task
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    // Used to wake up the thread which called execute()
+    private CountDownLatch finished = new CountDownLatch(0);
+
+    /**
+     * Adds a new task. Its dependencies are specified by calling {@link Task#read} and {@link Task#write}
+     * before the next task is added.
+     *
+     * @param operation The operation which is run by the task
+     * @return The new task
+     */
+    public Task add( Runnable operation ) {
+        var task = new Task(operation);
+        tasks.add(task);
+        return task;
+    }
+
+    /**
+     * Runs all the tasks and blocks until they have finished. Afterwards the graph is empty and can be reused.
+     * If the thread pool only has one thread then {@link #executeSequential()} is called instead.
+     */
+    public void execute() {
+        try {
+            if (tasks.isEmpty())
+                return;
+
+            ForkJoinPool pool = EjmlConcurrency.getThreadPool();
+            if (pool.getParallelism() == 1) {
+                executeSequential();
+                return;
+            }
+
+            failure.set(null);
+            remaining.set(tasks.size());
+            finished = new CountDownLatch(1);
+
+            List<Task> roots = new ArrayList<>();
+            for (int i = 0; i < tasks.size(); i++) {
+                Task t = tasks.get(i);
+                if (t.waiting.get() == 0)
+                    roots.add(t);
+            }
+
+            for (int i = 0; i < roots.size(); i++) {
+                pool.execute(roots.get(i).action);
+            }
+
+            // lets the pool add a thread if this is called from inside of it
+            CountDownLatch latch = finished;
+            ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+                @Override
+                public boolean block() throws InterruptedException {
+                    latch.await();
+                    return true;
+                }
+
+                @Override
+                public boolean isReleasable() {
+                    return latch.getCount() == 0;
+                }
+            });
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        } finally {
+            reset();
+        }
+
+        Throwable error = failure.getAndSet(null);
+        if (error instanceof RuntimeException)
+            throw (RuntimeException)error;
+        if (error instanceof Error)
+            throw (Error)error;
+        if (error != null)
+            throw new RuntimeException(error);
+    }
+
+    /**
+     * Runs all the tasks in the order they were added using the calling thread. Useful for debugging and when
+     * there is only one thread.
+     */
+    public void executeSequential() {
+        try {
+            for (int i = 0; i < tasks.size(); i++) {
+                tasks.get(i).operation.run();
+            }
+        } finally {
+            reset();
+        }
+    }
+
+    /**
+     * Removes all tasks and forgets which tasks accessed each handle
+     */
+    public void reset() {
+        tasks.clear();
+        Arrays.fill(lastWriter, null);
+        for (List<Task> r : readers) {
+            if (r != null)
+                r.clear();
+        }
+    }
+
+    /** Number of tasks which have been added */
+    public int size() {
+        return tasks.size();
+    }
+
+    private void growHandles( int handle ) {
+        if (handle < 0)
+            throw new IllegalArgumentException("Handles must be non-negative. handle=" + handle);
+        if (handle < lastWriter.length)
+            return;
+        int length = Math.max(handle + 1, lastWriter.length*2);
+        lastWriter = Arrays.copyOf(lastWriter, length);
+        readers = Arrays.copyOf(readers, length);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Task>[] createReaders( int length ) {
+        return new List[length];
+    }
+
+    private void finishedTask() {
+        if (remaining.decrementAndGet() == 0)
+            finished.countDown();
+    }
+
+    /**
+     * A single operation in the graph
+     */
+    public class Task {
+        final Runnable operation;
+        // Runs this task and its successors on the thread pool
+        final Action action = new Action();
+        // Tasks which depend on this task
+        final List<Task> successors = new ArrayList<>();
+        // Number of dependencies which have not finished yet
+        final AtomicInteger waiting = new AtomicInteger();
+        // Tasks with a higher priority are run first
+        int priority;
+
+        Task( Runnable operation ) {
+            this.operation = operation;
+        }
+
+        /**
+         * Specifies that this task reads the data referenced by the handle
+         */
+        public Task read( int handle ) {
+            growHandles(handle);
+            Task writer = lastWriter[handle];
+            if (writer != null)
+                dependsOn(writer);
+            List<Task> r = readers[handle];
+            if (r == null)
+                readers[handle] = r = new ArrayList<>();
+            r.add(this);
+            return this;
+        }
+
+        /**
+         * Specifies that this task modifies the data referenced by the handle
+         */
+        public Task write( int handle ) {
+            growHandles(handle);
+            List<Task> r = readers[handle];
+            if (r != null && !r.isEmpty()) {
+                // readers already wait for the previous writer
+                for (int i = 0; i < r.size(); i++) {
+                    dependsOn(r.get(i));
+                }
+                r.clear();
+            } else if (lastWriter[handle] != null) {
+                dependsOn(lastWriter[handle]);
+            }
+            lastWriter[handle] = this;
+            return this;
+        }
+
+        /**
+         * Sets the task's priority. Ready tasks with a larger value are run first.
+         */
+        public Task priority( int priority ) {
+            this.priority = priority;
+            return this;
+        }
+
+        private void dependsOn( Task task ) {
+            if (task == this)
+                return;
+            // avoid redundant edges when the same task is encountered through multiple handles
+            List<Task> s = task.successors;
+            if (!s.isEmpty() && s.get(s.size() - 1) == this)
+                return;
+            s.add(this);
+            waiting.incrementAndGet();
+        }
+
+        private class Action extends RecursiveAction {
+            @Override
+            protected void compute() {
+                runFrom(Task.this);
+            }
+        }
+    }
+
+    /**
+     * Runs the task then releases its successors. The successor with the highest priority is run by the same
+     * thread and the others are forked.
+     */
+    private void runFrom( Task first ) {
+        @Nullable Task next = first;
+        while (next != null) {
+            Task current = next;
+            next = null;
+
+            if (failure.get() == null) {
+                try {
+                    current.operation.run();
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }
+
+            // Release the successors. The one with the highest priority is run by this thread
+            List<Task> s = current.successors;
+            for (int i = 0; i < s.size(); i++) {
+                Task t = s.get(i);
+                if (t.waiting.decrementAndGet() != 0)
+                    continue;
+                if (next == null) {
+                    next = t;
+                } else if (t.priority > next.priority) {
+                    next.action.fork();
+                    next = t;
+                } else {
+                    t.action.fork();
+                }
+            }
+
+            finishedTask();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2020, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.data;
+
+/**
+ * Specifies how the elements of a batch of matrices are interleaved in memory.
+ *
+ * @author Peter Abeles
+ * @see DMatrixBatch
+ */
+public enum BatchLayout {
+    /**
+     * Array of structures. Each matrix is stored contiguously in row-major order, one after another.
+     */
+    AOS,
+    /**
+     * Structure of arrays. The same element from every matrix in the batch is stored contiguously, i.e. all
+     * the (0,0) elements come first, then all the (0,1) elements, etc.
+     */
+    SOA
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.data;
+
+import org.ejml.ops.MatrixIO;
+
+import javax.annotation.Generated;
+
+/**
+ * Fixed sized vector with 12 elements. Can represent a 12 x 1 or 1 x 12 matrix, context dependent.
+ * The elements are stored in an array which always has a length of 12.
+ *
+ * <p>DO NOT MODIFY. Automatically generated code created by GenerateMatrixFixedN</p>
+ *
+ * @author Peter Abeles
+ */
+@Generated("org.ejml.data.GenerateMatrixFixedN")
+public class DMatrix12 implements DMatrixFixed {
+    public final double[] data = new double[12];
+
+    public DMatrix12() {}
+
+    public DMatrix12( DMatrix12 o ) {
+        System.arraycopy(o.data, 0, data, 0, 12);
+    }
+
+    @Override public void zero() {
+        for (int i = 0; i < 12; i++) {
+            data[i] = 0.0;
+        }
+    }
+
+    public void setTo( DMatrix12 o ) {
+        System.arraycopy(o.data, 0, data, 0, 12);
+    }
+
+    public void setTo( int offset , double[] array ) {
+        System.arraycopy(array, offset, data, 0, 12);
+    }
+
+    @Override public double get( int row, int col ) {
+        return data[index(row, col)];
+    }
+
+    @Override public double unsafe_get( int row, int col ) {
+        return data[Math.max(row, col)];
+    }
+
+    @Override public void set( int row, int col, double val ) {
+        data[index(row, col)] = val;
+    }
+
+    @Override public void unsafe_set( int row, int col, double val ) {
+        data[Math.max(row, col)] = val;
+    }
+
+    private static int index( int row, int col ) {
+        if (row != 0 && col != 0)
+            throw new IllegalArgumentException("Row or column must be zero since this is a vector");
+
+        int w = Math.max(row,col);
+        if (w < 0 || w >= 12)
+            throw new IllegalArgumentException("Out of range. "+w);
+        return w;
+    }
+
+    @Override public void setTo( Matrix original ) {
+        DMatrix m = (DMatrix)original;
+
+        if (m.getNumCols() == 1 && m.getNumRows() == 12) {
+            for (int i = 0; i < 12; i++) {
+                data[i] = m.get(i,0);
+            }
+        } else if (m.getNumRows() == 1 && m.getNumCols() == 12) {
+            for (int i = 0; i < 12; i++) {
+                data[i] = m.get(0,i);
+            }
+        } else {
+            throw new IllegalArgumentException("Incompatible shape");
+        }
+    }
+
+    @Override public int getNumRows() {return 12;}
+
+    @Override public int getNumCols() {return 1;}
+
+    @Override public int getNumElements() {return 12;}
+
+    @Override public <T extends Matrix> T copy() {
+        return (T)new DMatrix12(this);
+    }
+
+    @Override public void print() {
+        MatrixIO.printFancy(System.out, this, MatrixIO.DEFAULT_LENGTH);
+    }
+
+    @Override public void print( String format ) {
+        MatrixIO.print(System.out, this, format);
+    }
+
+    @Override public <T extends Matrix> T createLike() {return (T)new DMatrix12();}
+
+    @Override public MatrixType getType() {return MatrixType.UNSPECIFIED;}
+}
+
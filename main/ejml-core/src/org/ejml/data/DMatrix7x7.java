@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.data;
+
+import org.ejml.ops.MatrixIO;
+
+import javax.annotation.Generated;
+
+/**
+ * Fixed sized 7 by 7 matrix. The elements are stored in a row-major array which always has a
+ * length of 49. Element (row,col) is at index row*7 + col. The array can be wrapped by
+ * {@link DMatrixRMaj#wrap} to use it with operations for arbitrary sized matrices.
+ *
+ * <p>DO NOT MODIFY. Automatically generated code created by GenerateMatrixFixedNxN</p>
+ *
+ * @author Peter Abeles
+ */
+@Generated("org.ejml.data.GenerateMatrixFixedNxN")
+public class DMatrix7x7 implements DMatrixFixed {
+    public final double[] data = new double[49];
+
+    public DMatrix7x7() {}
+
+    public DMatrix7x7( DMatrix7x7 o ) {
+        System.arraycopy(o.data, 0, data, 0, 49);
+    }
+
+    @Override public void zero() {
+        for (int i = 0; i < 49; i++) {
+            data[i] = 0.0;
+        }
+    }
+
+    public void setTo( DMatrix7x7 o ) {
+        System.arraycopy(o.data, 0, data, 0, 49);
+    }
+
+    public void setTo( int offset , double[] a ) {
+        System.arraycopy(a, offset, data, 0, 49);
+    }
+
+    @Override public double get( int row, int col ) {
+        if (row < 0 || row >= 7 || col < 0 || col >= 7)
+            throw new IllegalArgumentException("Row and/or column out of range. "+row+" "+col);
+        return data[row*7 + col];
+    }
+
+    @Override public double unsafe_get( int row, int col ) {
+        return data[row*7 + col];
+    }
+
+    @Override public void set( int row, int col, double val ) {
+        if (row < 0 || row >= 7 || col < 0 || col >= 7)
+            throw new IllegalArgumentException("Row and/or column out of range. "+row+" "+col);
+        data[row*7 + col] = val;
+    }
+
+    @Override public void unsafe_set( int row, int col, double val ) {
+        data[row*7 + col] = val;
+    }
+
+    @Override public void setTo( Matrix original ) {
+        if (original.getNumCols() != 7 || original.getNumRows() != 7)
+            throw new IllegalArgumentException("Rows and/or columns do not match");
+        DMatrix m = (DMatrix)original;
+
+        for (int row = 0, index = 0; row < 7; row++) {
+            for (int col = 0; col < 7; col++) {
+                data[index++] = m.get(row, col);
+            }
+        }
+    }
+
+    @Override public int getNumRows() {return 7;}
+
+    @Override public int getNumCols() {return 7;}
+
+    @Override public int getNumElements() {return 49;}
+
+    @Override public <T extends Matrix> T copy() {
+        return (T)new DMatrix7x7(this);
+    }
+
+    @Override public void print() {
+        MatrixIO.printFancy(System.out, this, MatrixIO.DEFAULT_LENGTH);
+    }
+
+    @Override public void print( String format ) {
+        MatrixIO.print(System.out, this, format);
+    }
+
+    @Override public <T extends Matrix> T createLike() {return (T)new DMatrix7x7();}
+
+    @Override public MatrixType getType() {return MatrixType.UNSPECIFIED;}
+}
+
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.data;
+
+import org.ejml.ops.MatrixIO;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Square band matrix. Only elements inside the band, i.e. (row,col) where row - lower &le; col &le; row + upper,
+ * can be non-zero and are stored. Each row is allocated lower + upper + 1 elements and element (row,col) is at:<br>
+ * data[ row*(lower + upper + 1) + col - row + lower ]<br>
+ * Elements in the first and last rows which would be outside the matrix are not used. A tridiagonal matrix has a
+ * lower and upper bandwidth of one.
+ * </p>
+ *
+ * <p>
+ * Reading an element outside the band returns zero and setting one is an error.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class DMatrixBand implements ReshapeMatrix, DMatrix {
+    /** Storage for the band. Can be larger than needed. */
+    public double[] data = new double[0];
+
+    /** Number of rows and columns in the matrix */
+    public int numRows;
+
+    /** Number of diagonals below the main diagonal which are inside the band */
+    public int lower;
+
+    /** Number of diagonals above the main diagonal which are inside the band */
+    public int upper;
+
+    /**
+     * Creates a band matrix with all elements set to zero
+     *
+     * @param numRows Number of rows and columns
+     * @param lower Lower bandwidth
+     * @param upper Upper bandwidth
+     */
+    public DMatrixBand( int numRows, int lower, int upper ) {
+        reshape(numRows, lower, upper);
+    }
+
+    public DMatrixBand() {}
+
+    /**
+     * Creates a copy of the original matrix
+     */
+    public DMatrixBand( DMatrixBand original ) {
+        setTo(original);
+    }
+
+    /**
+     * Changes the shape of the matrix. If the internal array needs to grow then a new one is declared. Previous
+     * values are not saved.
+     */
+    public void reshape( int numRows, int lower, int upper ) {
+        if (numRows < 0 || lower < 0 || upper < 0)
+            throw new IllegalArgumentException("Number of rows and bandwidth can't be negative");
+        int length = numRows*(lower + upper + 1);
+        if (data.length < length)
+            data = new double[length];
+        this.numRows = numRows;
+        this.lower = lower;
+        this.upper = upper;
+    }
+
+    /**
+     * Changes the number of rows and columns while keeping the same bandwidth. Must be square.
+     */
+    @Override
+    public void reshape( int numRows, int numCols ) {
+        if (numRows != numCols)
+            throw new IllegalArgumentException("Band matrices must be square");
+        reshape(numRows, lower, upper);
+    }
+
+    /**
+     * Number of elements allocated to each row
+     */
+    public int getWidth() {
+        return lower + upper + 1;
+    }
+
+    /**
+     * Number of elements in the array which are used to store the matrix
+     */
+    public int getDataLength() {
+        return numRows*getWidth();
+    }
+
+    /**
+     * Returns the index of an element inside the band. No bounds checks.
+     */
+    public int getIndex( int row, int col ) {
+        return row*(lower + upper + 1) + col - row + lower;
+    }
+
+    /**
+     * Returns true if the element is inside the band
+     */
+    public boolean isInBand( int row, int col ) {
+        return col >= row - lower && col <= row + upper;
+    }
+
+    @Override
+    public double get( int row, int col ) {
+        checkBounds(row, col);
+        return unsafe_get(row, col);
+    }
+
+    @Override
+    public double unsafe_get( int row, int col ) {
+        if (!isInBand(row, col))
+            return 0.0;
+        return data[getIndex(row, col)];
+    }
+
+    @Override
+    public void set( int row, int col, double val ) {
+        checkBounds(row, col);
+        if (!isInBand(row, col))
+            throw new IllegalArgumentException("Element is outside the band. " + row + " " + col);
+        data[getIndex(row, col)] = val;
+    }
+
+    @Override
+    public void unsafe_set( int row, int col, double val ) {
+        data[getIndex(row, col)] = val;
+    }
+
+    private void checkBounds( int row, int col ) {
+        if (row < 0 || row >= numRows || col < 0 || col >= numRows)
+            throw new IllegalArgumentException("Row and/or column out of range. " + row + " " + col);
+    }
+
+    @Override
+    public int getNumRows() {
+        return numRows;
+    }
+
+    @Override
+    public int getNumCols() {
+        return numRows;
+    }
+
+    /**
+     * Copies the values, shape and bandwidth of the source matrix into this one
+     */
+    public DMatrixBand setTo( DMatrixBand src ) {
+        reshape(src.numRows, src.lower, src.upper);
+        System.arraycopy(src.data, 0, data, 0, getDataLength());
+        return this;
+    }
+
+    /**
+     * Copies the elements inside the band of a square matrix. The bandwidth of this matrix is not changed and
+     * elements outside the band are ignored. If the original is a band matrix then its bandwidth is copied too.
+     */
+    @Override
+    public void setTo( Matrix original ) {
+        if (original instanceof DMatrixBand) {
+            setTo((DMatrixBand)original);
+            return;
+        }
+        if (original.getNumRows() != original.getNumCols())
+            throw new IllegalArgumentException("Band matrices must be square");
+
+        var m = (DMatrix)original;
+        reshape(m.getNumRows(), lower, upper);
+        zero();
+        for (int row = 0; row < numRows; row++) {
+            int col0 = Math.max(0, row - lower);
+            int col1 = Math.min(numRows, row + upper + 1);
+            for (int col = col0; col < col1; col++) {
+                data[getIndex(row, col)] = m.unsafe_get(row, col);
+            }
+        }
+    }
+
+    @Override
+    public void zero() {
+        Arrays.fill(data, 0, getDataLength(), 0.0);
+    }
+
+    @Override
+    public <T extends Matrix> T copy() {
+        return (T)new DMatrixBand(this);
+    }
+
+    @Override
+    public <T extends Matrix> T createLike() {
+        return (T)new DMatrixBand(numRows, lower, upper);
+    }
+
+    @Override
+    public <T extends Matrix> T create( int numRows, int numCols ) {
+        if (numRows != numCols)
+            throw new IllegalArgumentException("Band matrices must be square");
+        return (T)new DMatrixBand(numRows, lower, upper);
+    }
+
+    @Override
+    public void print() {
+        MatrixIO.printFancy(System.out, this, MatrixIO.DEFAULT_LENGTH);
+    }
+
+    @Override
+    public void print( String format ) {
+        MatrixIO.print(System.out, this, format);
+    }
+
+    @Override
+    public MatrixType getType() {
+        return MatrixType.UNSPECIFIED;
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2020, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.data;
+
+import org.ejml.UtilEjml;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Stores a batch of matrices which all have the same shape inside a single array. Intended for applications
+ * which need to process thousands of small independent problems, where allocating one {@link DMatrixRMaj} for
+ * each would be dominated by overhead and scatter the data across the heap.
+ * </p>
+ *
+ * <p>
+ * Element (row,col) of matrix 'index' is stored at:<br>
+ * data[ index*laneStride + (row*numCols + col)*elementStride ]<br>
+ * For {@link BatchLayout#AOS} laneStride = numRows*numCols and elementStride = 1. For {@link BatchLayout#SOA}
+ * laneStride = 1 and elementStride = size. AOS is convenient for moving individual matrices in and out
+ * while SOA allows the same operation to be applied to every matrix with unit stride memory access.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class DMatrixBatch {
+    /** Storage for every matrix in the batch. Can be larger than needed. */
+    public double[] data = new double[0];
+
+    /** Number of rows in each matrix */
+    public int numRows;
+    /** Number of columns in each matrix */
+    public int numCols;
+    /** Number of matrices in the batch */
+    public int size;
+
+    /** How the matrices are laid out inside the array. Can't be changed after construction. */
+    public final BatchLayout layout;
+
+    /**
+     * Creates a batch and declares storage for all the matrices. All elements are zero.
+     *
+     * @param size Number of matrices in the batch
+     * @param numRows Number of rows in each matrix
+     * @param numCols Number of columns in each matrix
+     * @param layout How the matrices are stored in the array
+     */
+    public DMatrixBatch( int size, int numRows, int numCols, BatchLayout layout ) {
+        this.layout = layout;
+        reshape(size, numRows, numCols);
+    }
+
+    public DMatrixBatch( BatchLayout layout ) {
+        this(0, 0, 0, layout);
+    }
+
+    /**
+     * Creates a new batch with the same shape and layout as the original and copies its values
+     */
+    public DMatrixBatch( DMatrixBatch original ) {
+        this(original.size, original.numRows, original.numCols, original.layout);
+        setTo(original);
+    }
+
+    /**
+     * Changes the number of matrices and their shape. If the internal array needs to grow then a new one is
+     * declared and previous values are not saved.
+     */
+    public DMatrixBatch reshape( int size, int numRows, int numCols ) {
+        if (size < 0 || numRows < 0 || numCols < 0)
+            throw new IllegalArgumentException("Size and shape can't be negative");
+        int length = size*numRows*numCols;
+        if (data.length < length)
+            data = new double[length];
+        this.size = size;
+        this.numRows = numRows;
+        this.numCols = numCols;
+        return this;
+    }
+
+    /**
+     * Number of elements in the array used to store all the matrices
+     */
+    public int getDataLength() {
+        return size*numRows*numCols;
+    }
+
+    /**
+     * Number of elements in each matrix
+     */
+    public int getMatrixLength() {
+        return numRows*numCols;
+    }
+
+    /**
+     * Distance in the array between the same element of two adjacent matrices
+     */
+    public int getLaneStride() {
+        return layout == BatchLayout.AOS ? numRows*numCols : 1;
+    }
+
+    /**
+     * Distance in the array between two adjacent elements in the same matrix
+     */
+    public int getElementStride() {
+        return layout == BatchLayout.AOS ? 1 : size;
+    }
+
+    /**
+     * Returns the index of an element in the internal array. No bounds checks.
+     */
+    public int getIndex( int index, int row, int col ) {
+        return index*getLaneStride() + (row*numCols + col)*getElementStride();
+    }
+
+    public double get( int index, int row, int col ) {
+        checkBounds(index, row, col);
+        return data[getIndex(index, row, col)];
+    }
+
+    public void set( int index, int row, int col, double value ) {
+        checkBounds(index, row, col);
+        data[getIndex(index, row, col)] = value;
+    }
+
+    private void checkBounds( int index, int row, int col ) {
+        if (index < 0 || index >= size || row < 0 || row >= numRows || col < 0 || col >= numCols)
+            throw new IllegalArgumentException("Out of bounds. index=" + index + " row=" + row + " col=" + col);
+    }
+
+    /**
+     * Copies a matrix out of the batch
+     *
+     * @param index Which matrix in the batch
+     * @param output (Output) Storage for the matrix. Reshaped. If null a new matrix is declared.
+     * @return The copied matrix
+     */
+    public DMatrixRMaj getMatrix( int index, @Nullable DMatrixRMaj output ) {
+        if (index < 0 || index >= size)
+            throw new IllegalArgumentException("Index out of bounds");
+        output = UtilEjml.reshapeOrDeclare(output, numRows, numCols);
+
+        int length = numRows*numCols;
+        if (layout == BatchLayout.AOS) {
+            System.arraycopy(data, index*length, output.data, 0, length);
+        } else {
+            for (int i = 0, j = index; i < length; i++, j += size) {
+                output.data[i] = data[j];
+            }
+        }
+        return output;
+    }
+
+    /**
+     * Copies a matrix into the batch
+     *
+     * @param index Which matrix in the batch
+     * @param src The matrix which is copied. Must have the same shape as the matrices in the batch.
+     */
+    public void setMatrix( int index, DMatrixRMaj src ) {
+        if (index < 0 || index >= size)
+            throw new IllegalArgumentException("Index out of bounds");
+        UtilEjml.assertShape(src.numRows == numRows && src.numCols == numCols, "Shape of src doesn't match batch");
+
+        int length = numRows*numCols;
+        if (layout == BatchLayout.AOS) {
+            System.arraycopy(src.data, 0, data, index*length, length);
+        } else {
+            for (int i = 0, j = index; i < length; i++, j += size) {
+                data[j] = src.data[i];
+            }
+        }
+    }
+
+    /**
+     * Copies the contents of another batch into this one. If the layouts are different then the elements are
+     * rearranged.
+     */
+    public DMatrixBatch setTo( DMatrixBatch src ) {
+        reshape(src.size, src.numRows, src.numCols);
+        int length = getDataLength();
+        if (src.layout == layout) {
+            System.arraycopy(src.data, 0, data, 0, length);
+        } else {
+            // Transposing a size by matrixLength array converts between AOS and SOA
+            int rows = layout == BatchLayout.SOA ? size : numRows*numCols;
+            int cols = length == 0 ? 0 : length/rows;
+            for (int i = 0; i < rows; i++) {
+                for (int j = 0; j < cols; j++) {
+                    data[j*rows + i] = src.data[i*cols + j];
+                }
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Sets every element in every matrix to zero
+     */
+    public void zero() {
+        Arrays.fill(data, 0, getDataLength(), 0.0);
+    }
+
+    /**
+     * Creates a new batch with the same shape and layout. Values are not copied.
+     */
+    public DMatrixBatch createLike() {
+        return new DMatrixBatch(size, numRows, numCols, layout);
+    }
+
+    public DMatrixBatch copy() {
+        return new DMatrixBatch(this);
+    }
+
+    public boolean isShape( int size, int numRows, int numCols ) {
+        return this.size == size && this.numRows == numRows && this.numCols == numCols;
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.data;
+
+import org.ejml.ops.MatrixIO;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Square matrix where only the lower triangle is stored, which requires about half the memory of a
+ * {@link DMatrixRMaj}. Depending on {@link #shape} it's either a symmetric matrix or a lower triangular matrix.
+ * The lower triangle is stored in row-major order, i.e. element (row,col) with col &le; row is at:<br>
+ * data[ row*(row+1)/2 + col ]<br>
+ * This is the same as the upper triangle in column-major order, which is the 'U' packed format in LAPACK.
+ * </p>
+ *
+ * <p>
+ * Reading an element in the upper triangle returns the mirrored element for a symmetric matrix and zero for
+ * a lower triangular matrix. Setting an element in the upper triangle of a symmetric matrix sets the mirrored
+ * element while for a lower triangular matrix it's an error.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class DMatrixPacked implements ReshapeMatrix, DMatrix {
+    /** Storage for the lower triangle. Can be larger than needed. */
+    public double[] data = new double[0];
+
+    /** Number of rows and columns in the matrix */
+    public int numRows;
+
+    /** Specifies which matrix the stored elements encode */
+    public PackedShape shape;
+
+    /**
+     * Creates a matrix with all elements set to zero
+     *
+     * @param numRows Number of rows and columns
+     * @param shape Which matrix the stored elements encode
+     */
+    public DMatrixPacked( int numRows, PackedShape shape ) {
+        this.shape = shape;
+        reshape(numRows);
+    }
+
+    /**
+     * Creates a symmetric matrix with all elements set to zero
+     */
+    public DMatrixPacked( int numRows ) {
+        this(numRows, PackedShape.SYMMETRIC);
+    }
+
+    public DMatrixPacked() {
+        this(0, PackedShape.SYMMETRIC);
+    }
+
+    /**
+     * Creates a copy of the original matrix
+     */
+    public DMatrixPacked( DMatrixPacked original ) {
+        this(original.numRows, original.shape);
+        setTo(original);
+    }
+
+    /**
+     * Number of elements needed to store the lower triangle of a matrix with this many rows
+     */
+    public static int packedLength( int numRows ) {
+        return numRows*(numRows + 1)/2;
+    }
+
+    /**
+     * Returns the index in {@link #data} of an element in the lower triangle. No bounds checks.
+     */
+    public static int index( int row, int col ) {
+        return row*(row + 1)/2 + col;
+    }
+
+    /**
+     * Changes the number of rows and columns. If the internal array needs to grow then a new one is declared
+     * and previous values are not saved.
+     */
+    public void reshape( int numRows ) {
+        if (numRows < 0)
+            throw new IllegalArgumentException("Number of rows can't be negative");
+        int length = packedLength(numRows);
+        if (data.length < length)
+            data = new double[length];
+        this.numRows = numRows;
+    }
+
+    /**
+     * Changes the shape of the matrix. Must be square.
+     */
+    @Override
+    public void reshape( int numRows, int numCols ) {
+        if (numRows != numCols)
+            throw new IllegalArgumentException("Packed matrices must be square");
+        reshape(numRows);
+    }
+
+    /**
+     * Number of elements in the array which are used to store the matrix
+     */
+    public int getDataLength() {
+        return packedLength(numRows);
+    }
+
+    /**
+     * Returns true if the matrix is symmetric
+     */
+    public boolean isSymmetric() {
+        return shape == PackedShape.SYMMETRIC;
+    }
+
+    @Override
+    public double get( int row, int col ) {
+        checkBounds(row, col);
+        return unsafe_get(row, col);
+    }
+
+    @Override
+    public double unsafe_get( int row, int col ) {
+        if (col <= row)
+            return data[index(row, col)];
+        else if (shape == PackedShape.SYMMETRIC)
+            return data[index(col, row)];
+        return 0.0;
+    }
+
+    @Override
+    public void set( int row, int col, double val ) {
+        checkBounds(row, col);
+        if (col > row && shape == PackedShape.LOWER)
+            throw new IllegalArgumentException("Can't set elements above the diagonal of a lower triangular matrix");
+        unsafe_set(row, col, val);
+    }
+
+    @Override
+    public void unsafe_set( int row, int col, double val ) {
+        if (col <= row)
+            data[index(row, col)] = val;
+        else
+            data[index(col, row)] = val;
+    }
+
+    private void checkBounds( int row, int col ) {
+        if (row < 0 || row >= numRows || col < 0 || col >= numRows)
+            throw new IllegalArgumentException("Row and/or column out of range. " + row + " " + col);
+    }
+
+    @Override
+    public int getNumRows() {
+        return numRows;
+    }
+
+    @Override
+    public int getNumCols() {
+        return numRows;
+    }
+
+    /**
+     * Copies the values and shape of the source matrix into this one
+     */
+    public DMatrixPacked setTo( DMatrixPacked src ) {
+        this.shape = src.shape;
+        reshape(src.numRows);
+        System.arraycopy(src.data, 0, data, 0, getDataLength());
+        return this;
+    }
+
+    /**
+     * Copies the lower triangle of a square matrix. The shape of this matrix is not changed, so if it's symmetric
+     * the upper triangle of the original is assumed to be the same as the lower triangle. If the original is a
+     * packed matrix then its shape is copied too.
+     */
+    @Override
+    public void setTo( Matrix original ) {
+        if (original instanceof DMatrixPacked) {
+            setTo((DMatrixPacked)original);
+            return;
+        }
+        if (original.getNumRows() != original.getNumCols())
+            throw new IllegalArgumentException("Packed matrices must be square");
+
+        var m = (DMatrix)original;
+        reshape(m.getNumRows());
+        int index = 0;
+        for (int row = 0; row < numRows; row++) {
+            for (int col = 0; col <= row; col++) {
+                data[index++] = m.unsafe_get(row, col);
+            }
+        }
+    }
+
+    @Override
+    public void zero() {
+        Arrays.fill(data, 0, getDataLength(), 0.0);
+    }
+
+    @Override
+    public <T extends Matrix> T copy() {
+        return (T)new DMatrixPacked(this);
+    }
+
+    @Override
+    public <T extends Matrix> T createLike() {
+        return (T)new DMatrixPacked(numRows, shape);
+    }
+
+    @Override
+    public <T extends Matrix> T create( int numRows, int numCols ) {
+        if (numRows != numCols)
+            throw new IllegalArgumentException("Packed matrices must be square");
+        return (T)new DMatrixPacked(numRows, shape);
+    }
+
+    @Override
+    public void print() {
+        MatrixIO.printFancy(System.out, this, MatrixIO.DEFAULT_LENGTH);
+    }
+
+    @Override
+    public void print( String format ) {
+        MatrixIO.print(System.out, this, format);
+    }
+
+    @Override
+    public MatrixType getType() {
+        return MatrixType.UNSPECIFIED;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.simd;
+
+import org.ejml.EjmlProfile;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ServiceLoader;
+
+/**
+ * <p>
+ * Central class for controlling the use of explicit SIMD instructions in EJML. The kernels are provided by an
+ * optional module, which uses the incubating Vector API in JDK 17 and newer, and are discovered using a
+ * {@link ServiceLoader}. If the module isn't on the class path or the Vector API isn't available, e.g. the JVM
+ * wasn't started with "--add-modules jdk.incubator.vector", then the regular scalar code is used.
+ * </p>
+ *
+ * <p>
+ * SIMD can be turned off at startup by setting the system property "ejml.simd" to false, or at any time by
+ * setting {@link #USE_SIMD} to false.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class EjmlSimd {
+    /** Used to toggle the use of SIMD kernels when they are available */
+    public static boolean USE_SIMD = true;
+
+    /** Arrays which have fewer elements than this will be processed by scalar code */
+    public static int LENGTH_THRESHOLD = 32;
+
+    static {
+        EjmlProfile.applyDefault(EjmlSimd.class);
+    }
+
+    private static @Nullable SimdKernels_F64 kernels64 = load(SimdKernels_F64.class);
+    private static @Nullable SimdKernels_F32 kernels32 = load(SimdKernels_F32.class);
+
+    /**
+     * Looks for a SIMD implementation. If anything goes wrong then null is returned.
+     */
+    static <T extends SimdKernels> @Nullable T load( Class<T> type ) {
+        if (!Boolean.parseBoolean(System.getProperty("ejml.simd", "true")))
+            return null;
+        try {
+            for (T found : ServiceLoader.load(type)) {
+                // With a single lane there's no benefit
+                if (found.getLanes() >= 2)
+                    return found;
+            }
+        } catch (Throwable ignore) {
+            // Most likely the Vector API module isn't available
+        }
+        return null;
+    }
+
+    /**
+     * Returns true if SIMD kernels for 64-bit floats were found and can be used
+     */
+    public static boolean isAvailable() {
+        return kernels64 != null;
+    }
+
+    /**
+     * Returns the 64-bit kernels if they are available and turned on, otherwise null.
+     */
+    public static @Nullable SimdKernels_F64 getKernels_F64() {
+        return USE_SIMD ? kernels64 : null;
+    }
+
+    /**
+     * Returns the 64-bit kernels if they should be used to process arrays of the specified length, otherwise null.
+     */
+    public static @Nullable SimdKernels_F64 getKernels_F64( int length ) {
+        return length >= LENGTH_THRESHOLD ? getKernels_F64() : null;
+    }
+
+    /**
+     * Returns the 32-bit kernels if they are available and turned on, otherwise null.
+     */
+    public static @Nullable SimdKernels_F32 getKernels_F32() {
+        return USE_SIMD ? kernels32 : null;
+    }
+
+    /**
+     * Returns the 32-bit kernels if they should be used to process arrays of the specified length, otherwise null.
+     */
+    public static @Nullable SimdKernels_F32 getKernels_F32( int length ) {
+        return length >= LENGTH_THRESHOLD ? getKernels_F32() : null;
+    }
+
+    /**
+     * Overrides the 64-bit kernels found at startup. Set to null to turn off SIMD.
+     */
+    public static void setKernels_F64( @Nullable SimdKernels_F64 kernels ) {
+        EjmlSimd.kernels64 = kernels;
+    }
+
+    /**
+     * Overrides the 32-bit kernels found at startup. Set to null to turn off SIMD.
+     */
+    public static void setKernels_F32( @Nullable SimdKernels_F32 kernels ) {
+        EjmlSimd.kernels32 = kernels;
+    }
+}
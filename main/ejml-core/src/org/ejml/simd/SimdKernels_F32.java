@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.simd;
+
+/**
+ * Low level kernels which have been explicitly vectorized using SIMD instructions. Implementations are provided
+ * by optional modules and discovered at runtime by {@link EjmlSimd}. All functions operate on raw arrays and
+ * no sanity checks are performed.
+ *
+ * @author Peter Abeles
+ */
+public interface SimdKernels_F32 extends SimdKernels {
+    /**
+     * Returns sum<sub>i</sub> a[offsetA+i]*b[offsetB+i]
+     */
+    float dot( float[] a, int offsetA, float[] b, int offsetB, int length );
+
+    /**
+     * y[offsetY+i] = y[offsetY+i] + alpha*x[offsetX+i]
+     */
+    void axpy( float alpha, float[] x, int offsetX, float[] y, int offsetY, int length );
+
+    /**
+     * c[i] = alpha*a[i] + beta*b[i]
+     */
+    void add( float alpha, float[] a, float beta, float[] b, float[] c, int length );
+
+    /**
+     * c[i] = a[i]*b[i]
+     */
+    void elementMult( float[] a, float[] b, float[] c, int length );
+
+    /**
+     * c[i] = alpha*a[i]
+     */
+    void scale( float alpha, float[] a, float[] c, int length );
+
+    /**
+     * Returns sum<sub>i</sub> a[i]
+     */
+    float sum( float[] a, int length );
+
+    /**
+     * Micro-kernel for packed matrix multiplication which computes a 4x4 block of C. A is packed in column-major
+     * micro-panels with 4 rows and B is packed in row-major micro-panels with 4 columns. See
+     * MatrixMultPacked_FDRM for details.
+     *
+     * <pre>C(0:4,0:4) = alpha*A*B + beta*C(0:4,0:4)</pre>
+     *
+     * If beta is zero then C is not read.
+     */
+    void gemmKernel4x4( int kc, float alpha, float[] A, int indexA, float[] B, int indexB,
+                        float beta, float[] C, int indexC, int strideC );
+}
@@ -28,6 +28,22 @@ public enum FillReducing {
      * No fill reduction permutation will be applied
      */
     NONE,
+    /**
+     * Approximate Minimum Degree (AMD) ordering of A+A<sup>T</sup>. The same permutation is applied to rows and
+     * columns. Best suited for Cholesky and LU of matrices with a (nearly) symmetric structure.
+     */
+    AMD,
+    /**
+     * Column Approximate Minimum Degree (COLAMD) ordering. Orders the columns by computing the minimum degree
+     * ordering of A<sup>T</sup>A while ignoring dense rows. Best suited for QR and LU.
+     */
+    COLAMD,
+    /**
+     * Nested dissection ordering of A+A<sup>T</sup>. The same permutation is applied to rows and columns. Best
+     * suited for Cholesky of very large matrices from 2D and 3D meshes. The separator tree it creates can be used
+     * to factor independent sub trees in parallel.
+     */
+    NESTED_DISSECTION,
     /**
      * TESTING ONLY. Completely random permutation
      */
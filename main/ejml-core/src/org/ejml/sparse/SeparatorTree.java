@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse;
+
+import org.ejml.data.IGrowArray;
+
+/**
+ * <p>Tree of separators which is created by a nested dissection ordering. Each node in the tree refers to a
+ * contiguous range of indexes in the permuted order. The range of a node's sub tree is [begin, end) and the
+ * indexes which belong to the node itself are [separator, end). The sub trees of the children come first and
+ * are disjoint. For a leaf separator == begin and the node contains every index in its range.</p>
+ *
+ * <p>Indexes in two sub trees which don't contain each other are not connected in the matrix's graph. As a result
+ * their columns in a Cholesky or LU decomposition can be computed independently, which is what makes this tree
+ * useful for parallel factorizations.</p>
+ *
+ * <p>Nodes are stored in post order. Children always come before their parent and the root is the last node.</p>
+ *
+ * @author Peter Abeles
+ */
+public class SeparatorTree {
+    // parent of each node. -1 if it's the root
+    public final IGrowArray parent = new IGrowArray();
+    // first index in the node's sub tree
+    public final IGrowArray begin = new IGrowArray();
+    // first index in the node's separator
+    public final IGrowArray separator = new IGrowArray();
+    // one past the last index in the node
+    public final IGrowArray end = new IGrowArray();
+
+    /**
+     * Removes all nodes
+     */
+    public void reset() {
+        parent.clear();
+        begin.clear();
+        separator.clear();
+        end.clear();
+    }
+
+    /**
+     * Adds a new node. Its parent is initially set to -1.
+     *
+     * @return Index of the new node
+     */
+    public int add( int begin, int separator, int end ) {
+        this.parent.add(-1);
+        this.begin.add(begin);
+        this.separator.add(separator);
+        this.end.add(end);
+        return this.parent.length - 1;
+    }
+
+    /**
+     * Number of nodes in the tree
+     */
+    public int size() {
+        return parent.length;
+    }
+
+    /**
+     * Index of the root node or -1 if the tree is empty
+     */
+    public int getRoot() {
+        return parent.length - 1;
+    }
+
+    public int getParent( int node ) {
+        return parent.get(node);
+    }
+
+    public int getBegin( int node ) {
+        return begin.get(node);
+    }
+
+    public int getSeparator( int node ) {
+        return separator.get(node);
+    }
+
+    public int getEnd( int node ) {
+        return end.get(node);
+    }
+
+    /**
+     * True if the node has no children
+     */
+    public boolean isLeaf( int node ) {
+        return begin.get(node) == separator.get(node);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml;
+
+import org.ejml.concurrency.EjmlConcurrency;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Objects;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestEjmlProfile extends EjmlStandardJUnit {
+    Properties original;
+
+    @BeforeEach void saveParameters() {
+        original = EjmlProfile.captureAll();
+    }
+
+    @AfterEach void restoreParameters() {
+        EjmlProfile.applyAll(original);
+    }
+
+    @Test void apply() {
+        var profile = new Properties();
+        profile.setProperty("EjmlParameters.BLOCK_WIDTH", "17");
+        profile.setProperty("EjmlParameters.TRANSPOSE_SWITCH", " 23 ");
+        profile.setProperty("EjmlConcurrency.ELEMENT_THRESHOLD", "1234");
+
+        assertEquals(2, EjmlProfile.apply(profile, EjmlParameters.class));
+        assertEquals(17, EjmlParameters.BLOCK_WIDTH);
+        assertEquals(23, EjmlParameters.TRANSPOSE_SWITCH);
+        // Only the specified class is modified
+        assertNotEquals(1234, EjmlConcurrency.ELEMENT_THRESHOLD);
+
+        assertEquals(3, EjmlProfile.applyAll(profile));
+        assertEquals(1234, EjmlConcurrency.ELEMENT_THRESHOLD);
+    }
+
+    /**
+     * Unknown keys, final fields, and fields which aren't integers are skipped
+     */
+    @Test void apply_ignored() {
+        var profile = new Properties();
+        profile.setProperty("EjmlParameters.DOES_NOT_EXIST", "5");
+        profile.setProperty("EjmlParameters.TOL64", "5");
+        profile.setProperty("EjmlParameters.MEMORY", "LOW_MEMORY");
+        profile.setProperty("BLOCK_WIDTH", "5");
+
+        assertEquals(0, EjmlProfile.applyAll(profile));
+    }
+
+    @Test void apply_malformed() {
+        var profile = new Properties();
+        profile.setProperty("EjmlParameters.BLOCK_WIDTH", "1.5");
+        assertThrows(IllegalArgumentException.class, () -> EjmlProfile.apply(profile, EjmlParameters.class));
+    }
+
+    @Test void capture() {
+        Properties profile = EjmlProfile.captureAll();
+        assertEquals(Integer.toString(EjmlParameters.BLOCK_WIDTH), profile.getProperty("EjmlParameters.BLOCK_WIDTH"));
+        assertEquals(Integer.toString(EjmlConcurrency.ELEMENT_THRESHOLD),
+                profile.getProperty("EjmlConcurrency.ELEMENT_THRESHOLD"));
+        assertNull(profile.getProperty("EjmlParameters.TOL64"));
+        assertNull(profile.getProperty("EjmlParameters.MEMORY"));
+    }
+
+    @Test void saveLoad() throws Exception {
+        var profile = new Properties();
+        profile.setProperty("EjmlParameters.MULT_INNER_SWITCH", "77");
+
+        var writer = new StringWriter();
+        EjmlProfile.save(profile, writer, "test comment");
+        assertTrue(writer.toString().contains("test comment"));
+
+        Properties found = EjmlProfile.load(new StringReader(writer.toString()));
+        assertEquals(profile, found);
+
+        EjmlProfile.applyAll(found);
+        assertEquals(77, EjmlParameters.MULT_INNER_SWITCH);
+    }
+
+    @Test void findDefault() {
+        String before = System.getProperty(EjmlProfile.PROPERTY_PATH);
+        try {
+            System.setProperty(EjmlProfile.PROPERTY_PATH, "");
+            assertNull(EjmlProfile.findDefault());
+            System.setProperty(EjmlProfile.PROPERTY_PATH, "foo/bar.properties");
+            assertEquals("bar.properties", Objects.requireNonNull(EjmlProfile.findDefault()).getName());
+        } finally {
+            if (before == null)
+                System.clearProperty(EjmlProfile.PROPERTY_PATH);
+            else
+                System.setProperty(EjmlProfile.PROPERTY_PATH, before);
+        }
+    }
+}
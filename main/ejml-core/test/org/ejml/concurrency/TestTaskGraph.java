@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.concurrency;
+
+import org.ejml.EjmlStandardJUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestTaskGraph extends EjmlStandardJUnit {
+    int originalThreads;
+
+    @BeforeEach void setThreads() {
+        originalThreads = EjmlConcurrency.getMaxThreads();
+        EjmlConcurrency.setMaxThreads(4);
+    }
+
+    @AfterEach void restoreThreads() {
+        EjmlConcurrency.setMaxThreads(originalThreads);
+    }
+
+    /**
+     * Writes to the same handle must happen in the order they were added
+     */
+    @Test void writeAfterWrite() {
+        var graph = new TaskGraph();
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        for (int i = 0; i < 200; i++) {
+            int value = i;
+            graph.add(() -> order.add(value)).write(3);
+        }
+        graph.execute();
+
+        assertEquals(200, order.size());
+        for (int i = 0; i < order.size(); i++) {
+            assertEquals(i, (int)order.get(i));
+        }
+    }
+
+    /**
+     * Readers wait for the previous writer and the next writer waits for all the readers
+     */
+    @Test void readersAndWriters() {
+        for (int trial = 0; trial < 20; trial++) {
+            var graph = new TaskGraph();
+            int[] data = new int[1];
+            var readCount = new AtomicInteger();
+            var failures = new AtomicInteger();
+
+            for (int step = 0; step < 10; step++) {
+                int expected = step;
+                graph.add(() -> {
+                    if (readCount.get() != expected*5)
+                        failures.incrementAndGet();
+                    data[0]++;
+                }).write(0);
+                for (int i = 0; i < 5; i++) {
+                    graph.add(() -> {
+                        if (data[0] != expected + 1)
+                            failures.incrementAndGet();
+                        readCount.incrementAndGet();
+                    }).read(0).write(i + 1);
+                }
+            }
+            graph.execute();
+
+            assertEquals(10, data[0]);
+            assertEquals(50, readCount.get());
+            assertEquals(0, failures.get());
+        }
+    }
+
+    /**
+     * Compute a prefix sum where each element depends on the previous and compare to the sequential version
+     */
+    @Test void compareToSequential() {
+        int N = 100;
+        double[] found = new double[N];
+        double[] expected = new double[N];
+        for (int i = 0; i < N; i++) {
+            found[i] = expected[i] = rand.nextDouble();
+        }
+
+        var graph = new TaskGraph();
+        addPrefixSum(graph, found);
+        assertEquals(N, graph.size());
+        graph.execute();
+        assertEquals(0, graph.size());
+
+        addPrefixSum(graph, expected);
+        graph.executeSequential();
+
+        assertArrayEquals(expected, found, 0.0);
+    }
+
+    private void addPrefixSum( TaskGraph graph, double[] data ) {
+        graph.add(() -> {}).write(0);
+        for (int i = 1; i < data.length; i++) {
+            int index = i;
+            graph.add(() -> data[index] += data[index - 1]).read(i - 1).write(i).priority(i);
+        }
+    }
+
+    /**
+     * An exception should be passed to the caller and tasks which depend on it should not be run
+     */
+    @Test void exception() {
+        var graph = new TaskGraph();
+        var counter = new AtomicInteger();
+        graph.add(() -> {throw new IllegalArgumentException("test");}).write(0);
+        graph.add(counter::incrementAndGet).read(0);
+
+        assertThrows(IllegalArgumentException.class, graph::execute);
+        assertEquals(0, counter.get());
+
+        // the graph should be usable again
+        graph.add(counter::incrementAndGet).write(0);
+        graph.execute();
+        assertEquals(1, counter.get());
+    }
+
+    @Test void negativeHandle() {
+        var graph = new TaskGraph();
+        TaskGraph.Task task = graph.add(() -> {});
+        assertThrows(IllegalArgumentException.class, () -> task.write(-1));
+    }
+}
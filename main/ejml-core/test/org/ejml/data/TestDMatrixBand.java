@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.data;
+
+import org.ejml.EjmlStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestDMatrixBand extends EjmlStandardJUnit {
+    @Test void constructor() {
+        var A = new DMatrixBand(5, 2, 1);
+        assertEquals(5, A.getNumRows());
+        assertEquals(5, A.getNumCols());
+        assertEquals(4, A.getWidth());
+        assertEquals(20, A.getDataLength());
+        assertTrue(A.data.length >= 20);
+        assertThrows(IllegalArgumentException.class, () -> new DMatrixBand(5, -1, 1));
+    }
+
+    /**
+     * Elements inside the band must map to unique indexes inside the array
+     */
+    @Test void getIndex() {
+        var A = new DMatrixBand(6, 2, 1);
+        var used = new boolean[A.getDataLength()];
+        for (int row = 0; row < 6; row++) {
+            for (int col = 0; col < 6; col++) {
+                if (!A.isInBand(row, col))
+                    continue;
+                int index = A.getIndex(row, col);
+                assertFalse(used[index]);
+                used[index] = true;
+            }
+        }
+    }
+
+    @Test void reshape() {
+        var A = new DMatrixBand(10, 2, 2);
+        double[] original = A.data;
+
+        A.reshape(4, 1, 1);
+        assertEquals(4, A.numRows);
+        assertEquals(1, A.lower);
+        assertEquals(1, A.upper);
+        assertSame(original, A.data);
+
+        A.reshape(20, 20);
+        assertEquals(20, A.numRows);
+        assertEquals(60, A.getDataLength());
+        assertTrue(A.data.length >= 60);
+        assertThrows(IllegalArgumentException.class, () -> A.reshape(2, 3));
+    }
+
+    @Test void get_set() {
+        var A = new DMatrixBand(5, 1, 2);
+        A.set(3, 2, 2.0);
+        A.set(1, 3, 3.0);
+        assertEquals(2.0, A.get(3, 2));
+        assertEquals(3.0, A.get(1, 3));
+        assertEquals(0.0, A.get(3, 1));
+        assertEquals(0.0, A.get(0, 4));
+
+        assertThrows(IllegalArgumentException.class, () -> A.set(3, 1, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> A.get(5, 0));
+    }
+
+    @Test void setTo_dense() {
+        var B = new DMatrixRMaj(3, 3, true, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+
+        var A = new DMatrixBand(1, 1, 0);
+        A.setTo(B);
+        assertEquals(3, A.numRows);
+        assertEquals(1, A.lower);
+        assertEquals(0, A.upper);
+        for (int row = 0; row < 3; row++) {
+            for (int col = 0; col < 3; col++) {
+                assertEquals(A.isInBand(row, col) ? B.get(row, col) : 0.0, A.get(row, col));
+            }
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> A.setTo(new DMatrixRMaj(2, 3)));
+    }
+
+    @Test void setTo_copy() {
+        var A = new DMatrixBand(6, 1, 2);
+        for (int i = 0; i < A.getDataLength(); i++) {
+            A.data[i] = rand.nextDouble();
+        }
+
+        var B = new DMatrixBand(2, 0, 0);
+        B.setTo((Matrix)A);
+        assertEquals(6, B.numRows);
+        assertEquals(1, B.lower);
+        assertEquals(2, B.upper);
+        for (int i = 0; i < A.getDataLength(); i++) {
+            assertEquals(A.data[i], B.data[i]);
+        }
+
+        DMatrixBand C = A.copy();
+        assertNotSame(A.data, C.data);
+        assertEquals(A.get(3, 4), C.get(3, 4));
+
+        DMatrixBand D = A.createLike();
+        assertEquals(6, D.numRows);
+        assertEquals(1, D.lower);
+        assertEquals(2, D.upper);
+    }
+
+    @Test void zero() {
+        var A = new DMatrixBand(4, 1, 1);
+        A.set(2, 1, 5.0);
+        A.zero();
+        for (int i = 0; i < A.getDataLength(); i++) {
+            assertEquals(0.0, A.data[i]);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2020, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.data;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.EjmlUnitTests;
+import org.ejml.MatrixDimensionException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestDMatrixBatch extends EjmlStandardJUnit {
+    @Test void constructor() {
+        var batch = new DMatrixBatch(5, 2, 3, BatchLayout.SOA);
+        assertEquals(5, batch.size);
+        assertEquals(2, batch.numRows);
+        assertEquals(3, batch.numCols);
+        assertEquals(30, batch.data.length);
+        assertSame(BatchLayout.SOA, batch.layout);
+    }
+
+    @Test void reshape() {
+        var batch = new DMatrixBatch(5, 2, 3, BatchLayout.AOS);
+        double[] original = batch.data;
+
+        batch.reshape(2, 3, 4);
+        assertTrue(batch.isShape(2, 3, 4));
+        assertSame(original, batch.data);
+
+        batch.reshape(10, 3, 4);
+        assertTrue(batch.isShape(10, 3, 4));
+        assertEquals(120, batch.data.length);
+    }
+
+    @Test void getIndex() {
+        var aos = new DMatrixBatch(5, 2, 3, BatchLayout.AOS);
+        assertEquals(4*6 + 1*3 + 2, aos.getIndex(4, 1, 2));
+
+        var soa = new DMatrixBatch(5, 2, 3, BatchLayout.SOA);
+        assertEquals(4 + (1*3 + 2)*5, soa.getIndex(4, 1, 2));
+    }
+
+    @Test void get_set() {
+        for (BatchLayout layout : BatchLayout.values()) {
+            var batch = new DMatrixBatch(4, 2, 3, layout);
+            for (int i = 0; i < 4; i++) {
+                for (int row = 0; row < 2; row++) {
+                    for (int col = 0; col < 3; col++) {
+                        batch.set(i, row, col, i*100 + row*10 + col);
+                    }
+                }
+            }
+            for (int i = 0; i < 4; i++) {
+                for (int row = 0; row < 2; row++) {
+                    for (int col = 0; col < 3; col++) {
+                        assertEquals(i*100 + row*10 + col, batch.get(i, row, col));
+                    }
+                }
+            }
+
+            assertThrows(IllegalArgumentException.class, () -> batch.get(4, 0, 0));
+            assertThrows(IllegalArgumentException.class, () -> batch.set(0, 2, 0, 1.0));
+        }
+    }
+
+    @Test void getMatrix_setMatrix() {
+        for (BatchLayout layout : BatchLayout.values()) {
+            var batch = new DMatrixBatch(4, 2, 3, layout);
+            var A = new DMatrixRMaj(2, 3);
+            for (int i = 0; i < A.data.length; i++) {
+                A.data[i] = rand.nextDouble();
+            }
+
+            batch.setMatrix(2, A);
+            DMatrixRMaj found = batch.getMatrix(2, null);
+            EjmlUnitTests.assertEquals(A, found, 0.0);
+            for (int row = 0; row < 2; row++) {
+                for (int col = 0; col < 3; col++) {
+                    assertEquals(A.get(row, col), batch.get(2, row, col));
+                    assertEquals(0.0, batch.get(1, row, col));
+                }
+            }
+
+            assertThrows(MatrixDimensionException.class, () -> batch.setMatrix(0, new DMatrixRMaj(3, 2)));
+        }
+    }
+
+    /**
+     * Copy between batches with the same and different layouts
+     */
+    @Test void setTo() {
+        for (BatchLayout layoutA : BatchLayout.values()) {
+            for (BatchLayout layoutB : BatchLayout.values()) {
+                var a = new DMatrixBatch(5, 2, 3, layoutA);
+                for (int i = 0; i < a.getDataLength(); i++) {
+                    a.data[i] = rand.nextDouble();
+                }
+
+                var b = new DMatrixBatch(layoutB);
+                b.setTo(a);
+                assertTrue(b.isShape(5, 2, 3));
+                for (int i = 0; i < 5; i++) {
+                    for (int row = 0; row < 2; row++) {
+                        for (int col = 0; col < 3; col++) {
+                            assertEquals(a.get(i, row, col), b.get(i, row, col));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test void copy() {
+        var a = new DMatrixBatch(5, 2, 3, BatchLayout.SOA);
+        a.set(3, 1, 1, 2.5);
+        DMatrixBatch b = a.copy();
+        assertNotSame(a.data, b.data);
+        assertSame(a.layout, b.layout);
+        assertEquals(2.5, b.get(3, 1, 1));
+    }
+
+    @Test void zero() {
+        var a = new DMatrixBatch(5, 2, 3, BatchLayout.AOS);
+        for (int i = 0; i < a.getDataLength(); i++) {
+            a.data[i] = 1.0 + i;
+        }
+        a.zero();
+        for (int i = 0; i < a.getDataLength(); i++) {
+            assertEquals(0.0, a.data[i]);
+        }
+    }
+}
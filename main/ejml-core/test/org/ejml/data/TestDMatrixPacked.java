@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.data;
+
+import org.ejml.EjmlStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestDMatrixPacked extends EjmlStandardJUnit {
+    @Test void constructor() {
+        var A = new DMatrixPacked(5, PackedShape.LOWER);
+        assertEquals(5, A.getNumRows());
+        assertEquals(5, A.getNumCols());
+        assertEquals(15, A.data.length);
+        assertSame(PackedShape.LOWER, A.shape);
+        assertSame(PackedShape.SYMMETRIC, new DMatrixPacked(3).shape);
+    }
+
+    @Test void index() {
+        int expected = 0;
+        for (int row = 0; row < 6; row++) {
+            for (int col = 0; col <= row; col++) {
+                assertEquals(expected++, DMatrixPacked.index(row, col));
+            }
+        }
+        assertEquals(expected, DMatrixPacked.packedLength(6));
+    }
+
+    @Test void reshape() {
+        var A = new DMatrixPacked(5);
+        double[] original = A.data;
+
+        A.reshape(3);
+        assertEquals(3, A.numRows);
+        assertSame(original, A.data);
+
+        A.reshape(6, 6);
+        assertEquals(21, A.data.length);
+        assertThrows(IllegalArgumentException.class, () -> A.reshape(2, 3));
+    }
+
+    @Test void get_set_symmetric() {
+        var A = new DMatrixPacked(4);
+        A.set(1, 3, 2.0);
+        A.set(2, 0, 3.0);
+        assertEquals(2.0, A.get(1, 3));
+        assertEquals(2.0, A.get(3, 1));
+        assertEquals(3.0, A.get(0, 2));
+        assertEquals(3.0, A.data[DMatrixPacked.index(2, 0)]);
+
+        assertThrows(IllegalArgumentException.class, () -> A.get(4, 0));
+        assertThrows(IllegalArgumentException.class, () -> A.set(0, -1, 1.0));
+    }
+
+    @Test void get_set_lower() {
+        var A = new DMatrixPacked(4, PackedShape.LOWER);
+        A.set(3, 1, 2.0);
+        assertEquals(2.0, A.get(3, 1));
+        assertEquals(0.0, A.get(1, 3));
+        assertThrows(IllegalArgumentException.class, () -> A.set(1, 3, 1.0));
+    }
+
+    @Test void setTo_dense() {
+        var B = new DMatrixRMaj(3, 3, true, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+
+        var A = new DMatrixPacked(1, PackedShape.LOWER);
+        A.setTo(B);
+        assertSame(PackedShape.LOWER, A.shape);
+        assertEquals(3, A.numRows);
+        assertArrayEquals(new double[]{1, 4, 5, 7, 8, 9}, A.data, 0.0);
+
+        assertThrows(IllegalArgumentException.class, () -> A.setTo(new DMatrixRMaj(2, 3)));
+    }
+
+    @Test void setTo_copy() {
+        var A = new DMatrixPacked(4, PackedShape.LOWER);
+        for (int i = 0; i < A.data.length; i++) {
+            A.data[i] = rand.nextDouble();
+        }
+
+        var B = new DMatrixPacked(2);
+        B.setTo((Matrix)A);
+        assertSame(PackedShape.LOWER, B.shape);
+        assertEquals(4, B.numRows);
+        assertArrayEquals(A.data, B.data, 0.0);
+
+        DMatrixPacked C = A.copy();
+        assertNotSame(A.data, C.data);
+        assertArrayEquals(A.data, C.data, 0.0);
+
+        DMatrixPacked D = A.createLike();
+        assertEquals(4, D.numRows);
+        assertSame(PackedShape.LOWER, D.shape);
+    }
+
+    @Test void zero() {
+        var A = new DMatrixPacked(4);
+        A.set(2, 1, 5.0);
+        A.zero();
+        for (double v : A.data) {
+            assertEquals(0.0, v);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.row.decomposition.svd;
+
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the randomized truncated SVD against the full SVD when only a few singular values are needed
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+public class BenchmarkDecompositionSvdRandomized_DDRM {
+    @Param({"1000"})
+    public int size;
+
+    @Param({"10"})
+    public int rank;
+
+    public DMatrixRMaj A;
+
+    @Setup
+    public void setup() {
+        Random rand = new Random(234);
+        A = RandomMatrices_DDRM.rectangle(size*4, size, -1, 1, rand);
+    }
+
+    @Benchmark
+    public void full() {
+        new SvdImplicitQrDecompose_DDRM(true, true, true, false).decompose(A.copy());
+    }
+
+    @Benchmark
+    public void randomized() {
+        new SvdRandomized_DDRM(rank, 10, 2, true, true).decompose(A);
+    }
+
+    @Benchmark
+    public void randomized_MT() {
+        new SvdRandomized_MT_DDRM(rank, 10, 2, true, true).decompose(A);
+    }
+
+    public static void main( String[] args ) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(BenchmarkDecompositionSvdRandomized_DDRM.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -37,7 +37,7 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
 
     @Override
     public void generate() throws FileNotFoundException {
-        for (int dimension = 2; dimension <= 6; dimension++) {
+        for (int dimension = 2; dimension <= MAX_DIMENSION; dimension++) {
             printPreable(dimension);
 
             add(dimension);
@@ -140,6 +140,11 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "     * @param c A Matrix where the results are stored. Modified.\n" +
                 "     */\n" +
                 "    public static void add( " + nameMatrix + " a , " + nameMatrix + " b , " + nameMatrix + " c ) {\n");
+        if (!isUnrolled(dimen)) {
+            printLoop(dimen*dimen, "c.data[i] = a.data[i] + b.data[i];");
+            printClose();
+            return;
+        }
         for (int y = 1; y <= dimen; y++) {
             for (int x = 1; x <= dimen; x++) {
                 String n = y + "" + x;
@@ -166,6 +171,11 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "     * @param c A Vector where the results are stored. Modified.\n" +
                 "     */\n" +
                 "    public static void add( " + nameVector + " a , " + nameVector + " b , " + nameVector + " c ) {\n");
+        if (!isUnrolled(dimen)) {
+            printLoop(dimen, "c.data[i] = a.data[i] + b.data[i];");
+            printClose();
+            return;
+        }
         for (int y = 1; y <= dimen; y++) {
             out.print("        c.a" + y + " = a.a" + y + " + b.a" + y + ";\n");
         }
@@ -184,6 +194,11 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "     * @param b A Matrix. Not modified.\n" +
                 "     */\n" +
                 "    public static void addEquals( " + nameMatrix + " a , " + nameMatrix + " b ) {\n");
+        if (!isUnrolled(dimen)) {
+            printLoop(dimen*dimen, "a.data[i] += b.data[i];");
+            printClose();
+            return;
+        }
         for (int y = 1; y <= dimen; y++) {
             for (int x = 1; x <= dimen; x++) {
                 String n = y + "" + x;
@@ -205,6 +220,11 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "     * @param b A Vector. Not modified.\n" +
                 "     */\n" +
                 "    public static void addEquals( " + nameVector + " a , " + nameVector + " b ) {\n");
+        if (!isUnrolled(dimen)) {
+            printLoop(dimen, "a.data[i] += b.data[i];");
+            printClose();
+            return;
+        }
         for (int y = 1; y <= dimen; y++) {
             out.print("        a.a" + y + " += b.a" + y + ";\n");
         }
@@ -228,6 +248,11 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "     * @param c A Matrix where the results are stored. Modified.\n" +
                 "     */\n" +
                 "    public static void subtract( " + nameMatrix + " a , " + nameMatrix + " b , " + nameMatrix + " c ) {\n");
+        if (!isUnrolled(dimen)) {
+            printLoop(dimen*dimen, "c.data[i] = a.data[i] - b.data[i];");
+            printClose();
+            return;
+        }
         for (int y = 1; y <= dimen; y++) {
             for (int x = 1; x <= dimen; x++) {
                 String n = y + "" + x;
@@ -254,6 +279,11 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "     * @param c A Vector where the results are stored. Modified.\n" +
                 "     */\n" +
                 "    public static void subtract( " + nameVector + " a , " + nameVector + " b , " + nameVector + " c ) {\n");
+        if (!isUnrolled(dimen)) {
+            printLoop(dimen, "c.data[i] = a.data[i] - b.data[i];");
+            printClose();
+            return;
+        }
         for (int y = 1; y <= dimen; y++) {
             out.print("        c.a" + y + " = a.a" + y + " - b.a" + y + ";\n");
         }
@@ -272,6 +302,11 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "     * @param b A Matrix. Not modified.\n" +
                 "     */\n" +
                 "    public static void subtractEquals( " + nameMatrix + " a , " + nameMatrix + " b ) {\n");
+        if (!isUnrolled(dimen)) {
+            printLoop(dimen*dimen, "a.data[i] -= b.data[i];");
+            printClose();
+            return;
+        }
         for (int y = 1; y <= dimen; y++) {
             for (int x = 1; x <= dimen; x++) {
                 String n = y + "" + x;
@@ -293,6 +328,11 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "     * @param b A Vector. Not modified.\n" +
                 "     */\n" +
                 "    public static void subtractEquals( " + nameVector + " a , " + nameVector + " b ) {\n");
+        if (!isUnrolled(dimen)) {
+            printLoop(dimen, "a.data[i] -= b.data[i];");
+            printClose();
+            return;
+        }
         for (int y = 1; y <= dimen; y++) {
             String n = "" + y;
             out.print("        a.a" + n + " -= b.a" + n + ";\n");
@@ -309,6 +349,16 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "     */\n" +
                 "    public static void transpose( " + nameMatrix + " m ) {\n" +
                 "        double tmp;\n");
+        if (!isUnrolled(dimen)) {
+            out.print("        for (int i = 0; i < " + dimen + "; i++) {\n" +
+                    "            for (int j = i + 1; j < " + dimen + "; j++) {\n" +
+                    "                int ij = i*" + dimen + " + j, ji = j*" + dimen + " + i;\n" +
+                    "                tmp = m.data[ij]; m.data[ij] = m.data[ji]; m.data[ji] = tmp;\n" +
+                    "            }\n" +
+                    "        }\n");
+            printClose();
+            return;
+        }
         for (int y = 1; y <= dimen; y++) {
             for (int x = y + 1; x <= dimen; x++) {
                 String f = +y + "" + x;
@@ -336,6 +386,18 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "    public static " + nameMatrix + " transpose( " + nameMatrix + " input , " + nameMatrix + " output ) {\n" +
                 "        if( input == null )\n" +
                 "            input = new " + nameMatrix + "();\n\n");
+        if (!isUnrolled(dimen)) {
+            out.print("        UtilEjml.checkSameInstance(input,output);\n" +
+                    "        for (int i = 0; i < " + dimen + "; i++) {\n" +
+                    "            for (int j = 0; j < " + dimen + "; j++) {\n" +
+                    "                output.data[j*" + dimen + " + i] = input.data[i*" + dimen + " + j];\n" +
+                    "            }\n" +
+                    "        }\n" +
+                    "\n" +
+                    "        return output;\n" +
+                    "    }\n\n");
+            return;
+        }
         out.print("        UtilEjml.checkSameInstance(input,output);\n");
         for (int y = 1; y <= dimen; y++) {
             for (int x = 1; x <= dimen; x++) {
@@ -371,6 +433,10 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
         out.print(
                 "        UtilEjml.checkSameInstance(a,c);\n" +
                         "        UtilEjml.checkSameInstance(b,c);\n");
+        if (!isUnrolled(dimen)) {
+            printMultLoop(dimen, false, false, add, false);
+            return;
+        }
 
         for (int y = 1; y <= dimen; y++) {
             for (int x = 1; x <= dimen; x++) {
@@ -387,6 +453,55 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
         out.print("    }\n\n");
     }
 
+    /**
+     * Prints the body of a multiplication for matrices which are stored in arrays. For each row in 'c' the
+     * corresponding row, or column if transposed, of 'a' is copied into local variables. Then a loop goes through
+     * the columns of 'c' with the inner product unrolled. This keeps the code size linear in the number of rows while
+     * avoiding the reads from 'a' and writes to 'c' inside the inner loop which a fully looped version has.
+     */
+    private void printMultLoop( int dimen, boolean transA, boolean transB, boolean add, boolean scale ) {
+        String[] locals = new String[dimen];
+        String[] terms = new String[dimen];
+        for (int k = 0; k < dimen; k++) {
+            if (transA)
+                locals[k] = "a" + (k + 1) + " = a.data[" + (k == 0 ? "i" : "i + " + k*dimen) + "]";
+            else
+                locals[k] = "a" + (k + 1) + " = a.data[" + (k == 0 ? "indexA" : "indexA + " + k) + "]";
+            if (transB)
+                terms[k] = "a" + (k + 1) + "*b.data[" + (k == 0 ? "indexB" : "indexB + " + k) + "]";
+            else
+                terms[k] = "a" + (k + 1) + "*b.data[" + (k == 0 ? "j" : k*dimen + " + j") + "]";
+        }
+
+        String plus = add ? "+" : "";
+        out.print("        for (int i = 0; i < " + dimen + "; i++) {\n");
+        if (!transA)
+            out.print("            int indexA = i*" + dimen + ";\n");
+        out.print("            double " + joinLines(locals, ", ", "                   ") + ";\n" +
+                "            for (int j = 0; j < " + dimen + "; j++) {\n");
+        if (transB)
+            out.print("                int indexB = j*" + dimen + ";\n");
+        String sum = joinLines(terms, " + ", "                        ");
+        out.print("                c.data[i*" + dimen + " + j] " + plus + "= " + (scale ? "alpha*(" + sum + ")" : sum) + ";\n" +
+                "            }\n" +
+                "        }\n");
+        printClose();
+    }
+
+    /**
+     * Joins the strings together and starts a new line with the specified indentation every 4 strings
+     */
+    private static String joinLines( String[] strings, String separator, String indent ) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < strings.length; i++) {
+            if (i > 0) {
+                builder.append(i%4 == 0 ? separator.stripTrailing() + "\n" + indent : separator);
+            }
+            builder.append(strings[i]);
+        }
+        return builder.toString();
+    }
+
     private void multScale( int dimen, boolean add ) {
         String plus = add ? "+" : "";
         String name = add ? "multAdd" : "mult";
@@ -408,6 +523,10 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
 
         out.print("        UtilEjml.checkSameInstance(a,c);\n" +
                 "        UtilEjml.checkSameInstance(b,c);\n");
+        if (!isUnrolled(dimen)) {
+            printMultLoop(dimen, false, false, add, true);
+            return;
+        }
 
         for (int y = 1; y <= dimen; y++) {
             for (int x = 1; x <= dimen; x++) {
@@ -443,6 +562,10 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "    public static void " + name + "( " + nameMatrix + " a , " + nameMatrix + " b , " + nameMatrix + " c) {\n");
         out.print("        UtilEjml.checkSameInstance(a,c);\n" +
                 "        UtilEjml.checkSameInstance(b,c);\n");
+        if (!isUnrolled(dimen)) {
+            printMultLoop(dimen, true, false, add, false);
+            return;
+        }
         for (int y = 1; y <= dimen; y++) {
             for (int x = 1; x <= dimen; x++) {
                 out.print("        c.a" + y + "" + x + " " + plus + "= ");
@@ -478,6 +601,10 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "    public static void " + name + "( double alpha , " + nameMatrix + " a , " + nameMatrix + " b , " + nameMatrix + " c) {\n");
         out.print("        UtilEjml.checkSameInstance(a,c);\n" +
                 "        UtilEjml.checkSameInstance(b,c);\n");
+        if (!isUnrolled(dimen)) {
+            printMultLoop(dimen, true, false, add, true);
+            return;
+        }
         for (int y = 1; y <= dimen; y++) {
             for (int x = 1; x <= dimen; x++) {
                 out.print("        c.a" + y + "" + x + " " + plus + "= alpha*(");
@@ -512,6 +639,10 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "    public static void " + name + "( " + nameMatrix + " a , " + nameMatrix + " b , " + nameMatrix + " c) {\n");
         out.print("        UtilEjml.checkSameInstance(a,c);\n" +
                 "        UtilEjml.checkSameInstance(b,c);\n");
+        if (!isUnrolled(dimen)) {
+            printMultLoop(dimen, true, true, add, false);
+            return;
+        }
         for (int y = 1; y <= dimen; y++) {
             for (int x = 1; x <= dimen; x++) {
                 out.print("        c.a" + y + "" + x + " " + plus + "= ");
@@ -547,6 +678,10 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "    public static void " + name + "( double alpha , " + nameMatrix + " a , " + nameMatrix + " b , " + nameMatrix + " c) {\n");
         out.print("        UtilEjml.checkSameInstance(a,c);\n" +
                 "        UtilEjml.checkSameInstance(b,c);\n");
+        if (!isUnrolled(dimen)) {
+            printMultLoop(dimen, true, true, add, true);
+            return;
+        }
         for (int y = 1; y <= dimen; y++) {
             for (int x = 1; x <= dimen; x++) {
                 out.print("        c.a" + y + "" + x + " " + plus + "= alpha*(");
@@ -581,6 +716,10 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "    public static void " + name + "( " + nameMatrix + " a , " + nameMatrix + " b , " + nameMatrix + " c) {\n");
         out.print("        UtilEjml.checkSameInstance(a,c);\n" +
                 "        UtilEjml.checkSameInstance(b,c);\n");
+        if (!isUnrolled(dimen)) {
+            printMultLoop(dimen, false, true, add, false);
+            return;
+        }
         for (int y = 1; y <= dimen; y++) {
             for (int x = 1; x <= dimen; x++) {
                 out.print("        c.a" + y + "" + x + " " + plus + "= ");
@@ -616,6 +755,10 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "    public static void " + name + "( double alpha , " + nameMatrix + " a , " + nameMatrix + " b , " + nameMatrix + " c) {\n");
         out.print("        UtilEjml.checkSameInstance(a,c);\n" +
                 "        UtilEjml.checkSameInstance(b,c);\n");
+        if (!isUnrolled(dimen)) {
+            printMultLoop(dimen, false, true, add, true);
+            return;
+        }
         for (int y = 1; y <= dimen; y++) {
             for (int x = 1; x <= dimen; x++) {
                 out.print("        c.a" + y + "" + x + " " + plus + "= alpha*(");
@@ -645,6 +788,21 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "     * @param c Where the results of the operation are stored. Modified.\n" +
                 "     */\n" +
                 "    public static void mult( " + nameMatrix + " a , " + nameVector + " b , " + nameVector + " c) {\n");
+        if (!isUnrolled(dimen)) {
+            String[] locals = new String[dimen];
+            String[] terms = new String[dimen];
+            for (int j = 0; j < dimen; j++) {
+                locals[j] = "b" + (j + 1) + " = b.data[" + j + "]";
+                terms[j] = "a.data[" + (j == 0 ? "indexA" : "indexA + " + j) + "]*b" + (j + 1);
+            }
+            out.print("        double " + joinLines(locals, ", ", "               ") + ";\n" +
+                    "        for (int i = 0; i < " + dimen + "; i++) {\n" +
+                    "            int indexA = i*" + dimen + ";\n" +
+                    "            c.data[i] = " + joinLines(terms, " + ", "                    ") + ";\n" +
+                    "        }\n");
+            printClose();
+            return;
+        }
         for (int y = 1; y <= dimen; y++) {
             out.print("        c.a" + y + " = ");
             for (int x = 1; x <= dimen; x++) {
@@ -670,6 +828,17 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "     * @param C Storage for solution. Can be same instance as A.\n" +
                 "     */\n" +
                 "    public static void multAddOuter( double alpha , " + nameMatrix + " A , double beta , " + nameVector + " u , " + nameVector + " v , " + nameMatrix + " C ) {\n");
+        if (!isUnrolled(dimen)) {
+            out.print("        for (int i = 0; i < " + dimen + "; i++) {\n" +
+                    "            double betaU = beta*u.data[i];\n" +
+                    "            for (int j = 0; j < " + dimen + "; j++) {\n" +
+                    "                int index = i*" + dimen + " + j;\n" +
+                    "                C.data[index] = alpha*A.data[index] + betaU*v.data[j];\n" +
+                    "            }\n" +
+                    "        }\n");
+            printClose();
+            return;
+        }
         for (int i = 1; i <= dimen; i++) {
             for (int j = 1; j <= dimen; j++) {
                 String m = i + "" + j;
@@ -693,6 +862,20 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "     * @param c Where the results of the operation are stored. Modified.\n" +
                 "     */\n" +
                 "    public static void mult( " + nameVector + " a , " + nameMatrix + " b , " + nameVector + " c) {\n");
+        if (!isUnrolled(dimen)) {
+            String[] locals = new String[dimen];
+            String[] terms = new String[dimen];
+            for (int k = 0; k < dimen; k++) {
+                locals[k] = "a" + (k + 1) + " = a.data[" + k + "]";
+                terms[k] = "a" + (k + 1) + "*b.data[" + (k == 0 ? "j" : k*dimen + " + j") + "]";
+            }
+            out.print("        double " + joinLines(locals, ", ", "               ") + ";\n" +
+                    "        for (int j = 0; j < " + dimen + "; j++) {\n" +
+                    "            c.data[j] = " + joinLines(terms, " + ", "                    ") + ";\n" +
+                    "        }\n");
+            printClose();
+            return;
+        }
 
         for (int y = 1; y <= dimen; y++) {
             out.print("        c.a" + y + " = ");
@@ -721,6 +904,15 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "     * @return The dot product\n" +
                 "     */\n" +
                 "    public static double dot( " + nameVector + " a , " + nameVector + " b ) {\n");
+        if (!isUnrolled(dimen)) {
+            out.print("        double sum = 0;\n" +
+                    "        for (int i = 0; i < " + dimen + "; i++) {\n" +
+                    "            sum += a.data[i]*b.data[i];\n" +
+                    "        }\n" +
+                    "        return sum;\n" +
+                    "    }\n\n");
+            return;
+        }
         out.print("        return ");
         for (int i = 1; i <= dimen; i++) {
             out.print("a.a" + i + "*b.a" + i);
@@ -740,6 +932,14 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "     * @param a A matrix.\n" +
                 "     */\n" +
                 "    public static void setIdentity( " + nameMatrix + " a ) {\n");
+        if (!isUnrolled(dimen)) {
+            printLoop(dimen*dimen, "a.data[i] = 0;");
+            out.print("        for (int i = 0; i < " + (dimen*dimen) + "; i += " + (dimen + 1) + ") {\n" +
+                    "            a.data[i] = 1;\n" +
+                    "        }\n");
+            printClose();
+            return;
+        }
         for (int y = 1; y <= dimen; y++) {
             out.print("        ");
             for (int x = 1; x <= dimen; x++) {
@@ -805,6 +1005,26 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "     */\n" +
                 "    public static boolean cholL( " + nameMatrix + " A ) {\n" +
                 "\n");
+        if (!isUnrolled(N)) {
+            out.print("        for (int i = 0; i < " + N + "; i++) {\n" +
+                    "            for (int j = 0; j <= i; j++) {\n" +
+                    "                double sum = A.data[i*" + N + " + j];\n" +
+                    "                for (int k = 0; k < j; k++) {\n" +
+                    "                    sum -= A.data[i*" + N + " + k]*A.data[j*" + N + " + k];\n" +
+                    "                }\n" +
+                    "                if (i == j)\n" +
+                    "                    A.data[i*" + N + " + i] = Math.sqrt(sum);\n" +
+                    "                else\n" +
+                    "                    A.data[i*" + N + " + j] = sum/A.data[j*" + N + " + j];\n" +
+                    "            }\n" +
+                    "            for (int j = i + 1; j < " + N + "; j++) {\n" +
+                    "                A.data[i*" + N + " + j] = 0;\n" +
+                    "            }\n" +
+                    "        }\n" +
+                    "        return !UtilEjml.isUncountable(A.data[" + (N*N - 1) + "]);\n");
+            printClose();
+            return;
+        }
 
         for (int i = 1; i <= N; i++) {
             for (int j = 1; j <= N; j++) {
@@ -838,6 +1058,26 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "     */\n" +
                 "    public static boolean cholU( " + nameMatrix + " A ) {\n" +
                 "\n");
+        if (!isUnrolled(N)) {
+            out.print("        for (int j = 0; j < " + N + "; j++) {\n" +
+                    "            for (int i = 0; i <= j; i++) {\n" +
+                    "                double sum = A.data[i*" + N + " + j];\n" +
+                    "                for (int k = 0; k < i; k++) {\n" +
+                    "                    sum -= A.data[k*" + N + " + i]*A.data[k*" + N + " + j];\n" +
+                    "                }\n" +
+                    "                if (i == j)\n" +
+                    "                    A.data[i*" + N + " + i] = Math.sqrt(sum);\n" +
+                    "                else\n" +
+                    "                    A.data[i*" + N + " + j] = sum/A.data[i*" + N + " + i];\n" +
+                    "            }\n" +
+                    "            for (int i = j + 1; i < " + N + "; i++) {\n" +
+                    "                A.data[i*" + N + " + j] = 0;\n" +
+                    "            }\n" +
+                    "        }\n" +
+                    "        return !UtilEjml.isUncountable(A.data[" + (N*N - 1) + "]);\n");
+            printClose();
+            return;
+        }
 
         for (int j = 1; j <= N; j++) {
             for (int i = 1; i <= N; i++) {
@@ -880,6 +1120,15 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "     * @param a A square matrix. Not modified.\n" +
                 "     */\n" +
                 "    public static double trace( " + nameMatrix + " a ) {\n");
+        if (!isUnrolled(dimen)) {
+            out.print("        double sum = 0;\n" +
+                    "        for (int i = 0; i < " + (dimen*dimen) + "; i += " + (dimen + 1) + ") {\n" +
+                    "            sum += a.data[i];\n" +
+                    "        }\n" +
+                    "        return sum;\n");
+            printClose();
+            return;
+        }
         out.print("        return ");
         for (int i = 1; i <= dimen; i++) {
             out.print("a.a" + i + "" + i);
@@ -937,12 +1186,36 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "     * @param out Vector containing diagonal elements. Modified.\n" +
                 "     */\n" +
                 "    public static void diag( " + nameMatrix + " input , " + nameVector + " out ) {\n");
+        if (!isUnrolled(dimen)) {
+            printLoop(dimen, "out.data[i] = input.data[i*" + (dimen + 1) + "];");
+            printClose();
+            return;
+        }
         for (int i = 1; i <= dimen; i++) {
             out.print("        out.a" + i + " = input.a" + i + "" + i + ";\n");
         }
         out.print("    }\n\n");
     }
 
+    /**
+     * Prints the body of a function which finds the largest or smallest element in an array
+     *
+     * @param var Name of the variable which is returned
+     * @param op Comparison operator which selects the new value
+     * @param abs If true the absolute value of each element is used
+     */
+    private void printExtremeLoop( int length, String var, String op, boolean abs ) {
+        String first = abs ? "Math.abs(a.data[0])" : "a.data[0]";
+        String element = abs ? "Math.abs(a.data[i])" : "a.data[i]";
+        out.print("        double " + var + " = " + first + ";\n" +
+                "        for (int i = 1; i < " + length + "; i++) {\n" +
+                "            double tmp = " + element + "; if( tmp " + op + " " + var + " ) " + var + " = tmp;\n" +
+                "        }\n" +
+                "\n" +
+                "        return " + var + ";\n");
+        printClose();
+    }
+
     private void elementMax( int dimen ) {
         out.print("    /**\n" +
                 "     * <p>\n" +
@@ -955,6 +1228,10 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "     * @return The max element value of the matrix.\n" +
                 "     */\n" +
                 "    public static double elementMax( " + nameMatrix + " a ) {\n");
+        if (!isUnrolled(dimen)) {
+            printExtremeLoop(dimen*dimen, "max", ">", false);
+            return;
+        }
 
         out.print("        double max = a.a11;\n");
         for (int y = 1; y <= dimen; y++) {
@@ -982,6 +1259,10 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "     * @return The max element value of the matrix.\n" +
                 "     */\n" +
                 "    public static double elementMax( " + nameVector + " a ) {\n");
+        if (!isUnrolled(dimen)) {
+            printExtremeLoop(dimen, "max", ">", false);
+            return;
+        }
 
         out.print("        double max = a.a1;\n");
         for (int y = 2; y <= dimen; y++) {
@@ -1005,6 +1286,10 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "     * @return The max abs element value of the matrix.\n" +
                 "     */\n" +
                 "    public static double elementMaxAbs( " + nameMatrix + " a ) {\n");
+        if (!isUnrolled(dimen)) {
+            printExtremeLoop(dimen*dimen, "max", ">", true);
+            return;
+        }
 
         out.print("        double max = Math.abs(a.a11);\n");
         out.print("        double tmp = Math.abs(a.a12); if( tmp > max ) max = tmp;\n");
@@ -1032,6 +1317,10 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "     * @return The max abs element value of the vector.\n" +
                 "     */\n" +
                 "    public static double elementMaxAbs( " + nameVector + " a ) {\n");
+        if (!isUnrolled(dimen)) {
+            printExtremeLoop(dimen, "max", ">", true);
+            return;
+        }
 
         out.print("        double max = Math.abs(a.a1);\n");
         out.print("        double tmp = Math.abs(a.a2); if( tmp > max ) max = tmp;\n");
@@ -1055,6 +1344,10 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "     * @return The value of element in the matrix with the minimum value.\n" +
                 "     */\n" +
                 "    public static double elementMin( " + nameMatrix + " a ) {\n");
+        if (!isUnrolled(dimen)) {
+            printExtremeLoop(dimen*dimen, "min", "<", false);
+            return;
+        }
 
         out.print("        double min = a.a11;\n");
         for (int y = 1; y <= dimen; y++) {
@@ -1082,6 +1375,10 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "     * @return The value of element in the vector with the minimum value.\n" +
                 "     */\n" +
                 "    public static double elementMin( " + nameVector + " a ) {\n");
+        if (!isUnrolled(dimen)) {
+            printExtremeLoop(dimen, "min", "<", false);
+            return;
+        }
 
         out.print("        double min = a.a1;\n");
         for (int y = 2; y <= dimen; y++) {
@@ -1105,6 +1402,10 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "     * @return The max element value of the matrix.\n" +
                 "     */\n" +
                 "    public static double elementMinAbs( " + nameMatrix + " a ) {\n");
+        if (!isUnrolled(dimen)) {
+            printExtremeLoop(dimen*dimen, "min", "<", true);
+            return;
+        }
 
         out.print("        double min = Math.abs(a.a11);\n");
         out.print("        double tmp = Math.abs(a.a12); if( tmp < min ) min = tmp;\n");
@@ -1132,6 +1433,10 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "     * @return The max element value of the vector.\n" +
                 "     */\n" +
                 "    public static double elementMinAbs( " + nameVector + " a ) {\n");
+        if (!isUnrolled(dimen)) {
+            printExtremeLoop(dimen, "min", "<", true);
+            return;
+        }
 
         out.print("        double min = Math.abs(a.a1);\n");
         out.print("        double tmp = Math.abs(a.a1); if( tmp < min ) min = tmp;\n");
@@ -1153,6 +1458,11 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "     * @param b The right matrix in the multiplication operation. Not modified.\n" +
                 "     */\n" +
                 "    public static void elementMult( " + nameMatrix + " a , " + nameMatrix + " b) {\n");
+        if (!isUnrolled(dimen)) {
+            printLoop(dimen*dimen, "a.data[i] *= b.data[i];");
+            printClose();
+            return;
+        }
         for (int y = 1; y <= dimen; y++) {
             out.print("        ");
             for (int x = 1; x <= dimen; x++) {
@@ -1177,6 +1487,11 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "     * @param b The right vector in the multiplication operation. Not modified.\n" +
                 "     */\n" +
                 "    public static void elementMult( " + nameVector + " a , " + nameVector + " b) {\n");
+        if (!isUnrolled(dimen)) {
+            printLoop(dimen, "a.data[i] *= b.data[i];");
+            printClose();
+            return;
+        }
         for (int y = 1; y <= dimen; y++) {
             out.print("        a.a" + y + " *= b.a" + y + ";\n");
         }
@@ -1194,6 +1509,11 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "     * @param c Where the results of the operation are stored. Modified.\n" +
                 "     */\n" +
                 "    public static void elementMult( " + nameMatrix + " a , " + nameMatrix + " b , " + nameMatrix + " c ) {\n");
+        if (!isUnrolled(dimen)) {
+            printLoop(dimen*dimen, "c.data[i] = a.data[i]*b.data[i];");
+            printClose();
+            return;
+        }
         for (int y = 1; y <= dimen; y++) {
             out.print("        ");
             for (int x = 1; x <= dimen; x++) {
@@ -1219,6 +1539,11 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "     * @param c Where the results of the operation are stored. Modified.\n" +
                 "     */\n" +
                 "    public static void elementMult( " + nameVector + " a , " + nameVector + " b , " + nameVector + " c ) {\n");
+        if (!isUnrolled(dimen)) {
+            printLoop(dimen, "c.data[i] = a.data[i]*b.data[i];");
+            printClose();
+            return;
+        }
         for (int y = 1; y <= dimen; y++) {
             out.print("        c.a" + y + " = a.a" + y + "*b.a" + y + ";\n");
         }
@@ -1235,6 +1560,11 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "     * @param b The right matrix in the division operation. Not modified.\n" +
                 "     */\n" +
                 "    public static void elementDiv( " + nameMatrix + " a , " + nameMatrix + " b) {\n");
+        if (!isUnrolled(dimen)) {
+            printLoop(dimen*dimen, "a.data[i] /= b.data[i];");
+            printClose();
+            return;
+        }
         for (int y = 1; y <= dimen; y++) {
             out.print("        ");
             for (int x = 1; x <= dimen; x++) {
@@ -1259,6 +1589,11 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "     * @param b The right vector in the division operation. Not modified.\n" +
                 "     */\n" +
                 "    public static void elementDiv( " + nameVector + " a , " + nameVector + " b) {\n");
+        if (!isUnrolled(dimen)) {
+            printLoop(dimen, "a.data[i] /= b.data[i];");
+            printClose();
+            return;
+        }
         for (int y = 1; y <= dimen; y++) {
             out.print("        a.a" + y + " /= b.a" + y + ";\n");
         }
@@ -1276,6 +1611,11 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "     * @param c Where the results of the operation are stored. Modified.\n" +
                 "     */\n" +
                 "    public static void elementDiv( " + nameMatrix + " a , " + nameMatrix + " b , " + nameMatrix + " c ) {\n");
+        if (!isUnrolled(dimen)) {
+            printLoop(dimen*dimen, "c.data[i] = a.data[i]/b.data[i];");
+            printClose();
+            return;
+        }
         for (int y = 1; y <= dimen; y++) {
             out.print("        ");
             for (int x = 1; x <= dimen; x++) {
@@ -1301,6 +1641,11 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "     * @param c Where the results of the operation are stored. Modified.\n" +
                 "     */\n" +
                 "    public static void elementDiv( " + nameVector + " a , " + nameVector + " b , " + nameVector + " c ) {\n");
+        if (!isUnrolled(dimen)) {
+            printLoop(dimen, "c.data[i] = a.data[i]/b.data[i];");
+            printClose();
+            return;
+        }
         for (int y = 1; y <= dimen; y++) {
             out.print("        c.a" + y + " = a.a" + y + "/b.a" + y + ";\n");
         }
@@ -1319,6 +1664,11 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "     * @param alpha the amount each element is multiplied by.\n" +
                 "     */\n" +
                 "    public static void scale( double alpha , " + nameMatrix + " a ) {\n");
+        if (!isUnrolled(dimen)) {
+            printLoop(dimen*dimen, "a.data[i] *= alpha;");
+            printClose();
+            return;
+        }
         for (int y = 1; y <= dimen; y++) {
             out.print("        ");
             for (int x = 1; x <= dimen; x++) {
@@ -1345,6 +1695,11 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "     * @param alpha the amount each element is multiplied by.\n" +
                 "     */\n" +
                 "    public static void scale( double alpha , " + nameVector + " a ) {\n");
+        if (!isUnrolled(dimen)) {
+            printLoop(dimen, "a.data[i] *= alpha;");
+            printClose();
+            return;
+        }
         for (int y = 1; y <= dimen; y++) {
             out.print("        a.a" + y + " *= alpha;\n");
         }
@@ -1364,6 +1719,11 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "     * @param b Where the scaled matrix is stored. Modified.\n" +
                 "     */\n" +
                 "    public static void scale( double alpha , " + nameMatrix + " a , " + nameMatrix + " b ) {\n");
+        if (!isUnrolled(dimen)) {
+            printLoop(dimen*dimen, "b.data[i] = a.data[i]*alpha;");
+            printClose();
+            return;
+        }
         for (int y = 1; y <= dimen; y++) {
             out.print("        ");
             for (int x = 1; x <= dimen; x++) {
@@ -1391,6 +1751,11 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "     * @param b Where the scaled matrix is stored. Modified.\n" +
                 "     */\n" +
                 "    public static void scale( double alpha , " + nameVector + " a , " + nameVector + " b ) {\n");
+        if (!isUnrolled(dimen)) {
+            printLoop(dimen, "b.data[i] = a.data[i]*alpha;");
+            printClose();
+            return;
+        }
         for (int y = 1; y <= dimen; y++) {
             out.print("        b.a" + y + " = a.a" + y + "*alpha;\n");
         }
@@ -1409,6 +1774,11 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "     * @param alpha the amount each element is divided by.\n" +
                 "     */\n" +
                 "    public static void divide( " + nameMatrix + " a , double alpha ) {\n");
+        if (!isUnrolled(dimen)) {
+            printLoop(dimen*dimen, "a.data[i] /= alpha;");
+            printClose();
+            return;
+        }
         for (int y = 1; y <= dimen; y++) {
             out.print("        ");
             for (int x = 1; x <= dimen; x++) {
@@ -1435,6 +1805,11 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "     * @param alpha the amount each element is divided by.\n" +
                 "     */\n" +
                 "    public static void divide( " + nameVector + " a , double alpha ) {\n");
+        if (!isUnrolled(dimen)) {
+            printLoop(dimen, "a.data[i] /= alpha;");
+            printClose();
+            return;
+        }
         for (int y = 1; y <= dimen; y++) {
             out.print("        a.a" + y + " /= alpha;\n");
         }
@@ -1454,6 +1829,11 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "     * @param b Where the results are stored. Modified.\n" +
                 "     */\n" +
                 "    public static void divide( " + nameMatrix + " a , double alpha , " + nameMatrix + " b ) {\n");
+        if (!isUnrolled(dimen)) {
+            printLoop(dimen*dimen, "b.data[i] = a.data[i]/alpha;");
+            printClose();
+            return;
+        }
         for (int y = 1; y <= dimen; y++) {
             out.print("        ");
             for (int x = 1; x <= dimen; x++) {
@@ -1481,6 +1861,11 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "     * @param b Where the results are stored. Modified.\n" +
                 "     */\n" +
                 "    public static void divide( " + nameVector + " a , double alpha , " + nameVector + " b ) {\n");
+        if (!isUnrolled(dimen)) {
+            printLoop(dimen, "b.data[i] = a.data[i]/alpha;");
+            printClose();
+            return;
+        }
         for (int y = 1; y <= dimen; y++) {
             out.print("        b.a" + y + " = a.a" + y + "/alpha;\n");
         }
@@ -1499,6 +1884,11 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "     */\n" +
                 "    public static void changeSign( " + nameMatrix + " a )\n" +
                 "    {\n");
+        if (!isUnrolled(dimen)) {
+            printLoop(dimen*dimen, "a.data[i] = -a.data[i];");
+            printClose();
+            return;
+        }
         for (int y = 1; y <= dimen; y++) {
             out.print("        ");
             for (int x = 1; x <= dimen; x++) {
@@ -1525,6 +1915,11 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "     */\n" +
                 "    public static void changeSign( " + nameVector + " a )\n" +
                 "    {\n");
+        if (!isUnrolled(dimen)) {
+            printLoop(dimen, "a.data[i] = -a.data[i];");
+            printClose();
+            return;
+        }
         for (int y = 1; y <= dimen; y++) {
             out.print("        a.a" + y + " = -a.a" + y + ";\n");
         }
@@ -1543,6 +1938,11 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "     * @param v The value each element will have.\n" +
                 "     */\n" +
                 "    public static void fill( " + nameMatrix + " a , double v  ) {\n");
+        if (!isUnrolled(dimen)) {
+            printLoop(dimen*dimen, "a.data[i] = v;");
+            printClose();
+            return;
+        }
         for (int y = 1; y <= dimen; y++) {
             out.print("        ");
             for (int x = 1; x <= dimen; x++) {
@@ -1569,6 +1969,11 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "     * @param v The value each element will have.\n" +
                 "     */\n" +
                 "    public static void fill( " + nameVector + " a , double v  ) {\n");
+        if (!isUnrolled(dimen)) {
+            printLoop(dimen, "a.data[i] = v;");
+            printClose();
+            return;
+        }
         for (int y = 1; y <= dimen; y++) {
             out.print("        a.a" + y + " = v;\n");
         }
@@ -1584,23 +1989,32 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "     * @return The extracted row.\n" +
                 "     */\n" +
                 "    public static " + nameVector + " extractRow( " + nameMatrix + " a , int row , " + nameVector + " out ) {\n" +
-                "        if( out == null) out = new " + nameVector + "();\n" +
-                "        switch( row ) {\n");
-        for (int i = 0; i < dimen; i++) {
-            out.print("            case " + i + ":\n");
-            for (int j = 0; j < dimen; j++) {
-                int n = j + 1;
-                out.print("                out.a" + n + " = a.a" + (i + 1) + "" + n + ";\n");
+                "        if( out == null) out = new " + nameVector + "();\n");
+        if (!isUnrolled(dimen)) {
+            out.print("        if (row < 0 || row >= " + dimen + ")\n" +
+                    "            throw new IllegalArgumentException(\"Out of bounds row. row = \"+row);\n" +
+                    "        System.arraycopy(a.data, row*" + dimen + ", out.data, 0, " + dimen + ");\n" +
+                    "        return out;\n" +
+                    "    }\n" +
+                    "\n");
+        } else {
+            out.print("        switch( row ) {\n");
+            for (int i = 0; i < dimen; i++) {
+                out.print("            case " + i + ":\n");
+                for (int j = 0; j < dimen; j++) {
+                    int n = j + 1;
+                    out.print("                out.a" + n + " = a.a" + (i + 1) + "" + n + ";\n");
+                }
+                out.print("            break;\n");
             }
-            out.print("            break;\n");
+            out.print("            default:\n" +
+                    "                throw new IllegalArgumentException(\"Out of bounds row. row = \"+row);\n" +
+                    "        }\n" +
+                    "        return out;\n" +
+                    "    }\n" +
+                    "\n");
         }
-        out.print("            default:\n" +
-                "                throw new IllegalArgumentException(\"Out of bounds row. row = \"+row);\n" +
-                "        }\n" +
-                "        return out;\n" +
-                "    }\n" +
-                "\n" +
-                "    /**\n" +
+        out.print("    /**\n" +
                 "     * Extracts the column from the matrix a.\n" +
                 "     * @param a Input matrix\n" +
                 "     * @param column Which column is to be extracted\n" +
@@ -1608,8 +2022,16 @@ public class GenerateCommonOps_DDF extends GenerateFixed {
                 "     * @return The extracted column.\n" +
                 "     */\n" +
                 "    public static " + nameVector + " extractColumn( " + nameMatrix + " a , int column , " + nameVector + " out ) {\n" +
-                "        if( out == null) out = new " + nameVector + "();\n" +
-                "        switch( column ) {\n");
+                "        if( out == null) out = new " + nameVector + "();\n");
+        if (!isUnrolled(dimen)) {
+            out.print("        if (column < 0 || column >= " + dimen + ")\n" +
+                    "            throw new IllegalArgumentException(\"Out of bounds column. column = \"+column);\n");
+            printLoop(dimen, "out.data[i] = a.data[i*" + dimen + " + column];");
+            out.print("        return out;\n" +
+                    "    }\n\n");
+            return;
+        }
+        out.print("        switch( column ) {\n");
         for (int i = 0; i < dimen; i++) {
             out.print("            case " + i + ":\n");
             for (int j = 0; j < dimen; j++) {
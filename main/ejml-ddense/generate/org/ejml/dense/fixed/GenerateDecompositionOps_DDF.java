@@ -0,0 +1,598 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.dense.fixed;
+
+import java.io.FileNotFoundException;
+
+/**
+ * Automatic code generator for decompositions and linear solvers of fixed sized matrices. All loops are
+ * unrolled, except for the sweeps in iterative algorithms, and no memory is allocated.
+ *
+ * @author Peter Abeles
+ */
+public class GenerateDecompositionOps_DDF extends GenerateFixed {
+
+    // Maximum number of sweeps in Jacobi based algorithms
+    public static final int MAX_SWEEPS = 50;
+
+    public GenerateDecompositionOps_DDF() {
+        super("DecompositionOps_DDF");
+    }
+
+    @Override
+    public void generate() throws FileNotFoundException {
+        // Only generated for sizes which are unrolled. For larger matrices the DDRM decompositions are competitive
+        for (int dimension = 2; isUnrolled(dimension); dimension++) {
+            printPreable(dimension);
+
+            solveCholL(dimension);
+            lu(dimension);
+            solveLU(dimension);
+            qr(dimension);
+            eigenSymm(dimension);
+            if (dimension == 3) {
+                eigenvaluesSymm3();
+                eigenSymmAnalytic3();
+            }
+            svd(dimension);
+
+            out.println("}\n");
+            out.close();
+        }
+    }
+
+    public void printPreable( int dimen ) throws FileNotFoundException {
+        setClassNames(dimen);
+
+        out.print("import org.ejml.UtilEjml;\n" +
+                "import org.ejml.data." + nameVector + ";\n" +
+                "import org.ejml.data." + nameMatrix + ";\n" +
+                "\n" +
+                "/**\n" +
+                " * <p>Decompositions and linear solvers for fixed sized matrices which are " + dimen + " x " + dimen + ". " +
+                "Everything is\n" +
+                " * unrolled and no memory is allocated. See {@link CommonOps_DDF" + dimen + "#cholL} and " +
+                "{@link CommonOps_DDF" + dimen + "#cholU}\n" +
+                " * for Cholesky decomposition.</p>\n" +
+                standardClassDocClosing("Peter Abeles") +
+                "public class " + className + " {\n");
+    }
+
+    private void solveCholL( int N ) {
+        out.print("    /**\n" +
+                "     * Solves L*L<sup>T</sup>*x = b, where L is the output of {@link CommonOps_DDF" + N + "#cholL}.\n" +
+                "     *\n" +
+                "     * @param L (Input) Lower triangular matrix. Not modified.\n" +
+                "     * @param b (Input) Vector. Not modified.\n" +
+                "     * @param x (Output) Solution. Can be the same as 'b'.\n" +
+                "     */\n" +
+                "    public static void solveCholL( " + nameMatrix + " L, " + nameVector + " b, " + nameVector + " x ) {\n");
+        // L*y = b
+        for (int i = 1; i <= N; i++) {
+            var terms = new StringBuilder("b.a" + i);
+            for (int k = 1; k < i; k++) {
+                terms.append(" - L.").append(el(i, k)).append("*x").append(k);
+            }
+            out.println("        double x" + i + " = " + divide(terms, i > 1, "L." + el(i, i)) + ";");
+        }
+        // L^T*x = y
+        for (int i = N; i >= 1; i--) {
+            var terms = new StringBuilder("x" + i);
+            for (int k = i + 1; k <= N; k++) {
+                terms.append(" - L.").append(el(k, i)).append("*x").append(k);
+            }
+            out.println("        x" + i + " = " + divide(terms, i < N, "L." + el(i, i)) + ";");
+        }
+        printAssignVector("x", "x", N);
+        out.print("    }\n\n");
+    }
+
+    private void lu( int N ) {
+        out.print("    /**\n" +
+                "     * LU decomposition with partial pivoting. 'A' is replaced by L and U, where L has ones along its\n" +
+                "     * diagonal which are not saved. The row swaps are saved in 'pivots' where pivots[k] is the row which\n" +
+                "     * was swapped with row k at step k. P*A = L*U\n" +
+                "     *\n" +
+                "     * @param A (Input) Matrix. (Output) L and U.\n" +
+                "     * @param pivots (Output) Row swaps. Must have a length of at least " + N + ".\n" +
+                "     * @return true if successful or false if the matrix is singular\n" +
+                "     */\n" +
+                "    public static boolean lu( " + nameMatrix + " A, int[] pivots ) {\n" +
+                "        double max, tmp;\n" +
+                "        int p;\n");
+
+        for (int k = 1; k <= N; k++) {
+            out.println();
+            if (k < N) {
+                out.println("        p = " + k + ";");
+                out.println("        max = Math.abs(A." + el(k, k) + ");");
+                for (int i = k + 1; i <= N; i++) {
+                    out.println("        if (Math.abs(A." + el(i, k) + ") > max) {");
+                    out.println("            max = Math.abs(A." + el(i, k) + ");");
+                    out.println("            p = " + i + ";");
+                    out.println("        }");
+                }
+                out.println("        pivots[" + (k - 1) + "] = p - 1;");
+                out.println("        switch (p) {");
+                for (int i = k + 1; i <= N; i++) {
+                    out.println("            case " + i + ":");
+                    for (int j = 1; j <= N; j++) {
+                        out.println("                tmp = A." + el(k, j) + "; A." + el(k, j) + " = A." + el(i, j) + "; A." + el(i, j) + " = tmp;");
+                    }
+                    out.println("                break;");
+                }
+                out.println("        }");
+            } else {
+                out.println("        pivots[" + (k - 1) + "] = " + (k - 1) + ";");
+            }
+            out.println("        if (A." + el(k, k) + " == 0.0)");
+            out.println("            return false;");
+            if (k == N)
+                break;
+            out.println("        tmp = 1.0/A." + el(k, k) + ";");
+            for (int i = k + 1; i <= N; i++) {
+                out.println("        A." + el(i, k) + " *= tmp;");
+            }
+            for (int i = k + 1; i <= N; i++) {
+                for (int j = k + 1; j <= N; j++) {
+                    out.println("        A." + el(i, j) + " -= A." + el(i, k) + "*A." + el(k, j) + ";");
+                }
+            }
+        }
+        out.println("        return !UtilEjml.isUncountable(A." + el(N, N) + ");");
+        out.print("    }\n\n");
+    }
+
+    private void solveLU( int N ) {
+        out.print("    /**\n" +
+                "     * Solves A*x = b using the output of {@link #lu}.\n" +
+                "     *\n" +
+                "     * @param LU (Input) Decomposed matrix. Not modified.\n" +
+                "     * @param pivots (Input) Row swaps. Not modified.\n" +
+                "     * @param b (Input) Vector. Not modified.\n" +
+                "     * @param x (Output) Solution. Can be the same as 'b'.\n" +
+                "     */\n" +
+                "    public static void solveLU( " + nameMatrix + " LU, int[] pivots, " + nameVector + " b, " + nameVector + " x ) {\n");
+        out.print("        double ");
+        for (int i = 1; i <= N; i++) {
+            out.print("x" + i + " = b.a" + i + (i < N ? ", " : ";\n"));
+        }
+        out.println("        double tmp;");
+        for (int k = 1; k < N; k++) {
+            out.println("        switch (pivots[" + (k - 1) + "]) {");
+            for (int i = k + 1; i <= N; i++) {
+                out.println("            case " + (i - 1) + ": tmp = x" + k + "; x" + k + " = x" + i + "; x" + i + " = tmp; break;");
+            }
+            out.println("        }");
+        }
+        // L*y = P*b, where L has ones on the diagonal
+        for (int i = 2; i <= N; i++) {
+            out.print("        x" + i + " -= ");
+            for (int k = 1; k < i; k++) {
+                out.print((k > 1 ? " + " : "") + "LU." + el(i, k) + "*x" + k);
+            }
+            out.println(";");
+        }
+        // U*x = y
+        for (int i = N; i >= 1; i--) {
+            var terms = new StringBuilder("x" + i);
+            for (int k = i + 1; k <= N; k++) {
+                terms.append(" - LU.").append(el(i, k)).append("*x").append(k);
+            }
+            out.println("        x" + i + " = " + divide(terms, i < N, "LU." + el(i, i)) + ";");
+        }
+        printAssignVector("x", "x", N);
+        out.print("    }\n\n");
+    }
+
+    private void qr( int N ) {
+        out.print("    /**\n" +
+                "     * QR decomposition using Householder reflectors, A = Q*R. Each reflector is scaled to avoid\n" +
+                "     * overflow and underflow.\n" +
+                "     *\n" +
+                "     * @param A (Input) Matrix. Not modified.\n" +
+                "     * @param Q (Output) Orthogonal matrix. Can't be the same as 'A' or 'R'.\n" +
+                "     * @param R (Output) Upper triangular matrix. Can be the same as 'A'.\n" +
+                "     */\n" +
+                "    public static void qr( " + nameMatrix + " A, " + nameMatrix + " Q, " + nameMatrix + " R ) {\n");
+        for (int i = 1; i <= N; i++) {
+            for (int j = 1; j <= N; j++) {
+                out.println("        R." + el(i, j) + " = A." + el(i, j) + ";");
+            }
+        }
+        out.println("        CommonOps_DDF" + N + ".setIdentity(Q);");
+        out.print("        double scale, norm, beta, s");
+        for (int i = 1; i <= N; i++) {
+            out.print(", u" + i);
+        }
+        out.println(";");
+
+        for (int k = 1; k < N; k++) {
+            out.println();
+            out.println("        // Householder reflector for column " + k);
+            out.print("        scale = ");
+            printMaxAbs("R", k, k, N);
+            out.println("        if (scale != 0.0) {");
+            for (int i = k; i <= N; i++) {
+                out.println("            u" + i + " = R." + el(i, k) + "/scale;");
+            }
+            out.print("            norm = Math.sqrt(");
+            for (int i = k; i <= N; i++) {
+                out.print((i > k ? " + " : "") + "u" + i + "*u" + i);
+            }
+            out.println(");");
+            out.println("            if (u" + k + " < 0.0)");
+            out.println("                norm = -norm;");
+            out.println("            u" + k + " += norm;");
+            out.println("            beta = 1.0/(norm*u" + k + ");");
+            out.println("            R." + el(k, k) + " = -norm*scale;");
+            for (int i = k + 1; i <= N; i++) {
+                out.println("            R." + el(i, k) + " = 0.0;");
+            }
+            // R = H*R
+            for (int j = k + 1; j <= N; j++) {
+                out.print("            s = beta*(");
+                for (int i = k; i <= N; i++) {
+                    out.print((i > k ? " + " : "") + "u" + i + "*R." + el(i, j));
+                }
+                out.println(");");
+                for (int i = k; i <= N; i++) {
+                    out.println("            R." + el(i, j) + " -= s*u" + i + ";");
+                }
+            }
+            // Q = Q*H
+            for (int r = 1; r <= N; r++) {
+                out.print("            s = beta*(");
+                for (int i = k; i <= N; i++) {
+                    out.print((i > k ? " + " : "") + "Q." + el(r, i) + "*u" + i);
+                }
+                out.println(");");
+                for (int i = k; i <= N; i++) {
+                    out.println("            Q." + el(r, i) + " -= s*u" + i + ";");
+                }
+            }
+            out.println("        }");
+        }
+        out.print("    }\n\n");
+    }
+
+    private void eigenSymm( int N ) {
+        out.print("    /**\n" +
+                "     * Eigenvalue decomposition of a symmetric matrix using the cyclic Jacobi method, A = V*D*V<sup>T</sup>.\n" +
+                "     * Only the upper triangle of 'A' is read. The eigenvalues are not sorted.\n" +
+                "     *\n" +
+                "     * @param A (Input) Symmetric matrix. Not modified.\n" +
+                "     * @param values (Output) Eigenvalues.\n" +
+                "     * @param vectors (Output) Eigenvectors are stored in the columns. Can be the same as 'A'.\n" +
+                "     * @return true if it converged\n" +
+                "     */\n" +
+                "    public static boolean eigenSymm( " + nameMatrix + " A, " + nameVector + " values, " + nameMatrix + " vectors ) {\n");
+        for (int i = 1; i <= N; i++) {
+            for (int j = i; j <= N; j++) {
+                out.println("        double " + sym(i, j) + " = A." + el(i, j) + ";");
+            }
+        }
+        out.println("        CommonOps_DDF" + N + ".setIdentity(vectors);");
+        out.println("        double theta, t, c, s, tmp;");
+        out.println("        boolean converged = false;");
+        out.println();
+        out.println("        for (int sweep = 0; sweep < " + MAX_SWEEPS + "; sweep++) {");
+        out.print("            double off = ");
+        printSumSquares(N, true);
+        out.print("            double diag = ");
+        printSumSquares(N, false);
+        out.println("            if (off <= UtilEjml.EPS*UtilEjml.EPS*diag) {");
+        out.println("                converged = true;");
+        out.println("                break;");
+        out.println("            }");
+
+        for (int p = 1; p <= N; p++) {
+            for (int q = p + 1; q <= N; q++) {
+                String pq = sym(p, q), pp = sym(p, p), qq = sym(q, q);
+                out.println();
+                out.println("            if (" + pq + " != 0.0) {");
+                out.println("                theta = (" + qq + " - " + pp + ")/(2.0*" + pq + ");");
+                out.println("                t = 1.0/(Math.abs(theta) + Math.sqrt(theta*theta + 1.0));");
+                out.println("                if (theta < 0.0)");
+                out.println("                    t = -t;");
+                out.println("                c = 1.0/Math.sqrt(t*t + 1.0);");
+                out.println("                s = t*c;");
+                out.println("                " + pp + " -= t*" + pq + ";");
+                out.println("                " + qq + " += t*" + pq + ";");
+                out.println("                " + pq + " = 0.0;");
+                for (int r = 1; r <= N; r++) {
+                    if (r == p || r == q)
+                        continue;
+                    String rp = sym(r, p), rq = sym(r, q);
+                    out.println("                tmp = " + rp + ";");
+                    out.println("                " + rp + " = c*tmp - s*" + rq + ";");
+                    out.println("                " + rq + " = s*tmp + c*" + rq + ";");
+                }
+                for (int r = 1; r <= N; r++) {
+                    String rp = "vectors." + el(r, p), rq = "vectors." + el(r, q);
+                    out.println("                tmp = " + rp + ";");
+                    out.println("                " + rp + " = c*tmp - s*" + rq + ";");
+                    out.println("                " + rq + " = s*tmp + c*" + rq + ";");
+                }
+                out.println("            }");
+            }
+        }
+        out.println("        }");
+        out.println();
+        for (int i = 1; i <= N; i++) {
+            out.println("        values.a" + i + " = " + sym(i, i) + ";");
+        }
+        out.println("        return converged;");
+        out.print("    }\n\n");
+    }
+
+    private void eigenvaluesSymm3() {
+        out.print("    /**\n" +
+                "     * Computes the eigenvalues of a symmetric 3x3 matrix analytically from the roots of its characteristic\n" +
+                "     * polynomial, using the trigonometric solution. The eigenvalues are sorted from largest to smallest.\n" +
+                "     * Only the upper triangle of 'A' is read. When two eigenvalues are almost the same the accuracy is\n" +
+                "     * lower than {@link #eigenSymm}.\n" +
+                "     *\n" +
+                "     * @param A (Input) Symmetric matrix. Not modified.\n" +
+                "     * @param values (Output) Eigenvalues in descending order.\n" +
+                "     */\n" +
+                "    public static void eigenvaluesSymm( DMatrix3x3 A, DMatrix3 values ) {\n" +
+                "        // scale to avoid overflow and underflow\n" +
+                "        double scale = Math.max(Math.abs(A.a11), Math.max(Math.abs(A.a12), Math.abs(A.a13)));\n" +
+                "        scale = Math.max(scale, Math.max(Math.abs(A.a22), Math.max(Math.abs(A.a23), Math.abs(A.a33))));\n" +
+                "        if (scale == 0.0) {\n" +
+                "            values.a1 = values.a2 = values.a3 = 0.0;\n" +
+                "            return;\n" +
+                "        }\n" +
+                "        double a11 = A.a11/scale, a12 = A.a12/scale, a13 = A.a13/scale;\n" +
+                "        double a22 = A.a22/scale, a23 = A.a23/scale, a33 = A.a33/scale;\n" +
+                "\n" +
+                "        double q = (a11 + a22 + a33)/3.0;\n" +
+                "        double b11 = a11 - q, b22 = a22 - q, b33 = a33 - q;\n" +
+                "        double p1 = a12*a12 + a13*a13 + a23*a23;\n" +
+                "        double p = Math.sqrt((b11*b11 + b22*b22 + b33*b33 + 2.0*p1)/6.0);\n" +
+                "        if (p == 0.0) {\n" +
+                "            values.a1 = values.a2 = values.a3 = q*scale;\n" +
+                "            return;\n" +
+                "        }\n" +
+                "\n" +
+                "        // r = det((A - q*I)/p)/2\n" +
+                "        double r = (b11*(b22*b33 - a23*a23) - a12*(a12*b33 - a23*a13) + a13*(a12*a23 - b22*a13))/(2.0*p*p*p);\n" +
+                "        r = Math.max(-1.0, Math.min(1.0, r));\n" +
+                "        double phi = Math.atan2(Math.sqrt(1.0 - r*r), r)/3.0;\n" +
+                "\n" +
+                "        double lambda1 = q + 2.0*p*Math.cos(phi);\n" +
+                "        double lambda3 = q + 2.0*p*Math.cos(phi + UtilEjml.PI2/3.0);\n" +
+                "        values.a1 = lambda1*scale;\n" +
+                "        values.a2 = (3.0*q - lambda1 - lambda3)*scale;\n" +
+                "        values.a3 = lambda3*scale;\n" +
+                "    }\n\n");
+    }
+
+    private void eigenSymmAnalytic3() {
+        out.print("    /**\n" +
+                "     * Eigenvalue decomposition of a symmetric 3x3 matrix, A = V*D*V<sup>T</sup>. Eigenvalues are found using\n" +
+                "     * {@link #eigenvaluesSymm} and eigenvectors from the cross product of two rows of A - &lambda;I.\n" +
+                "     * If two eigenvalues are too close for the eigenvectors to be computed accurately this way, then\n" +
+                "     * {@link #eigenSymm} is used instead and the eigenvalues are not sorted. Only the upper triangle of 'A'\n" +
+                "     * is read.\n" +
+                "     *\n" +
+                "     * @param A (Input) Symmetric matrix. Not modified.\n" +
+                "     * @param values (Output) Eigenvalues in descending order.\n" +
+                "     * @param vectors (Output) Eigenvectors are stored in the columns. Can be the same as 'A'.\n" +
+                "     * @return true if successful\n" +
+                "     */\n" +
+                "    public static boolean eigenSymmAnalytic( DMatrix3x3 A, DMatrix3 values, DMatrix3x3 vectors ) {\n" +
+                "        eigenvaluesSymm(A, values);\n" +
+                "        double scale = Math.max(Math.abs(values.a1), Math.abs(values.a3));\n" +
+                "        if (values.a1 - values.a2 <= 1e-5*scale || values.a2 - values.a3 <= 1e-5*scale)\n" +
+                "            return eigenSymm(A, values, vectors);\n" +
+                "\n" +
+                "        double a11 = A.a11/scale, a12 = A.a12/scale, a13 = A.a13/scale;\n" +
+                "        double a22 = A.a22/scale, a23 = A.a23/scale, a33 = A.a33/scale;\n" +
+                "\n" +
+                "        // eigenvector of the largest eigenvalue\n" +
+                "        double lambda = values.a1/scale;\n" +
+                "        crossRows(a11 - lambda, a12, a13, a22 - lambda, a23, a33 - lambda, vectors, 1);\n" +
+                "        // eigenvector of the smallest eigenvalue\n" +
+                "        lambda = values.a3/scale;\n" +
+                "        crossRows(a11 - lambda, a12, a13, a22 - lambda, a23, a33 - lambda, vectors, 3);\n" +
+                "\n" +
+                "        // the remaining eigenvector is orthogonal to the other two\n" +
+                "        vectors.a12 = vectors.a23*vectors.a31 - vectors.a33*vectors.a21;\n" +
+                "        vectors.a22 = vectors.a33*vectors.a11 - vectors.a13*vectors.a31;\n" +
+                "        vectors.a32 = vectors.a13*vectors.a21 - vectors.a23*vectors.a11;\n" +
+                "        double norm = Math.sqrt(vectors.a12*vectors.a12 + vectors.a22*vectors.a22 + vectors.a32*vectors.a32);\n" +
+                "        vectors.a12 /= norm;\n" +
+                "        vectors.a22 /= norm;\n" +
+                "        vectors.a32 /= norm;\n" +
+                "        return !UtilEjml.isUncountable(norm);\n" +
+                "    }\n\n" +
+                "    /**\n" +
+                "     * Computes the cross product of each pair of rows in the symmetric matrix M, normalizes the one with the\n" +
+                "     * largest magnitude, and saves it in the specified column of 'vectors'.\n" +
+                "     */\n" +
+                "    private static void crossRows( double m11, double m12, double m13, double m22, double m23, double m33,\n" +
+                "                                   DMatrix3x3 vectors, int column ) {\n" +
+                "        // row 1 x row 2\n" +
+                "        double x1 = m12*m23 - m13*m22, y1 = m13*m12 - m11*m23, z1 = m11*m22 - m12*m12;\n" +
+                "        // row 1 x row 3\n" +
+                "        double x2 = m12*m33 - m13*m23, y2 = m13*m13 - m11*m33, z2 = m11*m23 - m12*m13;\n" +
+                "        // row 2 x row 3\n" +
+                "        double x3 = m22*m33 - m23*m23, y3 = m23*m13 - m12*m33, z3 = m12*m23 - m22*m13;\n" +
+                "\n" +
+                "        double n1 = x1*x1 + y1*y1 + z1*z1, n2 = x2*x2 + y2*y2 + z2*z2, n3 = x3*x3 + y3*y3 + z3*z3;\n" +
+                "        double x = x1, y = y1, z = z1, n = n1;\n" +
+                "        if (n2 > n) {\n" +
+                "            x = x2; y = y2; z = z2; n = n2;\n" +
+                "        }\n" +
+                "        if (n3 > n) {\n" +
+                "            x = x3; y = y3; z = z3; n = n3;\n" +
+                "        }\n" +
+                "        n = Math.sqrt(n);\n" +
+                "\n" +
+                "        if (column == 1) {\n" +
+                "            vectors.a11 = x/n; vectors.a21 = y/n; vectors.a31 = z/n;\n" +
+                "        } else {\n" +
+                "            vectors.a13 = x/n; vectors.a23 = y/n; vectors.a33 = z/n;\n" +
+                "        }\n" +
+                "    }\n\n");
+    }
+
+    private void svd( int N ) {
+        out.print("    /**\n" +
+                "     * Singular value decomposition using the one-sided Jacobi method, A = U*W*V<sup>T</sup>. Orthogonal\n" +
+                "     * rotations are applied to the columns of A until they are orthogonal to each other. The singular values\n" +
+                "     * are not sorted. Columns of U which correspond to a singular value of zero are set to zero.\n" +
+                "     *\n" +
+                "     * @param A (Input) Matrix. Not modified.\n" +
+                "     * @param U (Output) Left singular vectors. Can be the same as 'A'.\n" +
+                "     * @param W (Output) Singular values.\n" +
+                "     * @param V (Output) Right singular vectors. Can't be the same as 'A' or 'U'.\n" +
+                "     * @return true if it converged\n" +
+                "     */\n" +
+                "    public static boolean svd( " + nameMatrix + " A, " + nameMatrix + " U, " + nameVector + " W, " + nameMatrix + " V ) {\n");
+        for (int i = 1; i <= N; i++) {
+            for (int j = 1; j <= N; j++) {
+                out.println("        U." + el(i, j) + " = A." + el(i, j) + ";");
+            }
+        }
+        out.println("        CommonOps_DDF" + N + ".setIdentity(V);");
+        out.println("        double alpha, beta, gamma, zeta, t, c, s, tmp;");
+        out.println("        boolean converged = false;");
+        out.println();
+        out.println("        for (int sweep = 0; sweep < " + MAX_SWEEPS + " && !converged; sweep++) {");
+        out.println("            converged = true;");
+        for (int p = 1; p <= N; p++) {
+            for (int q = p + 1; q <= N; q++) {
+                out.println();
+                out.println("            alpha = " + columnDot("U", p, p, N) + ";");
+                out.println("            beta = " + columnDot("U", q, q, N) + ";");
+                out.println("            gamma = " + columnDot("U", p, q, N) + ";");
+                out.println("            if (Math.abs(gamma) > UtilEjml.EPS*Math.sqrt(alpha*beta)) {");
+                out.println("                converged = false;");
+                out.println("                zeta = (beta - alpha)/(2.0*gamma);");
+                out.println("                t = 1.0/(Math.abs(zeta) + Math.sqrt(zeta*zeta + 1.0));");
+                out.println("                if (zeta < 0.0)");
+                out.println("                    t = -t;");
+                out.println("                c = 1.0/Math.sqrt(t*t + 1.0);");
+                out.println("                s = t*c;");
+                for (String M : new String[]{"U", "V"}) {
+                    for (int r = 1; r <= N; r++) {
+                        String rp = M + "." + el(r, p), rq = M + "." + el(r, q);
+                        out.println("                tmp = " + rp + ";");
+                        out.println("                " + rp + " = c*tmp - s*" + rq + ";");
+                        out.println("                " + rq + " = s*tmp + c*" + rq + ";");
+                    }
+                }
+                out.println("            }");
+            }
+        }
+        out.println("        }");
+        out.println();
+        out.println("        // singular values are the norm of each column");
+        out.println("        double norm;");
+        for (int j = 1; j <= N; j++) {
+            out.println("        norm = Math.sqrt(" + columnDot("U", j, j, N) + ");");
+            out.println("        W.a" + j + " = norm;");
+            out.println("        norm = norm == 0.0 ? 0.0 : 1.0/norm;");
+            for (int i = 1; i <= N; i++) {
+                out.println("        U." + el(i, j) + " *= norm;");
+            }
+        }
+        out.println("        return converged;");
+        out.print("    }\n\n");
+    }
+
+    /**
+     * Prints the max absolute value of elements in column 'col' from row0 to N
+     */
+    private void printMaxAbs( String M, int row0, int col, int N ) {
+        if (row0 == N) {
+            out.println("Math.abs(" + M + "." + el(N, col) + ");");
+            return;
+        }
+        StringBuilder text = new StringBuilder("Math.abs(" + M + "." + el(N, col) + ")");
+        for (int i = N - 1; i >= row0; i--) {
+            text.insert(0, "Math.max(Math.abs(" + M + "." + el(i, col) + "), ");
+            text.append(")");
+        }
+        out.println(text + ";");
+    }
+
+    /**
+     * Prints the sum of squares of the off diagonal or diagonal elements in the symmetric local variables
+     */
+    private void printSumSquares( int N, boolean offDiagonal ) {
+        boolean first = true;
+        for (int i = 1; i <= N; i++) {
+            for (int j = i; j <= N; j++) {
+                if ((i != j) != offDiagonal)
+                    continue;
+                if (!first)
+                    out.print(" + ");
+                out.print(sym(i, j) + "*" + sym(i, j));
+                first = false;
+            }
+        }
+        out.println(";");
+    }
+
+    /**
+     * Returns the dot product of two columns in a matrix
+     */
+    private static String columnDot( String M, int colA, int colB, int N ) {
+        var text = new StringBuilder();
+        for (int r = 1; r <= N; r++) {
+            text.append(r > 1 ? " + " : "").append(M).append(".").append(el(r, colA));
+            text.append("*").append(M).append(".").append(el(r, colB));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Returns the terms divided by the denominator, adding parentheses if there are multiple terms
+     */
+    private static String divide( StringBuilder terms, boolean multiple, String denominator ) {
+        return (multiple ? "(" + terms + ")" : terms.toString()) + "/" + denominator;
+    }
+
+    private void printAssignVector( String dst, String local, int N ) {
+        for (int i = 1; i <= N; i++) {
+            out.println("        " + dst + ".a" + i + " = " + local + i + ";");
+        }
+    }
+
+    private static String el( int row, int col ) {
+        return "a" + row + "" + col;
+    }
+
+    /**
+     * Name of the local variable which stores element (i,j) of a symmetric matrix
+     */
+    private static String sym( int i, int j ) {
+        return "m" + Math.min(i, j) + "" + Math.max(i, j);
+    }
+
+    public static void main( String[] args ) throws FileNotFoundException {
+        GenerateDecompositionOps_DDF app = new GenerateDecompositionOps_DDF();
+
+        app.generate();
+    }
+}
@@ -19,6 +19,7 @@
 package org.ejml.dense.fixed;
 
 import org.ejml.CodeGeneratorBase;
+import org.ejml.data.GenerateMatrixFixedNxN;
 
 import java.io.FileNotFoundException;
 
@@ -26,6 +27,9 @@ import java.io.FileNotFoundException;
  * @author Peter Abeles
  */
 public abstract class GenerateFixed extends CodeGeneratorBase {
+    /** Largest matrix dimension which fixed sized operations are generated for */
+    public static final int MAX_DIMENSION = GenerateMatrixFixedNxN.MAX_DIMENSION;
+
     protected String classPreamble;
 
     protected String nameMatrix;
@@ -42,4 +46,30 @@ public abstract class GenerateFixed extends CodeGeneratorBase {
 
         setOutputFile(nameClass);
     }
+
+    /**
+     * If true then operations for this dimension are fully unrolled and access elements as class variables. Otherwise
+     * they are loops which access elements in the 'data' array.
+     *
+     * @see GenerateMatrixFixedNxN#MAX_UNROLLED
+     */
+    protected static boolean isUnrolled( int dimen ) {
+        return GenerateMatrixFixedNxN.isUnrolled(dimen);
+    }
+
+    /**
+     * Prints a loop which applies the statement to elements 0 to length-1. The element's index is 'i'.
+     */
+    protected void printLoop( int length, String statement ) {
+        out.print("        for (int i = 0; i < " + length + "; i++) {\n" +
+                "            " + statement + "\n" +
+                "        }\n");
+    }
+
+    /**
+     * Prints the end of a function
+     */
+    protected void printClose() {
+        out.print("    }\n\n");
+    }
 }
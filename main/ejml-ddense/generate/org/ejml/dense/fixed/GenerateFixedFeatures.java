@@ -33,7 +33,7 @@ public class GenerateFixedFeatures extends GenerateFixed {
 
     @Override
     public void generate() throws FileNotFoundException {
-        for( int dimension = 2; dimension <= 6; dimension++ ){
+        for( int dimension = 2; dimension <= MAX_DIMENSION; dimension++ ){
             printPreable(dimension);
 
             isIdentical(dimension);
@@ -61,6 +61,10 @@ public class GenerateFixedFeatures extends GenerateFixed {
 
     private void isIdentical(int dimen ){
         out.print("    public static boolean isIdentical("+nameMatrix+" a , "+nameMatrix+" b , double tol ) {\n");
+        if (!isUnrolled(dimen)) {
+            printIsIdenticalLoop(dimen*dimen);
+            return;
+        }
 
         for( int y = 1; y <= dimen; y++ ) {
             for( int x = 1; x <= dimen; x++ ) {
@@ -76,6 +80,10 @@ public class GenerateFixedFeatures extends GenerateFixed {
 
     private void isIdentical_vector( int dimen ) {
         out.print("    public static boolean isIdentical("+nameVector+" a , "+nameVector+" b , double tol ) {\n");
+        if (!isUnrolled(dimen)) {
+            printIsIdenticalLoop(dimen);
+            return;
+        }
 
         for( int y = 1; y <= dimen; y++ ) {
             String n = y+"";
@@ -89,6 +97,10 @@ public class GenerateFixedFeatures extends GenerateFixed {
 
     private void hasUncountable(int dimen ){
         out.print("    public static boolean hasUncountable("+nameMatrix+" a ) {\n");
+        if (!isUnrolled(dimen)) {
+            printHasUncountableLoop(dimen*dimen);
+            return;
+        }
 
         for( int y = 1; y <= dimen; y++ ) {
             StringBuilder row = new StringBuilder();
@@ -109,6 +121,10 @@ public class GenerateFixedFeatures extends GenerateFixed {
 
     private void hasUncountable_vector( int dimen ) {
         out.print("    public static boolean hasUncountable("+nameVector+" a ) {\n");
+        if (!isUnrolled(dimen)) {
+            printHasUncountableLoop(dimen);
+            return;
+        }
 
         for( int y = 1; y <= dimen; y++ ) {
             String n = y+"";
@@ -120,6 +136,24 @@ public class GenerateFixedFeatures extends GenerateFixed {
                         "    }\n\n");
     }
 
+    private void printIsIdenticalLoop( int length ) {
+        out.print("        for (int i = 0; i < " + length + "; i++) {\n" +
+                "            if( !UtilEjml.isIdentical(a.data[i],b.data[i],tol))\n" +
+                "                return false;\n" +
+                "        }\n" +
+                "        return true;\n");
+        printClose();
+    }
+
+    private void printHasUncountableLoop( int length ) {
+        out.print("        for (int i = 0; i < " + length + "; i++) {\n" +
+                "            if( UtilEjml.isUncountable(a.data[i]))\n" +
+                "                return true;\n" +
+                "        }\n" +
+                "        return false;\n");
+        printClose();
+    }
+
     public static void main( String args[] ) throws FileNotFoundException {
         GenerateFixedFeatures app = new GenerateFixedFeatures();
 
@@ -33,7 +33,7 @@ public class GenerateNormOps_DDF extends GenerateFixed {
 
     @Override
     public void generate() throws FileNotFoundException {
-        for( int dimension = 2; dimension <= 6; dimension++ ){
+        for( int dimension = 2; dimension <= MAX_DIMENSION; dimension++ ){
             printPreable(dimension);
 
             normalizeF(dimension);
@@ -78,6 +78,10 @@ public class GenerateNormOps_DDF extends GenerateFixed {
         out.print("    public static double fastNormF( "+nameMatrix+" M ) {\n" +
                 "        double sum = 0;\n" +
                 "\n");
+        if (!isUnrolled(dimen)) {
+            printFastNormLoop(dimen*dimen);
+            return;
+        }
         for( int row = 1; row <= dimen; row++ ) {
             out.print("        sum += ");
             for( int col = 1; col <= dimen; col++ ) {
@@ -96,6 +100,12 @@ public class GenerateNormOps_DDF extends GenerateFixed {
 
     private void fastNormF_vector(int dimen ){
         out.print("    public static double fastNormF( "+nameVector+" M ) {\n");
+        if (!isUnrolled(dimen)) {
+            out.print("        double sum = 0;\n" +
+                    "\n");
+            printFastNormLoop(dimen);
+            return;
+        }
         out.print("        double sum = ");
         for( int col = 1; col <= dimen; col++ ) {
             String element = "M.a"+col;
@@ -117,6 +127,10 @@ public class GenerateNormOps_DDF extends GenerateFixed {
                 "        if( scale == 0.0 )\n" +
                 "            return 0.0;\n" +
                 "\n");
+        if (!isUnrolled(dimen)) {
+            printNormLoop(dimen*dimen);
+            return;
+        }
         for( int row = 1; row <= dimen; row++ ) {
             out.print("        double ");
             for( int col = 1; col <= dimen; col++ ) {
@@ -154,6 +168,10 @@ public class GenerateNormOps_DDF extends GenerateFixed {
                 "        if( scale == 0.0 )\n" +
                 "            return 0.0;\n" +
                 "\n");
+        if (!isUnrolled(dimen)) {
+            printNormLoop(dimen);
+            return;
+        }
 
         out.print("        double ");
         for( int col = 1; col <= dimen; col++ ) {
@@ -178,6 +196,23 @@ public class GenerateNormOps_DDF extends GenerateFixed {
                 "    }\n\n");
     }
 
+    private void printFastNormLoop( int length ) {
+        printLoop(length, "sum += M.data[i]*M.data[i];");
+        out.print("\n" +
+                "        return Math.sqrt(sum);\n");
+        printClose();
+    }
+
+    private void printNormLoop( int length ) {
+        out.print("        double sum = 0;\n");
+        out.print("        for (int i = 0; i < " + length + "; i++) {\n" +
+                "            double a = M.data[i]/scale;\n" +
+                "            sum += a*a;\n" +
+                "        }\n");
+        out.print("\n" +
+                "        return scale * Math.sqrt(sum);\n");
+        printClose();
+    }
 
     public static void main(String[] args) throws FileNotFoundException {
         GenerateNormOps_DDF app = new GenerateNormOps_DDF();
@@ -333,7 +333,7 @@ public class GenerateMatrixMatrixMult_DDRM extends CodeGeneratorBase {
 
         String foo =
                 header + makeBoundsCheck(true,false, null,!add)+handleZeros(add)+
-                        "        //CONCURRENT_BELOW EjmlConcurrency.loopFor(0, A.numRows, i -> {\n" +
+                        "        //CONCURRENT_BELOW EjmlConcurrency.loopFor(0, A.numCols, i -> {\n" +
                         "        for (int i = 0; i < A.numCols; i++) {\n" +
                         "            int indexC_start = i*C.numCols;\n" +
                         "\n" +
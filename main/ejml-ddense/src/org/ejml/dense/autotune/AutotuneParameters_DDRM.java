@@ -0,0 +1,514 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.autotune;
+
+import org.ejml.EjmlParameters;
+import org.ejml.EjmlProfile;
+import org.ejml.concurrency.EjmlConcurrency;
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.CommonOps_DDRM;
+import org.ejml.dense.row.CommonOps_MT_DDRM;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.ejml.dense.row.decomposition.chol.CholeskyDecompositionBlock_DDRM;
+import org.ejml.dense.row.decomposition.chol.CholeskyDecompositionInner_DDRM;
+import org.ejml.dense.row.decomposition.chol.CholeskyDecomposition_DDRB_to_DDRM;
+import org.ejml.dense.row.decomposition.eig.SymmetricDivideConquerDecomposition_DDRM;
+import org.ejml.dense.row.decomposition.eig.SymmetricQRAlgorithmDecomposition_DDRM;
+import org.ejml.dense.row.decomposition.lu.LUDecompositionAlt_DDRM;
+import org.ejml.dense.row.decomposition.lu.LUDecompositionBlock_DDRM;
+import org.ejml.dense.row.decomposition.svd.SvdDivideConquerDecompose_DDRM;
+import org.ejml.dense.row.decomposition.svd.SvdImplicitQrDecompose_DDRM;
+import org.ejml.dense.row.linsol.qr.LinearSolverQrBlock64_DDRM;
+import org.ejml.dense.row.linsol.qr.LinearSolverQrHouseCol_DDRM;
+import org.ejml.dense.row.misc.TransposeAlgs_DDRM;
+import org.ejml.dense.row.mult.MatrixMatrixMult_DDRM;
+import org.ejml.dense.row.mult.MatrixMultPacked_DDRM;
+import org.ejml.dense.row.mult.MatrixMultProduct_DDRM;
+import org.ejml.dense.row.mult.MatrixMultStrassen_MT_DDRM;
+import org.ejml.interfaces.decomposition.CholeskyDecomposition_F64;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Properties;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+/**
+ * <p>
+ * Benchmarks the algorithms which are selected by thresholds in {@link EjmlParameters} and {@link EjmlConcurrency}
+ * on the host machine and picks the crossover points. The results are saved as a profile which is loaded by
+ * {@link EjmlProfile} when EJML starts. Run it once on each type of machine that it will be deployed on.
+ * </p>
+ *
+ * <p>
+ * A crossover is the smallest tested size where the algorithm used for large matrices is faster than the one
+ * used for small matrices at that size and the next larger size. Block sizes are selected by picking the
+ * fastest candidate. Each measurement is the fastest of several trials to reduce noise. Tuning takes a few
+ * minutes.
+ * </p>
+ *
+ * <pre>
+ * --Output=file   Where the profile is saved. Default is ~/.ejml/profile.properties
+ * --Quick         Shorter measurements and smaller matrices. Less accurate.
+ * </pre>
+ *
+ * @author Peter Abeles
+ */
+public class AutotuneParameters_DDRM {
+    /** Each measurement runs the operation for at least this long */
+    public long minimumNanos = 20_000_000L;
+
+    /** Number of times each measurement is repeated. The fastest is used. */
+    public int trials = 3;
+
+    /** Largest matrix used when looking for the switch to block decompositions */
+    public int maxDecompositionSize = 2000;
+
+    /** Size of the matrices used to tune the Strassen cutoff */
+    public int strassenSize = 2048;
+
+    /** If not null then progress is printed here */
+    public @Nullable PrintStream verbose;
+
+    Random rand = new Random(0xBEEF);
+
+    /**
+     * Tunes every parameter and sets them in {@link EjmlParameters} and {@link EjmlConcurrency}. Parameters
+     * which others depend on are tuned first.
+     *
+     * @return Profile containing only the parameters which were tuned
+     */
+    public Properties tuneAll() {
+        var profile = new Properties();
+
+        EjmlParameters.MULT_COLUMN_SWITCH = tuneMultColumnSwitch();
+        EjmlParameters.MULT_TRANAB_COLUMN_SWITCH = tuneMultTranABColumnSwitch();
+        EjmlParameters.MULT_INNER_SWITCH = tuneMultInnerSwitch();
+        EjmlParameters.MULT_PACKED_SWITCH = tuneMultPackedSwitch();
+        EjmlParameters.BLOCK_WIDTH = tuneBlockWidth();
+        EjmlParameters.TRANSPOSE_SWITCH = tuneTransposeSwitch();
+        EjmlParameters.BLOCK_WIDTH_CHOL = tuneBlockWidthChol();
+        EjmlParameters.SWITCH_BLOCK64_CHOLESKY = tuneCholeskySwitch();
+        EjmlParameters.SWITCH_BLOCK64_QR = tuneQrSwitch();
+        EjmlParameters.BLOCK_WIDTH_LU = tuneBlockWidthLu();
+        EjmlParameters.SWITCH_BLOCK_LU = tuneLuSwitch();
+        EjmlParameters.MULT_STRASSEN_CUTOFF = tuneStrassenCutoff();
+        EjmlParameters.SWITCH_EIG_DIVIDE_CONQUER = tuneEigDivideConquerSwitch();
+        EjmlParameters.SWITCH_SVD_DIVIDE_CONQUER = tuneSvdDivideConquerSwitch();
+        EjmlConcurrency.ELEMENT_THRESHOLD = tuneConcurrencyThreshold();
+
+        Properties current = EjmlProfile.captureAll();
+        for (String name : new String[]{"MULT_COLUMN_SWITCH", "MULT_TRANAB_COLUMN_SWITCH", "MULT_INNER_SWITCH",
+                "MULT_PACKED_SWITCH", "BLOCK_WIDTH", "TRANSPOSE_SWITCH", "BLOCK_WIDTH_CHOL",
+                "SWITCH_BLOCK64_CHOLESKY", "SWITCH_BLOCK64_QR", "BLOCK_WIDTH_LU", "SWITCH_BLOCK_LU",
+                "MULT_STRASSEN_CUTOFF", "SWITCH_EIG_DIVIDE_CONQUER", "SWITCH_SVD_DIVIDE_CONQUER"}) {
+            String key = "EjmlParameters." + name;
+            profile.setProperty(key, current.getProperty(key));
+        }
+        // The threshold isn't tuned when there's only one thread
+        if (EjmlConcurrency.getMaxThreads() >= 2) {
+            String key = "EjmlConcurrency.ELEMENT_THRESHOLD";
+            profile.setProperty(key, current.getProperty(key));
+        }
+
+        return profile;
+    }
+
+    /**
+     * Switch from {@link MatrixMatrixMult_DDRM#mult_small} to {@link MatrixMatrixMult_DDRM#mult_reorder}
+     */
+    public int tuneMultColumnSwitch() {
+        int[] sizes = {2, 4, 6, 8, 10, 12, 15, 20, 25, 30, 40, 50};
+        return findCrossover("MULT_COLUMN_SWITCH", sizes,
+                n -> mult(n, MatrixMatrixMult_DDRM::mult_small),
+                n -> mult(n, MatrixMatrixMult_DDRM::mult_reorder));
+    }
+
+    /**
+     * Switch from {@link MatrixMatrixMult_DDRM#multTransAB} to {@link MatrixMatrixMult_DDRM#multTransAB_aux}
+     */
+    public int tuneMultTranABColumnSwitch() {
+        int[] sizes = {4, 8, 12, 16, 20, 25, 30, 40, 50, 60, 80};
+        return findCrossover("MULT_TRANAB_COLUMN_SWITCH", sizes,
+                n -> mult(n, MatrixMatrixMult_DDRM::multTransAB),
+                n -> mult(n, ( a, b, c ) -> MatrixMatrixMult_DDRM.multTransAB_aux(a, b, c, null)));
+    }
+
+    /**
+     * Switch from {@link MatrixMultProduct_DDRM#inner_reorder} to {@link MatrixMultProduct_DDRM#inner_small}
+     */
+    public int tuneMultInnerSwitch() {
+        int[] sizes = {10, 25, 50, 75, 100, 150, 200, 300, 400};
+        return findCrossover("MULT_INNER_SWITCH", sizes,
+                n -> mult(n, ( a, b, c ) -> MatrixMultProduct_DDRM.inner_reorder(a, c)),
+                n -> mult(n, ( a, b, c ) -> MatrixMultProduct_DDRM.inner_small(a, c)));
+    }
+
+    /**
+     * Switch from {@link MatrixMatrixMult_DDRM#mult_reorder} to {@link MatrixMultPacked_DDRM}
+     */
+    public int tuneMultPackedSwitch() {
+        int[] sizes = {8, 12, 16, 24, 32, 48, 64, 96, 128};
+        var workA = new DGrowArray();
+        var workB = new DGrowArray();
+        return findCrossover("MULT_PACKED_SWITCH", sizes,
+                n -> mult(n, MatrixMatrixMult_DDRM::mult_reorder),
+                n -> mult(n, ( a, b, c ) -> MatrixMultPacked_DDRM.gemm(1.0, a, false, b, false, 0.0, c, workA, workB)));
+    }
+
+    /**
+     * Width of blocks in {@link org.ejml.data.DMatrixRBlock} decompositions and block transpose. Selected using
+     * block Cholesky and QR.
+     */
+    public int tuneBlockWidth() {
+        int N = Math.min(600, maxDecompositionSize);
+        int[] widths = {16, 24, 32, 48, 60, 64, 80, 96, 128};
+        DMatrixRMaj spd = RandomMatrices_DDRM.symmetricPosDef(N, rand);
+        DMatrixRMaj A = RandomMatrices_DDRM.rectangle(N, N, -1, 1, rand);
+        DMatrixRMaj work = A.createLike();
+
+        int original = EjmlParameters.BLOCK_WIDTH;
+        try {
+            return findFastest("BLOCK_WIDTH", widths, w -> {
+                // These classes read the block width when constructed
+                EjmlParameters.BLOCK_WIDTH = w;
+                var chol = new CholeskyDecomposition_DDRB_to_DDRM(true);
+                var qr = new LinearSolverQrBlock64_DDRM();
+                return () -> {
+                    work.setTo(spd);
+                    chol.decompose(work);
+                    qr.setA(A);
+                };
+            });
+        } finally {
+            EjmlParameters.BLOCK_WIDTH = original;
+        }
+    }
+
+    /**
+     * Switch from {@link TransposeAlgs_DDRM#standard} to {@link TransposeAlgs_DDRM#block}
+     */
+    public int tuneTransposeSwitch() {
+        int[] sizes = {100, 200, 300, 400, 500, 600, 800, 1000, 1500};
+        return findCrossover("TRANSPOSE_SWITCH", sizes,
+                n -> transpose(n, ( a, b ) -> TransposeAlgs_DDRM.standard(a, b)),
+                n -> transpose(n, ( a, b ) -> TransposeAlgs_DDRM.block(a, b, EjmlParameters.BLOCK_WIDTH)));
+    }
+
+    /**
+     * Block width used by {@link CholeskyDecompositionBlock_DDRM}
+     */
+    public int tuneBlockWidthChol() {
+        int N = Math.min(500, maxDecompositionSize);
+        int[] widths = {8, 12, 16, 20, 24, 32, 48, 64};
+        DMatrixRMaj spd = RandomMatrices_DDRM.symmetricPosDef(N, rand);
+        DMatrixRMaj work = spd.createLike();
+        return findFastest("BLOCK_WIDTH_CHOL", widths, w -> {
+            var chol = new CholeskyDecompositionBlock_DDRM(w);
+            return () -> {
+                work.setTo(spd);
+                chol.decompose(work);
+            };
+        });
+    }
+
+    /**
+     * Switch from {@link CholeskyDecompositionInner_DDRM} to {@link CholeskyDecomposition_DDRB_to_DDRM}
+     */
+    public int tuneCholeskySwitch() {
+        int[] sizes = limitSizes(new int[]{100, 200, 300, 400, 600, 800, 1000, 1200, 1500, 2000});
+        return findCrossover("SWITCH_BLOCK64_CHOLESKY", sizes,
+                n -> cholesky(n, new CholeskyDecompositionInner_DDRM(true)),
+                n -> cholesky(n, new CholeskyDecomposition_DDRB_to_DDRM(true)));
+    }
+
+    /**
+     * Switch from {@link LinearSolverQrHouseCol_DDRM} to {@link LinearSolverQrBlock64_DDRM}
+     */
+    public int tuneQrSwitch() {
+        int[] sizes = limitSizes(new int[]{100, 200, 300, 400, 600, 800, 1000, 1200, 1500, 2000});
+        return findCrossover("SWITCH_BLOCK64_QR", sizes, n -> {
+            DMatrixRMaj A = RandomMatrices_DDRM.rectangle(n, n, -1, 1, rand);
+            var solver = new LinearSolverQrHouseCol_DDRM();
+            return () -> solver.setA(A);
+        }, n -> {
+            DMatrixRMaj A = RandomMatrices_DDRM.rectangle(n, n, -1, 1, rand);
+            var solver = new LinearSolverQrBlock64_DDRM();
+            return () -> solver.setA(A);
+        });
+    }
+
+    /**
+     * Block width used by {@link LUDecompositionBlock_DDRM}
+     */
+    public int tuneBlockWidthLu() {
+        int N = Math.min(1000, maxDecompositionSize);
+        int[] widths = {16, 24, 32, 48, 64, 96, 128};
+        DMatrixRMaj A = RandomMatrices_DDRM.rectangle(N, N, -1, 1, rand);
+        return findFastest("BLOCK_WIDTH_LU", widths, w -> {
+            var lu = new LUDecompositionBlock_DDRM(w);
+            return () -> lu.decompose(A);
+        });
+    }
+
+    /**
+     * Switch from {@link LUDecompositionAlt_DDRM} to {@link LUDecompositionBlock_DDRM}
+     */
+    public int tuneLuSwitch() {
+        int[] sizes = limitSizes(new int[]{50, 100, 150, 200, 300, 400, 600, 800, 1000});
+        return findCrossover("SWITCH_BLOCK_LU", sizes, n -> {
+            DMatrixRMaj A = RandomMatrices_DDRM.rectangle(n, n, -1, 1, rand);
+            var lu = new LUDecompositionAlt_DDRM();
+            return () -> lu.decompose(A);
+        }, n -> {
+            DMatrixRMaj A = RandomMatrices_DDRM.rectangle(n, n, -1, 1, rand);
+            var lu = new LUDecompositionBlock_DDRM();
+            return () -> lu.decompose(A);
+        });
+    }
+
+    /**
+     * Switch from {@link SymmetricQRAlgorithmDecomposition_DDRM} to {@link SymmetricDivideConquerDecomposition_DDRM}
+     * when eigenvectors are computed
+     */
+    public int tuneEigDivideConquerSwitch() {
+        int[] sizes = limitSizes(new int[]{50, 100, 150, 200, 300, 400, 600, 800});
+        return findCrossover("SWITCH_EIG_DIVIDE_CONQUER", sizes, n -> {
+            DMatrixRMaj A = RandomMatrices_DDRM.symmetric(n, -1, 1, rand);
+            var eig = new SymmetricQRAlgorithmDecomposition_DDRM(true);
+            return () -> eig.decompose(A);
+        }, n -> {
+            DMatrixRMaj A = RandomMatrices_DDRM.symmetric(n, -1, 1, rand);
+            var eig = new SymmetricDivideConquerDecomposition_DDRM(true);
+            return () -> eig.decompose(A);
+        });
+    }
+
+    /**
+     * Switch from {@link SvdImplicitQrDecompose_DDRM} to {@link SvdDivideConquerDecompose_DDRM} when U and V are
+     * computed
+     */
+    public int tuneSvdDivideConquerSwitch() {
+        int[] sizes = limitSizes(new int[]{100, 200, 300, 400, 600, 800, 1000, 1200, 1500, 2000});
+        return findCrossover("SWITCH_SVD_DIVIDE_CONQUER", sizes, n -> {
+            DMatrixRMaj A = RandomMatrices_DDRM.rectangle(n, n, -1, 1, rand);
+            var svd = new SvdImplicitQrDecompose_DDRM(false, true, true, false);
+            return () -> svd.decompose(A);
+        }, n -> {
+            DMatrixRMaj A = RandomMatrices_DDRM.rectangle(n, n, -1, 1, rand);
+            var svd = new SvdDivideConquerDecompose_DDRM(false, true, true);
+            return () -> svd.decompose(A);
+        });
+    }
+
+    /**
+     * Cutoff used by {@link MatrixMultStrassen_MT_DDRM}. Multiplies two square matrices which are
+     * {@link #strassenSize} wide with different cutoffs.
+     */
+    public int tuneStrassenCutoff() {
+        int N = strassenSize;
+        int count = 0;
+        int[] candidates = {128, 192, 256, 384, 512, 768, 1024};
+        while (count < candidates.length && candidates[count] < N)
+            count++;
+        int[] cutoffs = new int[Math.max(1, count)];
+        System.arraycopy(candidates, 0, cutoffs, 0, cutoffs.length);
+
+        return findFastest("MULT_STRASSEN_CUTOFF", cutoffs, cutoff -> {
+            var alg = new MatrixMultStrassen_MT_DDRM(cutoff);
+            return mult(N, alg::mult);
+        });
+    }
+
+    /**
+     * Number of elements at which the concurrent implementations become faster. Both multiplication and transpose
+     * are tested and the larger threshold is used so that neither is slowed down. If only a single thread is
+     * available then the current value is returned.
+     */
+    public int tuneConcurrencyThreshold() {
+        if (EjmlConcurrency.getMaxThreads() < 2) {
+            print("ELEMENT_THRESHOLD: skipped, only one thread available");
+            return EjmlConcurrency.ELEMENT_THRESHOLD;
+        }
+        int[] sizes = {32, 48, 64, 96, 128, 192, 256, 384, 512, 768, 1024};
+        int multN = findCrossover("ELEMENT_THRESHOLD mult", sizes,
+                n -> mult(n, ( a, b, c ) -> CommonOps_DDRM.mult(a, b, c)),
+                n -> mult(n, ( a, b, c ) -> CommonOps_MT_DDRM.mult(a, b, c)));
+        int tranN = findCrossover("ELEMENT_THRESHOLD transpose", sizes,
+                n -> transpose(n, ( a, b ) -> CommonOps_DDRM.transpose(a, b)),
+                n -> transpose(n, ( a, b ) -> CommonOps_MT_DDRM.transpose(a, b)));
+        int n = Math.max(multN, tranN);
+        // Concurrent code is used when the number of elements is greater than the threshold
+        return n*n - 1;
+    }
+
+    /**
+     * Measures both algorithms at every size then selects the crossover
+     */
+    int findCrossover( String name, int[] sizes, IntFunction<Runnable> small, IntFunction<Runnable> large ) {
+        double[] timeSmall = new double[sizes.length];
+        double[] timeLarge = new double[sizes.length];
+        for (int i = 0; i < sizes.length; i++) {
+            timeSmall[i] = time(small.apply(sizes[i]));
+            timeLarge[i] = time(large.apply(sizes[i]));
+            print(String.format("%s: size=%5d small=%10.3e large=%10.3e", name, sizes[i], timeSmall[i], timeLarge[i]));
+        }
+        int selected = selectCrossover(sizes, timeSmall, timeLarge);
+        print(name + " = " + selected);
+        return selected;
+    }
+
+    /**
+     * Measures every candidate and returns the fastest
+     */
+    int findFastest( String name, int[] candidates, IntFunction<Runnable> op ) {
+        double[] times = new double[candidates.length];
+        for (int i = 0; i < candidates.length; i++) {
+            times[i] = time(op.apply(candidates[i]));
+            print(String.format("%s: candidate=%4d time=%10.3e", name, candidates[i], times[i]));
+        }
+        int selected = selectFastest(candidates, times);
+        print(name + " = " + selected);
+        return selected;
+    }
+
+    /**
+     * Returns the first size where the large algorithm is faster at it and the next size. If that never happens
+     * then one more than the largest size is returned.
+     */
+    static int selectCrossover( int[] sizes, double[] timeSmall, double[] timeLarge ) {
+        for (int i = 0; i < sizes.length; i++) {
+            if (timeLarge[i] >= timeSmall[i])
+                continue;
+            if (i + 1 < sizes.length && timeLarge[i + 1] >= timeSmall[i + 1])
+                continue;
+            return sizes[i];
+        }
+        return sizes[sizes.length - 1] + 1;
+    }
+
+    static int selectFastest( int[] candidates, double[] times ) {
+        int best = 0;
+        for (int i = 1; i < candidates.length; i++) {
+            if (times[i] < times[best])
+                best = i;
+        }
+        return candidates[best];
+    }
+
+    /**
+     * Returns the average time in nanoseconds it takes to run the operation, using the fastest trial
+     */
+    double time( Runnable op ) {
+        // warm up
+        op.run();
+
+        double best = Double.MAX_VALUE;
+        for (int trial = 0; trial < trials; trial++) {
+            long start = System.nanoTime();
+            long elapsed;
+            int count = 0;
+            do {
+                op.run();
+                count++;
+                elapsed = System.nanoTime() - start;
+            } while (elapsed < minimumNanos);
+            best = Math.min(best, elapsed/(double)count);
+        }
+        return best;
+    }
+
+    int[] limitSizes( int[] sizes ) {
+        int count = 0;
+        while (count < sizes.length && sizes[count] <= maxDecompositionSize)
+            count++;
+        int[] limited = new int[Math.max(2, count)];
+        System.arraycopy(sizes, 0, limited, 0, limited.length);
+        return limited;
+    }
+
+    Runnable mult( int n, MultOp op ) {
+        DMatrixRMaj a = RandomMatrices_DDRM.rectangle(n, n, -1, 1, rand);
+        DMatrixRMaj b = RandomMatrices_DDRM.rectangle(n, n, -1, 1, rand);
+        DMatrixRMaj c = new DMatrixRMaj(n, n);
+        return () -> op.process(a, b, c);
+    }
+
+    Runnable transpose( int n, TransposeOp op ) {
+        DMatrixRMaj a = RandomMatrices_DDRM.rectangle(n, n, -1, 1, rand);
+        DMatrixRMaj b = new DMatrixRMaj(n, n);
+        return () -> op.process(a, b);
+    }
+
+    Runnable cholesky( int n, CholeskyDecomposition_F64<DMatrixRMaj> chol ) {
+        DMatrixRMaj spd = RandomMatrices_DDRM.symmetricPosDef(n, rand);
+        DMatrixRMaj work = spd.createLike();
+        return () -> {
+            work.setTo(spd);
+            chol.decompose(work);
+        };
+    }
+
+    /**
+     * Configures it for a faster but less accurate tuning
+     */
+    public void setQuick() {
+        minimumNanos = 5_000_000L;
+        trials = 2;
+        maxDecompositionSize = 800;
+        strassenSize = 1024;
+    }
+
+    private void print( String message ) {
+        if (verbose != null)
+            verbose.println(message);
+    }
+
+    @FunctionalInterface
+    interface MultOp {
+        void process( DMatrixRMaj a, DMatrixRMaj b, DMatrixRMaj c );
+    }
+
+    @FunctionalInterface
+    interface TransposeOp {
+        void process( DMatrixRMaj a, DMatrixRMaj b );
+    }
+
+    public static void main( String[] args ) throws IOException {
+        var app = new AutotuneParameters_DDRM();
+        app.verbose = System.out;
+        File output = EjmlProfile.defaultFile();
+        for (String arg : args) {
+            if (arg.startsWith("--Output=")) {
+                output = new File(arg.substring("--Output=".length()));
+            } else if (arg.equals("--Quick")) {
+                app.setQuick();
+            } else {
+                throw new IllegalArgumentException("Unknown argument " + arg);
+            }
+        }
+
+        Properties profile = app.tuneAll();
+        EjmlProfile.save(profile, output, "EJML profile created by " + AutotuneParameters_DDRM.class.getSimpleName() +
+                " on a machine with " + Runtime.getRuntime().availableProcessors() + " processors");
+        System.out.println("Saved profile to " + output.getPath());
+    }
+}
@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.band;
+
+import org.ejml.UtilEjml;
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrix1Row;
+import org.ejml.data.DMatrixBand;
+import org.ejml.data.DMatrixRMaj;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * <p>
+ * Operations on band matrices stored in a {@link DMatrixBand}. Band matrices are common in spline fitting and
+ * in finite difference discretizations of 1D PDEs. Operations only touch elements inside the band, e.g.
+ * multiplying by a dense matrix with p columns is O(n*b*p) where b is the width of the band.
+ * </p>
+ *
+ * @author Peter Abeles
+ * @see LinearSolverBand_DDRM
+ */
+public class BandOps_DDRM {
+    /**
+     * Converts a band matrix into a dense matrix
+     *
+     * @param src (Input) Band matrix. Not modified.
+     * @param dst (Output) Dense matrix. Reshaped. If null a new matrix is declared.
+     * @return The dense matrix
+     */
+    public static DMatrixRMaj convert( DMatrixBand src, @Nullable DMatrixRMaj dst ) {
+        int N = src.numRows;
+        dst = UtilEjml.reshapeOrDeclare(dst, N, N);
+        dst.zero();
+        for (int row = 0; row < N; row++) {
+            int col0 = Math.max(0, row - src.lower);
+            int col1 = Math.min(N, row + src.upper + 1);
+            System.arraycopy(src.data, src.getIndex(row, col0), dst.data, row*N + col0, col1 - col0);
+        }
+        return dst;
+    }
+
+    /**
+     * Copies the elements inside the band of a square dense matrix into a band matrix. Elements outside the band
+     * are ignored.
+     *
+     * @param src (Input) Square matrix. Not modified.
+     * @param lower Lower bandwidth
+     * @param upper Upper bandwidth
+     * @param dst (Output) Band matrix. Reshaped. If null a new matrix is declared.
+     * @return The band matrix
+     */
+    public static DMatrixBand convert( DMatrixRMaj src, int lower, int upper, @Nullable DMatrixBand dst ) {
+        UtilEjml.assertShape(src.numRows, src.numCols, "Must be a square matrix");
+        int N = src.numRows;
+        if (dst == null)
+            dst = new DMatrixBand(N, lower, upper);
+        else
+            dst.reshape(N, lower, upper);
+        dst.zero();
+        for (int row = 0; row < N; row++) {
+            int col0 = Math.max(0, row - lower);
+            int col1 = Math.min(N, row + upper + 1);
+            System.arraycopy(src.data, row*N + col0, dst.data, dst.getIndex(row, col0), col1 - col0);
+        }
+        return dst;
+    }
+
+    /**
+     * Returns the lower bandwidth, i.e. the largest value of row - col for a non-zero element
+     */
+    public static int lowerBandwidth( DMatrixRMaj A ) {
+        int N = A.numCols;
+        int bandwidth = 0;
+        for (int row = 1; row < A.numRows; row++) {
+            // only need to look at elements which are further from the diagonal than the current bandwidth
+            int end = Math.min(N, row - bandwidth);
+            for (int col = 0; col < end; col++) {
+                if (A.data[row*N + col] != 0.0) {
+                    bandwidth = row - col;
+                    break;
+                }
+            }
+        }
+        return bandwidth;
+    }
+
+    /**
+     * Returns the upper bandwidth, i.e. the largest value of col - row for a non-zero element
+     */
+    public static int upperBandwidth( DMatrixRMaj A ) {
+        int N = A.numCols;
+        int bandwidth = 0;
+        for (int row = 0; row < A.numRows; row++) {
+            int start = row + bandwidth + 1;
+            for (int col = N - 1; col >= start; col--) {
+                if (A.data[row*N + col] != 0.0) {
+                    bandwidth = col - row;
+                    break;
+                }
+            }
+        }
+        return bandwidth;
+    }
+
+    /**
+     * <p>Multiplies a band matrix by a dense matrix or vector:<br>
+     * c = a * b</p>
+     *
+     * @param a (Input) Band matrix. Not modified.
+     * @param b (Input) Dense matrix with the same number of rows as 'a'. Not modified.
+     * @param c (Output) Dense matrix. Reshaped.
+     */
+    public static void mult( DMatrixBand a, DMatrix1Row b, DMatrix1Row c ) {
+        UtilEjml.assertShape(a.numRows, b.numRows, "'a' and 'b' do not have compatible dimensions");
+        UtilEjml.checkSameInstance(b, c);
+        c.reshape(a.numRows, b.numCols);
+        c.zero();
+        multAddRows(a, b, c);
+    }
+
+    /**
+     * <p>Multiplies a band matrix by a dense matrix or vector and adds the result:<br>
+     * c = c + a * b</p>
+     *
+     * @param a (Input) Band matrix. Not modified.
+     * @param b (Input) Dense matrix with the same number of rows as 'a'. Not modified.
+     * @param c (Input/Output) Dense matrix with the same shape as 'b'. Modified.
+     */
+    public static void multAdd( DMatrixBand a, DMatrix1Row b, DMatrix1Row c ) {
+        UtilEjml.assertShape(a.numRows, b.numRows, "'a' and 'b' do not have compatible dimensions");
+        UtilEjml.assertShape(c.numRows == a.numRows && c.numCols == b.numCols, "'c' is not the expected shape");
+        UtilEjml.checkSameInstance(b, c);
+        multAddRows(a, b, c);
+    }
+
+    private static void multAddRows( DMatrixBand a, DMatrix1Row b, DMatrix1Row c ) {
+        final int N = a.numRows;
+        final int P = b.numCols;
+        final double[] dataB = b.data;
+        final double[] dataC = c.data;
+
+        if (P == 1) {
+            for (int row = 0; row < N; row++) {
+                int col0 = Math.max(0, row - a.lower);
+                int col1 = Math.min(N, row + a.upper + 1);
+                int indexA = a.getIndex(row, col0);
+                double sum = 0;
+                for (int col = col0; col < col1; col++) {
+                    sum += a.data[indexA++]*dataB[col];
+                }
+                dataC[row] += sum;
+            }
+            return;
+        }
+
+        for (int row = 0; row < N; row++) {
+            int col0 = Math.max(0, row - a.lower);
+            int col1 = Math.min(N, row + a.upper + 1);
+            int indexA = a.getIndex(row, col0);
+            int indexC = row*P;
+            for (int col = col0; col < col1; col++) {
+                double valA = a.data[indexA++];
+                int indexB = col*P;
+                for (int j = 0; j < P; j++) {
+                    dataC[indexC + j] += valA*dataB[indexB + j];
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes the quality of a triangular band matrix from its diagonal elements. Same as
+     * {@link org.ejml.dense.row.SpecializedOps_DDRM#qualityTriangular} for dense matrices.
+     */
+    public static double qualityDiagonal( DMatrixBand T ) {
+        final int N = T.numRows;
+        double max = 0;
+        for (int i = 0; i < N; i++) {
+            max = Math.max(max, Math.abs(T.data[T.getIndex(i, i)]));
+        }
+
+        if (max == 0.0)
+            return 0.0;
+
+        double quality = 1.0;
+        for (int i = 0; i < N; i++) {
+            quality *= T.data[T.getIndex(i, i)]/max;
+        }
+
+        return Math.abs(quality);
+    }
+
+    /**
+     * Returns true if every row is diagonally dominant, i.e. the absolute value of the diagonal element is greater
+     * than or equal to the sum of the absolute values of the other elements in its row, and the diagonal is
+     * not zero. Gaussian elimination is stable on these matrices without pivoting.
+     */
+    public static boolean isDiagonallyDominant( DMatrixBand A ) {
+        final int N = A.numRows;
+        for (int row = 0; row < N; row++) {
+            int col0 = Math.max(0, row - A.lower);
+            int col1 = Math.min(N, row + A.upper + 1);
+            int indexA = A.getIndex(row, col0);
+            double sum = 0;
+            for (int col = col0; col < col1; col++) {
+                if (col != row)
+                    sum += Math.abs(A.data[indexA]);
+                indexA++;
+            }
+            double diag = Math.abs(A.data[A.getIndex(row, row)]);
+            if (diag == 0.0 || diag < sum)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * <p>Solves A*X = B where A is tridiagonal using the Thomas algorithm, which is Gaussian elimination without
+     * pivoting specialized for tridiagonal matrices. This requires O(n*p) operations, where p is the number of
+     * columns in B. Since there is no pivoting it should only be used when A is diagonally dominant or
+     * symmetric positive definite. Otherwise use {@link LUDecompositionBand_DDRM}.</p>
+     *
+     * @param A (Input) Tridiagonal matrix. Lower and upper bandwidths must be 1. Not modified.
+     * @param B (Input) Right hand side. Not modified.
+     * @param X (Output) Solution. Reshaped. Can be the same instance as B.
+     * @param work (Optional) Work space. Can be null.
+     * @return false if a zero pivot was encountered, in which case X is undefined
+     */
+    public static boolean solveTridiagonal( DMatrixBand A, DMatrix1Row B, DMatrix1Row X,
+                                            @Nullable DGrowArray work ) {
+        if (A.lower != 1 || A.upper != 1)
+            throw new IllegalArgumentException("Matrix must be tridiagonal");
+        UtilEjml.assertShape(A.numRows, B.numRows, "'A' and 'B' do not have compatible dimensions");
+        if (X != B) {
+            X.reshape(B.numRows, B.numCols);
+            System.arraycopy(B.data, 0, X.data, 0, B.getNumElements());
+        }
+
+        final int N = A.numRows;
+        final int P = X.numCols;
+        final double[] a = A.data;
+        final double[] x = X.data;
+        if (N == 0)
+            return true;
+
+        // normalized super diagonal
+        double[] c = UtilEjml.adjust(work, N);
+
+        // Forward sweep. Elements of each row are at 3*row + 0, 1, 2 for the sub, main, and super diagonals
+        double pivot = a[1];
+        if (pivot == 0.0)
+            return false;
+        for (int j = 0; j < P; j++) {
+            x[j] /= pivot;
+        }
+        for (int row = 1; row < N; row++) {
+            int indexA = 3*row;
+            c[row - 1] = a[3*(row - 1) + 2]/pivot;
+            double sub = a[indexA];
+            pivot = a[indexA + 1] - sub*c[row - 1];
+            if (pivot == 0.0)
+                return false;
+            int indexX = row*P;
+            for (int j = 0; j < P; j++) {
+                x[indexX + j] = (x[indexX + j] - sub*x[indexX - P + j])/pivot;
+            }
+        }
+
+        // back substitution
+        for (int row = N - 2; row >= 0; row--) {
+            double valC = c[row];
+            int indexX = row*P;
+            for (int j = 0; j < P; j++) {
+                x[indexX + j] -= valC*x[indexX + P + j];
+            }
+        }
+        return true;
+    }
+}
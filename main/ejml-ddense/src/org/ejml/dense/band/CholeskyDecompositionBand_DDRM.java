@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.band;
+
+import org.ejml.UtilEjml;
+import org.ejml.data.Complex_F64;
+import org.ejml.data.DMatrix1Row;
+import org.ejml.data.DMatrixBand;
+import org.ejml.interfaces.decomposition.CholeskyDecomposition_F64;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * <p>
+ * Cholesky decomposition of a symmetric positive definite band matrix, A = L*L<sup>T</sup>. L has the same
+ * lower bandwidth as A, so the decomposition requires O(n*b<sup>2</sup>) operations and O(n*b) storage, where b
+ * is the lower bandwidth. Only the lower band of A is read and the upper band is assumed to be its transpose.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class CholeskyDecompositionBand_DDRM implements CholeskyDecomposition_F64<DMatrixBand> {
+    // the decomposed matrix. Lower band only
+    protected DMatrixBand T = new DMatrixBand();
+
+    // storage for computed determinant
+    protected Complex_F64 det = new Complex_F64();
+
+    /**
+     * Decomposes the matrix.
+     *
+     * @param A A symmetric positive definite band matrix. Not modified.
+     * @return True if it was able to finish the decomposition.
+     */
+    @Override
+    public boolean decompose( DMatrixBand A ) {
+        final int N = A.numRows;
+        final int b = A.lower;
+        T.reshape(N, b, 0);
+
+        final int widthA = A.getWidth();
+        final int widthT = b + 1;
+        final double[] t = T.data;
+
+        for (int i = 0; i < N; i++) {
+            int col0 = Math.max(0, i - b);
+            // index of T(i,col0) and A(i,col0)
+            int indexTi = i*widthT + col0 - i + b;
+            int indexAi = i*widthA + col0 - i + b;
+
+            for (int j = col0; j <= i; j++) {
+                // index of T(j,col0). col0 >= j - b so it's inside of row j's band
+                int indexTj = j*widthT + col0 - j + b;
+                double sum = A.data[indexAi + j - col0];
+                for (int k = 0; k < j - col0; k++) {
+                    sum -= t[indexTi + k]*t[indexTj + k];
+                }
+
+                if (j == i) {
+                    if (sum <= 0.0)
+                        return false;
+                    t[indexTi + i - col0] = Math.sqrt(sum);
+                } else {
+                    t[indexTi + j - col0] = sum/t[indexTj + j - col0];
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Solves A*X = B using the decomposition.
+     *
+     * @param B (Input) Right hand side. Not modified.
+     * @param X (Output) Solution. Reshaped. Can be the same instance as B.
+     */
+    public void solve( DMatrix1Row B, DMatrix1Row X ) {
+        UtilEjml.assertShape(T.numRows, B.numRows, "'A' and 'B' do not have compatible dimensions");
+        if (X != B) {
+            X.reshape(B.numRows, B.numCols);
+            System.arraycopy(B.data, 0, X.data, 0, B.getNumElements());
+        }
+
+        final int N = T.numRows;
+        final int P = X.numCols;
+        final int b = T.lower;
+        final double[] t = T.data;
+        final double[] x = X.data;
+
+        // L*Y = B
+        for (int i = 0; i < N; i++) {
+            int col0 = Math.max(0, i - b);
+            int indexT = T.getIndex(i, col0);
+            int indexI = i*P;
+            for (int k = col0; k < i; k++) {
+                double l = t[indexT++];
+                int indexK = k*P;
+                for (int j = 0; j < P; j++) {
+                    x[indexI + j] -= l*x[indexK + j];
+                }
+            }
+            double diag = t[indexT];
+            for (int j = 0; j < P; j++) {
+                x[indexI + j] /= diag;
+            }
+        }
+
+        // L'*X = Y. Traverses L by row to access memory in order
+        for (int i = N - 1; i >= 0; i--) {
+            int col0 = Math.max(0, i - b);
+            int indexI = i*P;
+            double diag = t[T.getIndex(i, i)];
+            for (int j = 0; j < P; j++) {
+                x[indexI + j] /= diag;
+            }
+            int indexT = T.getIndex(i, col0);
+            for (int k = col0; k < i; k++) {
+                double l = t[indexT++];
+                int indexK = k*P;
+                for (int j = 0; j < P; j++) {
+                    x[indexK + j] -= l*x[indexI + j];
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean inputModified() {
+        return false;
+    }
+
+    /**
+     * Always returns true since only the lower triangle is computed
+     */
+    @Override
+    public boolean isLower() {
+        return true;
+    }
+
+    @Override
+    public DMatrixBand getT( @Nullable DMatrixBand T ) {
+        if (T == null)
+            return new DMatrixBand(this.T);
+        return T.setTo(this.T);
+    }
+
+    /**
+     * Returns the internal lower triangular band matrix from the decomposition
+     */
+    public DMatrixBand getT() {
+        return T;
+    }
+
+    /**
+     * Quality of the decomposition computed from the diagonal elements of L
+     */
+    public double quality() {
+        return BandOps_DDRM.qualityDiagonal(T);
+    }
+
+    @Override
+    public Complex_F64 computeDeterminant() {
+        double prod = 1;
+        for (int i = 0; i < T.numRows; i++) {
+            prod *= T.data[T.getIndex(i, i)];
+        }
+
+        det.real = prod*prod;
+        det.imaginary = 0;
+
+        return det;
+    }
+}
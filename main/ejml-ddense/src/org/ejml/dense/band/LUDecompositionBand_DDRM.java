@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.band;
+
+import org.ejml.UtilEjml;
+import org.ejml.data.Complex_F64;
+import org.ejml.data.DMatrix1Row;
+import org.ejml.data.DMatrixBand;
+import org.ejml.interfaces.decomposition.DecompositionInterface;
+
+/**
+ * <p>
+ * LU decomposition of a band matrix with a lower bandwidth of kl and upper bandwidth of ku, which requires
+ * O(n*kl*(kl+ku)) operations instead of O(n<sup>3</sup>) for a dense matrix.
+ * </p>
+ *
+ * <p>
+ * With partial pivoting, rows which are swapped can move elements up to kl diagonals above the band, so U is
+ * stored with an upper bandwidth of kl+ku. Like LAPACK's dgbtrf, the multipliers which make up L are not swapped
+ * after they are computed and the row swaps are applied one step at a time when solving. Without pivoting the
+ * band doesn't grow. This should only be done when Gaussian elimination is known to be stable without
+ * pivoting, e.g. diagonally dominant matrices. For a tridiagonal matrix the decomposition without pivoting is the
+ * same as the Thomas algorithm.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class LUDecompositionBand_DDRM implements DecompositionInterface<DMatrixBand> {
+    // If true partial pivoting is used
+    protected boolean pivot;
+
+    // The decomposed matrix. L is below the diagonal and U above and on it
+    protected DMatrixBand LU = new DMatrixBand();
+
+    // At step k, row k was swapped with row pivots[k]
+    protected int[] pivots = new int[0];
+
+    // storage for computed determinant
+    protected Complex_F64 det = new Complex_F64();
+
+    /**
+     * @param pivot If true then partial pivoting is used. Only set to false if the matrix is known to not
+     * need pivoting.
+     */
+    public LUDecompositionBand_DDRM( boolean pivot ) {
+        this.pivot = pivot;
+    }
+
+    public LUDecompositionBand_DDRM() {
+        this(true);
+    }
+
+    /**
+     * Decomposes the band matrix.
+     *
+     * @param A The matrix which is to be decomposed. Not modified.
+     * @return false if the matrix is singular
+     */
+    @Override
+    public boolean decompose( DMatrixBand A ) {
+        final int N = A.numRows;
+        final int kl = A.lower;
+        final int ku = pivot ? A.lower + A.upper : A.upper;
+
+        // copy A into the start of each row, the extra upper diagonals are zero
+        LU.reshape(N, kl, ku);
+        LU.zero();
+        int widthA = A.getWidth();
+        int widthLU = LU.getWidth();
+        for (int row = 0; row < N; row++) {
+            System.arraycopy(A.data, row*widthA, LU.data, row*widthLU, widthA);
+        }
+        if (pivots.length < N)
+            pivots = new int[N];
+
+        final double[] lu = LU.data;
+        for (int k = 0; k < N; k++) {
+            int rowEnd = Math.min(N, k + kl + 1);
+            int colEnd = Math.min(N, k + ku + 1);
+
+            if (pivot) {
+                int best = k;
+                double bestValue = Math.abs(lu[LU.getIndex(k, k)]);
+                for (int i = k + 1; i < rowEnd; i++) {
+                    double value = Math.abs(lu[LU.getIndex(i, k)]);
+                    if (value > bestValue) {
+                        bestValue = value;
+                        best = i;
+                    }
+                }
+                pivots[k] = best;
+                if (best != k) {
+                    int indexK = LU.getIndex(k, k);
+                    int indexBest = LU.getIndex(best, k);
+                    for (int j = 0; j < colEnd - k; j++) {
+                        double tmp = lu[indexK + j];
+                        lu[indexK + j] = lu[indexBest + j];
+                        lu[indexBest + j] = tmp;
+                    }
+                }
+            } else {
+                pivots[k] = k;
+            }
+
+            double valKK = lu[LU.getIndex(k, k)];
+            if (valKK == 0.0)
+                return false;
+
+            int indexK = LU.getIndex(k, k + 1);
+            for (int i = k + 1; i < rowEnd; i++) {
+                int indexIK = LU.getIndex(i, k);
+                double l = lu[indexIK]/valKK;
+                lu[indexIK] = l;
+                if (l == 0.0)
+                    continue;
+                // row i has the same columns as row k starting at indexIK + 1
+                int indexI = indexIK + 1;
+                for (int j = 0; j < colEnd - k - 1; j++) {
+                    lu[indexI + j] -= l*lu[indexK + j];
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Solves A*X = B using the decomposition.
+     *
+     * @param B (Input) Right hand side. Not modified.
+     * @param X (Output) Solution. Reshaped. Can be the same instance as B.
+     */
+    public void solve( DMatrix1Row B, DMatrix1Row X ) {
+        UtilEjml.assertShape(LU.numRows, B.numRows, "'A' and 'B' do not have compatible dimensions");
+        if (X != B) {
+            X.reshape(B.numRows, B.numCols);
+            System.arraycopy(B.data, 0, X.data, 0, B.getNumElements());
+        }
+
+        final int N = LU.numRows;
+        final int P = X.numCols;
+        final double[] lu = LU.data;
+        final double[] x = X.data;
+
+        // apply the row swaps and L one step at a time
+        for (int k = 0; k < N; k++) {
+            int indexK = k*P;
+            int p = pivots[k];
+            if (p != k) {
+                int indexP = p*P;
+                for (int j = 0; j < P; j++) {
+                    double tmp = x[indexK + j];
+                    x[indexK + j] = x[indexP + j];
+                    x[indexP + j] = tmp;
+                }
+            }
+            int rowEnd = Math.min(N, k + LU.lower + 1);
+            for (int i = k + 1; i < rowEnd; i++) {
+                double l = lu[LU.getIndex(i, k)];
+                int indexI = i*P;
+                for (int j = 0; j < P; j++) {
+                    x[indexI + j] -= l*x[indexK + j];
+                }
+            }
+        }
+
+        // back substitution with U
+        for (int i = N - 1; i >= 0; i--) {
+            int indexI = i*P;
+            int colEnd = Math.min(N, i + LU.upper + 1);
+            int indexU = LU.getIndex(i, i + 1);
+            for (int k = i + 1; k < colEnd; k++) {
+                double u = lu[indexU++];
+                int indexK = k*P;
+                for (int j = 0; j < P; j++) {
+                    x[indexI + j] -= u*x[indexK + j];
+                }
+            }
+            double diag = lu[LU.getIndex(i, i)];
+            for (int j = 0; j < P; j++) {
+                x[indexI + j] /= diag;
+            }
+        }
+    }
+
+    public Complex_F64 computeDeterminant() {
+        int N = LU.numRows;
+        double value = 1.0;
+        for (int i = 0; i < N; i++) {
+            value *= LU.data[LU.getIndex(i, i)];
+            if (pivots[i] != i)
+                value = -value;
+        }
+        det.setTo(value, 0);
+        return det;
+    }
+
+    /**
+     * Quality of the decomposition computed from the diagonal elements of U, see
+     * {@link org.ejml.dense.row.SpecializedOps_DDRM#qualityTriangular}
+     */
+    public double quality() {
+        return BandOps_DDRM.qualityDiagonal(LU);
+    }
+
+    /**
+     * Returns the decomposed matrix. L is below the diagonal and U is on and above the diagonal. If pivoting
+     * was used the multipliers in L are in the order they were computed.
+     */
+    public DMatrixBand getLU() {
+        return LU;
+    }
+
+    /**
+     * Returns the row swaps. At step k, row k was swapped with row pivots[k].
+     */
+    public int[] getPivots() {
+        return pivots;
+    }
+
+    public boolean isPivot() {
+        return pivot;
+    }
+
+    public void setPivot( boolean pivot ) {
+        this.pivot = pivot;
+    }
+
+    @Override
+    public boolean inputModified() {
+        return false;
+    }
+}
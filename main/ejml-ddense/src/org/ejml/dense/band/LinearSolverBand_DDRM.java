@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.band;
+
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixBand;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.factory.LinearSolverFactory_DDRM;
+import org.ejml.dense.row.linsol.LinearSolverAbstract_DDRM;
+import org.ejml.interfaces.decomposition.DecompositionInterface;
+import org.ejml.interfaces.linsol.LinearSolverDense;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * <p>
+ * Linear solver for square dense matrices which might be banded. When {@link #setA} is called the lower and
+ * upper bandwidths of A are found. If the band is narrow enough for a band decomposition to be faster,
+ * then A is copied into a {@link DMatrixBand} and decomposed in O(n*b<sup>2</sup>) operations, otherwise
+ * a dense solver is used. The band decomposition is selected as follows:
+ * </p>
+ * <ul>
+ *     <li>Symmetric positive definite: {@link CholeskyDecompositionBand_DDRM}</li>
+ *     <li>Diagonally dominant: {@link LUDecompositionBand_DDRM} without pivoting, which for a tridiagonal
+ *     matrix is the Thomas algorithm</li>
+ *     <li>Otherwise: {@link LUDecompositionBand_DDRM} with partial pivoting</li>
+ * </ul>
+ *
+ * <p>
+ * Finding the bandwidths requires looking at every element outside the band, so if the band structure is
+ * already known it's faster to create the {@link DMatrixBand} directly and use the decompositions.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class LinearSolverBand_DDRM extends LinearSolverAbstract_DDRM {
+    /**
+     * A band decomposition is used if (lower+1)*(lower+upper+1)*ratioDense &le; N<sup>2</sup>. The band
+     * LU requires about 2*N*lower*(lower+upper) flops versus 2/3*N<sup>3</sup> for dense. The ratio is
+     * larger than the flop ratio since the dense decompositions make better use of the cache.
+     */
+    public double ratioDense = 4.0;
+
+    // If true A is assumed to be symmetric positive definite
+    protected final boolean symmPosDef;
+
+    protected final LUDecompositionBand_DDRM luPivot = new LUDecompositionBand_DDRM(true);
+    protected final LUDecompositionBand_DDRM luNoPivot = new LUDecompositionBand_DDRM(false);
+    protected final CholeskyDecompositionBand_DDRM chol = new CholeskyDecompositionBand_DDRM();
+
+    // Used when the band is too wide
+    protected @Nullable LinearSolverDense<DMatrixRMaj> dense;
+
+    // Which solver was selected by the most recent call to setA(). Null if dense was selected.
+    protected @Nullable DecompositionInterface<DMatrixBand> selected;
+
+    // A converted into a band matrix
+    protected DMatrixBand band = new DMatrixBand();
+
+    /**
+     * @param symmPosDef If true then the matrix is assumed to be symmetric positive definite and Cholesky is used
+     */
+    public LinearSolverBand_DDRM( boolean symmPosDef ) {
+        this.symmPosDef = symmPosDef;
+    }
+
+    @Override
+    public boolean setA( DMatrixRMaj A ) {
+        UtilEjml.assertShape(A.numRows, A.numCols, "Must be a square matrix");
+        _setA(A);
+
+        int N = A.numRows;
+        int upper = BandOps_DDRM.upperBandwidth(A);
+        int lower = symmPosDef ? upper : BandOps_DDRM.lowerBandwidth(A);
+
+        if ((lower + 1.0)*(lower + upper + 1.0)*ratioDense > (double)N*N) {
+            selected = null;
+            if (dense == null)
+                dense = symmPosDef ? LinearSolverFactory_DDRM.chol(N) : LinearSolverFactory_DDRM.lu(N);
+            return dense.setA(A);
+        }
+
+        BandOps_DDRM.convert(A, lower, upper, band);
+        if (symmPosDef) {
+            selected = chol;
+        } else if (BandOps_DDRM.isDiagonallyDominant(band)) {
+            selected = luNoPivot;
+        } else {
+            selected = luPivot;
+        }
+        return selected.decompose(band);
+    }
+
+    @Override
+    public /**/double quality() {
+        if (selected == chol)
+            return chol.quality();
+        else if (selected == luNoPivot)
+            return luNoPivot.quality();
+        else if (selected == luPivot)
+            return luPivot.quality();
+        return getDense().quality();
+    }
+
+    @Override
+    public void solve( DMatrixRMaj B, DMatrixRMaj X ) {
+        if (A == null)
+            throw new RuntimeException("Must call setA() first");
+        UtilEjml.checkReshapeSolve(numRows, numCols, B, X);
+
+        if (selected == chol)
+            chol.solve(B, X);
+        else if (selected == luNoPivot)
+            luNoPivot.solve(B, X);
+        else if (selected == luPivot)
+            luPivot.solve(B, X);
+        else
+            getDense().solve(B, X);
+    }
+
+    /**
+     * Returns true if a band decomposition was selected in the last call to {@link #setA}
+     */
+    public boolean isBand() {
+        return selected != null;
+    }
+
+    /**
+     * The band matrix which was decomposed. Only valid if {@link #isBand()} is true.
+     */
+    public DMatrixBand getBand() {
+        return band;
+    }
+
+    private LinearSolverDense<DMatrixRMaj> getDense() {
+        if (dense == null)
+            throw new RuntimeException("Must call setA() first");
+        return dense;
+    }
+
+    @Override
+    public boolean modifiesA() {
+        return selected == null && dense != null && dense.modifiesA();
+    }
+
+    @Override
+    public boolean modifiesB() {
+        return false;
+    }
+
+    /**
+     * Returns the decomposition used in the last call to {@link #setA}. Either one of the band decompositions
+     * or the dense solver's decomposition.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <D extends DecompositionInterface> D getDecomposition() {
+        if (selected != null)
+            return (D)selected;
+        if (dense != null)
+            return dense.getDecomposition();
+        return (D)luPivot;
+    }
+}
@@ -0,0 +1,770 @@
+/*
+ * Copyright (c) 2020, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.batch;
+
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixBatch;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Operations which are applied independently to every matrix in a {@link DMatrixBatch}. Designed for
+ * thousands of small problems, e.g. 3x3 to 8x8, where calling the regular single matrix functions would be
+ * dominated by function call overhead and memory allocation.
+ * </p>
+ *
+ * <p>
+ * Internally the batch is processed in chunks of matrices. Each chunk is copied into a work array with the
+ * same element from each matrix next to each other (SOA) and every operation is applied to all matrices in the
+ * chunk by the inner most loop. This loop has no dependencies between iterations, unit stride, and no branches,
+ * which lets the JIT vectorize it. Since the copy is O(N<sup>2</sup>) per matrix, the same code is used for
+ * both {@link org.ejml.data.BatchLayout layouts}. Row pivoting is specific to each matrix and is handled
+ * one matrix at a time.
+ * </p>
+ *
+ * <p>
+ * Decompositions can fail on individual matrices. Which ones failed is written to the optional 'valid' array,
+ * where valid[i] corresponds to matrix i in the batch, and the function returns true only if every matrix
+ * succeeded. Output for a matrix which failed is undefined.
+ * </p>
+ *
+ * <p>All batches passed in to the same function must have the same layout.</p>
+ *
+ * @author Peter Abeles
+ * @see BatchOps_MT_DDRM
+ */
+public class BatchOps_DDRM {
+    /** The number of matrices in a chunk is selected so that each work matrix has about this many elements */
+    public static final int CHUNK_ELEMENTS = 4096;
+    /** Maximum number of matrices in a chunk */
+    public static final int MAX_CHUNK = 256;
+
+    /**
+     * <p>Performs matrix multiplication on every matrix in the batch:<br>
+     * C[i] = A[i] * B[i]</p>
+     *
+     * @param A (Input) Left side of multiplication. Not modified.
+     * @param B (Input) Right side of multiplication. Not modified.
+     * @param C (Output) Where the results are stored. Reshaped.
+     */
+    public static void mult( DMatrixBatch A, DMatrixBatch B, DMatrixBatch C ) {
+        checkInputMult(A, B, C);
+        multRange(A, B, C, 0, A.size);
+    }
+
+    /**
+     * <p>Cholesky decomposition of every matrix in the batch. Each matrix is replaced by the lower triangular
+     * L, where A[i] = L*L<sup>T</sup>. The upper triangle is set to zero.</p>
+     *
+     * @param A (Input) Symmetric positive definite matrices. (Output) Lower triangular matrices. Modified.
+     * @param valid (Output) Optional. Set to true if a matrix is positive definite. Can be null.
+     * @return true if every matrix was decomposed
+     */
+    public static boolean cholesky( DMatrixBatch A, @Nullable boolean[] valid ) {
+        checkSquare(A);
+        checkValid(A, valid);
+        return choleskyRange(A, valid, 0, A.size);
+    }
+
+    /**
+     * <p>Solves L*L<sup>T</sup>*X[i] = B[i] for every matrix in the batch using the output of
+     * {@link #cholesky}.</p>
+     *
+     * @param L (Input) Lower triangular matrices. Not modified.
+     * @param B (Input) Right hand side. Not modified.
+     * @param X (Output) Solution. Reshaped. Can be the same instance as B.
+     */
+    public static void solveCholesky( DMatrixBatch L, DMatrixBatch B, DMatrixBatch X ) {
+        checkInputSolve(L, B, X);
+        solveCholeskyRange(L, B, X, 0, L.size);
+    }
+
+    /**
+     * <p>LU decomposition with partial pivoting of every matrix in the batch. Each matrix is replaced by L and U,
+     * where L has ones along its diagonal which are not saved. The row swaps are saved in 'pivots' where
+     * pivots[i*N + k] is the row which was swapped with row k at step k when decomposing matrix i.</p>
+     *
+     * @param A (Input) Square matrices. (Output) L and U. Modified.
+     * @param pivots (Output) Row swaps. Must have a length of at least size*N.
+     * @param valid (Output) Optional. Set to false if a matrix is singular. Can be null.
+     * @return true if none of the matrices are singular
+     */
+    public static boolean lu( DMatrixBatch A, int[] pivots, @Nullable boolean[] valid ) {
+        checkSquare(A);
+        checkValid(A, valid);
+        checkPivots(A, pivots);
+        return luRange(A, pivots, valid, 0, A.size);
+    }
+
+    /**
+     * <p>Solves A[i]*X[i] = B[i] for every matrix in the batch using the output of {@link #lu}.</p>
+     *
+     * @param LU (Input) Decomposed matrices. Not modified.
+     * @param pivots (Input) Row swaps. Not modified.
+     * @param B (Input) Right hand side. Not modified.
+     * @param X (Output) Solution. Reshaped. Can be the same instance as B.
+     */
+    public static void solveLU( DMatrixBatch LU, int[] pivots, DMatrixBatch B, DMatrixBatch X ) {
+        checkInputSolve(LU, B, X);
+        checkPivots(LU, pivots);
+        solveLURange(LU, pivots, B, X, 0, LU.size);
+    }
+
+    /**
+     * <p>Solves A[i]*X[i] = B[i] for every matrix in the batch using LU decomposition.</p>
+     *
+     * @param A (Input) Square matrices. Not modified.
+     * @param B (Input) Right hand side. Not modified.
+     * @param X (Output) Solution. Reshaped. Can be the same instance as B.
+     * @param valid (Output) Optional. Set to false if a matrix is singular. Can be null.
+     * @return true if none of the matrices are singular
+     */
+    public static boolean solve( DMatrixBatch A, DMatrixBatch B, DMatrixBatch X, @Nullable boolean[] valid ) {
+        checkInputSolve(A, B, X);
+        checkValid(A, valid);
+        return solveRange(A, B, X, valid, 0, A.size);
+    }
+
+    /**
+     * <p>Inverts every matrix in the batch. Matrices up to 4x4 are inverted using their adjugate,
+     * larger matrices using LU decomposition.</p>
+     *
+     * @param A (Input) Square matrices. Not modified.
+     * @param Ainv (Output) Inverted matrices. Reshaped. Can be the same instance as A.
+     * @param valid (Output) Optional. Set to false if a matrix is singular. Can be null.
+     * @return true if none of the matrices are singular
+     */
+    public static boolean invert( DMatrixBatch A, DMatrixBatch Ainv, @Nullable boolean[] valid ) {
+        checkSquare(A);
+        checkLayout(A, Ainv);
+        checkValid(A, valid);
+        Ainv.reshape(A.size, A.numRows, A.numCols);
+        return invertRange(A, Ainv, valid, 0, A.size);
+    }
+
+    //------------------------------------------------------------------------------------------------------
+    // Implementations which process matrices from i0 (inclusive) to i1 (exclusive)
+    //------------------------------------------------------------------------------------------------------
+
+    static void multRange( DMatrixBatch A, DMatrixBatch B, DMatrixBatch C, int i0, int i1 ) {
+        final int m = A.numRows, k = A.numCols, n = B.numCols;
+        final int chunk = chunkSize(Math.max(m*k, Math.max(k*n, m*n)));
+        final double[] a = new double[m*k*chunk];
+        final double[] b = new double[k*n*chunk];
+        final double[] c = new double[m*n*chunk];
+
+        for (int start = i0; start < i1; start += chunk) {
+            int w = Math.min(chunk, i1 - start);
+            gather(A, start, w, a);
+            gather(B, start, w, b);
+            mult(m, n, k, a, b, c, w);
+            scatter(c, w, C, start);
+        }
+    }
+
+    static boolean choleskyRange( DMatrixBatch A, @Nullable boolean[] valid, int i0, int i1 ) {
+        final int n = A.numRows;
+        final int chunk = chunkSize(n*n);
+        final double[] a = new double[n*n*chunk];
+        final double[] work = new double[chunk];
+        final boolean[] ok = new boolean[chunk];
+
+        boolean success = true;
+        for (int start = i0; start < i1; start += chunk) {
+            int w = Math.min(chunk, i1 - start);
+            gather(A, start, w, a);
+            choleskyLower(n, a, work, ok, w);
+            scatter(a, w, A, start);
+            success &= saveValid(ok, w, valid, start);
+        }
+        return success;
+    }
+
+    static void solveCholeskyRange( DMatrixBatch L, DMatrixBatch B, DMatrixBatch X, int i0, int i1 ) {
+        final int n = L.numRows, m = B.numCols;
+        final int chunk = chunkSize(Math.max(n*n, n*m));
+        final double[] l = new double[n*n*chunk];
+        final double[] x = new double[n*m*chunk];
+
+        for (int start = i0; start < i1; start += chunk) {
+            int w = Math.min(chunk, i1 - start);
+            gather(L, start, w, l);
+            gather(B, start, w, x);
+            solveLower(n, m, l, x, w, false);
+            solveLowerTran(n, m, l, x, w);
+            scatter(x, w, X, start);
+        }
+    }
+
+    static boolean luRange( DMatrixBatch A, int[] pivots, @Nullable boolean[] valid, int i0, int i1 ) {
+        final int n = A.numRows;
+        final int chunk = chunkSize(n*n);
+        final double[] a = new double[n*n*chunk];
+        final double[] work = new double[chunk];
+        final int[] piv = new int[n*chunk];
+        final boolean[] ok = new boolean[chunk];
+
+        boolean success = true;
+        for (int start = i0; start < i1; start += chunk) {
+            int w = Math.min(chunk, i1 - start);
+            gather(A, start, w, a);
+            lu(n, a, piv, work, ok, w);
+            scatter(a, w, A, start);
+            for (int lane = 0; lane < w; lane++) {
+                for (int k = 0; k < n; k++) {
+                    pivots[(start + lane)*n + k] = piv[k*w + lane];
+                }
+            }
+            success &= saveValid(ok, w, valid, start);
+        }
+        return success;
+    }
+
+    static void solveLURange( DMatrixBatch LU, int[] pivots, DMatrixBatch B, DMatrixBatch X, int i0, int i1 ) {
+        final int n = LU.numRows, m = B.numCols;
+        final int chunk = chunkSize(Math.max(n*n, n*m));
+        final double[] lu = new double[n*n*chunk];
+        final double[] x = new double[n*m*chunk];
+        final int[] piv = new int[n*chunk];
+
+        for (int start = i0; start < i1; start += chunk) {
+            int w = Math.min(chunk, i1 - start);
+            gather(LU, start, w, lu);
+            gather(B, start, w, x);
+            for (int lane = 0; lane < w; lane++) {
+                for (int k = 0; k < n; k++) {
+                    piv[k*w + lane] = pivots[(start + lane)*n + k];
+                }
+            }
+            solveLU(n, m, lu, piv, x, w);
+            scatter(x, w, X, start);
+        }
+    }
+
+    static boolean solveRange( DMatrixBatch A, DMatrixBatch B, DMatrixBatch X,
+                               @Nullable boolean[] valid, int i0, int i1 ) {
+        final int n = A.numRows, m = B.numCols;
+        final int chunk = chunkSize(Math.max(n*n, n*m));
+        final double[] a = new double[n*n*chunk];
+        final double[] x = new double[n*m*chunk];
+        final double[] work = new double[chunk];
+        final int[] piv = new int[n*chunk];
+        final boolean[] ok = new boolean[chunk];
+
+        boolean success = true;
+        for (int start = i0; start < i1; start += chunk) {
+            int w = Math.min(chunk, i1 - start);
+            gather(A, start, w, a);
+            gather(B, start, w, x);
+            lu(n, a, piv, work, ok, w);
+            solveLU(n, m, a, piv, x, w);
+            scatter(x, w, X, start);
+            success &= saveValid(ok, w, valid, start);
+        }
+        return success;
+    }
+
+    static boolean invertRange( DMatrixBatch A, DMatrixBatch Ainv, @Nullable boolean[] valid, int i0, int i1 ) {
+        final int n = A.numRows;
+        final int chunk = chunkSize(n*n);
+        final double[] a = new double[n*n*chunk];
+        final double[] x = new double[n*n*chunk];
+        final double[] work = new double[chunk];
+        final int[] piv = new int[n*chunk];
+        final int[] order = new int[n];
+        final boolean[] ok = new boolean[chunk];
+
+        boolean success = true;
+        for (int start = i0; start < i1; start += chunk) {
+            int w = Math.min(chunk, i1 - start);
+            gather(A, start, w, a);
+            if (n == 2) {
+                invert2(a, x, ok, w);
+            } else if (n == 3) {
+                invert3(a, x, ok, w);
+            } else if (n == 4) {
+                invert4(a, x, ok, w);
+            } else {
+                lu(n, a, piv, work, ok, w);
+                setPermutation(n, piv, order, x, w);
+                solveLower(n, n, a, x, w, true);
+                solveUpper(n, n, a, x, w);
+            }
+            scatter(x, w, Ainv, start);
+            success &= saveValid(ok, w, valid, start);
+        }
+        return success;
+    }
+
+    //------------------------------------------------------------------------------------------------------
+    // Kernels which operate on a chunk of w matrices. Element e of matrix 'lane' is at index e*w + lane
+    //------------------------------------------------------------------------------------------------------
+
+    /**
+     * Number of matrices in a chunk when the largest work matrix has the specified number of elements
+     */
+    static int chunkSize( int matrixLength ) {
+        return Math.max(1, Math.min(MAX_CHUNK, CHUNK_ELEMENTS/Math.max(1, matrixLength)));
+    }
+
+    /**
+     * Copies w matrices, starting at 'start', into a chunk
+     */
+    static void gather( DMatrixBatch src, int start, int w, double[] dst ) {
+        final int laneStride = src.getLaneStride();
+        final int elementStride = src.getElementStride();
+        final int length = src.getMatrixLength();
+        final double[] data = src.data;
+
+        for (int e = 0; e < length; e++) {
+            int indexSrc = start*laneStride + e*elementStride;
+            int indexDst = e*w;
+            for (int lane = 0; lane < w; lane++, indexSrc += laneStride) {
+                dst[indexDst + lane] = data[indexSrc];
+            }
+        }
+    }
+
+    /**
+     * Copies a chunk of w matrices into the batch, starting at 'start'
+     */
+    static void scatter( double[] src, int w, DMatrixBatch dst, int start ) {
+        final int laneStride = dst.getLaneStride();
+        final int elementStride = dst.getElementStride();
+        final int length = dst.getMatrixLength();
+        final double[] data = dst.data;
+
+        for (int e = 0; e < length; e++) {
+            int indexDst = start*laneStride + e*elementStride;
+            int indexSrc = e*w;
+            for (int lane = 0; lane < w; lane++, indexDst += laneStride) {
+                data[indexDst] = src[indexSrc + lane];
+            }
+        }
+    }
+
+    /**
+     * c = a*b where a is m by k, b is k by n, and c is m by n
+     */
+    static void mult( int m, int n, int k, double[] a, double[] b, double[] c, int w ) {
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                int indexC = (i*n + j)*w;
+                for (int lane = 0; lane < w; lane++) {
+                    c[indexC + lane] = 0.0;
+                }
+                for (int p = 0; p < k; p++) {
+                    int indexA = (i*k + p)*w;
+                    int indexB = (p*n + j)*w;
+                    for (int lane = 0; lane < w; lane++) {
+                        c[indexC + lane] += a[indexA + lane]*b[indexB + lane];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * In place left-looking Cholesky decomposition. The upper triangle is set to zero.
+     *
+     * @param invDiag Workspace with a length of at least w
+     * @param ok (Output) false if the matrix is not positive definite
+     */
+    static void choleskyLower( int n, double[] a, double[] invDiag, boolean[] ok, int w ) {
+        for (int lane = 0; lane < w; lane++) {
+            ok[lane] = true;
+        }
+
+        for (int j = 0; j < n; j++) {
+            // subtract the contribution of the previous columns from column j
+            for (int k = 0; k < j; k++) {
+                int indexJK = (j*n + k)*w;
+                for (int i = j; i < n; i++) {
+                    int indexIJ = (i*n + j)*w;
+                    int indexIK = (i*n + k)*w;
+                    for (int lane = 0; lane < w; lane++) {
+                        a[indexIJ + lane] -= a[indexIK + lane]*a[indexJK + lane];
+                    }
+                }
+            }
+
+            int indexJJ = (j*n + j)*w;
+            for (int lane = 0; lane < w; lane++) {
+                double d = a[indexJJ + lane];
+                if (!(d > 0.0)) {
+                    ok[lane] = false;
+                    d = 1.0;
+                }
+                d = Math.sqrt(d);
+                a[indexJJ + lane] = d;
+                invDiag[lane] = 1.0/d;
+            }
+
+            for (int i = j + 1; i < n; i++) {
+                int indexIJ = (i*n + j)*w;
+                for (int lane = 0; lane < w; lane++) {
+                    a[indexIJ + lane] *= invDiag[lane];
+                }
+                // zero the upper triangle
+                int indexJI = (j*n + i)*w;
+                for (int lane = 0; lane < w; lane++) {
+                    a[indexJI + lane] = 0.0;
+                }
+            }
+        }
+    }
+
+    /**
+     * In place LU decomposition with partial pivoting
+     *
+     * @param piv (Output) Row swapped with row k is stored at piv[k*w + lane]
+     * @param invDiag Workspace with a length of at least w
+     * @param ok (Output) false if the matrix is singular
+     */
+    static void lu( int n, double[] a, int[] piv, double[] invDiag, boolean[] ok, int w ) {
+        for (int lane = 0; lane < w; lane++) {
+            ok[lane] = true;
+        }
+
+        for (int k = 0; k < n; k++) {
+            // The pivot is specific to each matrix. Search all of them at once and then swap
+            int indexK = (k*n + k)*w;
+            for (int lane = 0; lane < w; lane++) {
+                piv[k*w + lane] = k;
+                invDiag[lane] = Math.abs(a[indexK + lane]);
+            }
+            for (int i = k + 1; i < n; i++) {
+                int indexI = (i*n + k)*w;
+                for (int lane = 0; lane < w; lane++) {
+                    double v = Math.abs(a[indexI + lane]);
+                    if (v > invDiag[lane]) {
+                        invDiag[lane] = v;
+                        piv[k*w + lane] = i;
+                    }
+                }
+            }
+            for (int lane = 0; lane < w; lane++) {
+                int p = piv[k*w + lane];
+                if (p == k)
+                    continue;
+                for (int j = 0; j < n; j++) {
+                    int indexKJ = (k*n + j)*w + lane;
+                    int indexPJ = (p*n + j)*w + lane;
+                    double tmp = a[indexKJ];
+                    a[indexKJ] = a[indexPJ];
+                    a[indexPJ] = tmp;
+                }
+            }
+
+            int indexKK = (k*n + k)*w;
+            for (int lane = 0; lane < w; lane++) {
+                double d = a[indexKK + lane];
+                if (d == 0.0) {
+                    ok[lane] = false;
+                    invDiag[lane] = 0.0;
+                } else {
+                    invDiag[lane] = 1.0/d;
+                }
+            }
+
+            for (int i = k + 1; i < n; i++) {
+                int indexIK = (i*n + k)*w;
+                for (int lane = 0; lane < w; lane++) {
+                    a[indexIK + lane] *= invDiag[lane];
+                }
+                for (int j = k + 1; j < n; j++) {
+                    int indexIJ = (i*n + j)*w;
+                    int indexKJ = (k*n + j)*w;
+                    for (int lane = 0; lane < w; lane++) {
+                        a[indexIJ + lane] -= a[indexIK + lane]*a[indexKJ + lane];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Solves L*X = B in place, where L is n by n and X is n by m
+     *
+     * @param unit If true the diagonal of L is assumed to be one and is not read
+     */
+    static void solveLower( int n, int m, double[] L, double[] x, int w, boolean unit ) {
+        for (int i = 0; i < n; i++) {
+            for (int k = 0; k < i; k++) {
+                int indexL = (i*n + k)*w;
+                for (int c = 0; c < m; c++) {
+                    int indexI = (i*m + c)*w;
+                    int indexK = (k*m + c)*w;
+                    for (int lane = 0; lane < w; lane++) {
+                        x[indexI + lane] -= L[indexL + lane]*x[indexK + lane];
+                    }
+                }
+            }
+            if (unit)
+                continue;
+            int indexL = (i*n + i)*w;
+            for (int c = 0; c < m; c++) {
+                int indexI = (i*m + c)*w;
+                for (int lane = 0; lane < w; lane++) {
+                    x[indexI + lane] /= L[indexL + lane];
+                }
+            }
+        }
+    }
+
+    /**
+     * Solves L<sup>T</sup>*X = B in place, where L is n by n and X is n by m
+     */
+    static void solveLowerTran( int n, int m, double[] L, double[] x, int w ) {
+        for (int i = n - 1; i >= 0; i--) {
+            for (int k = i + 1; k < n; k++) {
+                int indexL = (k*n + i)*w;
+                for (int c = 0; c < m; c++) {
+                    int indexI = (i*m + c)*w;
+                    int indexK = (k*m + c)*w;
+                    for (int lane = 0; lane < w; lane++) {
+                        x[indexI + lane] -= L[indexL + lane]*x[indexK + lane];
+                    }
+                }
+            }
+            int indexL = (i*n + i)*w;
+            for (int c = 0; c < m; c++) {
+                int indexI = (i*m + c)*w;
+                for (int lane = 0; lane < w; lane++) {
+                    x[indexI + lane] /= L[indexL + lane];
+                }
+            }
+        }
+    }
+
+    /**
+     * Solves U*X = B in place, where U is n by n and X is n by m
+     */
+    static void solveUpper( int n, int m, double[] U, double[] x, int w ) {
+        for (int i = n - 1; i >= 0; i--) {
+            for (int k = i + 1; k < n; k++) {
+                int indexU = (i*n + k)*w;
+                for (int c = 0; c < m; c++) {
+                    int indexI = (i*m + c)*w;
+                    int indexK = (k*m + c)*w;
+                    for (int lane = 0; lane < w; lane++) {
+                        x[indexI + lane] -= U[indexU + lane]*x[indexK + lane];
+                    }
+                }
+            }
+            int indexU = (i*n + i)*w;
+            for (int c = 0; c < m; c++) {
+                int indexI = (i*m + c)*w;
+                for (int lane = 0; lane < w; lane++) {
+                    x[indexI + lane] /= U[indexU + lane];
+                }
+            }
+        }
+    }
+
+    /**
+     * Solves A*X = B in place using the output of {@link #lu(int, double[], int[], double[], boolean[], int)}
+     */
+    static void solveLU( int n, int m, double[] lu, int[] piv, double[] x, int w ) {
+        // apply the row swaps to B
+        for (int k = 0; k < n; k++) {
+            for (int lane = 0; lane < w; lane++) {
+                int p = piv[k*w + lane];
+                if (p == k)
+                    continue;
+                for (int c = 0; c < m; c++) {
+                    int indexK = (k*m + c)*w + lane;
+                    int indexP = (p*m + c)*w + lane;
+                    double tmp = x[indexK];
+                    x[indexK] = x[indexP];
+                    x[indexP] = tmp;
+                }
+            }
+        }
+        solveLower(n, m, lu, x, w, true);
+        solveUpper(n, m, lu, x, w);
+    }
+
+    /**
+     * Sets x to the permutation matrix described by the row swaps in piv. Equivalent to applying the row swaps
+     * to an identity matrix, without touching every element.
+     *
+     * @param order Workspace with a length of at least n
+     */
+    static void setPermutation( int n, int[] piv, int[] order, double[] x, int w ) {
+        Arrays.fill(x, 0, n*n*w, 0.0);
+        for (int lane = 0; lane < w; lane++) {
+            for (int i = 0; i < n; i++) {
+                order[i] = i;
+            }
+            for (int k = 0; k < n; k++) {
+                int p = piv[k*w + lane];
+                int tmp = order[k];
+                order[k] = order[p];
+                order[p] = tmp;
+            }
+            for (int i = 0; i < n; i++) {
+                x[(i*n + order[i])*w + lane] = 1.0;
+            }
+        }
+    }
+
+    /**
+     * Inverts 2x2 matrices using the adjugate
+     */
+    static void invert2( double[] a, double[] x, boolean[] ok, int w ) {
+        for (int lane = 0; lane < w; lane++) {
+            double a11 = a[lane], a12 = a[w + lane];
+            double a21 = a[2*w + lane], a22 = a[3*w + lane];
+
+            double det = a11*a22 - a12*a21;
+            ok[lane] = det != 0.0;
+            double invDet = 1.0/det;
+
+            x[lane] = a22*invDet;
+            x[w + lane] = -a12*invDet;
+            x[2*w + lane] = -a21*invDet;
+            x[3*w + lane] = a11*invDet;
+        }
+    }
+
+    /**
+     * Inverts 3x3 matrices using the adjugate
+     */
+    static void invert3( double[] a, double[] x, boolean[] ok, int w ) {
+        for (int lane = 0; lane < w; lane++) {
+            double a11 = a[lane], a12 = a[w + lane], a13 = a[2*w + lane];
+            double a21 = a[3*w + lane], a22 = a[4*w + lane], a23 = a[5*w + lane];
+            double a31 = a[6*w + lane], a32 = a[7*w + lane], a33 = a[8*w + lane];
+
+            double m11 = a22*a33 - a23*a32;
+            double m12 = -(a21*a33 - a23*a31);
+            double m13 = a21*a32 - a22*a31;
+
+            double det = a11*m11 + a12*m12 + a13*m13;
+            ok[lane] = det != 0.0;
+            double invDet = 1.0/det;
+
+            x[lane] = m11*invDet;
+            x[w + lane] = -(a12*a33 - a13*a32)*invDet;
+            x[2*w + lane] = (a12*a23 - a13*a22)*invDet;
+            x[3*w + lane] = m12*invDet;
+            x[4*w + lane] = (a11*a33 - a13*a31)*invDet;
+            x[5*w + lane] = -(a11*a23 - a13*a21)*invDet;
+            x[6*w + lane] = m13*invDet;
+            x[7*w + lane] = -(a11*a32 - a12*a31)*invDet;
+            x[8*w + lane] = (a11*a22 - a12*a21)*invDet;
+        }
+    }
+
+    /**
+     * Inverts 4x4 matrices using the adjugate. Cofactors are computed from the 2x2 determinants of the top
+     * and bottom two rows.
+     */
+    static void invert4( double[] a, double[] x, boolean[] ok, int w ) {
+        for (int lane = 0; lane < w; lane++) {
+            double a11 = a[lane], a12 = a[w + lane], a13 = a[2*w + lane], a14 = a[3*w + lane];
+            double a21 = a[4*w + lane], a22 = a[5*w + lane], a23 = a[6*w + lane], a24 = a[7*w + lane];
+            double a31 = a[8*w + lane], a32 = a[9*w + lane], a33 = a[10*w + lane], a34 = a[11*w + lane];
+            double a41 = a[12*w + lane], a42 = a[13*w + lane], a43 = a[14*w + lane], a44 = a[15*w + lane];
+
+            double s0 = a11*a22 - a21*a12, s1 = a11*a23 - a21*a13, s2 = a11*a24 - a21*a14;
+            double s3 = a12*a23 - a22*a13, s4 = a12*a24 - a22*a14, s5 = a13*a24 - a23*a14;
+            double c0 = a31*a42 - a41*a32, c1 = a31*a43 - a41*a33, c2 = a31*a44 - a41*a34;
+            double c3 = a32*a43 - a42*a33, c4 = a32*a44 - a42*a34, c5 = a33*a44 - a43*a34;
+
+            double det = s0*c5 - s1*c4 + s2*c3 + s3*c2 - s4*c1 + s5*c0;
+            ok[lane] = det != 0.0;
+            double invDet = 1.0/det;
+
+            x[lane] = (a22*c5 - a23*c4 + a24*c3)*invDet;
+            x[w + lane] = (-a12*c5 + a13*c4 - a14*c3)*invDet;
+            x[2*w + lane] = (a42*s5 - a43*s4 + a44*s3)*invDet;
+            x[3*w + lane] = (-a32*s5 + a33*s4 - a34*s3)*invDet;
+            x[4*w + lane] = (-a21*c5 + a23*c2 - a24*c1)*invDet;
+            x[5*w + lane] = (a11*c5 - a13*c2 + a14*c1)*invDet;
+            x[6*w + lane] = (-a41*s5 + a43*s2 - a44*s1)*invDet;
+            x[7*w + lane] = (a31*s5 - a33*s2 + a34*s1)*invDet;
+            x[8*w + lane] = (a21*c4 - a22*c2 + a24*c0)*invDet;
+            x[9*w + lane] = (-a11*c4 + a12*c2 - a14*c0)*invDet;
+            x[10*w + lane] = (a41*s4 - a42*s2 + a44*s0)*invDet;
+            x[11*w + lane] = (-a31*s4 + a32*s2 - a34*s0)*invDet;
+            x[12*w + lane] = (-a21*c3 + a22*c1 - a23*c0)*invDet;
+            x[13*w + lane] = (a11*c3 - a12*c1 + a13*c0)*invDet;
+            x[14*w + lane] = (-a41*s3 + a42*s1 - a43*s0)*invDet;
+            x[15*w + lane] = (a31*s3 - a32*s1 + a33*s0)*invDet;
+        }
+    }
+
+    /**
+     * Copies the status of each matrix in the chunk into 'valid' and returns true if they are all ok
+     */
+    static boolean saveValid( boolean[] ok, int w, @Nullable boolean[] valid, int start ) {
+        boolean all = true;
+        for (int lane = 0; lane < w; lane++) {
+            all &= ok[lane];
+        }
+        if (valid != null)
+            System.arraycopy(ok, 0, valid, start, w);
+        return all;
+    }
+
+    //------------------------------------------------------------------------------------------------------
+    // Argument checks
+    //------------------------------------------------------------------------------------------------------
+
+    static void checkLayout( DMatrixBatch a, DMatrixBatch b ) {
+        if (a.layout != b.layout)
+            throw new IllegalArgumentException("All batches must have the same layout");
+    }
+
+    static void checkSquare( DMatrixBatch A ) {
+        UtilEjml.assertShape(A.numRows, A.numCols, "Matrices must be square");
+    }
+
+    static void checkValid( DMatrixBatch A, @Nullable boolean[] valid ) {
+        if (valid != null && valid.length < A.size)
+            throw new IllegalArgumentException("'valid' must have a length of at least the batch size");
+    }
+
+    static void checkPivots( DMatrixBatch A, int[] pivots ) {
+        if (pivots.length < A.size*A.numRows)
+            throw new IllegalArgumentException("'pivots' must have a length of at least size*N");
+    }
+
+    static void checkInputMult( DMatrixBatch A, DMatrixBatch B, DMatrixBatch C ) {
+        UtilEjml.assertTrue(A != C && B != C, "Neither 'A' or 'B' can be the same batch as 'C'");
+        checkLayout(A, B);
+        checkLayout(A, C);
+        UtilEjml.assertShape(A.size, B.size, "Batches must have the same size");
+        UtilEjml.assertShape(A.numCols, B.numRows, "The 'A' and 'B' matrices do not have compatible dimensions");
+        C.reshape(A.size, A.numRows, B.numCols);
+    }
+
+    static void checkInputSolve( DMatrixBatch A, DMatrixBatch B, DMatrixBatch X ) {
+        checkSquare(A);
+        checkLayout(A, B);
+        checkLayout(A, X);
+        UtilEjml.assertShape(A.size, B.size, "Batches must have the same size");
+        UtilEjml.assertShape(A.numCols, B.numRows, "'A' and 'B' do not have compatible dimensions");
+        if (X != B)
+            X.reshape(B.size, B.numRows, B.numCols);
+    }
+}
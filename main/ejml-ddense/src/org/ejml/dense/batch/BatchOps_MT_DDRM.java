@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2020, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.batch;
+
+import org.ejml.concurrency.EjmlConcurrency;
+import org.ejml.data.DMatrixBatch;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.ejml.dense.batch.BatchOps_DDRM.*;
+
+/**
+ * Concurrent implementation of {@link BatchOps_DDRM}. The batch is split into blocks of matrices which are
+ * processed by different threads. See {@link BatchOps_DDRM} for a description of each function.
+ *
+ * @author Peter Abeles
+ */
+public class BatchOps_MT_DDRM {
+    // Minimum number of floating point operations processed by a thread
+    private static final int MIN_OPERATIONS = 20_000;
+
+    public static void mult( DMatrixBatch A, DMatrixBatch B, DMatrixBatch C ) {
+        checkInputMult(A, B, C);
+        EjmlConcurrency.loopBlocks(0, A.size, minBlock(A.numRows*A.numCols*B.numCols),
+                ( i0, i1 ) -> multRange(A, B, C, i0, i1));
+    }
+
+    public static boolean cholesky( DMatrixBatch A, @Nullable boolean[] valid ) {
+        checkSquare(A);
+        checkValid(A, valid);
+        int N = A.numRows;
+        var success = new AtomicBoolean(true);
+        EjmlConcurrency.loopBlocks(0, A.size, minBlock(N*N*N/3), ( i0, i1 ) -> {
+            if (!choleskyRange(A, valid, i0, i1))
+                success.set(false);
+        });
+        return success.get();
+    }
+
+    public static void solveCholesky( DMatrixBatch L, DMatrixBatch B, DMatrixBatch X ) {
+        checkInputSolve(L, B, X);
+        EjmlConcurrency.loopBlocks(0, L.size, minBlock(2*L.numRows*L.numRows*B.numCols),
+                ( i0, i1 ) -> solveCholeskyRange(L, B, X, i0, i1));
+    }
+
+    public static boolean lu( DMatrixBatch A, int[] pivots, @Nullable boolean[] valid ) {
+        checkSquare(A);
+        checkValid(A, valid);
+        checkPivots(A, pivots);
+        int N = A.numRows;
+        var success = new AtomicBoolean(true);
+        EjmlConcurrency.loopBlocks(0, A.size, minBlock(2*N*N*N/3), ( i0, i1 ) -> {
+            if (!luRange(A, pivots, valid, i0, i1))
+                success.set(false);
+        });
+        return success.get();
+    }
+
+    public static void solveLU( DMatrixBatch LU, int[] pivots, DMatrixBatch B, DMatrixBatch X ) {
+        checkInputSolve(LU, B, X);
+        checkPivots(LU, pivots);
+        EjmlConcurrency.loopBlocks(0, LU.size, minBlock(2*LU.numRows*LU.numRows*B.numCols),
+                ( i0, i1 ) -> solveLURange(LU, pivots, B, X, i0, i1));
+    }
+
+    public static boolean solve( DMatrixBatch A, DMatrixBatch B, DMatrixBatch X, @Nullable boolean[] valid ) {
+        checkInputSolve(A, B, X);
+        checkValid(A, valid);
+        int N = A.numRows;
+        var success = new AtomicBoolean(true);
+        EjmlConcurrency.loopBlocks(0, A.size, minBlock(2*N*N*N/3 + 2*N*N*B.numCols), ( i0, i1 ) -> {
+            if (!solveRange(A, B, X, valid, i0, i1))
+                success.set(false);
+        });
+        return success.get();
+    }
+
+    public static boolean invert( DMatrixBatch A, DMatrixBatch Ainv, @Nullable boolean[] valid ) {
+        checkSquare(A);
+        checkLayout(A, Ainv);
+        checkValid(A, valid);
+        Ainv.reshape(A.size, A.numRows, A.numCols);
+        int N = A.numRows;
+        var success = new AtomicBoolean(true);
+        EjmlConcurrency.loopBlocks(0, A.size, minBlock(2*N*N*N), ( i0, i1 ) -> {
+            if (!invertRange(A, Ainv, valid, i0, i1))
+                success.set(false);
+        });
+        return success.get();
+    }
+
+    /**
+     * Minimum number of matrices processed by a thread
+     */
+    private static int minBlock( int operationsPerMatrix ) {
+        return Math.max(1, MIN_OPERATIONS/Math.max(1, operationsPerMatrix));
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.block.decomposition.chol;
+
+import org.ejml.concurrency.TaskGraph;
+import org.ejml.data.DMatrixRBlock;
+import org.ejml.dense.block.InnerMultiplication_DDRB;
+import org.ejml.dense.block.InnerTriangularSolver_DDRB;
+import org.ejml.dense.block.MatrixOps_DDRB;
+
+/**
+ * <p>
+ * Concurrent block Cholesky where each operation on an inner block is a task in a {@link TaskGraph}. The tasks
+ * for the lower triangular decomposition of step k are:
+ * </p>
+ * <pre>
+ * A(k,k) = chol( A(k,k) )
+ * A(i,k) = A(i,k)*L(k,k)<sup>-T</sup>          for i &gt; k
+ * A(i,j) = A(i,j) - A(i,k)*A(j,k)<sup>T</sup>  for i &ge; j &gt; k
+ * </pre>
+ * <p>
+ * Each task starts as soon as the blocks it depends on are ready. Unlike {@link CholeskyOuterForm_MT_DDRB},
+ * which waits for every thread to finish after each step, the factorization of the next diagonal block can
+ * start while the rest of the matrix is still being updated by the previous step. Tasks which operate on
+ * blocks to the left are given priority.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class CholeskyOuterFormDag_MT_DDRB extends CholeskyOuterForm_DDRB {
+    private final TaskGraph graph = new TaskGraph();
+
+    // set to true if a diagonal block is not positive definite
+    private volatile boolean failed;
+
+    public CholeskyOuterFormDag_MT_DDRB( boolean lower ) {
+        super(lower);
+    }
+
+    @Override
+    public boolean decompose( DMatrixRBlock A ) {
+        if (A.numCols != A.numRows)
+            throw new IllegalArgumentException("A must be square");
+
+        this.T = A;
+        this.failed = false;
+
+        int N = (A.numRows + A.blockLength - 1)/A.blockLength;
+        for (int k = 0; k < N; k++) {
+            if (lower)
+                addStepLower(k, N);
+            else
+                addStepUpper(k, N);
+        }
+        graph.execute();
+
+        if (failed)
+            return false;
+
+        MatrixOps_DDRB.zeroTriangle(lower, T);
+
+        return true;
+    }
+
+    private void addStepLower( int k, int N ) {
+        graph.add(() -> {
+            if (!InnerCholesky_DDRB.lower(T.data, index(k, k), width(k)))
+                failed = true;
+        }).write(k*N + k).priority(N - k);
+
+        // L(i,k) = A(i,k)*L(k,k)^-T
+        for (int i = k + 1; i < N; i++) {
+            int _i = i;
+            graph.add(() -> {
+                if (failed)
+                    return;
+                int w = width(k);
+                InnerTriangularSolver_DDRB.solveLTransB(T.data, T.data, w, width(_i), w, index(k, k), index(_i, k));
+            }).read(k*N + k).write(i*N + k).priority(N - k);
+        }
+
+        // A(i,j) = A(i,j) - L(i,k)*L(j,k)^T
+        for (int j = k + 1; j < N; j++) {
+            for (int i = j; i < N; i++) {
+                int _i = i, _j = j;
+                graph.add(() -> {
+                    if (failed)
+                        return;
+                    InnerMultiplication_DDRB.blockMultMinusTransB(T.data, T.data, T.data,
+                            index(_i, k), index(_j, k), index(_i, _j), width(_i), width(k), width(_j));
+                }).read(i*N + k).read(j*N + k).write(i*N + j).priority(N - j);
+            }
+        }
+    }
+
+    private void addStepUpper( int k, int N ) {
+        graph.add(() -> {
+            if (!InnerCholesky_DDRB.upper(T.data, index(k, k), width(k)))
+                failed = true;
+        }).write(k*N + k).priority(N - k);
+
+        // U(k,j) = U(k,k)^-T*A(k,j)
+        for (int j = k + 1; j < N; j++) {
+            int _j = j;
+            graph.add(() -> {
+                if (failed)
+                    return;
+                int w = width(k);
+                InnerTriangularSolver_DDRB.solveTransU(T.data, T.data, w, width(_j), w, index(k, k), index(k, _j));
+            }).read(k*N + k).write(k*N + j).priority(N - k);
+        }
+
+        // A(i,j) = A(i,j) - U(k,i)^T*U(k,j)
+        for (int i = k + 1; i < N; i++) {
+            for (int j = i; j < N; j++) {
+                int _i = i, _j = j;
+                graph.add(() -> {
+                    if (failed)
+                        return;
+                    InnerMultiplication_DDRB.blockMultMinusTransA(T.data, T.data, T.data,
+                            index(k, _i), index(k, _j), index(_i, _j), width(k), width(_i), width(_j));
+                }).read(k*N + i).read(k*N + j).write(i*N + j).priority(N - i);
+            }
+        }
+    }
+
+    /**
+     * Index of the first element in the inner block at block row i and block column j
+     */
+    private int index( int i, int j ) {
+        int row0 = i*T.blockLength;
+        return row0*T.numCols + j*T.blockLength*width(i);
+    }
+
+    /**
+     * Number of rows or columns in block i, since the matrix is square
+     */
+    private int width( int i ) {
+        return Math.min(T.blockLength, T.numCols - i*T.blockLength);
+    }
+}
@@ -49,9 +49,9 @@ import org.jetbrains.annotations.Nullable;
 public class CholeskyOuterForm_DDRB implements CholeskyDecomposition_F64<DMatrixRBlock> {
 
     // if it should compute an upper or lower triangular matrix
-    private final boolean lower;
+    protected final boolean lower;
     // The decomposed matrix.
-    private DMatrixRBlock T;
+    protected DMatrixRBlock T;
 
     // predeclare local work space
     private final DSubmatrixD1 subA = new DSubmatrixD1();
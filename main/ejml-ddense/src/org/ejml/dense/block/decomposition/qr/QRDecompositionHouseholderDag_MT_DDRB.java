@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.block.decomposition.qr;
+
+import org.ejml.concurrency.TaskGraph;
+import org.ejml.data.DMatrixRBlock;
+import org.ejml.data.DSubmatrixD1;
+import org.ejml.dense.block.MatrixMult_DDRB;
+
+/**
+ * <p>
+ * Concurrent version of {@link QRDecompositionHouseholder_DDRB} where the work is broken up into tasks in a
+ * {@link TaskGraph}. For each block column k there is a task which computes its reflectors and W, and one
+ * task for each block column j to its right which applies the reflectors to it:
+ * </p>
+ * <pre>
+ * A(:,j) = A(:,j) + Y(:,k)*(W(:,k)<sup>T</sup>*A(:,j))
+ * </pre>
+ * <p>
+ * A block column can be decomposed as soon as the previous reflectors have been applied to it, so the
+ * decomposition of the next block column overlaps with the update of the rest of the matrix. Since
+ * reflectors from multiple block columns are in use at the same time, W is always saved.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class QRDecompositionHouseholderDag_MT_DDRB extends QRDecompositionHouseholder_DDRB {
+    private final TaskGraph graph = new TaskGraph();
+
+    // set to true if a block column could not be decomposed
+    private volatile boolean failed;
+
+    public QRDecompositionHouseholderDag_MT_DDRB() {
+        this.saveW = true;
+    }
+
+    /**
+     * W must be saved by this implementation
+     *
+     * @param saveW Must be true
+     */
+    @Override
+    public void setSaveW( boolean saveW ) {
+        if (!saveW)
+            throw new IllegalArgumentException("W is always saved by this implementation");
+    }
+
+    @Override
+    public boolean decompose( DMatrixRBlock orig ) {
+        setup(orig);
+        this.failed = false;
+
+        int minLength = Math.min(orig.numCols, orig.numRows);
+        int numBlocks = (orig.numCols + blockLength - 1)/blockLength;
+
+        for (int k = 0; k*blockLength < minLength; k++) {
+            int col0 = k*blockLength;
+            int col1 = Math.min(orig.numCols, col0 + blockLength);
+
+            graph.add(() -> decomposeBlockColumn(col0, col1)).write(k).priority(numBlocks - k);
+
+            for (int j = k + 1; j < numBlocks; j++) {
+                int colA0 = j*blockLength;
+                int colA1 = Math.min(orig.numCols, colA0 + blockLength);
+                graph.add(() -> applyReflectors(col0, col1, colA0, colA1)).read(k).write(j).priority(numBlocks - j);
+            }
+        }
+        graph.execute();
+
+        return !failed;
+    }
+
+    /**
+     * Computes the reflectors and W for the block column which starts at col0
+     */
+    private void decomposeBlockColumn( int col0, int col1 ) {
+        if (failed)
+            return;
+
+        var Y = new DSubmatrixD1(dataA, col0, dataA.numRows, col0, col1);
+        if (!BlockHouseHolder_DDRB.decomposeQR_block_col(blockLength, Y, gammas)) {
+            failed = true;
+            return;
+        }
+
+        var W = new DSubmatrixD1(dataW, col0, dataA.numRows, col0, col1);
+        BlockHouseHolder_DDRB.computeW_Column(blockLength, Y, W, workspace, gammas, col0);
+    }
+
+    /**
+     * Applies the reflectors from the block column starting at col0 to the block column starting at colA0
+     */
+    private void applyReflectors( int col0, int col1, int colA0, int colA1 ) {
+        if (failed)
+            return;
+
+        int numRows = dataA.numRows;
+        var Y = new DSubmatrixD1(dataA, col0, numRows, col0, col1);
+        var W = new DSubmatrixD1(dataW, col0, numRows, col0, col1);
+        var A = new DSubmatrixD1(dataA, col0, numRows, colA0, colA1);
+        var WTA = new DSubmatrixD1(new DMatrixRBlock(col1 - col0, colA1 - colA0, blockLength));
+
+        MatrixMult_DDRB.multTransA(blockLength, W, A, WTA);
+        BlockHouseHolder_DDRB.multAdd_zeros(blockLength, Y, WTA, A);
+    }
+}
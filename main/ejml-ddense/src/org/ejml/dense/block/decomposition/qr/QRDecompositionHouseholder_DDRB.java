@@ -71,27 +71,27 @@ public class QRDecompositionHouseholder_DDRB
     // the input matrix which is overwritten with the decomposition.
     // Reflectors are stored in the lower triangular portion. The R matrix is stored
     // in the upper triangle portion
-    private DMatrixRBlock dataA;
+    protected DMatrixRBlock dataA;
 
     // where the computed W matrix is stored
-    private final DMatrixRBlock dataW = new DMatrixRBlock(1, 1);
+    protected final DMatrixRBlock dataW = new DMatrixRBlock(1, 1);
     // Matrix used to store an intermediate calculation
     private final DMatrixRBlock dataWTA = new DMatrixRBlock(1, 1);
 
     // size of the inner matrix block.
-    private int blockLength;
+    protected int blockLength;
 
     // The submatrices which are being manipulated in each iteration
     private final DSubmatrixD1 A = new DSubmatrixD1();
     private final DSubmatrixD1 Y = new DSubmatrixD1();
     private final DSubmatrixD1 W = new DSubmatrixD1(dataW);
     private final DSubmatrixD1 WTA = new DSubmatrixD1(dataWTA);
-    private final GrowArray<DGrowArray> workspace = new GrowArray<>(DGrowArray::new);
+    protected final GrowArray<DGrowArray> workspace = new GrowArray<>(DGrowArray::new);
     // stores the computed gammas
-    private double[] gammas = new double[1];
+    protected double[] gammas = new double[1];
 
     // save the W matrix the first time it is computed in the decomposition
-    private boolean saveW = false;
+    protected boolean saveW = false;
 
     /**
      * This is the input matrix after it has been overwritten with the decomposition.
@@ -330,7 +330,7 @@ public class QRDecompositionHouseholder_DDRB
      * Adjust submatrices and helper data structures for the input matrix. Must be called
      * before the decomposition can be computed.
      */
-    private void setup( DMatrixRBlock orig ) {
+    protected void setup( DMatrixRBlock orig ) {
         blockLength = orig.blockLength;
         dataW.blockLength = blockLength;
         dataWTA.blockLength = blockLength;
@@ -0,0 +1,1369 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.dense.fixed;
+
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrix11;
+import org.ejml.data.DMatrix11x11;
+
+import javax.annotation.Generated;
+
+/**
+ * <p>Common matrix operations for fixed sized matrices which are 11 x 11 or 11 element vectors.</p>
+ *
+ * <p>DO NOT MODIFY. Automatically generated code created by GenerateCommonOps_DDF</p>
+ *
+ * @author Peter Abeles
+ */
+@Generated("org.ejml.dense.fixed.GenerateCommonOps_DDF")
+public class CommonOps_DDF11 {
+    /**
+     * <p>Performs the following operation:<br>
+     * <br>
+     * c = a + b <br>
+     * c<sub>ij</sub> = a<sub>ij</sub> + b<sub>ij</sub> <br>
+     * </p>
+     *
+     * <p>
+     * Matrix C can be the same instance as Matrix A and/or B.
+     * </p>
+     *
+     * @param a A Matrix. Not modified.
+     * @param b A Matrix. Not modified.
+     * @param c A Matrix where the results are stored. Modified.
+     */
+    public static void add( DMatrix11x11 a , DMatrix11x11 b , DMatrix11x11 c ) {
+        for (int i = 0; i < 121; i++) {
+            c.data[i] = a.data[i] + b.data[i];
+        }
+    }
+
+    /**
+     * <p>Performs the following operation:<br>
+     * <br>
+     * c = a + b <br>
+     * c<sub>i</sub> = a<sub>i</sub> + b<sub>i</sub> <br>
+     * </p>
+     *
+     * <p>
+     * Vector C can be the same instance as Vector A and/or B.
+     * </p>
+     *
+     * @param a A Vector. Not modified.
+     * @param b A Vector. Not modified.
+     * @param c A Vector where the results are stored. Modified.
+     */
+    public static void add( DMatrix11 a , DMatrix11 b , DMatrix11 c ) {
+        for (int i = 0; i < 11; i++) {
+            c.data[i] = a.data[i] + b.data[i];
+        }
+    }
+
+    /**
+     * <p>Performs the following operation:<br>
+     * <br>
+     * a = a + b <br>
+     * a<sub>ij</sub> = a<sub>ij</sub> + b<sub>ij</sub> <br>
+     * </p>
+     *
+     * @param a A Matrix. Modified.
+     * @param b A Matrix. Not modified.
+     */
+    public static void addEquals( DMatrix11x11 a , DMatrix11x11 b ) {
+        for (int i = 0; i < 121; i++) {
+            a.data[i] += b.data[i];
+        }
+    }
+
+    /**
+     * <p>Performs the following operation:<br>
+     * <br>
+     * a = a + b <br>
+     * a<sub>i</sub> = a<sub>i</sub> + b<sub>i</sub> <br>
+     * </p>
+     *
+     * @param a A Vector. Modified.
+     * @param b A Vector. Not modified.
+     */
+    public static void addEquals( DMatrix11 a , DMatrix11 b ) {
+        for (int i = 0; i < 11; i++) {
+            a.data[i] += b.data[i];
+        }
+    }
+
+    /**
+     * <p>Performs the following operation:<br>
+     * <br>
+     * c = a - b <br>
+     * c<sub>ij</sub> = a<sub>ij</sub> - b<sub>ij</sub> <br>
+     * </p>
+     *
+     * <p>
+     * Matrix C can be the same instance as Matrix A and/or B.
+     * </p>
+     *
+     * @param a A Matrix. Not modified.
+     * @param b A Matrix. Not modified.
+     * @param c A Matrix where the results are stored. Modified.
+     */
+    public static void subtract( DMatrix11x11 a , DMatrix11x11 b , DMatrix11x11 c ) {
+        for (int i = 0; i < 121; i++) {
+            c.data[i] = a.data[i] - b.data[i];
+        }
+    }
+
+    /**
+     * <p>Performs the following operation:<br>
+     * <br>
+     * c = a - b <br>
+     * c<sub>i</sub> = a<sub>i</sub> - b<sub>i</sub> <br>
+     * </p>
+     *
+     * <p>
+     * Vector C can be the same instance as Vector A and/or B.
+     * </p>
+     *
+     * @param a A Vector. Not modified.
+     * @param b A Vector. Not modified.
+     * @param c A Vector where the results are stored. Modified.
+     */
+    public static void subtract( DMatrix11 a , DMatrix11 b , DMatrix11 c ) {
+        for (int i = 0; i < 11; i++) {
+            c.data[i] = a.data[i] - b.data[i];
+        }
+    }
+
+    /**
+     * <p>Performs the following operation:<br>
+     * <br>
+     * a = a - b <br>
+     * a<sub>ij</sub> = a<sub>ij</sub> - b<sub>ij</sub> <br>
+     * </p>
+     *
+     * @param a A Matrix. Modified.
+     * @param b A Matrix. Not modified.
+     */
+    public static void subtractEquals( DMatrix11x11 a , DMatrix11x11 b ) {
+        for (int i = 0; i < 121; i++) {
+            a.data[i] -= b.data[i];
+        }
+    }
+
+    /**
+     * <p>Performs the following operation:<br>
+     * <br>
+     * a = a - b <br>
+     * a<sub>i</sub> = a<sub>i</sub> - b<sub>i</sub> <br>
+     * </p>
+     *
+     * @param a A Vector. Modified.
+     * @param b A Vector. Not modified.
+     */
+    public static void subtractEquals( DMatrix11 a , DMatrix11 b ) {
+        for (int i = 0; i < 11; i++) {
+            a.data[i] -= b.data[i];
+        }
+    }
+
+    /**
+     * Performs an in-place transpose. This algorithm is only efficient for square
+     * matrices.
+     *
+     * @param m The matrix that is to be transposed. Modified.
+     */
+    public static void transpose( DMatrix11x11 m ) {
+        double tmp;
+        for (int i = 0; i < 11; i++) {
+            for (int j = i + 1; j < 11; j++) {
+                int ij = i*11 + j, ji = j*11 + i;
+                tmp = m.data[ij]; m.data[ij] = m.data[ji]; m.data[ji] = tmp;
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Transposes matrix 'a' and stores the results in 'b':<br>
+     * <br>
+     * b<sub>ij</sub> = a<sub>ji</sub><br>
+     * where 'b' is the transpose of 'a'.
+     * </p>
+     *
+     * @param input The original matrix. Not modified.
+     * @param output Where the transpose is stored. If null a new matrix is created. Modified.
+     * @return The transposed matrix.
+     */
+    public static DMatrix11x11 transpose( DMatrix11x11 input , DMatrix11x11 output ) {
+        if( input == null )
+            input = new DMatrix11x11();
+
+        UtilEjml.checkSameInstance(input,output);
+        for (int i = 0; i < 11; i++) {
+            for (int j = 0; j < 11; j++) {
+                output.data[j*11 + i] = input.data[i*11 + j];
+            }
+        }
+
+        return output;
+    }
+
+    /**
+     * <p>Performs the following operation:<br>
+     * <br>
+     * c = a * b <br>
+     * <br>
+     * c<sub>ij</sub> = &sum;<sub>k=1:n</sub> { a<sub>ik</sub> * b<sub>kj</sub>}
+     * </p>
+     *
+     * @param a The left matrix in the multiplication operation. Not modified.
+     * @param b The right matrix in the multiplication operation. Not modified.
+     * @param c (Output) Where the results of the operation are stored. Modified.
+     */
+    public static void mult( DMatrix11x11 a , DMatrix11x11 b , DMatrix11x11 c) {
+        UtilEjml.checkSameInstance(a,c);
+        UtilEjml.checkSameInstance(b,c);
+        for (int i = 0; i < 11; i++) {
+            int indexA = i*11;
+            double a1 = a.data[indexA], a2 = a.data[indexA + 1], a3 = a.data[indexA + 2], a4 = a.data[indexA + 3],
+                   a5 = a.data[indexA + 4], a6 = a.data[indexA + 5], a7 = a.data[indexA + 6], a8 = a.data[indexA + 7],
+                   a9 = a.data[indexA + 8], a10 = a.data[indexA + 9], a11 = a.data[indexA + 10];
+            for (int j = 0; j < 11; j++) {
+                c.data[i*11 + j] = a1*b.data[j] + a2*b.data[11 + j] + a3*b.data[22 + j] + a4*b.data[33 + j] +
+                        a5*b.data[44 + j] + a6*b.data[55 + j] + a7*b.data[66 + j] + a8*b.data[77 + j] +
+                        a9*b.data[88 + j] + a10*b.data[99 + j] + a11*b.data[110 + j];
+            }
+        }
+    }
+
+    /**
+     * <p>Performs the following operation:<br>
+     * <br>
+     * c = &alpha; * a * b <br>
+     * <br>
+     * c<sub>ij</sub> = &alpha; &sum;<sub>k=1:n</sub> { a<sub>ik</sub> * b<sub>kj</sub>}
+     * </p>
+     *
+     * @param alpha Scaling factor.
+     * @param a (Input) The left matrix in the multiplication operation. Not modified.
+     * @param b (Input) The right matrix in the multiplication operation. Not modified.
+     * @param c (Output) Where the results of the operation are stored. Modified.
+     */
+    public static void mult( double alpha , DMatrix11x11 a , DMatrix11x11 b , DMatrix11x11 c) {
+        UtilEjml.checkSameInstance(a,c);
+        UtilEjml.checkSameInstance(b,c);
+        for (int i = 0; i < 11; i++) {
+            int indexA = i*11;
+            double a1 = a.data[indexA], a2 = a.data[indexA + 1], a3 = a.data[indexA + 2], a4 = a.data[indexA + 3],
+                   a5 = a.data[indexA + 4], a6 = a.data[indexA + 5], a7 = a.data[indexA + 6], a8 = a.data[indexA + 7],
+                   a9 = a.data[indexA + 8], a10 = a.data[indexA + 9], a11 = a.data[indexA + 10];
+            for (int j = 0; j < 11; j++) {
+                c.data[i*11 + j] = alpha*(a1*b.data[j] + a2*b.data[11 + j] + a3*b.data[22 + j] + a4*b.data[33 + j] +
+                        a5*b.data[44 + j] + a6*b.data[55 + j] + a7*b.data[66 + j] + a8*b.data[77 + j] +
+                        a9*b.data[88 + j] + a10*b.data[99 + j] + a11*b.data[110 + j]);
+            }
+        }
+    }
+
+    /**
+     * <p>Performs the following operation:<br>
+     * <br>
+     * c = a<sup>T</sup> * b <br>
+     * <br>
+     * c<sub>ij</sub> = &sum;<sub>k=1:n</sub> { a<sub>ki</sub> * b<sub>kj</sub>}
+     * </p>
+     *
+     * @param a (Input) The left matrix in the multiplication operation. Not modified.
+     * @param b (Input) The right matrix in the multiplication operation. Not modified.
+     * @param c (Output) Where the results of the operation are stored. Modified.
+     */
+    public static void multTransA( DMatrix11x11 a , DMatrix11x11 b , DMatrix11x11 c) {
+        UtilEjml.checkSameInstance(a,c);
+        UtilEjml.checkSameInstance(b,c);
+        for (int i = 0; i < 11; i++) {
+            double a1 = a.data[i], a2 = a.data[i + 11], a3 = a.data[i + 22], a4 = a.data[i + 33],
+                   a5 = a.data[i + 44], a6 = a.data[i + 55], a7 = a.data[i + 66], a8 = a.data[i + 77],
+                   a9 = a.data[i + 88], a10 = a.data[i + 99], a11 = a.data[i + 110];
+            for (int j = 0; j < 11; j++) {
+                c.data[i*11 + j] = a1*b.data[j] + a2*b.data[11 + j] + a3*b.data[22 + j] + a4*b.data[33 + j] +
+                        a5*b.data[44 + j] + a6*b.data[55 + j] + a7*b.data[66 + j] + a8*b.data[77 + j] +
+                        a9*b.data[88 + j] + a10*b.data[99 + j] + a11*b.data[110 + j];
+            }
+        }
+    }
+
+    /**
+     * <p>Performs the following operation:<br>
+     * <br>
+     * c = &alpha; * a<sup>T</sup> * b <br>
+     * <br>
+     * c<sub>ij</sub> = &alpha; * &sum;<sub>k=1:n</sub> { a<sub>ki</sub> * b<sub>kj</sub>}
+     * </p>
+     *
+     * @param alpha Scaling factor.
+     * @param a (Input) The left matrix in the multiplication operation. Not modified.
+     * @param b (Input) The right matrix in the multiplication operation. Not modified.
+     * @param c (Output) Where the results of the operation are stored. Modified.
+     */
+    public static void multTransA( double alpha , DMatrix11x11 a , DMatrix11x11 b , DMatrix11x11 c) {
+        UtilEjml.checkSameInstance(a,c);
+        UtilEjml.checkSameInstance(b,c);
+        for (int i = 0; i < 11; i++) {
+            double a1 = a.data[i], a2 = a.data[i + 11], a3 = a.data[i + 22], a4 = a.data[i + 33],
+                   a5 = a.data[i + 44], a6 = a.data[i + 55], a7 = a.data[i + 66], a8 = a.data[i + 77],
+                   a9 = a.data[i + 88], a10 = a.data[i + 99], a11 = a.data[i + 110];
+            for (int j = 0; j < 11; j++) {
+                c.data[i*11 + j] = alpha*(a1*b.data[j] + a2*b.data[11 + j] + a3*b.data[22 + j] + a4*b.data[33 + j] +
+                        a5*b.data[44 + j] + a6*b.data[55 + j] + a7*b.data[66 + j] + a8*b.data[77 + j] +
+                        a9*b.data[88 + j] + a10*b.data[99 + j] + a11*b.data[110 + j]);
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Performs the following operation:<br>
+     * <br>
+     * c = a<sup>T</sup> * b<sup>T</sup><br>
+     * c<sub>ij</sub> = &sum;<sub>k=1:n</sub> { a<sub>ki</sub> * b<sub>jk</sub>}
+     * </p>
+     *
+     * @param a (Input) The left matrix in the multiplication operation. Not modified.
+     * @param b (Input) The right matrix in the multiplication operation. Not modified.
+     * @param c (Output) Where the results of the operation are stored. Modified.
+     */
+    public static void multTransAB( DMatrix11x11 a , DMatrix11x11 b , DMatrix11x11 c) {
+        UtilEjml.checkSameInstance(a,c);
+        UtilEjml.checkSameInstance(b,c);
+        for (int i = 0; i < 11; i++) {
+            double a1 = a.data[i], a2 = a.data[i + 11], a3 = a.data[i + 22], a4 = a.data[i + 33],
+                   a5 = a.data[i + 44], a6 = a.data[i + 55], a7 = a.data[i + 66], a8 = a.data[i + 77],
+                   a9 = a.data[i + 88], a10 = a.data[i + 99], a11 = a.data[i + 110];
+            for (int j = 0; j < 11; j++) {
+                int indexB = j*11;
+                c.data[i*11 + j] = a1*b.data[indexB] + a2*b.data[indexB + 1] + a3*b.data[indexB + 2] + a4*b.data[indexB + 3] +
+                        a5*b.data[indexB + 4] + a6*b.data[indexB + 5] + a7*b.data[indexB + 6] + a8*b.data[indexB + 7] +
+                        a9*b.data[indexB + 8] + a10*b.data[indexB + 9] + a11*b.data[indexB + 10];
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Performs the following operation:<br>
+     * <br>
+     * c = &alpha;*a<sup>T</sup> * b<sup>T</sup><br>
+     * c<sub>ij</sub> = &alpha;*&sum;<sub>k=1:n</sub> { a<sub>ki</sub> * b<sub>jk</sub>}
+     * </p>
+     *
+     * @param alpha Scaling factor.
+     * @param a (Input) The left matrix in the multiplication operation. Not modified.
+     * @param b (Input) The right matrix in the multiplication operation. Not modified.
+     * @param c (Output) Where the results of the operation are stored. Modified.
+     */
+    public static void multTransAB( double alpha , DMatrix11x11 a , DMatrix11x11 b , DMatrix11x11 c) {
+        UtilEjml.checkSameInstance(a,c);
+        UtilEjml.checkSameInstance(b,c);
+        for (int i = 0; i < 11; i++) {
+            double a1 = a.data[i], a2 = a.data[i + 11], a3 = a.data[i + 22], a4 = a.data[i + 33],
+                   a5 = a.data[i + 44], a6 = a.data[i + 55], a7 = a.data[i + 66], a8 = a.data[i + 77],
+                   a9 = a.data[i + 88], a10 = a.data[i + 99], a11 = a.data[i + 110];
+            for (int j = 0; j < 11; j++) {
+                int indexB = j*11;
+                c.data[i*11 + j] = alpha*(a1*b.data[indexB] + a2*b.data[indexB + 1] + a3*b.data[indexB + 2] + a4*b.data[indexB + 3] +
+                        a5*b.data[indexB + 4] + a6*b.data[indexB + 5] + a7*b.data[indexB + 6] + a8*b.data[indexB + 7] +
+                        a9*b.data[indexB + 8] + a10*b.data[indexB + 9] + a11*b.data[indexB + 10]);
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Performs the following operation:<br>
+     * <br>
+     * c = a * b<sup>T</sup> <br>
+     * c<sub>ij</sub> = &sum;<sub>k=1:n</sub> { a<sub>ik</sub> * b<sub>jk</sub>}
+     * </p>
+     *
+     * @param a (Input) The left matrix in the multiplication operation. Not modified.
+     * @param b (Input) The right matrix in the multiplication operation. Not modified.
+     * @param c (Output) Where the results of the operation are stored. Modified.
+     */
+    public static void multTransB( DMatrix11x11 a , DMatrix11x11 b , DMatrix11x11 c) {
+        UtilEjml.checkSameInstance(a,c);
+        UtilEjml.checkSameInstance(b,c);
+        for (int i = 0; i < 11; i++) {
+            int indexA = i*11;
+            double a1 = a.data[indexA], a2 = a.data[indexA + 1], a3 = a.data[indexA + 2], a4 = a.data[indexA + 3],
+                   a5 = a.data[indexA + 4], a6 = a.data[indexA + 5], a7 = a.data[indexA + 6], a8 = a.data[indexA + 7],
+                   a9 = a.data[indexA + 8], a10 = a.data[indexA + 9], a11 = a.data[indexA + 10];
+            for (int j = 0; j < 11; j++) {
+                int indexB = j*11;
+                c.data[i*11 + j] = a1*b.data[indexB] + a2*b.data[indexB + 1] + a3*b.data[indexB + 2] + a4*b.data[indexB + 3] +
+                        a5*b.data[indexB + 4] + a6*b.data[indexB + 5] + a7*b.data[indexB + 6] + a8*b.data[indexB + 7] +
+                        a9*b.data[indexB + 8] + a10*b.data[indexB + 9] + a11*b.data[indexB + 10];
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Performs the following operation:<br>
+     * <br>
+     * c = &alpha; * a * b<sup>T</sup> <br>
+     * c<sub>ij</sub> = &alpha;*&sum;<sub>k=1:n</sub> { a<sub>ik</sub> * b<sub>jk</sub>}
+     * </p>
+     *
+     * @param alpha Scaling factor.
+     * @param a (Input) The left matrix in the multiplication operation. Not modified.
+     * @param b (Input) The right matrix in the multiplication operation. Not modified.
+     * @param c (Output) Where the results of the operation are stored. Modified.
+     */
+    public static void multTransB( double alpha , DMatrix11x11 a , DMatrix11x11 b , DMatrix11x11 c) {
+        UtilEjml.checkSameInstance(a,c);
+        UtilEjml.checkSameInstance(b,c);
+        for (int i = 0; i < 11; i++) {
+            int indexA = i*11;
+            double a1 = a.data[indexA], a2 = a.data[indexA + 1], a3 = a.data[indexA + 2], a4 = a.data[indexA + 3],
+                   a5 = a.data[indexA + 4], a6 = a.data[indexA + 5], a7 = a.data[indexA + 6], a8 = a.data[indexA + 7],
+                   a9 = a.data[indexA + 8], a10 = a.data[indexA + 9], a11 = a.data[indexA + 10];
+            for (int j = 0; j < 11; j++) {
+                int indexB = j*11;
+                c.data[i*11 + j] = alpha*(a1*b.data[indexB] + a2*b.data[indexB + 1] + a3*b.data[indexB + 2] + a4*b.data[indexB + 3] +
+                        a5*b.data[indexB + 4] + a6*b.data[indexB + 5] + a7*b.data[indexB + 6] + a8*b.data[indexB + 7] +
+                        a9*b.data[indexB + 8] + a10*b.data[indexB + 9] + a11*b.data[indexB + 10]);
+            }
+        }
+    }
+
+    /**
+     * <p>Performs the following operation:<br>
+     * <br>
+     * c += a * b <br>
+     * <br>
+     * c<sub>ij</sub> += &sum;<sub>k=1:n</sub> { a<sub>ik</sub> * b<sub>kj</sub>}
+     * </p>
+     *
+     * @param a The left matrix in the multiplication operation. Not modified.
+     * @param b The right matrix in the multiplication operation. Not modified.
+     * @param c (Output) Where the results of the operation are stored. Modified.
+     */
+    public static void multAdd( DMatrix11x11 a , DMatrix11x11 b , DMatrix11x11 c) {
+        UtilEjml.checkSameInstance(a,c);
+        UtilEjml.checkSameInstance(b,c);
+        for (int i = 0; i < 11; i++) {
+            int indexA = i*11;
+            double a1 = a.data[indexA], a2 = a.data[indexA + 1], a3 = a.data[indexA + 2], a4 = a.data[indexA + 3],
+                   a5 = a.data[indexA + 4], a6 = a.data[indexA + 5], a7 = a.data[indexA + 6], a8 = a.data[indexA + 7],
+                   a9 = a.data[indexA + 8], a10 = a.data[indexA + 9], a11 = a.data[indexA + 10];
+            for (int j = 0; j < 11; j++) {
+                c.data[i*11 + j] += a1*b.data[j] + a2*b.data[11 + j] + a3*b.data[22 + j] + a4*b.data[33 + j] +
+                        a5*b.data[44 + j] + a6*b.data[55 + j] + a7*b.data[66 + j] + a8*b.data[77 + j] +
+                        a9*b.data[88 + j] + a10*b.data[99 + j] + a11*b.data[110 + j];
+            }
+        }
+    }
+
+    /**
+     * <p>Performs the following operation:<br>
+     * <br>
+     * c += &alpha; * a * b <br>
+     * <br>
+     * c<sub>ij</sub> += &alpha; &sum;<sub>k=1:n</sub> { a<sub>ik</sub> * b<sub>kj</sub>}
+     * </p>
+     *
+     * @param alpha Scaling factor.
+     * @param a (Input) The left matrix in the multiplication operation. Not modified.
+     * @param b (Input) The right matrix in the multiplication operation. Not modified.
+     * @param c (Output) Where the results of the operation are stored. Modified.
+     */
+    public static void multAdd( double alpha , DMatrix11x11 a , DMatrix11x11 b , DMatrix11x11 c) {
+        UtilEjml.checkSameInstance(a,c);
+        UtilEjml.checkSameInstance(b,c);
+        for (int i = 0; i < 11; i++) {
+            int indexA = i*11;
+            double a1 = a.data[indexA], a2 = a.data[indexA + 1], a3 = a.data[indexA + 2], a4 = a.data[indexA + 3],
+                   a5 = a.data[indexA + 4], a6 = a.data[indexA + 5], a7 = a.data[indexA + 6], a8 = a.data[indexA + 7],
+                   a9 = a.data[indexA + 8], a10 = a.data[indexA + 9], a11 = a.data[indexA + 10];
+            for (int j = 0; j < 11; j++) {
+                c.data[i*11 + j] += alpha*(a1*b.data[j] + a2*b.data[11 + j] + a3*b.data[22 + j] + a4*b.data[33 + j] +
+                        a5*b.data[44 + j] + a6*b.data[55 + j] + a7*b.data[66 + j] + a8*b.data[77 + j] +
+                        a9*b.data[88 + j] + a10*b.data[99 + j] + a11*b.data[110 + j]);
+            }
+        }
+    }
+
+    /**
+     * <p>Performs the following operation:<br>
+     * <br>
+     * c += a<sup>T</sup> * b <br>
+     * <br>
+     * c<sub>ij</sub> += &sum;<sub>k=1:n</sub> { a<sub>ki</sub> * b<sub>kj</sub>}
+     * </p>
+     *
+     * @param a (Input) The left matrix in the multiplication operation. Not modified.
+     * @param b (Input) The right matrix in the multiplication operation. Not modified.
+     * @param c (Output) Where the results of the operation are stored. Modified.
+     */
+    public static void multAddTransA( DMatrix11x11 a , DMatrix11x11 b , DMatrix11x11 c) {
+        UtilEjml.checkSameInstance(a,c);
+        UtilEjml.checkSameInstance(b,c);
+        for (int i = 0; i < 11; i++) {
+            double a1 = a.data[i], a2 = a.data[i + 11], a3 = a.data[i + 22], a4 = a.data[i + 33],
+                   a5 = a.data[i + 44], a6 = a.data[i + 55], a7 = a.data[i + 66], a8 = a.data[i + 77],
+                   a9 = a.data[i + 88], a10 = a.data[i + 99], a11 = a.data[i + 110];
+            for (int j = 0; j < 11; j++) {
+                c.data[i*11 + j] += a1*b.data[j] + a2*b.data[11 + j] + a3*b.data[22 + j] + a4*b.data[33 + j] +
+                        a5*b.data[44 + j] + a6*b.data[55 + j] + a7*b.data[66 + j] + a8*b.data[77 + j] +
+                        a9*b.data[88 + j] + a10*b.data[99 + j] + a11*b.data[110 + j];
+            }
+        }
+    }
+
+    /**
+     * <p>Performs the following operation:<br>
+     * <br>
+     * c += &alpha; * a<sup>T</sup> * b <br>
+     * <br>
+     * c<sub>ij</sub> += &alpha; * &sum;<sub>k=1:n</sub> { a<sub>ki</sub> * b<sub>kj</sub>}
+     * </p>
+     *
+     * @param alpha Scaling factor.
+     * @param a (Input) The left matrix in the multiplication operation. Not modified.
+     * @param b (Input) The right matrix in the multiplication operation. Not modified.
+     * @param c (Output) Where the results of the operation are stored. Modified.
+     */
+    public static void multAddTransA( double alpha , DMatrix11x11 a , DMatrix11x11 b , DMatrix11x11 c) {
+        UtilEjml.checkSameInstance(a,c);
+        UtilEjml.checkSameInstance(b,c);
+        for (int i = 0; i < 11; i++) {
+            double a1 = a.data[i], a2 = a.data[i + 11], a3 = a.data[i + 22], a4 = a.data[i + 33],
+                   a5 = a.data[i + 44], a6 = a.data[i + 55], a7 = a.data[i + 66], a8 = a.data[i + 77],
+                   a9 = a.data[i + 88], a10 = a.data[i + 99], a11 = a.data[i + 110];
+            for (int j = 0; j < 11; j++) {
+                c.data[i*11 + j] += alpha*(a1*b.data[j] + a2*b.data[11 + j] + a3*b.data[22 + j] + a4*b.data[33 + j] +
+                        a5*b.data[44 + j] + a6*b.data[55 + j] + a7*b.data[66 + j] + a8*b.data[77 + j] +
+                        a9*b.data[88 + j] + a10*b.data[99 + j] + a11*b.data[110 + j]);
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Performs the following operation:<br>
+     * <br>
+     * c += a<sup>T</sup> * b<sup>T</sup><br>
+     * c<sub>ij</sub> += &sum;<sub>k=1:n</sub> { a<sub>ki</sub> * b<sub>jk</sub>}
+     * </p>
+     *
+     * @param a (Input) The left matrix in the multiplication operation. Not modified.
+     * @param b (Input) The right matrix in the multiplication operation. Not modified.
+     * @param c (Output) Where the results of the operation are stored. Modified.
+     */
+    public static void multAddTransAB( DMatrix11x11 a , DMatrix11x11 b , DMatrix11x11 c) {
+        UtilEjml.checkSameInstance(a,c);
+        UtilEjml.checkSameInstance(b,c);
+        for (int i = 0; i < 11; i++) {
+            double a1 = a.data[i], a2 = a.data[i + 11], a3 = a.data[i + 22], a4 = a.data[i + 33],
+                   a5 = a.data[i + 44], a6 = a.data[i + 55], a7 = a.data[i + 66], a8 = a.data[i + 77],
+                   a9 = a.data[i + 88], a10 = a.data[i + 99], a11 = a.data[i + 110];
+            for (int j = 0; j < 11; j++) {
+                int indexB = j*11;
+                c.data[i*11 + j] += a1*b.data[indexB] + a2*b.data[indexB + 1] + a3*b.data[indexB + 2] + a4*b.data[indexB + 3] +
+                        a5*b.data[indexB + 4] + a6*b.data[indexB + 5] + a7*b.data[indexB + 6] + a8*b.data[indexB + 7] +
+                        a9*b.data[indexB + 8] + a10*b.data[indexB + 9] + a11*b.data[indexB + 10];
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Performs the following operation:<br>
+     * <br>
+     * c += &alpha;*a<sup>T</sup> * b<sup>T</sup><br>
+     * c<sub>ij</sub> += &alpha;*&sum;<sub>k=1:n</sub> { a<sub>ki</sub> * b<sub>jk</sub>}
+     * </p>
+     *
+     * @param alpha Scaling factor.
+     * @param a (Input) The left matrix in the multiplication operation. Not modified.
+     * @param b (Input) The right matrix in the multiplication operation. Not modified.
+     * @param c (Output) Where the results of the operation are stored. Modified.
+     */
+    public static void multAddTransAB( double alpha , DMatrix11x11 a , DMatrix11x11 b , DMatrix11x11 c) {
+        UtilEjml.checkSameInstance(a,c);
+        UtilEjml.checkSameInstance(b,c);
+        for (int i = 0; i < 11; i++) {
+            double a1 = a.data[i], a2 = a.data[i + 11], a3 = a.data[i + 22], a4 = a.data[i + 33],
+                   a5 = a.data[i + 44], a6 = a.data[i + 55], a7 = a.data[i + 66], a8 = a.data[i + 77],
+                   a9 = a.data[i + 88], a10 = a.data[i + 99], a11 = a.data[i + 110];
+            for (int j = 0; j < 11; j++) {
+                int indexB = j*11;
+                c.data[i*11 + j] += alpha*(a1*b.data[indexB] + a2*b.data[indexB + 1] + a3*b.data[indexB + 2] + a4*b.data[indexB + 3] +
+                        a5*b.data[indexB + 4] + a6*b.data[indexB + 5] + a7*b.data[indexB + 6] + a8*b.data[indexB + 7] +
+                        a9*b.data[indexB + 8] + a10*b.data[indexB + 9] + a11*b.data[indexB + 10]);
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Performs the following operation:<br>
+     * <br>
+     * c += a * b<sup>T</sup> <br>
+     * c<sub>ij</sub> += &sum;<sub>k=1:n</sub> { a<sub>ik</sub> * b<sub>jk</sub>}
+     * </p>
+     *
+     * @param a (Input) The left matrix in the multiplication operation. Not modified.
+     * @param b (Input) The right matrix in the multiplication operation. Not modified.
+     * @param c (Output) Where the results of the operation are stored. Modified.
+     */
+    public static void multAddTransB( DMatrix11x11 a , DMatrix11x11 b , DMatrix11x11 c) {
+        UtilEjml.checkSameInstance(a,c);
+        UtilEjml.checkSameInstance(b,c);
+        for (int i = 0; i < 11; i++) {
+            int indexA = i*11;
+            double a1 = a.data[indexA], a2 = a.data[indexA + 1], a3 = a.data[indexA + 2], a4 = a.data[indexA + 3],
+                   a5 = a.data[indexA + 4], a6 = a.data[indexA + 5], a7 = a.data[indexA + 6], a8 = a.data[indexA + 7],
+                   a9 = a.data[indexA + 8], a10 = a.data[indexA + 9], a11 = a.data[indexA + 10];
+            for (int j = 0; j < 11; j++) {
+                int indexB = j*11;
+                c.data[i*11 + j] += a1*b.data[indexB] + a2*b.data[indexB + 1] + a3*b.data[indexB + 2] + a4*b.data[indexB + 3] +
+                        a5*b.data[indexB + 4] + a6*b.data[indexB + 5] + a7*b.data[indexB + 6] + a8*b.data[indexB + 7] +
+                        a9*b.data[indexB + 8] + a10*b.data[indexB + 9] + a11*b.data[indexB + 10];
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Performs the following operation:<br>
+     * <br>
+     * c += &alpha; * a * b<sup>T</sup> <br>
+     * c<sub>ij</sub> += &alpha;*&sum;<sub>k=1:n</sub> { a<sub>ik</sub> * b<sub>jk</sub>}
+     * </p>
+     *
+     * @param alpha Scaling factor.
+     * @param a (Input) The left matrix in the multiplication operation. Not modified.
+     * @param b (Input) The right matrix in the multiplication operation. Not modified.
+     * @param c (Output) Where the results of the operation are stored. Modified.
+     */
+    public static void multAddTransB( double alpha , DMatrix11x11 a , DMatrix11x11 b , DMatrix11x11 c) {
+        UtilEjml.checkSameInstance(a,c);
+        UtilEjml.checkSameInstance(b,c);
+        for (int i = 0; i < 11; i++) {
+            int indexA = i*11;
+            double a1 = a.data[indexA], a2 = a.data[indexA + 1], a3 = a.data[indexA + 2], a4 = a.data[indexA + 3],
+                   a5 = a.data[indexA + 4], a6 = a.data[indexA + 5], a7 = a.data[indexA + 6], a8 = a.data[indexA + 7],
+                   a9 = a.data[indexA + 8], a10 = a.data[indexA + 9], a11 = a.data[indexA + 10];
+            for (int j = 0; j < 11; j++) {
+                int indexB = j*11;
+                c.data[i*11 + j] += alpha*(a1*b.data[indexB] + a2*b.data[indexB + 1] + a3*b.data[indexB + 2] + a4*b.data[indexB + 3] +
+                        a5*b.data[indexB + 4] + a6*b.data[indexB + 5] + a7*b.data[indexB + 6] + a8*b.data[indexB + 7] +
+                        a9*b.data[indexB + 8] + a10*b.data[indexB + 9] + a11*b.data[indexB + 10]);
+            }
+        }
+    }
+
+    /**
+     * C = &alpha;A + &beta;u*v<sup>T</sup>
+     * 
+     * @param alpha scale factor applied to A
+     * @param A matrix
+     * @param beta scale factor applies to outer product
+     * @param u vector
+     * @param v vector
+     * @param C Storage for solution. Can be same instance as A.
+     */
+    public static void multAddOuter( double alpha , DMatrix11x11 A , double beta , DMatrix11 u , DMatrix11 v , DMatrix11x11 C ) {
+        for (int i = 0; i < 11; i++) {
+            double betaU = beta*u.data[i];
+            for (int j = 0; j < 11; j++) {
+                int index = i*11 + j;
+                C.data[index] = alpha*A.data[index] + betaU*v.data[j];
+            }
+        }
+    }
+
+    /**
+     * <p>Performs matrix to vector multiplication:<br>
+     * <br>
+     * c = a * b <br>
+     * <br>
+     * c<sub>i</sub> = &sum;<sub>k=1:n</sub> { a<sub>ik</sub> * b<sub>k</sub>}
+     * </p>
+     *
+     * @param a The left matrix in the multiplication operation. Not modified.
+     * @param b The right vector in the multiplication operation. Not modified.
+     * @param c Where the results of the operation are stored. Modified.
+     */
+    public static void mult( DMatrix11x11 a , DMatrix11 b , DMatrix11 c) {
+        double b1 = b.data[0], b2 = b.data[1], b3 = b.data[2], b4 = b.data[3],
+               b5 = b.data[4], b6 = b.data[5], b7 = b.data[6], b8 = b.data[7],
+               b9 = b.data[8], b10 = b.data[9], b11 = b.data[10];
+        for (int i = 0; i < 11; i++) {
+            int indexA = i*11;
+            c.data[i] = a.data[indexA]*b1 + a.data[indexA + 1]*b2 + a.data[indexA + 2]*b3 + a.data[indexA + 3]*b4 +
+                    a.data[indexA + 4]*b5 + a.data[indexA + 5]*b6 + a.data[indexA + 6]*b7 + a.data[indexA + 7]*b8 +
+                    a.data[indexA + 8]*b9 + a.data[indexA + 9]*b10 + a.data[indexA + 10]*b11;
+        }
+    }
+
+    /**
+     * <p>Performs vector to matrix multiplication:<br>
+     * <br>
+     * c = a * b <br>
+     * <br>
+     * c<sub>j</sub> = &sum;<sub>k=1:n</sub> { b<sub>k</sub> * a<sub>kj</sub> }
+     * </p>
+     *
+     * @param a The left vector in the multiplication operation. Not modified.
+     * @param b The right matrix in the multiplication operation. Not modified.
+     * @param c Where the results of the operation are stored. Modified.
+     */
+    public static void mult( DMatrix11 a , DMatrix11x11 b , DMatrix11 c) {
+        double a1 = a.data[0], a2 = a.data[1], a3 = a.data[2], a4 = a.data[3],
+               a5 = a.data[4], a6 = a.data[5], a7 = a.data[6], a8 = a.data[7],
+               a9 = a.data[8], a10 = a.data[9], a11 = a.data[10];
+        for (int j = 0; j < 11; j++) {
+            c.data[j] = a1*b.data[j] + a2*b.data[11 + j] + a3*b.data[22 + j] + a4*b.data[33 + j] +
+                    a5*b.data[44 + j] + a6*b.data[55 + j] + a7*b.data[66 + j] + a8*b.data[77 + j] +
+                    a9*b.data[88 + j] + a10*b.data[99 + j] + a11*b.data[110 + j];
+        }
+    }
+
+    /**
+     * <p>Performs the vector dot product:<br>
+     * <br>
+     * c = a * b <br>
+     * <br>
+     * c &ge; &sum;<sub>k=1:n</sub> { b<sub>k</sub> * a<sub>k</sub> }
+     * </p>
+     *
+     * @param a The left vector in the multiplication operation. Not modified.
+     * @param b The right matrix in the multiplication operation. Not modified.
+     * @return The dot product
+     */
+    public static double dot( DMatrix11 a , DMatrix11 b ) {
+        double sum = 0;
+        for (int i = 0; i < 11; i++) {
+            sum += a.data[i]*b.data[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Sets all the diagonal elements equal to one and everything else equal to zero.
+     * If this is a square matrix then it will be an identity matrix.
+     *
+     * @param a A matrix.
+     */
+    public static void setIdentity( DMatrix11x11 a ) {
+        for (int i = 0; i < 121; i++) {
+            a.data[i] = 0;
+        }
+        for (int i = 0; i < 121; i += 12) {
+            a.data[i] = 1;
+        }
+    }
+
+    /**
+     * Performs a lower Cholesky decomposition of matrix 'A' and stores result in A.
+     *
+     * @param A (Input) SPD Matrix. (Output) lower cholesky.
+     * @return true if it was successful or false if it failed. Not always reliable.
+     */
+    public static boolean cholL( DMatrix11x11 A ) {
+
+        for (int i = 0; i < 11; i++) {
+            for (int j = 0; j <= i; j++) {
+                double sum = A.data[i*11 + j];
+                for (int k = 0; k < j; k++) {
+                    sum -= A.data[i*11 + k]*A.data[j*11 + k];
+                }
+                if (i == j)
+                    A.data[i*11 + i] = Math.sqrt(sum);
+                else
+                    A.data[i*11 + j] = sum/A.data[j*11 + j];
+            }
+            for (int j = i + 1; j < 11; j++) {
+                A.data[i*11 + j] = 0;
+            }
+        }
+        return !UtilEjml.isUncountable(A.data[120]);
+    }
+
+    /**
+     * Performs an upper Cholesky decomposition of matrix 'A' and stores result in A.
+     *
+     * @param A (Input) SPD Matrix. (Output) upper cholesky.
+     * @return true if it was successful or false if it failed. Not always reliable.
+     */
+    public static boolean cholU( DMatrix11x11 A ) {
+
+        for (int j = 0; j < 11; j++) {
+            for (int i = 0; i <= j; i++) {
+                double sum = A.data[i*11 + j];
+                for (int k = 0; k < i; k++) {
+                    sum -= A.data[k*11 + i]*A.data[k*11 + j];
+                }
+                if (i == j)
+                    A.data[i*11 + i] = Math.sqrt(sum);
+                else
+                    A.data[i*11 + j] = sum/A.data[i*11 + i];
+            }
+            for (int i = j + 1; i < 11; i++) {
+                A.data[i*11 + j] = 0;
+            }
+        }
+        return !UtilEjml.isUncountable(A.data[120]);
+    }
+
+    /**
+     * <p>
+     * This computes the trace of the matrix:<br>
+     * <br>
+     * trace = &sum;<sub>i=1:n</sub> { a<sub>ii</sub> }
+     * </p>
+     * <p>
+     * The trace is only defined for square matrices.
+     * </p>
+     *
+     * @param a A square matrix. Not modified.
+     */
+    public static double trace( DMatrix11x11 a ) {
+        double sum = 0;
+        for (int i = 0; i < 121; i += 12) {
+            sum += a.data[i];
+        }
+        return sum;
+    }
+
+    /**
+     * <p>
+     * Extracts all diagonal elements from 'input' and places them inside the 'out' vector. Elements
+     * are in sequential order.
+     * </p>
+     *
+     *
+     * @param input Matrix. Not modified.
+     * @param out Vector containing diagonal elements. Modified.
+     */
+    public static void diag( DMatrix11x11 input , DMatrix11 out ) {
+        for (int i = 0; i < 11; i++) {
+            out.data[i] = input.data[i*12];
+        }
+    }
+
+    /**
+     * <p>
+     * Returns the value of the element in the matrix that has the largest value.<br>
+     * <br>
+     * Max{ a<sub>ij</sub> } for all i and j<br>
+     * </p>
+     *
+     * @param a A matrix. Not modified.
+     * @return The max element value of the matrix.
+     */
+    public static double elementMax( DMatrix11x11 a ) {
+        double max = a.data[0];
+        for (int i = 1; i < 121; i++) {
+            double tmp = a.data[i]; if( tmp > max ) max = tmp;
+        }
+
+        return max;
+    }
+
+    /**
+     * <p>
+     * Returns the value of the element in the vector that has the largest value.<br>
+     * <br>
+     * Max{ a<sub>i</sub> } for all i<br>
+     * </p>
+     *
+     * @param a A vector. Not modified.
+     * @return The max element value of the matrix.
+     */
+    public static double elementMax( DMatrix11 a ) {
+        double max = a.data[0];
+        for (int i = 1; i < 11; i++) {
+            double tmp = a.data[i]; if( tmp > max ) max = tmp;
+        }
+
+        return max;
+    }
+
+    /**
+     * <p>
+     * Returns the absolute value of the element in the matrix that has the largest absolute value.<br>
+     * <br>
+     * Max{ |a<sub>ij</sub>| } for all i and j<br>
+     * </p>
+     *
+     * @param a A matrix. Not modified.
+     * @return The max abs element value of the matrix.
+     */
+    public static double elementMaxAbs( DMatrix11x11 a ) {
+        double max = Math.abs(a.data[0]);
+        for (int i = 1; i < 121; i++) {
+            double tmp = Math.abs(a.data[i]); if( tmp > max ) max = tmp;
+        }
+
+        return max;
+    }
+
+    /**
+     * <p>
+     * Returns the absolute value of the element in the vector that has the largest absolute value.<br>
+     * <br>
+     * Max{ |a<sub>i</sub>| } for all i<br>
+     * </p>
+     *
+     * @param a A matrix. Not modified.
+     * @return The max abs element value of the vector.
+     */
+    public static double elementMaxAbs( DMatrix11 a ) {
+        double max = Math.abs(a.data[0]);
+        for (int i = 1; i < 11; i++) {
+            double tmp = Math.abs(a.data[i]); if( tmp > max ) max = tmp;
+        }
+
+        return max;
+    }
+
+    /**
+     * <p>
+     * Returns the value of the element in the matrix that has the minimum value.<br>
+     * <br>
+     * Min{ a<sub>ij</sub> } for all i and j<br>
+     * </p>
+     *
+     * @param a A matrix. Not modified.
+     * @return The value of element in the matrix with the minimum value.
+     */
+    public static double elementMin( DMatrix11x11 a ) {
+        double min = a.data[0];
+        for (int i = 1; i < 121; i++) {
+            double tmp = a.data[i]; if( tmp < min ) min = tmp;
+        }
+
+        return min;
+    }
+
+    /**
+     * <p>
+     * Returns the value of the element in the vector that has the minimum value.<br>
+     * <br>
+     * Min{ a<sub>i</sub> } for all<br>
+     * </p>
+     *
+     * @param a A matrix. Not modified.
+     * @return The value of element in the vector with the minimum value.
+     */
+    public static double elementMin( DMatrix11 a ) {
+        double min = a.data[0];
+        for (int i = 1; i < 11; i++) {
+            double tmp = a.data[i]; if( tmp < min ) min = tmp;
+        }
+
+        return min;
+    }
+
+    /**
+     * <p>
+     * Returns the absolute value of the element in the matrix that has the smallest absolute value.<br>
+     * <br>
+     * Min{ |a<sub>ij</sub>| } for all i and j<br>
+     * </p>
+     *
+     * @param a A matrix. Not modified.
+     * @return The max element value of the matrix.
+     */
+    public static double elementMinAbs( DMatrix11x11 a ) {
+        double min = Math.abs(a.data[0]);
+        for (int i = 1; i < 121; i++) {
+            double tmp = Math.abs(a.data[i]); if( tmp < min ) min = tmp;
+        }
+
+        return min;
+    }
+
+    /**
+     * <p>
+     * Returns the absolute value of the element in the vector that has the smallest absolute value.<br>
+     * <br>
+     * Min{ |a<sub>i</sub>| } for all i<br>
+     * </p>
+     *
+     * @param a A matrix. Not modified.
+     * @return The max element value of the vector.
+     */
+    public static double elementMinAbs( DMatrix11 a ) {
+        double min = Math.abs(a.data[0]);
+        for (int i = 1; i < 11; i++) {
+            double tmp = Math.abs(a.data[i]); if( tmp < min ) min = tmp;
+        }
+
+        return min;
+    }
+
+    /**
+     * <p>Performs an element by element multiplication operation:<br>
+     * <br>
+     * a<sub>ij</sub> = a<sub>ij</sub> * b<sub>ij</sub> <br>
+     * </p>
+     * @param a The left matrix in the multiplication operation. Modified.
+     * @param b The right matrix in the multiplication operation. Not modified.
+     */
+    public static void elementMult( DMatrix11x11 a , DMatrix11x11 b) {
+        for (int i = 0; i < 121; i++) {
+            a.data[i] *= b.data[i];
+        }
+    }
+
+    /**
+     * <p>Performs an element by element multiplication operation:<br>
+     * <br>
+     * a<sub>i</sub> = a<sub>i</sub> * b<sub>i</sub> <br>
+     * </p>
+     * @param a The left vector in the multiplication operation. Modified.
+     * @param b The right vector in the multiplication operation. Not modified.
+     */
+    public static void elementMult( DMatrix11 a , DMatrix11 b) {
+        for (int i = 0; i < 11; i++) {
+            a.data[i] *= b.data[i];
+        }
+    }
+
+    /**
+     * <p>Performs an element by element multiplication operation:<br>
+     * <br>
+     * c<sub>ij</sub> = a<sub>ij</sub> * b<sub>ij</sub> <br>
+     * </p>
+     * @param a The left matrix in the multiplication operation. Not modified.
+     * @param b The right matrix in the multiplication operation. Not modified.
+     * @param c Where the results of the operation are stored. Modified.
+     */
+    public static void elementMult( DMatrix11x11 a , DMatrix11x11 b , DMatrix11x11 c ) {
+        for (int i = 0; i < 121; i++) {
+            c.data[i] = a.data[i]*b.data[i];
+        }
+    }
+
+    /**
+     * <p>Performs an element by element multiplication operation:<br>
+     * <br>
+     * c<sub>i</sub> = a<sub>i</sub> * b<sub>j</sub> <br>
+     * </p>
+     * @param a The left vector in the multiplication operation. Not modified.
+     * @param b The right vector in the multiplication operation. Not modified.
+     * @param c Where the results of the operation are stored. Modified.
+     */
+    public static void elementMult( DMatrix11 a , DMatrix11 b , DMatrix11 c ) {
+        for (int i = 0; i < 11; i++) {
+            c.data[i] = a.data[i]*b.data[i];
+        }
+    }
+
+    /**
+     * <p>Performs an element by element division operation:<br>
+     * <br>
+     * a<sub>ij</sub> = a<sub>ij</sub> / b<sub>ij</sub> <br>
+     * </p>
+     * @param a The left matrix in the division operation. Modified.
+     * @param b The right matrix in the division operation. Not modified.
+     */
+    public static void elementDiv( DMatrix11x11 a , DMatrix11x11 b) {
+        for (int i = 0; i < 121; i++) {
+            a.data[i] /= b.data[i];
+        }
+    }
+
+    /**
+     * <p>Performs an element by element division operation:<br>
+     * <br>
+     * a<sub>i</sub> = a<sub>i</sub> / b<sub>i</sub> <br>
+     * </p>
+     * @param a The left vector in the division operation. Modified.
+     * @param b The right vector in the division operation. Not modified.
+     */
+    public static void elementDiv( DMatrix11 a , DMatrix11 b) {
+        for (int i = 0; i < 11; i++) {
+            a.data[i] /= b.data[i];
+        }
+    }
+
+    /**
+     * <p>Performs an element by element division operation:<br>
+     * <br>
+     * c<sub>ij</sub> = a<sub>ij</sub> / b<sub>ij</sub> <br>
+     * </p>
+     * @param a The left matrix in the division operation. Not modified.
+     * @param b The right matrix in the division operation. Not modified.
+     * @param c Where the results of the operation are stored. Modified.
+     */
+    public static void elementDiv( DMatrix11x11 a , DMatrix11x11 b , DMatrix11x11 c ) {
+        for (int i = 0; i < 121; i++) {
+            c.data[i] = a.data[i]/b.data[i];
+        }
+    }
+
+    /**
+     * <p>Performs an element by element division operation:<br>
+     * <br>
+     * c<sub>i</sub> = a<sub>i</sub> / b<sub>i</sub> <br>
+     * </p>
+     * @param a The left vector in the division operation. Not modified.
+     * @param b The right vector in the division operation. Not modified.
+     * @param c Where the results of the operation are stored. Modified.
+     */
+    public static void elementDiv( DMatrix11 a , DMatrix11 b , DMatrix11 c ) {
+        for (int i = 0; i < 11; i++) {
+            c.data[i] = a.data[i]/b.data[i];
+        }
+    }
+
+    /**
+     * <p>
+     * Performs an in-place element by element scalar multiplication.<br>
+     * <br>
+     * a<sub>ij</sub> = &alpha;*a<sub>ij</sub>
+     * </p>
+     *
+     * @param a The matrix that is to be scaled. Modified.
+     * @param alpha the amount each element is multiplied by.
+     */
+    public static void scale( double alpha , DMatrix11x11 a ) {
+        for (int i = 0; i < 121; i++) {
+            a.data[i] *= alpha;
+        }
+    }
+
+    /**
+     * <p>
+     * Performs an in-place element by element scalar multiplication.<br>
+     * <br>
+     * a<sub>ij</sub> = &alpha;*a<sub>ij</sub>
+     * </p>
+     *
+     * @param a The vector that is to be scaled. Modified.
+     * @param alpha the amount each element is multiplied by.
+     */
+    public static void scale( double alpha , DMatrix11 a ) {
+        for (int i = 0; i < 11; i++) {
+            a.data[i] *= alpha;
+        }
+    }
+
+    /**
+     * <p>
+     * Performs an element by element scalar multiplication.<br>
+     * <br>
+     * b<sub>ij</sub> = &alpha;*a<sub>ij</sub>
+     * </p>
+     *
+     * @param alpha the amount each element is multiplied by.
+     * @param a The matrix that is to be scaled. Not modified.
+     * @param b Where the scaled matrix is stored. Modified.
+     */
+    public static void scale( double alpha , DMatrix11x11 a , DMatrix11x11 b ) {
+        for (int i = 0; i < 121; i++) {
+            b.data[i] = a.data[i]*alpha;
+        }
+    }
+
+    /**
+     * <p>
+     * Performs an element by element scalar multiplication.<br>
+     * <br>
+     * b<sub>i</sub> = &alpha;*a<sub>i</sub>
+     * </p>
+     *
+     * @param alpha the amount each element is multiplied by.
+     * @param a The vector that is to be scaled. Not modified.
+     * @param b Where the scaled matrix is stored. Modified.
+     */
+    public static void scale( double alpha , DMatrix11 a , DMatrix11 b ) {
+        for (int i = 0; i < 11; i++) {
+            b.data[i] = a.data[i]*alpha;
+        }
+    }
+
+    /**
+     * <p>
+     * Performs an in-place element by element scalar division. Scalar denominator.<br>
+     * <br>
+     * a<sub>ij</sub> = a<sub>ij</sub>/&alpha;
+     * </p>
+     *
+     * @param a The matrix whose elements are to be divided. Modified.
+     * @param alpha the amount each element is divided by.
+     */
+    public static void divide( DMatrix11x11 a , double alpha ) {
+        for (int i = 0; i < 121; i++) {
+            a.data[i] /= alpha;
+        }
+    }
+
+    /**
+     * <p>
+     * Performs an in-place element by element scalar division. Scalar denominator.<br>
+     * <br>
+     * a<sub>i</sub> = a<sub>i</sub>/&alpha;
+     * </p>
+     *
+     * @param a The vector whose elements are to be divided. Modified.
+     * @param alpha the amount each element is divided by.
+     */
+    public static void divide( DMatrix11 a , double alpha ) {
+        for (int i = 0; i < 11; i++) {
+            a.data[i] /= alpha;
+        }
+    }
+
+    /**
+     * <p>
+     * Performs an element by element scalar division. Scalar denominator.<br>
+     * <br>
+     * b<sub>ij</sub> = a<sub>ij</sub> /&alpha;
+     * </p>
+     *
+     * @param alpha the amount each element is divided by.
+     * @param a The matrix whose elements are to be divided. Not modified.
+     * @param b Where the results are stored. Modified.
+     */
+    public static void divide( DMatrix11x11 a , double alpha , DMatrix11x11 b ) {
+        for (int i = 0; i < 121; i++) {
+            b.data[i] = a.data[i]/alpha;
+        }
+    }
+
+    /**
+     * <p>
+     * Performs an element by element scalar division. Scalar denominator.<br>
+     * <br>
+     * b<sub>i</sub> = a<sub>i</sub> /&alpha;
+     * </p>
+     *
+     * @param alpha the amount each element is divided by.
+     * @param a The vector whose elements are to be divided. Not modified.
+     * @param b Where the results are stored. Modified.
+     */
+    public static void divide( DMatrix11 a , double alpha , DMatrix11 b ) {
+        for (int i = 0; i < 11; i++) {
+            b.data[i] = a.data[i]/alpha;
+        }
+    }
+
+    /**
+     * <p>
+     * Changes the sign of every element in the matrix.<br>
+     * <br>
+     * a<sub>ij</sub> = -a<sub>ij</sub>
+     * </p>
+     *
+     * @param a A matrix. Modified.
+     */
+    public static void changeSign( DMatrix11x11 a )
+    {
+        for (int i = 0; i < 121; i++) {
+            a.data[i] = -a.data[i];
+        }
+    }
+
+    /**
+     * <p>
+     * Changes the sign of every element in the vector.<br>
+     * <br>
+     * a<sub>i</sub> = -a<sub>i</sub>
+     * </p>
+     *
+     * @param a A vector. Modified.
+     */
+    public static void changeSign( DMatrix11 a )
+    {
+        for (int i = 0; i < 11; i++) {
+            a.data[i] = -a.data[i];
+        }
+    }
+
+    /**
+     * <p>
+     * Sets every element in the matrix to the specified value.<br>
+     * <br>
+     * a<sub>ij</sub> = value
+     * <p>
+     *
+     * @param a A matrix whose elements are about to be set. Modified.
+     * @param v The value each element will have.
+     */
+    public static void fill( DMatrix11x11 a , double v  ) {
+        for (int i = 0; i < 121; i++) {
+            a.data[i] = v;
+        }
+    }
+
+    /**
+     * <p>
+     * Sets every element in the vector to the specified value.<br>
+     * <br>
+     * a<sub>i</sub> = value
+     * <p>
+     *
+     * @param a A vector whose elements are about to be set. Modified.
+     * @param v The value each element will have.
+     */
+    public static void fill( DMatrix11 a , double v  ) {
+        for (int i = 0; i < 11; i++) {
+            a.data[i] = v;
+        }
+    }
+
+    /**
+     * Extracts the row from the matrix a.
+     * @param a Input matrix
+     * @param row Which row is to be extracted
+     * @param out output. Storage for the extracted row. If null then a new vector will be returned.
+     * @return The extracted row.
+     */
+    public static DMatrix11 extractRow( DMatrix11x11 a , int row , DMatrix11 out ) {
+        if( out == null) out = new DMatrix11();
+        if (row < 0 || row >= 11)
+            throw new IllegalArgumentException("Out of bounds row. row = "+row);
+        System.arraycopy(a.data, row*11, out.data, 0, 11);
+        return out;
+    }
+
+    /**
+     * Extracts the column from the matrix a.
+     * @param a Input matrix
+     * @param column Which column is to be extracted
+     * @param out output. Storage for the extracted column. If null then a new vector will be returned.
+     * @return The extracted column.
+     */
+    public static DMatrix11 extractColumn( DMatrix11x11 a , int column , DMatrix11 out ) {
+        if( out == null) out = new DMatrix11();
+        if (column < 0 || column >= 11)
+            throw new IllegalArgumentException("Out of bounds column. column = "+column);
+        for (int i = 0; i < 11; i++) {
+            out.data[i] = a.data[i*11 + column];
+        }
+        return out;
+    }
+
+}
+
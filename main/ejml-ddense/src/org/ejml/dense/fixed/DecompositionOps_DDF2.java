@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.dense.fixed;
+
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrix2;
+import org.ejml.data.DMatrix2x2;
+
+import javax.annotation.Generated;
+
+/**
+ * <p>Decompositions and linear solvers for fixed sized matrices which are 2 x 2. Everything is
+ * unrolled and no memory is allocated. See {@link CommonOps_DDF2#cholL} and {@link CommonOps_DDF2#cholU}
+ * for Cholesky decomposition.</p>
+ *
+ * <p>DO NOT MODIFY. Automatically generated code created by GenerateDecompositionOps_DDF</p>
+ *
+ * @author Peter Abeles
+ */
+@Generated("org.ejml.dense.fixed.GenerateDecompositionOps_DDF")
+public class DecompositionOps_DDF2 {
+    /**
+     * Solves L*L<sup>T</sup>*x = b, where L is the output of {@link CommonOps_DDF2#cholL}.
+     *
+     * @param L (Input) Lower triangular matrix. Not modified.
+     * @param b (Input) Vector. Not modified.
+     * @param x (Output) Solution. Can be the same as 'b'.
+     */
+    public static void solveCholL( DMatrix2x2 L, DMatrix2 b, DMatrix2 x ) {
+        double x1 = b.a1/L.a11;
+        double x2 = (b.a2 - L.a21*x1)/L.a22;
+        x2 = x2/L.a22;
+        x1 = (x1 - L.a21*x2)/L.a11;
+        x.a1 = x1;
+        x.a2 = x2;
+    }
+
+    /**
+     * LU decomposition with partial pivoting. 'A' is replaced by L and U, where L has ones along its
+     * diagonal which are not saved. The row swaps are saved in 'pivots' where pivots[k] is the row which
+     * was swapped with row k at step k. P*A = L*U
+     *
+     * @param A (Input) Matrix. (Output) L and U.
+     * @param pivots (Output) Row swaps. Must have a length of at least 2.
+     * @return true if successful or false if the matrix is singular
+     */
+    public static boolean lu( DMatrix2x2 A, int[] pivots ) {
+        double max, tmp;
+        int p;
+
+        p = 1;
+        max = Math.abs(A.a11);
+        if (Math.abs(A.a21) > max) {
+            max = Math.abs(A.a21);
+            p = 2;
+        }
+        pivots[0] = p - 1;
+        switch (p) {
+            case 2:
+                tmp = A.a11; A.a11 = A.a21; A.a21 = tmp;
+                tmp = A.a12; A.a12 = A.a22; A.a22 = tmp;
+                break;
+        }
+        if (A.a11 == 0.0)
+            return false;
+        tmp = 1.0/A.a11;
+        A.a21 *= tmp;
+        A.a22 -= A.a21*A.a12;
+
+        pivots[1] = 1;
+        if (A.a22 == 0.0)
+            return false;
+        return !UtilEjml.isUncountable(A.a22);
+    }
+
+    /**
+     * Solves A*x = b using the output of {@link #lu}.
+     *
+     * @param LU (Input) Decomposed matrix. Not modified.
+     * @param pivots (Input) Row swaps. Not modified.
+     * @param b (Input) Vector. Not modified.
+     * @param x (Output) Solution. Can be the same as 'b'.
+     */
+    public static void solveLU( DMatrix2x2 LU, int[] pivots, DMatrix2 b, DMatrix2 x ) {
+        double x1 = b.a1, x2 = b.a2;
+        double tmp;
+        switch (pivots[0]) {
+            case 1: tmp = x1; x1 = x2; x2 = tmp; break;
+        }
+        x2 -= LU.a21*x1;
+        x2 = x2/LU.a22;
+        x1 = (x1 - LU.a12*x2)/LU.a11;
+        x.a1 = x1;
+        x.a2 = x2;
+    }
+
+    /**
+     * QR decomposition using Householder reflectors, A = Q*R. Each reflector is scaled to avoid
+     * overflow and underflow.
+     *
+     * @param A (Input) Matrix. Not modified.
+     * @param Q (Output) Orthogonal matrix. Can't be the same as 'A' or 'R'.
+     * @param R (Output) Upper triangular matrix. Can be the same as 'A'.
+     */
+    public static void qr( DMatrix2x2 A, DMatrix2x2 Q, DMatrix2x2 R ) {
+        R.a11 = A.a11;
+        R.a12 = A.a12;
+        R.a21 = A.a21;
+        R.a22 = A.a22;
+        CommonOps_DDF2.setIdentity(Q);
+        double scale, norm, beta, s, u1, u2;
+
+        // Householder reflector for column 1
+        scale = Math.max(Math.abs(R.a11), Math.abs(R.a21));
+        if (scale != 0.0) {
+            u1 = R.a11/scale;
+            u2 = R.a21/scale;
+            norm = Math.sqrt(u1*u1 + u2*u2);
+            if (u1 < 0.0)
+                norm = -norm;
+            u1 += norm;
+            beta = 1.0/(norm*u1);
+            R.a11 = -norm*scale;
+            R.a21 = 0.0;
+            s = beta*(u1*R.a12 + u2*R.a22);
+            R.a12 -= s*u1;
+            R.a22 -= s*u2;
+            s = beta*(Q.a11*u1 + Q.a12*u2);
+            Q.a11 -= s*u1;
+            Q.a12 -= s*u2;
+            s = beta*(Q.a21*u1 + Q.a22*u2);
+            Q.a21 -= s*u1;
+            Q.a22 -= s*u2;
+        }
+    }
+
+    /**
+     * Eigenvalue decomposition of a symmetric matrix using the cyclic Jacobi method, A = V*D*V<sup>T</sup>.
+     * Only the upper triangle of 'A' is read. The eigenvalues are not sorted.
+     *
+     * @param A (Input) Symmetric matrix. Not modified.
+     * @param values (Output) Eigenvalues.
+     * @param vectors (Output) Eigenvectors are stored in the columns. Can be the same as 'A'.
+     * @return true if it converged
+     */
+    public static boolean eigenSymm( DMatrix2x2 A, DMatrix2 values, DMatrix2x2 vectors ) {
+        double m11 = A.a11;
+        double m12 = A.a12;
+        double m22 = A.a22;
+        CommonOps_DDF2.setIdentity(vectors);
+        double theta, t, c, s, tmp;
+        boolean converged = false;
+
+        for (int sweep = 0; sweep < 50; sweep++) {
+            double off = m12*m12;
+            double diag = m11*m11 + m22*m22;
+            if (off <= UtilEjml.EPS*UtilEjml.EPS*diag) {
+                converged = true;
+                break;
+            }
+
+            if (m12 != 0.0) {
+                theta = (m22 - m11)/(2.0*m12);
+                t = 1.0/(Math.abs(theta) + Math.sqrt(theta*theta + 1.0));
+                if (theta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                m11 -= t*m12;
+                m22 += t*m12;
+                m12 = 0.0;
+                tmp = vectors.a11;
+                vectors.a11 = c*tmp - s*vectors.a12;
+                vectors.a12 = s*tmp + c*vectors.a12;
+                tmp = vectors.a21;
+                vectors.a21 = c*tmp - s*vectors.a22;
+                vectors.a22 = s*tmp + c*vectors.a22;
+            }
+        }
+
+        values.a1 = m11;
+        values.a2 = m22;
+        return converged;
+    }
+
+    /**
+     * Singular value decomposition using the one-sided Jacobi method, A = U*W*V<sup>T</sup>. Orthogonal
+     * rotations are applied to the columns of A until they are orthogonal to each other. The singular values
+     * are not sorted. Columns of U which correspond to a singular value of zero are set to zero.
+     *
+     * @param A (Input) Matrix. Not modified.
+     * @param U (Output) Left singular vectors. Can be the same as 'A'.
+     * @param W (Output) Singular values.
+     * @param V (Output) Right singular vectors. Can't be the same as 'A' or 'U'.
+     * @return true if it converged
+     */
+    public static boolean svd( DMatrix2x2 A, DMatrix2x2 U, DMatrix2 W, DMatrix2x2 V ) {
+        U.a11 = A.a11;
+        U.a12 = A.a12;
+        U.a21 = A.a21;
+        U.a22 = A.a22;
+        CommonOps_DDF2.setIdentity(V);
+        double alpha, beta, gamma, zeta, t, c, s, tmp;
+        boolean converged = false;
+
+        for (int sweep = 0; sweep < 50 && !converged; sweep++) {
+            converged = true;
+
+            alpha = U.a11*U.a11 + U.a21*U.a21;
+            beta = U.a12*U.a12 + U.a22*U.a22;
+            gamma = U.a11*U.a12 + U.a21*U.a22;
+            if (Math.abs(gamma) > UtilEjml.EPS*Math.sqrt(alpha*beta)) {
+                converged = false;
+                zeta = (beta - alpha)/(2.0*gamma);
+                t = 1.0/(Math.abs(zeta) + Math.sqrt(zeta*zeta + 1.0));
+                if (zeta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                tmp = U.a11;
+                U.a11 = c*tmp - s*U.a12;
+                U.a12 = s*tmp + c*U.a12;
+                tmp = U.a21;
+                U.a21 = c*tmp - s*U.a22;
+                U.a22 = s*tmp + c*U.a22;
+                tmp = V.a11;
+                V.a11 = c*tmp - s*V.a12;
+                V.a12 = s*tmp + c*V.a12;
+                tmp = V.a21;
+                V.a21 = c*tmp - s*V.a22;
+                V.a22 = s*tmp + c*V.a22;
+            }
+        }
+
+        // singular values are the norm of each column
+        double norm;
+        norm = Math.sqrt(U.a11*U.a11 + U.a21*U.a21);
+        W.a1 = norm;
+        norm = norm == 0.0 ? 0.0 : 1.0/norm;
+        U.a11 *= norm;
+        U.a21 *= norm;
+        norm = Math.sqrt(U.a12*U.a12 + U.a22*U.a22);
+        W.a2 = norm;
+        norm = norm == 0.0 ? 0.0 : 1.0/norm;
+        U.a12 *= norm;
+        U.a22 *= norm;
+        return converged;
+    }
+}
@@ -0,0 +1,602 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.dense.fixed;
+
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrix3;
+import org.ejml.data.DMatrix3x3;
+
+import javax.annotation.Generated;
+
+/**
+ * <p>Decompositions and linear solvers for fixed sized matrices which are 3 x 3. Everything is
+ * unrolled and no memory is allocated. See {@link CommonOps_DDF3#cholL} and {@link CommonOps_DDF3#cholU}
+ * for Cholesky decomposition.</p>
+ *
+ * <p>DO NOT MODIFY. Automatically generated code created by GenerateDecompositionOps_DDF</p>
+ *
+ * @author Peter Abeles
+ */
+@Generated("org.ejml.dense.fixed.GenerateDecompositionOps_DDF")
+public class DecompositionOps_DDF3 {
+    /**
+     * Solves L*L<sup>T</sup>*x = b, where L is the output of {@link CommonOps_DDF3#cholL}.
+     *
+     * @param L (Input) Lower triangular matrix. Not modified.
+     * @param b (Input) Vector. Not modified.
+     * @param x (Output) Solution. Can be the same as 'b'.
+     */
+    public static void solveCholL( DMatrix3x3 L, DMatrix3 b, DMatrix3 x ) {
+        double x1 = b.a1/L.a11;
+        double x2 = (b.a2 - L.a21*x1)/L.a22;
+        double x3 = (b.a3 - L.a31*x1 - L.a32*x2)/L.a33;
+        x3 = x3/L.a33;
+        x2 = (x2 - L.a32*x3)/L.a22;
+        x1 = (x1 - L.a21*x2 - L.a31*x3)/L.a11;
+        x.a1 = x1;
+        x.a2 = x2;
+        x.a3 = x3;
+    }
+
+    /**
+     * LU decomposition with partial pivoting. 'A' is replaced by L and U, where L has ones along its
+     * diagonal which are not saved. The row swaps are saved in 'pivots' where pivots[k] is the row which
+     * was swapped with row k at step k. P*A = L*U
+     *
+     * @param A (Input) Matrix. (Output) L and U.
+     * @param pivots (Output) Row swaps. Must have a length of at least 3.
+     * @return true if successful or false if the matrix is singular
+     */
+    public static boolean lu( DMatrix3x3 A, int[] pivots ) {
+        double max, tmp;
+        int p;
+
+        p = 1;
+        max = Math.abs(A.a11);
+        if (Math.abs(A.a21) > max) {
+            max = Math.abs(A.a21);
+            p = 2;
+        }
+        if (Math.abs(A.a31) > max) {
+            max = Math.abs(A.a31);
+            p = 3;
+        }
+        pivots[0] = p - 1;
+        switch (p) {
+            case 2:
+                tmp = A.a11; A.a11 = A.a21; A.a21 = tmp;
+                tmp = A.a12; A.a12 = A.a22; A.a22 = tmp;
+                tmp = A.a13; A.a13 = A.a23; A.a23 = tmp;
+                break;
+            case 3:
+                tmp = A.a11; A.a11 = A.a31; A.a31 = tmp;
+                tmp = A.a12; A.a12 = A.a32; A.a32 = tmp;
+                tmp = A.a13; A.a13 = A.a33; A.a33 = tmp;
+                break;
+        }
+        if (A.a11 == 0.0)
+            return false;
+        tmp = 1.0/A.a11;
+        A.a21 *= tmp;
+        A.a31 *= tmp;
+        A.a22 -= A.a21*A.a12;
+        A.a23 -= A.a21*A.a13;
+        A.a32 -= A.a31*A.a12;
+        A.a33 -= A.a31*A.a13;
+
+        p = 2;
+        max = Math.abs(A.a22);
+        if (Math.abs(A.a32) > max) {
+            max = Math.abs(A.a32);
+            p = 3;
+        }
+        pivots[1] = p - 1;
+        switch (p) {
+            case 3:
+                tmp = A.a21; A.a21 = A.a31; A.a31 = tmp;
+                tmp = A.a22; A.a22 = A.a32; A.a32 = tmp;
+                tmp = A.a23; A.a23 = A.a33; A.a33 = tmp;
+                break;
+        }
+        if (A.a22 == 0.0)
+            return false;
+        tmp = 1.0/A.a22;
+        A.a32 *= tmp;
+        A.a33 -= A.a32*A.a23;
+
+        pivots[2] = 2;
+        if (A.a33 == 0.0)
+            return false;
+        return !UtilEjml.isUncountable(A.a33);
+    }
+
+    /**
+     * Solves A*x = b using the output of {@link #lu}.
+     *
+     * @param LU (Input) Decomposed matrix. Not modified.
+     * @param pivots (Input) Row swaps. Not modified.
+     * @param b (Input) Vector. Not modified.
+     * @param x (Output) Solution. Can be the same as 'b'.
+     */
+    public static void solveLU( DMatrix3x3 LU, int[] pivots, DMatrix3 b, DMatrix3 x ) {
+        double x1 = b.a1, x2 = b.a2, x3 = b.a3;
+        double tmp;
+        switch (pivots[0]) {
+            case 1: tmp = x1; x1 = x2; x2 = tmp; break;
+            case 2: tmp = x1; x1 = x3; x3 = tmp; break;
+        }
+        switch (pivots[1]) {
+            case 2: tmp = x2; x2 = x3; x3 = tmp; break;
+        }
+        x2 -= LU.a21*x1;
+        x3 -= LU.a31*x1 + LU.a32*x2;
+        x3 = x3/LU.a33;
+        x2 = (x2 - LU.a23*x3)/LU.a22;
+        x1 = (x1 - LU.a12*x2 - LU.a13*x3)/LU.a11;
+        x.a1 = x1;
+        x.a2 = x2;
+        x.a3 = x3;
+    }
+
+    /**
+     * QR decomposition using Householder reflectors, A = Q*R. Each reflector is scaled to avoid
+     * overflow and underflow.
+     *
+     * @param A (Input) Matrix. Not modified.
+     * @param Q (Output) Orthogonal matrix. Can't be the same as 'A' or 'R'.
+     * @param R (Output) Upper triangular matrix. Can be the same as 'A'.
+     */
+    public static void qr( DMatrix3x3 A, DMatrix3x3 Q, DMatrix3x3 R ) {
+        R.a11 = A.a11;
+        R.a12 = A.a12;
+        R.a13 = A.a13;
+        R.a21 = A.a21;
+        R.a22 = A.a22;
+        R.a23 = A.a23;
+        R.a31 = A.a31;
+        R.a32 = A.a32;
+        R.a33 = A.a33;
+        CommonOps_DDF3.setIdentity(Q);
+        double scale, norm, beta, s, u1, u2, u3;
+
+        // Householder reflector for column 1
+        scale = Math.max(Math.abs(R.a11), Math.max(Math.abs(R.a21), Math.abs(R.a31)));
+        if (scale != 0.0) {
+            u1 = R.a11/scale;
+            u2 = R.a21/scale;
+            u3 = R.a31/scale;
+            norm = Math.sqrt(u1*u1 + u2*u2 + u3*u3);
+            if (u1 < 0.0)
+                norm = -norm;
+            u1 += norm;
+            beta = 1.0/(norm*u1);
+            R.a11 = -norm*scale;
+            R.a21 = 0.0;
+            R.a31 = 0.0;
+            s = beta*(u1*R.a12 + u2*R.a22 + u3*R.a32);
+            R.a12 -= s*u1;
+            R.a22 -= s*u2;
+            R.a32 -= s*u3;
+            s = beta*(u1*R.a13 + u2*R.a23 + u3*R.a33);
+            R.a13 -= s*u1;
+            R.a23 -= s*u2;
+            R.a33 -= s*u3;
+            s = beta*(Q.a11*u1 + Q.a12*u2 + Q.a13*u3);
+            Q.a11 -= s*u1;
+            Q.a12 -= s*u2;
+            Q.a13 -= s*u3;
+            s = beta*(Q.a21*u1 + Q.a22*u2 + Q.a23*u3);
+            Q.a21 -= s*u1;
+            Q.a22 -= s*u2;
+            Q.a23 -= s*u3;
+            s = beta*(Q.a31*u1 + Q.a32*u2 + Q.a33*u3);
+            Q.a31 -= s*u1;
+            Q.a32 -= s*u2;
+            Q.a33 -= s*u3;
+        }
+
+        // Householder reflector for column 2
+        scale = Math.max(Math.abs(R.a22), Math.abs(R.a32));
+        if (scale != 0.0) {
+            u2 = R.a22/scale;
+            u3 = R.a32/scale;
+            norm = Math.sqrt(u2*u2 + u3*u3);
+            if (u2 < 0.0)
+                norm = -norm;
+            u2 += norm;
+            beta = 1.0/(norm*u2);
+            R.a22 = -norm*scale;
+            R.a32 = 0.0;
+            s = beta*(u2*R.a23 + u3*R.a33);
+            R.a23 -= s*u2;
+            R.a33 -= s*u3;
+            s = beta*(Q.a12*u2 + Q.a13*u3);
+            Q.a12 -= s*u2;
+            Q.a13 -= s*u3;
+            s = beta*(Q.a22*u2 + Q.a23*u3);
+            Q.a22 -= s*u2;
+            Q.a23 -= s*u3;
+            s = beta*(Q.a32*u2 + Q.a33*u3);
+            Q.a32 -= s*u2;
+            Q.a33 -= s*u3;
+        }
+    }
+
+    /**
+     * Eigenvalue decomposition of a symmetric matrix using the cyclic Jacobi method, A = V*D*V<sup>T</sup>.
+     * Only the upper triangle of 'A' is read. The eigenvalues are not sorted.
+     *
+     * @param A (Input) Symmetric matrix. Not modified.
+     * @param values (Output) Eigenvalues.
+     * @param vectors (Output) Eigenvectors are stored in the columns. Can be the same as 'A'.
+     * @return true if it converged
+     */
+    public static boolean eigenSymm( DMatrix3x3 A, DMatrix3 values, DMatrix3x3 vectors ) {
+        double m11 = A.a11;
+        double m12 = A.a12;
+        double m13 = A.a13;
+        double m22 = A.a22;
+        double m23 = A.a23;
+        double m33 = A.a33;
+        CommonOps_DDF3.setIdentity(vectors);
+        double theta, t, c, s, tmp;
+        boolean converged = false;
+
+        for (int sweep = 0; sweep < 50; sweep++) {
+            double off = m12*m12 + m13*m13 + m23*m23;
+            double diag = m11*m11 + m22*m22 + m33*m33;
+            if (off <= UtilEjml.EPS*UtilEjml.EPS*diag) {
+                converged = true;
+                break;
+            }
+
+            if (m12 != 0.0) {
+                theta = (m22 - m11)/(2.0*m12);
+                t = 1.0/(Math.abs(theta) + Math.sqrt(theta*theta + 1.0));
+                if (theta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                m11 -= t*m12;
+                m22 += t*m12;
+                m12 = 0.0;
+                tmp = m13;
+                m13 = c*tmp - s*m23;
+                m23 = s*tmp + c*m23;
+                tmp = vectors.a11;
+                vectors.a11 = c*tmp - s*vectors.a12;
+                vectors.a12 = s*tmp + c*vectors.a12;
+                tmp = vectors.a21;
+                vectors.a21 = c*tmp - s*vectors.a22;
+                vectors.a22 = s*tmp + c*vectors.a22;
+                tmp = vectors.a31;
+                vectors.a31 = c*tmp - s*vectors.a32;
+                vectors.a32 = s*tmp + c*vectors.a32;
+            }
+
+            if (m13 != 0.0) {
+                theta = (m33 - m11)/(2.0*m13);
+                t = 1.0/(Math.abs(theta) + Math.sqrt(theta*theta + 1.0));
+                if (theta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                m11 -= t*m13;
+                m33 += t*m13;
+                m13 = 0.0;
+                tmp = m12;
+                m12 = c*tmp - s*m23;
+                m23 = s*tmp + c*m23;
+                tmp = vectors.a11;
+                vectors.a11 = c*tmp - s*vectors.a13;
+                vectors.a13 = s*tmp + c*vectors.a13;
+                tmp = vectors.a21;
+                vectors.a21 = c*tmp - s*vectors.a23;
+                vectors.a23 = s*tmp + c*vectors.a23;
+                tmp = vectors.a31;
+                vectors.a31 = c*tmp - s*vectors.a33;
+                vectors.a33 = s*tmp + c*vectors.a33;
+            }
+
+            if (m23 != 0.0) {
+                theta = (m33 - m22)/(2.0*m23);
+                t = 1.0/(Math.abs(theta) + Math.sqrt(theta*theta + 1.0));
+                if (theta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                m22 -= t*m23;
+                m33 += t*m23;
+                m23 = 0.0;
+                tmp = m12;
+                m12 = c*tmp - s*m13;
+                m13 = s*tmp + c*m13;
+                tmp = vectors.a12;
+                vectors.a12 = c*tmp - s*vectors.a13;
+                vectors.a13 = s*tmp + c*vectors.a13;
+                tmp = vectors.a22;
+                vectors.a22 = c*tmp - s*vectors.a23;
+                vectors.a23 = s*tmp + c*vectors.a23;
+                tmp = vectors.a32;
+                vectors.a32 = c*tmp - s*vectors.a33;
+                vectors.a33 = s*tmp + c*vectors.a33;
+            }
+        }
+
+        values.a1 = m11;
+        values.a2 = m22;
+        values.a3 = m33;
+        return converged;
+    }
+
+    /**
+     * Computes the eigenvalues of a symmetric 3x3 matrix analytically from the roots of its characteristic
+     * polynomial, using the trigonometric solution. The eigenvalues are sorted from largest to smallest.
+     * Only the upper triangle of 'A' is read. When two eigenvalues are almost the same the accuracy is
+     * lower than {@link #eigenSymm}.
+     *
+     * @param A (Input) Symmetric matrix. Not modified.
+     * @param values (Output) Eigenvalues in descending order.
+     */
+    public static void eigenvaluesSymm( DMatrix3x3 A, DMatrix3 values ) {
+        // scale to avoid overflow and underflow
+        double scale = Math.max(Math.abs(A.a11), Math.max(Math.abs(A.a12), Math.abs(A.a13)));
+        scale = Math.max(scale, Math.max(Math.abs(A.a22), Math.max(Math.abs(A.a23), Math.abs(A.a33))));
+        if (scale == 0.0) {
+            values.a1 = values.a2 = values.a3 = 0.0;
+            return;
+        }
+        double a11 = A.a11/scale, a12 = A.a12/scale, a13 = A.a13/scale;
+        double a22 = A.a22/scale, a23 = A.a23/scale, a33 = A.a33/scale;
+
+        double q = (a11 + a22 + a33)/3.0;
+        double b11 = a11 - q, b22 = a22 - q, b33 = a33 - q;
+        double p1 = a12*a12 + a13*a13 + a23*a23;
+        double p = Math.sqrt((b11*b11 + b22*b22 + b33*b33 + 2.0*p1)/6.0);
+        if (p == 0.0) {
+            values.a1 = values.a2 = values.a3 = q*scale;
+            return;
+        }
+
+        // r = det((A - q*I)/p)/2
+        double r = (b11*(b22*b33 - a23*a23) - a12*(a12*b33 - a23*a13) + a13*(a12*a23 - b22*a13))/(2.0*p*p*p);
+        r = Math.max(-1.0, Math.min(1.0, r));
+        double phi = Math.atan2(Math.sqrt(1.0 - r*r), r)/3.0;
+
+        double lambda1 = q + 2.0*p*Math.cos(phi);
+        double lambda3 = q + 2.0*p*Math.cos(phi + UtilEjml.PI2/3.0);
+        values.a1 = lambda1*scale;
+        values.a2 = (3.0*q - lambda1 - lambda3)*scale;
+        values.a3 = lambda3*scale;
+    }
+
+    /**
+     * Eigenvalue decomposition of a symmetric 3x3 matrix, A = V*D*V<sup>T</sup>. Eigenvalues are found using
+     * {@link #eigenvaluesSymm} and eigenvectors from the cross product of two rows of A - &lambda;I.
+     * If two eigenvalues are too close for the eigenvectors to be computed accurately this way, then
+     * {@link #eigenSymm} is used instead and the eigenvalues are not sorted. Only the upper triangle of 'A'
+     * is read.
+     *
+     * @param A (Input) Symmetric matrix. Not modified.
+     * @param values (Output) Eigenvalues in descending order.
+     * @param vectors (Output) Eigenvectors are stored in the columns. Can be the same as 'A'.
+     * @return true if successful
+     */
+    public static boolean eigenSymmAnalytic( DMatrix3x3 A, DMatrix3 values, DMatrix3x3 vectors ) {
+        eigenvaluesSymm(A, values);
+        double scale = Math.max(Math.abs(values.a1), Math.abs(values.a3));
+        if (values.a1 - values.a2 <= 1e-5*scale || values.a2 - values.a3 <= 1e-5*scale)
+            return eigenSymm(A, values, vectors);
+
+        double a11 = A.a11/scale, a12 = A.a12/scale, a13 = A.a13/scale;
+        double a22 = A.a22/scale, a23 = A.a23/scale, a33 = A.a33/scale;
+
+        // eigenvector of the largest eigenvalue
+        double lambda = values.a1/scale;
+        crossRows(a11 - lambda, a12, a13, a22 - lambda, a23, a33 - lambda, vectors, 1);
+        // eigenvector of the smallest eigenvalue
+        lambda = values.a3/scale;
+        crossRows(a11 - lambda, a12, a13, a22 - lambda, a23, a33 - lambda, vectors, 3);
+
+        // the remaining eigenvector is orthogonal to the other two
+        vectors.a12 = vectors.a23*vectors.a31 - vectors.a33*vectors.a21;
+        vectors.a22 = vectors.a33*vectors.a11 - vectors.a13*vectors.a31;
+        vectors.a32 = vectors.a13*vectors.a21 - vectors.a23*vectors.a11;
+        double norm = Math.sqrt(vectors.a12*vectors.a12 + vectors.a22*vectors.a22 + vectors.a32*vectors.a32);
+        vectors.a12 /= norm;
+        vectors.a22 /= norm;
+        vectors.a32 /= norm;
+        return !UtilEjml.isUncountable(norm);
+    }
+
+    /**
+     * Computes the cross product of each pair of rows in the symmetric matrix M, normalizes the one with the
+     * largest magnitude, and saves it in the specified column of 'vectors'.
+     */
+    private static void crossRows( double m11, double m12, double m13, double m22, double m23, double m33,
+                                   DMatrix3x3 vectors, int column ) {
+        // row 1 x row 2
+        double x1 = m12*m23 - m13*m22, y1 = m13*m12 - m11*m23, z1 = m11*m22 - m12*m12;
+        // row 1 x row 3
+        double x2 = m12*m33 - m13*m23, y2 = m13*m13 - m11*m33, z2 = m11*m23 - m12*m13;
+        // row 2 x row 3
+        double x3 = m22*m33 - m23*m23, y3 = m23*m13 - m12*m33, z3 = m12*m23 - m22*m13;
+
+        double n1 = x1*x1 + y1*y1 + z1*z1, n2 = x2*x2 + y2*y2 + z2*z2, n3 = x3*x3 + y3*y3 + z3*z3;
+        double x = x1, y = y1, z = z1, n = n1;
+        if (n2 > n) {
+            x = x2; y = y2; z = z2; n = n2;
+        }
+        if (n3 > n) {
+            x = x3; y = y3; z = z3; n = n3;
+        }
+        n = Math.sqrt(n);
+
+        if (column == 1) {
+            vectors.a11 = x/n; vectors.a21 = y/n; vectors.a31 = z/n;
+        } else {
+            vectors.a13 = x/n; vectors.a23 = y/n; vectors.a33 = z/n;
+        }
+    }
+
+    /**
+     * Singular value decomposition using the one-sided Jacobi method, A = U*W*V<sup>T</sup>. Orthogonal
+     * rotations are applied to the columns of A until they are orthogonal to each other. The singular values
+     * are not sorted. Columns of U which correspond to a singular value of zero are set to zero.
+     *
+     * @param A (Input) Matrix. Not modified.
+     * @param U (Output) Left singular vectors. Can be the same as 'A'.
+     * @param W (Output) Singular values.
+     * @param V (Output) Right singular vectors. Can't be the same as 'A' or 'U'.
+     * @return true if it converged
+     */
+    public static boolean svd( DMatrix3x3 A, DMatrix3x3 U, DMatrix3 W, DMatrix3x3 V ) {
+        U.a11 = A.a11;
+        U.a12 = A.a12;
+        U.a13 = A.a13;
+        U.a21 = A.a21;
+        U.a22 = A.a22;
+        U.a23 = A.a23;
+        U.a31 = A.a31;
+        U.a32 = A.a32;
+        U.a33 = A.a33;
+        CommonOps_DDF3.setIdentity(V);
+        double alpha, beta, gamma, zeta, t, c, s, tmp;
+        boolean converged = false;
+
+        for (int sweep = 0; sweep < 50 && !converged; sweep++) {
+            converged = true;
+
+            alpha = U.a11*U.a11 + U.a21*U.a21 + U.a31*U.a31;
+            beta = U.a12*U.a12 + U.a22*U.a22 + U.a32*U.a32;
+            gamma = U.a11*U.a12 + U.a21*U.a22 + U.a31*U.a32;
+            if (Math.abs(gamma) > UtilEjml.EPS*Math.sqrt(alpha*beta)) {
+                converged = false;
+                zeta = (beta - alpha)/(2.0*gamma);
+                t = 1.0/(Math.abs(zeta) + Math.sqrt(zeta*zeta + 1.0));
+                if (zeta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                tmp = U.a11;
+                U.a11 = c*tmp - s*U.a12;
+                U.a12 = s*tmp + c*U.a12;
+                tmp = U.a21;
+                U.a21 = c*tmp - s*U.a22;
+                U.a22 = s*tmp + c*U.a22;
+                tmp = U.a31;
+                U.a31 = c*tmp - s*U.a32;
+                U.a32 = s*tmp + c*U.a32;
+                tmp = V.a11;
+                V.a11 = c*tmp - s*V.a12;
+                V.a12 = s*tmp + c*V.a12;
+                tmp = V.a21;
+                V.a21 = c*tmp - s*V.a22;
+                V.a22 = s*tmp + c*V.a22;
+                tmp = V.a31;
+                V.a31 = c*tmp - s*V.a32;
+                V.a32 = s*tmp + c*V.a32;
+            }
+
+            alpha = U.a11*U.a11 + U.a21*U.a21 + U.a31*U.a31;
+            beta = U.a13*U.a13 + U.a23*U.a23 + U.a33*U.a33;
+            gamma = U.a11*U.a13 + U.a21*U.a23 + U.a31*U.a33;
+            if (Math.abs(gamma) > UtilEjml.EPS*Math.sqrt(alpha*beta)) {
+                converged = false;
+                zeta = (beta - alpha)/(2.0*gamma);
+                t = 1.0/(Math.abs(zeta) + Math.sqrt(zeta*zeta + 1.0));
+                if (zeta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                tmp = U.a11;
+                U.a11 = c*tmp - s*U.a13;
+                U.a13 = s*tmp + c*U.a13;
+                tmp = U.a21;
+                U.a21 = c*tmp - s*U.a23;
+                U.a23 = s*tmp + c*U.a23;
+                tmp = U.a31;
+                U.a31 = c*tmp - s*U.a33;
+                U.a33 = s*tmp + c*U.a33;
+                tmp = V.a11;
+                V.a11 = c*tmp - s*V.a13;
+                V.a13 = s*tmp + c*V.a13;
+                tmp = V.a21;
+                V.a21 = c*tmp - s*V.a23;
+                V.a23 = s*tmp + c*V.a23;
+                tmp = V.a31;
+                V.a31 = c*tmp - s*V.a33;
+                V.a33 = s*tmp + c*V.a33;
+            }
+
+            alpha = U.a12*U.a12 + U.a22*U.a22 + U.a32*U.a32;
+            beta = U.a13*U.a13 + U.a23*U.a23 + U.a33*U.a33;
+            gamma = U.a12*U.a13 + U.a22*U.a23 + U.a32*U.a33;
+            if (Math.abs(gamma) > UtilEjml.EPS*Math.sqrt(alpha*beta)) {
+                converged = false;
+                zeta = (beta - alpha)/(2.0*gamma);
+                t = 1.0/(Math.abs(zeta) + Math.sqrt(zeta*zeta + 1.0));
+                if (zeta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                tmp = U.a12;
+                U.a12 = c*tmp - s*U.a13;
+                U.a13 = s*tmp + c*U.a13;
+                tmp = U.a22;
+                U.a22 = c*tmp - s*U.a23;
+                U.a23 = s*tmp + c*U.a23;
+                tmp = U.a32;
+                U.a32 = c*tmp - s*U.a33;
+                U.a33 = s*tmp + c*U.a33;
+                tmp = V.a12;
+                V.a12 = c*tmp - s*V.a13;
+                V.a13 = s*tmp + c*V.a13;
+                tmp = V.a22;
+                V.a22 = c*tmp - s*V.a23;
+                V.a23 = s*tmp + c*V.a23;
+                tmp = V.a32;
+                V.a32 = c*tmp - s*V.a33;
+                V.a33 = s*tmp + c*V.a33;
+            }
+        }
+
+        // singular values are the norm of each column
+        double norm;
+        norm = Math.sqrt(U.a11*U.a11 + U.a21*U.a21 + U.a31*U.a31);
+        W.a1 = norm;
+        norm = norm == 0.0 ? 0.0 : 1.0/norm;
+        U.a11 *= norm;
+        U.a21 *= norm;
+        U.a31 *= norm;
+        norm = Math.sqrt(U.a12*U.a12 + U.a22*U.a22 + U.a32*U.a32);
+        W.a2 = norm;
+        norm = norm == 0.0 ? 0.0 : 1.0/norm;
+        U.a12 *= norm;
+        U.a22 *= norm;
+        U.a32 *= norm;
+        norm = Math.sqrt(U.a13*U.a13 + U.a23*U.a23 + U.a33*U.a33);
+        W.a3 = norm;
+        norm = norm == 0.0 ? 0.0 : 1.0/norm;
+        U.a13 *= norm;
+        U.a23 *= norm;
+        U.a33 *= norm;
+        return converged;
+    }
+}
@@ -0,0 +1,883 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.dense.fixed;
+
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrix4;
+import org.ejml.data.DMatrix4x4;
+
+import javax.annotation.Generated;
+
+/**
+ * <p>Decompositions and linear solvers for fixed sized matrices which are 4 x 4. Everything is
+ * unrolled and no memory is allocated. See {@link CommonOps_DDF4#cholL} and {@link CommonOps_DDF4#cholU}
+ * for Cholesky decomposition.</p>
+ *
+ * <p>DO NOT MODIFY. Automatically generated code created by GenerateDecompositionOps_DDF</p>
+ *
+ * @author Peter Abeles
+ */
+@Generated("org.ejml.dense.fixed.GenerateDecompositionOps_DDF")
+public class DecompositionOps_DDF4 {
+    /**
+     * Solves L*L<sup>T</sup>*x = b, where L is the output of {@link CommonOps_DDF4#cholL}.
+     *
+     * @param L (Input) Lower triangular matrix. Not modified.
+     * @param b (Input) Vector. Not modified.
+     * @param x (Output) Solution. Can be the same as 'b'.
+     */
+    public static void solveCholL( DMatrix4x4 L, DMatrix4 b, DMatrix4 x ) {
+        double x1 = b.a1/L.a11;
+        double x2 = (b.a2 - L.a21*x1)/L.a22;
+        double x3 = (b.a3 - L.a31*x1 - L.a32*x2)/L.a33;
+        double x4 = (b.a4 - L.a41*x1 - L.a42*x2 - L.a43*x3)/L.a44;
+        x4 = x4/L.a44;
+        x3 = (x3 - L.a43*x4)/L.a33;
+        x2 = (x2 - L.a32*x3 - L.a42*x4)/L.a22;
+        x1 = (x1 - L.a21*x2 - L.a31*x3 - L.a41*x4)/L.a11;
+        x.a1 = x1;
+        x.a2 = x2;
+        x.a3 = x3;
+        x.a4 = x4;
+    }
+
+    /**
+     * LU decomposition with partial pivoting. 'A' is replaced by L and U, where L has ones along its
+     * diagonal which are not saved. The row swaps are saved in 'pivots' where pivots[k] is the row which
+     * was swapped with row k at step k. P*A = L*U
+     *
+     * @param A (Input) Matrix. (Output) L and U.
+     * @param pivots (Output) Row swaps. Must have a length of at least 4.
+     * @return true if successful or false if the matrix is singular
+     */
+    public static boolean lu( DMatrix4x4 A, int[] pivots ) {
+        double max, tmp;
+        int p;
+
+        p = 1;
+        max = Math.abs(A.a11);
+        if (Math.abs(A.a21) > max) {
+            max = Math.abs(A.a21);
+            p = 2;
+        }
+        if (Math.abs(A.a31) > max) {
+            max = Math.abs(A.a31);
+            p = 3;
+        }
+        if (Math.abs(A.a41) > max) {
+            max = Math.abs(A.a41);
+            p = 4;
+        }
+        pivots[0] = p - 1;
+        switch (p) {
+            case 2:
+                tmp = A.a11; A.a11 = A.a21; A.a21 = tmp;
+                tmp = A.a12; A.a12 = A.a22; A.a22 = tmp;
+                tmp = A.a13; A.a13 = A.a23; A.a23 = tmp;
+                tmp = A.a14; A.a14 = A.a24; A.a24 = tmp;
+                break;
+            case 3:
+                tmp = A.a11; A.a11 = A.a31; A.a31 = tmp;
+                tmp = A.a12; A.a12 = A.a32; A.a32 = tmp;
+                tmp = A.a13; A.a13 = A.a33; A.a33 = tmp;
+                tmp = A.a14; A.a14 = A.a34; A.a34 = tmp;
+                break;
+            case 4:
+                tmp = A.a11; A.a11 = A.a41; A.a41 = tmp;
+                tmp = A.a12; A.a12 = A.a42; A.a42 = tmp;
+                tmp = A.a13; A.a13 = A.a43; A.a43 = tmp;
+                tmp = A.a14; A.a14 = A.a44; A.a44 = tmp;
+                break;
+        }
+        if (A.a11 == 0.0)
+            return false;
+        tmp = 1.0/A.a11;
+        A.a21 *= tmp;
+        A.a31 *= tmp;
+        A.a41 *= tmp;
+        A.a22 -= A.a21*A.a12;
+        A.a23 -= A.a21*A.a13;
+        A.a24 -= A.a21*A.a14;
+        A.a32 -= A.a31*A.a12;
+        A.a33 -= A.a31*A.a13;
+        A.a34 -= A.a31*A.a14;
+        A.a42 -= A.a41*A.a12;
+        A.a43 -= A.a41*A.a13;
+        A.a44 -= A.a41*A.a14;
+
+        p = 2;
+        max = Math.abs(A.a22);
+        if (Math.abs(A.a32) > max) {
+            max = Math.abs(A.a32);
+            p = 3;
+        }
+        if (Math.abs(A.a42) > max) {
+            max = Math.abs(A.a42);
+            p = 4;
+        }
+        pivots[1] = p - 1;
+        switch (p) {
+            case 3:
+                tmp = A.a21; A.a21 = A.a31; A.a31 = tmp;
+                tmp = A.a22; A.a22 = A.a32; A.a32 = tmp;
+                tmp = A.a23; A.a23 = A.a33; A.a33 = tmp;
+                tmp = A.a24; A.a24 = A.a34; A.a34 = tmp;
+                break;
+            case 4:
+                tmp = A.a21; A.a21 = A.a41; A.a41 = tmp;
+                tmp = A.a22; A.a22 = A.a42; A.a42 = tmp;
+                tmp = A.a23; A.a23 = A.a43; A.a43 = tmp;
+                tmp = A.a24; A.a24 = A.a44; A.a44 = tmp;
+                break;
+        }
+        if (A.a22 == 0.0)
+            return false;
+        tmp = 1.0/A.a22;
+        A.a32 *= tmp;
+        A.a42 *= tmp;
+        A.a33 -= A.a32*A.a23;
+        A.a34 -= A.a32*A.a24;
+        A.a43 -= A.a42*A.a23;
+        A.a44 -= A.a42*A.a24;
+
+        p = 3;
+        max = Math.abs(A.a33);
+        if (Math.abs(A.a43) > max) {
+            max = Math.abs(A.a43);
+            p = 4;
+        }
+        pivots[2] = p - 1;
+        switch (p) {
+            case 4:
+                tmp = A.a31; A.a31 = A.a41; A.a41 = tmp;
+                tmp = A.a32; A.a32 = A.a42; A.a42 = tmp;
+                tmp = A.a33; A.a33 = A.a43; A.a43 = tmp;
+                tmp = A.a34; A.a34 = A.a44; A.a44 = tmp;
+                break;
+        }
+        if (A.a33 == 0.0)
+            return false;
+        tmp = 1.0/A.a33;
+        A.a43 *= tmp;
+        A.a44 -= A.a43*A.a34;
+
+        pivots[3] = 3;
+        if (A.a44 == 0.0)
+            return false;
+        return !UtilEjml.isUncountable(A.a44);
+    }
+
+    /**
+     * Solves A*x = b using the output of {@link #lu}.
+     *
+     * @param LU (Input) Decomposed matrix. Not modified.
+     * @param pivots (Input) Row swaps. Not modified.
+     * @param b (Input) Vector. Not modified.
+     * @param x (Output) Solution. Can be the same as 'b'.
+     */
+    public static void solveLU( DMatrix4x4 LU, int[] pivots, DMatrix4 b, DMatrix4 x ) {
+        double x1 = b.a1, x2 = b.a2, x3 = b.a3, x4 = b.a4;
+        double tmp;
+        switch (pivots[0]) {
+            case 1: tmp = x1; x1 = x2; x2 = tmp; break;
+            case 2: tmp = x1; x1 = x3; x3 = tmp; break;
+            case 3: tmp = x1; x1 = x4; x4 = tmp; break;
+        }
+        switch (pivots[1]) {
+            case 2: tmp = x2; x2 = x3; x3 = tmp; break;
+            case 3: tmp = x2; x2 = x4; x4 = tmp; break;
+        }
+        switch (pivots[2]) {
+            case 3: tmp = x3; x3 = x4; x4 = tmp; break;
+        }
+        x2 -= LU.a21*x1;
+        x3 -= LU.a31*x1 + LU.a32*x2;
+        x4 -= LU.a41*x1 + LU.a42*x2 + LU.a43*x3;
+        x4 = x4/LU.a44;
+        x3 = (x3 - LU.a34*x4)/LU.a33;
+        x2 = (x2 - LU.a23*x3 - LU.a24*x4)/LU.a22;
+        x1 = (x1 - LU.a12*x2 - LU.a13*x3 - LU.a14*x4)/LU.a11;
+        x.a1 = x1;
+        x.a2 = x2;
+        x.a3 = x3;
+        x.a4 = x4;
+    }
+
+    /**
+     * QR decomposition using Householder reflectors, A = Q*R. Each reflector is scaled to avoid
+     * overflow and underflow.
+     *
+     * @param A (Input) Matrix. Not modified.
+     * @param Q (Output) Orthogonal matrix. Can't be the same as 'A' or 'R'.
+     * @param R (Output) Upper triangular matrix. Can be the same as 'A'.
+     */
+    public static void qr( DMatrix4x4 A, DMatrix4x4 Q, DMatrix4x4 R ) {
+        R.a11 = A.a11;
+        R.a12 = A.a12;
+        R.a13 = A.a13;
+        R.a14 = A.a14;
+        R.a21 = A.a21;
+        R.a22 = A.a22;
+        R.a23 = A.a23;
+        R.a24 = A.a24;
+        R.a31 = A.a31;
+        R.a32 = A.a32;
+        R.a33 = A.a33;
+        R.a34 = A.a34;
+        R.a41 = A.a41;
+        R.a42 = A.a42;
+        R.a43 = A.a43;
+        R.a44 = A.a44;
+        CommonOps_DDF4.setIdentity(Q);
+        double scale, norm, beta, s, u1, u2, u3, u4;
+
+        // Householder reflector for column 1
+        scale = Math.max(Math.abs(R.a11), Math.max(Math.abs(R.a21), Math.max(Math.abs(R.a31), Math.abs(R.a41))));
+        if (scale != 0.0) {
+            u1 = R.a11/scale;
+            u2 = R.a21/scale;
+            u3 = R.a31/scale;
+            u4 = R.a41/scale;
+            norm = Math.sqrt(u1*u1 + u2*u2 + u3*u3 + u4*u4);
+            if (u1 < 0.0)
+                norm = -norm;
+            u1 += norm;
+            beta = 1.0/(norm*u1);
+            R.a11 = -norm*scale;
+            R.a21 = 0.0;
+            R.a31 = 0.0;
+            R.a41 = 0.0;
+            s = beta*(u1*R.a12 + u2*R.a22 + u3*R.a32 + u4*R.a42);
+            R.a12 -= s*u1;
+            R.a22 -= s*u2;
+            R.a32 -= s*u3;
+            R.a42 -= s*u4;
+            s = beta*(u1*R.a13 + u2*R.a23 + u3*R.a33 + u4*R.a43);
+            R.a13 -= s*u1;
+            R.a23 -= s*u2;
+            R.a33 -= s*u3;
+            R.a43 -= s*u4;
+            s = beta*(u1*R.a14 + u2*R.a24 + u3*R.a34 + u4*R.a44);
+            R.a14 -= s*u1;
+            R.a24 -= s*u2;
+            R.a34 -= s*u3;
+            R.a44 -= s*u4;
+            s = beta*(Q.a11*u1 + Q.a12*u2 + Q.a13*u3 + Q.a14*u4);
+            Q.a11 -= s*u1;
+            Q.a12 -= s*u2;
+            Q.a13 -= s*u3;
+            Q.a14 -= s*u4;
+            s = beta*(Q.a21*u1 + Q.a22*u2 + Q.a23*u3 + Q.a24*u4);
+            Q.a21 -= s*u1;
+            Q.a22 -= s*u2;
+            Q.a23 -= s*u3;
+            Q.a24 -= s*u4;
+            s = beta*(Q.a31*u1 + Q.a32*u2 + Q.a33*u3 + Q.a34*u4);
+            Q.a31 -= s*u1;
+            Q.a32 -= s*u2;
+            Q.a33 -= s*u3;
+            Q.a34 -= s*u4;
+            s = beta*(Q.a41*u1 + Q.a42*u2 + Q.a43*u3 + Q.a44*u4);
+            Q.a41 -= s*u1;
+            Q.a42 -= s*u2;
+            Q.a43 -= s*u3;
+            Q.a44 -= s*u4;
+        }
+
+        // Householder reflector for column 2
+        scale = Math.max(Math.abs(R.a22), Math.max(Math.abs(R.a32), Math.abs(R.a42)));
+        if (scale != 0.0) {
+            u2 = R.a22/scale;
+            u3 = R.a32/scale;
+            u4 = R.a42/scale;
+            norm = Math.sqrt(u2*u2 + u3*u3 + u4*u4);
+            if (u2 < 0.0)
+                norm = -norm;
+            u2 += norm;
+            beta = 1.0/(norm*u2);
+            R.a22 = -norm*scale;
+            R.a32 = 0.0;
+            R.a42 = 0.0;
+            s = beta*(u2*R.a23 + u3*R.a33 + u4*R.a43);
+            R.a23 -= s*u2;
+            R.a33 -= s*u3;
+            R.a43 -= s*u4;
+            s = beta*(u2*R.a24 + u3*R.a34 + u4*R.a44);
+            R.a24 -= s*u2;
+            R.a34 -= s*u3;
+            R.a44 -= s*u4;
+            s = beta*(Q.a12*u2 + Q.a13*u3 + Q.a14*u4);
+            Q.a12 -= s*u2;
+            Q.a13 -= s*u3;
+            Q.a14 -= s*u4;
+            s = beta*(Q.a22*u2 + Q.a23*u3 + Q.a24*u4);
+            Q.a22 -= s*u2;
+            Q.a23 -= s*u3;
+            Q.a24 -= s*u4;
+            s = beta*(Q.a32*u2 + Q.a33*u3 + Q.a34*u4);
+            Q.a32 -= s*u2;
+            Q.a33 -= s*u3;
+            Q.a34 -= s*u4;
+            s = beta*(Q.a42*u2 + Q.a43*u3 + Q.a44*u4);
+            Q.a42 -= s*u2;
+            Q.a43 -= s*u3;
+            Q.a44 -= s*u4;
+        }
+
+        // Householder reflector for column 3
+        scale = Math.max(Math.abs(R.a33), Math.abs(R.a43));
+        if (scale != 0.0) {
+            u3 = R.a33/scale;
+            u4 = R.a43/scale;
+            norm = Math.sqrt(u3*u3 + u4*u4);
+            if (u3 < 0.0)
+                norm = -norm;
+            u3 += norm;
+            beta = 1.0/(norm*u3);
+            R.a33 = -norm*scale;
+            R.a43 = 0.0;
+            s = beta*(u3*R.a34 + u4*R.a44);
+            R.a34 -= s*u3;
+            R.a44 -= s*u4;
+            s = beta*(Q.a13*u3 + Q.a14*u4);
+            Q.a13 -= s*u3;
+            Q.a14 -= s*u4;
+            s = beta*(Q.a23*u3 + Q.a24*u4);
+            Q.a23 -= s*u3;
+            Q.a24 -= s*u4;
+            s = beta*(Q.a33*u3 + Q.a34*u4);
+            Q.a33 -= s*u3;
+            Q.a34 -= s*u4;
+            s = beta*(Q.a43*u3 + Q.a44*u4);
+            Q.a43 -= s*u3;
+            Q.a44 -= s*u4;
+        }
+    }
+
+    /**
+     * Eigenvalue decomposition of a symmetric matrix using the cyclic Jacobi method, A = V*D*V<sup>T</sup>.
+     * Only the upper triangle of 'A' is read. The eigenvalues are not sorted.
+     *
+     * @param A (Input) Symmetric matrix. Not modified.
+     * @param values (Output) Eigenvalues.
+     * @param vectors (Output) Eigenvectors are stored in the columns. Can be the same as 'A'.
+     * @return true if it converged
+     */
+    public static boolean eigenSymm( DMatrix4x4 A, DMatrix4 values, DMatrix4x4 vectors ) {
+        double m11 = A.a11;
+        double m12 = A.a12;
+        double m13 = A.a13;
+        double m14 = A.a14;
+        double m22 = A.a22;
+        double m23 = A.a23;
+        double m24 = A.a24;
+        double m33 = A.a33;
+        double m34 = A.a34;
+        double m44 = A.a44;
+        CommonOps_DDF4.setIdentity(vectors);
+        double theta, t, c, s, tmp;
+        boolean converged = false;
+
+        for (int sweep = 0; sweep < 50; sweep++) {
+            double off = m12*m12 + m13*m13 + m14*m14 + m23*m23 + m24*m24 + m34*m34;
+            double diag = m11*m11 + m22*m22 + m33*m33 + m44*m44;
+            if (off <= UtilEjml.EPS*UtilEjml.EPS*diag) {
+                converged = true;
+                break;
+            }
+
+            if (m12 != 0.0) {
+                theta = (m22 - m11)/(2.0*m12);
+                t = 1.0/(Math.abs(theta) + Math.sqrt(theta*theta + 1.0));
+                if (theta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                m11 -= t*m12;
+                m22 += t*m12;
+                m12 = 0.0;
+                tmp = m13;
+                m13 = c*tmp - s*m23;
+                m23 = s*tmp + c*m23;
+                tmp = m14;
+                m14 = c*tmp - s*m24;
+                m24 = s*tmp + c*m24;
+                tmp = vectors.a11;
+                vectors.a11 = c*tmp - s*vectors.a12;
+                vectors.a12 = s*tmp + c*vectors.a12;
+                tmp = vectors.a21;
+                vectors.a21 = c*tmp - s*vectors.a22;
+                vectors.a22 = s*tmp + c*vectors.a22;
+                tmp = vectors.a31;
+                vectors.a31 = c*tmp - s*vectors.a32;
+                vectors.a32 = s*tmp + c*vectors.a32;
+                tmp = vectors.a41;
+                vectors.a41 = c*tmp - s*vectors.a42;
+                vectors.a42 = s*tmp + c*vectors.a42;
+            }
+
+            if (m13 != 0.0) {
+                theta = (m33 - m11)/(2.0*m13);
+                t = 1.0/(Math.abs(theta) + Math.sqrt(theta*theta + 1.0));
+                if (theta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                m11 -= t*m13;
+                m33 += t*m13;
+                m13 = 0.0;
+                tmp = m12;
+                m12 = c*tmp - s*m23;
+                m23 = s*tmp + c*m23;
+                tmp = m14;
+                m14 = c*tmp - s*m34;
+                m34 = s*tmp + c*m34;
+                tmp = vectors.a11;
+                vectors.a11 = c*tmp - s*vectors.a13;
+                vectors.a13 = s*tmp + c*vectors.a13;
+                tmp = vectors.a21;
+                vectors.a21 = c*tmp - s*vectors.a23;
+                vectors.a23 = s*tmp + c*vectors.a23;
+                tmp = vectors.a31;
+                vectors.a31 = c*tmp - s*vectors.a33;
+                vectors.a33 = s*tmp + c*vectors.a33;
+                tmp = vectors.a41;
+                vectors.a41 = c*tmp - s*vectors.a43;
+                vectors.a43 = s*tmp + c*vectors.a43;
+            }
+
+            if (m14 != 0.0) {
+                theta = (m44 - m11)/(2.0*m14);
+                t = 1.0/(Math.abs(theta) + Math.sqrt(theta*theta + 1.0));
+                if (theta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                m11 -= t*m14;
+                m44 += t*m14;
+                m14 = 0.0;
+                tmp = m12;
+                m12 = c*tmp - s*m24;
+                m24 = s*tmp + c*m24;
+                tmp = m13;
+                m13 = c*tmp - s*m34;
+                m34 = s*tmp + c*m34;
+                tmp = vectors.a11;
+                vectors.a11 = c*tmp - s*vectors.a14;
+                vectors.a14 = s*tmp + c*vectors.a14;
+                tmp = vectors.a21;
+                vectors.a21 = c*tmp - s*vectors.a24;
+                vectors.a24 = s*tmp + c*vectors.a24;
+                tmp = vectors.a31;
+                vectors.a31 = c*tmp - s*vectors.a34;
+                vectors.a34 = s*tmp + c*vectors.a34;
+                tmp = vectors.a41;
+                vectors.a41 = c*tmp - s*vectors.a44;
+                vectors.a44 = s*tmp + c*vectors.a44;
+            }
+
+            if (m23 != 0.0) {
+                theta = (m33 - m22)/(2.0*m23);
+                t = 1.0/(Math.abs(theta) + Math.sqrt(theta*theta + 1.0));
+                if (theta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                m22 -= t*m23;
+                m33 += t*m23;
+                m23 = 0.0;
+                tmp = m12;
+                m12 = c*tmp - s*m13;
+                m13 = s*tmp + c*m13;
+                tmp = m24;
+                m24 = c*tmp - s*m34;
+                m34 = s*tmp + c*m34;
+                tmp = vectors.a12;
+                vectors.a12 = c*tmp - s*vectors.a13;
+                vectors.a13 = s*tmp + c*vectors.a13;
+                tmp = vectors.a22;
+                vectors.a22 = c*tmp - s*vectors.a23;
+                vectors.a23 = s*tmp + c*vectors.a23;
+                tmp = vectors.a32;
+                vectors.a32 = c*tmp - s*vectors.a33;
+                vectors.a33 = s*tmp + c*vectors.a33;
+                tmp = vectors.a42;
+                vectors.a42 = c*tmp - s*vectors.a43;
+                vectors.a43 = s*tmp + c*vectors.a43;
+            }
+
+            if (m24 != 0.0) {
+                theta = (m44 - m22)/(2.0*m24);
+                t = 1.0/(Math.abs(theta) + Math.sqrt(theta*theta + 1.0));
+                if (theta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                m22 -= t*m24;
+                m44 += t*m24;
+                m24 = 0.0;
+                tmp = m12;
+                m12 = c*tmp - s*m14;
+                m14 = s*tmp + c*m14;
+                tmp = m23;
+                m23 = c*tmp - s*m34;
+                m34 = s*tmp + c*m34;
+                tmp = vectors.a12;
+                vectors.a12 = c*tmp - s*vectors.a14;
+                vectors.a14 = s*tmp + c*vectors.a14;
+                tmp = vectors.a22;
+                vectors.a22 = c*tmp - s*vectors.a24;
+                vectors.a24 = s*tmp + c*vectors.a24;
+                tmp = vectors.a32;
+                vectors.a32 = c*tmp - s*vectors.a34;
+                vectors.a34 = s*tmp + c*vectors.a34;
+                tmp = vectors.a42;
+                vectors.a42 = c*tmp - s*vectors.a44;
+                vectors.a44 = s*tmp + c*vectors.a44;
+            }
+
+            if (m34 != 0.0) {
+                theta = (m44 - m33)/(2.0*m34);
+                t = 1.0/(Math.abs(theta) + Math.sqrt(theta*theta + 1.0));
+                if (theta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                m33 -= t*m34;
+                m44 += t*m34;
+                m34 = 0.0;
+                tmp = m13;
+                m13 = c*tmp - s*m14;
+                m14 = s*tmp + c*m14;
+                tmp = m23;
+                m23 = c*tmp - s*m24;
+                m24 = s*tmp + c*m24;
+                tmp = vectors.a13;
+                vectors.a13 = c*tmp - s*vectors.a14;
+                vectors.a14 = s*tmp + c*vectors.a14;
+                tmp = vectors.a23;
+                vectors.a23 = c*tmp - s*vectors.a24;
+                vectors.a24 = s*tmp + c*vectors.a24;
+                tmp = vectors.a33;
+                vectors.a33 = c*tmp - s*vectors.a34;
+                vectors.a34 = s*tmp + c*vectors.a34;
+                tmp = vectors.a43;
+                vectors.a43 = c*tmp - s*vectors.a44;
+                vectors.a44 = s*tmp + c*vectors.a44;
+            }
+        }
+
+        values.a1 = m11;
+        values.a2 = m22;
+        values.a3 = m33;
+        values.a4 = m44;
+        return converged;
+    }
+
+    /**
+     * Singular value decomposition using the one-sided Jacobi method, A = U*W*V<sup>T</sup>. Orthogonal
+     * rotations are applied to the columns of A until they are orthogonal to each other. The singular values
+     * are not sorted. Columns of U which correspond to a singular value of zero are set to zero.
+     *
+     * @param A (Input) Matrix. Not modified.
+     * @param U (Output) Left singular vectors. Can be the same as 'A'.
+     * @param W (Output) Singular values.
+     * @param V (Output) Right singular vectors. Can't be the same as 'A' or 'U'.
+     * @return true if it converged
+     */
+    public static boolean svd( DMatrix4x4 A, DMatrix4x4 U, DMatrix4 W, DMatrix4x4 V ) {
+        U.a11 = A.a11;
+        U.a12 = A.a12;
+        U.a13 = A.a13;
+        U.a14 = A.a14;
+        U.a21 = A.a21;
+        U.a22 = A.a22;
+        U.a23 = A.a23;
+        U.a24 = A.a24;
+        U.a31 = A.a31;
+        U.a32 = A.a32;
+        U.a33 = A.a33;
+        U.a34 = A.a34;
+        U.a41 = A.a41;
+        U.a42 = A.a42;
+        U.a43 = A.a43;
+        U.a44 = A.a44;
+        CommonOps_DDF4.setIdentity(V);
+        double alpha, beta, gamma, zeta, t, c, s, tmp;
+        boolean converged = false;
+
+        for (int sweep = 0; sweep < 50 && !converged; sweep++) {
+            converged = true;
+
+            alpha = U.a11*U.a11 + U.a21*U.a21 + U.a31*U.a31 + U.a41*U.a41;
+            beta = U.a12*U.a12 + U.a22*U.a22 + U.a32*U.a32 + U.a42*U.a42;
+            gamma = U.a11*U.a12 + U.a21*U.a22 + U.a31*U.a32 + U.a41*U.a42;
+            if (Math.abs(gamma) > UtilEjml.EPS*Math.sqrt(alpha*beta)) {
+                converged = false;
+                zeta = (beta - alpha)/(2.0*gamma);
+                t = 1.0/(Math.abs(zeta) + Math.sqrt(zeta*zeta + 1.0));
+                if (zeta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                tmp = U.a11;
+                U.a11 = c*tmp - s*U.a12;
+                U.a12 = s*tmp + c*U.a12;
+                tmp = U.a21;
+                U.a21 = c*tmp - s*U.a22;
+                U.a22 = s*tmp + c*U.a22;
+                tmp = U.a31;
+                U.a31 = c*tmp - s*U.a32;
+                U.a32 = s*tmp + c*U.a32;
+                tmp = U.a41;
+                U.a41 = c*tmp - s*U.a42;
+                U.a42 = s*tmp + c*U.a42;
+                tmp = V.a11;
+                V.a11 = c*tmp - s*V.a12;
+                V.a12 = s*tmp + c*V.a12;
+                tmp = V.a21;
+                V.a21 = c*tmp - s*V.a22;
+                V.a22 = s*tmp + c*V.a22;
+                tmp = V.a31;
+                V.a31 = c*tmp - s*V.a32;
+                V.a32 = s*tmp + c*V.a32;
+                tmp = V.a41;
+                V.a41 = c*tmp - s*V.a42;
+                V.a42 = s*tmp + c*V.a42;
+            }
+
+            alpha = U.a11*U.a11 + U.a21*U.a21 + U.a31*U.a31 + U.a41*U.a41;
+            beta = U.a13*U.a13 + U.a23*U.a23 + U.a33*U.a33 + U.a43*U.a43;
+            gamma = U.a11*U.a13 + U.a21*U.a23 + U.a31*U.a33 + U.a41*U.a43;
+            if (Math.abs(gamma) > UtilEjml.EPS*Math.sqrt(alpha*beta)) {
+                converged = false;
+                zeta = (beta - alpha)/(2.0*gamma);
+                t = 1.0/(Math.abs(zeta) + Math.sqrt(zeta*zeta + 1.0));
+                if (zeta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                tmp = U.a11;
+                U.a11 = c*tmp - s*U.a13;
+                U.a13 = s*tmp + c*U.a13;
+                tmp = U.a21;
+                U.a21 = c*tmp - s*U.a23;
+                U.a23 = s*tmp + c*U.a23;
+                tmp = U.a31;
+                U.a31 = c*tmp - s*U.a33;
+                U.a33 = s*tmp + c*U.a33;
+                tmp = U.a41;
+                U.a41 = c*tmp - s*U.a43;
+                U.a43 = s*tmp + c*U.a43;
+                tmp = V.a11;
+                V.a11 = c*tmp - s*V.a13;
+                V.a13 = s*tmp + c*V.a13;
+                tmp = V.a21;
+                V.a21 = c*tmp - s*V.a23;
+                V.a23 = s*tmp + c*V.a23;
+                tmp = V.a31;
+                V.a31 = c*tmp - s*V.a33;
+                V.a33 = s*tmp + c*V.a33;
+                tmp = V.a41;
+                V.a41 = c*tmp - s*V.a43;
+                V.a43 = s*tmp + c*V.a43;
+            }
+
+            alpha = U.a11*U.a11 + U.a21*U.a21 + U.a31*U.a31 + U.a41*U.a41;
+            beta = U.a14*U.a14 + U.a24*U.a24 + U.a34*U.a34 + U.a44*U.a44;
+            gamma = U.a11*U.a14 + U.a21*U.a24 + U.a31*U.a34 + U.a41*U.a44;
+            if (Math.abs(gamma) > UtilEjml.EPS*Math.sqrt(alpha*beta)) {
+                converged = false;
+                zeta = (beta - alpha)/(2.0*gamma);
+                t = 1.0/(Math.abs(zeta) + Math.sqrt(zeta*zeta + 1.0));
+                if (zeta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                tmp = U.a11;
+                U.a11 = c*tmp - s*U.a14;
+                U.a14 = s*tmp + c*U.a14;
+                tmp = U.a21;
+                U.a21 = c*tmp - s*U.a24;
+                U.a24 = s*tmp + c*U.a24;
+                tmp = U.a31;
+                U.a31 = c*tmp - s*U.a34;
+                U.a34 = s*tmp + c*U.a34;
+                tmp = U.a41;
+                U.a41 = c*tmp - s*U.a44;
+                U.a44 = s*tmp + c*U.a44;
+                tmp = V.a11;
+                V.a11 = c*tmp - s*V.a14;
+                V.a14 = s*tmp + c*V.a14;
+                tmp = V.a21;
+                V.a21 = c*tmp - s*V.a24;
+                V.a24 = s*tmp + c*V.a24;
+                tmp = V.a31;
+                V.a31 = c*tmp - s*V.a34;
+                V.a34 = s*tmp + c*V.a34;
+                tmp = V.a41;
+                V.a41 = c*tmp - s*V.a44;
+                V.a44 = s*tmp + c*V.a44;
+            }
+
+            alpha = U.a12*U.a12 + U.a22*U.a22 + U.a32*U.a32 + U.a42*U.a42;
+            beta = U.a13*U.a13 + U.a23*U.a23 + U.a33*U.a33 + U.a43*U.a43;
+            gamma = U.a12*U.a13 + U.a22*U.a23 + U.a32*U.a33 + U.a42*U.a43;
+            if (Math.abs(gamma) > UtilEjml.EPS*Math.sqrt(alpha*beta)) {
+                converged = false;
+                zeta = (beta - alpha)/(2.0*gamma);
+                t = 1.0/(Math.abs(zeta) + Math.sqrt(zeta*zeta + 1.0));
+                if (zeta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                tmp = U.a12;
+                U.a12 = c*tmp - s*U.a13;
+                U.a13 = s*tmp + c*U.a13;
+                tmp = U.a22;
+                U.a22 = c*tmp - s*U.a23;
+                U.a23 = s*tmp + c*U.a23;
+                tmp = U.a32;
+                U.a32 = c*tmp - s*U.a33;
+                U.a33 = s*tmp + c*U.a33;
+                tmp = U.a42;
+                U.a42 = c*tmp - s*U.a43;
+                U.a43 = s*tmp + c*U.a43;
+                tmp = V.a12;
+                V.a12 = c*tmp - s*V.a13;
+                V.a13 = s*tmp + c*V.a13;
+                tmp = V.a22;
+                V.a22 = c*tmp - s*V.a23;
+                V.a23 = s*tmp + c*V.a23;
+                tmp = V.a32;
+                V.a32 = c*tmp - s*V.a33;
+                V.a33 = s*tmp + c*V.a33;
+                tmp = V.a42;
+                V.a42 = c*tmp - s*V.a43;
+                V.a43 = s*tmp + c*V.a43;
+            }
+
+            alpha = U.a12*U.a12 + U.a22*U.a22 + U.a32*U.a32 + U.a42*U.a42;
+            beta = U.a14*U.a14 + U.a24*U.a24 + U.a34*U.a34 + U.a44*U.a44;
+            gamma = U.a12*U.a14 + U.a22*U.a24 + U.a32*U.a34 + U.a42*U.a44;
+            if (Math.abs(gamma) > UtilEjml.EPS*Math.sqrt(alpha*beta)) {
+                converged = false;
+                zeta = (beta - alpha)/(2.0*gamma);
+                t = 1.0/(Math.abs(zeta) + Math.sqrt(zeta*zeta + 1.0));
+                if (zeta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                tmp = U.a12;
+                U.a12 = c*tmp - s*U.a14;
+                U.a14 = s*tmp + c*U.a14;
+                tmp = U.a22;
+                U.a22 = c*tmp - s*U.a24;
+                U.a24 = s*tmp + c*U.a24;
+                tmp = U.a32;
+                U.a32 = c*tmp - s*U.a34;
+                U.a34 = s*tmp + c*U.a34;
+                tmp = U.a42;
+                U.a42 = c*tmp - s*U.a44;
+                U.a44 = s*tmp + c*U.a44;
+                tmp = V.a12;
+                V.a12 = c*tmp - s*V.a14;
+                V.a14 = s*tmp + c*V.a14;
+                tmp = V.a22;
+                V.a22 = c*tmp - s*V.a24;
+                V.a24 = s*tmp + c*V.a24;
+                tmp = V.a32;
+                V.a32 = c*tmp - s*V.a34;
+                V.a34 = s*tmp + c*V.a34;
+                tmp = V.a42;
+                V.a42 = c*tmp - s*V.a44;
+                V.a44 = s*tmp + c*V.a44;
+            }
+
+            alpha = U.a13*U.a13 + U.a23*U.a23 + U.a33*U.a33 + U.a43*U.a43;
+            beta = U.a14*U.a14 + U.a24*U.a24 + U.a34*U.a34 + U.a44*U.a44;
+            gamma = U.a13*U.a14 + U.a23*U.a24 + U.a33*U.a34 + U.a43*U.a44;
+            if (Math.abs(gamma) > UtilEjml.EPS*Math.sqrt(alpha*beta)) {
+                converged = false;
+                zeta = (beta - alpha)/(2.0*gamma);
+                t = 1.0/(Math.abs(zeta) + Math.sqrt(zeta*zeta + 1.0));
+                if (zeta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                tmp = U.a13;
+                U.a13 = c*tmp - s*U.a14;
+                U.a14 = s*tmp + c*U.a14;
+                tmp = U.a23;
+                U.a23 = c*tmp - s*U.a24;
+                U.a24 = s*tmp + c*U.a24;
+                tmp = U.a33;
+                U.a33 = c*tmp - s*U.a34;
+                U.a34 = s*tmp + c*U.a34;
+                tmp = U.a43;
+                U.a43 = c*tmp - s*U.a44;
+                U.a44 = s*tmp + c*U.a44;
+                tmp = V.a13;
+                V.a13 = c*tmp - s*V.a14;
+                V.a14 = s*tmp + c*V.a14;
+                tmp = V.a23;
+                V.a23 = c*tmp - s*V.a24;
+                V.a24 = s*tmp + c*V.a24;
+                tmp = V.a33;
+                V.a33 = c*tmp - s*V.a34;
+                V.a34 = s*tmp + c*V.a34;
+                tmp = V.a43;
+                V.a43 = c*tmp - s*V.a44;
+                V.a44 = s*tmp + c*V.a44;
+            }
+        }
+
+        // singular values are the norm of each column
+        double norm;
+        norm = Math.sqrt(U.a11*U.a11 + U.a21*U.a21 + U.a31*U.a31 + U.a41*U.a41);
+        W.a1 = norm;
+        norm = norm == 0.0 ? 0.0 : 1.0/norm;
+        U.a11 *= norm;
+        U.a21 *= norm;
+        U.a31 *= norm;
+        U.a41 *= norm;
+        norm = Math.sqrt(U.a12*U.a12 + U.a22*U.a22 + U.a32*U.a32 + U.a42*U.a42);
+        W.a2 = norm;
+        norm = norm == 0.0 ? 0.0 : 1.0/norm;
+        U.a12 *= norm;
+        U.a22 *= norm;
+        U.a32 *= norm;
+        U.a42 *= norm;
+        norm = Math.sqrt(U.a13*U.a13 + U.a23*U.a23 + U.a33*U.a33 + U.a43*U.a43);
+        W.a3 = norm;
+        norm = norm == 0.0 ? 0.0 : 1.0/norm;
+        U.a13 *= norm;
+        U.a23 *= norm;
+        U.a33 *= norm;
+        U.a43 *= norm;
+        norm = Math.sqrt(U.a14*U.a14 + U.a24*U.a24 + U.a34*U.a34 + U.a44*U.a44);
+        W.a4 = norm;
+        norm = norm == 0.0 ? 0.0 : 1.0/norm;
+        U.a14 *= norm;
+        U.a24 *= norm;
+        U.a34 *= norm;
+        U.a44 *= norm;
+        return converged;
+    }
+}
@@ -0,0 +1,2341 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.dense.fixed;
+
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrix6;
+import org.ejml.data.DMatrix6x6;
+
+import javax.annotation.Generated;
+
+/**
+ * <p>Decompositions and linear solvers for fixed sized matrices which are 6 x 6. Everything is
+ * unrolled and no memory is allocated. See {@link CommonOps_DDF6#cholL} and {@link CommonOps_DDF6#cholU}
+ * for Cholesky decomposition.</p>
+ *
+ * <p>DO NOT MODIFY. Automatically generated code created by GenerateDecompositionOps_DDF</p>
+ *
+ * @author Peter Abeles
+ */
+@Generated("org.ejml.dense.fixed.GenerateDecompositionOps_DDF")
+public class DecompositionOps_DDF6 {
+    /**
+     * Solves L*L<sup>T</sup>*x = b, where L is the output of {@link CommonOps_DDF6#cholL}.
+     *
+     * @param L (Input) Lower triangular matrix. Not modified.
+     * @param b (Input) Vector. Not modified.
+     * @param x (Output) Solution. Can be the same as 'b'.
+     */
+    public static void solveCholL( DMatrix6x6 L, DMatrix6 b, DMatrix6 x ) {
+        double x1 = b.a1/L.a11;
+        double x2 = (b.a2 - L.a21*x1)/L.a22;
+        double x3 = (b.a3 - L.a31*x1 - L.a32*x2)/L.a33;
+        double x4 = (b.a4 - L.a41*x1 - L.a42*x2 - L.a43*x3)/L.a44;
+        double x5 = (b.a5 - L.a51*x1 - L.a52*x2 - L.a53*x3 - L.a54*x4)/L.a55;
+        double x6 = (b.a6 - L.a61*x1 - L.a62*x2 - L.a63*x3 - L.a64*x4 - L.a65*x5)/L.a66;
+        x6 = x6/L.a66;
+        x5 = (x5 - L.a65*x6)/L.a55;
+        x4 = (x4 - L.a54*x5 - L.a64*x6)/L.a44;
+        x3 = (x3 - L.a43*x4 - L.a53*x5 - L.a63*x6)/L.a33;
+        x2 = (x2 - L.a32*x3 - L.a42*x4 - L.a52*x5 - L.a62*x6)/L.a22;
+        x1 = (x1 - L.a21*x2 - L.a31*x3 - L.a41*x4 - L.a51*x5 - L.a61*x6)/L.a11;
+        x.a1 = x1;
+        x.a2 = x2;
+        x.a3 = x3;
+        x.a4 = x4;
+        x.a5 = x5;
+        x.a6 = x6;
+    }
+
+    /**
+     * LU decomposition with partial pivoting. 'A' is replaced by L and U, where L has ones along its
+     * diagonal which are not saved. The row swaps are saved in 'pivots' where pivots[k] is the row which
+     * was swapped with row k at step k. P*A = L*U
+     *
+     * @param A (Input) Matrix. (Output) L and U.
+     * @param pivots (Output) Row swaps. Must have a length of at least 6.
+     * @return true if successful or false if the matrix is singular
+     */
+    public static boolean lu( DMatrix6x6 A, int[] pivots ) {
+        double max, tmp;
+        int p;
+
+        p = 1;
+        max = Math.abs(A.a11);
+        if (Math.abs(A.a21) > max) {
+            max = Math.abs(A.a21);
+            p = 2;
+        }
+        if (Math.abs(A.a31) > max) {
+            max = Math.abs(A.a31);
+            p = 3;
+        }
+        if (Math.abs(A.a41) > max) {
+            max = Math.abs(A.a41);
+            p = 4;
+        }
+        if (Math.abs(A.a51) > max) {
+            max = Math.abs(A.a51);
+            p = 5;
+        }
+        if (Math.abs(A.a61) > max) {
+            max = Math.abs(A.a61);
+            p = 6;
+        }
+        pivots[0] = p - 1;
+        switch (p) {
+            case 2:
+                tmp = A.a11; A.a11 = A.a21; A.a21 = tmp;
+                tmp = A.a12; A.a12 = A.a22; A.a22 = tmp;
+                tmp = A.a13; A.a13 = A.a23; A.a23 = tmp;
+                tmp = A.a14; A.a14 = A.a24; A.a24 = tmp;
+                tmp = A.a15; A.a15 = A.a25; A.a25 = tmp;
+                tmp = A.a16; A.a16 = A.a26; A.a26 = tmp;
+                break;
+            case 3:
+                tmp = A.a11; A.a11 = A.a31; A.a31 = tmp;
+                tmp = A.a12; A.a12 = A.a32; A.a32 = tmp;
+                tmp = A.a13; A.a13 = A.a33; A.a33 = tmp;
+                tmp = A.a14; A.a14 = A.a34; A.a34 = tmp;
+                tmp = A.a15; A.a15 = A.a35; A.a35 = tmp;
+                tmp = A.a16; A.a16 = A.a36; A.a36 = tmp;
+                break;
+            case 4:
+                tmp = A.a11; A.a11 = A.a41; A.a41 = tmp;
+                tmp = A.a12; A.a12 = A.a42; A.a42 = tmp;
+                tmp = A.a13; A.a13 = A.a43; A.a43 = tmp;
+                tmp = A.a14; A.a14 = A.a44; A.a44 = tmp;
+                tmp = A.a15; A.a15 = A.a45; A.a45 = tmp;
+                tmp = A.a16; A.a16 = A.a46; A.a46 = tmp;
+                break;
+            case 5:
+                tmp = A.a11; A.a11 = A.a51; A.a51 = tmp;
+                tmp = A.a12; A.a12 = A.a52; A.a52 = tmp;
+                tmp = A.a13; A.a13 = A.a53; A.a53 = tmp;
+                tmp = A.a14; A.a14 = A.a54; A.a54 = tmp;
+                tmp = A.a15; A.a15 = A.a55; A.a55 = tmp;
+                tmp = A.a16; A.a16 = A.a56; A.a56 = tmp;
+                break;
+            case 6:
+                tmp = A.a11; A.a11 = A.a61; A.a61 = tmp;
+                tmp = A.a12; A.a12 = A.a62; A.a62 = tmp;
+                tmp = A.a13; A.a13 = A.a63; A.a63 = tmp;
+                tmp = A.a14; A.a14 = A.a64; A.a64 = tmp;
+                tmp = A.a15; A.a15 = A.a65; A.a65 = tmp;
+                tmp = A.a16; A.a16 = A.a66; A.a66 = tmp;
+                break;
+        }
+        if (A.a11 == 0.0)
+            return false;
+        tmp = 1.0/A.a11;
+        A.a21 *= tmp;
+        A.a31 *= tmp;
+        A.a41 *= tmp;
+        A.a51 *= tmp;
+        A.a61 *= tmp;
+        A.a22 -= A.a21*A.a12;
+        A.a23 -= A.a21*A.a13;
+        A.a24 -= A.a21*A.a14;
+        A.a25 -= A.a21*A.a15;
+        A.a26 -= A.a21*A.a16;
+        A.a32 -= A.a31*A.a12;
+        A.a33 -= A.a31*A.a13;
+        A.a34 -= A.a31*A.a14;
+        A.a35 -= A.a31*A.a15;
+        A.a36 -= A.a31*A.a16;
+        A.a42 -= A.a41*A.a12;
+        A.a43 -= A.a41*A.a13;
+        A.a44 -= A.a41*A.a14;
+        A.a45 -= A.a41*A.a15;
+        A.a46 -= A.a41*A.a16;
+        A.a52 -= A.a51*A.a12;
+        A.a53 -= A.a51*A.a13;
+        A.a54 -= A.a51*A.a14;
+        A.a55 -= A.a51*A.a15;
+        A.a56 -= A.a51*A.a16;
+        A.a62 -= A.a61*A.a12;
+        A.a63 -= A.a61*A.a13;
+        A.a64 -= A.a61*A.a14;
+        A.a65 -= A.a61*A.a15;
+        A.a66 -= A.a61*A.a16;
+
+        p = 2;
+        max = Math.abs(A.a22);
+        if (Math.abs(A.a32) > max) {
+            max = Math.abs(A.a32);
+            p = 3;
+        }
+        if (Math.abs(A.a42) > max) {
+            max = Math.abs(A.a42);
+            p = 4;
+        }
+        if (Math.abs(A.a52) > max) {
+            max = Math.abs(A.a52);
+            p = 5;
+        }
+        if (Math.abs(A.a62) > max) {
+            max = Math.abs(A.a62);
+            p = 6;
+        }
+        pivots[1] = p - 1;
+        switch (p) {
+            case 3:
+                tmp = A.a21; A.a21 = A.a31; A.a31 = tmp;
+                tmp = A.a22; A.a22 = A.a32; A.a32 = tmp;
+                tmp = A.a23; A.a23 = A.a33; A.a33 = tmp;
+                tmp = A.a24; A.a24 = A.a34; A.a34 = tmp;
+                tmp = A.a25; A.a25 = A.a35; A.a35 = tmp;
+                tmp = A.a26; A.a26 = A.a36; A.a36 = tmp;
+                break;
+            case 4:
+                tmp = A.a21; A.a21 = A.a41; A.a41 = tmp;
+                tmp = A.a22; A.a22 = A.a42; A.a42 = tmp;
+                tmp = A.a23; A.a23 = A.a43; A.a43 = tmp;
+                tmp = A.a24; A.a24 = A.a44; A.a44 = tmp;
+                tmp = A.a25; A.a25 = A.a45; A.a45 = tmp;
+                tmp = A.a26; A.a26 = A.a46; A.a46 = tmp;
+                break;
+            case 5:
+                tmp = A.a21; A.a21 = A.a51; A.a51 = tmp;
+                tmp = A.a22; A.a22 = A.a52; A.a52 = tmp;
+                tmp = A.a23; A.a23 = A.a53; A.a53 = tmp;
+                tmp = A.a24; A.a24 = A.a54; A.a54 = tmp;
+                tmp = A.a25; A.a25 = A.a55; A.a55 = tmp;
+                tmp = A.a26; A.a26 = A.a56; A.a56 = tmp;
+                break;
+            case 6:
+                tmp = A.a21; A.a21 = A.a61; A.a61 = tmp;
+                tmp = A.a22; A.a22 = A.a62; A.a62 = tmp;
+                tmp = A.a23; A.a23 = A.a63; A.a63 = tmp;
+                tmp = A.a24; A.a24 = A.a64; A.a64 = tmp;
+                tmp = A.a25; A.a25 = A.a65; A.a65 = tmp;
+                tmp = A.a26; A.a26 = A.a66; A.a66 = tmp;
+                break;
+        }
+        if (A.a22 == 0.0)
+            return false;
+        tmp = 1.0/A.a22;
+        A.a32 *= tmp;
+        A.a42 *= tmp;
+        A.a52 *= tmp;
+        A.a62 *= tmp;
+        A.a33 -= A.a32*A.a23;
+        A.a34 -= A.a32*A.a24;
+        A.a35 -= A.a32*A.a25;
+        A.a36 -= A.a32*A.a26;
+        A.a43 -= A.a42*A.a23;
+        A.a44 -= A.a42*A.a24;
+        A.a45 -= A.a42*A.a25;
+        A.a46 -= A.a42*A.a26;
+        A.a53 -= A.a52*A.a23;
+        A.a54 -= A.a52*A.a24;
+        A.a55 -= A.a52*A.a25;
+        A.a56 -= A.a52*A.a26;
+        A.a63 -= A.a62*A.a23;
+        A.a64 -= A.a62*A.a24;
+        A.a65 -= A.a62*A.a25;
+        A.a66 -= A.a62*A.a26;
+
+        p = 3;
+        max = Math.abs(A.a33);
+        if (Math.abs(A.a43) > max) {
+            max = Math.abs(A.a43);
+            p = 4;
+        }
+        if (Math.abs(A.a53) > max) {
+            max = Math.abs(A.a53);
+            p = 5;
+        }
+        if (Math.abs(A.a63) > max) {
+            max = Math.abs(A.a63);
+            p = 6;
+        }
+        pivots[2] = p - 1;
+        switch (p) {
+            case 4:
+                tmp = A.a31; A.a31 = A.a41; A.a41 = tmp;
+                tmp = A.a32; A.a32 = A.a42; A.a42 = tmp;
+                tmp = A.a33; A.a33 = A.a43; A.a43 = tmp;
+                tmp = A.a34; A.a34 = A.a44; A.a44 = tmp;
+                tmp = A.a35; A.a35 = A.a45; A.a45 = tmp;
+                tmp = A.a36; A.a36 = A.a46; A.a46 = tmp;
+                break;
+            case 5:
+                tmp = A.a31; A.a31 = A.a51; A.a51 = tmp;
+                tmp = A.a32; A.a32 = A.a52; A.a52 = tmp;
+                tmp = A.a33; A.a33 = A.a53; A.a53 = tmp;
+                tmp = A.a34; A.a34 = A.a54; A.a54 = tmp;
+                tmp = A.a35; A.a35 = A.a55; A.a55 = tmp;
+                tmp = A.a36; A.a36 = A.a56; A.a56 = tmp;
+                break;
+            case 6:
+                tmp = A.a31; A.a31 = A.a61; A.a61 = tmp;
+                tmp = A.a32; A.a32 = A.a62; A.a62 = tmp;
+                tmp = A.a33; A.a33 = A.a63; A.a63 = tmp;
+                tmp = A.a34; A.a34 = A.a64; A.a64 = tmp;
+                tmp = A.a35; A.a35 = A.a65; A.a65 = tmp;
+                tmp = A.a36; A.a36 = A.a66; A.a66 = tmp;
+                break;
+        }
+        if (A.a33 == 0.0)
+            return false;
+        tmp = 1.0/A.a33;
+        A.a43 *= tmp;
+        A.a53 *= tmp;
+        A.a63 *= tmp;
+        A.a44 -= A.a43*A.a34;
+        A.a45 -= A.a43*A.a35;
+        A.a46 -= A.a43*A.a36;
+        A.a54 -= A.a53*A.a34;
+        A.a55 -= A.a53*A.a35;
+        A.a56 -= A.a53*A.a36;
+        A.a64 -= A.a63*A.a34;
+        A.a65 -= A.a63*A.a35;
+        A.a66 -= A.a63*A.a36;
+
+        p = 4;
+        max = Math.abs(A.a44);
+        if (Math.abs(A.a54) > max) {
+            max = Math.abs(A.a54);
+            p = 5;
+        }
+        if (Math.abs(A.a64) > max) {
+            max = Math.abs(A.a64);
+            p = 6;
+        }
+        pivots[3] = p - 1;
+        switch (p) {
+            case 5:
+                tmp = A.a41; A.a41 = A.a51; A.a51 = tmp;
+                tmp = A.a42; A.a42 = A.a52; A.a52 = tmp;
+                tmp = A.a43; A.a43 = A.a53; A.a53 = tmp;
+                tmp = A.a44; A.a44 = A.a54; A.a54 = tmp;
+                tmp = A.a45; A.a45 = A.a55; A.a55 = tmp;
+                tmp = A.a46; A.a46 = A.a56; A.a56 = tmp;
+                break;
+            case 6:
+                tmp = A.a41; A.a41 = A.a61; A.a61 = tmp;
+                tmp = A.a42; A.a42 = A.a62; A.a62 = tmp;
+                tmp = A.a43; A.a43 = A.a63; A.a63 = tmp;
+                tmp = A.a44; A.a44 = A.a64; A.a64 = tmp;
+                tmp = A.a45; A.a45 = A.a65; A.a65 = tmp;
+                tmp = A.a46; A.a46 = A.a66; A.a66 = tmp;
+                break;
+        }
+        if (A.a44 == 0.0)
+            return false;
+        tmp = 1.0/A.a44;
+        A.a54 *= tmp;
+        A.a64 *= tmp;
+        A.a55 -= A.a54*A.a45;
+        A.a56 -= A.a54*A.a46;
+        A.a65 -= A.a64*A.a45;
+        A.a66 -= A.a64*A.a46;
+
+        p = 5;
+        max = Math.abs(A.a55);
+        if (Math.abs(A.a65) > max) {
+            max = Math.abs(A.a65);
+            p = 6;
+        }
+        pivots[4] = p - 1;
+        switch (p) {
+            case 6:
+                tmp = A.a51; A.a51 = A.a61; A.a61 = tmp;
+                tmp = A.a52; A.a52 = A.a62; A.a62 = tmp;
+                tmp = A.a53; A.a53 = A.a63; A.a63 = tmp;
+                tmp = A.a54; A.a54 = A.a64; A.a64 = tmp;
+                tmp = A.a55; A.a55 = A.a65; A.a65 = tmp;
+                tmp = A.a56; A.a56 = A.a66; A.a66 = tmp;
+                break;
+        }
+        if (A.a55 == 0.0)
+            return false;
+        tmp = 1.0/A.a55;
+        A.a65 *= tmp;
+        A.a66 -= A.a65*A.a56;
+
+        pivots[5] = 5;
+        if (A.a66 == 0.0)
+            return false;
+        return !UtilEjml.isUncountable(A.a66);
+    }
+
+    /**
+     * Solves A*x = b using the output of {@link #lu}.
+     *
+     * @param LU (Input) Decomposed matrix. Not modified.
+     * @param pivots (Input) Row swaps. Not modified.
+     * @param b (Input) Vector. Not modified.
+     * @param x (Output) Solution. Can be the same as 'b'.
+     */
+    public static void solveLU( DMatrix6x6 LU, int[] pivots, DMatrix6 b, DMatrix6 x ) {
+        double x1 = b.a1, x2 = b.a2, x3 = b.a3, x4 = b.a4, x5 = b.a5, x6 = b.a6;
+        double tmp;
+        switch (pivots[0]) {
+            case 1: tmp = x1; x1 = x2; x2 = tmp; break;
+            case 2: tmp = x1; x1 = x3; x3 = tmp; break;
+            case 3: tmp = x1; x1 = x4; x4 = tmp; break;
+            case 4: tmp = x1; x1 = x5; x5 = tmp; break;
+            case 5: tmp = x1; x1 = x6; x6 = tmp; break;
+        }
+        switch (pivots[1]) {
+            case 2: tmp = x2; x2 = x3; x3 = tmp; break;
+            case 3: tmp = x2; x2 = x4; x4 = tmp; break;
+            case 4: tmp = x2; x2 = x5; x5 = tmp; break;
+            case 5: tmp = x2; x2 = x6; x6 = tmp; break;
+        }
+        switch (pivots[2]) {
+            case 3: tmp = x3; x3 = x4; x4 = tmp; break;
+            case 4: tmp = x3; x3 = x5; x5 = tmp; break;
+            case 5: tmp = x3; x3 = x6; x6 = tmp; break;
+        }
+        switch (pivots[3]) {
+            case 4: tmp = x4; x4 = x5; x5 = tmp; break;
+            case 5: tmp = x4; x4 = x6; x6 = tmp; break;
+        }
+        switch (pivots[4]) {
+            case 5: tmp = x5; x5 = x6; x6 = tmp; break;
+        }
+        x2 -= LU.a21*x1;
+        x3 -= LU.a31*x1 + LU.a32*x2;
+        x4 -= LU.a41*x1 + LU.a42*x2 + LU.a43*x3;
+        x5 -= LU.a51*x1 + LU.a52*x2 + LU.a53*x3 + LU.a54*x4;
+        x6 -= LU.a61*x1 + LU.a62*x2 + LU.a63*x3 + LU.a64*x4 + LU.a65*x5;
+        x6 = x6/LU.a66;
+        x5 = (x5 - LU.a56*x6)/LU.a55;
+        x4 = (x4 - LU.a45*x5 - LU.a46*x6)/LU.a44;
+        x3 = (x3 - LU.a34*x4 - LU.a35*x5 - LU.a36*x6)/LU.a33;
+        x2 = (x2 - LU.a23*x3 - LU.a24*x4 - LU.a25*x5 - LU.a26*x6)/LU.a22;
+        x1 = (x1 - LU.a12*x2 - LU.a13*x3 - LU.a14*x4 - LU.a15*x5 - LU.a16*x6)/LU.a11;
+        x.a1 = x1;
+        x.a2 = x2;
+        x.a3 = x3;
+        x.a4 = x4;
+        x.a5 = x5;
+        x.a6 = x6;
+    }
+
+    /**
+     * QR decomposition using Householder reflectors, A = Q*R. Each reflector is scaled to avoid
+     * overflow and underflow.
+     *
+     * @param A (Input) Matrix. Not modified.
+     * @param Q (Output) Orthogonal matrix. Can't be the same as 'A' or 'R'.
+     * @param R (Output) Upper triangular matrix. Can be the same as 'A'.
+     */
+    public static void qr( DMatrix6x6 A, DMatrix6x6 Q, DMatrix6x6 R ) {
+        R.a11 = A.a11;
+        R.a12 = A.a12;
+        R.a13 = A.a13;
+        R.a14 = A.a14;
+        R.a15 = A.a15;
+        R.a16 = A.a16;
+        R.a21 = A.a21;
+        R.a22 = A.a22;
+        R.a23 = A.a23;
+        R.a24 = A.a24;
+        R.a25 = A.a25;
+        R.a26 = A.a26;
+        R.a31 = A.a31;
+        R.a32 = A.a32;
+        R.a33 = A.a33;
+        R.a34 = A.a34;
+        R.a35 = A.a35;
+        R.a36 = A.a36;
+        R.a41 = A.a41;
+        R.a42 = A.a42;
+        R.a43 = A.a43;
+        R.a44 = A.a44;
+        R.a45 = A.a45;
+        R.a46 = A.a46;
+        R.a51 = A.a51;
+        R.a52 = A.a52;
+        R.a53 = A.a53;
+        R.a54 = A.a54;
+        R.a55 = A.a55;
+        R.a56 = A.a56;
+        R.a61 = A.a61;
+        R.a62 = A.a62;
+        R.a63 = A.a63;
+        R.a64 = A.a64;
+        R.a65 = A.a65;
+        R.a66 = A.a66;
+        CommonOps_DDF6.setIdentity(Q);
+        double scale, norm, beta, s, u1, u2, u3, u4, u5, u6;
+
+        // Householder reflector for column 1
+        scale = Math.max(Math.abs(R.a11), Math.max(Math.abs(R.a21), Math.max(Math.abs(R.a31), Math.max(Math.abs(R.a41), Math.max(Math.abs(R.a51), Math.abs(R.a61))))));
+        if (scale != 0.0) {
+            u1 = R.a11/scale;
+            u2 = R.a21/scale;
+            u3 = R.a31/scale;
+            u4 = R.a41/scale;
+            u5 = R.a51/scale;
+            u6 = R.a61/scale;
+            norm = Math.sqrt(u1*u1 + u2*u2 + u3*u3 + u4*u4 + u5*u5 + u6*u6);
+            if (u1 < 0.0)
+                norm = -norm;
+            u1 += norm;
+            beta = 1.0/(norm*u1);
+            R.a11 = -norm*scale;
+            R.a21 = 0.0;
+            R.a31 = 0.0;
+            R.a41 = 0.0;
+            R.a51 = 0.0;
+            R.a61 = 0.0;
+            s = beta*(u1*R.a12 + u2*R.a22 + u3*R.a32 + u4*R.a42 + u5*R.a52 + u6*R.a62);
+            R.a12 -= s*u1;
+            R.a22 -= s*u2;
+            R.a32 -= s*u3;
+            R.a42 -= s*u4;
+            R.a52 -= s*u5;
+            R.a62 -= s*u6;
+            s = beta*(u1*R.a13 + u2*R.a23 + u3*R.a33 + u4*R.a43 + u5*R.a53 + u6*R.a63);
+            R.a13 -= s*u1;
+            R.a23 -= s*u2;
+            R.a33 -= s*u3;
+            R.a43 -= s*u4;
+            R.a53 -= s*u5;
+            R.a63 -= s*u6;
+            s = beta*(u1*R.a14 + u2*R.a24 + u3*R.a34 + u4*R.a44 + u5*R.a54 + u6*R.a64);
+            R.a14 -= s*u1;
+            R.a24 -= s*u2;
+            R.a34 -= s*u3;
+            R.a44 -= s*u4;
+            R.a54 -= s*u5;
+            R.a64 -= s*u6;
+            s = beta*(u1*R.a15 + u2*R.a25 + u3*R.a35 + u4*R.a45 + u5*R.a55 + u6*R.a65);
+            R.a15 -= s*u1;
+            R.a25 -= s*u2;
+            R.a35 -= s*u3;
+            R.a45 -= s*u4;
+            R.a55 -= s*u5;
+            R.a65 -= s*u6;
+            s = beta*(u1*R.a16 + u2*R.a26 + u3*R.a36 + u4*R.a46 + u5*R.a56 + u6*R.a66);
+            R.a16 -= s*u1;
+            R.a26 -= s*u2;
+            R.a36 -= s*u3;
+            R.a46 -= s*u4;
+            R.a56 -= s*u5;
+            R.a66 -= s*u6;
+            s = beta*(Q.a11*u1 + Q.a12*u2 + Q.a13*u3 + Q.a14*u4 + Q.a15*u5 + Q.a16*u6);
+            Q.a11 -= s*u1;
+            Q.a12 -= s*u2;
+            Q.a13 -= s*u3;
+            Q.a14 -= s*u4;
+            Q.a15 -= s*u5;
+            Q.a16 -= s*u6;
+            s = beta*(Q.a21*u1 + Q.a22*u2 + Q.a23*u3 + Q.a24*u4 + Q.a25*u5 + Q.a26*u6);
+            Q.a21 -= s*u1;
+            Q.a22 -= s*u2;
+            Q.a23 -= s*u3;
+            Q.a24 -= s*u4;
+            Q.a25 -= s*u5;
+            Q.a26 -= s*u6;
+            s = beta*(Q.a31*u1 + Q.a32*u2 + Q.a33*u3 + Q.a34*u4 + Q.a35*u5 + Q.a36*u6);
+            Q.a31 -= s*u1;
+            Q.a32 -= s*u2;
+            Q.a33 -= s*u3;
+            Q.a34 -= s*u4;
+            Q.a35 -= s*u5;
+            Q.a36 -= s*u6;
+            s = beta*(Q.a41*u1 + Q.a42*u2 + Q.a43*u3 + Q.a44*u4 + Q.a45*u5 + Q.a46*u6);
+            Q.a41 -= s*u1;
+            Q.a42 -= s*u2;
+            Q.a43 -= s*u3;
+            Q.a44 -= s*u4;
+            Q.a45 -= s*u5;
+            Q.a46 -= s*u6;
+            s = beta*(Q.a51*u1 + Q.a52*u2 + Q.a53*u3 + Q.a54*u4 + Q.a55*u5 + Q.a56*u6);
+            Q.a51 -= s*u1;
+            Q.a52 -= s*u2;
+            Q.a53 -= s*u3;
+            Q.a54 -= s*u4;
+            Q.a55 -= s*u5;
+            Q.a56 -= s*u6;
+            s = beta*(Q.a61*u1 + Q.a62*u2 + Q.a63*u3 + Q.a64*u4 + Q.a65*u5 + Q.a66*u6);
+            Q.a61 -= s*u1;
+            Q.a62 -= s*u2;
+            Q.a63 -= s*u3;
+            Q.a64 -= s*u4;
+            Q.a65 -= s*u5;
+            Q.a66 -= s*u6;
+        }
+
+        // Householder reflector for column 2
+        scale = Math.max(Math.abs(R.a22), Math.max(Math.abs(R.a32), Math.max(Math.abs(R.a42), Math.max(Math.abs(R.a52), Math.abs(R.a62)))));
+        if (scale != 0.0) {
+            u2 = R.a22/scale;
+            u3 = R.a32/scale;
+            u4 = R.a42/scale;
+            u5 = R.a52/scale;
+            u6 = R.a62/scale;
+            norm = Math.sqrt(u2*u2 + u3*u3 + u4*u4 + u5*u5 + u6*u6);
+            if (u2 < 0.0)
+                norm = -norm;
+            u2 += norm;
+            beta = 1.0/(norm*u2);
+            R.a22 = -norm*scale;
+            R.a32 = 0.0;
+            R.a42 = 0.0;
+            R.a52 = 0.0;
+            R.a62 = 0.0;
+            s = beta*(u2*R.a23 + u3*R.a33 + u4*R.a43 + u5*R.a53 + u6*R.a63);
+            R.a23 -= s*u2;
+            R.a33 -= s*u3;
+            R.a43 -= s*u4;
+            R.a53 -= s*u5;
+            R.a63 -= s*u6;
+            s = beta*(u2*R.a24 + u3*R.a34 + u4*R.a44 + u5*R.a54 + u6*R.a64);
+            R.a24 -= s*u2;
+            R.a34 -= s*u3;
+            R.a44 -= s*u4;
+            R.a54 -= s*u5;
+            R.a64 -= s*u6;
+            s = beta*(u2*R.a25 + u3*R.a35 + u4*R.a45 + u5*R.a55 + u6*R.a65);
+            R.a25 -= s*u2;
+            R.a35 -= s*u3;
+            R.a45 -= s*u4;
+            R.a55 -= s*u5;
+            R.a65 -= s*u6;
+            s = beta*(u2*R.a26 + u3*R.a36 + u4*R.a46 + u5*R.a56 + u6*R.a66);
+            R.a26 -= s*u2;
+            R.a36 -= s*u3;
+            R.a46 -= s*u4;
+            R.a56 -= s*u5;
+            R.a66 -= s*u6;
+            s = beta*(Q.a12*u2 + Q.a13*u3 + Q.a14*u4 + Q.a15*u5 + Q.a16*u6);
+            Q.a12 -= s*u2;
+            Q.a13 -= s*u3;
+            Q.a14 -= s*u4;
+            Q.a15 -= s*u5;
+            Q.a16 -= s*u6;
+            s = beta*(Q.a22*u2 + Q.a23*u3 + Q.a24*u4 + Q.a25*u5 + Q.a26*u6);
+            Q.a22 -= s*u2;
+            Q.a23 -= s*u3;
+            Q.a24 -= s*u4;
+            Q.a25 -= s*u5;
+            Q.a26 -= s*u6;
+            s = beta*(Q.a32*u2 + Q.a33*u3 + Q.a34*u4 + Q.a35*u5 + Q.a36*u6);
+            Q.a32 -= s*u2;
+            Q.a33 -= s*u3;
+            Q.a34 -= s*u4;
+            Q.a35 -= s*u5;
+            Q.a36 -= s*u6;
+            s = beta*(Q.a42*u2 + Q.a43*u3 + Q.a44*u4 + Q.a45*u5 + Q.a46*u6);
+            Q.a42 -= s*u2;
+            Q.a43 -= s*u3;
+            Q.a44 -= s*u4;
+            Q.a45 -= s*u5;
+            Q.a46 -= s*u6;
+            s = beta*(Q.a52*u2 + Q.a53*u3 + Q.a54*u4 + Q.a55*u5 + Q.a56*u6);
+            Q.a52 -= s*u2;
+            Q.a53 -= s*u3;
+            Q.a54 -= s*u4;
+            Q.a55 -= s*u5;
+            Q.a56 -= s*u6;
+            s = beta*(Q.a62*u2 + Q.a63*u3 + Q.a64*u4 + Q.a65*u5 + Q.a66*u6);
+            Q.a62 -= s*u2;
+            Q.a63 -= s*u3;
+            Q.a64 -= s*u4;
+            Q.a65 -= s*u5;
+            Q.a66 -= s*u6;
+        }
+
+        // Householder reflector for column 3
+        scale = Math.max(Math.abs(R.a33), Math.max(Math.abs(R.a43), Math.max(Math.abs(R.a53), Math.abs(R.a63))));
+        if (scale != 0.0) {
+            u3 = R.a33/scale;
+            u4 = R.a43/scale;
+            u5 = R.a53/scale;
+            u6 = R.a63/scale;
+            norm = Math.sqrt(u3*u3 + u4*u4 + u5*u5 + u6*u6);
+            if (u3 < 0.0)
+                norm = -norm;
+            u3 += norm;
+            beta = 1.0/(norm*u3);
+            R.a33 = -norm*scale;
+            R.a43 = 0.0;
+            R.a53 = 0.0;
+            R.a63 = 0.0;
+            s = beta*(u3*R.a34 + u4*R.a44 + u5*R.a54 + u6*R.a64);
+            R.a34 -= s*u3;
+            R.a44 -= s*u4;
+            R.a54 -= s*u5;
+            R.a64 -= s*u6;
+            s = beta*(u3*R.a35 + u4*R.a45 + u5*R.a55 + u6*R.a65);
+            R.a35 -= s*u3;
+            R.a45 -= s*u4;
+            R.a55 -= s*u5;
+            R.a65 -= s*u6;
+            s = beta*(u3*R.a36 + u4*R.a46 + u5*R.a56 + u6*R.a66);
+            R.a36 -= s*u3;
+            R.a46 -= s*u4;
+            R.a56 -= s*u5;
+            R.a66 -= s*u6;
+            s = beta*(Q.a13*u3 + Q.a14*u4 + Q.a15*u5 + Q.a16*u6);
+            Q.a13 -= s*u3;
+            Q.a14 -= s*u4;
+            Q.a15 -= s*u5;
+            Q.a16 -= s*u6;
+            s = beta*(Q.a23*u3 + Q.a24*u4 + Q.a25*u5 + Q.a26*u6);
+            Q.a23 -= s*u3;
+            Q.a24 -= s*u4;
+            Q.a25 -= s*u5;
+            Q.a26 -= s*u6;
+            s = beta*(Q.a33*u3 + Q.a34*u4 + Q.a35*u5 + Q.a36*u6);
+            Q.a33 -= s*u3;
+            Q.a34 -= s*u4;
+            Q.a35 -= s*u5;
+            Q.a36 -= s*u6;
+            s = beta*(Q.a43*u3 + Q.a44*u4 + Q.a45*u5 + Q.a46*u6);
+            Q.a43 -= s*u3;
+            Q.a44 -= s*u4;
+            Q.a45 -= s*u5;
+            Q.a46 -= s*u6;
+            s = beta*(Q.a53*u3 + Q.a54*u4 + Q.a55*u5 + Q.a56*u6);
+            Q.a53 -= s*u3;
+            Q.a54 -= s*u4;
+            Q.a55 -= s*u5;
+            Q.a56 -= s*u6;
+            s = beta*(Q.a63*u3 + Q.a64*u4 + Q.a65*u5 + Q.a66*u6);
+            Q.a63 -= s*u3;
+            Q.a64 -= s*u4;
+            Q.a65 -= s*u5;
+            Q.a66 -= s*u6;
+        }
+
+        // Householder reflector for column 4
+        scale = Math.max(Math.abs(R.a44), Math.max(Math.abs(R.a54), Math.abs(R.a64)));
+        if (scale != 0.0) {
+            u4 = R.a44/scale;
+            u5 = R.a54/scale;
+            u6 = R.a64/scale;
+            norm = Math.sqrt(u4*u4 + u5*u5 + u6*u6);
+            if (u4 < 0.0)
+                norm = -norm;
+            u4 += norm;
+            beta = 1.0/(norm*u4);
+            R.a44 = -norm*scale;
+            R.a54 = 0.0;
+            R.a64 = 0.0;
+            s = beta*(u4*R.a45 + u5*R.a55 + u6*R.a65);
+            R.a45 -= s*u4;
+            R.a55 -= s*u5;
+            R.a65 -= s*u6;
+            s = beta*(u4*R.a46 + u5*R.a56 + u6*R.a66);
+            R.a46 -= s*u4;
+            R.a56 -= s*u5;
+            R.a66 -= s*u6;
+            s = beta*(Q.a14*u4 + Q.a15*u5 + Q.a16*u6);
+            Q.a14 -= s*u4;
+            Q.a15 -= s*u5;
+            Q.a16 -= s*u6;
+            s = beta*(Q.a24*u4 + Q.a25*u5 + Q.a26*u6);
+            Q.a24 -= s*u4;
+            Q.a25 -= s*u5;
+            Q.a26 -= s*u6;
+            s = beta*(Q.a34*u4 + Q.a35*u5 + Q.a36*u6);
+            Q.a34 -= s*u4;
+            Q.a35 -= s*u5;
+            Q.a36 -= s*u6;
+            s = beta*(Q.a44*u4 + Q.a45*u5 + Q.a46*u6);
+            Q.a44 -= s*u4;
+            Q.a45 -= s*u5;
+            Q.a46 -= s*u6;
+            s = beta*(Q.a54*u4 + Q.a55*u5 + Q.a56*u6);
+            Q.a54 -= s*u4;
+            Q.a55 -= s*u5;
+            Q.a56 -= s*u6;
+            s = beta*(Q.a64*u4 + Q.a65*u5 + Q.a66*u6);
+            Q.a64 -= s*u4;
+            Q.a65 -= s*u5;
+            Q.a66 -= s*u6;
+        }
+
+        // Householder reflector for column 5
+        scale = Math.max(Math.abs(R.a55), Math.abs(R.a65));
+        if (scale != 0.0) {
+            u5 = R.a55/scale;
+            u6 = R.a65/scale;
+            norm = Math.sqrt(u5*u5 + u6*u6);
+            if (u5 < 0.0)
+                norm = -norm;
+            u5 += norm;
+            beta = 1.0/(norm*u5);
+            R.a55 = -norm*scale;
+            R.a65 = 0.0;
+            s = beta*(u5*R.a56 + u6*R.a66);
+            R.a56 -= s*u5;
+            R.a66 -= s*u6;
+            s = beta*(Q.a15*u5 + Q.a16*u6);
+            Q.a15 -= s*u5;
+            Q.a16 -= s*u6;
+            s = beta*(Q.a25*u5 + Q.a26*u6);
+            Q.a25 -= s*u5;
+            Q.a26 -= s*u6;
+            s = beta*(Q.a35*u5 + Q.a36*u6);
+            Q.a35 -= s*u5;
+            Q.a36 -= s*u6;
+            s = beta*(Q.a45*u5 + Q.a46*u6);
+            Q.a45 -= s*u5;
+            Q.a46 -= s*u6;
+            s = beta*(Q.a55*u5 + Q.a56*u6);
+            Q.a55 -= s*u5;
+            Q.a56 -= s*u6;
+            s = beta*(Q.a65*u5 + Q.a66*u6);
+            Q.a65 -= s*u5;
+            Q.a66 -= s*u6;
+        }
+    }
+
+    /**
+     * Eigenvalue decomposition of a symmetric matrix using the cyclic Jacobi method, A = V*D*V<sup>T</sup>.
+     * Only the upper triangle of 'A' is read. The eigenvalues are not sorted.
+     *
+     * @param A (Input) Symmetric matrix. Not modified.
+     * @param values (Output) Eigenvalues.
+     * @param vectors (Output) Eigenvectors are stored in the columns. Can be the same as 'A'.
+     * @return true if it converged
+     */
+    public static boolean eigenSymm( DMatrix6x6 A, DMatrix6 values, DMatrix6x6 vectors ) {
+        double m11 = A.a11;
+        double m12 = A.a12;
+        double m13 = A.a13;
+        double m14 = A.a14;
+        double m15 = A.a15;
+        double m16 = A.a16;
+        double m22 = A.a22;
+        double m23 = A.a23;
+        double m24 = A.a24;
+        double m25 = A.a25;
+        double m26 = A.a26;
+        double m33 = A.a33;
+        double m34 = A.a34;
+        double m35 = A.a35;
+        double m36 = A.a36;
+        double m44 = A.a44;
+        double m45 = A.a45;
+        double m46 = A.a46;
+        double m55 = A.a55;
+        double m56 = A.a56;
+        double m66 = A.a66;
+        CommonOps_DDF6.setIdentity(vectors);
+        double theta, t, c, s, tmp;
+        boolean converged = false;
+
+        for (int sweep = 0; sweep < 50; sweep++) {
+            double off = m12*m12 + m13*m13 + m14*m14 + m15*m15 + m16*m16 + m23*m23 + m24*m24 + m25*m25 + m26*m26 + m34*m34 + m35*m35 + m36*m36 + m45*m45 + m46*m46 + m56*m56;
+            double diag = m11*m11 + m22*m22 + m33*m33 + m44*m44 + m55*m55 + m66*m66;
+            if (off <= UtilEjml.EPS*UtilEjml.EPS*diag) {
+                converged = true;
+                break;
+            }
+
+            if (m12 != 0.0) {
+                theta = (m22 - m11)/(2.0*m12);
+                t = 1.0/(Math.abs(theta) + Math.sqrt(theta*theta + 1.0));
+                if (theta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                m11 -= t*m12;
+                m22 += t*m12;
+                m12 = 0.0;
+                tmp = m13;
+                m13 = c*tmp - s*m23;
+                m23 = s*tmp + c*m23;
+                tmp = m14;
+                m14 = c*tmp - s*m24;
+                m24 = s*tmp + c*m24;
+                tmp = m15;
+                m15 = c*tmp - s*m25;
+                m25 = s*tmp + c*m25;
+                tmp = m16;
+                m16 = c*tmp - s*m26;
+                m26 = s*tmp + c*m26;
+                tmp = vectors.a11;
+                vectors.a11 = c*tmp - s*vectors.a12;
+                vectors.a12 = s*tmp + c*vectors.a12;
+                tmp = vectors.a21;
+                vectors.a21 = c*tmp - s*vectors.a22;
+                vectors.a22 = s*tmp + c*vectors.a22;
+                tmp = vectors.a31;
+                vectors.a31 = c*tmp - s*vectors.a32;
+                vectors.a32 = s*tmp + c*vectors.a32;
+                tmp = vectors.a41;
+                vectors.a41 = c*tmp - s*vectors.a42;
+                vectors.a42 = s*tmp + c*vectors.a42;
+                tmp = vectors.a51;
+                vectors.a51 = c*tmp - s*vectors.a52;
+                vectors.a52 = s*tmp + c*vectors.a52;
+                tmp = vectors.a61;
+                vectors.a61 = c*tmp - s*vectors.a62;
+                vectors.a62 = s*tmp + c*vectors.a62;
+            }
+
+            if (m13 != 0.0) {
+                theta = (m33 - m11)/(2.0*m13);
+                t = 1.0/(Math.abs(theta) + Math.sqrt(theta*theta + 1.0));
+                if (theta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                m11 -= t*m13;
+                m33 += t*m13;
+                m13 = 0.0;
+                tmp = m12;
+                m12 = c*tmp - s*m23;
+                m23 = s*tmp + c*m23;
+                tmp = m14;
+                m14 = c*tmp - s*m34;
+                m34 = s*tmp + c*m34;
+                tmp = m15;
+                m15 = c*tmp - s*m35;
+                m35 = s*tmp + c*m35;
+                tmp = m16;
+                m16 = c*tmp - s*m36;
+                m36 = s*tmp + c*m36;
+                tmp = vectors.a11;
+                vectors.a11 = c*tmp - s*vectors.a13;
+                vectors.a13 = s*tmp + c*vectors.a13;
+                tmp = vectors.a21;
+                vectors.a21 = c*tmp - s*vectors.a23;
+                vectors.a23 = s*tmp + c*vectors.a23;
+                tmp = vectors.a31;
+                vectors.a31 = c*tmp - s*vectors.a33;
+                vectors.a33 = s*tmp + c*vectors.a33;
+                tmp = vectors.a41;
+                vectors.a41 = c*tmp - s*vectors.a43;
+                vectors.a43 = s*tmp + c*vectors.a43;
+                tmp = vectors.a51;
+                vectors.a51 = c*tmp - s*vectors.a53;
+                vectors.a53 = s*tmp + c*vectors.a53;
+                tmp = vectors.a61;
+                vectors.a61 = c*tmp - s*vectors.a63;
+                vectors.a63 = s*tmp + c*vectors.a63;
+            }
+
+            if (m14 != 0.0) {
+                theta = (m44 - m11)/(2.0*m14);
+                t = 1.0/(Math.abs(theta) + Math.sqrt(theta*theta + 1.0));
+                if (theta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                m11 -= t*m14;
+                m44 += t*m14;
+                m14 = 0.0;
+                tmp = m12;
+                m12 = c*tmp - s*m24;
+                m24 = s*tmp + c*m24;
+                tmp = m13;
+                m13 = c*tmp - s*m34;
+                m34 = s*tmp + c*m34;
+                tmp = m15;
+                m15 = c*tmp - s*m45;
+                m45 = s*tmp + c*m45;
+                tmp = m16;
+                m16 = c*tmp - s*m46;
+                m46 = s*tmp + c*m46;
+                tmp = vectors.a11;
+                vectors.a11 = c*tmp - s*vectors.a14;
+                vectors.a14 = s*tmp + c*vectors.a14;
+                tmp = vectors.a21;
+                vectors.a21 = c*tmp - s*vectors.a24;
+                vectors.a24 = s*tmp + c*vectors.a24;
+                tmp = vectors.a31;
+                vectors.a31 = c*tmp - s*vectors.a34;
+                vectors.a34 = s*tmp + c*vectors.a34;
+                tmp = vectors.a41;
+                vectors.a41 = c*tmp - s*vectors.a44;
+                vectors.a44 = s*tmp + c*vectors.a44;
+                tmp = vectors.a51;
+                vectors.a51 = c*tmp - s*vectors.a54;
+                vectors.a54 = s*tmp + c*vectors.a54;
+                tmp = vectors.a61;
+                vectors.a61 = c*tmp - s*vectors.a64;
+                vectors.a64 = s*tmp + c*vectors.a64;
+            }
+
+            if (m15 != 0.0) {
+                theta = (m55 - m11)/(2.0*m15);
+                t = 1.0/(Math.abs(theta) + Math.sqrt(theta*theta + 1.0));
+                if (theta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                m11 -= t*m15;
+                m55 += t*m15;
+                m15 = 0.0;
+                tmp = m12;
+                m12 = c*tmp - s*m25;
+                m25 = s*tmp + c*m25;
+                tmp = m13;
+                m13 = c*tmp - s*m35;
+                m35 = s*tmp + c*m35;
+                tmp = m14;
+                m14 = c*tmp - s*m45;
+                m45 = s*tmp + c*m45;
+                tmp = m16;
+                m16 = c*tmp - s*m56;
+                m56 = s*tmp + c*m56;
+                tmp = vectors.a11;
+                vectors.a11 = c*tmp - s*vectors.a15;
+                vectors.a15 = s*tmp + c*vectors.a15;
+                tmp = vectors.a21;
+                vectors.a21 = c*tmp - s*vectors.a25;
+                vectors.a25 = s*tmp + c*vectors.a25;
+                tmp = vectors.a31;
+                vectors.a31 = c*tmp - s*vectors.a35;
+                vectors.a35 = s*tmp + c*vectors.a35;
+                tmp = vectors.a41;
+                vectors.a41 = c*tmp - s*vectors.a45;
+                vectors.a45 = s*tmp + c*vectors.a45;
+                tmp = vectors.a51;
+                vectors.a51 = c*tmp - s*vectors.a55;
+                vectors.a55 = s*tmp + c*vectors.a55;
+                tmp = vectors.a61;
+                vectors.a61 = c*tmp - s*vectors.a65;
+                vectors.a65 = s*tmp + c*vectors.a65;
+            }
+
+            if (m16 != 0.0) {
+                theta = (m66 - m11)/(2.0*m16);
+                t = 1.0/(Math.abs(theta) + Math.sqrt(theta*theta + 1.0));
+                if (theta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                m11 -= t*m16;
+                m66 += t*m16;
+                m16 = 0.0;
+                tmp = m12;
+                m12 = c*tmp - s*m26;
+                m26 = s*tmp + c*m26;
+                tmp = m13;
+                m13 = c*tmp - s*m36;
+                m36 = s*tmp + c*m36;
+                tmp = m14;
+                m14 = c*tmp - s*m46;
+                m46 = s*tmp + c*m46;
+                tmp = m15;
+                m15 = c*tmp - s*m56;
+                m56 = s*tmp + c*m56;
+                tmp = vectors.a11;
+                vectors.a11 = c*tmp - s*vectors.a16;
+                vectors.a16 = s*tmp + c*vectors.a16;
+                tmp = vectors.a21;
+                vectors.a21 = c*tmp - s*vectors.a26;
+                vectors.a26 = s*tmp + c*vectors.a26;
+                tmp = vectors.a31;
+                vectors.a31 = c*tmp - s*vectors.a36;
+                vectors.a36 = s*tmp + c*vectors.a36;
+                tmp = vectors.a41;
+                vectors.a41 = c*tmp - s*vectors.a46;
+                vectors.a46 = s*tmp + c*vectors.a46;
+                tmp = vectors.a51;
+                vectors.a51 = c*tmp - s*vectors.a56;
+                vectors.a56 = s*tmp + c*vectors.a56;
+                tmp = vectors.a61;
+                vectors.a61 = c*tmp - s*vectors.a66;
+                vectors.a66 = s*tmp + c*vectors.a66;
+            }
+
+            if (m23 != 0.0) {
+                theta = (m33 - m22)/(2.0*m23);
+                t = 1.0/(Math.abs(theta) + Math.sqrt(theta*theta + 1.0));
+                if (theta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                m22 -= t*m23;
+                m33 += t*m23;
+                m23 = 0.0;
+                tmp = m12;
+                m12 = c*tmp - s*m13;
+                m13 = s*tmp + c*m13;
+                tmp = m24;
+                m24 = c*tmp - s*m34;
+                m34 = s*tmp + c*m34;
+                tmp = m25;
+                m25 = c*tmp - s*m35;
+                m35 = s*tmp + c*m35;
+                tmp = m26;
+                m26 = c*tmp - s*m36;
+                m36 = s*tmp + c*m36;
+                tmp = vectors.a12;
+                vectors.a12 = c*tmp - s*vectors.a13;
+                vectors.a13 = s*tmp + c*vectors.a13;
+                tmp = vectors.a22;
+                vectors.a22 = c*tmp - s*vectors.a23;
+                vectors.a23 = s*tmp + c*vectors.a23;
+                tmp = vectors.a32;
+                vectors.a32 = c*tmp - s*vectors.a33;
+                vectors.a33 = s*tmp + c*vectors.a33;
+                tmp = vectors.a42;
+                vectors.a42 = c*tmp - s*vectors.a43;
+                vectors.a43 = s*tmp + c*vectors.a43;
+                tmp = vectors.a52;
+                vectors.a52 = c*tmp - s*vectors.a53;
+                vectors.a53 = s*tmp + c*vectors.a53;
+                tmp = vectors.a62;
+                vectors.a62 = c*tmp - s*vectors.a63;
+                vectors.a63 = s*tmp + c*vectors.a63;
+            }
+
+            if (m24 != 0.0) {
+                theta = (m44 - m22)/(2.0*m24);
+                t = 1.0/(Math.abs(theta) + Math.sqrt(theta*theta + 1.0));
+                if (theta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                m22 -= t*m24;
+                m44 += t*m24;
+                m24 = 0.0;
+                tmp = m12;
+                m12 = c*tmp - s*m14;
+                m14 = s*tmp + c*m14;
+                tmp = m23;
+                m23 = c*tmp - s*m34;
+                m34 = s*tmp + c*m34;
+                tmp = m25;
+                m25 = c*tmp - s*m45;
+                m45 = s*tmp + c*m45;
+                tmp = m26;
+                m26 = c*tmp - s*m46;
+                m46 = s*tmp + c*m46;
+                tmp = vectors.a12;
+                vectors.a12 = c*tmp - s*vectors.a14;
+                vectors.a14 = s*tmp + c*vectors.a14;
+                tmp = vectors.a22;
+                vectors.a22 = c*tmp - s*vectors.a24;
+                vectors.a24 = s*tmp + c*vectors.a24;
+                tmp = vectors.a32;
+                vectors.a32 = c*tmp - s*vectors.a34;
+                vectors.a34 = s*tmp + c*vectors.a34;
+                tmp = vectors.a42;
+                vectors.a42 = c*tmp - s*vectors.a44;
+                vectors.a44 = s*tmp + c*vectors.a44;
+                tmp = vectors.a52;
+                vectors.a52 = c*tmp - s*vectors.a54;
+                vectors.a54 = s*tmp + c*vectors.a54;
+                tmp = vectors.a62;
+                vectors.a62 = c*tmp - s*vectors.a64;
+                vectors.a64 = s*tmp + c*vectors.a64;
+            }
+
+            if (m25 != 0.0) {
+                theta = (m55 - m22)/(2.0*m25);
+                t = 1.0/(Math.abs(theta) + Math.sqrt(theta*theta + 1.0));
+                if (theta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                m22 -= t*m25;
+                m55 += t*m25;
+                m25 = 0.0;
+                tmp = m12;
+                m12 = c*tmp - s*m15;
+                m15 = s*tmp + c*m15;
+                tmp = m23;
+                m23 = c*tmp - s*m35;
+                m35 = s*tmp + c*m35;
+                tmp = m24;
+                m24 = c*tmp - s*m45;
+                m45 = s*tmp + c*m45;
+                tmp = m26;
+                m26 = c*tmp - s*m56;
+                m56 = s*tmp + c*m56;
+                tmp = vectors.a12;
+                vectors.a12 = c*tmp - s*vectors.a15;
+                vectors.a15 = s*tmp + c*vectors.a15;
+                tmp = vectors.a22;
+                vectors.a22 = c*tmp - s*vectors.a25;
+                vectors.a25 = s*tmp + c*vectors.a25;
+                tmp = vectors.a32;
+                vectors.a32 = c*tmp - s*vectors.a35;
+                vectors.a35 = s*tmp + c*vectors.a35;
+                tmp = vectors.a42;
+                vectors.a42 = c*tmp - s*vectors.a45;
+                vectors.a45 = s*tmp + c*vectors.a45;
+                tmp = vectors.a52;
+                vectors.a52 = c*tmp - s*vectors.a55;
+                vectors.a55 = s*tmp + c*vectors.a55;
+                tmp = vectors.a62;
+                vectors.a62 = c*tmp - s*vectors.a65;
+                vectors.a65 = s*tmp + c*vectors.a65;
+            }
+
+            if (m26 != 0.0) {
+                theta = (m66 - m22)/(2.0*m26);
+                t = 1.0/(Math.abs(theta) + Math.sqrt(theta*theta + 1.0));
+                if (theta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                m22 -= t*m26;
+                m66 += t*m26;
+                m26 = 0.0;
+                tmp = m12;
+                m12 = c*tmp - s*m16;
+                m16 = s*tmp + c*m16;
+                tmp = m23;
+                m23 = c*tmp - s*m36;
+                m36 = s*tmp + c*m36;
+                tmp = m24;
+                m24 = c*tmp - s*m46;
+                m46 = s*tmp + c*m46;
+                tmp = m25;
+                m25 = c*tmp - s*m56;
+                m56 = s*tmp + c*m56;
+                tmp = vectors.a12;
+                vectors.a12 = c*tmp - s*vectors.a16;
+                vectors.a16 = s*tmp + c*vectors.a16;
+                tmp = vectors.a22;
+                vectors.a22 = c*tmp - s*vectors.a26;
+                vectors.a26 = s*tmp + c*vectors.a26;
+                tmp = vectors.a32;
+                vectors.a32 = c*tmp - s*vectors.a36;
+                vectors.a36 = s*tmp + c*vectors.a36;
+                tmp = vectors.a42;
+                vectors.a42 = c*tmp - s*vectors.a46;
+                vectors.a46 = s*tmp + c*vectors.a46;
+                tmp = vectors.a52;
+                vectors.a52 = c*tmp - s*vectors.a56;
+                vectors.a56 = s*tmp + c*vectors.a56;
+                tmp = vectors.a62;
+                vectors.a62 = c*tmp - s*vectors.a66;
+                vectors.a66 = s*tmp + c*vectors.a66;
+            }
+
+            if (m34 != 0.0) {
+                theta = (m44 - m33)/(2.0*m34);
+                t = 1.0/(Math.abs(theta) + Math.sqrt(theta*theta + 1.0));
+                if (theta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                m33 -= t*m34;
+                m44 += t*m34;
+                m34 = 0.0;
+                tmp = m13;
+                m13 = c*tmp - s*m14;
+                m14 = s*tmp + c*m14;
+                tmp = m23;
+                m23 = c*tmp - s*m24;
+                m24 = s*tmp + c*m24;
+                tmp = m35;
+                m35 = c*tmp - s*m45;
+                m45 = s*tmp + c*m45;
+                tmp = m36;
+                m36 = c*tmp - s*m46;
+                m46 = s*tmp + c*m46;
+                tmp = vectors.a13;
+                vectors.a13 = c*tmp - s*vectors.a14;
+                vectors.a14 = s*tmp + c*vectors.a14;
+                tmp = vectors.a23;
+                vectors.a23 = c*tmp - s*vectors.a24;
+                vectors.a24 = s*tmp + c*vectors.a24;
+                tmp = vectors.a33;
+                vectors.a33 = c*tmp - s*vectors.a34;
+                vectors.a34 = s*tmp + c*vectors.a34;
+                tmp = vectors.a43;
+                vectors.a43 = c*tmp - s*vectors.a44;
+                vectors.a44 = s*tmp + c*vectors.a44;
+                tmp = vectors.a53;
+                vectors.a53 = c*tmp - s*vectors.a54;
+                vectors.a54 = s*tmp + c*vectors.a54;
+                tmp = vectors.a63;
+                vectors.a63 = c*tmp - s*vectors.a64;
+                vectors.a64 = s*tmp + c*vectors.a64;
+            }
+
+            if (m35 != 0.0) {
+                theta = (m55 - m33)/(2.0*m35);
+                t = 1.0/(Math.abs(theta) + Math.sqrt(theta*theta + 1.0));
+                if (theta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                m33 -= t*m35;
+                m55 += t*m35;
+                m35 = 0.0;
+                tmp = m13;
+                m13 = c*tmp - s*m15;
+                m15 = s*tmp + c*m15;
+                tmp = m23;
+                m23 = c*tmp - s*m25;
+                m25 = s*tmp + c*m25;
+                tmp = m34;
+                m34 = c*tmp - s*m45;
+                m45 = s*tmp + c*m45;
+                tmp = m36;
+                m36 = c*tmp - s*m56;
+                m56 = s*tmp + c*m56;
+                tmp = vectors.a13;
+                vectors.a13 = c*tmp - s*vectors.a15;
+                vectors.a15 = s*tmp + c*vectors.a15;
+                tmp = vectors.a23;
+                vectors.a23 = c*tmp - s*vectors.a25;
+                vectors.a25 = s*tmp + c*vectors.a25;
+                tmp = vectors.a33;
+                vectors.a33 = c*tmp - s*vectors.a35;
+                vectors.a35 = s*tmp + c*vectors.a35;
+                tmp = vectors.a43;
+                vectors.a43 = c*tmp - s*vectors.a45;
+                vectors.a45 = s*tmp + c*vectors.a45;
+                tmp = vectors.a53;
+                vectors.a53 = c*tmp - s*vectors.a55;
+                vectors.a55 = s*tmp + c*vectors.a55;
+                tmp = vectors.a63;
+                vectors.a63 = c*tmp - s*vectors.a65;
+                vectors.a65 = s*tmp + c*vectors.a65;
+            }
+
+            if (m36 != 0.0) {
+                theta = (m66 - m33)/(2.0*m36);
+                t = 1.0/(Math.abs(theta) + Math.sqrt(theta*theta + 1.0));
+                if (theta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                m33 -= t*m36;
+                m66 += t*m36;
+                m36 = 0.0;
+                tmp = m13;
+                m13 = c*tmp - s*m16;
+                m16 = s*tmp + c*m16;
+                tmp = m23;
+                m23 = c*tmp - s*m26;
+                m26 = s*tmp + c*m26;
+                tmp = m34;
+                m34 = c*tmp - s*m46;
+                m46 = s*tmp + c*m46;
+                tmp = m35;
+                m35 = c*tmp - s*m56;
+                m56 = s*tmp + c*m56;
+                tmp = vectors.a13;
+                vectors.a13 = c*tmp - s*vectors.a16;
+                vectors.a16 = s*tmp + c*vectors.a16;
+                tmp = vectors.a23;
+                vectors.a23 = c*tmp - s*vectors.a26;
+                vectors.a26 = s*tmp + c*vectors.a26;
+                tmp = vectors.a33;
+                vectors.a33 = c*tmp - s*vectors.a36;
+                vectors.a36 = s*tmp + c*vectors.a36;
+                tmp = vectors.a43;
+                vectors.a43 = c*tmp - s*vectors.a46;
+                vectors.a46 = s*tmp + c*vectors.a46;
+                tmp = vectors.a53;
+                vectors.a53 = c*tmp - s*vectors.a56;
+                vectors.a56 = s*tmp + c*vectors.a56;
+                tmp = vectors.a63;
+                vectors.a63 = c*tmp - s*vectors.a66;
+                vectors.a66 = s*tmp + c*vectors.a66;
+            }
+
+            if (m45 != 0.0) {
+                theta = (m55 - m44)/(2.0*m45);
+                t = 1.0/(Math.abs(theta) + Math.sqrt(theta*theta + 1.0));
+                if (theta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                m44 -= t*m45;
+                m55 += t*m45;
+                m45 = 0.0;
+                tmp = m14;
+                m14 = c*tmp - s*m15;
+                m15 = s*tmp + c*m15;
+                tmp = m24;
+                m24 = c*tmp - s*m25;
+                m25 = s*tmp + c*m25;
+                tmp = m34;
+                m34 = c*tmp - s*m35;
+                m35 = s*tmp + c*m35;
+                tmp = m46;
+                m46 = c*tmp - s*m56;
+                m56 = s*tmp + c*m56;
+                tmp = vectors.a14;
+                vectors.a14 = c*tmp - s*vectors.a15;
+                vectors.a15 = s*tmp + c*vectors.a15;
+                tmp = vectors.a24;
+                vectors.a24 = c*tmp - s*vectors.a25;
+                vectors.a25 = s*tmp + c*vectors.a25;
+                tmp = vectors.a34;
+                vectors.a34 = c*tmp - s*vectors.a35;
+                vectors.a35 = s*tmp + c*vectors.a35;
+                tmp = vectors.a44;
+                vectors.a44 = c*tmp - s*vectors.a45;
+                vectors.a45 = s*tmp + c*vectors.a45;
+                tmp = vectors.a54;
+                vectors.a54 = c*tmp - s*vectors.a55;
+                vectors.a55 = s*tmp + c*vectors.a55;
+                tmp = vectors.a64;
+                vectors.a64 = c*tmp - s*vectors.a65;
+                vectors.a65 = s*tmp + c*vectors.a65;
+            }
+
+            if (m46 != 0.0) {
+                theta = (m66 - m44)/(2.0*m46);
+                t = 1.0/(Math.abs(theta) + Math.sqrt(theta*theta + 1.0));
+                if (theta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                m44 -= t*m46;
+                m66 += t*m46;
+                m46 = 0.0;
+                tmp = m14;
+                m14 = c*tmp - s*m16;
+                m16 = s*tmp + c*m16;
+                tmp = m24;
+                m24 = c*tmp - s*m26;
+                m26 = s*tmp + c*m26;
+                tmp = m34;
+                m34 = c*tmp - s*m36;
+                m36 = s*tmp + c*m36;
+                tmp = m45;
+                m45 = c*tmp - s*m56;
+                m56 = s*tmp + c*m56;
+                tmp = vectors.a14;
+                vectors.a14 = c*tmp - s*vectors.a16;
+                vectors.a16 = s*tmp + c*vectors.a16;
+                tmp = vectors.a24;
+                vectors.a24 = c*tmp - s*vectors.a26;
+                vectors.a26 = s*tmp + c*vectors.a26;
+                tmp = vectors.a34;
+                vectors.a34 = c*tmp - s*vectors.a36;
+                vectors.a36 = s*tmp + c*vectors.a36;
+                tmp = vectors.a44;
+                vectors.a44 = c*tmp - s*vectors.a46;
+                vectors.a46 = s*tmp + c*vectors.a46;
+                tmp = vectors.a54;
+                vectors.a54 = c*tmp - s*vectors.a56;
+                vectors.a56 = s*tmp + c*vectors.a56;
+                tmp = vectors.a64;
+                vectors.a64 = c*tmp - s*vectors.a66;
+                vectors.a66 = s*tmp + c*vectors.a66;
+            }
+
+            if (m56 != 0.0) {
+                theta = (m66 - m55)/(2.0*m56);
+                t = 1.0/(Math.abs(theta) + Math.sqrt(theta*theta + 1.0));
+                if (theta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                m55 -= t*m56;
+                m66 += t*m56;
+                m56 = 0.0;
+                tmp = m15;
+                m15 = c*tmp - s*m16;
+                m16 = s*tmp + c*m16;
+                tmp = m25;
+                m25 = c*tmp - s*m26;
+                m26 = s*tmp + c*m26;
+                tmp = m35;
+                m35 = c*tmp - s*m36;
+                m36 = s*tmp + c*m36;
+                tmp = m45;
+                m45 = c*tmp - s*m46;
+                m46 = s*tmp + c*m46;
+                tmp = vectors.a15;
+                vectors.a15 = c*tmp - s*vectors.a16;
+                vectors.a16 = s*tmp + c*vectors.a16;
+                tmp = vectors.a25;
+                vectors.a25 = c*tmp - s*vectors.a26;
+                vectors.a26 = s*tmp + c*vectors.a26;
+                tmp = vectors.a35;
+                vectors.a35 = c*tmp - s*vectors.a36;
+                vectors.a36 = s*tmp + c*vectors.a36;
+                tmp = vectors.a45;
+                vectors.a45 = c*tmp - s*vectors.a46;
+                vectors.a46 = s*tmp + c*vectors.a46;
+                tmp = vectors.a55;
+                vectors.a55 = c*tmp - s*vectors.a56;
+                vectors.a56 = s*tmp + c*vectors.a56;
+                tmp = vectors.a65;
+                vectors.a65 = c*tmp - s*vectors.a66;
+                vectors.a66 = s*tmp + c*vectors.a66;
+            }
+        }
+
+        values.a1 = m11;
+        values.a2 = m22;
+        values.a3 = m33;
+        values.a4 = m44;
+        values.a5 = m55;
+        values.a6 = m66;
+        return converged;
+    }
+
+    /**
+     * Singular value decomposition using the one-sided Jacobi method, A = U*W*V<sup>T</sup>. Orthogonal
+     * rotations are applied to the columns of A until they are orthogonal to each other. The singular values
+     * are not sorted. Columns of U which correspond to a singular value of zero are set to zero.
+     *
+     * @param A (Input) Matrix. Not modified.
+     * @param U (Output) Left singular vectors. Can be the same as 'A'.
+     * @param W (Output) Singular values.
+     * @param V (Output) Right singular vectors. Can't be the same as 'A' or 'U'.
+     * @return true if it converged
+     */
+    public static boolean svd( DMatrix6x6 A, DMatrix6x6 U, DMatrix6 W, DMatrix6x6 V ) {
+        U.a11 = A.a11;
+        U.a12 = A.a12;
+        U.a13 = A.a13;
+        U.a14 = A.a14;
+        U.a15 = A.a15;
+        U.a16 = A.a16;
+        U.a21 = A.a21;
+        U.a22 = A.a22;
+        U.a23 = A.a23;
+        U.a24 = A.a24;
+        U.a25 = A.a25;
+        U.a26 = A.a26;
+        U.a31 = A.a31;
+        U.a32 = A.a32;
+        U.a33 = A.a33;
+        U.a34 = A.a34;
+        U.a35 = A.a35;
+        U.a36 = A.a36;
+        U.a41 = A.a41;
+        U.a42 = A.a42;
+        U.a43 = A.a43;
+        U.a44 = A.a44;
+        U.a45 = A.a45;
+        U.a46 = A.a46;
+        U.a51 = A.a51;
+        U.a52 = A.a52;
+        U.a53 = A.a53;
+        U.a54 = A.a54;
+        U.a55 = A.a55;
+        U.a56 = A.a56;
+        U.a61 = A.a61;
+        U.a62 = A.a62;
+        U.a63 = A.a63;
+        U.a64 = A.a64;
+        U.a65 = A.a65;
+        U.a66 = A.a66;
+        CommonOps_DDF6.setIdentity(V);
+        double alpha, beta, gamma, zeta, t, c, s, tmp;
+        boolean converged = false;
+
+        for (int sweep = 0; sweep < 50 && !converged; sweep++) {
+            converged = true;
+
+            alpha = U.a11*U.a11 + U.a21*U.a21 + U.a31*U.a31 + U.a41*U.a41 + U.a51*U.a51 + U.a61*U.a61;
+            beta = U.a12*U.a12 + U.a22*U.a22 + U.a32*U.a32 + U.a42*U.a42 + U.a52*U.a52 + U.a62*U.a62;
+            gamma = U.a11*U.a12 + U.a21*U.a22 + U.a31*U.a32 + U.a41*U.a42 + U.a51*U.a52 + U.a61*U.a62;
+            if (Math.abs(gamma) > UtilEjml.EPS*Math.sqrt(alpha*beta)) {
+                converged = false;
+                zeta = (beta - alpha)/(2.0*gamma);
+                t = 1.0/(Math.abs(zeta) + Math.sqrt(zeta*zeta + 1.0));
+                if (zeta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                tmp = U.a11;
+                U.a11 = c*tmp - s*U.a12;
+                U.a12 = s*tmp + c*U.a12;
+                tmp = U.a21;
+                U.a21 = c*tmp - s*U.a22;
+                U.a22 = s*tmp + c*U.a22;
+                tmp = U.a31;
+                U.a31 = c*tmp - s*U.a32;
+                U.a32 = s*tmp + c*U.a32;
+                tmp = U.a41;
+                U.a41 = c*tmp - s*U.a42;
+                U.a42 = s*tmp + c*U.a42;
+                tmp = U.a51;
+                U.a51 = c*tmp - s*U.a52;
+                U.a52 = s*tmp + c*U.a52;
+                tmp = U.a61;
+                U.a61 = c*tmp - s*U.a62;
+                U.a62 = s*tmp + c*U.a62;
+                tmp = V.a11;
+                V.a11 = c*tmp - s*V.a12;
+                V.a12 = s*tmp + c*V.a12;
+                tmp = V.a21;
+                V.a21 = c*tmp - s*V.a22;
+                V.a22 = s*tmp + c*V.a22;
+                tmp = V.a31;
+                V.a31 = c*tmp - s*V.a32;
+                V.a32 = s*tmp + c*V.a32;
+                tmp = V.a41;
+                V.a41 = c*tmp - s*V.a42;
+                V.a42 = s*tmp + c*V.a42;
+                tmp = V.a51;
+                V.a51 = c*tmp - s*V.a52;
+                V.a52 = s*tmp + c*V.a52;
+                tmp = V.a61;
+                V.a61 = c*tmp - s*V.a62;
+                V.a62 = s*tmp + c*V.a62;
+            }
+
+            alpha = U.a11*U.a11 + U.a21*U.a21 + U.a31*U.a31 + U.a41*U.a41 + U.a51*U.a51 + U.a61*U.a61;
+            beta = U.a13*U.a13 + U.a23*U.a23 + U.a33*U.a33 + U.a43*U.a43 + U.a53*U.a53 + U.a63*U.a63;
+            gamma = U.a11*U.a13 + U.a21*U.a23 + U.a31*U.a33 + U.a41*U.a43 + U.a51*U.a53 + U.a61*U.a63;
+            if (Math.abs(gamma) > UtilEjml.EPS*Math.sqrt(alpha*beta)) {
+                converged = false;
+                zeta = (beta - alpha)/(2.0*gamma);
+                t = 1.0/(Math.abs(zeta) + Math.sqrt(zeta*zeta + 1.0));
+                if (zeta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                tmp = U.a11;
+                U.a11 = c*tmp - s*U.a13;
+                U.a13 = s*tmp + c*U.a13;
+                tmp = U.a21;
+                U.a21 = c*tmp - s*U.a23;
+                U.a23 = s*tmp + c*U.a23;
+                tmp = U.a31;
+                U.a31 = c*tmp - s*U.a33;
+                U.a33 = s*tmp + c*U.a33;
+                tmp = U.a41;
+                U.a41 = c*tmp - s*U.a43;
+                U.a43 = s*tmp + c*U.a43;
+                tmp = U.a51;
+                U.a51 = c*tmp - s*U.a53;
+                U.a53 = s*tmp + c*U.a53;
+                tmp = U.a61;
+                U.a61 = c*tmp - s*U.a63;
+                U.a63 = s*tmp + c*U.a63;
+                tmp = V.a11;
+                V.a11 = c*tmp - s*V.a13;
+                V.a13 = s*tmp + c*V.a13;
+                tmp = V.a21;
+                V.a21 = c*tmp - s*V.a23;
+                V.a23 = s*tmp + c*V.a23;
+                tmp = V.a31;
+                V.a31 = c*tmp - s*V.a33;
+                V.a33 = s*tmp + c*V.a33;
+                tmp = V.a41;
+                V.a41 = c*tmp - s*V.a43;
+                V.a43 = s*tmp + c*V.a43;
+                tmp = V.a51;
+                V.a51 = c*tmp - s*V.a53;
+                V.a53 = s*tmp + c*V.a53;
+                tmp = V.a61;
+                V.a61 = c*tmp - s*V.a63;
+                V.a63 = s*tmp + c*V.a63;
+            }
+
+            alpha = U.a11*U.a11 + U.a21*U.a21 + U.a31*U.a31 + U.a41*U.a41 + U.a51*U.a51 + U.a61*U.a61;
+            beta = U.a14*U.a14 + U.a24*U.a24 + U.a34*U.a34 + U.a44*U.a44 + U.a54*U.a54 + U.a64*U.a64;
+            gamma = U.a11*U.a14 + U.a21*U.a24 + U.a31*U.a34 + U.a41*U.a44 + U.a51*U.a54 + U.a61*U.a64;
+            if (Math.abs(gamma) > UtilEjml.EPS*Math.sqrt(alpha*beta)) {
+                converged = false;
+                zeta = (beta - alpha)/(2.0*gamma);
+                t = 1.0/(Math.abs(zeta) + Math.sqrt(zeta*zeta + 1.0));
+                if (zeta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                tmp = U.a11;
+                U.a11 = c*tmp - s*U.a14;
+                U.a14 = s*tmp + c*U.a14;
+                tmp = U.a21;
+                U.a21 = c*tmp - s*U.a24;
+                U.a24 = s*tmp + c*U.a24;
+                tmp = U.a31;
+                U.a31 = c*tmp - s*U.a34;
+                U.a34 = s*tmp + c*U.a34;
+                tmp = U.a41;
+                U.a41 = c*tmp - s*U.a44;
+                U.a44 = s*tmp + c*U.a44;
+                tmp = U.a51;
+                U.a51 = c*tmp - s*U.a54;
+                U.a54 = s*tmp + c*U.a54;
+                tmp = U.a61;
+                U.a61 = c*tmp - s*U.a64;
+                U.a64 = s*tmp + c*U.a64;
+                tmp = V.a11;
+                V.a11 = c*tmp - s*V.a14;
+                V.a14 = s*tmp + c*V.a14;
+                tmp = V.a21;
+                V.a21 = c*tmp - s*V.a24;
+                V.a24 = s*tmp + c*V.a24;
+                tmp = V.a31;
+                V.a31 = c*tmp - s*V.a34;
+                V.a34 = s*tmp + c*V.a34;
+                tmp = V.a41;
+                V.a41 = c*tmp - s*V.a44;
+                V.a44 = s*tmp + c*V.a44;
+                tmp = V.a51;
+                V.a51 = c*tmp - s*V.a54;
+                V.a54 = s*tmp + c*V.a54;
+                tmp = V.a61;
+                V.a61 = c*tmp - s*V.a64;
+                V.a64 = s*tmp + c*V.a64;
+            }
+
+            alpha = U.a11*U.a11 + U.a21*U.a21 + U.a31*U.a31 + U.a41*U.a41 + U.a51*U.a51 + U.a61*U.a61;
+            beta = U.a15*U.a15 + U.a25*U.a25 + U.a35*U.a35 + U.a45*U.a45 + U.a55*U.a55 + U.a65*U.a65;
+            gamma = U.a11*U.a15 + U.a21*U.a25 + U.a31*U.a35 + U.a41*U.a45 + U.a51*U.a55 + U.a61*U.a65;
+            if (Math.abs(gamma) > UtilEjml.EPS*Math.sqrt(alpha*beta)) {
+                converged = false;
+                zeta = (beta - alpha)/(2.0*gamma);
+                t = 1.0/(Math.abs(zeta) + Math.sqrt(zeta*zeta + 1.0));
+                if (zeta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                tmp = U.a11;
+                U.a11 = c*tmp - s*U.a15;
+                U.a15 = s*tmp + c*U.a15;
+                tmp = U.a21;
+                U.a21 = c*tmp - s*U.a25;
+                U.a25 = s*tmp + c*U.a25;
+                tmp = U.a31;
+                U.a31 = c*tmp - s*U.a35;
+                U.a35 = s*tmp + c*U.a35;
+                tmp = U.a41;
+                U.a41 = c*tmp - s*U.a45;
+                U.a45 = s*tmp + c*U.a45;
+                tmp = U.a51;
+                U.a51 = c*tmp - s*U.a55;
+                U.a55 = s*tmp + c*U.a55;
+                tmp = U.a61;
+                U.a61 = c*tmp - s*U.a65;
+                U.a65 = s*tmp + c*U.a65;
+                tmp = V.a11;
+                V.a11 = c*tmp - s*V.a15;
+                V.a15 = s*tmp + c*V.a15;
+                tmp = V.a21;
+                V.a21 = c*tmp - s*V.a25;
+                V.a25 = s*tmp + c*V.a25;
+                tmp = V.a31;
+                V.a31 = c*tmp - s*V.a35;
+                V.a35 = s*tmp + c*V.a35;
+                tmp = V.a41;
+                V.a41 = c*tmp - s*V.a45;
+                V.a45 = s*tmp + c*V.a45;
+                tmp = V.a51;
+                V.a51 = c*tmp - s*V.a55;
+                V.a55 = s*tmp + c*V.a55;
+                tmp = V.a61;
+                V.a61 = c*tmp - s*V.a65;
+                V.a65 = s*tmp + c*V.a65;
+            }
+
+            alpha = U.a11*U.a11 + U.a21*U.a21 + U.a31*U.a31 + U.a41*U.a41 + U.a51*U.a51 + U.a61*U.a61;
+            beta = U.a16*U.a16 + U.a26*U.a26 + U.a36*U.a36 + U.a46*U.a46 + U.a56*U.a56 + U.a66*U.a66;
+            gamma = U.a11*U.a16 + U.a21*U.a26 + U.a31*U.a36 + U.a41*U.a46 + U.a51*U.a56 + U.a61*U.a66;
+            if (Math.abs(gamma) > UtilEjml.EPS*Math.sqrt(alpha*beta)) {
+                converged = false;
+                zeta = (beta - alpha)/(2.0*gamma);
+                t = 1.0/(Math.abs(zeta) + Math.sqrt(zeta*zeta + 1.0));
+                if (zeta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                tmp = U.a11;
+                U.a11 = c*tmp - s*U.a16;
+                U.a16 = s*tmp + c*U.a16;
+                tmp = U.a21;
+                U.a21 = c*tmp - s*U.a26;
+                U.a26 = s*tmp + c*U.a26;
+                tmp = U.a31;
+                U.a31 = c*tmp - s*U.a36;
+                U.a36 = s*tmp + c*U.a36;
+                tmp = U.a41;
+                U.a41 = c*tmp - s*U.a46;
+                U.a46 = s*tmp + c*U.a46;
+                tmp = U.a51;
+                U.a51 = c*tmp - s*U.a56;
+                U.a56 = s*tmp + c*U.a56;
+                tmp = U.a61;
+                U.a61 = c*tmp - s*U.a66;
+                U.a66 = s*tmp + c*U.a66;
+                tmp = V.a11;
+                V.a11 = c*tmp - s*V.a16;
+                V.a16 = s*tmp + c*V.a16;
+                tmp = V.a21;
+                V.a21 = c*tmp - s*V.a26;
+                V.a26 = s*tmp + c*V.a26;
+                tmp = V.a31;
+                V.a31 = c*tmp - s*V.a36;
+                V.a36 = s*tmp + c*V.a36;
+                tmp = V.a41;
+                V.a41 = c*tmp - s*V.a46;
+                V.a46 = s*tmp + c*V.a46;
+                tmp = V.a51;
+                V.a51 = c*tmp - s*V.a56;
+                V.a56 = s*tmp + c*V.a56;
+                tmp = V.a61;
+                V.a61 = c*tmp - s*V.a66;
+                V.a66 = s*tmp + c*V.a66;
+            }
+
+            alpha = U.a12*U.a12 + U.a22*U.a22 + U.a32*U.a32 + U.a42*U.a42 + U.a52*U.a52 + U.a62*U.a62;
+            beta = U.a13*U.a13 + U.a23*U.a23 + U.a33*U.a33 + U.a43*U.a43 + U.a53*U.a53 + U.a63*U.a63;
+            gamma = U.a12*U.a13 + U.a22*U.a23 + U.a32*U.a33 + U.a42*U.a43 + U.a52*U.a53 + U.a62*U.a63;
+            if (Math.abs(gamma) > UtilEjml.EPS*Math.sqrt(alpha*beta)) {
+                converged = false;
+                zeta = (beta - alpha)/(2.0*gamma);
+                t = 1.0/(Math.abs(zeta) + Math.sqrt(zeta*zeta + 1.0));
+                if (zeta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                tmp = U.a12;
+                U.a12 = c*tmp - s*U.a13;
+                U.a13 = s*tmp + c*U.a13;
+                tmp = U.a22;
+                U.a22 = c*tmp - s*U.a23;
+                U.a23 = s*tmp + c*U.a23;
+                tmp = U.a32;
+                U.a32 = c*tmp - s*U.a33;
+                U.a33 = s*tmp + c*U.a33;
+                tmp = U.a42;
+                U.a42 = c*tmp - s*U.a43;
+                U.a43 = s*tmp + c*U.a43;
+                tmp = U.a52;
+                U.a52 = c*tmp - s*U.a53;
+                U.a53 = s*tmp + c*U.a53;
+                tmp = U.a62;
+                U.a62 = c*tmp - s*U.a63;
+                U.a63 = s*tmp + c*U.a63;
+                tmp = V.a12;
+                V.a12 = c*tmp - s*V.a13;
+                V.a13 = s*tmp + c*V.a13;
+                tmp = V.a22;
+                V.a22 = c*tmp - s*V.a23;
+                V.a23 = s*tmp + c*V.a23;
+                tmp = V.a32;
+                V.a32 = c*tmp - s*V.a33;
+                V.a33 = s*tmp + c*V.a33;
+                tmp = V.a42;
+                V.a42 = c*tmp - s*V.a43;
+                V.a43 = s*tmp + c*V.a43;
+                tmp = V.a52;
+                V.a52 = c*tmp - s*V.a53;
+                V.a53 = s*tmp + c*V.a53;
+                tmp = V.a62;
+                V.a62 = c*tmp - s*V.a63;
+                V.a63 = s*tmp + c*V.a63;
+            }
+
+            alpha = U.a12*U.a12 + U.a22*U.a22 + U.a32*U.a32 + U.a42*U.a42 + U.a52*U.a52 + U.a62*U.a62;
+            beta = U.a14*U.a14 + U.a24*U.a24 + U.a34*U.a34 + U.a44*U.a44 + U.a54*U.a54 + U.a64*U.a64;
+            gamma = U.a12*U.a14 + U.a22*U.a24 + U.a32*U.a34 + U.a42*U.a44 + U.a52*U.a54 + U.a62*U.a64;
+            if (Math.abs(gamma) > UtilEjml.EPS*Math.sqrt(alpha*beta)) {
+                converged = false;
+                zeta = (beta - alpha)/(2.0*gamma);
+                t = 1.0/(Math.abs(zeta) + Math.sqrt(zeta*zeta + 1.0));
+                if (zeta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                tmp = U.a12;
+                U.a12 = c*tmp - s*U.a14;
+                U.a14 = s*tmp + c*U.a14;
+                tmp = U.a22;
+                U.a22 = c*tmp - s*U.a24;
+                U.a24 = s*tmp + c*U.a24;
+                tmp = U.a32;
+                U.a32 = c*tmp - s*U.a34;
+                U.a34 = s*tmp + c*U.a34;
+                tmp = U.a42;
+                U.a42 = c*tmp - s*U.a44;
+                U.a44 = s*tmp + c*U.a44;
+                tmp = U.a52;
+                U.a52 = c*tmp - s*U.a54;
+                U.a54 = s*tmp + c*U.a54;
+                tmp = U.a62;
+                U.a62 = c*tmp - s*U.a64;
+                U.a64 = s*tmp + c*U.a64;
+                tmp = V.a12;
+                V.a12 = c*tmp - s*V.a14;
+                V.a14 = s*tmp + c*V.a14;
+                tmp = V.a22;
+                V.a22 = c*tmp - s*V.a24;
+                V.a24 = s*tmp + c*V.a24;
+                tmp = V.a32;
+                V.a32 = c*tmp - s*V.a34;
+                V.a34 = s*tmp + c*V.a34;
+                tmp = V.a42;
+                V.a42 = c*tmp - s*V.a44;
+                V.a44 = s*tmp + c*V.a44;
+                tmp = V.a52;
+                V.a52 = c*tmp - s*V.a54;
+                V.a54 = s*tmp + c*V.a54;
+                tmp = V.a62;
+                V.a62 = c*tmp - s*V.a64;
+                V.a64 = s*tmp + c*V.a64;
+            }
+
+            alpha = U.a12*U.a12 + U.a22*U.a22 + U.a32*U.a32 + U.a42*U.a42 + U.a52*U.a52 + U.a62*U.a62;
+            beta = U.a15*U.a15 + U.a25*U.a25 + U.a35*U.a35 + U.a45*U.a45 + U.a55*U.a55 + U.a65*U.a65;
+            gamma = U.a12*U.a15 + U.a22*U.a25 + U.a32*U.a35 + U.a42*U.a45 + U.a52*U.a55 + U.a62*U.a65;
+            if (Math.abs(gamma) > UtilEjml.EPS*Math.sqrt(alpha*beta)) {
+                converged = false;
+                zeta = (beta - alpha)/(2.0*gamma);
+                t = 1.0/(Math.abs(zeta) + Math.sqrt(zeta*zeta + 1.0));
+                if (zeta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                tmp = U.a12;
+                U.a12 = c*tmp - s*U.a15;
+                U.a15 = s*tmp + c*U.a15;
+                tmp = U.a22;
+                U.a22 = c*tmp - s*U.a25;
+                U.a25 = s*tmp + c*U.a25;
+                tmp = U.a32;
+                U.a32 = c*tmp - s*U.a35;
+                U.a35 = s*tmp + c*U.a35;
+                tmp = U.a42;
+                U.a42 = c*tmp - s*U.a45;
+                U.a45 = s*tmp + c*U.a45;
+                tmp = U.a52;
+                U.a52 = c*tmp - s*U.a55;
+                U.a55 = s*tmp + c*U.a55;
+                tmp = U.a62;
+                U.a62 = c*tmp - s*U.a65;
+                U.a65 = s*tmp + c*U.a65;
+                tmp = V.a12;
+                V.a12 = c*tmp - s*V.a15;
+                V.a15 = s*tmp + c*V.a15;
+                tmp = V.a22;
+                V.a22 = c*tmp - s*V.a25;
+                V.a25 = s*tmp + c*V.a25;
+                tmp = V.a32;
+                V.a32 = c*tmp - s*V.a35;
+                V.a35 = s*tmp + c*V.a35;
+                tmp = V.a42;
+                V.a42 = c*tmp - s*V.a45;
+                V.a45 = s*tmp + c*V.a45;
+                tmp = V.a52;
+                V.a52 = c*tmp - s*V.a55;
+                V.a55 = s*tmp + c*V.a55;
+                tmp = V.a62;
+                V.a62 = c*tmp - s*V.a65;
+                V.a65 = s*tmp + c*V.a65;
+            }
+
+            alpha = U.a12*U.a12 + U.a22*U.a22 + U.a32*U.a32 + U.a42*U.a42 + U.a52*U.a52 + U.a62*U.a62;
+            beta = U.a16*U.a16 + U.a26*U.a26 + U.a36*U.a36 + U.a46*U.a46 + U.a56*U.a56 + U.a66*U.a66;
+            gamma = U.a12*U.a16 + U.a22*U.a26 + U.a32*U.a36 + U.a42*U.a46 + U.a52*U.a56 + U.a62*U.a66;
+            if (Math.abs(gamma) > UtilEjml.EPS*Math.sqrt(alpha*beta)) {
+                converged = false;
+                zeta = (beta - alpha)/(2.0*gamma);
+                t = 1.0/(Math.abs(zeta) + Math.sqrt(zeta*zeta + 1.0));
+                if (zeta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                tmp = U.a12;
+                U.a12 = c*tmp - s*U.a16;
+                U.a16 = s*tmp + c*U.a16;
+                tmp = U.a22;
+                U.a22 = c*tmp - s*U.a26;
+                U.a26 = s*tmp + c*U.a26;
+                tmp = U.a32;
+                U.a32 = c*tmp - s*U.a36;
+                U.a36 = s*tmp + c*U.a36;
+                tmp = U.a42;
+                U.a42 = c*tmp - s*U.a46;
+                U.a46 = s*tmp + c*U.a46;
+                tmp = U.a52;
+                U.a52 = c*tmp - s*U.a56;
+                U.a56 = s*tmp + c*U.a56;
+                tmp = U.a62;
+                U.a62 = c*tmp - s*U.a66;
+                U.a66 = s*tmp + c*U.a66;
+                tmp = V.a12;
+                V.a12 = c*tmp - s*V.a16;
+                V.a16 = s*tmp + c*V.a16;
+                tmp = V.a22;
+                V.a22 = c*tmp - s*V.a26;
+                V.a26 = s*tmp + c*V.a26;
+                tmp = V.a32;
+                V.a32 = c*tmp - s*V.a36;
+                V.a36 = s*tmp + c*V.a36;
+                tmp = V.a42;
+                V.a42 = c*tmp - s*V.a46;
+                V.a46 = s*tmp + c*V.a46;
+                tmp = V.a52;
+                V.a52 = c*tmp - s*V.a56;
+                V.a56 = s*tmp + c*V.a56;
+                tmp = V.a62;
+                V.a62 = c*tmp - s*V.a66;
+                V.a66 = s*tmp + c*V.a66;
+            }
+
+            alpha = U.a13*U.a13 + U.a23*U.a23 + U.a33*U.a33 + U.a43*U.a43 + U.a53*U.a53 + U.a63*U.a63;
+            beta = U.a14*U.a14 + U.a24*U.a24 + U.a34*U.a34 + U.a44*U.a44 + U.a54*U.a54 + U.a64*U.a64;
+            gamma = U.a13*U.a14 + U.a23*U.a24 + U.a33*U.a34 + U.a43*U.a44 + U.a53*U.a54 + U.a63*U.a64;
+            if (Math.abs(gamma) > UtilEjml.EPS*Math.sqrt(alpha*beta)) {
+                converged = false;
+                zeta = (beta - alpha)/(2.0*gamma);
+                t = 1.0/(Math.abs(zeta) + Math.sqrt(zeta*zeta + 1.0));
+                if (zeta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                tmp = U.a13;
+                U.a13 = c*tmp - s*U.a14;
+                U.a14 = s*tmp + c*U.a14;
+                tmp = U.a23;
+                U.a23 = c*tmp - s*U.a24;
+                U.a24 = s*tmp + c*U.a24;
+                tmp = U.a33;
+                U.a33 = c*tmp - s*U.a34;
+                U.a34 = s*tmp + c*U.a34;
+                tmp = U.a43;
+                U.a43 = c*tmp - s*U.a44;
+                U.a44 = s*tmp + c*U.a44;
+                tmp = U.a53;
+                U.a53 = c*tmp - s*U.a54;
+                U.a54 = s*tmp + c*U.a54;
+                tmp = U.a63;
+                U.a63 = c*tmp - s*U.a64;
+                U.a64 = s*tmp + c*U.a64;
+                tmp = V.a13;
+                V.a13 = c*tmp - s*V.a14;
+                V.a14 = s*tmp + c*V.a14;
+                tmp = V.a23;
+                V.a23 = c*tmp - s*V.a24;
+                V.a24 = s*tmp + c*V.a24;
+                tmp = V.a33;
+                V.a33 = c*tmp - s*V.a34;
+                V.a34 = s*tmp + c*V.a34;
+                tmp = V.a43;
+                V.a43 = c*tmp - s*V.a44;
+                V.a44 = s*tmp + c*V.a44;
+                tmp = V.a53;
+                V.a53 = c*tmp - s*V.a54;
+                V.a54 = s*tmp + c*V.a54;
+                tmp = V.a63;
+                V.a63 = c*tmp - s*V.a64;
+                V.a64 = s*tmp + c*V.a64;
+            }
+
+            alpha = U.a13*U.a13 + U.a23*U.a23 + U.a33*U.a33 + U.a43*U.a43 + U.a53*U.a53 + U.a63*U.a63;
+            beta = U.a15*U.a15 + U.a25*U.a25 + U.a35*U.a35 + U.a45*U.a45 + U.a55*U.a55 + U.a65*U.a65;
+            gamma = U.a13*U.a15 + U.a23*U.a25 + U.a33*U.a35 + U.a43*U.a45 + U.a53*U.a55 + U.a63*U.a65;
+            if (Math.abs(gamma) > UtilEjml.EPS*Math.sqrt(alpha*beta)) {
+                converged = false;
+                zeta = (beta - alpha)/(2.0*gamma);
+                t = 1.0/(Math.abs(zeta) + Math.sqrt(zeta*zeta + 1.0));
+                if (zeta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                tmp = U.a13;
+                U.a13 = c*tmp - s*U.a15;
+                U.a15 = s*tmp + c*U.a15;
+                tmp = U.a23;
+                U.a23 = c*tmp - s*U.a25;
+                U.a25 = s*tmp + c*U.a25;
+                tmp = U.a33;
+                U.a33 = c*tmp - s*U.a35;
+                U.a35 = s*tmp + c*U.a35;
+                tmp = U.a43;
+                U.a43 = c*tmp - s*U.a45;
+                U.a45 = s*tmp + c*U.a45;
+                tmp = U.a53;
+                U.a53 = c*tmp - s*U.a55;
+                U.a55 = s*tmp + c*U.a55;
+                tmp = U.a63;
+                U.a63 = c*tmp - s*U.a65;
+                U.a65 = s*tmp + c*U.a65;
+                tmp = V.a13;
+                V.a13 = c*tmp - s*V.a15;
+                V.a15 = s*tmp + c*V.a15;
+                tmp = V.a23;
+                V.a23 = c*tmp - s*V.a25;
+                V.a25 = s*tmp + c*V.a25;
+                tmp = V.a33;
+                V.a33 = c*tmp - s*V.a35;
+                V.a35 = s*tmp + c*V.a35;
+                tmp = V.a43;
+                V.a43 = c*tmp - s*V.a45;
+                V.a45 = s*tmp + c*V.a45;
+                tmp = V.a53;
+                V.a53 = c*tmp - s*V.a55;
+                V.a55 = s*tmp + c*V.a55;
+                tmp = V.a63;
+                V.a63 = c*tmp - s*V.a65;
+                V.a65 = s*tmp + c*V.a65;
+            }
+
+            alpha = U.a13*U.a13 + U.a23*U.a23 + U.a33*U.a33 + U.a43*U.a43 + U.a53*U.a53 + U.a63*U.a63;
+            beta = U.a16*U.a16 + U.a26*U.a26 + U.a36*U.a36 + U.a46*U.a46 + U.a56*U.a56 + U.a66*U.a66;
+            gamma = U.a13*U.a16 + U.a23*U.a26 + U.a33*U.a36 + U.a43*U.a46 + U.a53*U.a56 + U.a63*U.a66;
+            if (Math.abs(gamma) > UtilEjml.EPS*Math.sqrt(alpha*beta)) {
+                converged = false;
+                zeta = (beta - alpha)/(2.0*gamma);
+                t = 1.0/(Math.abs(zeta) + Math.sqrt(zeta*zeta + 1.0));
+                if (zeta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                tmp = U.a13;
+                U.a13 = c*tmp - s*U.a16;
+                U.a16 = s*tmp + c*U.a16;
+                tmp = U.a23;
+                U.a23 = c*tmp - s*U.a26;
+                U.a26 = s*tmp + c*U.a26;
+                tmp = U.a33;
+                U.a33 = c*tmp - s*U.a36;
+                U.a36 = s*tmp + c*U.a36;
+                tmp = U.a43;
+                U.a43 = c*tmp - s*U.a46;
+                U.a46 = s*tmp + c*U.a46;
+                tmp = U.a53;
+                U.a53 = c*tmp - s*U.a56;
+                U.a56 = s*tmp + c*U.a56;
+                tmp = U.a63;
+                U.a63 = c*tmp - s*U.a66;
+                U.a66 = s*tmp + c*U.a66;
+                tmp = V.a13;
+                V.a13 = c*tmp - s*V.a16;
+                V.a16 = s*tmp + c*V.a16;
+                tmp = V.a23;
+                V.a23 = c*tmp - s*V.a26;
+                V.a26 = s*tmp + c*V.a26;
+                tmp = V.a33;
+                V.a33 = c*tmp - s*V.a36;
+                V.a36 = s*tmp + c*V.a36;
+                tmp = V.a43;
+                V.a43 = c*tmp - s*V.a46;
+                V.a46 = s*tmp + c*V.a46;
+                tmp = V.a53;
+                V.a53 = c*tmp - s*V.a56;
+                V.a56 = s*tmp + c*V.a56;
+                tmp = V.a63;
+                V.a63 = c*tmp - s*V.a66;
+                V.a66 = s*tmp + c*V.a66;
+            }
+
+            alpha = U.a14*U.a14 + U.a24*U.a24 + U.a34*U.a34 + U.a44*U.a44 + U.a54*U.a54 + U.a64*U.a64;
+            beta = U.a15*U.a15 + U.a25*U.a25 + U.a35*U.a35 + U.a45*U.a45 + U.a55*U.a55 + U.a65*U.a65;
+            gamma = U.a14*U.a15 + U.a24*U.a25 + U.a34*U.a35 + U.a44*U.a45 + U.a54*U.a55 + U.a64*U.a65;
+            if (Math.abs(gamma) > UtilEjml.EPS*Math.sqrt(alpha*beta)) {
+                converged = false;
+                zeta = (beta - alpha)/(2.0*gamma);
+                t = 1.0/(Math.abs(zeta) + Math.sqrt(zeta*zeta + 1.0));
+                if (zeta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                tmp = U.a14;
+                U.a14 = c*tmp - s*U.a15;
+                U.a15 = s*tmp + c*U.a15;
+                tmp = U.a24;
+                U.a24 = c*tmp - s*U.a25;
+                U.a25 = s*tmp + c*U.a25;
+                tmp = U.a34;
+                U.a34 = c*tmp - s*U.a35;
+                U.a35 = s*tmp + c*U.a35;
+                tmp = U.a44;
+                U.a44 = c*tmp - s*U.a45;
+                U.a45 = s*tmp + c*U.a45;
+                tmp = U.a54;
+                U.a54 = c*tmp - s*U.a55;
+                U.a55 = s*tmp + c*U.a55;
+                tmp = U.a64;
+                U.a64 = c*tmp - s*U.a65;
+                U.a65 = s*tmp + c*U.a65;
+                tmp = V.a14;
+                V.a14 = c*tmp - s*V.a15;
+                V.a15 = s*tmp + c*V.a15;
+                tmp = V.a24;
+                V.a24 = c*tmp - s*V.a25;
+                V.a25 = s*tmp + c*V.a25;
+                tmp = V.a34;
+                V.a34 = c*tmp - s*V.a35;
+                V.a35 = s*tmp + c*V.a35;
+                tmp = V.a44;
+                V.a44 = c*tmp - s*V.a45;
+                V.a45 = s*tmp + c*V.a45;
+                tmp = V.a54;
+                V.a54 = c*tmp - s*V.a55;
+                V.a55 = s*tmp + c*V.a55;
+                tmp = V.a64;
+                V.a64 = c*tmp - s*V.a65;
+                V.a65 = s*tmp + c*V.a65;
+            }
+
+            alpha = U.a14*U.a14 + U.a24*U.a24 + U.a34*U.a34 + U.a44*U.a44 + U.a54*U.a54 + U.a64*U.a64;
+            beta = U.a16*U.a16 + U.a26*U.a26 + U.a36*U.a36 + U.a46*U.a46 + U.a56*U.a56 + U.a66*U.a66;
+            gamma = U.a14*U.a16 + U.a24*U.a26 + U.a34*U.a36 + U.a44*U.a46 + U.a54*U.a56 + U.a64*U.a66;
+            if (Math.abs(gamma) > UtilEjml.EPS*Math.sqrt(alpha*beta)) {
+                converged = false;
+                zeta = (beta - alpha)/(2.0*gamma);
+                t = 1.0/(Math.abs(zeta) + Math.sqrt(zeta*zeta + 1.0));
+                if (zeta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                tmp = U.a14;
+                U.a14 = c*tmp - s*U.a16;
+                U.a16 = s*tmp + c*U.a16;
+                tmp = U.a24;
+                U.a24 = c*tmp - s*U.a26;
+                U.a26 = s*tmp + c*U.a26;
+                tmp = U.a34;
+                U.a34 = c*tmp - s*U.a36;
+                U.a36 = s*tmp + c*U.a36;
+                tmp = U.a44;
+                U.a44 = c*tmp - s*U.a46;
+                U.a46 = s*tmp + c*U.a46;
+                tmp = U.a54;
+                U.a54 = c*tmp - s*U.a56;
+                U.a56 = s*tmp + c*U.a56;
+                tmp = U.a64;
+                U.a64 = c*tmp - s*U.a66;
+                U.a66 = s*tmp + c*U.a66;
+                tmp = V.a14;
+                V.a14 = c*tmp - s*V.a16;
+                V.a16 = s*tmp + c*V.a16;
+                tmp = V.a24;
+                V.a24 = c*tmp - s*V.a26;
+                V.a26 = s*tmp + c*V.a26;
+                tmp = V.a34;
+                V.a34 = c*tmp - s*V.a36;
+                V.a36 = s*tmp + c*V.a36;
+                tmp = V.a44;
+                V.a44 = c*tmp - s*V.a46;
+                V.a46 = s*tmp + c*V.a46;
+                tmp = V.a54;
+                V.a54 = c*tmp - s*V.a56;
+                V.a56 = s*tmp + c*V.a56;
+                tmp = V.a64;
+                V.a64 = c*tmp - s*V.a66;
+                V.a66 = s*tmp + c*V.a66;
+            }
+
+            alpha = U.a15*U.a15 + U.a25*U.a25 + U.a35*U.a35 + U.a45*U.a45 + U.a55*U.a55 + U.a65*U.a65;
+            beta = U.a16*U.a16 + U.a26*U.a26 + U.a36*U.a36 + U.a46*U.a46 + U.a56*U.a56 + U.a66*U.a66;
+            gamma = U.a15*U.a16 + U.a25*U.a26 + U.a35*U.a36 + U.a45*U.a46 + U.a55*U.a56 + U.a65*U.a66;
+            if (Math.abs(gamma) > UtilEjml.EPS*Math.sqrt(alpha*beta)) {
+                converged = false;
+                zeta = (beta - alpha)/(2.0*gamma);
+                t = 1.0/(Math.abs(zeta) + Math.sqrt(zeta*zeta + 1.0));
+                if (zeta < 0.0)
+                    t = -t;
+                c = 1.0/Math.sqrt(t*t + 1.0);
+                s = t*c;
+                tmp = U.a15;
+                U.a15 = c*tmp - s*U.a16;
+                U.a16 = s*tmp + c*U.a16;
+                tmp = U.a25;
+                U.a25 = c*tmp - s*U.a26;
+                U.a26 = s*tmp + c*U.a26;
+                tmp = U.a35;
+                U.a35 = c*tmp - s*U.a36;
+                U.a36 = s*tmp + c*U.a36;
+                tmp = U.a45;
+                U.a45 = c*tmp - s*U.a46;
+                U.a46 = s*tmp + c*U.a46;
+                tmp = U.a55;
+                U.a55 = c*tmp - s*U.a56;
+                U.a56 = s*tmp + c*U.a56;
+                tmp = U.a65;
+                U.a65 = c*tmp - s*U.a66;
+                U.a66 = s*tmp + c*U.a66;
+                tmp = V.a15;
+                V.a15 = c*tmp - s*V.a16;
+                V.a16 = s*tmp + c*V.a16;
+                tmp = V.a25;
+                V.a25 = c*tmp - s*V.a26;
+                V.a26 = s*tmp + c*V.a26;
+                tmp = V.a35;
+                V.a35 = c*tmp - s*V.a36;
+                V.a36 = s*tmp + c*V.a36;
+                tmp = V.a45;
+                V.a45 = c*tmp - s*V.a46;
+                V.a46 = s*tmp + c*V.a46;
+                tmp = V.a55;
+                V.a55 = c*tmp - s*V.a56;
+                V.a56 = s*tmp + c*V.a56;
+                tmp = V.a65;
+                V.a65 = c*tmp - s*V.a66;
+                V.a66 = s*tmp + c*V.a66;
+            }
+        }
+
+        // singular values are the norm of each column
+        double norm;
+        norm = Math.sqrt(U.a11*U.a11 + U.a21*U.a21 + U.a31*U.a31 + U.a41*U.a41 + U.a51*U.a51 + U.a61*U.a61);
+        W.a1 = norm;
+        norm = norm == 0.0 ? 0.0 : 1.0/norm;
+        U.a11 *= norm;
+        U.a21 *= norm;
+        U.a31 *= norm;
+        U.a41 *= norm;
+        U.a51 *= norm;
+        U.a61 *= norm;
+        norm = Math.sqrt(U.a12*U.a12 + U.a22*U.a22 + U.a32*U.a32 + U.a42*U.a42 + U.a52*U.a52 + U.a62*U.a62);
+        W.a2 = norm;
+        norm = norm == 0.0 ? 0.0 : 1.0/norm;
+        U.a12 *= norm;
+        U.a22 *= norm;
+        U.a32 *= norm;
+        U.a42 *= norm;
+        U.a52 *= norm;
+        U.a62 *= norm;
+        norm = Math.sqrt(U.a13*U.a13 + U.a23*U.a23 + U.a33*U.a33 + U.a43*U.a43 + U.a53*U.a53 + U.a63*U.a63);
+        W.a3 = norm;
+        norm = norm == 0.0 ? 0.0 : 1.0/norm;
+        U.a13 *= norm;
+        U.a23 *= norm;
+        U.a33 *= norm;
+        U.a43 *= norm;
+        U.a53 *= norm;
+        U.a63 *= norm;
+        norm = Math.sqrt(U.a14*U.a14 + U.a24*U.a24 + U.a34*U.a34 + U.a44*U.a44 + U.a54*U.a54 + U.a64*U.a64);
+        W.a4 = norm;
+        norm = norm == 0.0 ? 0.0 : 1.0/norm;
+        U.a14 *= norm;
+        U.a24 *= norm;
+        U.a34 *= norm;
+        U.a44 *= norm;
+        U.a54 *= norm;
+        U.a64 *= norm;
+        norm = Math.sqrt(U.a15*U.a15 + U.a25*U.a25 + U.a35*U.a35 + U.a45*U.a45 + U.a55*U.a55 + U.a65*U.a65);
+        W.a5 = norm;
+        norm = norm == 0.0 ? 0.0 : 1.0/norm;
+        U.a15 *= norm;
+        U.a25 *= norm;
+        U.a35 *= norm;
+        U.a45 *= norm;
+        U.a55 *= norm;
+        U.a65 *= norm;
+        norm = Math.sqrt(U.a16*U.a16 + U.a26*U.a26 + U.a36*U.a36 + U.a46*U.a46 + U.a56*U.a56 + U.a66*U.a66);
+        W.a6 = norm;
+        norm = norm == 0.0 ? 0.0 : 1.0/norm;
+        U.a16 *= norm;
+        U.a26 *= norm;
+        U.a36 *= norm;
+        U.a46 *= norm;
+        U.a56 *= norm;
+        U.a66 *= norm;
+        return converged;
+    }
+}
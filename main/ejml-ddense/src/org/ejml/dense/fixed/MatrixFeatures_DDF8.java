@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.dense.fixed;
+
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrix8;
+import org.ejml.data.DMatrix8x8;
+
+import javax.annotation.Generated;
+
+/**
+ * <p>Matrix features for fixed sized matrices which are 8 x 8 or 8 element vectors.</p>
+ *
+ * <p>DO NOT MODIFY. Automatically generated code created by GenerateFixedFeatures</p>
+ *
+ * @author Peter Abeles
+ */
+@Generated("org.ejml.dense.fixed.GenerateFixedFeatures")
+public class MatrixFeatures_DDF8 {
+    public static boolean isIdentical(DMatrix8x8 a , DMatrix8x8 b , double tol ) {
+        for (int i = 0; i < 64; i++) {
+            if( !UtilEjml.isIdentical(a.data[i],b.data[i],tol))
+                return false;
+        }
+        return true;
+    }
+
+    public static boolean isIdentical(DMatrix8 a , DMatrix8 b , double tol ) {
+        for (int i = 0; i < 8; i++) {
+            if( !UtilEjml.isIdentical(a.data[i],b.data[i],tol))
+                return false;
+        }
+        return true;
+    }
+
+    public static boolean hasUncountable(DMatrix8x8 a ) {
+        for (int i = 0; i < 64; i++) {
+            if( UtilEjml.isUncountable(a.data[i]))
+                return true;
+        }
+        return false;
+    }
+
+    public static boolean hasUncountable(DMatrix8 a ) {
+        for (int i = 0; i < 8; i++) {
+            if( UtilEjml.isUncountable(a.data[i]))
+                return true;
+        }
+        return false;
+    }
+
+}
+
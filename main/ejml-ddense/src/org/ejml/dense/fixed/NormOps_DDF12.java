@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.dense.fixed;
+
+import org.ejml.data.DMatrix12;
+import org.ejml.data.DMatrix12x12;
+
+import javax.annotation.Generated;
+
+/**
+ * <p>Matrix norm related operations for fixed sized matrices of size 12.</p>
+ *
+ * <p>DO NOT MODIFY. Automatically generated code created by GenerateNormOps_DDF</p>
+ *
+ * @author Peter Abeles
+ */
+@Generated("org.ejml.dense.fixed.GenerateNormOps_DDF")
+public class NormOps_DDF12 {
+    public static void normalizeF( DMatrix12x12 M ) {
+        double val = normF(M);
+        CommonOps_DDF12.divide(M,val);
+    }
+
+    public static void normalizeF( DMatrix12 M ) {
+        double val = normF(M);
+        CommonOps_DDF12.divide(M,val);
+    }
+
+    public static double fastNormF( DMatrix12x12 M ) {
+        double sum = 0;
+
+        for (int i = 0; i < 144; i++) {
+            sum += M.data[i]*M.data[i];
+        }
+
+        return Math.sqrt(sum);
+    }
+
+    public static double fastNormF( DMatrix12 M ) {
+        double sum = 0;
+
+        for (int i = 0; i < 12; i++) {
+            sum += M.data[i]*M.data[i];
+        }
+
+        return Math.sqrt(sum);
+    }
+
+    public static double normF( DMatrix12x12 M ) {
+        double scale = CommonOps_DDF12.elementMaxAbs(M);
+
+        if( scale == 0.0 )
+            return 0.0;
+
+        double sum = 0;
+        for (int i = 0; i < 144; i++) {
+            double a = M.data[i]/scale;
+            sum += a*a;
+        }
+
+        return scale * Math.sqrt(sum);
+    }
+
+    public static double normF( DMatrix12 M ) {
+        double scale = CommonOps_DDF12.elementMaxAbs(M);
+
+        if( scale == 0.0 )
+            return 0.0;
+
+        double sum = 0;
+        for (int i = 0; i < 12; i++) {
+            double a = M.data[i]/scale;
+            sum += a*a;
+        }
+
+        return scale * Math.sqrt(sum);
+    }
+
+}
+
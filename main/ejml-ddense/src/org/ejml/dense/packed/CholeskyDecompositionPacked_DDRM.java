@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.packed;
+
+import org.ejml.data.Complex_F64;
+import org.ejml.data.DMatrixPacked;
+import org.ejml.data.PackedShape;
+import org.ejml.interfaces.decomposition.CholeskyDecomposition_F64;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * <p>
+ * Cholesky decomposition of a symmetric positive definite matrix in packed storage. The matrix is decomposed
+ * in place into a lower triangular matrix using {@link PackedOps_DDRM#cholesky}, which computes the same L as
+ * {@link org.ejml.dense.row.decomposition.chol.CholeskyDecompositionInner_DDRM} while using half the memory. Use
+ * {@link PackedOps_DDRM#convert} to move between packed and dense matrices.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings("NullAway.Init")
+public class CholeskyDecompositionPacked_DDRM implements CholeskyDecomposition_F64<DMatrixPacked> {
+    // the decomposed matrix
+    protected DMatrixPacked T;
+
+    // storage for computed determinant
+    protected Complex_F64 det = new Complex_F64();
+
+    /**
+     * Decomposes the matrix in place. On success the matrix is lower triangular.
+     *
+     * @param mat A symmetric positive definite matrix. Modified.
+     * @return True if it was able to finish the decomposition.
+     */
+    @Override
+    public boolean decompose( DMatrixPacked mat ) {
+        T = mat;
+        return PackedOps_DDRM.cholesky(mat);
+    }
+
+    @Override
+    public boolean inputModified() {
+        return true;
+    }
+
+    /**
+     * Always returns true since only the lower triangle is stored
+     */
+    @Override
+    public boolean isLower() {
+        return true;
+    }
+
+    @Override
+    public DMatrixPacked getT( @Nullable DMatrixPacked T ) {
+        if (T == null)
+            return new DMatrixPacked(this.T);
+        return T.setTo(this.T);
+    }
+
+    /**
+     * Returns the lower triangular matrix from the decomposition. This is the same instance which was decomposed.
+     */
+    public DMatrixPacked getT() {
+        return T;
+    }
+
+    @Override
+    public Complex_F64 computeDeterminant() {
+        if (T.shape != PackedShape.LOWER)
+            throw new IllegalArgumentException("The decomposition failed or decompose() wasn't called");
+        double prod = 1;
+        for (int i = 0; i < T.numRows; i++) {
+            prod *= T.data[DMatrixPacked.index(i, i)];
+        }
+
+        det.real = prod*prod;
+        det.imaginary = 0;
+
+        return det;
+    }
+}
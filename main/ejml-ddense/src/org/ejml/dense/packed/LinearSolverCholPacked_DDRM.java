@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.packed;
+
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixPacked;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.interfaces.decomposition.CholeskyDecomposition_F64;
+import org.ejml.interfaces.linsol.LinearSolver;
+
+/**
+ * Solves A*X = B where A is a symmetric positive definite matrix in packed storage and B and X are dense. A is
+ * replaced by its Cholesky decomposition, see {@link CholeskyDecompositionPacked_DDRM}.
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings("NullAway.Init")
+public class LinearSolverCholPacked_DDRM implements LinearSolver<DMatrixPacked, DMatrixRMaj> {
+    CholeskyDecompositionPacked_DDRM decomposer = new CholeskyDecompositionPacked_DDRM();
+
+    // The matrix which was decomposed
+    protected DMatrixPacked L;
+
+    @Override
+    public boolean setA( DMatrixPacked A ) {
+        L = A;
+        return decomposer.decompose(A);
+    }
+
+    @Override
+    public /**/double quality() {
+        int N = L.numRows;
+        double max = 0.0;
+        for (int i = 0; i < N; i++) {
+            max = Math.max(max, Math.abs(L.data[DMatrixPacked.index(i, i)]));
+        }
+
+        if (max == 0.0)
+            return 0.0;
+
+        double quality = 1.0;
+        for (int i = 0; i < N; i++) {
+            quality *= L.data[DMatrixPacked.index(i, i)]/max;
+        }
+
+        return Math.abs(quality);
+    }
+
+    /**
+     * Finds X in A*X = B. B and X can be the same instance.
+     *
+     * @param B A matrix that is n by m. Not modified.
+     * @param X An n by m matrix where the solution is written to. Modified.
+     */
+    @Override
+    public void solve( DMatrixRMaj B, DMatrixRMaj X ) {
+        if (L == null)
+            throw new RuntimeException("Must call setA() first");
+        UtilEjml.checkReshapeSolve(L.numRows, L.numRows, B, X);
+        PackedOps_DDRM.solveCholesky(L, B, X);
+    }
+
+    /**
+     * Computes the inverse of the matrix which was decomposed.
+     *
+     * @param inv Where the inverse is written to. Reshaped.
+     */
+    public void invert( DMatrixPacked inv ) {
+        PackedOps_DDRM.invertCholesky(L, inv);
+    }
+
+    @Override
+    public boolean modifiesA() {
+        return true;
+    }
+
+    @Override
+    public boolean modifiesB() {
+        return false;
+    }
+
+    @Override
+    public CholeskyDecomposition_F64<DMatrixPacked> getDecomposition() {
+        return decomposer;
+    }
+}
@@ -0,0 +1,501 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.packed;
+
+import org.ejml.EjmlParameters;
+import org.ejml.UtilEjml;
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrix1Row;
+import org.ejml.data.DMatrixPacked;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.PackedShape;
+import org.ejml.dense.row.mult.MatrixMultPacked_DDRM;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Operations on symmetric and lower triangular matrices which are stored in a {@link DMatrixPacked}. This includes
+ * the symmetric rank-k update (SYRK), e.g. C = A<sup>T</sup>*A, multiplication of a symmetric matrix by a
+ * dense matrix (SYMM), and Cholesky decomposition. Since only the lower triangle is stored these require about
+ * half the memory of the equivalent operations on a {@link DMatrixRMaj}, and the rank-k update only computes
+ * half the elements.
+ * </p>
+ *
+ * <p>
+ * Inner loops are written so that they go through rows of the packed matrix and rows of the dense matrices,
+ * which are both contiguous in memory.
+ * </p>
+ *
+ * @author Peter Abeles
+ * @see PackedOps_MT_DDRM
+ */
+public class PackedOps_DDRM {
+    /**
+     * Rows of the output in a rank-k update are processed in blocks which have about this many elements, so that
+     * the block stays in the cache while the input is traversed
+     */
+    public static final int BLOCK_ELEMENTS = 8192;
+
+    /**
+     * Converts a packed matrix into a dense matrix. All the elements are written to, including the upper triangle.
+     *
+     * @param src (Input) Packed matrix. Not modified.
+     * @param dst (Output) Dense matrix. Reshaped. If null a new matrix is declared.
+     * @return The dense matrix
+     */
+    public static DMatrixRMaj convert( DMatrixPacked src, @Nullable DMatrixRMaj dst ) {
+        int N = src.numRows;
+        dst = UtilEjml.reshapeOrDeclare(dst, N, N);
+        boolean symmetric = src.isSymmetric();
+        int index = 0;
+        for (int row = 0; row < N; row++) {
+            for (int col = 0; col < row; col++) {
+                double value = src.data[index++];
+                dst.data[row*N + col] = value;
+                dst.data[col*N + row] = symmetric ? value : 0.0;
+            }
+            dst.data[row*N + row] = src.data[index++];
+        }
+        return dst;
+    }
+
+    /**
+     * Copies the lower triangle of a square dense matrix into a packed matrix.
+     *
+     * @param src (Input) Square matrix. Not modified.
+     * @param shape Which matrix the lower triangle encodes
+     * @param dst (Output) Packed matrix. Reshaped. If null a new matrix is declared.
+     * @return The packed matrix
+     */
+    public static DMatrixPacked convert( DMatrixRMaj src, PackedShape shape, @Nullable DMatrixPacked dst ) {
+        UtilEjml.assertShape(src.numRows, src.numCols, "Must be a square matrix");
+        if (dst == null)
+            dst = new DMatrixPacked(src.numRows, shape);
+        else {
+            dst.shape = shape;
+            dst.reshape(src.numRows);
+        }
+        int N = src.numRows;
+        for (int row = 0; row < N; row++) {
+            System.arraycopy(src.data, row*N, dst.data, DMatrixPacked.index(row, 0), row + 1);
+        }
+        return dst;
+    }
+
+    /**
+     * <p>Symmetric rank-k update:<br>
+     * c = a<sup>T</sup> * a</p>
+     *
+     * @param a (Input) Matrix. Not modified.
+     * @param c (Output) Symmetric matrix with the same number of rows as 'a' has columns. Reshaped.
+     */
+    public static void multInner( DMatrix1Row a, DMatrixPacked c ) {
+        checkOutput(a.numCols, c, false);
+        multInnerRange(1.0, a, false, c, 0, a.numCols);
+    }
+
+    /**
+     * <p>Symmetric rank-k update:<br>
+     * c = c + &alpha; * a<sup>T</sup> * a</p>
+     *
+     * @param alpha Scaling factor
+     * @param a (Input) Matrix. Not modified.
+     * @param c (Input/Output) Symmetric matrix with the same number of rows as 'a' has columns. Modified.
+     */
+    public static void multAddInner( double alpha, DMatrix1Row a, DMatrixPacked c ) {
+        checkOutput(a.numCols, c, true);
+        multInnerRange(alpha, a, true, c, 0, a.numCols);
+    }
+
+    /**
+     * <p>Symmetric rank-k update:<br>
+     * c = a * a<sup>T</sup></p>
+     *
+     * @param a (Input) Matrix. Not modified.
+     * @param c (Output) Symmetric matrix with the same number of rows as 'a'. Reshaped.
+     */
+    public static void multOuter( DMatrix1Row a, DMatrixPacked c ) {
+        checkOutput(a.numRows, c, false);
+        multOuterRange(1.0, a, false, c, 0, a.numRows);
+    }
+
+    /**
+     * <p>Symmetric rank-k update:<br>
+     * c = c + &alpha; * a * a<sup>T</sup></p>
+     *
+     * @param alpha Scaling factor
+     * @param a (Input) Matrix. Not modified.
+     * @param c (Input/Output) Symmetric matrix with the same number of rows as 'a'. Modified.
+     */
+    public static void multAddOuter( double alpha, DMatrix1Row a, DMatrixPacked c ) {
+        checkOutput(a.numRows, c, true);
+        multOuterRange(alpha, a, true, c, 0, a.numRows);
+    }
+
+    /**
+     * <p>Multiplies a symmetric matrix by a dense matrix:<br>
+     * c = s * b</p>
+     *
+     * @param s (Input) Symmetric matrix. Not modified.
+     * @param b (Input) Dense matrix with the same number of rows as 's'. Not modified.
+     * @param c (Output) Dense matrix. Reshaped.
+     */
+    public static void mult( DMatrixPacked s, DMatrix1Row b, DMatrix1Row c ) {
+        checkInputMult(s, b, c);
+        c.reshape(s.numRows, b.numCols);
+        multRange(1.0, s, b, false, c, 0, s.numRows);
+    }
+
+    /**
+     * <p>Multiplies a symmetric matrix by a dense matrix and adds the result:<br>
+     * c = c + &alpha; * s * b</p>
+     *
+     * @param alpha Scaling factor
+     * @param s (Input) Symmetric matrix. Not modified.
+     * @param b (Input) Dense matrix with the same number of rows as 's'. Not modified.
+     * @param c (Input/Output) Dense matrix with the same shape as 'b'. Modified.
+     */
+    public static void multAdd( double alpha, DMatrixPacked s, DMatrix1Row b, DMatrix1Row c ) {
+        checkInputMult(s, b, c);
+        UtilEjml.assertShape(c.numRows == s.numRows && c.numCols == b.numCols, "'c' is not the expected shape");
+        multRange(alpha, s, b, true, c, 0, s.numRows);
+    }
+
+    /**
+     * <p>Cholesky decomposition of a symmetric positive definite matrix. The matrix is replaced by the lower
+     * triangular L, where A = L*L<sup>T</sup>, and its shape is changed to {@link PackedShape#LOWER}. The
+     * decomposition is the same as {@link org.ejml.dense.row.decomposition.chol.CholeskyDecompositionInner_DDRM}
+     * but each element of L is computed from an inner product of two rows, which are contiguous in packed
+     * storage.</p>
+     *
+     * @param A (Input) Symmetric positive definite matrix. (Output) Lower triangular matrix. Modified.
+     * @return true if the matrix is positive definite. If false the contents of A are undefined.
+     */
+    public static boolean cholesky( DMatrixPacked A ) {
+        if (!A.isSymmetric())
+            throw new IllegalArgumentException("Matrix must be symmetric");
+
+        final double[] t = A.data;
+        final int N = A.numRows;
+        for (int i = 0; i < N; i++) {
+            int indexI = DMatrixPacked.index(i, 0);
+            for (int j = 0; j <= i; j++) {
+                int indexJ = DMatrixPacked.index(j, 0);
+                double sum = t[indexI + j];
+                for (int k = 0; k < j; k++) {
+                    sum -= t[indexI + k]*t[indexJ + k];
+                }
+
+                if (i == j) {
+                    // is it positive-definite?
+                    if (sum <= 0.0)
+                        return false;
+                    t[indexI + i] = Math.sqrt(sum);
+                } else {
+                    t[indexI + j] = sum/t[indexJ + j];
+                }
+            }
+        }
+        A.shape = PackedShape.LOWER;
+        return true;
+    }
+
+    /**
+     * <p>Solves L*L<sup>T</sup>*X = B using the output of {@link #cholesky}.</p>
+     *
+     * @param L (Input) Lower triangular matrix. Not modified.
+     * @param B (Input) Right hand side. Not modified.
+     * @param X (Output) Solution. Reshaped. Can be the same instance as B.
+     */
+    public static void solveCholesky( DMatrixPacked L, DMatrix1Row B, DMatrix1Row X ) {
+        checkInputSolve(L, B);
+        if (X != B) {
+            X.reshape(B.numRows, B.numCols);
+            System.arraycopy(B.data, 0, X.data, 0, B.getNumElements());
+        }
+        solveCholeskyRange(L, X, 0, X.numCols);
+    }
+
+    /**
+     * <p>Computes the inverse of L*L<sup>T</sup> using the output of {@link #cholesky}.</p>
+     *
+     * @param L (Input) Lower triangular matrix. Not modified.
+     * @param inv (Output) Symmetric inverse. Reshaped. Can't be the same instance as L.
+     */
+    public static void invertCholesky( DMatrixPacked L, DMatrixPacked inv ) {
+        if (L.isSymmetric())
+            throw new IllegalArgumentException("Must be lower triangular");
+        UtilEjml.checkSameInstance(L, inv);
+        final int N = L.numRows;
+        inv.shape = PackedShape.LOWER;
+        inv.reshape(N);
+
+        // Compute L^-1 by solving L*X = I one row at a time. Row i only depends on previous rows
+        final double[] l = L.data;
+        final double[] t = inv.data;
+        for (int i = 0; i < N; i++) {
+            int indexI = DMatrixPacked.index(i, 0);
+            double diag = l[indexI + i];
+            for (int j = 0; j < i; j++) {
+                double sum = 0;
+                for (int k = j; k < i; k++) {
+                    sum -= l[indexI + k]*t[DMatrixPacked.index(k, j)];
+                }
+                t[indexI + j] = sum/diag;
+            }
+            t[indexI + i] = 1.0/diag;
+        }
+
+        // inv = L^-T * L^-1. Element (i,j) with j <= i is the inner product of columns i and j in L^-1, which only
+        // involves rows i and larger. Row i of the output can then be written over row i of L^-1
+        for (int i = 0; i < N; i++) {
+            int indexI = DMatrixPacked.index(i, 0);
+            for (int j = 0; j <= i; j++) {
+                double sum = 0;
+                for (int k = i; k < N; k++) {
+                    int indexK = DMatrixPacked.index(k, 0);
+                    sum += t[indexK + i]*t[indexK + j];
+                }
+                t[indexI + j] = sum;
+            }
+        }
+        inv.shape = PackedShape.SYMMETRIC;
+    }
+
+    /**
+     * Computes rows row0 (inclusive) to row1 (exclusive) of c = c*(add ? 1 : 0) + &alpha;*a<sup>T</sup>*a.
+     * Each row of 'a' adds a rank-1 update to the block of rows in 'c'.
+     */
+    static void multInnerRange( double alpha, DMatrix1Row a, boolean add, DMatrixPacked c, int row0, int row1 ) {
+        final double[] dataA = a.data;
+        final double[] dataC = c.data;
+        final int numRowsA = a.numRows;
+        final int N = a.numCols;
+
+        for (int i0 = row0; i0 < row1; ) {
+            int i1 = blockEnd(i0, row1);
+            if (!add)
+                Arrays.fill(dataC, DMatrixPacked.index(i0, 0), DMatrixPacked.index(i1, 0), 0.0);
+
+            for (int k = 0; k < numRowsA; k++) {
+                int indexRowA = k*N;
+                for (int i = i0; i < i1; i++) {
+                    double valA = alpha*dataA[indexRowA + i];
+                    int indexC = DMatrixPacked.index(i, 0);
+                    int end = indexC + i + 1;
+                    int indexA = indexRowA;
+                    while (indexC < end) {
+                        dataC[indexC++] += valA*dataA[indexA++];
+                    }
+                }
+            }
+            i0 = i1;
+        }
+    }
+
+    /**
+     * Computes rows row0 (inclusive) to row1 (exclusive) of c = c*(add ? 1 : 0) + &alpha;*a*a<sup>T</sup>.
+     * Each element is the inner product of two rows in 'a'.
+     */
+    static void multOuterRange( double alpha, DMatrix1Row a, boolean add, DMatrixPacked c, int row0, int row1 ) {
+        final double[] dataA = a.data;
+        final double[] dataC = c.data;
+        final int N = a.numCols;
+
+        for (int i = row0; i < row1; i++) {
+            int indexC = DMatrixPacked.index(i, 0);
+            int indexRowI = i*N;
+            for (int j = 0; j <= i; j++) {
+                int indexI = indexRowI;
+                int indexJ = j*N;
+                int end = indexI + N;
+                double sum = 0;
+                while (indexI < end) {
+                    sum += dataA[indexI++]*dataA[indexJ++];
+                }
+                if (add)
+                    dataC[indexC++] += alpha*sum;
+                else
+                    dataC[indexC++] = alpha*sum;
+            }
+        }
+    }
+
+    /**
+     * Computes rows row0 (inclusive) to row1 (exclusive) of c = c*(add ? 1 : 0) + &alpha;*s*b. For large matrices
+     * blocks of rows in 's' are expanded into a dense matrix and multiplied using {@link MatrixMultPacked_DDRM}, which
+     * only requires a small amount of extra memory. Otherwise four rows of 'c' are computed at the same time so that
+     * each row of 'b' is read once for all of them.
+     */
+    static void multRange( double alpha, DMatrixPacked s, DMatrix1Row b, boolean add, DMatrix1Row c,
+                           int row0, int row1 ) {
+        final double[] dataS = s.data;
+        final double[] dataB = b.data;
+        final double[] dataC = c.data;
+        final int N = s.numRows;
+        final int P = b.numCols;
+
+        if (MatrixMultPacked_DDRM.isPreferred(row1 - row0, P, N)) {
+            int blockRows = EjmlParameters.MULT_PACKED_MC;
+            var rows = new DGrowArray();
+            var workA = new DGrowArray();
+            var workB = new DGrowArray();
+            for (int i0 = row0; i0 < row1; i0 += blockRows) {
+                int i1 = Math.min(row1, i0 + blockRows);
+                double[] dense = rows.reshape((i1 - i0)*N).data;
+                // lower triangle is copied from rows and the upper triangle from the same columns in later rows
+                for (int i = i0; i < i1; i++) {
+                    System.arraycopy(dataS, DMatrixPacked.index(i, 0), dense, (i - i0)*N, i + 1);
+                }
+                for (int k = i0 + 1; k < N; k++) {
+                    int indexS = DMatrixPacked.index(k, 0);
+                    int end = Math.min(k, i1);
+                    for (int i = i0; i < end; i++) {
+                        dense[(i - i0)*N + k] = dataS[indexS + i];
+                    }
+                }
+                MatrixMultPacked_DDRM.gemm(i1 - i0, P, N, alpha, dense, 0, N, false, dataB, 0, P, false,
+                        add ? 1.0 : 0.0, dataC, i0*P, P, workA, workB);
+            }
+            return;
+        }
+
+        if (!add)
+            Arrays.fill(dataC, row0*P, row1*P, 0.0);
+
+        int i = row0;
+        for (; i + 4 <= row1; i += 4) {
+            int indexC0 = i*P, indexC1 = indexC0 + P, indexC2 = indexC1 + P, indexC3 = indexC2 + P;
+            for (int k = 0; k < N; k++) {
+                double s0 = alpha*symmetric(dataS, i, k);
+                double s1 = alpha*symmetric(dataS, i + 1, k);
+                double s2 = alpha*symmetric(dataS, i + 2, k);
+                double s3 = alpha*symmetric(dataS, i + 3, k);
+                int indexB = k*P;
+                for (int j = 0; j < P; j++) {
+                    double valB = dataB[indexB + j];
+                    dataC[indexC0 + j] += s0*valB;
+                    dataC[indexC1 + j] += s1*valB;
+                    dataC[indexC2 + j] += s2*valB;
+                    dataC[indexC3 + j] += s3*valB;
+                }
+            }
+        }
+        for (; i < row1; i++) {
+            int indexC = i*P;
+            for (int k = 0; k < N; k++) {
+                double valS = alpha*symmetric(dataS, i, k);
+                int indexB = k*P;
+                for (int j = 0; j < P; j++) {
+                    dataC[indexC + j] += valS*dataB[indexB + j];
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns element (row,col) of a packed symmetric matrix
+     */
+    private static double symmetric( double[] data, int row, int col ) {
+        return col <= row ? data[DMatrixPacked.index(row, col)] : data[DMatrixPacked.index(col, row)];
+    }
+
+    /**
+     * Solves L*L<sup>T</sup>*X = X in place for columns col0 (inclusive) to col1 (exclusive) of X. Only whole
+     * rows of L and X are traversed.
+     */
+    static void solveCholeskyRange( DMatrixPacked L, DMatrix1Row X, int col0, int col1 ) {
+        final double[] l = L.data;
+        final double[] x = X.data;
+        final int N = L.numRows;
+        final int P = X.numCols;
+
+        // L*Y = X
+        for (int i = 0; i < N; i++) {
+            int indexL = DMatrixPacked.index(i, 0);
+            int indexRowI = i*P;
+            for (int k = 0; k < i; k++) {
+                double valL = l[indexL + k];
+                int indexRowK = k*P;
+                for (int col = col0; col < col1; col++) {
+                    x[indexRowI + col] -= valL*x[indexRowK + col];
+                }
+            }
+            double diag = l[indexL + i];
+            for (int col = col0; col < col1; col++) {
+                x[indexRowI + col] /= diag;
+            }
+        }
+
+        // L^T*X = Y. Once row i is solved it's subtracted from the rows above
+        for (int i = N - 1; i >= 0; i--) {
+            int indexL = DMatrixPacked.index(i, 0);
+            int indexRowI = i*P;
+            double diag = l[indexL + i];
+            for (int col = col0; col < col1; col++) {
+                x[indexRowI + col] /= diag;
+            }
+            for (int k = 0; k < i; k++) {
+                double valL = l[indexL + k];
+                int indexRowK = k*P;
+                for (int col = col0; col < col1; col++) {
+                    x[indexRowK + col] -= valL*x[indexRowI + col];
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the end of the block of rows which starts at row0 in the rank-k update
+     */
+    static int blockEnd( int row0, int row1 ) {
+        int row = row0;
+        int elements = 0;
+        do {
+            elements += row + 1;
+            row++;
+        } while (row < row1 && elements + row + 1 <= BLOCK_ELEMENTS);
+        return row;
+    }
+
+    static void checkOutput( int N, DMatrixPacked c, boolean add ) {
+        if (add) {
+            UtilEjml.assertShape(c.numRows, N, "'c' is not the expected shape");
+            if (!c.isSymmetric())
+                throw new IllegalArgumentException("'c' must be symmetric");
+        } else {
+            c.shape = PackedShape.SYMMETRIC;
+            c.reshape(N);
+        }
+    }
+
+    static void checkInputMult( DMatrixPacked s, DMatrix1Row b, DMatrix1Row c ) {
+        if (!s.isSymmetric())
+            throw new IllegalArgumentException("'s' must be symmetric");
+        UtilEjml.assertShape(s.numRows, b.numRows, "'s' and 'b' do not have compatible dimensions");
+        UtilEjml.checkSameInstance(b, c);
+    }
+
+    static void checkInputSolve( DMatrixPacked L, DMatrix1Row B ) {
+        if (L.isSymmetric())
+            throw new IllegalArgumentException("Must be lower triangular");
+        UtilEjml.assertShape(L.numRows, B.numRows, "'L' and 'B' do not have compatible dimensions");
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.packed;
+
+import org.ejml.UtilEjml;
+import org.ejml.concurrency.EjmlConcurrency;
+import org.ejml.data.DMatrix1Row;
+import org.ejml.data.DMatrixPacked;
+import pabeles.concurrency.IntRangeConsumer;
+
+import static org.ejml.dense.packed.PackedOps_DDRM.*;
+
+/**
+ * Concurrent implementation of {@link PackedOps_DDRM}. Rank-k updates and matrix multiplication split the rows
+ * of the output between threads. Since rows in the lower triangle get longer, the rank-k update splits them so that
+ * each thread has about the same number of elements. Solving splits the columns of the right hand side. See
+ * {@link PackedOps_DDRM} for a description of each function.
+ *
+ * @author Peter Abeles
+ */
+public class PackedOps_MT_DDRM {
+    // Minimum number of floating point operations processed by a thread
+    private static final int MIN_OPERATIONS = 20_000;
+
+    public static void multInner( DMatrix1Row a, DMatrixPacked c ) {
+        checkOutput(a.numCols, c, false);
+        loopTriangle(a.numCols, a.numRows, ( row0, row1 ) -> multInnerRange(1.0, a, false, c, row0, row1));
+    }
+
+    public static void multAddInner( double alpha, DMatrix1Row a, DMatrixPacked c ) {
+        checkOutput(a.numCols, c, true);
+        loopTriangle(a.numCols, a.numRows, ( row0, row1 ) -> multInnerRange(alpha, a, true, c, row0, row1));
+    }
+
+    public static void multOuter( DMatrix1Row a, DMatrixPacked c ) {
+        checkOutput(a.numRows, c, false);
+        loopTriangle(a.numRows, a.numCols, ( row0, row1 ) -> multOuterRange(1.0, a, false, c, row0, row1));
+    }
+
+    public static void multAddOuter( double alpha, DMatrix1Row a, DMatrixPacked c ) {
+        checkOutput(a.numRows, c, true);
+        loopTriangle(a.numRows, a.numCols, ( row0, row1 ) -> multOuterRange(alpha, a, true, c, row0, row1));
+    }
+
+    public static void mult( DMatrixPacked s, DMatrix1Row b, DMatrix1Row c ) {
+        checkInputMult(s, b, c);
+        c.reshape(s.numRows, b.numCols);
+        EjmlConcurrency.loopBlocks(0, s.numRows, minBlock(s.numRows*b.numCols),
+                ( row0, row1 ) -> multRange(1.0, s, b, false, c, row0, row1));
+    }
+
+    public static void multAdd( double alpha, DMatrixPacked s, DMatrix1Row b, DMatrix1Row c ) {
+        checkInputMult(s, b, c);
+        UtilEjml.assertShape(c.numRows == s.numRows && c.numCols == b.numCols, "'c' is not the expected shape");
+        EjmlConcurrency.loopBlocks(0, s.numRows, minBlock(s.numRows*b.numCols),
+                ( row0, row1 ) -> multRange(alpha, s, b, true, c, row0, row1));
+    }
+
+    public static void solveCholesky( DMatrixPacked L, DMatrix1Row B, DMatrix1Row X ) {
+        checkInputSolve(L, B);
+        if (X != B) {
+            X.reshape(B.numRows, B.numCols);
+            System.arraycopy(B.data, 0, X.data, 0, B.getNumElements());
+        }
+        EjmlConcurrency.loopBlocks(0, X.numCols, minBlock(L.numRows*L.numRows),
+                ( col0, col1 ) -> solveCholeskyRange(L, X, col0, col1));
+    }
+
+    /**
+     * Splits the rows of a triangular output into blocks with about the same number of elements and processes the
+     * blocks concurrently. The number of elements up to row r is about r<sup>2</sup>/2, so the boundary of block
+     * b out of B is at N*sqrt(b/B).
+     *
+     * @param N Number of rows in the output
+     * @param cost Number of operations needed to compute one element
+     */
+    static void loopTriangle( int N, int cost, IntRangeConsumer range ) {
+        long operations = (long)N*(N + 1)/2*cost;
+        int numBlocks = (int)Math.min(Math.min(N, EjmlConcurrency.getMaxThreads()),
+                Math.max(1, operations/MIN_OPERATIONS));
+        if (numBlocks <= 1) {
+            range.accept(0, N);
+            return;
+        }
+
+        EjmlConcurrency.loopFor(0, numBlocks, block -> {
+            int row0 = (int)(N*Math.sqrt(block/(double)numBlocks));
+            int row1 = block + 1 == numBlocks ? N : (int)(N*Math.sqrt((block + 1)/(double)numBlocks));
+            if (row0 < row1)
+                range.accept(row0, row1);
+        });
+    }
+
+    /**
+     * Minimum number of rows or columns processed by a thread
+     */
+    private static int minBlock( int operationsPerRow ) {
+        return Math.max(1, MIN_OPERATIONS/Math.max(1, operationsPerRow));
+    }
+}
@@ -24,18 +24,25 @@ import org.ejml.UtilEjml;
 import org.ejml.data.*;
 import org.ejml.dense.row.decomposition.TriangularSolver_DDRM;
 import org.ejml.dense.row.decomposition.lu.LUDecompositionAlt_DDRM;
+import org.ejml.dense.row.decomposition.lu.LUDecompositionBase_DDRM;
+import org.ejml.dense.row.decomposition.lu.LUDecompositionBlock_DDRM;
 import org.ejml.dense.row.factory.LinearSolverFactory_DDRM;
 import org.ejml.dense.row.linsol.chol.LinearSolverChol_DDRM;
+import org.ejml.dense.row.linsol.lu.LinearSolverLuBase_DDRM;
+import org.ejml.dense.row.linsol.lu.LinearSolverLuBlock_DDRM;
 import org.ejml.dense.row.linsol.lu.LinearSolverLu_DDRM;
 import org.ejml.dense.row.linsol.svd.SolvePseudoInverseSvd_DDRM;
 import org.ejml.dense.row.misc.*;
 import org.ejml.dense.row.mult.MatrixMatrixMult_DDRM;
+import org.ejml.dense.row.mult.MatrixMultPacked_DDRM;
 import org.ejml.dense.row.mult.MatrixMultProduct_DDRM;
 import org.ejml.dense.row.mult.MatrixVectorMult_DDRM;
 import org.ejml.dense.row.mult.VectorVectorMult_DDRM;
 import org.ejml.interfaces.linsol.LinearSolverDense;
 import org.ejml.interfaces.linsol.ReducedRowEchelonForm_F64;
 import org.ejml.ops.DOperatorUnary;
+import org.ejml.simd.EjmlSimd;
+import org.ejml.simd.SimdKernels_F64;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Arrays;
@@ -74,12 +81,29 @@ public class CommonOps_DDRM {
      * @param output Where the results of the operation are stored. Modified.
      */
     public static <T extends DMatrix1Row> T mult( T a, T b, @Nullable T output ) {
+        return mult(a, b, output, null, null);
+    }
+
+    /**
+     * Same as {@link #mult(DMatrix1Row, DMatrix1Row, DMatrix1Row)} but the caller provides the storage
+     * used to pack the input matrices, see {@link MatrixMultPacked_DDRM}. Only large matrices are packed.
+     *
+     * @param a The left matrix in the multiplication operation. Not modified.
+     * @param b The right matrix in the multiplication operation. Not modified.
+     * @param output Where the results of the operation are stored. Modified.
+     * @param workA (Optional) Storage for packed a. Can be null.
+     * @param workB (Optional) Storage for packed b. Can be null.
+     */
+    public static <T extends DMatrix1Row> T mult( T a, T b, @Nullable T output,
+                                                  @Nullable DGrowArray workA, @Nullable DGrowArray workB ) {
         output = reshapeOrDeclare(output, a, a.numRows, b.numCols);
         UtilEjml.checkSameInstance(a, output);
         UtilEjml.checkSameInstance(b, output);
 
         if (b.numCols == 1) {
             MatrixVectorMult_DDRM.mult(a, b, output);
+        } else if (MatrixMultPacked_DDRM.isPreferred(a.numRows, b.numCols, a.numCols)) {
+            MatrixMultPacked_DDRM.gemm(1.0, a, false, b, false, 0.0, output, workA, workB);
         } else if (b.numCols >= EjmlParameters.MULT_COLUMN_SWITCH) {
             MatrixMatrixMult_DDRM.mult_reorder(a, b, output);
         } else {
@@ -108,7 +132,9 @@ public class CommonOps_DDRM {
         UtilEjml.checkSameInstance(b, output);
 
         // TODO add a matrix vectory multiply here
-        if (b.numCols >= EjmlParameters.MULT_COLUMN_SWITCH) {
+        if (MatrixMultPacked_DDRM.isPreferred(a.numRows, b.numCols, a.numCols)) {
+            MatrixMultPacked_DDRM.gemm(alpha, a, false, b, false, 0.0, output, null, null);
+        } else if (b.numCols >= EjmlParameters.MULT_COLUMN_SWITCH) {
             MatrixMatrixMult_DDRM.mult_reorder(alpha, a, b, output);
         } else {
             MatrixMatrixMult_DDRM.mult_small(alpha, a, b, output);
@@ -130,6 +156,21 @@ public class CommonOps_DDRM {
      * @param output Where the results of the operation are stored. Modified.
      */
     public static <T extends DMatrix1Row> T multTransA( T a, T b, @Nullable T output ) {
+        return multTransA(a, b, output, null, null);
+    }
+
+    /**
+     * Same as {@link #multTransA(DMatrix1Row, DMatrix1Row, DMatrix1Row)} but the caller provides the storage
+     * used to pack the input matrices, see {@link MatrixMultPacked_DDRM}. Only large matrices are packed.
+     *
+     * @param a The left matrix in the multiplication operation. Not modified.
+     * @param b The right matrix in the multiplication operation. Not modified.
+     * @param output Where the results of the operation are stored. Modified.
+     * @param workA (Optional) Storage for packed a. Can be null.
+     * @param workB (Optional) Storage for packed b. Can be null.
+     */
+    public static <T extends DMatrix1Row> T multTransA( T a, T b, @Nullable T output,
+                                                        @Nullable DGrowArray workA, @Nullable DGrowArray workB ) {
         output = reshapeOrDeclare(output, a, a.numCols, b.numCols);
         UtilEjml.checkSameInstance(a, output);
         UtilEjml.checkSameInstance(b, output);
@@ -142,6 +183,8 @@ public class CommonOps_DDRM {
             } else {
                 MatrixVectorMult_DDRM.multTransA_small(a, b, output);
             }
+        } else if (MatrixMultPacked_DDRM.isPreferred(a.numCols, b.numCols, a.numRows)) {
+            MatrixMultPacked_DDRM.gemm(1.0, a, true, b, false, 0.0, output, workA, workB);
         } else if (a.numCols >= EjmlParameters.MULT_COLUMN_SWITCH ||
                 b.numCols >= EjmlParameters.MULT_COLUMN_SWITCH) {
             MatrixMatrixMult_DDRM.multTransA_reorder(a, b, output);
@@ -171,7 +214,9 @@ public class CommonOps_DDRM {
         UtilEjml.checkSameInstance(b, output);
 
         // TODO add a matrix vectory multiply here
-        if (a.numCols >= EjmlParameters.MULT_COLUMN_SWITCH ||
+        if (MatrixMultPacked_DDRM.isPreferred(a.numCols, b.numCols, a.numRows)) {
+            MatrixMultPacked_DDRM.gemm(alpha, a, true, b, false, 0.0, output, null, null);
+        } else if (a.numCols >= EjmlParameters.MULT_COLUMN_SWITCH ||
                 b.numCols >= EjmlParameters.MULT_COLUMN_SWITCH) {
             MatrixMatrixMult_DDRM.multTransA_reorder(alpha, a, b, output);
         } else {
@@ -194,12 +239,29 @@ public class CommonOps_DDRM {
      * @param output Where the results of the operation are stored. Modified.
      */
     public static <T extends DMatrix1Row> T multTransB( T a, T b, @Nullable T output ) {
+        return multTransB(a, b, output, null, null);
+    }
+
+    /**
+     * Same as {@link #multTransB(DMatrix1Row, DMatrix1Row, DMatrix1Row)} but the caller provides the storage
+     * used to pack the input matrices, see {@link MatrixMultPacked_DDRM}. Only large matrices are packed.
+     *
+     * @param a The left matrix in the multiplication operation. Not modified.
+     * @param b The right matrix in the multiplication operation. Not modified.
+     * @param output Where the results of the operation are stored. Modified.
+     * @param workA (Optional) Storage for packed a. Can be null.
+     * @param workB (Optional) Storage for packed b. Can be null.
+     */
+    public static <T extends DMatrix1Row> T multTransB( T a, T b, @Nullable T output,
+                                                        @Nullable DGrowArray workA, @Nullable DGrowArray workB ) {
         output = reshapeOrDeclare(output, a, a.numRows, b.numRows);
         UtilEjml.checkSameInstance(a, output);
         UtilEjml.checkSameInstance(b, output);
 
         if (b.numRows == 1) {
             MatrixVectorMult_DDRM.mult(a, b, output);
+        } else if (MatrixMultPacked_DDRM.isPreferred(a.numRows, b.numRows, a.numCols)) {
+            MatrixMultPacked_DDRM.gemm(1.0, a, false, b, true, 0.0, output, workA, workB);
         } else {
             MatrixMatrixMult_DDRM.multTransB(a, b, output);
         }
@@ -226,7 +288,11 @@ public class CommonOps_DDRM {
         UtilEjml.checkSameInstance(b, output);
 
         // TODO add a matrix vectory multiply here
-        MatrixMatrixMult_DDRM.multTransB(alpha, a, b, output);
+        if (MatrixMultPacked_DDRM.isPreferred(a.numRows, b.numRows, a.numCols)) {
+            MatrixMultPacked_DDRM.gemm(alpha, a, false, b, true, 0.0, output, null, null);
+        } else {
+            MatrixMatrixMult_DDRM.multTransB(alpha, a, b, output);
+        }
 
         return output;
     }
@@ -244,6 +310,21 @@ public class CommonOps_DDRM {
      * @param output Where the results of the operation are stored. Modified.
      */
     public static <T extends DMatrix1Row> T multTransAB( T a, T b, @Nullable T output ) {
+        return multTransAB(a, b, output, null, null);
+    }
+
+    /**
+     * Same as {@link #multTransAB(DMatrix1Row, DMatrix1Row, DMatrix1Row)} but the caller provides the storage
+     * used to pack the input matrices, see {@link MatrixMultPacked_DDRM}. Only large matrices are packed.
+     *
+     * @param a The left matrix in the multiplication operation. Not modified.
+     * @param b The right matrix in the multiplication operation. Not modified.
+     * @param output Where the results of the operation are stored. Modified.
+     * @param workA (Optional) Storage for packed a. Can be null.
+     * @param workB (Optional) Storage for packed b. Can be null.
+     */
+    public static <T extends DMatrix1Row> T multTransAB( T a, T b, @Nullable T output,
+                                                         @Nullable DGrowArray workA, @Nullable DGrowArray workB ) {
         output = reshapeOrDeclare(output, a, a.numCols, b.numRows);
         UtilEjml.checkSameInstance(a, output);
         UtilEjml.checkSameInstance(b, output);
@@ -255,6 +336,8 @@ public class CommonOps_DDRM {
             } else {
                 MatrixVectorMult_DDRM.multTransA_small(a, b, output);
             }
+        } else if (MatrixMultPacked_DDRM.isPreferred(a.numCols, b.numRows, a.numRows)) {
+            MatrixMultPacked_DDRM.gemm(1.0, a, true, b, true, 0.0, output, workA, workB);
         } else if (a.numCols >= EjmlParameters.MULT_TRANAB_COLUMN_SWITCH) {
             MatrixMatrixMult_DDRM.multTransAB_aux(a, b, output, null);
         } else {
@@ -283,7 +366,9 @@ public class CommonOps_DDRM {
         UtilEjml.checkSameInstance(b, output);
 
         // TODO add a matrix vectory multiply here
-        if (a.numCols >= EjmlParameters.MULT_TRANAB_COLUMN_SWITCH) {
+        if (MatrixMultPacked_DDRM.isPreferred(a.numCols, b.numRows, a.numRows)) {
+            MatrixMultPacked_DDRM.gemm(alpha, a, true, b, true, 0.0, output, null, null);
+        } else if (a.numCols >= EjmlParameters.MULT_TRANAB_COLUMN_SWITCH) {
             MatrixMatrixMult_DDRM.multTransAB_aux(alpha, a, b, output, null);
         } else {
             MatrixMatrixMult_DDRM.multTransAB(alpha, a, b, output);
@@ -374,6 +459,8 @@ public class CommonOps_DDRM {
     public static void multAdd( DMatrix1Row a, DMatrix1Row b, DMatrix1Row c ) {
         if (b.numCols == 1) {
             MatrixVectorMult_DDRM.multAdd(a, b, c);
+        } else if (MatrixMultPacked_DDRM.isPreferred(a.numRows, b.numCols, a.numCols)) {
+            MatrixMultPacked_DDRM.gemm(1.0, a, false, b, false, 1.0, c, null, null);
         } else {
             if (b.numCols >= EjmlParameters.MULT_COLUMN_SWITCH) {
                 MatrixMatrixMult_DDRM.multAdd_reorder(a, b, c);
@@ -398,7 +485,9 @@ public class CommonOps_DDRM {
      */
     public static void multAdd( double alpha, DMatrix1Row a, DMatrix1Row b, DMatrix1Row c ) {
         // TODO add a matrix vectory multiply here
-        if (b.numCols >= EjmlParameters.MULT_COLUMN_SWITCH) {
+        if (MatrixMultPacked_DDRM.isPreferred(a.numRows, b.numCols, a.numCols)) {
+            MatrixMultPacked_DDRM.gemm(alpha, a, false, b, false, 1.0, c, null, null);
+        } else if (b.numCols >= EjmlParameters.MULT_COLUMN_SWITCH) {
             MatrixMatrixMult_DDRM.multAdd_reorder(alpha, a, b, c);
         } else {
             MatrixMatrixMult_DDRM.multAdd_small(alpha, a, b, c);
@@ -424,6 +513,8 @@ public class CommonOps_DDRM {
             } else {
                 MatrixVectorMult_DDRM.multAddTransA_small(a, b, c);
             }
+        } else if (MatrixMultPacked_DDRM.isPreferred(a.numCols, b.numCols, a.numRows)) {
+            MatrixMultPacked_DDRM.gemm(1.0, a, true, b, false, 1.0, c, null, null);
         } else {
             if (a.numCols >= EjmlParameters.MULT_COLUMN_SWITCH ||
                     b.numCols >= EjmlParameters.MULT_COLUMN_SWITCH) {
@@ -449,7 +540,9 @@ public class CommonOps_DDRM {
      */
     public static void multAddTransA( double alpha, DMatrix1Row a, DMatrix1Row b, DMatrix1Row c ) {
         // TODO add a matrix vectory multiply here
-        if (a.numCols >= EjmlParameters.MULT_COLUMN_SWITCH ||
+        if (MatrixMultPacked_DDRM.isPreferred(a.numCols, b.numCols, a.numRows)) {
+            MatrixMultPacked_DDRM.gemm(alpha, a, true, b, false, 1.0, c, null, null);
+        } else if (a.numCols >= EjmlParameters.MULT_COLUMN_SWITCH ||
                 b.numCols >= EjmlParameters.MULT_COLUMN_SWITCH) {
             MatrixMatrixMult_DDRM.multAddTransA_reorder(alpha, a, b, c);
         } else {
@@ -470,7 +563,11 @@ public class CommonOps_DDRM {
      * @param c Where the results of the operation are stored. Modified.
      */
     public static void multAddTransB( DMatrix1Row a, DMatrix1Row b, DMatrix1Row c ) {
-        MatrixMatrixMult_DDRM.multAddTransB(a, b, c);
+        if (MatrixMultPacked_DDRM.isPreferred(a.numRows, b.numRows, a.numCols)) {
+            MatrixMultPacked_DDRM.gemm(1.0, a, false, b, true, 1.0, c, null, null);
+        } else {
+            MatrixMatrixMult_DDRM.multAddTransB(a, b, c);
+        }
     }
 
     /**
@@ -488,7 +585,11 @@ public class CommonOps_DDRM {
      */
     public static void multAddTransB( double alpha, DMatrix1Row a, DMatrix1Row b, DMatrix1Row c ) {
         // TODO add a matrix vectory multiply here
-        MatrixMatrixMult_DDRM.multAddTransB(alpha, a, b, c);
+        if (MatrixMultPacked_DDRM.isPreferred(a.numRows, b.numRows, a.numCols)) {
+            MatrixMultPacked_DDRM.gemm(alpha, a, false, b, true, 1.0, c, null, null);
+        } else {
+            MatrixMatrixMult_DDRM.multAddTransB(alpha, a, b, c);
+        }
     }
 
     /**
@@ -504,7 +605,9 @@ public class CommonOps_DDRM {
      * @param c Where the results of the operation are stored. Modified.
      */
     public static void multAddTransAB( DMatrix1Row a, DMatrix1Row b, DMatrix1Row c ) {
-        if (a.numCols >= EjmlParameters.MULT_TRANAB_COLUMN_SWITCH) {
+        if (MatrixMultPacked_DDRM.isPreferred(a.numCols, b.numRows, a.numRows)) {
+            MatrixMultPacked_DDRM.gemm(1.0, a, true, b, true, 1.0, c, null, null);
+        } else if (a.numCols >= EjmlParameters.MULT_TRANAB_COLUMN_SWITCH) {
             MatrixMatrixMult_DDRM.multAddTransAB_aux(a, b, c, null);
         } else {
             MatrixMatrixMult_DDRM.multAddTransAB(a, b, c);
@@ -526,7 +629,9 @@ public class CommonOps_DDRM {
      */
     public static void multAddTransAB( double alpha, DMatrix1Row a, DMatrix1Row b, DMatrix1Row c ) {
         // TODO add a matrix vectory multiply here
-        if (a.numCols >= EjmlParameters.MULT_TRANAB_COLUMN_SWITCH) {
+        if (MatrixMultPacked_DDRM.isPreferred(a.numCols, b.numRows, a.numRows)) {
+            MatrixMultPacked_DDRM.gemm(alpha, a, true, b, true, 1.0, c, null, null);
+        } else if (a.numCols >= EjmlParameters.MULT_TRANAB_COLUMN_SWITCH) {
             MatrixMatrixMult_DDRM.multAddTransAB_aux(alpha, a, b, c, null);
         } else {
             MatrixMatrixMult_DDRM.multAddTransAB(alpha, a, b, c);
@@ -715,7 +820,8 @@ public class CommonOps_DDRM {
                 return mat.get(0);
             }
         } else {
-            LUDecompositionAlt_DDRM alg = new LUDecompositionAlt_DDRM();
+            LUDecompositionBase_DDRM alg = numCol >= EjmlParameters.SWITCH_BLOCK_LU ?
+                    new LUDecompositionBlock_DDRM() : new LUDecompositionAlt_DDRM();
 
             if (alg.inputModified()) {
                 mat = mat.copy();
@@ -756,8 +862,7 @@ public class CommonOps_DDRM {
                 mat.set(0, 1.0/mat.get(0));
             }
         } else {
-            LUDecompositionAlt_DDRM alg = new LUDecompositionAlt_DDRM();
-            LinearSolverLu_DDRM solver = new LinearSolverLu_DDRM(alg);
+            LinearSolverLuBase_DDRM solver = createLuSolver(mat.numCols);
             if (solver.setA(mat)) {
                 solver.invert(mat);
             } else {
@@ -804,8 +909,7 @@ public class CommonOps_DDRM {
                 result.set(0, 1.0/mat.get(0));
             }
         } else {
-            LUDecompositionAlt_DDRM alg = new LUDecompositionAlt_DDRM();
-            LinearSolverLu_DDRM solver = new LinearSolverLu_DDRM(alg);
+            LinearSolverLuBase_DDRM solver = createLuSolver(mat.numCols);
 
             if (solver.modifiesA())
                 mat = mat.copy();
@@ -817,6 +921,15 @@ public class CommonOps_DDRM {
         return true;
     }
 
+    /**
+     * Selects the LU solver used to invert a matrix of the specified size
+     */
+    private static LinearSolverLuBase_DDRM createLuSolver( int matrixSize ) {
+        if (matrixSize >= EjmlParameters.SWITCH_BLOCK_LU)
+            return new LinearSolverLuBlock_DDRM(new LUDecompositionBlock_DDRM());
+        return new LinearSolverLu_DDRM(new LUDecompositionAlt_DDRM());
+    }
+
     /**
      * Matrix inverse for symmetric positive definite matrices. For small matrices an unrolled
      * cholesky is used. Otherwise a standard decomposition.
@@ -2017,6 +2130,12 @@ public class CommonOps_DDRM {
 
         final int length = a.getNumElements();
 
+        SimdKernels_F64 simd = EjmlSimd.getKernels_F64(length);
+        if (simd != null) {
+            simd.add(1.0, a.data, 1.0, b.data, output.data, length);
+            return output;
+        }
+
         for (int i = 0; i < length; i++) {
             output.set(i, a.get(i) + b.get(i));
         }
@@ -2078,6 +2197,12 @@ public class CommonOps_DDRM {
 
         final int length = a.getNumElements();
 
+        SimdKernels_F64 simd = EjmlSimd.getKernels_F64(length);
+        if (simd != null) {
+            simd.add(alpha, a.data, beta, b.data, output.data, length);
+            return output;
+        }
+
         for (int i = 0; i < length; i++) {
             output.set(i, alpha*a.get(i) + beta*b.get(i));
         }
@@ -2267,6 +2392,12 @@ public class CommonOps_DDRM {
         // slightly compared to other libraries since it involves an extra multiplication.
         final int size = a.getNumElements();
 
+        SimdKernels_F64 simd = EjmlSimd.getKernels_F64(size);
+        if (simd != null) {
+            simd.scale(alpha, a.data, a.data, size);
+            return;
+        }
+
         for (int i = 0; i < size; i++) {
             a.data[i] *= alpha;
         }
@@ -2288,6 +2419,12 @@ public class CommonOps_DDRM {
 
         final int size = a.getNumElements();
 
+        SimdKernels_F64 simd = EjmlSimd.getKernels_F64(size);
+        if (simd != null) {
+            simd.scale(alpha, a.data, b.data, size);
+            return;
+        }
+
         for (int i = 0; i < size; i++) {
             b.data[i] = a.data[i]*alpha;
         }
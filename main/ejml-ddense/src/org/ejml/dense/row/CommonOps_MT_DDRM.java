@@ -19,12 +19,25 @@
 package org.ejml.dense.row;
 
 import org.ejml.EjmlParameters;
+import org.ejml.LinearSolverSafe;
+import org.ejml.MatrixDimensionException;
 import org.ejml.UtilEjml;
-import org.ejml.data.DMatrix1Row;
-import org.ejml.data.DMatrixRMaj;
+import org.ejml.concurrency.EjmlConcurrency;
+import org.ejml.data.*;
+import org.ejml.dense.row.decomposition.lu.LUDecompositionBlock_MT_DDRM;
+import org.ejml.dense.row.factory.LinearSolverFactory_MT_DDRM;
+import org.ejml.dense.row.linsol.lu.LinearSolverLuBlock_MT_DDRM;
 import org.ejml.dense.row.misc.TransposeAlgs_MT_DDRM;
 import org.ejml.dense.row.mult.MatrixMatrixMult_MT_DDRM;
+import org.ejml.dense.row.mult.MatrixMultPacked_DDRM;
+import org.ejml.dense.row.mult.MatrixMultPacked_MT_DDRM;
+import org.ejml.dense.row.mult.MatrixMultStrassen_MT_DDRM;
+import org.ejml.interfaces.linsol.LinearSolverDense;
+import org.ejml.ops.DOperatorUnary;
 import org.jetbrains.annotations.Nullable;
+import pabeles.concurrency.GrowArray;
+
+import java.util.Arrays;
 
 import static org.ejml.UtilEjml.reshapeOrDeclare;
 
@@ -34,6 +47,10 @@ import static org.ejml.UtilEjml.reshapeOrDeclare;
  * @author Peter Abeles
  */
 public class CommonOps_MT_DDRM {
+    // Minimum number of elements processed by a thread in element-wise operations. These operations are
+    // memory bound and splitting them up too finely makes it slower
+    private static final int MIN_BLOCK = 10_000;
+
     /**
      * <p>Performs the following operation:<br>
      * <br>
@@ -47,11 +64,30 @@ public class CommonOps_MT_DDRM {
      * @param output Where the results of the operation are stored. Modified.
      */
     public static <T extends DMatrix1Row> T mult( T a, T b, @Nullable T output ) {
+        return mult(a, b, output, null, null);
+    }
+
+    /**
+     * Same as {@link #mult(DMatrix1Row, DMatrix1Row, DMatrix1Row)} but the caller provides the storage
+     * used to pack the input matrices, see {@link MatrixMultPacked_MT_DDRM}. Only large matrices are packed.
+     *
+     * @param a The left matrix in the multiplication operation. Not modified.
+     * @param b The right matrix in the multiplication operation. Not modified.
+     * @param output Where the results of the operation are stored. Modified.
+     * @param workA (Optional) Storage for packed a. Can be null.
+     * @param workB (Optional) Storage for packed b. Can be null.
+     */
+    public static <T extends DMatrix1Row> T mult( T a, T b, @Nullable T output,
+                                                  @Nullable GrowArray<DGrowArray> workA, @Nullable DGrowArray workB ) {
         output = reshapeOrDeclare(output, a, a.numRows, b.numCols);
         UtilEjml.checkSameInstance(a, output);
         UtilEjml.checkSameInstance(b, output);
 
-        MatrixMatrixMult_MT_DDRM.mult_reorder(a, b, output);
+        if (MatrixMultPacked_DDRM.isPreferred(a.numRows, b.numCols, a.numCols)) {
+            MatrixMultPacked_MT_DDRM.gemm(1.0, a, false, b, false, 0.0, output, workA, workB);
+        } else {
+            MatrixMatrixMult_MT_DDRM.mult_reorder(a, b, output);
+        }
 
         return output;
     }
@@ -74,7 +110,63 @@ public class CommonOps_MT_DDRM {
         UtilEjml.checkSameInstance(a, output);
         UtilEjml.checkSameInstance(b, output);
 
-        MatrixMatrixMult_MT_DDRM.mult_reorder(alpha, a, b, output);
+        if (MatrixMultPacked_DDRM.isPreferred(a.numRows, b.numCols, a.numCols)) {
+            MatrixMultPacked_MT_DDRM.gemm(alpha, a, false, b, false, 0.0, output, null, null);
+        } else {
+            MatrixMatrixMult_MT_DDRM.mult_reorder(alpha, a, b, output);
+        }
+
+        return output;
+    }
+
+    /**
+     * <p>
+     * Performs the same operation as {@link #mult(DMatrix1Row, DMatrix1Row, DMatrix1Row)} using the
+     * Strassen-Winograd algorithm, see {@link MatrixMultStrassen_MT_DDRM}. Recursion stops once a dimension is
+     * less than or equal to {@link EjmlParameters#MULT_STRASSEN_CUTOFF}. It is only faster for very large
+     * matrices, e.g. 2000 by 2000 and larger, and needs extra memory about 2/3 the size of the output.
+     * </p>
+     *
+     * <p>
+     * Only the work inside each step of the recursion is done in parallel, i.e. the additions and the products at
+     * the bottom of the recursion. The recursion itself is traversed by a single thread. A new workspace is
+     * declared each time this function is called. To reuse it, pass in the workspace with
+     * {@link #multStrassen(DMatrix1Row, DMatrix1Row, DMatrix1Row, MatrixMultStrassen_MT_DDRM)}.
+     * </p>
+     *
+     * <p>
+     * The results are less accurate than the classical algorithm. The error is bounded relative to
+     * ||a||*||b|| instead of element-wise, so elements in the output which are much smaller than the others
+     * can have a large relative error.
+     * </p>
+     *
+     * @param a The left matrix in the multiplication operation. Not modified.
+     * @param b The right matrix in the multiplication operation. Not modified.
+     * @param output Where the results of the operation are stored. Modified.
+     */
+    public static <T extends DMatrix1Row> T multStrassen( T a, T b, @Nullable T output ) {
+        return multStrassen(a, b, output, null);
+    }
+
+    /**
+     * Same as {@link #multStrassen(DMatrix1Row, DMatrix1Row, DMatrix1Row)} but the caller provides the
+     * algorithm and its workspace. The workspace is recycled when the same instance is passed in again. Recursion
+     * stops at {@link MatrixMultStrassen_MT_DDRM#getCutoff()} instead of the global parameter.
+     *
+     * @param a The left matrix in the multiplication operation. Not modified.
+     * @param b The right matrix in the multiplication operation. Not modified.
+     * @param output Where the results of the operation are stored. Modified.
+     * @param workspace (Optional) Storage for internal workspace. Can be null.
+     */
+    public static <T extends DMatrix1Row> T multStrassen( T a, T b, @Nullable T output,
+                                                         @Nullable MatrixMultStrassen_MT_DDRM workspace ) {
+        output = reshapeOrDeclare(output, a, a.numRows, b.numCols);
+        UtilEjml.checkSameInstance(a, output);
+        UtilEjml.checkSameInstance(b, output);
+
+        if (workspace == null)
+            workspace = new MatrixMultStrassen_MT_DDRM();
+        workspace.mult(a, b, output);
 
         return output;
     }
@@ -92,11 +184,31 @@ public class CommonOps_MT_DDRM {
      * @param output Where the results of the operation are stored. Modified.
      */
     public static <T extends DMatrix1Row> T multTransA( T a, T b, @Nullable T output ) {
+        return multTransA(a, b, output, null, null);
+    }
+
+    /**
+     * Same as {@link #multTransA(DMatrix1Row, DMatrix1Row, DMatrix1Row)} but the caller provides the storage
+     * used to pack the input matrices, see {@link MatrixMultPacked_MT_DDRM}. Only large matrices are packed.
+     *
+     * @param a The left matrix in the multiplication operation. Not modified.
+     * @param b The right matrix in the multiplication operation. Not modified.
+     * @param output Where the results of the operation are stored. Modified.
+     * @param workA (Optional) Storage for packed a. Can be null.
+     * @param workB (Optional) Storage for packed b. Can be null.
+     */
+    public static <T extends DMatrix1Row> T multTransA( T a, T b, @Nullable T output,
+                                                        @Nullable GrowArray<DGrowArray> workA,
+                                                        @Nullable DGrowArray workB ) {
         output = reshapeOrDeclare(output, a, a.numCols, b.numCols);
         UtilEjml.checkSameInstance(a, output);
         UtilEjml.checkSameInstance(b, output);
 
-        MatrixMatrixMult_MT_DDRM.multTransA_reorder(a, b, output);
+        if (MatrixMultPacked_DDRM.isPreferred(a.numCols, b.numCols, a.numRows)) {
+            MatrixMultPacked_MT_DDRM.gemm(1.0, a, true, b, false, 0.0, output, workA, workB);
+        } else {
+            MatrixMatrixMult_MT_DDRM.multTransA_reorder(a, b, output);
+        }
 
         return output;
     }
@@ -119,7 +231,11 @@ public class CommonOps_MT_DDRM {
         UtilEjml.checkSameInstance(a, output);
         UtilEjml.checkSameInstance(b, output);
 
-        MatrixMatrixMult_MT_DDRM.multTransA_reorder(alpha, a, b, output);
+        if (MatrixMultPacked_DDRM.isPreferred(a.numCols, b.numCols, a.numRows)) {
+            MatrixMultPacked_MT_DDRM.gemm(alpha, a, true, b, false, 0.0, output, null, null);
+        } else {
+            MatrixMatrixMult_MT_DDRM.multTransA_reorder(alpha, a, b, output);
+        }
 
         return output;
     }
@@ -137,11 +253,31 @@ public class CommonOps_MT_DDRM {
      * @param output Where the results of the operation are stored. Modified.
      */
     public static <T extends DMatrix1Row> T multTransB( T a, T b, @Nullable T output ) {
+        return multTransB(a, b, output, null, null);
+    }
+
+    /**
+     * Same as {@link #multTransB(DMatrix1Row, DMatrix1Row, DMatrix1Row)} but the caller provides the storage
+     * used to pack the input matrices, see {@link MatrixMultPacked_MT_DDRM}. Only large matrices are packed.
+     *
+     * @param a The left matrix in the multiplication operation. Not modified.
+     * @param b The right matrix in the multiplication operation. Not modified.
+     * @param output Where the results of the operation are stored. Modified.
+     * @param workA (Optional) Storage for packed a. Can be null.
+     * @param workB (Optional) Storage for packed b. Can be null.
+     */
+    public static <T extends DMatrix1Row> T multTransB( T a, T b, @Nullable T output,
+                                                        @Nullable GrowArray<DGrowArray> workA,
+                                                        @Nullable DGrowArray workB ) {
         output = reshapeOrDeclare(output, a, a.numRows, b.numRows);
         UtilEjml.checkSameInstance(a, output);
         UtilEjml.checkSameInstance(b, output);
 
-        MatrixMatrixMult_MT_DDRM.multTransB(a, b, output);
+        if (MatrixMultPacked_DDRM.isPreferred(a.numRows, b.numRows, a.numCols)) {
+            MatrixMultPacked_MT_DDRM.gemm(1.0, a, false, b, true, 0.0, output, workA, workB);
+        } else {
+            MatrixMatrixMult_MT_DDRM.multTransB(a, b, output);
+        }
 
         return output;
     }
@@ -164,7 +300,11 @@ public class CommonOps_MT_DDRM {
         UtilEjml.checkSameInstance(a, output);
         UtilEjml.checkSameInstance(b, output);
 
-        MatrixMatrixMult_MT_DDRM.multTransB(alpha, a, b, output);
+        if (MatrixMultPacked_DDRM.isPreferred(a.numRows, b.numRows, a.numCols)) {
+            MatrixMultPacked_MT_DDRM.gemm(alpha, a, false, b, true, 0.0, output, null, null);
+        } else {
+            MatrixMatrixMult_MT_DDRM.multTransB(alpha, a, b, output);
+        }
 
         return output;
     }
@@ -182,11 +322,31 @@ public class CommonOps_MT_DDRM {
      * @param output Where the results of the operation are stored. Modified.
      */
     public static <T extends DMatrix1Row> T multTransAB( T a, T b, @Nullable T output ) {
+        return multTransAB(a, b, output, null, null);
+    }
+
+    /**
+     * Same as {@link #multTransAB(DMatrix1Row, DMatrix1Row, DMatrix1Row)} but the caller provides the storage
+     * used to pack the input matrices, see {@link MatrixMultPacked_MT_DDRM}. Only large matrices are packed.
+     *
+     * @param a The left matrix in the multiplication operation. Not modified.
+     * @param b The right matrix in the multiplication operation. Not modified.
+     * @param output Where the results of the operation are stored. Modified.
+     * @param workA (Optional) Storage for packed a. Can be null.
+     * @param workB (Optional) Storage for packed b. Can be null.
+     */
+    public static <T extends DMatrix1Row> T multTransAB( T a, T b, @Nullable T output,
+                                                         @Nullable GrowArray<DGrowArray> workA,
+                                                         @Nullable DGrowArray workB ) {
         output = reshapeOrDeclare(output, a, a.numCols, b.numRows);
         UtilEjml.checkSameInstance(a, output);
         UtilEjml.checkSameInstance(b, output);
 
-        MatrixMatrixMult_MT_DDRM.multTransAB(a, b, output);
+        if (MatrixMultPacked_DDRM.isPreferred(a.numCols, b.numRows, a.numRows)) {
+            MatrixMultPacked_MT_DDRM.gemm(1.0, a, true, b, true, 0.0, output, workA, workB);
+        } else {
+            MatrixMatrixMult_MT_DDRM.multTransAB(a, b, output);
+        }
 
         return output;
     }
@@ -209,7 +369,11 @@ public class CommonOps_MT_DDRM {
         UtilEjml.checkSameInstance(a, output);
         UtilEjml.checkSameInstance(b, output);
 
-        MatrixMatrixMult_MT_DDRM.multTransAB(alpha, a, b, output);
+        if (MatrixMultPacked_DDRM.isPreferred(a.numCols, b.numRows, a.numRows)) {
+            MatrixMultPacked_MT_DDRM.gemm(alpha, a, true, b, true, 0.0, output, null, null);
+        } else {
+            MatrixMatrixMult_MT_DDRM.multTransAB(alpha, a, b, output);
+        }
 
         return output;
     }
@@ -227,7 +391,11 @@ public class CommonOps_MT_DDRM {
      * @param c Where the results of the operation are stored. Modified.
      */
     public static void multAdd( DMatrix1Row a, DMatrix1Row b, DMatrix1Row c ) {
-        MatrixMatrixMult_MT_DDRM.multAdd_reorder(a, b, c);
+        if (MatrixMultPacked_DDRM.isPreferred(a.numRows, b.numCols, a.numCols)) {
+            MatrixMultPacked_MT_DDRM.gemm(1.0, a, false, b, false, 1.0, c, null, null);
+        } else {
+            MatrixMatrixMult_MT_DDRM.multAdd_reorder(a, b, c);
+        }
     }
 
     /**
@@ -244,7 +412,11 @@ public class CommonOps_MT_DDRM {
      * @param c Where the results of the operation are stored. Modified.
      */
     public static void multAdd( double alpha, DMatrix1Row a, DMatrix1Row b, DMatrix1Row c ) {
-        MatrixMatrixMult_MT_DDRM.multAdd_reorder(alpha, a, b, c);
+        if (MatrixMultPacked_DDRM.isPreferred(a.numRows, b.numCols, a.numCols)) {
+            MatrixMultPacked_MT_DDRM.gemm(alpha, a, false, b, false, 1.0, c, null, null);
+        } else {
+            MatrixMatrixMult_MT_DDRM.multAdd_reorder(alpha, a, b, c);
+        }
     }
 
     /**
@@ -260,7 +432,11 @@ public class CommonOps_MT_DDRM {
      * @param c Where the results of the operation are stored. Modified.
      */
     public static void multAddTransA( DMatrix1Row a, DMatrix1Row b, DMatrix1Row c ) {
-        MatrixMatrixMult_MT_DDRM.multAddTransA_reorder(a, b, c);
+        if (MatrixMultPacked_DDRM.isPreferred(a.numCols, b.numCols, a.numRows)) {
+            MatrixMultPacked_MT_DDRM.gemm(1.0, a, true, b, false, 1.0, c, null, null);
+        } else {
+            MatrixMatrixMult_MT_DDRM.multAddTransA_reorder(a, b, c);
+        }
     }
 
     /**
@@ -277,7 +453,11 @@ public class CommonOps_MT_DDRM {
      * @param c Where the results of the operation are stored. Modified.
      */
     public static void multAddTransA( double alpha, DMatrix1Row a, DMatrix1Row b, DMatrix1Row c ) {
-        MatrixMatrixMult_MT_DDRM.multAddTransA_reorder(alpha, a, b, c);
+        if (MatrixMultPacked_DDRM.isPreferred(a.numCols, b.numCols, a.numRows)) {
+            MatrixMultPacked_MT_DDRM.gemm(alpha, a, true, b, false, 1.0, c, null, null);
+        } else {
+            MatrixMatrixMult_MT_DDRM.multAddTransA_reorder(alpha, a, b, c);
+        }
     }
 
     /**
@@ -293,7 +473,11 @@ public class CommonOps_MT_DDRM {
      * @param c Where the results of the operation are stored. Modified.
      */
     public static void multAddTransB( DMatrix1Row a, DMatrix1Row b, DMatrix1Row c ) {
-        MatrixMatrixMult_MT_DDRM.multAddTransB(a, b, c);
+        if (MatrixMultPacked_DDRM.isPreferred(a.numRows, b.numRows, a.numCols)) {
+            MatrixMultPacked_MT_DDRM.gemm(1.0, a, false, b, true, 1.0, c, null, null);
+        } else {
+            MatrixMatrixMult_MT_DDRM.multAddTransB(a, b, c);
+        }
     }
 
     /**
@@ -310,7 +494,11 @@ public class CommonOps_MT_DDRM {
      * @param c Where the results of the operation are stored. Modified.
      */
     public static void multAddTransB( double alpha, DMatrix1Row a, DMatrix1Row b, DMatrix1Row c ) {
-        MatrixMatrixMult_MT_DDRM.multAddTransB(alpha, a, b, c);
+        if (MatrixMultPacked_DDRM.isPreferred(a.numRows, b.numRows, a.numCols)) {
+            MatrixMultPacked_MT_DDRM.gemm(alpha, a, false, b, true, 1.0, c, null, null);
+        } else {
+            MatrixMatrixMult_MT_DDRM.multAddTransB(alpha, a, b, c);
+        }
     }
 
     /**
@@ -326,7 +514,11 @@ public class CommonOps_MT_DDRM {
      * @param c Where the results of the operation are stored. Modified.
      */
     public static void multAddTransAB( DMatrix1Row a, DMatrix1Row b, DMatrix1Row c ) {
-        MatrixMatrixMult_MT_DDRM.multAddTransAB(a, b, c);
+        if (MatrixMultPacked_DDRM.isPreferred(a.numCols, b.numRows, a.numRows)) {
+            MatrixMultPacked_MT_DDRM.gemm(1.0, a, true, b, true, 1.0, c, null, null);
+        } else {
+            MatrixMatrixMult_MT_DDRM.multAddTransAB(a, b, c);
+        }
     }
 
     /**
@@ -343,7 +535,11 @@ public class CommonOps_MT_DDRM {
      * @param c Where the results of the operation are stored. Modified.
      */
     public static void multAddTransAB( double alpha, DMatrix1Row a, DMatrix1Row b, DMatrix1Row c ) {
-        MatrixMatrixMult_MT_DDRM.multAddTransAB(alpha, a, b, c);
+        if (MatrixMultPacked_DDRM.isPreferred(a.numCols, b.numRows, a.numRows)) {
+            MatrixMultPacked_MT_DDRM.gemm(alpha, a, true, b, true, 1.0, c, null, null);
+        } else {
+            MatrixMatrixMult_MT_DDRM.multAddTransAB(alpha, a, b, c);
+        }
     }
 
     /**
@@ -390,4 +586,903 @@ public class CommonOps_MT_DDRM {
 
         return A_tran;
     }
+
+    /**
+     * <p>
+     * Solves for x in the following equation:<br>
+     * <br>
+     * A*x = b
+     * </p>
+     *
+     * <p>
+     * Concurrent version of {@link CommonOps_DDRM#solve(DMatrixRMaj, DMatrixRMaj, DMatrixRMaj)}. Square matrices
+     * are solved using blocked LU and all other matrices with QR.
+     * </p>
+     *
+     * @param a A matrix that is m by n. Not modified.
+     * @param b A matrix that is n by k. Not modified.
+     * @param x A matrix that is m by k. Modified.
+     * @return true if it could invert the matrix false if it could not.
+     */
+    public static boolean solve( DMatrixRMaj a, DMatrixRMaj b, DMatrixRMaj x ) {
+        x.reshape(a.numCols, b.numCols);
+
+        LinearSolverDense<DMatrixRMaj> solver = LinearSolverFactory_MT_DDRM.general(a.numRows, a.numCols);
+
+        // make sure the inputs 'a' and 'b' are not modified
+        solver = new LinearSolverSafe<>(solver);
+
+        if (!solver.setA(a))
+            return false;
+
+        solver.solve(b, x);
+        return true;
+    }
+
+    /**
+     * Concurrent version of {@link CommonOps_DDRM#det(DMatrixRMaj)}. Small matrices are processed by a single
+     * thread.
+     *
+     * @param mat The matrix whose determinant is to be computed. Not modified.
+     * @return The determinant.
+     */
+    public static double det( DMatrixRMaj mat ) {
+        if (mat.numCols < EjmlParameters.SWITCH_BLOCK_LU)
+            return CommonOps_DDRM.det(mat);
+        if (mat.numCols != mat.numRows)
+            throw new MatrixDimensionException("Must be a square matrix.");
+
+        var alg = new LUDecompositionBlock_MT_DDRM();
+        if (!alg.decompose(mat))
+            return 0.0;
+        return alg.computeDeterminant().real;
+    }
+
+    /**
+     * Concurrent version of {@link CommonOps_DDRM#invert(DMatrixRMaj)}. Small matrices are processed by a single
+     * thread.
+     *
+     * @param mat The matrix that is to be inverted. Results are stored here. Modified.
+     * @return true if it could invert the matrix false if it could not.
+     */
+    public static boolean invert( DMatrixRMaj mat ) {
+        if (mat.numCols < EjmlParameters.SWITCH_BLOCK_LU)
+            return CommonOps_DDRM.invert(mat);
+
+        var solver = new LinearSolverLuBlock_MT_DDRM(new LUDecompositionBlock_MT_DDRM());
+        if (!solver.setA(mat))
+            return false;
+        solver.invert(mat);
+        return true;
+    }
+
+    /**
+     * Concurrent version of {@link CommonOps_DDRM#invert(DMatrixRMaj, DMatrixRMaj)}. Small matrices are
+     * processed by a single thread.
+     *
+     * @param mat The matrix that is to be inverted. Not modified.
+     * @param result Where the inverse matrix is stored. Modified.
+     * @return true if it could invert the matrix false if it could not.
+     */
+    public static boolean invert( DMatrixRMaj mat, DMatrixRMaj result ) {
+        if (mat.numCols < EjmlParameters.SWITCH_BLOCK_LU)
+            return CommonOps_DDRM.invert(mat, result);
+
+        result.reshape(mat.numRows, mat.numCols);
+        var solver = new LinearSolverLuBlock_MT_DDRM(new LUDecompositionBlock_MT_DDRM());
+        if (!solver.setA(mat))
+            return false;
+        solver.invert(result);
+        return true;
+    }
+
+    /**
+     * <p>Performs the following operation:<br>
+     * <br>
+     * c = a + b <br>
+     * c<sub>ij</sub> = a<sub>ij</sub> + b<sub>ij</sub> <br>
+     * </p>
+     *
+     * @param a A Matrix. Not modified.
+     * @param b A Matrix. Not modified.
+     * @param output (output) A Matrix where the results are stored. Can be null. Modified.
+     * @return The results.
+     */
+    public static <T extends DMatrixD1> T add( final T a, final T b, @Nullable T output ) {
+        return add(1.0, a, 1.0, b, output);
+    }
+
+    /**
+     * <p>Performs the following operation:<br>
+     * <br>
+     * c = a + &beta; * b <br>
+     * c<sub>ij</sub> = a<sub>ij</sub> + &beta; * b<sub>ij</sub> <br>
+     * </p>
+     *
+     * @param a A Matrix. Not modified.
+     * @param beta Scaling factor for matrix b.
+     * @param b A Matrix. Not modified.
+     * @param output (output) A Matrix where the results are stored. Can be null. Modified.
+     * @return The results.
+     */
+    public static <T extends DMatrixD1> T add( T a, double beta, T b, @Nullable T output ) {
+        return add(1.0, a, beta, b, output);
+    }
+
+    /**
+     * <p>Performs the following operation:<br>
+     * <br>
+     * c = &alpha; * a + &beta; * b <br>
+     * c<sub>ij</sub> = &alpha; * a<sub>ij</sub> + &beta; * b<sub>ij</sub> <br>
+     * </p>
+     *
+     * @param alpha A scaling factor for matrix a.
+     * @param a A Matrix. Not modified.
+     * @param beta A scaling factor for matrix b.
+     * @param b A Matrix. Not modified.
+     * @param output (output) A Matrix where the results are stored. Can be null. Modified.
+     * @return The results.
+     */
+    public static <T extends DMatrixD1> T add( double alpha, T a, double beta, T b, @Nullable T output ) {
+        UtilEjml.checkSameShape(a, b, true);
+        output = reshapeOrDeclare(output, a);
+
+        final double[] dataA = a.data, dataB = b.data, dataC = output.data;
+        EjmlConcurrency.loopBlocks(0, a.getNumElements(), MIN_BLOCK, ( idx0, idx1 ) -> {
+            for (int i = idx0; i < idx1; i++) {
+                dataC[i] = alpha*dataA[i] + beta*dataB[i];
+            }
+        });
+
+        return output;
+    }
+
+    /**
+     * <p>Performs the following operation:<br>
+     * <br>
+     * c = a + val<br>
+     * c<sub>ij</sub> = a<sub>ij</sub> + val <br>
+     * </p>
+     *
+     * @param a A matrix. Not modified.
+     * @param val The value that's added to each element.
+     * @param output Where the results are stored. Can be null. Modified.
+     * @return The results.
+     */
+    public static <T extends DMatrixD1> T add( T a, double val, @Nullable T output ) {
+        output = reshapeOrDeclare(output, a);
+
+        final double[] dataA = a.data, dataC = output.data;
+        EjmlConcurrency.loopBlocks(0, a.getNumElements(), MIN_BLOCK, ( idx0, idx1 ) -> {
+            for (int i = idx0; i < idx1; i++) {
+                dataC[i] = dataA[i] + val;
+            }
+        });
+
+        return output;
+    }
+
+    /**
+     * <p>Performs the following operation:<br>
+     * <br>
+     * a = a + b <br>
+     * a<sub>ij</sub> = a<sub>ij</sub> + b<sub>ij</sub> <br>
+     * </p>
+     *
+     * @param a (input/output) A Matrix. Modified.
+     * @param b (input) A Matrix. Not modified.
+     */
+    public static void addEquals( DMatrixD1 a, DMatrixD1 b ) {
+        add(1.0, a, 1.0, b, a);
+    }
+
+    /**
+     * <p>Performs the following operation:<br>
+     * <br>
+     * a = a + &beta; * b  <br>
+     * a<sub>ij</sub> = a<sub>ij</sub> + &beta; * b<sub>ij</sub>
+     * </p>
+     *
+     * @param a (input/output) A Matrix. Modified.
+     * @param beta The number that matrix 'b' is multiplied by.
+     * @param b (input) A Matrix. Not modified.
+     */
+    public static void addEquals( DMatrixD1 a, double beta, DMatrixD1 b ) {
+        add(1.0, a, beta, b, a);
+    }
+
+    /**
+     * <p>Performs the following subtraction operation:<br>
+     * <br>
+     * a = a - b  <br>
+     * a<sub>ij</sub> = a<sub>ij</sub> - b<sub>ij</sub>
+     * </p>
+     *
+     * @param a (input) A Matrix. Modified.
+     * @param b (input) A Matrix. Not modified.
+     */
+    public static void subtractEquals( DMatrixD1 a, DMatrixD1 b ) {
+        subtract(a, b, a);
+    }
+
+    /**
+     * <p>Performs the following subtraction operation:<br>
+     * <br>
+     * c = a - b  <br>
+     * c<sub>ij</sub> = a<sub>ij</sub> - b<sub>ij</sub>
+     * </p>
+     *
+     * @param a (input) A Matrix. Not modified.
+     * @param b (input) A Matrix. Not modified.
+     * @param output (output) A Matrix. Can be null. Modified.
+     * @return The resulting matrix
+     */
+    public static <T extends DMatrixD1> T subtract( T a, T b, @Nullable T output ) {
+        UtilEjml.checkSameShape(a, b, true);
+        output = reshapeOrDeclare(output, a);
+
+        final double[] dataA = a.data, dataB = b.data, dataC = output.data;
+        EjmlConcurrency.loopBlocks(0, a.getNumElements(), MIN_BLOCK, ( idx0, idx1 ) -> {
+            for (int i = idx0; i < idx1; i++) {
+                dataC[i] = dataA[i] - dataB[i];
+            }
+        });
+
+        return output;
+    }
+
+    /**
+     * <p>Performs the following subtraction operation:<br>
+     * <br>
+     * c = a - val <br>
+     * c<sub>ij</sub> = a<sub>ij</sub> - val
+     * </p>
+     *
+     * @param a (input) A matrix. Not modified.
+     * @param val (input) The value that's subtracted from each element.
+     * @param output (output) Where the results are stored. Can be null. Modified.
+     * @return The results
+     */
+    public static <T extends DMatrixD1> T subtract( T a, double val, @Nullable T output ) {
+        return add(a, -val, output);
+    }
+
+    /**
+     * <p>Performs the following subtraction operation:<br>
+     * <br>
+     * c = val - a <br>
+     * c<sub>ij</sub> = val - a<sub>ij</sub>
+     * </p>
+     *
+     * @param val (input) The value that each element is subtracted from.
+     * @param a (input) A matrix. Not modified.
+     * @param output (output) Where the results are stored. Can be null. Modified.
+     * @return The results
+     */
+    public static <T extends DMatrixD1> T subtract( double val, T a, @Nullable T output ) {
+        output = reshapeOrDeclare(output, a);
+
+        final double[] dataA = a.data, dataC = output.data;
+        EjmlConcurrency.loopBlocks(0, a.getNumElements(), MIN_BLOCK, ( idx0, idx1 ) -> {
+            for (int i = idx0; i < idx1; i++) {
+                dataC[i] = val - dataA[i];
+            }
+        });
+
+        return output;
+    }
+
+    /**
+     * <p>
+     * Performs an in-place element by element scalar multiplication.<br>
+     * <br>
+     * a<sub>ij</sub> = &alpha;*a<sub>ij</sub>
+     * </p>
+     *
+     * @param alpha the amount each element is multiplied by.
+     * @param a The matrix that is to be scaled. Modified.
+     */
+    public static void scale( double alpha, DMatrixD1 a ) {
+        scale(alpha, a, a);
+    }
+
+    /**
+     * <p>
+     * Performs an element by element scalar multiplication.<br>
+     * <br>
+     * b<sub>ij</sub> = &alpha;*a<sub>ij</sub>
+     * </p>
+     *
+     * @param alpha the amount each element is multiplied by.
+     * @param a The matrix that is to be scaled. Not modified.
+     * @param b Where the scaled matrix is stored. Modified.
+     */
+    public static void scale( double alpha, DMatrixD1 a, DMatrixD1 b ) {
+        b.reshape(a.numRows, a.numCols);
+
+        final double[] dataA = a.data, dataB = b.data;
+        EjmlConcurrency.loopBlocks(0, a.getNumElements(), MIN_BLOCK, ( idx0, idx1 ) -> {
+            for (int i = idx0; i < idx1; i++) {
+                dataB[i] = dataA[i]*alpha;
+            }
+        });
+    }
+
+    /**
+     * <p>
+     * Performs an element by element scalar division. Scalar denominator.<br>
+     * <br>
+     * b<sub>ij</sub> = a<sub>ij</sub> /&alpha;
+     * </p>
+     *
+     * @param input The matrix whose elements are to be divided. Not modified.
+     * @param alpha the amount each element is divided by.
+     * @param output Where the results are stored. Modified.
+     * @return The results
+     */
+    public static <T extends DMatrixD1> T divide( T input, double alpha, @Nullable T output ) {
+        output = reshapeOrDeclare(output, input);
+
+        final double[] dataA = input.data, dataB = output.data;
+        EjmlConcurrency.loopBlocks(0, input.getNumElements(), MIN_BLOCK, ( idx0, idx1 ) -> {
+            for (int i = idx0; i < idx1; i++) {
+                dataB[i] = dataA[i]/alpha;
+            }
+        });
+
+        return output;
+    }
+
+    /**
+     * <p>
+     * Changes the sign of every element in the matrix.<br>
+     * <br>
+     * a<sub>ij</sub> = -a<sub>ij</sub>
+     * </p>
+     *
+     * @param a A matrix. Modified.
+     */
+    public static void changeSign( DMatrixD1 a ) {
+        changeSign(a, a);
+    }
+
+    /**
+     * <p>
+     * Changes the sign of every element in the matrix.<br>
+     * <br>
+     * output<sub>ij</sub> = -input<sub>ij</sub>
+     * </p>
+     *
+     * @param input A matrix. Not modified.
+     * @param output Where the results are stored. Can be null. Modified.
+     * @return The results
+     */
+    public static <T extends DMatrixD1> T changeSign( T input, @Nullable T output ) {
+        output = reshapeOrDeclare(output, input);
+
+        final double[] dataA = input.data, dataB = output.data;
+        EjmlConcurrency.loopBlocks(0, input.getNumElements(), MIN_BLOCK, ( idx0, idx1 ) -> {
+            for (int i = idx0; i < idx1; i++) {
+                dataB[i] = -dataA[i];
+            }
+        });
+
+        return output;
+    }
+
+    /**
+     * <p>
+     * Sets every element in the matrix to the specified value.<br>
+     * <br>
+     * a<sub>ij</sub> = value
+     * <p>
+     *
+     * @param a A matrix whose elements are about to be set. Modified.
+     * @param value The value each element will have.
+     */
+    public static void fill( DMatrixD1 a, double value ) {
+        final double[] data = a.data;
+        EjmlConcurrency.loopBlocks(0, a.getNumElements(), MIN_BLOCK,
+                ( idx0, idx1 ) -> Arrays.fill(data, idx0, idx1, value));
+    }
+
+    /**
+     * <p>Performs the an element by element multiplication operation:<br>
+     * <br>
+     * a<sub>ij</sub> = a<sub>ij</sub> * b<sub>ij</sub> <br>
+     * </p>
+     *
+     * @param A The left matrix in the multiplication operation. Modified.
+     * @param B The right matrix in the multiplication operation. Not modified.
+     */
+    public static void elementMult( DMatrixD1 A, DMatrixD1 B ) {
+        elementMult(A, B, A);
+    }
+
+    /**
+     * <p>Performs the an element by element multiplication operation:<br>
+     * <br>
+     * c<sub>ij</sub> = a<sub>ij</sub> * b<sub>ij</sub> <br>
+     * </p>
+     *
+     * @param A The left matrix in the multiplication operation. Not modified.
+     * @param B The right matrix in the multiplication operation. Not modified.
+     * @param output Where the results of the operation are stored. Modified.
+     */
+    public static <T extends DMatrixD1> T elementMult( T A, T B, @Nullable T output ) {
+        UtilEjml.checkSameShape(A, B, true);
+        output = reshapeOrDeclare(output, A);
+
+        final double[] dataA = A.data, dataB = B.data, dataC = output.data;
+        EjmlConcurrency.loopBlocks(0, A.getNumElements(), MIN_BLOCK, ( idx0, idx1 ) -> {
+            for (int i = idx0; i < idx1; i++) {
+                dataC[i] = dataA[i]*dataB[i];
+            }
+        });
+
+        return output;
+    }
+
+    /**
+     * <p>Performs the an element by element division operation:<br>
+     * <br>
+     * a<sub>ij</sub> = a<sub>ij</sub> / b<sub>ij</sub> <br>
+     * </p>
+     *
+     * @param A The left matrix in the division operation. Modified.
+     * @param B The right matrix in the division operation. Not modified.
+     */
+    public static void elementDiv( DMatrixD1 A, DMatrixD1 B ) {
+        elementDiv(A, B, A);
+    }
+
+    /**
+     * <p>Performs the an element by element division operation:<br>
+     * <br>
+     * c<sub>ij</sub> = a<sub>ij</sub> / b<sub>ij</sub> <br>
+     * </p>
+     *
+     * @param A The left matrix in the division operation. Not modified.
+     * @param B The right matrix in the division operation. Not modified.
+     * @param output Where the results of the operation are stored. Modified.
+     */
+    public static <T extends DMatrixD1> T elementDiv( T A, T B, @Nullable T output ) {
+        UtilEjml.checkSameShape(A, B, true);
+        output = reshapeOrDeclare(output, A);
+
+        final double[] dataA = A.data, dataB = B.data, dataC = output.data;
+        EjmlConcurrency.loopBlocks(0, A.getNumElements(), MIN_BLOCK, ( idx0, idx1 ) -> {
+            for (int i = idx0; i < idx1; i++) {
+                dataC[i] = dataA[i]/dataB[i];
+            }
+        });
+
+        return output;
+    }
+
+    /**
+     * <p>
+     * Element-wise power operation  <br>
+     * c<sub>ij</sub> = a<sub>ij</sub> ^ b<sub>ij</sub>
+     * <p>
+     *
+     * @param A left side
+     * @param B right side
+     * @param output output (modified)
+     */
+    public static <T extends DMatrixD1> T elementPower( T A, T B, @Nullable T output ) {
+        UtilEjml.checkSameShape(A, B, true);
+        output = reshapeOrDeclare(output, A);
+
+        final double[] dataA = A.data, dataB = B.data, dataC = output.data;
+        EjmlConcurrency.loopBlocks(0, A.getNumElements(), MIN_BLOCK, ( idx0, idx1 ) -> {
+            for (int i = idx0; i < idx1; i++) {
+                dataC[i] = Math.pow(dataA[i], dataB[i]);
+            }
+        });
+
+        return output;
+    }
+
+    /**
+     * <p>
+     * Element-wise power operation  <br>
+     * c<sub>ij</sub> = a ^ b<sub>ij</sub>
+     * <p>
+     *
+     * @param a left scalar
+     * @param B right side
+     * @param output output (modified)
+     */
+    public static <T extends DMatrixD1> T elementPower( double a, T B, @Nullable T output ) {
+        output = reshapeOrDeclare(output, B);
+
+        final double[] dataB = B.data, dataC = output.data;
+        EjmlConcurrency.loopBlocks(0, B.getNumElements(), MIN_BLOCK, ( idx0, idx1 ) -> {
+            for (int i = idx0; i < idx1; i++) {
+                dataC[i] = Math.pow(a, dataB[i]);
+            }
+        });
+
+        return output;
+    }
+
+    /**
+     * <p>
+     * Element-wise power operation  <br>
+     * c<sub>ij</sub> = a<sub>ij</sub> ^ b
+     * <p>
+     *
+     * @param A left side
+     * @param b right scalar
+     * @param output output (modified)
+     */
+    public static <T extends DMatrixD1> T elementPower( T A, double b, @Nullable T output ) {
+        output = reshapeOrDeclare(output, A);
+
+        final double[] dataA = A.data, dataC = output.data;
+        EjmlConcurrency.loopBlocks(0, A.getNumElements(), MIN_BLOCK, ( idx0, idx1 ) -> {
+            for (int i = idx0; i < idx1; i++) {
+                dataC[i] = Math.pow(dataA[i], b);
+            }
+        });
+
+        return output;
+    }
+
+    /**
+     * <p>
+     * Element-wise log operation  <br>
+     * c<sub>ij</sub> = Math.log(a<sub>ij</sub>)
+     * <p>
+     *
+     * @param A (input) A matrix
+     * @param output (input/output) Storage for results. can be null. (modified)
+     * @return The results
+     */
+    public static <T extends DMatrixD1> T elementLog( T A, @Nullable T output ) {
+        output = reshapeOrDeclare(output, A);
+
+        final double[] dataA = A.data, dataC = output.data;
+        EjmlConcurrency.loopBlocks(0, A.getNumElements(), MIN_BLOCK, ( idx0, idx1 ) -> {
+            for (int i = idx0; i < idx1; i++) {
+                dataC[i] = Math.log(dataA[i]);
+            }
+        });
+
+        return output;
+    }
+
+    /**
+     * <p>
+     * Element-wise exp operation  <br>
+     * c<sub>ij</sub> = Math.exp(a<sub>ij</sub>)
+     * <p>
+     *
+     * @param A (input) A matrix
+     * @param output (input/output) Storage for results. can be null. (modified)
+     * @return The results
+     */
+    public static <T extends DMatrixD1> T elementExp( T A, @Nullable T output ) {
+        output = reshapeOrDeclare(output, A);
+
+        final double[] dataA = A.data, dataC = output.data;
+        EjmlConcurrency.loopBlocks(0, A.getNumElements(), MIN_BLOCK, ( idx0, idx1 ) -> {
+            for (int i = idx0; i < idx1; i++) {
+                dataC[i] = Math.exp(dataA[i]);
+            }
+        });
+
+        return output;
+    }
+
+    /**
+     * <pre>
+     * output[i,j] = func(input[i,j])
+     * </pre>
+     *
+     * The function must be thread safe since it's called from multiple threads.
+     *
+     * @param input (Input) input matrix. Not modified
+     * @param func Unary function accepting a double
+     * @param output (Output) Matrix. Can be same instance as A. Modified.
+     * @return The output matrix
+     */
+    public static DMatrixRMaj apply( DMatrixRMaj input, DOperatorUnary func, @Nullable DMatrixRMaj output ) {
+        output = reshapeOrDeclare(output, input.numRows, input.numCols);
+
+        final double[] dataA = input.data, dataC = output.data;
+        EjmlConcurrency.loopBlocks(0, input.getNumElements(), MIN_BLOCK, ( idx0, idx1 ) -> {
+            for (int i = idx0; i < idx1; i++) {
+                dataC[i] = func.apply(dataA[i]);
+            }
+        });
+
+        return output;
+    }
+
+    public static DMatrixRMaj apply( DMatrixRMaj input, DOperatorUnary func ) {
+        return apply(input, func, input);
+    }
+
+    /**
+     * <p>
+     * Sums up all the elements in the matrix. The order the elements are added in is different from
+     * {@link CommonOps_DDRM#elementSum} so the results can differ slightly.<br>
+     * <br>
+     * sum(i=1:m , j=1:n ; a<sub>ij</sub>)
+     * <p>
+     *
+     * @param mat An m by n matrix. Not modified.
+     * @return The sum of the elements.
+     */
+    public static double elementSum( DMatrixD1 mat ) {
+        final double[] data = mat.data;
+        var partials = new GrowArray<>(DGrowArray::new);
+        EjmlConcurrency.loopBlocks(0, mat.getNumElements(), MIN_BLOCK, partials, ( work, idx0, idx1 ) -> {
+            double total = 0;
+            for (int i = idx0; i < idx1; i++) {
+                total += data[i];
+            }
+            work.reshape(1);
+            work.data[0] = total;
+        });
+
+        double total = 0;
+        for (int i = 0; i < partials.size(); i++) {
+            total += partials.get(i).data[0];
+        }
+        return total;
+    }
+
+    /**
+     * <p>
+     * Returns the absolute value of the element in the matrix that has the largest absolute value.<br>
+     * <br>
+     * Max{ |a<sub>ij</sub>| } for all i and j<br>
+     * </p>
+     *
+     * @param a A matrix. Not modified.
+     * @return The max abs element value of the matrix.
+     */
+    public static double elementMaxAbs( DMatrixD1 a ) {
+        return elementMaxAbs(a, null);
+    }
+
+    /**
+     * <p>
+     * Returns the absolute value of the element in the matrix that has the largest absolute value.<br>
+     * <br>
+     * Max{ |a<sub>ij</sub>| } for all i and j<br>
+     * </p>
+     *
+     * @param a A matrix. Not modified.
+     * @param loc (Output) Location of element element.
+     * @return The max abs element value of the matrix.
+     */
+    public static double elementMaxAbs( DMatrixD1 a, @Nullable ElementLocation loc ) {
+        final double[] data = a.data;
+        var partials = new GrowArray<>(DGrowArray::new);
+        EjmlConcurrency.loopBlocks(0, a.getNumElements(), MIN_BLOCK, partials, ( work, idx0, idx1 ) -> {
+            int bestIndex = idx0;
+            double max = 0;
+            for (int i = idx0; i < idx1; i++) {
+                double val = Math.abs(data[i]);
+                if (val > max) {
+                    bestIndex = i;
+                    max = val;
+                }
+            }
+            work.reshape(2);
+            work.data[0] = max;
+            work.data[1] = bestIndex;
+        });
+
+        // Blocks are in order, so the first element with the largest value is selected just like the
+        // single threaded version
+        int bestIndex = 0;
+        double max = 0;
+        for (int i = 0; i < partials.size(); i++) {
+            DGrowArray work = partials.get(i);
+            if (work.data[0] > max) {
+                max = work.data[0];
+                bestIndex = (int)work.data[1];
+            }
+        }
+
+        if (loc != null) {
+            loc.row = bestIndex/a.numCols;
+            loc.col = bestIndex%a.numCols;
+        }
+
+        return max;
+    }
+
+    /**
+     * <p>
+     * Computes the sum of each row in the input matrix and returns the results in a vector:<br>
+     * <br>
+     * b<sub>j</sub> = sum(i=1:n ; a<sub>ji</sub>)
+     * </p>
+     *
+     * @param input Input matrix whose rows are summed.
+     * @param output Optional storage for output. Reshaped into a column. Modified.
+     * @return Vector containing the sum of each row in the input.
+     */
+    public static DMatrixRMaj sumRows( DMatrixRMaj input, @Nullable DMatrixRMaj output ) {
+        output = reshapeOrDeclare(output, input.numRows, 1);
+
+        final int numCols = input.numCols;
+        final double[] data = input.data, out = output.data;
+        EjmlConcurrency.loopBlocks(0, input.numRows, minBlock(numCols), ( row0, row1 ) -> {
+            for (int row = row0; row < row1; row++) {
+                double total = 0;
+                int end = (row + 1)*numCols;
+                for (int index = row*numCols; index < end; index++) {
+                    total += data[index];
+                }
+                out[row] = total;
+            }
+        });
+        return output;
+    }
+
+    /**
+     * <p>
+     * Finds the element with the minimum value along each row in the input matrix and returns the results in a vector:<br>
+     * <br>
+     * b<sub>j</sub> = min(i=1:n ; a<sub>ji</sub>)
+     * </p>
+     *
+     * @param input Input matrix
+     * @param output Optional storage for output. Reshaped into a column. Modified.
+     * @return Vector containing the minimum of each row in the input.
+     */
+    public static DMatrixRMaj minRows( DMatrixRMaj input, @Nullable DMatrixRMaj output ) {
+        output = reshapeOrDeclare(output, input.numRows, 1);
+
+        final int numCols = input.numCols;
+        final double[] data = input.data, out = output.data;
+        EjmlConcurrency.loopBlocks(0, input.numRows, minBlock(numCols), ( row0, row1 ) -> {
+            for (int row = row0; row < row1; row++) {
+                double min = Double.MAX_VALUE;
+                int end = (row + 1)*numCols;
+                for (int index = row*numCols; index < end; index++) {
+                    double v = data[index];
+                    if (v < min)
+                        min = v;
+                }
+                out[row] = min;
+            }
+        });
+        return output;
+    }
+
+    /**
+     * <p>
+     * Finds the element with the maximum value along each row in the input matrix and returns the results in a vector:<br>
+     * <br>
+     * b<sub>j</sub> = max(i=1:n ; a<sub>ji</sub>)
+     * </p>
+     *
+     * @param input Input matrix
+     * @param output Optional storage for output. Reshaped into a column. Modified.
+     * @return Vector containing the maximum of each row in the input.
+     */
+    public static DMatrixRMaj maxRows( DMatrixRMaj input, @Nullable DMatrixRMaj output ) {
+        output = reshapeOrDeclare(output, input.numRows, 1);
+
+        final int numCols = input.numCols;
+        final double[] data = input.data, out = output.data;
+        EjmlConcurrency.loopBlocks(0, input.numRows, minBlock(numCols), ( row0, row1 ) -> {
+            for (int row = row0; row < row1; row++) {
+                double max = -Double.MAX_VALUE;
+                int end = (row + 1)*numCols;
+                for (int index = row*numCols; index < end; index++) {
+                    double v = data[index];
+                    if (v > max)
+                        max = v;
+                }
+                out[row] = max;
+            }
+        });
+        return output;
+    }
+
+    /**
+     * <p>
+     * Computes the sum of each column in the input matrix and returns the results in a vector:<br>
+     * <br>
+     * b<sub>j</sub> = sum(i=1:m ; a<sub>ij</sub>)
+     * </p>
+     *
+     * <p>Each thread processes a block of columns one row at a time, so memory is read sequentially.</p>
+     *
+     * @param input Input matrix
+     * @param output Optional storage for output. Reshaped into a row vector. Modified.
+     * @return Vector containing the sum of each column
+     */
+    public static DMatrixRMaj sumCols( DMatrixRMaj input, @Nullable DMatrixRMaj output ) {
+        output = reshapeOrDeclare(output, 1, input.numCols);
+
+        final int numRows = input.numRows, numCols = input.numCols;
+        final double[] data = input.data, out = output.data;
+        EjmlConcurrency.loopBlocks(0, numCols, minBlock(numRows), ( col0, col1 ) -> {
+            Arrays.fill(out, col0, col1, 0.0);
+            for (int row = 0; row < numRows; row++) {
+                int index = row*numCols;
+                for (int col = col0; col < col1; col++) {
+                    out[col] += data[index + col];
+                }
+            }
+        });
+        return output;
+    }
+
+    /**
+     * <p>
+     * Finds the element with the minimum value along column in the input matrix and returns the results in a vector:<br>
+     * <br>
+     * b<sub>j</sub> = min(i=1:m ; a<sub>ij</sub>)
+     * </p>
+     *
+     * @param input Input matrix
+     * @param output Optional storage for output. Reshaped into a row vector. Modified.
+     * @return Vector containing the minimum of each column
+     */
+    public static DMatrixRMaj minCols( DMatrixRMaj input, @Nullable DMatrixRMaj output ) {
+        output = reshapeOrDeclare(output, 1, input.numCols);
+
+        final int numRows = input.numRows, numCols = input.numCols;
+        final double[] data = input.data, out = output.data;
+        EjmlConcurrency.loopBlocks(0, numCols, minBlock(numRows), ( col0, col1 ) -> {
+            Arrays.fill(out, col0, col1, Double.MAX_VALUE);
+            for (int row = 0; row < numRows; row++) {
+                int index = row*numCols;
+                for (int col = col0; col < col1; col++) {
+                    double v = data[index + col];
+                    if (v < out[col])
+                        out[col] = v;
+                }
+            }
+        });
+        return output;
+    }
+
+    /**
+     * <p>
+     * Finds the element with the maximum value along column in the input matrix and returns the results in a vector:<br>
+     * <br>
+     * b<sub>j</sub> = max(i=1:m ; a<sub>ij</sub>)
+     * </p>
+     *
+     * @param input Input matrix
+     * @param output Optional storage for output. Reshaped into a row vector. Modified.
+     * @return Vector containing the maximum of each column
+     */
+    public static DMatrixRMaj maxCols( DMatrixRMaj input, @Nullable DMatrixRMaj output ) {
+        output = reshapeOrDeclare(output, 1, input.numCols);
+
+        final int numRows = input.numRows, numCols = input.numCols;
+        final double[] data = input.data, out = output.data;
+        EjmlConcurrency.loopBlocks(0, numCols, minBlock(numRows), ( col0, col1 ) -> {
+            Arrays.fill(out, col0, col1, -Double.MAX_VALUE);
+            for (int row = 0; row < numRows; row++) {
+                int index = row*numCols;
+                for (int col = col0; col < col1; col++) {
+                    double v = data[index + col];
+                    if (v > out[col])
+                        out[col] = v;
+                }
+            }
+        });
+        return output;
+    }
+
+    /**
+     * Minimum number of rows or columns in a block so that each block has at least {@link #MIN_BLOCK} elements
+     */
+    private static int minBlock( int elementsPerLine ) {
+        return Math.max(1, MIN_BLOCK/Math.max(1, elementsPerLine));
+    }
 }
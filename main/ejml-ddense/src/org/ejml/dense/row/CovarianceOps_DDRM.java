@@ -20,7 +20,9 @@ package org.ejml.dense.row;
 
 import org.ejml.LinearSolverSafe;
 import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixPacked;
 import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.packed.PackedOps_DDRM;
 import org.ejml.dense.row.factory.LinearSolverFactory_DDRM;
 import org.ejml.dense.row.misc.UnrolledInverseFromMinor_DDRM;
 import org.ejml.interfaces.linsol.LinearSolverDense;
@@ -66,6 +68,26 @@ public class CovarianceOps_DDRM {
         return 0;
     }
 
+    /**
+     * Same as {@link #isValid(DMatrixRMaj)} for a covariance matrix in packed storage, which is always symmetric.
+     *
+     * @return 0 = is valid 1 = failed positive diagonal, 3 = failed on positive definite
+     */
+    public static int isValid( DMatrixPacked cov ) {
+        if (!cov.isSymmetric())
+            throw new IllegalArgumentException("Covariance matrix must be symmetric");
+
+        for (int i = 0; i < cov.numRows; i++) {
+            if (!(cov.data[DMatrixPacked.index(i, i)] > 0.0))
+                return 1;
+        }
+
+        if (!PackedOps_DDRM.cholesky(new DMatrixPacked(cov)))
+            return 3;
+
+        return 0;
+    }
+
     /**
      * Performs a matrix inversion operations that takes advantage of the special
      * properties of a covariance matrix.
@@ -106,6 +128,21 @@ public class CovarianceOps_DDRM {
         return true;
     }
 
+    /**
+     * Inverts a covariance matrix in packed storage using its Cholesky decomposition.
+     *
+     * @param cov A covariance matrix. Not modified.
+     * @param cov_inv The inverse of cov. Reshaped. Can be the same instance as cov.
+     * @return true if it could invert the matrix false if it could not.
+     */
+    public static boolean invert( final DMatrixPacked cov, final DMatrixPacked cov_inv ) {
+        var L = new DMatrixPacked(cov);
+        if (!PackedOps_DDRM.cholesky(L))
+            return false;
+        PackedOps_DDRM.invertCholesky(L, cov_inv);
+        return true;
+    }
+
     /**
      * Sets vector to a random value based upon a zero-mean multivariate Gaussian distribution with
      * covariance 'cov'. If repeat calls are made to this class, consider using {@link CovarianceRandomDraw_DDRM} instead.
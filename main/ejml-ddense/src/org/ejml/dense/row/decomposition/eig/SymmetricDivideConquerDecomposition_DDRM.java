@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.row.decomposition.eig;
+
+import org.ejml.data.Complex_F64;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.CommonOps_DDRM;
+import org.ejml.dense.row.decomposition.eig.symm.SymmetricDivideConquer_DDRM;
+import org.ejml.dense.row.decomposition.eig.symm.SymmetricQREigenHelper_DDRM;
+import org.ejml.dense.row.decomposition.eig.symm.SymmetricQrAlgorithm_DDRM;
+import org.ejml.dense.row.factory.DecompositionFactory_DDRM;
+import org.ejml.interfaces.decomposition.EigenDecomposition_F64;
+import org.ejml.interfaces.decomposition.TridiagonalSimilarDecomposition_F64;
+
+/**
+ * <p>
+ * Computes the eigenvalues and eigenvectors of a real symmetric matrix using the divide and conquer algorithm.
+ * The matrix is first reduced to a similar tridiagonal matrix, which is then decomposed by
+ * {@link SymmetricDivideConquer_DDRM}. Most of the work is done inside of matrix multiplications, including
+ * the final back transformation of the eigenvectors, making it much faster than
+ * {@link SymmetricQRAlgorithmDecomposition_DDRM} for large matrices when eigenvectors are needed.
+ * </p>
+ *
+ * <p>
+ * If eigenvectors are not needed the eigenvalues are computed with the QR algorithm, which is faster in that case.
+ * </p>
+ *
+ * @author Peter Abeles
+ * @see SymmetricDivideConquer_DDRM
+ * @see org.ejml.dense.row.decomposition.hessenberg.TridiagonalDecompositionHouseholder_DDRM
+ */
+@SuppressWarnings("NullAway.Init")
+public class SymmetricDivideConquerDecomposition_DDRM
+        implements EigenDecomposition_F64<DMatrixRMaj> {
+
+    // computes a tridiagonal matrix whose eigenvalues are the same as the original
+    private final TridiagonalSimilarDecomposition_F64<DMatrixRMaj> decomp;
+    // computes the eigen decomposition of the tridiagonal matrix
+    private final SymmetricDivideConquer_DDRM dc;
+
+    // Used to compute eigenvalues only
+    private final SymmetricQREigenHelper_DDRM helper = new SymmetricQREigenHelper_DDRM();
+    private final SymmetricQrAlgorithm_DDRM qr = new SymmetricQrAlgorithm_DDRM(helper);
+
+    // should it compute eigenvectors or just eigenvalues
+    private final boolean computeVectors;
+
+    // size of the decomposed matrix
+    private int N;
+
+    // where the found eigenvalues are stored
+    private double[] values;
+
+    // where the tridiagonal matrix is stored
+    private double[] diag = new double[0];
+    private double[] off = new double[0];
+
+    // transpose of the orthogonal matrix from the tridiagonal decomposition
+    private DMatrixRMaj V;
+    // eigenvectors are stored in the rows
+    private final DMatrixRMaj W = new DMatrixRMaj(1, 1);
+    // the extracted eigenvectors
+    private DMatrixRMaj[] eigenvectors;
+
+    public SymmetricDivideConquerDecomposition_DDRM( TridiagonalSimilarDecomposition_F64<DMatrixRMaj> decomp,
+                                                     SymmetricDivideConquer_DDRM dc,
+                                                     boolean computeVectors ) {
+        this.decomp = decomp;
+        this.dc = dc;
+        this.computeVectors = computeVectors;
+    }
+
+    public SymmetricDivideConquerDecomposition_DDRM( boolean computeVectors ) {
+        this(DecompositionFactory_DDRM.tridiagonal(0), new SymmetricDivideConquer_DDRM(), computeVectors);
+    }
+
+    @Override
+    public int getNumberOfEigenvalues() {
+        return N;
+    }
+
+    @Override
+    public Complex_F64 getEigenvalue( int index ) {
+        return new Complex_F64(values[index], 0);
+    }
+
+    @Override
+    public DMatrixRMaj getEigenVector( int index ) {
+        return eigenvectors[index];
+    }
+
+    @Override
+    public boolean decompose( DMatrixRMaj orig ) {
+        if (orig.numCols != orig.numRows)
+            throw new IllegalArgumentException("Matrix must be square.");
+        if (orig.numCols <= 0)
+            return false;
+
+        N = orig.numRows;
+
+        // compute a similar tridiagonal matrix
+        if (!decomp.decompose(orig))
+            return false;
+
+        if (diag.length < N) {
+            diag = new double[N];
+            off = new double[N];
+        }
+        decomp.getDiagonal(diag, off);
+
+        if (!computeVectors) {
+            helper.init(diag, off, N);
+            qr.setQ(null);
+            qr.setFastEigenvalues(true);
+            if (!qr.process(-1, null, null))
+                return false;
+            values = helper.copyEigenvalues(values);
+            return true;
+        }
+
+        if (!dc.process(N, diag, off))
+            return false;
+
+        // Eigenvectors of the original matrix are (Q_t*Q_dc)' = Q_dc'*Q_t'. These are stored in the rows of W
+        V = decomp.getQ(V, true);
+        dc.multTransQ(V, W);
+        eigenvectors = CommonOps_DDRM.rowsToVector(W, eigenvectors);
+
+        if (values == null || values.length < N)
+            values = new double[N];
+        System.arraycopy(dc.getEigenvalues(), 0, values, 0, N);
+
+        return true;
+    }
+
+    @Override
+    public boolean inputModified() {
+        return decomp.inputModified();
+    }
+}
@@ -0,0 +1,372 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.row.decomposition.eig.symm;
+
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixRMaj;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * <p>
+ * Computes the eigenvalues and eigenvectors of a diagonal matrix plus a rank one update, D + &rho;zz<sup>T</sup>,
+ * where D = diag(d), d is strictly increasing, every element of z is non-zero, and &rho; &gt; 0. This is the
+ * merge step of the divide and conquer eigenvalue algorithm. The eigenvalues interlace with d and are the roots
+ * of the secular equation:
+ * </p>
+ * <pre>
+ * f(&lambda;) = 1 + &rho; &sum;<sub>j</sub> z<sub>j</sub><sup>2</sup>/(d<sub>j</sub> - &lambda;) = 0
+ * </pre>
+ * <p>
+ * Each root is found relative to its closest pole to avoid cancellation, using a rational model of f which
+ * interpolates the two poles bracketing the root. A bisection step is taken whenever the model's step leaves
+ * the bracket. To ensure the eigenvectors are numerically orthogonal, z is replaced with the vector z' for
+ * which the computed eigenvalues are exact using L&ouml;wner's theorem. Eigenvector i is then
+ * z'/(d - &lambda;<sub>i</sub>), normalized. The same solver is used to
+ * {@link #processSvd merge singular value decompositions}, where the poles are the squares of d.
+ * </p>
+ *
+ * <p>
+ * Gu and Eisenstat, "A Stable and Efficient Algorithm for the Rank-One Modification of the Symmetric
+ * Eigenproblem", SIAM J. Matrix Anal. Appl. 1994<br>
+ * Li, "Solving Secular Equations Stably and Efficiently", LAPACK Working Note 89, 1993<br>
+ * Gu and Eisenstat, "A Divide-and-Conquer Algorithm for the Bidiagonal SVD", SIAM J. Matrix Anal. Appl. 1995
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class SecularEquation_DDRM {
+    /** Maximum number of iterations used to find each root. It switches to bisection after half of these. */
+    public int maxIterations = 100;
+
+    // For each root, index of the pole it was computed relative to and the distance from that pole
+    protected int[] origin = new int[0];
+    protected double[] tau = new double[0];
+
+    // Elements of z which make the computed eigenvalues exact
+    protected double[] zhat = new double[0];
+
+    // Location of each pole relative to the origin of the root being found
+    protected double[] shifted = new double[0];
+
+    /**
+     * Computes the eigenvalues and, optionally, the eigenvectors.
+     *
+     * @param k Number of elements in d and z
+     * @param d (Input) Diagonal elements. Must be strictly increasing. Not modified.
+     * @param z (Input) Rank one update. Every element must be non-zero. Not modified.
+     * @param rho (Input) Scale factor of the update. Must be positive.
+     * @param lambda (Output) Eigenvalues in increasing order. Must have at least k elements.
+     * @param U (Output) Eigenvectors, where column i is the eigenvector of lambda[i]. Reshaped to k by k. If null
+     * then the eigenvectors are not computed.
+     */
+    public void process( int k, double[] d, double[] z, double rho, double[] lambda, @Nullable DMatrixRMaj U ) {
+        resize(k);
+
+        double sumZ2 = sumSquared(k, z);
+        for (int i = 0; i < k; i++) {
+            findRoot(k, d, z, rho, sumZ2, i, false);
+            lambda[i] = d[origin[i]] + tau[i];
+        }
+
+        if (U == null)
+            return;
+
+        // distance between each pole and each eigenvalue, delta[j,i] = d[j] - lambda[i], computed without
+        // cancellation since the eigenvalue is stored relative to its origin
+        U.reshape(k, k);
+        final double[] u = U.data;
+        for (int j = 0; j < k; j++) {
+            for (int i = 0; i < k; i++) {
+                u[j*k + i] = (d[j] - d[origin[i]]) - tau[i];
+            }
+        }
+
+        // Lowner's theorem. z-hat is the update for which the computed eigenvalues are exact
+        for (int j = 0; j < k; j++) {
+            double prod = -u[j*k + j]/rho;
+            for (int i = 0; i < k; i++) {
+                if (i != j)
+                    prod *= u[j*k + i]/(d[i] - d[j]);
+            }
+            zhat[j] = z[j] < 0 ? -Math.sqrt(Math.abs(prod)) : Math.sqrt(Math.abs(prod));
+        }
+
+        for (int j = 0; j < k; j++) {
+            int index = j*k;
+            for (int i = 0; i < k; i++, index++) {
+                u[index] = zhat[j]/u[index];
+            }
+        }
+
+        normalizeColumns(k, u);
+    }
+
+    /**
+     * <p>
+     * Computes the singular values and, optionally, the singular vectors of M = D + e<sub>0</sub>z<sup>T</sup>,
+     * i.e. a diagonal matrix whose first row has been replaced by z. This is the merge step of the divide and
+     * conquer SVD. The squares of the singular values are the eigenvalues of D<sup>2</sup> + zz<sup>T</sup> and
+     * are found relative to the closest pole without forming the squares explicitly.
+     * </p>
+     *
+     * @param k Number of elements in d and z
+     * @param d (Input) Diagonal elements. d[0] must be zero and the others positive and strictly increasing.
+     * Not modified.
+     * @param z (Input) First row of M. Every element must be non-zero. Not modified.
+     * @param sigma (Output) Singular values in increasing order. Must have at least k elements.
+     * @param U (Output) Left singular vectors, stored in the columns. Reshaped to k by k. If U or V is null then
+     * the singular vectors are not computed.
+     * @param V (Output) Right singular vectors, stored in the columns. Reshaped to k by k.
+     */
+    public void processSvd( int k, double[] d, double[] z, double[] sigma,
+                            @Nullable DMatrixRMaj U, @Nullable DMatrixRMaj V ) {
+        resize(k);
+
+        double sumZ2 = sumSquared(k, z);
+        for (int i = 0; i < k; i++) {
+            findRoot(k, d, z, 1.0, sumZ2, i, true);
+            sigma[i] = Math.sqrt(d[origin[i]]*d[origin[i]] + tau[i]);
+        }
+
+        if (U == null || V == null)
+            return;
+
+        // d[j]^2 - sigma[i]^2 is computed as (d[j] - sigma[i])*(d[j] + sigma[i]), where the first term is found
+        // relative to the origin without cancellation
+        V.reshape(k, k);
+        final double[] v = V.data;
+        for (int i = 0; i < k; i++) {
+            double pole = d[origin[i]];
+            double gap = tau[i]/(sigma[i] + pole);
+            for (int j = 0; j < k; j++) {
+                v[j*k + i] = ((d[j] - pole) - gap)*(d[j] + sigma[i]);
+            }
+        }
+
+        // Lowner's theorem. z-hat is the first row for which the computed singular values are exact
+        for (int j = 0; j < k; j++) {
+            double prod = -v[j*k + j];
+            for (int i = 0; i < k; i++) {
+                if (i != j)
+                    prod *= v[j*k + i]/((d[i] - d[j])*(d[i] + d[j]));
+            }
+            zhat[j] = z[j] < 0 ? -Math.sqrt(Math.abs(prod)) : Math.sqrt(Math.abs(prod));
+        }
+
+        // V(j,i) = zhat[j]/(d[j]^2 - sigma[i]^2), U(0,i) = -1, and U(j,i) = d[j]*V(j,i)
+        U.reshape(k, k);
+        final double[] u = U.data;
+        for (int j = 0; j < k; j++) {
+            int index = j*k;
+            for (int i = 0; i < k; i++, index++) {
+                v[index] = zhat[j]/v[index];
+                u[index] = j == 0 ? -1.0 : d[j]*v[index];
+            }
+        }
+        normalizeColumns(k, u);
+        normalizeColumns(k, v);
+    }
+
+    private void resize( int k ) {
+        if (origin.length >= k)
+            return;
+        origin = new int[k];
+        tau = new double[k];
+        zhat = new double[k];
+        shifted = new double[k];
+    }
+
+    private static double sumSquared( int k, double[] z ) {
+        double sum = 0;
+        for (int j = 0; j < k; j++) {
+            sum += z[j]*z[j];
+        }
+        return sum;
+    }
+
+    /**
+     * Normalizes each column in the k by k row-major matrix
+     */
+    private void normalizeColumns( int k, double[] u ) {
+        double[] norms = tau; // no longer needed
+        for (int i = 0; i < k; i++) {
+            norms[i] = 0;
+        }
+        for (int j = 0; j < k; j++) {
+            int index = j*k;
+            for (int i = 0; i < k; i++, index++) {
+                norms[i] += u[index]*u[index];
+            }
+        }
+        for (int i = 0; i < k; i++) {
+            norms[i] = 1.0/Math.sqrt(norms[i]);
+        }
+        for (int j = 0; j < k; j++) {
+            int index = j*k;
+            for (int i = 0; i < k; i++, index++) {
+                u[index] *= norms[i];
+            }
+        }
+    }
+
+    /**
+     * Finds the i-th root. Roots i &lt; k-1 lie inside of (d[i], d[i+1]) and the last one inside of
+     * (d[k-1], d[k-1] + &rho;|z|<sup>2</sup>]. Results are saved in origin[i] and tau[i]. If squared is true then
+     * the poles are d<sup>2</sup> instead of d.
+     */
+    protected void findRoot( int k, double[] d, double[] z, double rho, double sumZ2, int i, boolean squared ) {
+        // Pick the closest pole as the origin by looking at the sign of f at the middle of the interval
+        int o;
+        double lower, upper;
+        computeShifted(k, d, i, squared);
+        if (i < k - 1) {
+            double mid = shifted[i + 1]/2.0;
+            double f = 1.0;
+            for (int j = 0; j < k; j++) {
+                f += rho*z[j]*z[j]/(shifted[j] - mid);
+            }
+            if (f >= 0) {
+                o = i;
+                lower = 0;
+                upper = mid;
+            } else {
+                o = i + 1;
+                computeShifted(k, d, o, squared);
+                lower = -mid;
+                upper = 0;
+            }
+        } else {
+            o = i;
+            lower = 0;
+            upper = rho*sumZ2;
+        }
+
+        double t = (lower + upper)/2.0;
+        for (int iter = 0; iter < maxIterations; iter++) {
+            // f is split into poles to the left (psi) and right (phi) of the root
+            double psi = 0, dpsi = 0, phi = 0, dphi = 0;
+            for (int j = 0; j <= i; j++) {
+                double temp = z[j]/(shifted[j] - t);
+                psi += z[j]*temp;
+                dpsi += temp*temp;
+            }
+            for (int j = i + 1; j < k; j++) {
+                double temp = z[j]/(shifted[j] - t);
+                phi += z[j]*temp;
+                dphi += temp*temp;
+            }
+            psi *= rho;
+            dpsi *= rho;
+            phi *= rho;
+            dphi *= rho;
+            double f = 1.0 + psi + phi;
+
+            // bound on the rounding error when computing f, including the error in t
+            double error = 8.0*(phi - psi) + 2.0 + 3.0*Math.abs(t)*(dpsi + dphi);
+            if (Math.abs(f) <= UtilEjml.EPS*error)
+                break;
+
+            if (f < 0)
+                lower = t;
+            else
+                upper = t;
+            if (upper - lower <= 2.0*UtilEjml.EPS*Math.max(Math.abs(lower), Math.abs(upper)))
+                break;
+
+            // Distance from the current estimate to the two closest poles
+            double deltaL = shifted[i] - t;
+            double step;
+            if (iter >= maxIterations/2) {
+                step = Double.NaN;
+            } else if (i < k - 1) {
+                double deltaR = shifted[i + 1] - t;
+                step = stepTwoPoles(f, deltaL, dpsi, deltaR, dphi, lower - t, upper - t);
+            } else {
+                // only a pole to the left. Solve c + s/(deltaL - eta) = 0
+                double c = f - deltaL*dpsi;
+                step = deltaL + deltaL*deltaL*dpsi/c;
+            }
+
+            // Newton's method is the backup. Bisection is used if the step still falls outside the bracket
+            if (!(t + step > lower && t + step < upper))
+                step = -f/(dpsi + dphi);
+            double next = t + step;
+            if (!(next > lower && next < upper))
+                next = (lower + upper)/2.0;
+            if (next == t)
+                break;
+            t = next;
+        }
+
+        origin[i] = o;
+        tau[i] = t;
+    }
+
+    /**
+     * Computes the location of each pole relative to the pole at index o. When squared, the difference
+     * d[j]<sup>2</sup> - d[o]<sup>2</sup> is computed as a product to avoid cancellation.
+     */
+    private void computeShifted( int k, double[] d, int o, boolean squared ) {
+        double pole = d[o];
+        if (squared) {
+            for (int j = 0; j < k; j++) {
+                shifted[j] = (d[j] - pole)*(d[j] + pole);
+            }
+        } else {
+            for (int j = 0; j < k; j++) {
+                shifted[j] = d[j] - pole;
+            }
+        }
+    }
+
+    /**
+     * Finds the step eta by solving the model c + s/(deltaL - eta) + S/(deltaR - eta) = 0, which matches f and its
+     * derivatives from the left and right poles at the current location. Returns NaN if there's no root inside
+     * the bracket.
+     */
+    static double stepTwoPoles( double f, double deltaL, double dpsi, double deltaR, double dphi,
+                                double lower, double upper ) {
+        double s = deltaL*deltaL*dpsi;
+        double S = deltaR*deltaR*dphi;
+        double c = f - deltaL*dpsi - deltaR*dphi;
+
+        // c*eta^2 - a*eta + b = 0
+        double a = c*(deltaL + deltaR) + s + S;
+        double b = c*deltaL*deltaR + s*deltaR + S*deltaL;
+
+        if (c == 0.0)
+            return b/a;
+
+        double disc = a*a - 4.0*c*b;
+        if (disc < 0)
+            return Double.NaN;
+        double q = (a + (a < 0 ? -Math.sqrt(disc) : Math.sqrt(disc)))/2.0;
+        double root0 = q/c;
+        double root1 = b/q;
+
+        boolean inside0 = root0 > lower && root0 < upper;
+        boolean inside1 = root1 > lower && root1 < upper;
+        if (inside0 && inside1)
+            return Math.abs(root0) < Math.abs(root1) ? root0 : root1;
+        else if (inside0)
+            return root0;
+        else if (inside1)
+            return root1;
+        return Double.NaN;
+    }
+}
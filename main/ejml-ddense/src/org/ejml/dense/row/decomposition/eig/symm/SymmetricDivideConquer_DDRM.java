@@ -0,0 +1,482 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.row.decomposition.eig.symm;
+
+import org.ejml.UtilEjml;
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.mult.MatrixMultPacked_DDRM;
+
+/**
+ * <p>
+ * Computes the eigenvalues and eigenvectors of a symmetric tridiagonal matrix using Cuppen's divide and conquer
+ * algorithm. The matrix is torn into two halves by subtracting a rank one matrix built from the off diagonal
+ * element which connects them:
+ * </p>
+ * <pre>
+ * T = [T<sub>1</sub> 0; 0 T<sub>2</sub>] + |&beta;| v v<sup>T</sup>, v = [0 ... 0 1 sgn(&beta;) 0 ... 0]<sup>T</sup>
+ * </pre>
+ * <p>
+ * This is done recursively until the sub-problems are small enough to be solved with the
+ * {@link SymmetricQrAlgorithm_DDRM QR algorithm}. The halves are then merged back together by solving for the
+ * eigen decomposition of a diagonal plus rank one matrix with {@link SecularEquation_DDRM}. Before that,
+ * eigenvalues which are not changed by the update, because the update's weight is negligible or two eigenvalues
+ * are almost identical, are deflated. Deflation is what makes the algorithm fast in practice and often removes
+ * most of the work. The eigenvectors of the merged problem are found by multiplying the eigenvectors of the
+ * halves by those of the rank one update using {@link MatrixMultPacked_DDRM matrix multiplication}. The columns
+ * are grouped by which half they have non-zero elements in so that known zeros are skipped.
+ * </p>
+ *
+ * <p>
+ * The sub-problems are merged bottom up, level by level, so that independent merges can be
+ * {@link SymmetricDivideConquer_MT_DDRM processed concurrently}. The eigenvalues are not sorted.
+ * </p>
+ *
+ * <p>
+ * Cuppen, "A divide and conquer method for the symmetric tridiagonal eigenproblem", Numer. Math. 1981<br>
+ * Gu and Eisenstat, "A Divide-and-Conquer Algorithm for the Symmetric Tridiagonal Eigenproblem",
+ * SIAM J. Matrix Anal. Appl. 1995<br>
+ * LAPACK routines DSTEDC, DLAED0, DLAED1, DLAED2, and DLAED3
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class SymmetricDivideConquer_DDRM {
+    // Sub-problems which are this size or smaller are solved using the QR algorithm
+    protected final int leafSize;
+
+    // size of the matrix being decomposed
+    protected int N;
+    // copy of the tridiagonal matrix. Modified when it's torn apart
+    protected double[] diag = new double[0];
+    protected double[] off = new double[0];
+
+    // the eigenvalues and the eigenvectors, which are stored in the columns
+    protected double[] values = new double[0];
+    protected final DMatrixRMaj Q = new DMatrixRMaj(1, 1);
+
+    // Index of the first element in each leaf. The last element is N
+    protected int[] bounds = new int[0];
+    protected int numLeaves;
+
+    // Storage used by a single thread
+    protected final Workspace work = new Workspace();
+
+    /**
+     * @param leafSize Sub-problems which are this size or smaller are solved using the QR algorithm. Try 32.
+     */
+    public SymmetricDivideConquer_DDRM( int leafSize ) {
+        if (leafSize < 1)
+            throw new IllegalArgumentException("Leaf size must be at least 1");
+        this.leafSize = leafSize;
+    }
+
+    public SymmetricDivideConquer_DDRM() {
+        this(32);
+    }
+
+    /**
+     * Computes the eigen decomposition of the tridiagonal matrix
+     *
+     * @param N Number of rows and columns in the matrix
+     * @param diag (Input) Diagonal elements. Not modified.
+     * @param off (Input) Off diagonal elements. Not modified.
+     * @return true if it was successful
+     */
+    public boolean process( int N, double[] diag, double[] off ) {
+        this.N = N;
+        if (this.diag.length < N) {
+            this.diag = new double[N];
+            this.off = new double[N];
+            this.values = new double[N];
+        }
+        System.arraycopy(diag, 0, this.diag, 0, N);
+        System.arraycopy(off, 0, this.off, 0, N - 1);
+
+        // Scale the matrix so that the largest element is one, which deflation tolerances assume
+        double scale = 0;
+        for (int i = 0; i < N; i++) {
+            scale = Math.max(scale, Math.abs(diag[i]));
+        }
+        for (int i = 0; i < N - 1; i++) {
+            scale = Math.max(scale, Math.abs(off[i]));
+        }
+        if (scale == 0.0)
+            scale = 1.0;
+        for (int i = 0; i < N; i++) {
+            this.diag[i] /= scale;
+        }
+        for (int i = 0; i < N - 1; i++) {
+            this.off[i] /= scale;
+        }
+
+        Q.reshape(N, N);
+        Q.zero();
+
+        // Split it in half until every sub-problem is a leaf or can't be split any further
+        numLeaves = 1;
+        while ((N + numLeaves - 1)/numLeaves > leafSize && 2*numLeaves <= N) {
+            numLeaves *= 2;
+        }
+        if (bounds.length < numLeaves + 1)
+            bounds = new int[numLeaves + 1];
+        for (int i = 0; i <= numLeaves; i++) {
+            bounds[i] = (int)((long)i*N/numLeaves);
+        }
+
+        // Tear the matrix apart at each boundary
+        for (int i = 1; i < numLeaves; i++) {
+            int m = bounds[i];
+            double beta = Math.abs(this.off[m - 1]);
+            this.diag[m - 1] -= beta;
+            this.diag[m] -= beta;
+        }
+
+        if (!solveLeaves())
+            return false;
+
+        for (int step = 1; step < numLeaves; step *= 2) {
+            mergeLevel(step);
+        }
+
+        for (int i = 0; i < N; i++) {
+            values[i] *= scale;
+        }
+
+        return true;
+    }
+
+    /**
+     * Solves all the leaves using the QR algorithm
+     */
+    protected boolean solveLeaves() {
+        for (int i = 0; i < numLeaves; i++) {
+            if (!solveLeaf(work, bounds[i], bounds[i + 1]))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Merges adjacent pairs of sub-problems, which are each made up of 'step' leaves
+     */
+    protected void mergeLevel( int step ) {
+        for (int i = 0; i < numLeaves; i += 2*step) {
+            merge(work, bounds[i], bounds[i + step], bounds[i + 2*step]);
+        }
+    }
+
+    /**
+     * Computes the eigen decomposition of the sub-problem from i0 (inclusive) to i1 (exclusive) using the
+     * QR algorithm
+     */
+    protected boolean solveLeaf( Workspace w, int i0, int i1 ) {
+        final int n = i1 - i0;
+        w.resize(n);
+        System.arraycopy(diag, i0, w.leafDiag, 0, n);
+        System.arraycopy(off, i0, w.leafOff, 0, n - 1);
+
+        // The QR algorithm updates the transpose of the eigenvector matrix
+        w.leafQt.reshape(n, n);
+        w.leafQt.zero();
+        for (int i = 0; i < n; i++) {
+            w.leafQt.data[i*n + i] = 1.0;
+        }
+        w.helper.init(w.leafDiag, w.leafOff, n);
+        w.helper.setQ(w.leafQt);
+        w.qr.setFastEigenvalues(false);
+        if (!w.qr.process(-1, null, null))
+            return false;
+
+        final double[] q = Q.data;
+        for (int i = 0; i < n; i++) {
+            values[i0 + i] = w.leafDiag[i];
+            for (int j = 0; j < n; j++) {
+                q[(i0 + j)*N + i0 + i] = w.leafQt.data[i*n + j];
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Merges two adjacent sub-problems, [i0,m) and [m,i1), which have already been solved into a single solution.
+     */
+    protected void merge( Workspace w, final int i0, final int m, final int i1 ) {
+        final int n = i1 - i0;
+        final int n1 = m - i0;
+        final double[] q = Q.data;
+        w.resize(n);
+        final double[] z = w.z;
+        final double[] d = w.d;
+        final int[] type = w.type;
+
+        // The update is rho*z*z', where z = [last row of Q1, sgn(beta)*first row of Q2]/sqrt(2)
+        double beta = off[m - 1];
+        double rho = 2.0*Math.abs(beta);
+        double sign = beta < 0 ? -1.0 : 1.0;
+        double scale = 1.0/Math.sqrt(2.0);
+        for (int j = 0; j < n; j++) {
+            if (j < n1) {
+                z[j] = scale*q[(m - 1)*N + i0 + j];
+                type[j] = 1;
+            } else {
+                z[j] = sign*scale*q[m*N + i0 + j];
+                type[j] = 3;
+            }
+            d[j] = values[i0 + j];
+        }
+
+        double maxD = 0, maxZ = 0;
+        for (int j = 0; j < n; j++) {
+            maxD = Math.max(maxD, Math.abs(d[j]));
+            maxZ = Math.max(maxZ, Math.abs(z[j]));
+        }
+        double tol = 8.0*UtilEjml.EPS*Math.max(maxD, maxZ);
+
+        sortIndexes(d, n, w.order, w.sortWork);
+
+        // Deflate eigenvalues in increasing order. 'keep' is the sorted list of columns which are not deflated.
+        final int[] keep = w.keep;
+        int k = 0;
+        int prev = -1;
+        for (int idx = 0; idx < n; idx++) {
+            int j = w.order[idx];
+            // The update's weight is negligible
+            if (rho*Math.abs(z[j]) <= tol)
+                continue;
+            if (prev == -1) {
+                prev = j;
+                continue;
+            }
+
+            // Two eigenvalues are close. Rotate them so that one of the z is zero and deflate it
+            double tau = Math.sqrt(z[prev]*z[prev] + z[j]*z[j]);
+            double c = z[j]/tau;
+            double s = -z[prev]/tau;
+            double t = d[j] - d[prev];
+            if (Math.abs(t*c*s) <= tol) {
+                z[j] = tau;
+                z[prev] = 0;
+                for (int row = 0; row < n; row++) {
+                    int indexX = (i0 + row)*N + i0 + prev;
+                    int indexY = (i0 + row)*N + i0 + j;
+                    double x = q[indexX], y = q[indexY];
+                    q[indexX] = c*x + s*y;
+                    q[indexY] = c*y - s*x;
+                }
+                double dp = d[prev]*c*c + d[j]*s*s;
+                d[j] = d[prev]*s*s + d[j]*c*c;
+                d[prev] = dp;
+                if (type[prev] != type[j])
+                    type[j] = 2;
+            } else {
+                keep[k++] = prev;
+            }
+            prev = j;
+        }
+        if (prev != -1)
+            keep[k++] = prev;
+
+        // Eigenvalues of deflated columns are the diagonal elements and the eigenvectors are unchanged
+        for (int j = 0; j < n; j++) {
+            values[i0 + j] = d[j];
+        }
+        if (k == 0)
+            return;
+
+        // Solve for the eigenvalues and eigenvectors of the non-deflated diagonal plus rank one matrix
+        for (int i = 0; i < k; i++) {
+            w.dk[i] = d[keep[i]];
+            w.zk[i] = z[keep[i]];
+        }
+        w.secular.process(k, w.dk, w.zk, rho, w.lambda, w.U);
+
+        multiplyEigenvectors(w, i0, n, n1, k);
+
+        for (int i = 0; i < k; i++) {
+            values[i0 + keep[i]] = w.lambda[i];
+        }
+    }
+
+    /**
+     * Multiplies the eigenvectors of the two halves by the eigenvectors of the rank one update and writes the
+     * results into the columns which were not deflated
+     */
+    protected void multiplyEigenvectors( Workspace w, int i0, int n, int n1, int k ) {
+        final double[] q = Q.data;
+        final int[] keep = w.keep;
+        final int[] type = w.type;
+
+        // Group the columns by type. 1 = only the top half is non-zero, 2 = both, 3 = only the bottom
+        int[] group = w.order;
+        int count1 = 0, count3 = 0;
+        for (int t = 1, p = 0; t <= 3; t++) {
+            for (int i = 0; i < k; i++) {
+                if (type[keep[i]] == t)
+                    group[p++] = i;
+            }
+            if (t == 1)
+                count1 = p;
+            else if (t == 2)
+                count3 = k - p;
+        }
+
+        // Copy the grouped columns and the matching rows of U
+        double[] Qg = w.Qg.reshape(n*k).data;
+        double[] Ug = w.Ug.reshape(k*k).data;
+        double[] u = w.U.data;
+        for (int row = 0; row < n; row++) {
+            int indexQ = (i0 + row)*N + i0;
+            int indexG = row*k;
+            for (int p = 0; p < k; p++) {
+                Qg[indexG + p] = q[indexQ + keep[group[p]]];
+            }
+        }
+        for (int p = 0; p < k; p++) {
+            System.arraycopy(u, group[p]*k, Ug, p*k, k);
+        }
+
+        // top = Q1*U(types 1 and 2), bottom = Q2*U(types 2 and 3)
+        double[] out = w.out.reshape(n*k).data;
+        int numTopCols = k - count3;
+        int numBottomCols = k - count1;
+        gemm(w, n1, k, numTopCols, Qg, 0, k, Ug, 0, k, out, 0, k);
+        gemm(w, n - n1, k, numBottomCols, Qg, n1*k + count1, k, Ug, count1*k, k, out, n1*k, k);
+
+        for (int row = 0; row < n; row++) {
+            int indexQ = (i0 + row)*N + i0;
+            int indexO = row*k;
+            for (int p = 0; p < k; p++) {
+                q[indexQ + keep[p]] = out[indexO + p];
+            }
+        }
+    }
+
+    /**
+     * C = A*B, where A is m by k and B is k by n
+     */
+    protected void gemm( Workspace w, int m, int n, int k,
+                         double[] A, int offsetA, int strideA,
+                         double[] B, int offsetB, int strideB,
+                         double[] C, int offsetC, int strideC ) {
+        MatrixMultPacked_DDRM.gemm(m, n, k, 1.0, A, offsetA, strideA, false, B, offsetB, strideB, false,
+                0.0, C, offsetC, strideC, w.workA, w.workB);
+    }
+
+    /**
+     * Sorts the indexes of the first n elements in values in increasing order using merge sort
+     */
+    public static void sortIndexes( double[] values, int n, int[] order, int[] work ) {
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        int[] src = order, dst = work;
+        for (int width = 1; width < n; width *= 2) {
+            for (int start = 0; start < n; start += 2*width) {
+                int mid = Math.min(start + width, n), end = Math.min(start + 2*width, n);
+                int a = start, b = mid, c = start;
+                while (a < mid && b < end) {
+                    dst[c++] = values[src[b]] < values[src[a]] ? src[b++] : src[a++];
+                }
+                while (a < mid) dst[c++] = src[a++];
+                while (b < end) dst[c++] = src[b++];
+            }
+            int[] tmp = src;
+            src = dst;
+            dst = tmp;
+        }
+        if (src != order)
+            System.arraycopy(src, 0, order, 0, n);
+    }
+
+    /**
+     * Computes C = Q<sup>T</sup>*B, which transforms the eigenvectors into the space of the original matrix
+     * when B is the transpose of the tridiagonal similarity transform.
+     *
+     * @param B (Input) Matrix with N rows. Not modified.
+     * @param C (Output) Reshaped.
+     */
+    public void multTransQ( DMatrixRMaj B, DMatrixRMaj C ) {
+        UtilEjml.assertShape(B.numRows, N, "B must have N rows");
+        C.reshape(N, B.numCols);
+        MatrixMultPacked_DDRM.gemm(N, B.numCols, N, 1.0, Q.data, 0, N, true, B.data, 0, B.numCols, false,
+                0.0, C.data, 0, C.numCols, work.workA, work.workB);
+    }
+
+    /**
+     * Returns the eigenvalues. Array can be larger than N.
+     */
+    public double[] getEigenvalues() {
+        return values;
+    }
+
+    /**
+     * Returns the N by N matrix with eigenvectors in its columns
+     */
+    public DMatrixRMaj getQ() {
+        return Q;
+    }
+
+    public int getLeafSize() {
+        return leafSize;
+    }
+
+    /**
+     * Storage used to solve leaves and merge sub-problems
+     */
+    protected static class Workspace {
+        public final SymmetricQREigenHelper_DDRM helper = new SymmetricQREigenHelper_DDRM();
+        public final SymmetricQrAlgorithm_DDRM qr = new SymmetricQrAlgorithm_DDRM(helper);
+        public final SecularEquation_DDRM secular = new SecularEquation_DDRM();
+        public final DMatrixRMaj leafQt = new DMatrixRMaj(1, 1);
+        public final DMatrixRMaj U = new DMatrixRMaj(1, 1);
+        public final DGrowArray Qg = new DGrowArray();
+        public final DGrowArray Ug = new DGrowArray();
+        public final DGrowArray out = new DGrowArray();
+        public final DGrowArray workA = new DGrowArray();
+        public final DGrowArray workB = new DGrowArray();
+
+        public double[] leafDiag = new double[0];
+        public double[] leafOff = new double[0];
+        public double[] z = new double[0];
+        public double[] d = new double[0];
+        public double[] dk = new double[0];
+        public double[] zk = new double[0];
+        public double[] lambda = new double[0];
+        public int[] type = new int[0];
+        public int[] order = new int[0];
+        public int[] sortWork = new int[0];
+        public int[] keep = new int[0];
+
+        public void resize( int n ) {
+            if (z.length >= n)
+                return;
+            leafDiag = new double[n];
+            leafOff = new double[n];
+            z = new double[n];
+            d = new double[n];
+            dk = new double[n];
+            zk = new double[n];
+            lambda = new double[n];
+            type = new int[n];
+            order = new int[n];
+            sortWork = new int[n];
+            keep = new int[n];
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.row.decomposition.eig.symm;
+
+import org.ejml.UtilEjml;
+import org.ejml.concurrency.EjmlConcurrency;
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.mult.MatrixMultPacked_MT_DDRM;
+import pabeles.concurrency.GrowArray;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link SymmetricDivideConquer_DDRM}. The leaves and the merges inside of each
+ * level are independent and are processed in parallel. Near the top of the tree there are fewer merges than
+ * threads, so when a level has a single merge its matrix multiplications are done concurrently instead.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class SymmetricDivideConquer_MT_DDRM extends SymmetricDivideConquer_DDRM {
+    private final GrowArray<Workspace> workspaces = new GrowArray<>(Workspace::new);
+
+    // workspace for concurrent matrix multiplication
+    private final GrowArray<DGrowArray> workA = new GrowArray<>(DGrowArray::new);
+    private final DGrowArray workB = new DGrowArray();
+
+    public SymmetricDivideConquer_MT_DDRM( int leafSize ) {
+        super(leafSize);
+    }
+
+    public SymmetricDivideConquer_MT_DDRM() {}
+
+    @Override
+    protected boolean solveLeaves() {
+        var success = new AtomicBoolean(true);
+        EjmlConcurrency.loopBlocks(0, numLeaves, workspaces, ( w, idx0, idx1 ) -> {
+            for (int i = idx0; i < idx1; i++) {
+                if (!solveLeaf(w, bounds[i], bounds[i + 1]))
+                    success.set(false);
+            }
+        });
+        return success.get();
+    }
+
+    @Override
+    protected void mergeLevel( int step ) {
+        int numMerges = numLeaves/(2*step);
+        if (numMerges == 1) {
+            merge(work, 0, bounds[step], N);
+            return;
+        }
+        EjmlConcurrency.loopBlocks(0, numMerges, workspaces, ( w, idx0, idx1 ) -> {
+            for (int i = idx0; i < idx1; i++) {
+                int leaf = i*2*step;
+                merge(w, bounds[leaf], bounds[leaf + step], bounds[leaf + 2*step]);
+            }
+        });
+    }
+
+    /**
+     * Uses concurrent matrix multiplication for the single threaded workspace and the single threaded
+     * version for the others, since they are already being called in parallel.
+     */
+    @Override
+    protected void gemm( Workspace w, int m, int n, int k,
+                         double[] A, int offsetA, int strideA,
+                         double[] B, int offsetB, int strideB,
+                         double[] C, int offsetC, int strideC ) {
+        if (w != work) {
+            super.gemm(w, m, n, k, A, offsetA, strideA, B, offsetB, strideB, C, offsetC, strideC);
+            return;
+        }
+        MatrixMultPacked_MT_DDRM.gemm(m, n, k, 1.0, A, offsetA, strideA, false, B, offsetB, strideB, false,
+                0.0, C, offsetC, strideC, workA, workB);
+    }
+
+    @Override
+    public void multTransQ( DMatrixRMaj B, DMatrixRMaj C ) {
+        UtilEjml.assertShape(B.numRows, N, "B must have N rows");
+        C.reshape(N, B.numCols);
+        MatrixMultPacked_MT_DDRM.gemm(N, B.numCols, N, 1.0, Q.data, 0, N, true, B.data, 0, B.numCols, false,
+                0.0, C.data, 0, C.numCols, workA, workB);
+    }
+}
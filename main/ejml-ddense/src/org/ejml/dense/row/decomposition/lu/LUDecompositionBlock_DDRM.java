@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.row.decomposition.lu;
+
+import org.ejml.EjmlParameters;
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.mult.MatrixMultPacked_DDRM;
+
+/**
+ * <p>
+ * Right looking blocked LU decomposition with partial pivoting. Columns are processed in panels which are
+ * blockWidth wide. After a panel has been factored the rows of U to its right are found with a triangular
+ * solve and then the trailing submatrix is updated using matrix multiplication:<br>
+ * <br>
+ * A<sub>22</sub> = A<sub>22</sub> - L<sub>21</sub>*U<sub>12</sub><br>
+ * <br>
+ * For large matrices almost all the work is done inside of the matrix multiplication, which is much more cache
+ * friendly than the dot products in {@link LUDecompositionAlt_DDRM}. The results are the same up to rounding.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class LUDecompositionBlock_DDRM extends LUDecompositionBase_DDRM {
+    // width of a panel
+    protected final int blockWidth;
+
+    // workspace for packed matrix multiplication
+    private final DGrowArray workA = new DGrowArray();
+    private final DGrowArray workB = new DGrowArray();
+
+    /**
+     * @param blockWidth Number of columns in each panel.
+     */
+    public LUDecompositionBlock_DDRM( int blockWidth ) {
+        if (blockWidth <= 0)
+            throw new IllegalArgumentException("Block width must be positive");
+        this.blockWidth = blockWidth;
+    }
+
+    public LUDecompositionBlock_DDRM() {
+        this(EjmlParameters.BLOCK_WIDTH_LU);
+    }
+
+    /**
+     * Decomposes the matrix. Just like {@link LUDecompositionAlt_DDRM} it will return true even if the matrix
+     * is singular.
+     *
+     * @param a The matrix that is to be decomposed. Not modified.
+     * @return true If the matrix can be decomposed and false if it can not.
+     */
+    @Override
+    public boolean decompose( DMatrixRMaj a ) {
+        decomposeCommonInit(a);
+
+        int minLength = Math.min(m, n);
+        for (int k = 0; k < minLength; k += blockWidth) {
+            int w = Math.min(blockWidth, minLength - k);
+            int k1 = k + w;
+
+            decomposePanel(k, w);
+
+            // apply the panel's row swaps to the columns outside of it
+            applyPivots(k, w, 0, k);
+            applyPivots(k, w, k1, n);
+
+            if (k1 < n) {
+                // U12 = inv(L11)*A12
+                solveU12(k, w);
+
+                // A22 = A22 - L21*U12
+                if (k1 < m)
+                    updateTrailing(k, w);
+            }
+        }
+        for (int j = minLength; j < n; j++) {
+            indx[j] = j;
+        }
+
+        return true;
+    }
+
+    /**
+     * Unblocked right looking decomposition of the panel which starts at column k and is w columns wide.
+     * Rows are only swapped inside the panel, see {@link #applyPivots}.
+     */
+    protected void decomposePanel( int k, int w ) {
+        final int end = k + w;
+        for (int j = k; j < end; j++) {
+            // Find pivot and exchange if necessary.
+            int p = j;
+            double max = Math.abs(dataLU[j*n + j]);
+            for (int i = j + 1; i < m; i++) {
+                double v = Math.abs(dataLU[i*n + j]);
+                if (v > max) {
+                    p = i;
+                    max = v;
+                }
+            }
+
+            if (p != j) {
+                swapRows(p, j, k, end);
+                int t = pivot[p];
+                pivot[p] = pivot[j];
+                pivot[j] = t;
+                pivsign = -pivsign;
+            }
+            indx[j] = p;
+
+            // Compute multipliers and update the remainder of the panel
+            if (dataLU[j*n + j] != 0)
+                updatePanel(j, end);
+        }
+    }
+
+    /**
+     * Computes the multipliers in column j and applies them to the panel's remaining columns
+     *
+     * @param j The column being eliminated.
+     * @param end Last column in the panel, exclusive.
+     */
+    protected void updatePanel( int j, int end ) {
+        updatePanel(j, end, j + 1, m);
+    }
+
+    /**
+     * Same as {@link #updatePanel(int, int)} but only for rows row0 (inclusive) to row1 (exclusive)
+     */
+    protected void updatePanel( int j, int end, int row0, int row1 ) {
+        int rowJ = j*n;
+        double lujj = dataLU[rowJ + j];
+        for (int i = row0; i < row1; i++) {
+            int rowI = i*n;
+            double lij = dataLU[rowI + j] /= lujj;
+            for (int c = j + 1; c < end; c++) {
+                dataLU[rowI + c] -= lij*dataLU[rowJ + c];
+            }
+        }
+    }
+
+    /**
+     * Swaps the rows selected while decomposing the panel at column k inside of columns col0 (inclusive) to
+     * col1 (exclusive).
+     */
+    protected void applyPivots( int k, int w, int col0, int col1 ) {
+        if (col0 >= col1)
+            return;
+        for (int j = k; j < k + w; j++) {
+            if (indx[j] != j)
+                swapRows(indx[j], j, col0, col1);
+        }
+    }
+
+    private void swapRows( int p, int j, int col0, int col1 ) {
+        int rowP = p*n + col0;
+        int rowJ = j*n + col0;
+        int endP = p*n + col1;
+        for (; rowP < endP; rowP++, rowJ++) {
+            double t = dataLU[rowP];
+            dataLU[rowP] = dataLU[rowJ];
+            dataLU[rowJ] = t;
+        }
+    }
+
+    /**
+     * Solves for the rows in U to the right of the panel.
+     */
+    protected void solveU12( int k, int w ) {
+        solveU12(k, w, k + w, n);
+    }
+
+    /**
+     * Solves for the rows in U to the right of the panel inside of columns col0 (inclusive) to col1 (exclusive).
+     * L<sub>11</sub> is lower triangular with ones along its diagonal.
+     */
+    protected void solveU12( int k, int w, int col0, int col1 ) {
+        for (int i = k + 1; i < k + w; i++) {
+            int rowI = i*n;
+            for (int t = k; t < i; t++) {
+                double lit = dataLU[rowI + t];
+                int rowT = t*n;
+                for (int c = col0; c < col1; c++) {
+                    dataLU[rowI + c] -= lit*dataLU[rowT + c];
+                }
+            }
+        }
+    }
+
+    /**
+     * Subtracts L<sub>21</sub>*U<sub>12</sub> from the trailing submatrix
+     */
+    protected void updateTrailing( int k, int w ) {
+        int k1 = k + w;
+        if (MatrixMultPacked_DDRM.isPreferred(m - k1, n - k1, w)) {
+            MatrixMultPacked_DDRM.gemm(m - k1, n - k1, w, -1.0,
+                    dataLU, k1*n + k, n, false, dataLU, k*n + k1, n, false,
+                    1.0, dataLU, k1*n + k1, n, workA, workB);
+        } else {
+            updateTrailing(k, w, k1, m);
+        }
+    }
+
+    /**
+     * Subtracts L<sub>21</sub>*U<sub>12</sub> from rows row0 (inclusive) to row1 (exclusive) of the trailing
+     * submatrix.
+     */
+    protected void updateTrailing( int k, int w, int row0, int row1 ) {
+        updateTrailing(k, w, row0, row1, k + w, n);
+    }
+
+    /**
+     * Same as {@link #updateTrailing(int, int, int, int)} but only for columns col0 (inclusive) to col1
+     * (exclusive).
+     */
+    protected void updateTrailing( int k, int w, int row0, int row1, int col0, int col1 ) {
+        int k1 = k + w;
+        for (int i = row0; i < row1; i++) {
+            int rowI = i*n;
+            for (int t = k; t < k1; t++) {
+                double lit = dataLU[rowI + t];
+                int rowT = t*n;
+                for (int c = col0; c < col1; c++) {
+                    dataLU[rowI + c] -= lit*dataLU[rowT + c];
+                }
+            }
+        }
+    }
+
+    public int getBlockWidth() {
+        return blockWidth;
+    }
+}
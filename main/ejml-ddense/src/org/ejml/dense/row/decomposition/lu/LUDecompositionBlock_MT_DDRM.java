@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.row.decomposition.lu;
+
+import org.ejml.EjmlParameters;
+import org.ejml.concurrency.EjmlConcurrency;
+import org.ejml.data.DGrowArray;
+import org.ejml.dense.row.mult.MatrixMultPacked_DDRM;
+import org.ejml.dense.row.mult.MatrixMultPacked_MT_DDRM;
+import pabeles.concurrency.GrowArray;
+
+/**
+ * Concurrent implementation of {@link LUDecompositionBlock_DDRM}. The panel, triangular solve, and trailing
+ * update are each split between threads. Pivot selection is done by a single thread.
+ *
+ * @author Peter Abeles
+ */
+public class LUDecompositionBlock_MT_DDRM extends LUDecompositionBlock_DDRM {
+    // Minimum number of elements processed by a thread
+    private static final int MIN_ELEMENTS = 5_000;
+
+    // workspace for packed matrix multiplication
+    private final GrowArray<DGrowArray> workA = new GrowArray<>(DGrowArray::new);
+    private final DGrowArray workB = new DGrowArray();
+
+    public LUDecompositionBlock_MT_DDRM( int blockWidth ) {
+        super(blockWidth);
+    }
+
+    public LUDecompositionBlock_MT_DDRM() {
+        this(EjmlParameters.BLOCK_WIDTH_LU);
+    }
+
+    @Override
+    protected void updatePanel( int j, int end ) {
+        int minBlock = minBlock(end - j);
+        if (m - j - 1 < 2*minBlock) {
+            super.updatePanel(j, end);
+            return;
+        }
+        EjmlConcurrency.loopBlocks(j + 1, m, minBlock, ( row0, row1 ) -> updatePanel(j, end, row0, row1));
+    }
+
+    @Override
+    protected void solveU12( int k, int w ) {
+        int minBlock = minBlock(w*w/2);
+        if (n - k - w < 2*minBlock) {
+            super.solveU12(k, w);
+            return;
+        }
+        EjmlConcurrency.loopBlocks(k + w, n, minBlock, ( col0, col1 ) -> solveU12(k, w, col0, col1));
+    }
+
+    @Override
+    protected void updateTrailing( int k, int w ) {
+        int k1 = k + w;
+        if (MatrixMultPacked_DDRM.isPreferred(m - k1, n - k1, w)) {
+            MatrixMultPacked_MT_DDRM.gemm(m - k1, n - k1, w, -1.0,
+                    dataLU, k1*n + k, n, false, dataLU, k*n + k1, n, false,
+                    1.0, dataLU, k1*n + k1, n, workA, workB);
+        } else {
+            EjmlConcurrency.loopBlocks(k1, m, minBlock(w*(n - k1)),
+                    ( row0, row1 ) -> updateTrailing(k, w, row0, row1));
+        }
+    }
+
+    /**
+     * Number of rows or columns a thread should process when each one costs this many operations
+     */
+    private static int minBlock( int opsPerLine ) {
+        return Math.max(1, MIN_ELEMENTS/Math.max(1, opsPerLine));
+    }
+}
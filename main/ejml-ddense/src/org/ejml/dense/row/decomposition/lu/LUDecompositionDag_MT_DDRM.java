@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.row.decomposition.lu;
+
+import org.ejml.EjmlParameters;
+import org.ejml.concurrency.TaskGraph;
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.mult.MatrixMultPacked_DDRM;
+
+/**
+ * <p>
+ * Concurrent version of {@link LUDecompositionBlock_DDRM} where the work is broken up into tasks in a
+ * {@link TaskGraph}. The matrix is split into column blocks which are blockWidth wide. For each panel
+ * there is a task which decomposes it and one task for each column block j to its right which computes:
+ * </p>
+ * <pre>
+ * A(:,j) = P*A(:,j)
+ * U(k,j) = L(k,k)<sup>-1</sup>*A(k,j)
+ * A(k+1:m,j) = A(k+1:m,j) - L(k+1:m,k)*U(k,j)
+ * </pre>
+ * <p>
+ * A panel can be decomposed as soon as the previous updates to its columns are done, so the decomposition of
+ * the next panel overlaps with the update of the rest of the matrix. Row swaps to the left of the panel are
+ * applied by low priority tasks.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class LUDecompositionDag_MT_DDRM extends LUDecompositionBlock_DDRM {
+    private final TaskGraph graph = new TaskGraph();
+
+    // workspace for packed matrix multiplication
+    private final ThreadLocal<DGrowArray> workA = ThreadLocal.withInitial(DGrowArray::new);
+    private final ThreadLocal<DGrowArray> workB = ThreadLocal.withInitial(DGrowArray::new);
+
+    public LUDecompositionDag_MT_DDRM( int blockWidth ) {
+        super(blockWidth);
+    }
+
+    public LUDecompositionDag_MT_DDRM() {
+        this(EjmlParameters.BLOCK_WIDTH_LU);
+    }
+
+    @Override
+    public boolean decompose( DMatrixRMaj a ) {
+        decomposeCommonInit(a);
+
+        // Column blocks. Panels are aligned with the first ones
+        int minLength = Math.min(m, n);
+        int numPanels = (minLength + blockWidth - 1)/blockWidth;
+        int numBlocks = numPanels + (n - minLength + blockWidth - 1)/blockWidth;
+        int[] blockCol0 = new int[numBlocks + 1];
+        for (int j = 0; j < numBlocks; j++) {
+            blockCol0[j] = j < numPanels ? j*blockWidth : minLength + (j - numPanels)*blockWidth;
+        }
+        blockCol0[numBlocks] = n;
+
+        for (int p = 0; p < numPanels; p++) {
+            int k = blockCol0[p];
+            int w = blockCol0[p + 1] - k;
+
+            graph.add(() -> decomposePanel(k, w)).write(p).priority(numBlocks - p);
+
+            for (int j = 0; j < p; j++) {
+                int col0 = blockCol0[j], col1 = blockCol0[j + 1];
+                graph.add(() -> applyPivots(k, w, col0, col1)).read(p).write(j);
+            }
+
+            for (int j = p + 1; j < numBlocks; j++) {
+                int col0 = blockCol0[j], col1 = blockCol0[j + 1];
+                graph.add(() -> updateColumns(k, w, col0, col1)).read(p).write(j).priority(numBlocks - j);
+            }
+        }
+        graph.execute();
+
+        for (int j = minLength; j < n; j++) {
+            indx[j] = j;
+        }
+
+        return true;
+    }
+
+    /**
+     * Applies the row swaps, triangular solve, and trailing update from the panel at column k to columns col0
+     * (inclusive) to col1 (exclusive)
+     */
+    private void updateColumns( int k, int w, int col0, int col1 ) {
+        applyPivots(k, w, col0, col1);
+        solveU12(k, w, col0, col1);
+
+        int k1 = k + w;
+        if (k1 >= m)
+            return;
+
+        if (MatrixMultPacked_DDRM.isPreferred(m - k1, col1 - col0, w)) {
+            MatrixMultPacked_DDRM.gemm(m - k1, col1 - col0, w, -1.0,
+                    dataLU, k1*n + k, n, false, dataLU, k*n + col0, n, false,
+                    1.0, dataLU, k1*n + col0, n, workA.get(), workB.get());
+        } else {
+            updateTrailing(k, w, k1, m, col0, col1);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.row.decomposition.svd;
+
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.decomposition.svd.divideconquer.SvdDivideConquer_DDRM;
+
+/**
+ * <p>
+ * Computes the singular value decomposition by reducing the matrix to bidiagonal form, like
+ * {@link SvdImplicitQrDecompose_DDRM}, then computing the SVD of the bidiagonal matrix using
+ * {@link SvdDivideConquer_DDRM divide and conquer}. The singular vectors are found with matrix multiplications
+ * instead of by applying each Givens rotation from the QR algorithm one at a time, which is much faster for large
+ * matrices. If neither U or V is requested then the QR algorithm is used since it computes just the singular
+ * values faster.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings("NullAway.Init")
+public class SvdDivideConquerDecompose_DDRM extends SvdImplicitQrDecompose_DDRM {
+    // Computes the SVD of the bidiagonal matrix
+    protected final SvdDivideConquer_DDRM divideConquer;
+
+    // true if divide and conquer was used in the most recent decomposition
+    protected boolean usedDivideConquer;
+
+    // Storage for the singular vectors before and after they are transformed
+    private final DMatrixRMaj workB = new DMatrixRMaj(1, 1);
+    private final DMatrixRMaj workC = new DMatrixRMaj(1, 1);
+
+    /**
+     * Configures the class
+     *
+     * @param compact Compute a compact SVD
+     * @param computeU If true it will compute the U matrix
+     * @param computeV If true it will compute the V matrix
+     * @param canUseTallBidiagonal If true then it can choose to use a tall Bidiagonal decomposition to improve runtime performance.
+     * @param divideConquer Algorithm used to compute the SVD of the bidiagonal matrix
+     */
+    public SvdDivideConquerDecompose_DDRM( boolean compact, boolean computeU, boolean computeV,
+                                           boolean canUseTallBidiagonal, SvdDivideConquer_DDRM divideConquer ) {
+        super(compact, computeU, computeV, canUseTallBidiagonal);
+        this.divideConquer = divideConquer;
+    }
+
+    public SvdDivideConquerDecompose_DDRM( boolean compact, boolean computeU, boolean computeV ) {
+        this(compact, computeU, computeV, false, new SvdDivideConquer_DDRM());
+    }
+
+    @Override
+    protected boolean computeUWV() {
+        usedDivideConquer = computeU || computeV;
+        if (!usedDivideConquer)
+            return super.computeUWV();
+
+        bidiag.getDiagonal(diag, off);
+        if (!divideConquer.process(numColsT, diag, off))
+            return true;
+
+        // The singular vectors are the product of the ones from the bidiagonal decomposition and the bidiagonal SVD
+        if (computeU) {
+            Ut = bidiag.getU(Ut, true, compact);
+            multTransFirstRows(true, Ut);
+        }
+        if (computeV) {
+            Vt = bidiag.getV(Vt, true, compact);
+            multTransFirstRows(false, Vt);
+        }
+
+        return false;
+    }
+
+    /**
+     * Multiplies the first N rows of Qt by the transpose of U or V from the bidiagonal SVD. The remaining rows
+     * are only present in a full SVD and are not changed.
+     */
+    private void multTransFirstRows( boolean left, DMatrixRMaj Qt ) {
+        int length = numColsT*Qt.numCols;
+        workB.reshape(numColsT, Qt.numCols);
+        System.arraycopy(Qt.data, 0, workB.data, 0, length);
+        if (left)
+            divideConquer.multTransU(workB, workC);
+        else
+            divideConquer.multTransV(workB, workC);
+        System.arraycopy(workC.data, 0, Qt.data, 0, length);
+    }
+
+    /**
+     * Singular values from divide and conquer are already positive
+     */
+    @Override
+    protected void makeSingularPositive() {
+        if (!usedDivideConquer) {
+            super.makeSingularPositive();
+            return;
+        }
+        numSingular = numColsT;
+        singularValues = divideConquer.getSingularValues();
+    }
+
+    public SvdDivideConquer_DDRM getDivideConquer() {
+        return divideConquer;
+    }
+}
@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.row.decomposition.svd;
+
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.Matrix;
+import org.ejml.dense.row.CommonOps_DDRM;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.ejml.dense.row.decomposition.qr.QRDecompositionHouseholderColumn_DDRM;
+import org.ejml.interfaces.decomposition.QRDecomposition;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * <p>
+ * Randomized truncated singular value decomposition. Only the 'rank' largest singular values and vectors are
+ * computed. A random projection Y = A*&Omega; is used to find an orthonormal basis Q which approximately spans the
+ * range of A. The projection is refined using power iterations, Y = (A*A<sup>T</sup>)<sup>q</sup>*A*&Omega;, which
+ * is needed when the singular values decay slowly. The SVD of the small matrix B = Q<sup>T</sup>*A is then found
+ * and converted into the SVD of A. B is computed as B<sup>T</sup> = A<sup>T</sup>*Q and reduced with QR so that
+ * the dense SVD is only of a square matrix with 'rank + oversampling' columns. Time and memory scale with the
+ * requested rank instead of the size of A.
+ * </p>
+ *
+ * <p>
+ * A is only accessed through multiplication, which is implemented by children for each matrix type. The results
+ * are always dense and compact.
+ * </p>
+ *
+ * <p>
+ * Halko, Nathan, Per-Gunnar Martinsson, and Joel A. Tropp. "Finding structure with randomness: Probabilistic
+ * algorithms for constructing approximate matrix decompositions." SIAM review 53.2 (2011): 217-288.
+ * Algorithms 4.4 and 5.1
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings("NullAway.Init")
+public abstract class SvdRandomizedCommon_DDRM<T extends Matrix> {
+    // Number of singular values requested
+    protected int rank;
+    // Number of extra samples used to improve the estimate of the range
+    protected int oversampling;
+    // Number of power iterations
+    protected int powerIterations;
+
+    protected boolean computeU;
+    protected boolean computeV;
+
+    protected Random rand = new Random(234);
+
+    protected int numRows;
+    protected int numCols;
+    // Number of singular values found
+    protected int numSingular;
+
+    protected QRDecomposition<DMatrixRMaj> qr;
+    protected SvdImplicitQrDecompose_DDRM svd;
+
+    // Random sampling matrix
+    protected DMatrixRMaj Omega = new DMatrixRMaj(1, 1);
+    // Sampled range of A and its orthonormal basis
+    protected DMatrixRMaj Y = new DMatrixRMaj(1, 1);
+    protected DMatrixRMaj Q = new DMatrixRMaj(1, 1);
+    // Sampled range of A^T and its orthonormal basis
+    protected DMatrixRMaj Z = new DMatrixRMaj(1, 1);
+    protected DMatrixRMaj Q2 = new DMatrixRMaj(1, 1);
+    protected DMatrixRMaj R = new DMatrixRMaj(1, 1);
+
+    // Singular vectors of R and the subset which is kept
+    protected DMatrixRMaj Ur = new DMatrixRMaj(1, 1);
+    protected DMatrixRMaj Vr = new DMatrixRMaj(1, 1);
+    protected DMatrixRMaj selected = new DMatrixRMaj(1, 1);
+
+    protected DMatrixRMaj U = new DMatrixRMaj(1, 1);
+    protected DMatrixRMaj V = new DMatrixRMaj(1, 1);
+    protected double[] singularValues = new double[0];
+    protected Integer[] order = new Integer[0];
+
+    /**
+     * @param rank Number of singular values that are computed
+     * @param oversampling Extra samples used to estimate the range of A. 5 to 10 is typical.
+     * @param powerIterations Number of power iterations. Increase when singular values decay slowly. 1 to 3 is typical.
+     * @param computeU If true it will compute the U matrix
+     * @param computeV If true it will compute the V matrix
+     */
+    protected SvdRandomizedCommon_DDRM( int rank, int oversampling, int powerIterations,
+                                        boolean computeU, boolean computeV ) {
+        if (rank <= 0)
+            throw new IllegalArgumentException("Rank must be at least one");
+        if (oversampling < 0 || powerIterations < 0)
+            throw new IllegalArgumentException("Oversampling and power iterations can't be negative");
+        this.rank = rank;
+        this.oversampling = oversampling;
+        this.powerIterations = powerIterations;
+        this.computeU = computeU;
+        this.computeV = computeV;
+        this.qr = createQR();
+        this.svd = new SvdImplicitQrDecompose_DDRM(true, computeV, computeU, false);
+    }
+
+    /**
+     * Y = A*X
+     */
+    protected abstract void multA( T A, DMatrixRMaj X, DMatrixRMaj Y );
+
+    /**
+     * Y = A<sup>T</sup>*X
+     */
+    protected abstract void multTransA( T A, DMatrixRMaj X, DMatrixRMaj Y );
+
+    /**
+     * C = A*B for the small dense matrices
+     */
+    protected void mult( DMatrixRMaj A, DMatrixRMaj B, DMatrixRMaj C ) {
+        CommonOps_DDRM.mult(A, B, C);
+    }
+
+    protected QRDecomposition<DMatrixRMaj> createQR() {
+        return new QRDecompositionHouseholderColumn_DDRM();
+    }
+
+    public boolean decompose( T A ) {
+        numRows = A.getNumRows();
+        numCols = A.getNumCols();
+        int minLength = Math.min(numRows, numCols);
+        numSingular = Math.min(rank, minLength);
+        int samples = Math.min(numSingular + oversampling, minLength);
+
+        if (minLength == 0)
+            return false;
+
+        Omega.reshape(numCols, samples);
+        RandomMatrices_DDRM.fillGaussian(Omega, 0.0, 1.0, rand);
+
+        // Find an orthonormal basis for the range of A
+        multA(A, Omega, Y);
+        orthonormalize(Y, Q);
+        for (int iter = 0; iter < powerIterations; iter++) {
+            multTransA(A, Q, Z);
+            orthonormalize(Z, Q2);
+            multA(A, Q2, Y);
+            orthonormalize(Y, Q);
+        }
+
+        // B^T = A^T*Q = Q2*R, then B = R^T*Q2^T
+        multTransA(A, Q, Z);
+        qr.decompose(Z);
+        qr.getQ(Q2, true);
+        qr.getR(R, true);
+
+        // R = Ur*W*Vr^T, so A = Q*B = (Q*Vr)*W*(Q2*Ur)^T
+        if (!svd.decompose(R))
+            return false;
+
+        // Sort the singular values and keep the largest
+        double[] found = svd.getSingularValues();
+        if (order.length < samples)
+            order = new Integer[samples];
+        for (int i = 0; i < samples; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, 0, samples, ( a, b ) -> Double.compare(found[b], found[a]));
+
+        singularValues = new double[numSingular];
+        for (int i = 0; i < numSingular; i++) {
+            singularValues[i] = found[order[i]];
+        }
+
+        if (computeU) {
+            selectColumns(svd.getV(Vr, false), selected);
+            mult(Q, selected, U);
+        }
+        if (computeV) {
+            selectColumns(svd.getU(Ur, false), selected);
+            mult(Q2, selected, V);
+        }
+
+        return true;
+    }
+
+    /**
+     * Computes an orthonormal basis for the columns in Y using QR
+     */
+    protected void orthonormalize( DMatrixRMaj Y, DMatrixRMaj Q ) {
+        // If Y is rank deficient QR will report a failure but Q is still orthonormal, so it's ignored
+        qr.decompose(Y);
+        qr.getQ(Q, true);
+    }
+
+    /**
+     * Copies the columns which correspond to the largest singular values
+     */
+    private void selectColumns( DMatrixRMaj src, DMatrixRMaj dst ) {
+        dst.reshape(src.numRows, numSingular);
+        for (int row = 0; row < src.numRows; row++) {
+            for (int i = 0; i < numSingular; i++) {
+                dst.unsafe_set(row, i, src.unsafe_get(row, order[i]));
+            }
+        }
+    }
+
+    public double[] getSingularValues() {
+        return singularValues;
+    }
+
+    /**
+     * Number of singular values which were computed. This is the requested rank, unless the matrix is smaller.
+     */
+    public int numberOfSingularValues() {
+        return numSingular;
+    }
+
+    /**
+     * Always true since only the requested rank is computed
+     */
+    public boolean isCompact() {
+        return true;
+    }
+
+    public DMatrixRMaj getU( @Nullable DMatrixRMaj U, boolean transposed ) {
+        if (!computeU)
+            throw new IllegalArgumentException("As requested U was not computed.");
+        return copy(this.U, U, transposed);
+    }
+
+    public DMatrixRMaj getV( @Nullable DMatrixRMaj V, boolean transposed ) {
+        if (!computeV)
+            throw new IllegalArgumentException("As requested V was not computed.");
+        return copy(this.V, V, transposed);
+    }
+
+    private static DMatrixRMaj copy( DMatrixRMaj src, @Nullable DMatrixRMaj dst, boolean transposed ) {
+        if (transposed) {
+            dst = UtilEjml.reshapeOrDeclare(dst, src.numCols, src.numRows);
+            CommonOps_DDRM.transpose(src, dst);
+        } else if (dst == null) {
+            return src;
+        } else {
+            dst.setTo(src);
+        }
+        return dst;
+    }
+
+    /**
+     * Diagonal matrix with the singular values in descending order
+     */
+    public DMatrixRMaj getW( @Nullable DMatrixRMaj W ) {
+        W = UtilEjml.reshapeOrDeclare(W, numSingular, numSingular);
+        W.zero();
+        for (int i = 0; i < numSingular; i++) {
+            W.unsafe_set(i, i, singularValues[i]);
+        }
+        return W;
+    }
+
+    public int numRows() {
+        return numRows;
+    }
+
+    public int numCols() {
+        return numCols;
+    }
+
+    public boolean inputModified() {
+        return false;
+    }
+
+    public int getRank() {
+        return rank;
+    }
+
+    public int getOversampling() {
+        return oversampling;
+    }
+
+    public int getPowerIterations() {
+        return powerIterations;
+    }
+
+    public void setRandom( Random rand ) {
+        this.rand = rand;
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.row.decomposition.svd;
+
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.CommonOps_DDRM;
+import org.ejml.interfaces.decomposition.SingularValueDecomposition_F64;
+
+/**
+ * Randomized truncated SVD for dense matrices. See {@link SvdRandomizedCommon_DDRM}.
+ *
+ * @author Peter Abeles
+ */
+public class SvdRandomized_DDRM extends SvdRandomizedCommon_DDRM<DMatrixRMaj>
+        implements SingularValueDecomposition_F64<DMatrixRMaj> {
+
+    public SvdRandomized_DDRM( int rank, int oversampling, int powerIterations,
+                               boolean computeU, boolean computeV ) {
+        super(rank, oversampling, powerIterations, computeU, computeV);
+    }
+
+    @Override
+    protected void multA( DMatrixRMaj A, DMatrixRMaj X, DMatrixRMaj Y ) {
+        CommonOps_DDRM.mult(A, X, Y);
+    }
+
+    @Override
+    protected void multTransA( DMatrixRMaj A, DMatrixRMaj X, DMatrixRMaj Y ) {
+        CommonOps_DDRM.multTransA(A, X, Y);
+    }
+}
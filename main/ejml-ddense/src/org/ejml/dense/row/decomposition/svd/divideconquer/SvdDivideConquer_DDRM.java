@@ -0,0 +1,644 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.row.decomposition.svd.divideconquer;
+
+import org.ejml.UtilEjml;
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.decomposition.eig.symm.SecularEquation_DDRM;
+import org.ejml.dense.row.decomposition.eig.symm.SymmetricDivideConquer_DDRM;
+import org.ejml.dense.row.decomposition.svd.implicitqr.SvdImplicitQrAlgorithm_DDRM;
+import org.ejml.dense.row.mult.MatrixMultPacked_DDRM;
+
+/**
+ * <p>
+ * Computes the singular value decomposition of a square upper bidiagonal matrix, B = U*&Sigma;*V<sup>T</sup>, using
+ * divide and conquer. The matrix is split at row k into an upper and lower part, which are each upper bidiagonal
+ * but the upper part has one more column than rows:
+ * </p>
+ * <pre>
+ *     [ B<sub>1</sub>              0 ]
+ * B = [ &alpha;e<sub>k</sub><sup>T</sup>  &beta;e<sub>1</sub><sup>T</sup> ]
+ *     [ 0              B<sub>2</sub> ]
+ * </pre>
+ * <p>
+ * This is done recursively until the sub-problems are small enough to be solved with the
+ * {@link SvdImplicitQrAlgorithm_DDRM implicit QR algorithm}. Given the SVD of the two parts, the SVD of B reduces
+ * to the SVD of a matrix which is zero except for its diagonal and the row which was removed, which is solved
+ * using a {@link SecularEquation_DDRM secular equation}. Singular values which are not changed by the merge, because
+ * the row's weight is negligible or two singular values are almost identical, are deflated first. The singular
+ * vectors are then updated with {@link MatrixMultPacked_DDRM matrix multiplication} instead of one Givens rotation
+ * at a time, with the columns grouped by which part they have non-zero elements in so that known zeros are skipped.
+ * </p>
+ *
+ * <p>
+ * Sub-problems are merged bottom up, level by level, so that independent merges can be
+ * {@link SvdDivideConquer_MT_DDRM processed concurrently}. The singular values are not sorted.
+ * </p>
+ *
+ * <p>
+ * Gu and Eisenstat, "A Divide-and-Conquer Algorithm for the Bidiagonal SVD", SIAM J. Matrix Anal. Appl. 1995<br>
+ * LAPACK routines DBDSDC, DLASD0, DLASD1, DLASD2, and DLASD3
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class SvdDivideConquer_DDRM {
+    // Sub-problems which are this size or smaller are solved using the QR algorithm
+    protected final int leafSize;
+
+    // size of the matrix being decomposed
+    protected int N;
+    // copy of the bidiagonal matrix after it has been scaled
+    protected double[] diag = new double[0];
+    protected double[] off = new double[0];
+
+    // singular values and the singular vectors, which are stored in the columns
+    protected double[] values = new double[0];
+    protected final DMatrixRMaj U = new DMatrixRMaj(1, 1);
+    protected final DMatrixRMaj V = new DMatrixRMaj(1, 1);
+
+    // Tree of sub-problems in breadth first order. Each is made up of rows row0 (inclusive) to row1 (exclusive)
+    // and has one more column than rows if 'extra' is 1. Non-leaves are split at row 'split'
+    protected int[] nodeRow0 = new int[0];
+    protected int[] nodeRow1 = new int[0];
+    protected int[] nodeExtra = new int[0];
+    protected int[] nodeSplit = new int[0];
+    protected int numNodes;
+
+    // Nodes which are leaves
+    protected int[] leaves = new int[0];
+    protected int numLeaves;
+
+    // Nodes which are merged, grouped by depth. Level i is from mergeLevels[i] to mergeLevels[i+1]
+    protected int[] merges = new int[0];
+    protected int[] mergeLevels = new int[0];
+    protected int numLevels;
+
+    // Storage used by a single thread
+    protected final Workspace work = new Workspace();
+
+    /**
+     * @param leafSize Sub-problems which are this size or smaller are solved using the QR algorithm. Try 32.
+     */
+    public SvdDivideConquer_DDRM( int leafSize ) {
+        if (leafSize < 1)
+            throw new IllegalArgumentException("Leaf size must be at least 1");
+        this.leafSize = leafSize;
+    }
+
+    public SvdDivideConquer_DDRM() {
+        this(32);
+    }
+
+    /**
+     * Computes the SVD of the square upper bidiagonal matrix
+     *
+     * @param N Number of rows and columns in the matrix
+     * @param diag (Input) Diagonal elements. Not modified.
+     * @param off (Input) Elements above the diagonal. Not modified.
+     * @return true if it was successful
+     */
+    public boolean process( int N, double[] diag, double[] off ) {
+        this.N = N;
+        if (this.diag.length < N) {
+            this.diag = new double[N];
+            this.off = new double[N];
+            this.values = new double[N];
+        }
+        System.arraycopy(diag, 0, this.diag, 0, N);
+        System.arraycopy(off, 0, this.off, 0, N - 1);
+
+        // Scale the matrix so that the largest element is one, which deflation tolerances assume
+        double scale = 0;
+        for (int i = 0; i < N; i++) {
+            scale = Math.max(scale, Math.abs(diag[i]));
+        }
+        for (int i = 0; i < N - 1; i++) {
+            scale = Math.max(scale, Math.abs(off[i]));
+        }
+        if (scale == 0.0)
+            scale = 1.0;
+        for (int i = 0; i < N; i++) {
+            this.diag[i] /= scale;
+        }
+        for (int i = 0; i < N - 1; i++) {
+            this.off[i] /= scale;
+        }
+
+        U.reshape(N, N);
+        U.zero();
+        V.reshape(N, N);
+        V.zero();
+
+        createTree();
+
+        if (!solveLeaves())
+            return false;
+
+        for (int level = numLevels - 1; level >= 0; level--) {
+            mergeLevel(level);
+        }
+
+        for (int i = 0; i < N; i++) {
+            values[i] *= scale;
+        }
+
+        return true;
+    }
+
+    /**
+     * Splits the matrix in half until every sub-problem is a leaf or can't be split any further
+     */
+    protected void createTree() {
+        if (nodeRow0.length < 2*N + 1) {
+            nodeRow0 = new int[2*N + 1];
+            nodeRow1 = new int[2*N + 1];
+            nodeExtra = new int[2*N + 1];
+            nodeSplit = new int[2*N + 1];
+            leaves = new int[N];
+            merges = new int[N];
+            mergeLevels = new int[N + 2];
+        }
+
+        numNodes = numLeaves = numLevels = 0;
+        int numMerges = 0;
+        addNode(0, N, 0);
+        int levelStart = 0;
+        while (levelStart < numNodes) {
+            int levelEnd = numNodes;
+            mergeLevels[numLevels++] = numMerges;
+            for (int node = levelStart; node < levelEnd; node++) {
+                int row0 = nodeRow0[node], row1 = nodeRow1[node];
+                int n = row1 - row0;
+                if (n <= leafSize || n < 3) {
+                    nodeSplit[node] = -1;
+                    leaves[numLeaves++] = node;
+                    continue;
+                }
+                int k = row0 + n/2;
+                nodeSplit[node] = k;
+                merges[numMerges++] = node;
+                addNode(row0, k, 1);
+                addNode(k + 1, row1, nodeExtra[node]);
+            }
+            levelStart = levelEnd;
+        }
+        mergeLevels[numLevels] = numMerges;
+    }
+
+    private void addNode( int row0, int row1, int extra ) {
+        nodeRow0[numNodes] = row0;
+        nodeRow1[numNodes] = row1;
+        nodeExtra[numNodes] = extra;
+        numNodes++;
+    }
+
+    /**
+     * Solves all the leaves using the QR algorithm
+     */
+    protected boolean solveLeaves() {
+        for (int i = 0; i < numLeaves; i++) {
+            if (!solveLeaf(work, leaves[i]))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Merges all the sub-problems at the specified depth in the tree
+     */
+    protected void mergeLevel( int level ) {
+        for (int i = mergeLevels[level]; i < mergeLevels[level + 1]; i++) {
+            merge(work, merges[i]);
+        }
+    }
+
+    /**
+     * Computes the SVD of a leaf using the QR algorithm
+     */
+    protected boolean solveLeaf( Workspace w, int node ) {
+        final int row0 = nodeRow0[node], row1 = nodeRow1[node], extra = nodeExtra[node];
+        final int n = row1 - row0;
+        final int m = n + extra;
+        w.resize(m);
+        final double[] d = w.leafDiag;
+        final double[] e = w.leafOff;
+        System.arraycopy(diag, row0, d, 0, n);
+        System.arraycopy(off, row0, e, 0, m - 1);
+
+        // The QR algorithm updates the transpose of the singular vectors
+        setIdentity(w.leafUt, n);
+        setIdentity(w.leafVt, m);
+        final double[] vt = w.leafVt.data;
+
+        // Make it square by rotating the columns so that the extra column becomes zero. This is done from the
+        // bottom up with each rotation creating a bulge in the column one row up
+        if (extra == 1) {
+            double bulge = e[n - 1];
+            for (int i = n - 1; i >= 0; i--) {
+                double r = Math.sqrt(d[i]*d[i] + bulge*bulge);
+                if (r == 0.0)
+                    continue;
+                double c = d[i]/r;
+                double s = bulge/r;
+                d[i] = r;
+                int indexA = i*m, indexB = n*m;
+                for (int col = 0; col < m; col++, indexA++, indexB++) {
+                    double a = vt[indexA], b = vt[indexB];
+                    vt[indexA] = c*a + s*b;
+                    vt[indexB] = c*b - s*a;
+                }
+                if (i > 0) {
+                    bulge = -s*e[i - 1];
+                    e[i - 1] *= c;
+                }
+            }
+        }
+
+        w.qr.setMatrix(n, n, d, e);
+        w.qr.setUt(w.leafUt);
+        w.qr.setVt(w.leafVt);
+        w.qr.setFastValues(false);
+        if (!w.qr.process())
+            return false;
+
+        // Copy the results and make the singular values positive
+        final double[] ut = w.leafUt.data;
+        final double[] u = U.data;
+        final double[] v = V.data;
+        for (int i = 0; i < n; i++) {
+            double value = w.qr.getSingularValue(i);
+            double sign = value < 0 ? -1.0 : 1.0;
+            values[row0 + i] = sign*value;
+            for (int j = 0; j < n; j++) {
+                u[(row0 + j)*N + row0 + i] = sign*ut[i*n + j];
+            }
+        }
+        // The last row in Vt is the null vector when there's an extra column
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < m; j++) {
+                v[(row0 + j)*N + row0 + i] = vt[i*m + j];
+            }
+        }
+        return true;
+    }
+
+    private static void setIdentity( DMatrixRMaj A, int n ) {
+        A.reshape(n, n);
+        A.zero();
+        for (int i = 0; i < n; i++) {
+            A.data[i*n + i] = 1.0;
+        }
+    }
+
+    /**
+     * Merges the two children of a node which have already been solved. The singular vectors of the upper part
+     * are in columns row0 to k, with the null vector in column k, and for the lower part they are in columns
+     * k+1 to row1, with the null vector in column row1 if there's an extra column.
+     */
+    protected void merge( Workspace w, int node ) {
+        final int row0 = nodeRow0[node], row1 = nodeRow1[node], extra = nodeExtra[node];
+        final int k = nodeSplit[node];
+        final int n = row1 - row0;
+        final int m = n + extra;
+        // index of the row which was removed, which is where the merged problem's zero singular value is
+        final int zero = k - row0;
+        final double[] u = U.data;
+        final double[] v = V.data;
+        w.resize(m);
+        final double[] z = w.z;
+        final double[] d = w.d;
+        final int[] typeU = w.typeU;
+        final int[] typeV = w.typeV;
+
+        // The merged problem is a diagonal matrix where the removed row is B's k-th row times V
+        double alpha = diag[k];
+        double beta = off[k];
+        for (int j = 0; j < n; j++) {
+            if (j <= zero) {
+                z[j] = alpha*v[k*N + row0 + j];
+                typeU[j] = typeV[j] = 1;
+            } else {
+                z[j] = beta*v[(k + 1)*N + row0 + j];
+                typeU[j] = typeV[j] = 3;
+            }
+            d[j] = values[row0 + j];
+        }
+        d[zero] = 0;
+        u[k*N + k] = 1.0;
+
+        // Combine the two null vectors so that only one of them is multiplied by the removed row
+        if (extra == 1) {
+            double zb = beta*v[(k + 1)*N + row1];
+            double r = Math.sqrt(z[zero]*z[zero] + zb*zb);
+            if (r != 0.0) {
+                rotateColumns(v, row0, m, k, row1, z[zero]/r, zb/r);
+                z[zero] = r;
+                typeV[zero] = 2;
+            }
+        }
+
+        // Flip the null vector's sign if needed so that deflating small singular values keeps them positive
+        if (z[zero] < 0) {
+            z[zero] = -z[zero];
+            for (int row = row0; row < row0 + m; row++) {
+                v[row*N + k] = -v[row*N + k];
+            }
+        }
+
+        double maxD = 0, maxZ = 0;
+        for (int j = 0; j < n; j++) {
+            maxD = Math.max(maxD, d[j]);
+            maxZ = Math.max(maxZ, Math.abs(z[j]));
+        }
+        double tol = 8.0*UtilEjml.EPS*Math.max(maxD, maxZ);
+        if (Math.abs(z[zero]) <= tol)
+            z[zero] = tol;
+
+        // The zero singular value must come first
+        d[zero] = -1;
+        SymmetricDivideConquer_DDRM.sortIndexes(d, n, w.order, w.sortWork);
+        d[zero] = 0;
+
+        // Deflate singular values in increasing order. 'keep' is the sorted list of columns which are not deflated
+        final int[] keep = w.keep;
+        int numKeep = 0;
+        keep[numKeep++] = zero;
+        int prev = -1;
+        for (int idx = 1; idx < n; idx++) {
+            int j = w.order[idx];
+            // The removed row's weight is negligible
+            if (Math.abs(z[j]) <= tol)
+                continue;
+
+            // The singular value is almost zero. Rotate the right singular vectors so that the removed row is
+            // zero here and deflate it
+            if (d[j] <= tol) {
+                double r = Math.sqrt(z[zero]*z[zero] + z[j]*z[j]);
+                double c = z[zero]/r;
+                double s = z[j]/r;
+                rotateColumns(v, row0, m, row0 + zero, row0 + j, c, s);
+                z[zero] = r;
+                d[j] *= c;
+                if (typeV[zero] != typeV[j])
+                    typeV[zero] = 2;
+                continue;
+            }
+
+            if (prev == -1) {
+                prev = j;
+                continue;
+            }
+
+            // Two singular values are close. Rotate them so that one of the z is zero and deflate it
+            double tau = Math.sqrt(z[prev]*z[prev] + z[j]*z[j]);
+            double c = z[j]/tau;
+            double s = -z[prev]/tau;
+            double t = d[j] - d[prev];
+            if (Math.abs(t*c*s) <= tol) {
+                z[j] = tau;
+                z[prev] = 0;
+                rotateColumns(u, row0, n, row0 + prev, row0 + j, c, s);
+                rotateColumns(v, row0, m, row0 + prev, row0 + j, c, s);
+                double dp = d[prev]*c*c + d[j]*s*s;
+                d[j] = d[prev]*s*s + d[j]*c*c;
+                d[prev] = dp;
+                if (typeU[prev] != typeU[j])
+                    typeU[j] = 2;
+                if (typeV[prev] != typeV[j])
+                    typeV[j] = 2;
+            } else {
+                keep[numKeep++] = prev;
+            }
+            prev = j;
+        }
+        if (prev != -1)
+            keep[numKeep++] = prev;
+
+        // Singular values of deflated columns are the diagonal elements and the singular vectors are unchanged
+        for (int j = 0; j < n; j++) {
+            values[row0 + j] = d[j];
+        }
+
+        // Only the removed row is left, which is a 1 by 1 problem. The secular equation is degenerate if it's zero
+        if (numKeep == 1) {
+            values[k] = z[zero];
+            return;
+        }
+
+        // Solve for the SVD of the non-deflated part of the merged problem
+        for (int i = 0; i < numKeep; i++) {
+            w.dk[i] = d[keep[i]];
+            w.zk[i] = z[keep[i]];
+        }
+        w.secular.processSvd(numKeep, w.dk, w.zk, w.sigma, w.Uk, w.Vk);
+
+        // In both U and V the upper part is made up of the first 'zero+1' rows
+        multiplyVectors(w, U, row0, n, zero + 1, numKeep, typeU, w.Uk);
+        multiplyVectors(w, V, row0, m, zero + 1, numKeep, typeV, w.Vk);
+
+        for (int i = 0; i < numKeep; i++) {
+            values[row0 + keep[i]] = w.sigma[i];
+        }
+    }
+
+    /**
+     * Applies a Givens rotation to columns colA and colB from row0 to row0+numRows
+     */
+    private void rotateColumns( double[] q, int row0, int numRows, int colA, int colB, double c, double s ) {
+        for (int row = row0; row < row0 + numRows; row++) {
+            int indexA = row*N + colA;
+            int indexB = row*N + colB;
+            double a = q[indexA], b = q[indexB];
+            q[indexA] = c*a + s*b;
+            q[indexB] = c*b - s*a;
+        }
+    }
+
+    /**
+     * Multiplies the singular vectors of the two parts by the singular vectors of the merged problem and writes the
+     * results into the columns which were not deflated
+     *
+     * @param Q Either U or V
+     * @param i0 First row and column in Q of the sub-problem
+     * @param numRows Number of rows in the sub-problem
+     * @param numTop Number of rows in the upper part
+     * @param k Number of columns which were not deflated
+     * @param type Which part the columns have non-zero elements in
+     * @param X Singular vectors of the merged problem
+     */
+    protected void multiplyVectors( Workspace w, DMatrixRMaj Q, int i0, int numRows, int numTop, int k,
+                                    int[] type, DMatrixRMaj X ) {
+        final double[] q = Q.data;
+        final int[] keep = w.keep;
+
+        // Group the columns by type. 1 = only the upper part is non-zero, 2 = both, 3 = only the lower
+        int[] group = w.order;
+        int count1 = 0, count3 = 0;
+        for (int t = 1, p = 0; t <= 3; t++) {
+            for (int i = 0; i < k; i++) {
+                if (type[keep[i]] == t)
+                    group[p++] = i;
+            }
+            if (t == 1)
+                count1 = p;
+            else if (t == 2)
+                count3 = k - p;
+        }
+
+        // Copy the grouped columns and the matching rows of X
+        double[] Qg = w.Qg.reshape(numRows*k).data;
+        double[] Xg = w.Xg.reshape(k*k).data;
+        double[] x = X.data;
+        for (int row = 0; row < numRows; row++) {
+            int indexQ = (i0 + row)*N + i0;
+            int indexG = row*k;
+            for (int p = 0; p < k; p++) {
+                Qg[indexG + p] = q[indexQ + keep[group[p]]];
+            }
+        }
+        for (int p = 0; p < k; p++) {
+            System.arraycopy(x, group[p]*k, Xg, p*k, k);
+        }
+
+        // upper = Q1*X(types 1 and 2), lower = Q2*X(types 2 and 3)
+        double[] out = w.out.reshape(numRows*k).data;
+        gemm(w, numTop, k, k - count3, Qg, 0, k, Xg, 0, k, out, 0, k);
+        gemm(w, numRows - numTop, k, k - count1, Qg, numTop*k + count1, k, Xg, count1*k, k, out, numTop*k, k);
+
+        for (int row = 0; row < numRows; row++) {
+            int indexQ = (i0 + row)*N + i0;
+            int indexO = row*k;
+            for (int p = 0; p < k; p++) {
+                q[indexQ + keep[p]] = out[indexO + p];
+            }
+        }
+    }
+
+    /**
+     * C = A*B, where A is m by k and B is k by n
+     */
+    protected void gemm( Workspace w, int m, int n, int k,
+                         double[] A, int offsetA, int strideA,
+                         double[] B, int offsetB, int strideB,
+                         double[] C, int offsetC, int strideC ) {
+        MatrixMultPacked_DDRM.gemm(m, n, k, 1.0, A, offsetA, strideA, false, B, offsetB, strideB, false,
+                0.0, C, offsetC, strideC, w.workA, w.workB);
+    }
+
+    /**
+     * Computes C = U<sup>T</sup>*B, which transforms the left singular vectors into the space of the original
+     * matrix when B is the transpose of the bidiagonal decomposition's U.
+     *
+     * @param B (Input) Matrix with N rows. Not modified.
+     * @param C (Output) Reshaped.
+     */
+    public void multTransU( DMatrixRMaj B, DMatrixRMaj C ) {
+        multTrans(U, B, C);
+    }
+
+    /**
+     * Computes C = V<sup>T</sup>*B. See {@link #multTransU}.
+     *
+     * @param B (Input) Matrix with N rows. Not modified.
+     * @param C (Output) Reshaped.
+     */
+    public void multTransV( DMatrixRMaj B, DMatrixRMaj C ) {
+        multTrans(V, B, C);
+    }
+
+    protected void multTrans( DMatrixRMaj Q, DMatrixRMaj B, DMatrixRMaj C ) {
+        UtilEjml.assertShape(B.numRows, N, "B must have N rows");
+        C.reshape(N, B.numCols);
+        MatrixMultPacked_DDRM.gemm(N, B.numCols, N, 1.0, Q.data, 0, N, true, B.data, 0, B.numCols, false,
+                0.0, C.data, 0, C.numCols, work.workA, work.workB);
+    }
+
+    /**
+     * Returns the singular values. Array can be larger than N.
+     */
+    public double[] getSingularValues() {
+        return values;
+    }
+
+    /**
+     * Returns the N by N matrix with the left singular vectors in its columns
+     */
+    public DMatrixRMaj getU() {
+        return U;
+    }
+
+    /**
+     * Returns the N by N matrix with the right singular vectors in its columns
+     */
+    public DMatrixRMaj getV() {
+        return V;
+    }
+
+    public int getLeafSize() {
+        return leafSize;
+    }
+
+    /**
+     * Storage used to solve leaves and merge sub-problems
+     */
+    protected static class Workspace {
+        public final SvdImplicitQrAlgorithm_DDRM qr = new SvdImplicitQrAlgorithm_DDRM();
+        public final SecularEquation_DDRM secular = new SecularEquation_DDRM();
+        public final DMatrixRMaj leafUt = new DMatrixRMaj(1, 1);
+        public final DMatrixRMaj leafVt = new DMatrixRMaj(1, 1);
+        public final DMatrixRMaj Uk = new DMatrixRMaj(1, 1);
+        public final DMatrixRMaj Vk = new DMatrixRMaj(1, 1);
+        public final DGrowArray Qg = new DGrowArray();
+        public final DGrowArray Xg = new DGrowArray();
+        public final DGrowArray out = new DGrowArray();
+        public final DGrowArray workA = new DGrowArray();
+        public final DGrowArray workB = new DGrowArray();
+
+        public double[] leafDiag = new double[0];
+        public double[] leafOff = new double[0];
+        public double[] z = new double[0];
+        public double[] d = new double[0];
+        public double[] dk = new double[0];
+        public double[] zk = new double[0];
+        public double[] sigma = new double[0];
+        public int[] typeU = new int[0];
+        public int[] typeV = new int[0];
+        public int[] order = new int[0];
+        public int[] sortWork = new int[0];
+        public int[] keep = new int[0];
+
+        public void resize( int n ) {
+            if (z.length >= n)
+                return;
+            leafDiag = new double[n];
+            leafOff = new double[n];
+            z = new double[n];
+            d = new double[n];
+            dk = new double[n];
+            zk = new double[n];
+            sigma = new double[n];
+            typeU = new int[n];
+            typeV = new int[n];
+            order = new int[n];
+            sortWork = new int[n];
+            keep = new int[n];
+        }
+    }
+}
@@ -31,14 +31,19 @@ import org.ejml.dense.row.decomposition.chol.CholeskyDecompositionInner_DDRM;
 import org.ejml.dense.row.decomposition.chol.CholeskyDecompositionLDL_DDRM;
 import org.ejml.dense.row.decomposition.chol.CholeskyDecomposition_DDRB_to_DDRM;
 import org.ejml.dense.row.decomposition.eig.SwitchingEigenDecomposition_DDRM;
+import org.ejml.dense.row.decomposition.eig.SymmetricDivideConquerDecomposition_DDRM;
 import org.ejml.dense.row.decomposition.eig.SymmetricQRAlgorithmDecomposition_DDRM;
 import org.ejml.dense.row.decomposition.eig.WatchedDoubleStepQRDecomposition_DDRM;
+import org.ejml.dense.row.decomposition.eig.symm.SymmetricDivideConquer_DDRM;
 import org.ejml.dense.row.decomposition.hessenberg.TridiagonalDecompositionHouseholder_DDRM;
 import org.ejml.dense.row.decomposition.hessenberg.TridiagonalDecomposition_DDRB_to_DDRM;
 import org.ejml.dense.row.decomposition.lu.LUDecompositionAlt_DDRM;
+import org.ejml.dense.row.decomposition.lu.LUDecompositionBlock_DDRM;
 import org.ejml.dense.row.decomposition.qr.QRColPivDecompositionHouseholderColumn_DDRM;
 import org.ejml.dense.row.decomposition.qr.QRDecompositionHouseholderColumn_DDRM;
+import org.ejml.dense.row.decomposition.svd.SvdDivideConquerDecompose_DDRM;
 import org.ejml.dense.row.decomposition.svd.SvdImplicitQrDecompose_DDRM;
+import org.ejml.dense.row.decomposition.svd.SvdRandomized_DDRM;
 import org.ejml.interfaces.decomposition.*;
 
 /**
@@ -115,6 +120,8 @@ public class DecompositionFactory_DDRM {
      * @return LUDecomposition
      */
     public static LUDecomposition_F64<DMatrixRMaj> lu( int numRows, int numCol ) {
+        if (Math.min(numRows, numCol) >= EjmlParameters.SWITCH_BLOCK_LU)
+            return new LUDecompositionBlock_DDRM();
         return new LUDecompositionAlt_DDRM();
     }
 
@@ -126,6 +133,8 @@ public class DecompositionFactory_DDRM {
      * <p>
      * Returns a {@link SingularValueDecomposition} that has been optimized for the specified matrix size.
      * For improved performance only the portion of the decomposition that the user requests will be computed.
+     * If U or V is needed and the smallest side is at least {@link EjmlParameters#SWITCH_SVD_DIVIDE_CONQUER}
+     * then the divide and conquer algorithm is used.
      * </p>
      *
      * @param numRows Number of rows the returned decomposition is optimized for.
@@ -138,6 +147,8 @@ public class DecompositionFactory_DDRM {
     public static SingularValueDecomposition_F64<DMatrixRMaj> svd( int numRows, int numCols,
                                                                    boolean needU, boolean needV, boolean compact ) {
         // Don't allow the tall decomposition by default since it *might* be less stable
+        if ((needU || needV) && Math.min(numRows, numCols) >= EjmlParameters.SWITCH_SVD_DIVIDE_CONQUER)
+            return new SvdDivideConquerDecompose_DDRM(compact, needU, needV);
         return new SvdImplicitQrDecompose_DDRM(compact, needU, needV, false);
     }
 
@@ -153,6 +164,25 @@ public class DecompositionFactory_DDRM {
         return svd(100, 100, needU, needV, compact);
     }
 
+    /**
+     * <p>
+     * Returns a randomized truncated {@link SingularValueDecomposition} which only computes the largest singular
+     * values. Much faster than a full SVD when only a few singular values are needed from a large matrix. Results
+     * are always compact.
+     * </p>
+     *
+     * @param rank Number of singular values which are computed
+     * @param oversampling Extra samples used to estimate the range of the matrix. Try 10.
+     * @param powerIterations Number of power iterations. Increase if singular values decay slowly. Try 2.
+     * @param needU Should it compute the U matrix. If not sure set to true.
+     * @param needV Should it compute the V matrix. If not sure set to true.
+     * @return SVD
+     */
+    public static SingularValueDecomposition_F64<DMatrixRMaj> svdRandomized( int rank, int oversampling, int powerIterations,
+                                                                             boolean needU, boolean needV ) {
+        return new SvdRandomized_DDRM(rank, oversampling, powerIterations, needU, needV);
+    }
+
     /**
      * <p>
      * Returns a {@link org.ejml.interfaces.decomposition.QRDecomposition} that has been optimized for the specified matrix size.
@@ -209,6 +239,8 @@ public class DecompositionFactory_DDRM {
     /**
      * <p>
      * Returns an {@link EigenDecomposition} which is specialized for symmetric matrices or the general problem.
+     * Symmetric matrices which are at least {@link EjmlParameters#SWITCH_EIG_DIVIDE_CONQUER} wide use the divide
+     * and conquer algorithm when eigenvectors are computed.
      * </p>
      *
      * @param matrixSize Number of rows and columns that the returned decomposition is optimized for.
@@ -221,6 +253,8 @@ public class DecompositionFactory_DDRM {
                                                            boolean isSymmetric ) {
         if (isSymmetric) {
             TridiagonalSimilarDecomposition_F64<DMatrixRMaj> decomp = DecompositionFactory_DDRM.tridiagonal(matrixSize);
+            if (computeVectors && matrixSize >= EjmlParameters.SWITCH_EIG_DIVIDE_CONQUER)
+                return new SymmetricDivideConquerDecomposition_DDRM(decomp, new SymmetricDivideConquer_DDRM(), true);
             return new SymmetricQRAlgorithmDecomposition_DDRM(decomp, computeVectors);
         } else
             return new WatchedDoubleStepQRDecomposition_DDRM(computeVectors);
@@ -20,13 +20,16 @@ package org.ejml.dense.row.factory;
 
 import org.ejml.EjmlParameters;
 import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.band.LinearSolverBand_DDRM;
 import org.ejml.dense.row.decomposition.chol.CholeskyDecompositionCommon_DDRM;
 import org.ejml.dense.row.decomposition.chol.CholeskyDecompositionInner_DDRM;
 import org.ejml.dense.row.decomposition.lu.LUDecompositionAlt_DDRM;
+import org.ejml.dense.row.decomposition.lu.LUDecompositionBlock_DDRM;
 import org.ejml.dense.row.decomposition.qr.QRColPivDecompositionHouseholderColumn_DDRM;
 import org.ejml.dense.row.linsol.AdjustableLinearSolver_DDRM;
 import org.ejml.dense.row.linsol.chol.LinearSolverChol_DDRB;
 import org.ejml.dense.row.linsol.chol.LinearSolverChol_DDRM;
+import org.ejml.dense.row.linsol.lu.LinearSolverLuBlock_DDRM;
 import org.ejml.dense.row.linsol.lu.LinearSolverLu_DDRM;
 import org.ejml.dense.row.linsol.qr.*;
 import org.ejml.dense.row.linsol.svd.SolvePseudoInverseSvd_DDRM;
@@ -86,6 +89,8 @@ public class LinearSolverFactory_DDRM {
      * @return A new linear solver.
      */
     public static LinearSolverDense<DMatrixRMaj> linear( int matrixSize ) {
+        if (matrixSize >= EjmlParameters.SWITCH_BLOCK_LU)
+            return new LinearSolverLuBlock_DDRM(new LUDecompositionBlock_DDRM());
         return new LinearSolverLu_DDRM(new LUDecompositionAlt_DDRM());
     }
 
@@ -127,6 +132,18 @@ public class LinearSolverFactory_DDRM {
         }
     }
 
+    /**
+     * Creates a solver for square matrices which might be banded, e.g. from spline fitting or finite differences.
+     * The bandwidth of A is found when setA() is called. If the band is narrow then A is decomposed as a band
+     * matrix in O(n*b<sup>2</sup>) operations, otherwise a dense solver is used.
+     *
+     * @param symmPosDef If true then A is assumed to be symmetric positive definite and Cholesky is used
+     * @see LinearSolverBand_DDRM
+     */
+    public static LinearSolverBand_DDRM band( boolean symmPosDef ) {
+        return new LinearSolverBand_DDRM(symmPosDef);
+    }
+
     /**
      * <p>
      * Linear solver which uses QR pivot decomposition. These solvers can handle singular systems
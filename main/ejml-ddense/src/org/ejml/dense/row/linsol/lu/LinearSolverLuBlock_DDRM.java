@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.row.linsol.lu;
+
+import org.ejml.EjmlParameters;
+import org.ejml.UtilEjml;
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.decomposition.lu.LUDecompositionBase_DDRM;
+import org.ejml.dense.row.mult.MatrixMultPacked_DDRM;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * LU solver which processes all the columns in B at once. The permuted B is solved against L and then U using
+ * blocked triangular solves, where the blocks off of the diagonal are handled by matrix multiplication. When
+ * B has many columns, e.g. when inverting, this is much faster than solving one column at a time like
+ * {@link LinearSolverLu_DDRM} does.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class LinearSolverLuBlock_DDRM extends LinearSolverLuBase_DDRM {
+    // Number of rows in each block of the triangular solves
+    protected final int blockWidth;
+
+    // storage for B when it's the same matrix as X
+    protected DMatrixRMaj workB = new DMatrixRMaj(1, 1);
+
+    // workspace for packed matrix multiplication
+    private final DGrowArray workPackA = new DGrowArray();
+    private final DGrowArray workPackB = new DGrowArray();
+
+    public LinearSolverLuBlock_DDRM( LUDecompositionBase_DDRM decomp, int blockWidth ) {
+        super(decomp);
+        if (blockWidth <= 0)
+            throw new IllegalArgumentException("Block width must be positive");
+        this.blockWidth = blockWidth;
+    }
+
+    public LinearSolverLuBlock_DDRM( LUDecompositionBase_DDRM decomp ) {
+        this(decomp, EjmlParameters.BLOCK_WIDTH_LU);
+    }
+
+    @Override
+    public void solve( DMatrixRMaj B, DMatrixRMaj X ) {
+        UtilEjml.checkReshapeSolve(numRows, numCols, B, X);
+
+        if (B == X) {
+            workB.setTo(B);
+            B = workB;
+        }
+
+        // X = P*B
+        int[] pivot = decomp.getPivot();
+        int k = B.numCols;
+        for (int i = 0; i < numCols; i++) {
+            System.arraycopy(B.data, pivot[i]*k, X.data, i*k, k);
+        }
+
+        solveLU(X);
+    }
+
+    @Override
+    public void invert( DMatrixRMaj A_inv ) {
+        if (A == null)
+            throw new RuntimeException("Must call setA() first");
+
+        DMatrixRMaj LU = decomp.getLU();
+        if (A_inv.numCols != LU.numCols || A_inv.numRows != LU.numRows)
+            throw new IllegalArgumentException("Unexpected matrix dimension");
+
+        // A_inv = P*I
+        int n = LU.numCols;
+        int[] pivot = decomp.getPivot();
+        Arrays.fill(A_inv.data, 0, n*n, 0.0);
+        for (int i = 0; i < n; i++) {
+            A_inv.data[i*n + pivot[i]] = 1.0;
+        }
+
+        solveLU(A_inv);
+    }
+
+    /**
+     * Solves L*U*X = X in place
+     */
+    protected void solveLU( DMatrixRMaj X ) {
+        final DMatrixRMaj LU = decomp.getLU();
+        final int n = LU.numCols;
+        final int k = X.numCols;
+
+        // L*Y = X, processed from the top down
+        for (int i0 = 0; i0 < n; i0 += blockWidth) {
+            int i1 = Math.min(n, i0 + blockWidth);
+            solveLowerBlock(X, i0, i1);
+            if (i1 < n)
+                multMinus(n - i1, k, i1 - i0, LU.data, i1*n + i0, n, X.data, i0*k, X.data, i1*k, k);
+        }
+
+        // U*X = Y, processed from the bottom up
+        for (int i0 = ((n - 1)/blockWidth)*blockWidth; i0 >= 0; i0 -= blockWidth) {
+            int i1 = Math.min(n, i0 + blockWidth);
+            solveUpperBlock(X, i0, i1);
+            if (i0 > 0)
+                multMinus(i0, k, i1 - i0, LU.data, i0, n, X.data, i0*k, X.data, 0, k);
+        }
+    }
+
+    /**
+     * Solves for rows i0 to i1 in X using the unit lower triangular block along the diagonal
+     */
+    protected void solveLowerBlock( DMatrixRMaj X, int i0, int i1 ) {
+        solveLowerBlock(X, i0, i1, 0, X.numCols);
+    }
+
+    /**
+     * Same as {@link #solveLowerBlock(DMatrixRMaj, int, int)} but only for columns col0 to col1
+     */
+    protected void solveLowerBlock( DMatrixRMaj X, int i0, int i1, int col0, int col1 ) {
+        final double[] dataLU = decomp.getLU().data;
+        final double[] dataX = X.data;
+        final int n = decomp.getLU().numCols;
+        final int k = X.numCols;
+
+        for (int i = i0 + 1; i < i1; i++) {
+            int rowX = i*k;
+            for (int t = i0; t < i; t++) {
+                double l = dataLU[i*n + t];
+                int rowT = t*k;
+                for (int c = col0; c < col1; c++) {
+                    dataX[rowX + c] -= l*dataX[rowT + c];
+                }
+            }
+        }
+    }
+
+    /**
+     * Solves for rows i0 to i1 in X using the upper triangular block along the diagonal
+     */
+    protected void solveUpperBlock( DMatrixRMaj X, int i0, int i1 ) {
+        solveUpperBlock(X, i0, i1, 0, X.numCols);
+    }
+
+    /**
+     * Same as {@link #solveUpperBlock(DMatrixRMaj, int, int)} but only for columns col0 to col1
+     */
+    protected void solveUpperBlock( DMatrixRMaj X, int i0, int i1, int col0, int col1 ) {
+        final double[] dataLU = decomp.getLU().data;
+        final double[] dataX = X.data;
+        final int n = decomp.getLU().numCols;
+        final int k = X.numCols;
+
+        for (int i = i1 - 1; i >= i0; i--) {
+            int rowX = i*k;
+            for (int t = i + 1; t < i1; t++) {
+                double u = dataLU[i*n + t];
+                int rowT = t*k;
+                for (int c = col0; c < col1; c++) {
+                    dataX[rowX + c] -= u*dataX[rowT + c];
+                }
+            }
+            double uii = dataLU[i*n + i];
+            for (int c = col0; c < col1; c++) {
+                dataX[rowX + c] /= uii;
+            }
+        }
+    }
+
+    /**
+     * C = C - A*B, where A is a m by w submatrix of LU, and B and C are submatrices of X.
+     */
+    protected void multMinus( int m, int k, int w, double[] A, int offsetA, int strideA,
+                              double[] B, int offsetB, double[] C, int offsetC, int strideX ) {
+        if (MatrixMultPacked_DDRM.isPreferred(m, k, w)) {
+            MatrixMultPacked_DDRM.gemm(m, k, w, -1.0, A, offsetA, strideA, false,
+                    B, offsetB, strideX, false, 1.0, C, offsetC, strideX, workPackA, workPackB);
+        } else {
+            multMinus(k, w, A, offsetA, strideA, B, offsetB, C, offsetC, strideX, 0, m);
+        }
+    }
+
+    /**
+     * Same as {@link #multMinus(int, int, int, double[], int, int, double[], int, double[], int, int)} but only
+     * for rows row0 to row1 in C.
+     */
+    protected void multMinus( int k, int w, double[] A, int offsetA, int strideA,
+                              double[] B, int offsetB, double[] C, int offsetC, int strideX,
+                              int row0, int row1 ) {
+        for (int i = row0; i < row1; i++) {
+            int indexA = offsetA + i*strideA;
+            int rowC = offsetC + i*strideX;
+            for (int t = 0; t < w; t++) {
+                double a = A[indexA + t];
+                int rowB = offsetB + t*strideX;
+                for (int c = 0; c < k; c++) {
+                    C[rowC + c] -= a*B[rowB + c];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.row.linsol.lu;
+
+import org.ejml.EjmlParameters;
+import org.ejml.concurrency.EjmlConcurrency;
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.decomposition.lu.LUDecompositionBase_DDRM;
+import org.ejml.dense.row.mult.MatrixMultPacked_DDRM;
+import org.ejml.dense.row.mult.MatrixMultPacked_MT_DDRM;
+import pabeles.concurrency.GrowArray;
+
+/**
+ * Concurrent implementation of {@link LinearSolverLuBlock_DDRM}. The columns in B are split between threads
+ * inside the diagonal blocks and the rows when multiplying.
+ *
+ * @author Peter Abeles
+ */
+public class LinearSolverLuBlock_MT_DDRM extends LinearSolverLuBlock_DDRM {
+    // Minimum number of elements processed by a thread
+    private static final int MIN_ELEMENTS = 5_000;
+
+    // workspace for packed matrix multiplication
+    private final GrowArray<DGrowArray> workPackA = new GrowArray<>(DGrowArray::new);
+    private final DGrowArray workPackB = new DGrowArray();
+
+    public LinearSolverLuBlock_MT_DDRM( LUDecompositionBase_DDRM decomp, int blockWidth ) {
+        super(decomp, blockWidth);
+    }
+
+    public LinearSolverLuBlock_MT_DDRM( LUDecompositionBase_DDRM decomp ) {
+        this(decomp, EjmlParameters.BLOCK_WIDTH_LU);
+    }
+
+    @Override
+    protected void solveLowerBlock( DMatrixRMaj X, int i0, int i1 ) {
+        int w = i1 - i0;
+        EjmlConcurrency.loopBlocks(0, X.numCols, minBlock(w*w/2),
+                ( col0, col1 ) -> solveLowerBlock(X, i0, i1, col0, col1));
+    }
+
+    @Override
+    protected void solveUpperBlock( DMatrixRMaj X, int i0, int i1 ) {
+        int w = i1 - i0;
+        EjmlConcurrency.loopBlocks(0, X.numCols, minBlock(w*w/2),
+                ( col0, col1 ) -> solveUpperBlock(X, i0, i1, col0, col1));
+    }
+
+    @Override
+    protected void multMinus( int m, int k, int w, double[] A, int offsetA, int strideA,
+                              double[] B, int offsetB, double[] C, int offsetC, int strideX ) {
+        if (MatrixMultPacked_DDRM.isPreferred(m, k, w)) {
+            MatrixMultPacked_MT_DDRM.gemm(m, k, w, -1.0, A, offsetA, strideA, false,
+                    B, offsetB, strideX, false, 1.0, C, offsetC, strideX, workPackA, workPackB);
+        } else {
+            EjmlConcurrency.loopBlocks(0, m, minBlock(w*k), ( row0, row1 ) ->
+                    multMinus(k, w, A, offsetA, strideA, B, offsetB, C, offsetC, strideX, row0, row1));
+        }
+    }
+
+    /**
+     * Number of rows or columns a thread should process when each one costs this many operations
+     */
+    private static int minBlock( int opsPerLine ) {
+        return Math.max(1, MIN_ELEMENTS/Math.max(1, opsPerLine));
+    }
+}
@@ -21,6 +21,8 @@ package org.ejml.dense.row.misc;
 import org.ejml.data.DMatrixD1;
 import org.ejml.data.DMatrixRMaj;
 import org.ejml.data.ElementLocation;
+import org.ejml.simd.EjmlSimd;
+import org.ejml.simd.SimdKernels_F64;
 import org.jetbrains.annotations.Nullable;
 
 import static org.ejml.UtilEjml.checkSameShape;
@@ -134,6 +136,12 @@ public class ImplCommonOps_DDRM {
 
         int length = A.getNumElements();
 
+        SimdKernels_F64 simd = EjmlSimd.getKernels_F64(length);
+        if (simd != null) {
+            simd.elementMult(A.data, B.data, A.data, length);
+            return;
+        }
+
         for (int i = 0; i < length; i++) {
             A.times(i, B.get(i));
         }
@@ -145,6 +153,12 @@ public class ImplCommonOps_DDRM {
 
         int length = A.getNumElements();
 
+        SimdKernels_F64 simd = EjmlSimd.getKernels_F64(length);
+        if (simd != null) {
+            simd.elementMult(A.data, B.data, output.data, length);
+            return output;
+        }
+
         for (int i = 0; i < length; i++) {
             output.set(i, A.get(i)*B.get(i));
         }
@@ -176,10 +190,13 @@ public class ImplCommonOps_DDRM {
     }
 
     public static double elementSum( DMatrixD1 mat ) {
-        double total = 0;
-
         int size = mat.getNumElements();
 
+        SimdKernels_F64 simd = EjmlSimd.getKernels_F64(size);
+        if (simd != null)
+            return simd.sum(mat.data, size);
+
+        double total = 0;
         for (int i = 0; i < size; i++) {
             total += mat.get(i);
         }
@@ -0,0 +1,377 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.row.mult;
+
+import org.ejml.EjmlParameters;
+import org.ejml.UtilEjml;
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrix1Row;
+import org.ejml.simd.EjmlSimd;
+import org.ejml.simd.SimdKernels_F64;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * <p>
+ * Cache blocked matrix multiplication which copies (packs) sub-matrices of the two inputs into contiguous
+ * arrays before multiplying them, following the approach used by GotoBLAS. This is faster than the algorithms in
+ * {@link MatrixMatrixMult_DDRM} for large matrices since after packing all memory access is sequential and
+ * the inner most loop is a small register blocked kernel which computes an {@link #MR}x{@link #NR} block of C.
+ * </p>
+ *
+ * <p>
+ * C is computed in blocks of C(ic:ic+MC, jc:jc+NC). For each block, a KC by NC panel of B is packed so that it
+ * fits inside the L3 (or L2) cache, and a MC by KC panel of A is packed so that it fits inside the L2 cache.
+ * The block sizes are specified in {@link EjmlParameters#MULT_PACKED_MC}, {@link EjmlParameters#MULT_PACKED_KC},
+ * and {@link EjmlParameters#MULT_PACKED_NC}. Transposed inputs are handled while packing, so all variants of
+ * multiplication use the same kernel.
+ * </p>
+ *
+ * <p>
+ * The low level functions take in a raw array, offset, and row stride, allowing them to operate on sub-matrices
+ * or the blocks inside a block matrix without any copying.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class MatrixMultPacked_DDRM {
+    /** Number of rows in C computed by the micro-kernel */
+    public static final int MR = 4;
+    /** Number of columns in C computed by the micro-kernel */
+    public static final int NR = 4;
+
+    /**
+     * Returns true if the packed algorithm is expected to be faster than the algorithms in
+     * {@link MatrixMatrixMult_DDRM}. When a dimension is small the cost of packing can't be amortized.
+     *
+     * @param m Number of rows in C
+     * @param n Number of columns in C
+     * @param k Length of the inner dimension
+     */
+    public static boolean isPreferred( int m, int n, int k ) {
+        int threshold = EjmlParameters.MULT_PACKED_SWITCH;
+        return m >= threshold && n >= threshold && k >= threshold;
+    }
+
+    /**
+     * <p>
+     * Performs the following operation:<br>
+     * <br>
+     * C = &alpha; * op(A) * op(B) + &beta; * C<br>
+     * <br>
+     * where op(X) is X or X<sup>T</sup>. C must already have the correct shape. If &beta; is zero then C
+     * is not read.
+     * </p>
+     *
+     * @param alpha Scaling factor applied to the product.
+     * @param A Left matrix. Not modified.
+     * @param transA If true then A is transposed.
+     * @param B Right matrix. Not modified.
+     * @param transB If true then B is transposed.
+     * @param beta Scaling factor applied to C.
+     * @param C Where the results are stored. Modified.
+     * @param workA (Optional) Storage for packed A. If null then it's declared internally.
+     * @param workB (Optional) Storage for packed B. If null then it's declared internally.
+     */
+    public static void gemm( double alpha, DMatrix1Row A, boolean transA, DMatrix1Row B, boolean transB,
+                             double beta, DMatrix1Row C,
+                             @Nullable DGrowArray workA, @Nullable DGrowArray workB ) {
+        UtilEjml.assertTrue(A != C && B != C, "Neither 'A' or 'B' can be the same matrix as 'C'");
+        int m = transA ? A.numCols : A.numRows;
+        int k = transA ? A.numRows : A.numCols;
+        int n = transB ? B.numRows : B.numCols;
+        UtilEjml.assertShape(k, transB ? B.numCols : B.numRows,
+                "The 'A' and 'B' matrices do not have compatible dimensions");
+        UtilEjml.assertShape(C.numRows == m && C.numCols == n, "'C' is not the expected shape");
+
+        gemm(m, n, k, alpha, A.data, 0, A.numCols, transA, B.data, 0, B.numCols, transB,
+                beta, C.data, 0, C.numCols, workA, workB);
+    }
+
+    /**
+     * Same as {@link #gemm(double, DMatrix1Row, boolean, DMatrix1Row, boolean, double, DMatrix1Row, DGrowArray, DGrowArray)}
+     * but operates on row-major sub-matrices inside of arrays. No sanity checks are performed.
+     *
+     * @param m Number of rows in C
+     * @param n Number of columns in C
+     * @param k Inner dimension
+     * @param A Array containing A. If transA then it's k by m, otherwise m by k.
+     * @param offsetA Index of the first element in A
+     * @param strideA Number of elements between rows in A
+     * @param B Array containing B. If transB then it's n by k, otherwise k by n.
+     * @param offsetB Index of the first element in B
+     * @param strideB Number of elements between rows in B
+     * @param C Array containing the m by n matrix C
+     * @param offsetC Index of the first element in C
+     * @param strideC Number of elements between rows in C
+     */
+    public static void gemm( int m, int n, int k, double alpha,
+                             double[] A, int offsetA, int strideA, boolean transA,
+                             double[] B, int offsetB, int strideB, boolean transB,
+                             double beta, double[] C, int offsetC, int strideC,
+                             @Nullable DGrowArray workA, @Nullable DGrowArray workB ) {
+        if (m == 0 || n == 0)
+            return;
+        if (k == 0 || alpha == 0.0) {
+            scale(m, n, beta, C, offsetC, strideC);
+            return;
+        }
+
+        final int MC = EjmlParameters.MULT_PACKED_MC;
+        final int KC = EjmlParameters.MULT_PACKED_KC;
+        final int NC = EjmlParameters.MULT_PACKED_NC;
+
+        double[] packedA = UtilEjml.adjust(workA, roundUp(Math.min(m, MC), MR)*Math.min(k, KC));
+        double[] packedB = UtilEjml.adjust(workB, roundUp(Math.min(n, NC), NR)*Math.min(k, KC));
+
+        for (int jc = 0; jc < n; jc += NC) {
+            int nc = Math.min(NC, n - jc);
+            for (int pc = 0; pc < k; pc += KC) {
+                int kc = Math.min(KC, k - pc);
+                packB(B, offsetB, strideB, transB, pc, jc, kc, nc, packedB);
+
+                // beta is only applied the first time C is touched
+                double betaPc = pc == 0 ? beta : 1.0;
+                for (int ic = 0; ic < m; ic += MC) {
+                    int mc = Math.min(MC, m - ic);
+                    packA(A, offsetA, strideA, transA, ic, pc, mc, kc, packedA);
+                    macroKernel(mc, nc, kc, alpha, packedA, packedB, betaPc, C, offsetC + ic*strideC + jc, strideC);
+                }
+            }
+        }
+    }
+
+    /**
+     * C = beta*C
+     */
+    static void scale( int m, int n, double beta, double[] C, int offsetC, int strideC ) {
+        if (beta == 1.0)
+            return;
+        for (int i = 0; i < m; i++) {
+            int index = offsetC + i*strideC;
+            int end = index + n;
+            if (beta == 0.0) {
+                while (index < end) {
+                    C[index++] = 0.0;
+                }
+            } else {
+                while (index < end) {
+                    C[index++] *= beta;
+                }
+            }
+        }
+    }
+
+    /**
+     * Copies op(A)(row0:row0+mc, col0:col0+kc) into micro-panels which are MR rows tall. Inside a micro-panel
+     * elements are ordered by column then by row. The last micro-panel is padded with zeros.
+     */
+    static void packA( double[] A, int offsetA, int strideA, boolean transA,
+                       int row0, int col0, int mc, int kc, double[] packed ) {
+        int index = 0;
+        for (int ir = 0; ir < mc; ir += MR) {
+            int mr = Math.min(MR, mc - ir);
+            if (transA) {
+                // op(A)(i,l) = A(l,i), so each column of the micro-panel is contiguous in A
+                for (int l = 0; l < kc; l++) {
+                    int indexA = offsetA + (col0 + l)*strideA + row0 + ir;
+                    int i = 0;
+                    for (; i < mr; i++) {
+                        packed[index++] = A[indexA + i];
+                    }
+                    for (; i < MR; i++) {
+                        packed[index++] = 0.0;
+                    }
+                }
+            } else {
+                for (int i = 0; i < MR; i++) {
+                    int indexP = index + i;
+                    if (i < mr) {
+                        int indexA = offsetA + (row0 + ir + i)*strideA + col0;
+                        for (int l = 0; l < kc; l++, indexP += MR) {
+                            packed[indexP] = A[indexA + l];
+                        }
+                    } else {
+                        for (int l = 0; l < kc; l++, indexP += MR) {
+                            packed[indexP] = 0.0;
+                        }
+                    }
+                }
+                index += MR*kc;
+            }
+        }
+    }
+
+    /**
+     * Copies op(B)(row0:row0+kc, col0:col0+nc) into micro-panels which are NR columns wide. Inside a micro-panel
+     * elements are ordered by row then by column. The last micro-panel is padded with zeros.
+     */
+    static void packB( double[] B, int offsetB, int strideB, boolean transB,
+                       int row0, int col0, int kc, int nc, double[] packed ) {
+        int index = 0;
+        for (int jr = 0; jr < nc; jr += NR) {
+            int nr = Math.min(NR, nc - jr);
+            if (transB) {
+                // op(B)(l,j) = B(j,l), so each column of the micro-panel is contiguous in B
+                for (int j = 0; j < NR; j++) {
+                    int indexP = index + j;
+                    if (j < nr) {
+                        int indexB = offsetB + (col0 + jr + j)*strideB + row0;
+                        for (int l = 0; l < kc; l++, indexP += NR) {
+                            packed[indexP] = B[indexB + l];
+                        }
+                    } else {
+                        for (int l = 0; l < kc; l++, indexP += NR) {
+                            packed[indexP] = 0.0;
+                        }
+                    }
+                }
+                index += NR*kc;
+            } else {
+                for (int l = 0; l < kc; l++) {
+                    int indexB = offsetB + (row0 + l)*strideB + col0 + jr;
+                    int j = 0;
+                    for (; j < nr; j++) {
+                        packed[index++] = B[indexB + j];
+                    }
+                    for (; j < NR; j++) {
+                        packed[index++] = 0.0;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Multiplies a packed mc by kc block of A against a packed kc by nc block of B and adds it to C
+     */
+    static void macroKernel( int mc, int nc, int kc, double alpha, double[] packedA, double[] packedB,
+                             double beta, double[] C, int offsetC, int strideC ) {
+        // Full blocks use the SIMD kernel when it's available. Edges always use the scalar kernel
+        SimdKernels_F64 simd = EjmlSimd.getKernels_F64();
+        for (int jr = 0; jr < nc; jr += NR) {
+            int nr = Math.min(NR, nc - jr);
+            int indexB = jr*kc;
+            for (int ir = 0; ir < mc; ir += MR) {
+                int mr = Math.min(MR, mc - ir);
+                if (simd != null && mr == MR && nr == NR) {
+                    simd.gemmKernel4x4(kc, alpha, packedA, ir*kc, packedB, indexB, beta,
+                            C, offsetC + ir*strideC + jr, strideC);
+                } else {
+                    microKernel(kc, alpha, packedA, ir*kc, packedB, indexB, beta,
+                            C, offsetC + ir*strideC + jr, strideC, mr, nr);
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes C(0:mr, 0:nr) = alpha*A*B + beta*C for a single micro-panel of A and B. The full MRxNR block is
+     * always computed in local variables so that the JIT can keep it inside of registers.
+     */
+    static void microKernel( int kc, double alpha, double[] A, int indexA, double[] B, int indexB,
+                             double beta, double[] C, int indexC, int strideC, int mr, int nr ) {
+        double c00 = 0, c01 = 0, c02 = 0, c03 = 0;
+        double c10 = 0, c11 = 0, c12 = 0, c13 = 0;
+        double c20 = 0, c21 = 0, c22 = 0, c23 = 0;
+        double c30 = 0, c31 = 0, c32 = 0, c33 = 0;
+
+        int endA = indexA + kc*MR;
+        for (; indexA < endA; indexA += MR, indexB += NR) {
+            double a0 = A[indexA];
+            double a1 = A[indexA + 1];
+            double a2 = A[indexA + 2];
+            double a3 = A[indexA + 3];
+            double b0 = B[indexB];
+            double b1 = B[indexB + 1];
+            double b2 = B[indexB + 2];
+            double b3 = B[indexB + 3];
+
+            c00 += a0*b0; c01 += a0*b1; c02 += a0*b2; c03 += a0*b3;
+            c10 += a1*b0; c11 += a1*b1; c12 += a1*b2; c13 += a1*b3;
+            c20 += a2*b0; c21 += a2*b1; c22 += a2*b2; c23 += a2*b3;
+            c30 += a3*b0; c31 += a3*b1; c32 += a3*b2; c33 += a3*b3;
+        }
+
+        if (mr == MR && nr == NR) {
+            if (beta == 0.0) {
+                int i = indexC;
+                C[i] = alpha*c00; C[i + 1] = alpha*c01; C[i + 2] = alpha*c02; C[i + 3] = alpha*c03;
+                i += strideC;
+                C[i] = alpha*c10; C[i + 1] = alpha*c11; C[i + 2] = alpha*c12; C[i + 3] = alpha*c13;
+                i += strideC;
+                C[i] = alpha*c20; C[i + 1] = alpha*c21; C[i + 2] = alpha*c22; C[i + 3] = alpha*c23;
+                i += strideC;
+                C[i] = alpha*c30; C[i + 1] = alpha*c31; C[i + 2] = alpha*c32; C[i + 3] = alpha*c33;
+            } else if (beta == 1.0) {
+                int i = indexC;
+                C[i] += alpha*c00; C[i + 1] += alpha*c01; C[i + 2] += alpha*c02; C[i + 3] += alpha*c03;
+                i += strideC;
+                C[i] += alpha*c10; C[i + 1] += alpha*c11; C[i + 2] += alpha*c12; C[i + 3] += alpha*c13;
+                i += strideC;
+                C[i] += alpha*c20; C[i + 1] += alpha*c21; C[i + 2] += alpha*c22; C[i + 3] += alpha*c23;
+                i += strideC;
+                C[i] += alpha*c30; C[i + 1] += alpha*c31; C[i + 2] += alpha*c32; C[i + 3] += alpha*c33;
+            } else {
+                int i = indexC;
+                C[i] = beta*C[i] + alpha*c00; C[i + 1] = beta*C[i + 1] + alpha*c01;
+                C[i + 2] = beta*C[i + 2] + alpha*c02; C[i + 3] = beta*C[i + 3] + alpha*c03;
+                i += strideC;
+                C[i] = beta*C[i] + alpha*c10; C[i + 1] = beta*C[i + 1] + alpha*c11;
+                C[i + 2] = beta*C[i + 2] + alpha*c12; C[i + 3] = beta*C[i + 3] + alpha*c13;
+                i += strideC;
+                C[i] = beta*C[i] + alpha*c20; C[i + 1] = beta*C[i + 1] + alpha*c21;
+                C[i + 2] = beta*C[i + 2] + alpha*c22; C[i + 3] = beta*C[i + 3] + alpha*c23;
+                i += strideC;
+                C[i] = beta*C[i] + alpha*c30; C[i + 1] = beta*C[i + 1] + alpha*c31;
+                C[i + 2] = beta*C[i + 2] + alpha*c32; C[i + 3] = beta*C[i + 3] + alpha*c33;
+            }
+            return;
+        }
+
+        // Partial block along the border of C
+        storeEdgeRow(alpha, beta, C, indexC, nr, c00, c01, c02, c03);
+        if (mr > 1)
+            storeEdgeRow(alpha, beta, C, indexC + strideC, nr, c10, c11, c12, c13);
+        if (mr > 2)
+            storeEdgeRow(alpha, beta, C, indexC + 2*strideC, nr, c20, c21, c22, c23);
+        if (mr > 3)
+            storeEdgeRow(alpha, beta, C, indexC + 3*strideC, nr, c30, c31, c32, c33);
+    }
+
+    /**
+     * Writes the first nr elements of a row in a partial block into C
+     */
+    private static void storeEdgeRow( double alpha, double beta, double[] C, int indexC, int nr,
+                                      double c0, double c1, double c2, double c3 ) {
+        storeEdge(alpha, beta, C, indexC, c0);
+        if (nr > 1)
+            storeEdge(alpha, beta, C, indexC + 1, c1);
+        if (nr > 2)
+            storeEdge(alpha, beta, C, indexC + 2, c2);
+        if (nr > 3)
+            storeEdge(alpha, beta, C, indexC + 3, c3);
+    }
+
+    private static void storeEdge( double alpha, double beta, double[] C, int index, double value ) {
+        C[index] = beta == 0.0 ? alpha*value : beta*C[index] + alpha*value;
+    }
+
+    static int roundUp( int length, int block ) {
+        return ((length + block - 1)/block)*block;
+    }
+}
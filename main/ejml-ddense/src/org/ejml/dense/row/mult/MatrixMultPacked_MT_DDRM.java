@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.row.mult;
+
+import org.ejml.EjmlParameters;
+import org.ejml.UtilEjml;
+import org.ejml.concurrency.EjmlConcurrency;
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrix1Row;
+import org.jetbrains.annotations.Nullable;
+import pabeles.concurrency.GrowArray;
+
+import static org.ejml.dense.row.mult.MatrixMultPacked_DDRM.*;
+
+/**
+ * Concurrent implementation of {@link MatrixMultPacked_DDRM}. Each packed panel of B is shared by all the
+ * threads, while the rows of C are split between threads and each thread packs its own block of A.
+ *
+ * @author Peter Abeles
+ */
+public class MatrixMultPacked_MT_DDRM {
+    /**
+     * @see MatrixMultPacked_DDRM#gemm(double, DMatrix1Row, boolean, DMatrix1Row, boolean, double, DMatrix1Row, DGrowArray, DGrowArray)
+     */
+    public static void gemm( double alpha, DMatrix1Row A, boolean transA, DMatrix1Row B, boolean transB,
+                             double beta, DMatrix1Row C,
+                             @Nullable GrowArray<DGrowArray> workA, @Nullable DGrowArray workB ) {
+        UtilEjml.assertTrue(A != C && B != C, "Neither 'A' or 'B' can be the same matrix as 'C'");
+        int m = transA ? A.numCols : A.numRows;
+        int k = transA ? A.numRows : A.numCols;
+        int n = transB ? B.numRows : B.numCols;
+        UtilEjml.assertShape(k, transB ? B.numCols : B.numRows,
+                "The 'A' and 'B' matrices do not have compatible dimensions");
+        UtilEjml.assertShape(C.numRows == m && C.numCols == n, "'C' is not the expected shape");
+
+        gemm(m, n, k, alpha, A.data, 0, A.numCols, transA, B.data, 0, B.numCols, transB,
+                beta, C.data, 0, C.numCols, workA, workB);
+    }
+
+    /**
+     * @see MatrixMultPacked_DDRM#gemm(int, int, int, double, double[], int, int, boolean, double[], int, int, boolean, double, double[], int, int, DGrowArray, DGrowArray)
+     */
+    public static void gemm( int m, int n, int k, double alpha,
+                             double[] A, int offsetA, int strideA, boolean transA,
+                             double[] B, int offsetB, int strideB, boolean transB,
+                             double beta, double[] C, int offsetC, int strideC,
+                             @Nullable GrowArray<DGrowArray> workA, @Nullable DGrowArray workB ) {
+        if (m == 0 || n == 0)
+            return;
+        if (k == 0 || alpha == 0.0) {
+            scale(m, n, beta, C, offsetC, strideC);
+            return;
+        }
+        workA = UtilEjml.checkDeclare_F64(workA);
+
+        final int KC = EjmlParameters.MULT_PACKED_KC;
+        final int NC = EjmlParameters.MULT_PACKED_NC;
+
+        // Make sure there are enough row blocks to keep all the threads busy
+        int threads = EjmlConcurrency.getMaxThreads();
+        final int MC = Math.max(MR, Math.min(EjmlParameters.MULT_PACKED_MC, roundUp((m + threads - 1)/threads, MR)));
+        final int lengthA = roundUp(MC, MR)*Math.min(k, KC);
+
+        double[] packedB = UtilEjml.adjust(workB, roundUp(Math.min(n, NC), NR)*Math.min(k, KC));
+
+        for (int jc = 0; jc < n; jc += NC) {
+            final int nc = Math.min(NC, n - jc);
+            final int _jc = jc;
+            for (int pc = 0; pc < k; pc += KC) {
+                final int kc = Math.min(KC, k - pc);
+                final int _pc = pc;
+                packB(B, offsetB, strideB, transB, pc, jc, kc, nc, packedB);
+
+                // beta is only applied the first time C is touched
+                final double betaPc = pc == 0 ? beta : 1.0;
+                EjmlConcurrency.loopFor(0, m, MC, workA, ( work, ic ) -> {
+                    int mc = Math.min(MC, m - ic);
+                    double[] packedA = UtilEjml.adjust(work, lengthA);
+                    packA(A, offsetA, strideA, transA, ic, _pc, mc, kc, packedA);
+                    macroKernel(mc, nc, kc, alpha, packedA, packedB, betaPc, C, offsetC + ic*strideC + _jc, strideC);
+                });
+            }
+        }
+    }
+}
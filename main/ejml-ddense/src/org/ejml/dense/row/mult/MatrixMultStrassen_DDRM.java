@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.row.mult;
+
+import org.ejml.EjmlParameters;
+import org.ejml.UtilEjml;
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrix1Row;
+
+/**
+ * <p>
+ * Matrix multiplication, C = A*B, using the Winograd variant of Strassen's algorithm. Each level of recursion
+ * replaces 8 multiplications of half sized matrices with 7 multiplications and 15 additions, reducing the
+ * number of floating point operations from O(n<sup>3</sup>) to O(n<sup>2.81</sup>). Once a dimension is
+ * less than or equal to the cutoff the product is computed using {@link MatrixMultPacked_DDRM}. Odd dimensions
+ * are handled by peeling off the last row or column and computing its contribution with matrix multiplication.
+ * </p>
+ *
+ * <p>
+ * The schedule by Boyer et al. is used, where the quadrants of C and two temporary matrices hold all the
+ * intermediate results. All temporary matrices are stored inside a single array which is declared once
+ * before the recursion starts and is about 2/3 the size of C for square matrices.
+ * </p>
+ *
+ * <p>
+ * <b>Accuracy:</b> The error bound is norm-wise instead of element-wise like the classical algorithm. With
+ * unit round off u, n by n matrices, and a cutoff of n<sub>0</sub>, the bound is approximately:<br>
+ * <br>
+ * ||C - C'|| &le; [(n/n<sub>0</sub>)<sup>log2(18)</sup>(n<sub>0</sub><sup>2</sup> + 6 n<sub>0</sub>) - 6n] u ||A|| ||B||<br>
+ * <br>
+ * compared to n<sup>2</sup> u ||A|| ||B|| for the classical algorithm. Each level of recursion loses
+ * roughly 2 bits of accuracy. Elements of C which are much smaller than ||A|| ||B|| can have a large relative
+ * error, e.g. when the rows of A or columns of B are scaled very differently. Use the classical algorithm
+ * when element-wise accuracy matters.
+ * </p>
+ *
+ * <p>
+ * Boyer, Dumas, Pernet, Zhou, "Memory efficient scheduling of Strassen-Winograd's matrix multiplication
+ * algorithm", ISSAC 2009<br>
+ * Higham, "Accuracy and Stability of Numerical Algorithms", 2nd Ed. 2002, Chapter 23
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class MatrixMultStrassen_DDRM {
+    // Sub-problems with a dimension less than or equal to this are multiplied directly
+    protected final int cutoff;
+
+    // Storage for all the temporary matrices
+    protected final DGrowArray arena = new DGrowArray();
+    // Storage for packed matrix multiplication
+    private final DGrowArray workA = new DGrowArray();
+    private final DGrowArray workB = new DGrowArray();
+
+    /**
+     * @param cutoff Sub-problems with a dimension less than or equal to this are multiplied directly. Must be
+     * at least 1.
+     */
+    public MatrixMultStrassen_DDRM( int cutoff ) {
+        if (cutoff < 1)
+            throw new IllegalArgumentException("Cutoff must be at least 1");
+        this.cutoff = cutoff;
+    }
+
+    public MatrixMultStrassen_DDRM() {
+        this(EjmlParameters.MULT_STRASSEN_CUTOFF);
+    }
+
+    /**
+     * C = A*B
+     *
+     * @param A Left matrix. Not modified.
+     * @param B Right matrix. Not modified.
+     * @param C Where the results are stored. Must have the correct shape. Modified.
+     */
+    public void mult( DMatrix1Row A, DMatrix1Row B, DMatrix1Row C ) {
+        UtilEjml.assertTrue(A != C && B != C, "Neither 'A' or 'B' can be the same matrix as 'C'");
+        UtilEjml.assertShape(A.numCols, B.numRows, "The 'A' and 'B' matrices do not have compatible dimensions");
+        UtilEjml.assertShape(C.numRows == A.numRows && C.numCols == B.numCols, "'C' is not the expected shape");
+
+        mult(A.numRows, B.numCols, A.numCols, A.data, 0, A.numCols, B.data, 0, B.numCols, C.data, 0, C.numCols);
+    }
+
+    /**
+     * Same as {@link #mult(DMatrix1Row, DMatrix1Row, DMatrix1Row)} but operates on row-major sub-matrices inside
+     * of arrays. A is m by k, B is k by n, and C is m by n. No sanity checks are performed.
+     */
+    public void mult( int m, int n, int k,
+                      double[] A, int offsetA, int strideA,
+                      double[] B, int offsetB, int strideB,
+                      double[] C, int offsetC, int strideC ) {
+        arena.reshape(workspaceSize(m, n, k));
+        multRecursive(m, n, k, A, offsetA, strideA, B, offsetB, strideB, C, offsetC, strideC, 0);
+    }
+
+    /**
+     * Number of elements in the arena needed to multiply matrices with these dimensions
+     */
+    protected int workspaceSize( int m, int n, int k ) {
+        int total = 0;
+        while (!isLeaf(m, n, k)) {
+            m /= 2;
+            n /= 2;
+            k /= 2;
+            total += Math.max(m*k, m*n) + k*n;
+        }
+        return total;
+    }
+
+    protected boolean isLeaf( int m, int n, int k ) {
+        return Math.min(m, Math.min(n, k)) <= cutoff;
+    }
+
+    /**
+     * Recursively computes C = A*B
+     *
+     * @param offsetW Index in the arena where this level's temporary matrices start
+     */
+    protected void multRecursive( int m, int n, int k,
+                                  double[] A, int offsetA, int strideA,
+                                  double[] B, int offsetB, int strideB,
+                                  double[] C, int offsetC, int strideC, int offsetW ) {
+        if (isLeaf(m, n, k)) {
+            gemm(m, n, k, A, offsetA, strideA, B, offsetB, strideB, 0.0, C, offsetC, strideC);
+            return;
+        }
+
+        final int m2 = m/2, n2 = n/2, k2 = k/2;
+        final double[] W = arena.data;
+
+        //@formatter:off
+        final int a11 = offsetA, a12 = offsetA + k2, a21 = offsetA + m2*strideA, a22 = a21 + k2;
+        final int b11 = offsetB, b12 = offsetB + n2, b21 = offsetB + k2*strideB, b22 = b21 + n2;
+        final int c11 = offsetC, c12 = offsetC + n2, c21 = offsetC + m2*strideC, c22 = c21 + n2;
+        //@formatter:on
+
+        // X is used as an m2 by k2 and m2 by n2 matrix, Y as a k2 by n2 matrix
+        final int x = offsetW;
+        final int y = x + Math.max(m2*k2, m2*n2);
+        final int child = y + k2*n2;
+
+        // S3 = A11 - A21, T3 = B22 - B12, P7 = S3*T3
+        add(m2, k2, A, a11, strideA, -1.0, A, a21, strideA, W, x, k2);
+        add(k2, n2, B, b22, strideB, -1.0, B, b12, strideB, W, y, n2);
+        multRecursive(m2, n2, k2, W, x, k2, W, y, n2, C, c21, strideC, child);
+        // S1 = A21 + A22, T1 = B12 - B11, P5 = S1*T1
+        add(m2, k2, A, a21, strideA, 1.0, A, a22, strideA, W, x, k2);
+        add(k2, n2, B, b12, strideB, -1.0, B, b11, strideB, W, y, n2);
+        multRecursive(m2, n2, k2, W, x, k2, W, y, n2, C, c22, strideC, child);
+        // S2 = S1 - A11, T2 = B22 - T1, P6 = S2*T2
+        add(m2, k2, W, x, k2, -1.0, A, a11, strideA, W, x, k2);
+        add(k2, n2, B, b22, strideB, -1.0, W, y, n2, W, y, n2);
+        multRecursive(m2, n2, k2, W, x, k2, W, y, n2, C, c12, strideC, child);
+        // S4 = A12 - S2, P3 = S4*B22
+        add(m2, k2, A, a12, strideA, -1.0, W, x, k2, W, x, k2);
+        multRecursive(m2, n2, k2, W, x, k2, B, b22, strideB, C, c11, strideC, child);
+        // P1 = A11*B11
+        multRecursive(m2, n2, k2, A, a11, strideA, B, b11, strideB, W, x, n2, child);
+        // U2 = P1 + P6, U3 = U2 + P7, U4 = U2 + P5, U7 = U3 + P5, U5 = U4 + P3
+        add(m2, n2, W, x, n2, 1.0, C, c12, strideC, C, c12, strideC);
+        add(m2, n2, C, c12, strideC, 1.0, C, c21, strideC, C, c21, strideC);
+        add(m2, n2, C, c12, strideC, 1.0, C, c22, strideC, C, c12, strideC);
+        add(m2, n2, C, c21, strideC, 1.0, C, c22, strideC, C, c22, strideC);
+        add(m2, n2, C, c12, strideC, 1.0, C, c11, strideC, C, c12, strideC);
+        // T4 = T2 - B21, P4 = A22*T4, U6 = U3 - P4
+        add(k2, n2, W, y, n2, -1.0, B, b21, strideB, W, y, n2);
+        multRecursive(m2, n2, k2, A, a22, strideA, W, y, n2, C, c11, strideC, child);
+        add(m2, n2, C, c21, strideC, -1.0, C, c11, strideC, C, c21, strideC);
+        // P2 = A12*B21, U1 = P1 + P2
+        multRecursive(m2, n2, k2, A, a12, strideA, B, b21, strideB, C, c11, strideC, child);
+        add(m2, n2, C, c11, strideC, 1.0, W, x, n2, C, c11, strideC);
+
+        // Handle the odd row and column which were not included above
+        final int mE = 2*m2, nE = 2*n2, kE = 2*k2;
+        if (kE != k)
+            gemm(mE, nE, 1, A, offsetA + kE, strideA, B, offsetB + kE*strideB, strideB, 1.0, C, offsetC, strideC);
+        if (nE != n)
+            gemm(mE, 1, k, A, offsetA, strideA, B, offsetB + nE, strideB, 0.0, C, offsetC + nE, strideC);
+        if (mE != m)
+            gemm(1, n, k, A, offsetA + mE*strideA, strideA, B, offsetB, strideB,
+                    0.0, C, offsetC + mE*strideC, strideC);
+    }
+
+    /**
+     * C = A*B + &beta;*C using the classical algorithm
+     */
+    protected void gemm( int m, int n, int k,
+                         double[] A, int offsetA, int strideA,
+                         double[] B, int offsetB, int strideB,
+                         double beta, double[] C, int offsetC, int strideC ) {
+        MatrixMultPacked_DDRM.gemm(m, n, k, 1.0, A, offsetA, strideA, false, B, offsetB, strideB, false,
+                beta, C, offsetC, strideC, workA, workB);
+    }
+
+    /**
+     * C = A + &beta;*B, where all the matrices are m by n. C can be the same sub-matrix as A or B.
+     */
+    protected void add( int m, int n, double[] A, int offsetA, int strideA, double beta,
+                        double[] B, int offsetB, int strideB, double[] C, int offsetC, int strideC ) {
+        add(n, A, offsetA, strideA, beta, B, offsetB, strideB, C, offsetC, strideC, 0, m);
+    }
+
+    /**
+     * Same as {@link #add(int, int, double[], int, int, double, double[], int, int, double[], int, int)} but only
+     * for rows row0 (inclusive) to row1 (exclusive)
+     */
+    protected static void add( int n, double[] A, int offsetA, int strideA, double beta,
+                               double[] B, int offsetB, int strideB, double[] C, int offsetC, int strideC,
+                               int row0, int row1 ) {
+        for (int i = row0; i < row1; i++) {
+            int indexA = offsetA + i*strideA;
+            int indexB = offsetB + i*strideB;
+            int indexC = offsetC + i*strideC;
+            int end = indexC + n;
+            while (indexC < end) {
+                C[indexC++] = A[indexA++] + beta*B[indexB++];
+            }
+        }
+    }
+
+    public int getCutoff() {
+        return cutoff;
+    }
+}
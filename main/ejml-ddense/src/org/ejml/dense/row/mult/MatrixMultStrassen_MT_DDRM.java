@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.row.mult;
+
+import org.ejml.EjmlParameters;
+import org.ejml.concurrency.EjmlConcurrency;
+import org.ejml.data.DGrowArray;
+import pabeles.concurrency.GrowArray;
+
+/**
+ * Concurrent implementation of {@link MatrixMultStrassen_DDRM}. The recursion follows the same memory efficient
+ * schedule and every step inside of it is split between threads. The additions are split by rows and the
+ * products at the bottom of the recursion use {@link MatrixMultPacked_MT_DDRM}. Running the 7 products at each
+ * level at the same time would need storage for each of their inputs and outputs, about 4 times as much memory.
+ *
+ * @author Peter Abeles
+ */
+public class MatrixMultStrassen_MT_DDRM extends MatrixMultStrassen_DDRM {
+    // Minimum number of elements processed by a thread
+    private static final int MIN_ELEMENTS = 20_000;
+
+    // Storage for packed matrix multiplication
+    private final GrowArray<DGrowArray> workA = new GrowArray<>(DGrowArray::new);
+    private final DGrowArray workB = new DGrowArray();
+
+    public MatrixMultStrassen_MT_DDRM( int cutoff ) {
+        super(cutoff);
+    }
+
+    public MatrixMultStrassen_MT_DDRM() {
+        this(EjmlParameters.MULT_STRASSEN_CUTOFF);
+    }
+
+    @Override
+    protected void gemm( int m, int n, int k,
+                         double[] A, int offsetA, int strideA,
+                         double[] B, int offsetB, int strideB,
+                         double beta, double[] C, int offsetC, int strideC ) {
+        MatrixMultPacked_MT_DDRM.gemm(m, n, k, 1.0, A, offsetA, strideA, false, B, offsetB, strideB, false,
+                beta, C, offsetC, strideC, workA, workB);
+    }
+
+    @Override
+    protected void add( int m, int n, double[] A, int offsetA, int strideA, double beta,
+                        double[] B, int offsetB, int strideB, double[] C, int offsetC, int strideC ) {
+        int minBlock = Math.max(1, MIN_ELEMENTS/Math.max(1, n));
+        if (m < 2*minBlock) {
+            add(n, A, offsetA, strideA, beta, B, offsetB, strideB, C, offsetC, strideC, 0, m);
+            return;
+        }
+        EjmlConcurrency.loopBlocks(0, m, minBlock, ( row0, row1 ) ->
+                add(n, A, offsetA, strideA, beta, B, offsetB, strideB, C, offsetC, strideC, row0, row1));
+    }
+}
@@ -23,6 +23,8 @@ import org.ejml.data.DMatrix1Row;
 import org.ejml.data.DMatrixD1;
 import org.ejml.data.DMatrixRMaj;
 import org.ejml.dense.row.CommonOps_DDRM;
+import org.ejml.simd.EjmlSimd;
+import org.ejml.simd.SimdKernels_F64;
 
 /**
  * <p>
@@ -78,6 +80,14 @@ public class MatrixVectorMult_DDRM {
             return;
         }
 
+        SimdKernels_F64 simd = EjmlSimd.getKernels_F64(A.numCols);
+        if (simd != null) {
+            for (int i = 0; i < A.numRows; i++) {
+                C.data[i] = simd.dot(A.data, i*A.numCols, B.data, 0, A.numCols);
+            }
+            return;
+        }
+
         int indexA = 0;
         int cIndex = 0;
         double b0 = B.get(0);
@@ -128,6 +138,14 @@ public class MatrixVectorMult_DDRM {
             return;
         }
 
+        SimdKernels_F64 simd = EjmlSimd.getKernels_F64(A.numCols);
+        if (simd != null) {
+            for (int i = 0; i < A.numRows; i++) {
+                C.data[i] += simd.dot(A.data, i*A.numCols, B.data, 0, A.numCols);
+            }
+            return;
+        }
+
         int indexA = 0;
         int cIndex = 0;
         for (int i = 0; i < A.numRows; i++) {
@@ -225,6 +243,14 @@ public class MatrixVectorMult_DDRM {
             C.set(i, A.get(i)*B_val);
         }
 
+        SimdKernels_F64 simd = EjmlSimd.getKernels_F64(A.numCols);
+        if (simd != null) {
+            for (int i = 1; i < A.numRows; i++) {
+                simd.axpy(B.data[i], A.data, i*A.numCols, C.data, 0, A.numCols);
+            }
+            return;
+        }
+
         int indexA = A.numCols;
         for (int i = 1; i < A.numRows; i++) {
             B_val = B.get(i);
@@ -307,6 +333,14 @@ public class MatrixVectorMult_DDRM {
         if (A.numCols != C.getNumElements())
             throw new MatrixDimensionException("C is not compatible with A");
 
+        SimdKernels_F64 simd = EjmlSimd.getKernels_F64(A.numCols);
+        if (simd != null) {
+            for (int j = 0; j < A.numRows; j++) {
+                simd.axpy(B.data[j], A.data, j*A.numCols, C.data, 0, A.numCols);
+            }
+            return;
+        }
+
         int indexA = 0;
         for (int j = 0; j < A.numRows; j++) {
             double B_val = B.get(j);
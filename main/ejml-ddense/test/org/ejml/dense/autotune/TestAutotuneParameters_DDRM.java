@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.autotune;
+
+import org.ejml.EjmlStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestAutotuneParameters_DDRM extends EjmlStandardJUnit {
+    @Test void selectCrossover() {
+        int[] sizes = {1, 2, 3, 4, 5};
+
+        // large is faster starting at 3
+        assertEquals(3, AutotuneParameters_DDRM.selectCrossover(sizes,
+                new double[]{1, 2, 3, 4, 5}, new double[]{2, 3, 2, 3, 4}));
+
+        // noise at 2 should be ignored since it's slower at 3
+        assertEquals(4, AutotuneParameters_DDRM.selectCrossover(sizes,
+                new double[]{1, 2, 3, 4, 5}, new double[]{2, 1, 4, 3, 4}));
+
+        // faster at the last size is good enough
+        assertEquals(5, AutotuneParameters_DDRM.selectCrossover(sizes,
+                new double[]{1, 2, 3, 4, 5}, new double[]{2, 3, 4, 5, 4}));
+
+        // never faster
+        assertEquals(6, AutotuneParameters_DDRM.selectCrossover(sizes,
+                new double[]{1, 2, 3, 4, 5}, new double[]{2, 3, 4, 5, 6}));
+    }
+
+    @Test void selectFastest() {
+        assertEquals(30, AutotuneParameters_DDRM.selectFastest(new int[]{10, 20, 30, 40},
+                new double[]{4, 3, 1, 2}));
+    }
+
+    @Test void limitSizes() {
+        var alg = new AutotuneParameters_DDRM();
+        alg.maxDecompositionSize = 250;
+        assertArrayEquals(new int[]{100, 200}, alg.limitSizes(new int[]{100, 200, 300}));
+
+        // always at least two sizes
+        alg.maxDecompositionSize = 50;
+        assertArrayEquals(new int[]{100, 200}, alg.limitSizes(new int[]{100, 200, 300}));
+    }
+
+    /**
+     * Makes sure a tuning function runs and returns something reasonable
+     */
+    @Test void tuneMultColumnSwitch() {
+        var alg = new AutotuneParameters_DDRM();
+        alg.minimumNanos = 100_000L;
+        alg.trials = 1;
+
+        int found = alg.tuneMultColumnSwitch();
+        assertTrue(found >= 2 && found <= 51);
+    }
+}
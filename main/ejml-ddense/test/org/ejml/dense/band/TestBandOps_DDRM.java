@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.band;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.EjmlUnitTests;
+import org.ejml.MatrixDimensionException;
+import org.ejml.UtilEjml;
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrixBand;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.CommonOps_DDRM;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.ejml.dense.row.SpecializedOps_DDRM;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestBandOps_DDRM extends EjmlStandardJUnit {
+    /**
+     * Creates a random band matrix. The diagonal is increased by 'diagonal'.
+     */
+    static DMatrixBand random( int N, int lower, int upper, double diagonal, Random rand ) {
+        var A = new DMatrixBand(N, lower, upper);
+        for (int row = 0; row < N; row++) {
+            int col0 = Math.max(0, row - lower);
+            int col1 = Math.min(N, row + upper + 1);
+            for (int col = col0; col < col1; col++) {
+                A.set(row, col, rand.nextDouble()*2.0 - 1.0);
+            }
+            A.set(row, row, A.get(row, row) + diagonal);
+        }
+        return A;
+    }
+
+    @Test void convert() {
+        DMatrixBand A = random(7, 2, 1, 0.0, rand);
+        DMatrixRMaj D = BandOps_DDRM.convert(A, null);
+        for (int row = 0; row < 7; row++) {
+            for (int col = 0; col < 7; col++) {
+                assertEquals(A.get(row, col), D.get(row, col));
+            }
+        }
+
+        // go back to a band matrix with a larger band
+        DMatrixBand B = BandOps_DDRM.convert(D, 3, 2, null);
+        assertEquals(3, B.lower);
+        assertEquals(2, B.upper);
+        for (int row = 0; row < 7; row++) {
+            for (int col = 0; col < 7; col++) {
+                assertEquals(A.get(row, col), B.get(row, col));
+            }
+        }
+
+        // elements outside the band are ignored
+        var C = new DMatrixBand(2, 0, 0);
+        assertSame(C, BandOps_DDRM.convert(D, 1, 0, C));
+        assertEquals(7, C.numRows);
+        assertEquals(0.0, C.get(0, 1));
+        assertEquals(D.get(1, 0), C.get(1, 0));
+    }
+
+    @Test void bandwidth() {
+        var A = new DMatrixRMaj(6, 6);
+        assertEquals(0, BandOps_DDRM.lowerBandwidth(A));
+        assertEquals(0, BandOps_DDRM.upperBandwidth(A));
+
+        A.set(2, 0, 1.0);
+        A.set(3, 2, 1.0);
+        A.set(1, 4, 1.0);
+        assertEquals(2, BandOps_DDRM.lowerBandwidth(A));
+        assertEquals(3, BandOps_DDRM.upperBandwidth(A));
+
+        A.set(5, 0, 1.0);
+        A.set(0, 5, 1.0);
+        assertEquals(5, BandOps_DDRM.lowerBandwidth(A));
+        assertEquals(5, BandOps_DDRM.upperBandwidth(A));
+    }
+
+    @Test void mult() {
+        for (int numCols : new int[]{1, 4}) {
+            DMatrixBand A = random(9, 2, 3, 0.0, rand);
+            DMatrixRMaj B = RandomMatrices_DDRM.rectangle(9, numCols, rand);
+            var found = new DMatrixRMaj(1, 1);
+            var expected = new DMatrixRMaj(9, numCols);
+
+            BandOps_DDRM.mult(A, B, found);
+            CommonOps_DDRM.mult(BandOps_DDRM.convert(A, null), B, expected);
+            EjmlUnitTests.assertEquals(expected, found, UtilEjml.TEST_F64);
+        }
+    }
+
+    @Test void multAdd() {
+        for (int numCols : new int[]{1, 4}) {
+            DMatrixBand A = random(9, 3, 0, 0.0, rand);
+            DMatrixRMaj B = RandomMatrices_DDRM.rectangle(9, numCols, rand);
+            DMatrixRMaj found = RandomMatrices_DDRM.rectangle(9, numCols, rand);
+            DMatrixRMaj expected = found.copy();
+
+            BandOps_DDRM.multAdd(A, B, found);
+            CommonOps_DDRM.multAdd(BandOps_DDRM.convert(A, null), B, expected);
+            EjmlUnitTests.assertEquals(expected, found, UtilEjml.TEST_F64);
+
+            assertThrows(MatrixDimensionException.class, () -> BandOps_DDRM.multAdd(A, B, new DMatrixRMaj(8, numCols)));
+        }
+    }
+
+    @Test void qualityDiagonal() {
+        DMatrixBand A = random(6, 1, 2, 2.0, rand);
+        double expected = SpecializedOps_DDRM.qualityTriangular(BandOps_DDRM.convert(A, null));
+        assertEquals(expected, BandOps_DDRM.qualityDiagonal(A), UtilEjml.TEST_F64);
+
+        A.set(3, 3, 0.0);
+        assertEquals(0.0, BandOps_DDRM.qualityDiagonal(A));
+    }
+
+    @Test void isDiagonallyDominant() {
+        var A = new DMatrixBand(3, 1, 1);
+        for (int i = 0; i < 3; i++) {
+            A.set(i, i, 2.0);
+            if (i > 0) A.set(i, i - 1, -1.0);
+            if (i < 2) A.set(i, i + 1, -1.0);
+        }
+        assertTrue(BandOps_DDRM.isDiagonallyDominant(A));
+
+        A.set(1, 1, 1.9);
+        assertFalse(BandOps_DDRM.isDiagonallyDominant(A));
+    }
+
+    @Test void solveTridiagonal() {
+        for (int numCols : new int[]{1, 3}) {
+            DMatrixBand A = random(10, 1, 1, 3.0, rand);
+            DMatrixRMaj B = RandomMatrices_DDRM.rectangle(10, numCols, rand);
+            var X = new DMatrixRMaj(1, 1);
+
+            assertTrue(BandOps_DDRM.solveTridiagonal(A, B, X, null));
+
+            var found = new DMatrixRMaj(10, numCols);
+            BandOps_DDRM.mult(A, X, found);
+            EjmlUnitTests.assertEquals(B, found, UtilEjml.TEST_F64);
+
+            // X and B are the same instance and work space is provided
+            DMatrixRMaj C = B.copy();
+            assertTrue(BandOps_DDRM.solveTridiagonal(A, C, C, new DGrowArray()));
+            EjmlUnitTests.assertEquals(X, C, UtilEjml.TEST_F64);
+        }
+    }
+
+    @Test void solveTridiagonal_zeroPivot() {
+        DMatrixBand A = random(5, 1, 1, 3.0, rand);
+        A.set(0, 0, 0.0);
+        assertFalse(BandOps_DDRM.solveTridiagonal(A, new DMatrixRMaj(5, 1), new DMatrixRMaj(5, 1), null));
+
+        assertThrows(IllegalArgumentException.class, () ->
+                BandOps_DDRM.solveTridiagonal(new DMatrixBand(5, 2, 1), new DMatrixRMaj(5, 1), new DMatrixRMaj(5, 1), null));
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.band;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.EjmlUnitTests;
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixBand;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.CommonOps_DDRM;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestCholeskyDecompositionBand_DDRM extends EjmlStandardJUnit {
+    /**
+     * Creates a symmetric positive definite band matrix with the same lower and upper bandwidth
+     */
+    DMatrixBand randomSPD( int N, int bandwidth ) {
+        DMatrixBand A = TestBandOps_DDRM.random(N, bandwidth, bandwidth, 2*bandwidth + 1, rand);
+        for (int row = 0; row < N; row++) {
+            for (int col = Math.max(0, row - bandwidth); col < row; col++) {
+                A.set(col, row, A.get(row, col));
+            }
+        }
+        return A;
+    }
+
+    @Test void decompose() {
+        for (int bandwidth = 0; bandwidth <= 4; bandwidth++) {
+            DMatrixBand A = randomSPD(11, bandwidth);
+
+            var alg = new CholeskyDecompositionBand_DDRM();
+            assertTrue(alg.decompose(A));
+            assertTrue(alg.isLower());
+            assertFalse(alg.inputModified());
+            assertEquals(bandwidth, alg.getT().lower);
+            assertEquals(0, alg.getT().upper);
+
+            // L*L^T = A
+            DMatrixRMaj L = BandOps_DDRM.convert(alg.getT(null), null);
+            var found = new DMatrixRMaj(1, 1);
+            CommonOps_DDRM.multTransB(L, L, found);
+            EjmlUnitTests.assertEquals(BandOps_DDRM.convert(A, null), found, UtilEjml.TEST_F64);
+
+            // storage is provided
+            var T = new DMatrixBand(2, 1, 1);
+            assertSame(T, alg.getT(T));
+            assertEquals(0, T.upper);
+        }
+    }
+
+    @Test void solve() {
+        for (int numCols : new int[]{1, 3}) {
+            DMatrixBand A = randomSPD(14, 3);
+            var alg = new CholeskyDecompositionBand_DDRM();
+            assertTrue(alg.decompose(A));
+
+            DMatrixRMaj B = RandomMatrices_DDRM.rectangle(14, numCols, rand);
+            var X = new DMatrixRMaj(1, 1);
+            alg.solve(B, X);
+
+            var found = new DMatrixRMaj(1, 1);
+            BandOps_DDRM.mult(A, X, found);
+            EjmlUnitTests.assertEquals(B, found, UtilEjml.TEST_F64);
+
+            alg.solve(B, B);
+            EjmlUnitTests.assertEquals(X, B, 0.0);
+        }
+    }
+
+    @Test void notPositiveDefinite() {
+        DMatrixBand A = randomSPD(6, 1);
+        A.set(3, 3, -1.0);
+        assertFalse(new CholeskyDecompositionBand_DDRM().decompose(A));
+    }
+
+    @Test void computeDeterminant() {
+        DMatrixBand A = randomSPD(8, 2);
+        var alg = new CholeskyDecompositionBand_DDRM();
+        assertTrue(alg.decompose(A));
+
+        double expected = CommonOps_DDRM.det(BandOps_DDRM.convert(A, null));
+        assertEquals(expected, alg.computeDeterminant().real, Math.abs(expected)*UtilEjml.TEST_F64);
+        assertEquals(0.0, alg.computeDeterminant().imaginary);
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.band;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.EjmlUnitTests;
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixBand;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.CommonOps_DDRM;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestLUDecompositionBand_DDRM extends EjmlStandardJUnit {
+    /**
+     * Solve a system and see if A*X = B
+     */
+    @Test void solve() {
+        for (boolean pivot : new boolean[]{true, false}) {
+            for (int lower = 0; lower <= 3; lower++) {
+                for (int upper = 0; upper <= 3; upper++) {
+                    // diagonally dominant so that pivoting isn't needed
+                    DMatrixBand A = TestBandOps_DDRM.random(12, lower, upper, lower + upper + 1, rand);
+                    checkSolve(new LUDecompositionBand_DDRM(pivot), A, 3);
+                }
+            }
+        }
+    }
+
+    /**
+     * The first pivot is zero, which can only be solved if rows are swapped
+     */
+    @Test void solve_pivotRequired() {
+        DMatrixBand A = TestBandOps_DDRM.random(10, 2, 1, 0.0, rand);
+        A.set(0, 0, 0.0);
+
+        checkSolve(new LUDecompositionBand_DDRM(true), A, 2);
+        assertFalse(new LUDecompositionBand_DDRM(false).decompose(A));
+    }
+
+    /**
+     * Compare against the dense decomposition on a matrix which isn't diagonally dominant
+     */
+    @Test void solve_random() {
+        for (int trial = 0; trial < 10; trial++) {
+            DMatrixBand A = TestBandOps_DDRM.random(15, 2, 3, 0.0, rand);
+            checkSolve(new LUDecompositionBand_DDRM(true), A, 1);
+        }
+    }
+
+    private void checkSolve( LUDecompositionBand_DDRM alg, DMatrixBand A, int numCols ) {
+        DMatrixBand original = A.copy();
+        assertTrue(alg.decompose(A));
+        assertFalse(alg.inputModified());
+        EjmlUnitTests.assertEquals(BandOps_DDRM.convert(original, null), BandOps_DDRM.convert(A, null), 0.0);
+
+        DMatrixRMaj B = RandomMatrices_DDRM.rectangle(A.numRows, numCols, rand);
+        var X = new DMatrixRMaj(1, 1);
+        alg.solve(B, X);
+
+        DMatrixRMaj D = BandOps_DDRM.convert(A, null);
+        var expected = new DMatrixRMaj(1, 1);
+        assertTrue(CommonOps_DDRM.solve(D, B, expected));
+        EjmlUnitTests.assertEquals(expected, X, UtilEjml.TEST_F64*100);
+
+        // B and X are the same instance
+        alg.solve(B, B);
+        EjmlUnitTests.assertEquals(X, B, 0.0);
+    }
+
+    @Test void computeDeterminant() {
+        DMatrixBand A = TestBandOps_DDRM.random(9, 2, 1, 0.0, rand);
+        double expected = CommonOps_DDRM.det(BandOps_DDRM.convert(A, null));
+
+        for (boolean pivot : new boolean[]{true, false}) {
+            var alg = new LUDecompositionBand_DDRM(pivot);
+            assertTrue(alg.decompose(A));
+            assertEquals(expected, alg.computeDeterminant().real, Math.abs(expected)*UtilEjml.TEST_F64*100);
+            assertEquals(0.0, alg.computeDeterminant().imaginary);
+        }
+    }
+
+    @Test void singular() {
+        // the last row is zero
+        var A = new DMatrixBand(5, 1, 1);
+        for (int i = 0; i < 4; i++) {
+            A.set(i, i, 2.0);
+            A.set(i, i + 1, 1.0);
+        }
+        assertFalse(new LUDecompositionBand_DDRM(true).decompose(A));
+    }
+
+    /**
+     * Without pivoting the bandwidth of the decomposition is the same as the input
+     */
+    @Test void bandwidth() {
+        DMatrixBand A = TestBandOps_DDRM.random(8, 2, 1, 5.0, rand);
+
+        var alg = new LUDecompositionBand_DDRM(false);
+        assertTrue(alg.decompose(A));
+        assertEquals(2, alg.getLU().lower);
+        assertEquals(1, alg.getLU().upper);
+
+        alg.setPivot(true);
+        assertTrue(alg.decompose(A));
+        assertEquals(2, alg.getLU().lower);
+        assertEquals(3, alg.getLU().upper);
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.band;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.EjmlUnitTests;
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixBand;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.CommonOps_DDRM;
+import org.ejml.dense.row.MatrixFeatures_DDRM;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.ejml.dense.row.factory.LinearSolverFactory_DDRM;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestLinearSolverBand_DDRM extends EjmlStandardJUnit {
+    @Test void selectDecomposition() {
+        // tridiagonal and diagonally dominant
+        DMatrixBand A = TestBandOps_DDRM.random(40, 1, 1, 3.0, rand);
+        var alg = new LinearSolverBand_DDRM(false);
+        checkSolve(alg, BandOps_DDRM.convert(A, null));
+        assertTrue(alg.isBand());
+        assertSame(alg.luNoPivot, alg.getDecomposition());
+        assertEquals(1, alg.getBand().lower);
+        assertEquals(1, alg.getBand().upper);
+
+        // needs pivoting
+        A = TestBandOps_DDRM.random(40, 2, 1, 0.0, rand);
+        checkSolve(alg, BandOps_DDRM.convert(A, null));
+        assertTrue(alg.isBand());
+        assertSame(alg.luPivot, alg.getDecomposition());
+        assertEquals(2, alg.getBand().lower);
+        assertEquals(1, alg.getBand().upper);
+        assertFalse(alg.modifiesA());
+
+        // the band is too wide
+        checkSolve(alg, RandomMatrices_DDRM.rectangle(40, 40, rand));
+        assertFalse(alg.isBand());
+        assertNotNull(alg.getDecomposition());
+    }
+
+    @Test void symmPosDef() {
+        var alg = LinearSolverFactory_DDRM.band(true);
+
+        DMatrixBand A = TestBandOps_DDRM.random(40, 2, 2, 5.0, rand);
+        DMatrixRMaj D = BandOps_DDRM.convert(A, null);
+        CommonOps_DDRM.symmLowerToFull(D);
+        checkSolve(alg, D);
+        assertTrue(alg.isBand());
+        assertSame(alg.chol, alg.getDecomposition());
+
+        // the band is too wide
+        checkSolve(alg, RandomMatrices_DDRM.symmetricPosDef(40, rand));
+        assertFalse(alg.isBand());
+
+        // not positive definite
+        D.set(10, 10, -1.0);
+        assertFalse(alg.setA(D));
+    }
+
+    /**
+     * Compares the quality against the dense solver
+     */
+    @Test void quality() {
+        DMatrixBand A = TestBandOps_DDRM.random(30, 1, 2, 0.0, rand);
+        DMatrixRMaj D = BandOps_DDRM.convert(A, null);
+
+        var alg = new LinearSolverBand_DDRM(false);
+        assertTrue(alg.setA(D));
+        var dense = LinearSolverFactory_DDRM.lu(30);
+        assertTrue(dense.setA(D.copy()));
+
+        assertEquals(dense.quality(), alg.quality(), UtilEjml.TEST_F64);
+    }
+
+    private void checkSolve( LinearSolverBand_DDRM alg, DMatrixRMaj A ) {
+        DMatrixRMaj original = A.copy();
+        assertTrue(alg.setA(A));
+        if (!alg.modifiesA())
+            EjmlUnitTests.assertEquals(original, A, 0.0);
+
+        DMatrixRMaj B = RandomMatrices_DDRM.rectangle(A.numRows, 2, rand);
+        var X = new DMatrixRMaj(1, 1);
+        alg.solve(B, X);
+
+        var found = new DMatrixRMaj(1, 1);
+        CommonOps_DDRM.mult(original, X, found);
+        EjmlUnitTests.assertEquals(B, found, UtilEjml.TEST_F64*100);
+
+        // check the default invert too
+        var inv = new DMatrixRMaj(A.numRows, A.numCols);
+        alg.invert(inv);
+        var I = new DMatrixRMaj(1, 1);
+        CommonOps_DDRM.mult(original, inv, I);
+        assertTrue(MatrixFeatures_DDRM.isIdentity(I, UtilEjml.TEST_F64*100));
+    }
+}
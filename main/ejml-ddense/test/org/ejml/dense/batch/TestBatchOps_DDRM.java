@@ -0,0 +1,278 @@
+/*
+ * Copyright (c) 2020, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.batch;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.EjmlUnitTests;
+import org.ejml.MatrixDimensionException;
+import org.ejml.UtilEjml;
+import org.ejml.data.BatchLayout;
+import org.ejml.data.DMatrixBatch;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.CommonOps_DDRM;
+import org.ejml.dense.row.MatrixFeatures_DDRM;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestBatchOps_DDRM extends EjmlStandardJUnit {
+    // Large enough that the batch is split into multiple chunks for small matrices
+    int batchSize = 300;
+
+    @Test void mult() {
+        for (BatchLayout layout : BatchLayout.values()) {
+            for (int[] shape : new int[][]{{1, 1, 1}, {3, 3, 3}, {2, 5, 4}, {7, 3, 6}}) {
+                List<DMatrixRMaj> listA = createList(shape[0], shape[2]);
+                List<DMatrixRMaj> listB = createList(shape[2], shape[1]);
+
+                DMatrixBatch A = createBatch(listA, layout);
+                DMatrixBatch B = createBatch(listB, layout);
+                var C = new DMatrixBatch(layout);
+                BatchOps_DDRM.mult(A, B, C);
+
+                assertTrue(C.isShape(batchSize, shape[0], shape[1]));
+                for (int i = 0; i < batchSize; i++) {
+                    DMatrixRMaj expected = CommonOps_DDRM.mult(listA.get(i), listB.get(i), null);
+                    EjmlUnitTests.assertEquals(expected, C.getMatrix(i, null), UtilEjml.TEST_F64);
+                }
+            }
+        }
+    }
+
+    @Test void mult_badInput() {
+        var A = new DMatrixBatch(5, 2, 3, BatchLayout.AOS);
+        assertThrows(IllegalArgumentException.class, () ->
+                BatchOps_DDRM.mult(A, new DMatrixBatch(5, 3, 2, BatchLayout.SOA), new DMatrixBatch(BatchLayout.AOS)));
+        assertThrows(MatrixDimensionException.class, () ->
+                BatchOps_DDRM.mult(A, new DMatrixBatch(5, 2, 2, BatchLayout.AOS), new DMatrixBatch(BatchLayout.AOS)));
+        assertThrows(MatrixDimensionException.class, () ->
+                BatchOps_DDRM.mult(A, new DMatrixBatch(4, 3, 2, BatchLayout.AOS), new DMatrixBatch(BatchLayout.AOS)));
+    }
+
+    @Test void cholesky() {
+        for (BatchLayout layout : BatchLayout.values()) {
+            for (int N : new int[]{1, 2, 3, 5, 8}) {
+                List<DMatrixRMaj> list = new ArrayList<>();
+                for (int i = 0; i < batchSize; i++) {
+                    list.add(RandomMatrices_DDRM.symmetricPosDef(N, rand));
+                }
+                // make one of them not positive definite
+                CommonOps_DDRM.scale(-1.0, list.get(7));
+
+                DMatrixBatch A = createBatch(list, layout);
+                var valid = new boolean[batchSize];
+                assertFalse(BatchOps_DDRM.cholesky(A, valid));
+
+                for (int i = 0; i < batchSize; i++) {
+                    assertEquals(i != 7, valid[i]);
+                    if (i == 7)
+                        continue;
+                    DMatrixRMaj L = A.getMatrix(i, null);
+                    assertTrue(MatrixFeatures_DDRM.isLowerTriangle(L, 0, 0.0));
+                    DMatrixRMaj found = CommonOps_DDRM.multTransB(L, L, null);
+                    EjmlUnitTests.assertEquals(list.get(i), found, UtilEjml.TEST_F64);
+                }
+
+                // all of them are positive definite
+                CommonOps_DDRM.scale(-1.0, list.get(7));
+                assertTrue(BatchOps_DDRM.cholesky(createBatch(list, layout), null));
+            }
+        }
+    }
+
+    @Test void solveCholesky() {
+        for (BatchLayout layout : BatchLayout.values()) {
+            for (int N : new int[]{1, 3, 6}) {
+                List<DMatrixRMaj> listA = new ArrayList<>();
+                for (int i = 0; i < batchSize; i++) {
+                    listA.add(RandomMatrices_DDRM.symmetricPosDef(N, rand));
+                }
+                List<DMatrixRMaj> listB = createList(N, 2);
+
+                DMatrixBatch L = createBatch(listA, layout);
+                DMatrixBatch B = createBatch(listB, layout);
+                assertTrue(BatchOps_DDRM.cholesky(L, null));
+
+                var X = new DMatrixBatch(layout);
+                BatchOps_DDRM.solveCholesky(L, B, X);
+                checkSolution(listA, listB, X);
+
+                // solve in place
+                BatchOps_DDRM.solveCholesky(L, B, B);
+                checkSolution(listA, listB, B);
+            }
+        }
+    }
+
+    @Test void lu() {
+        for (BatchLayout layout : BatchLayout.values()) {
+            for (int N : new int[]{1, 2, 4, 7}) {
+                List<DMatrixRMaj> list = createList(N, N);
+                // make one of them singular
+                list.get(5).zero();
+
+                DMatrixBatch A = createBatch(list, layout);
+                var pivots = new int[batchSize*N];
+                var valid = new boolean[batchSize];
+                assertFalse(BatchOps_DDRM.lu(A, pivots, valid));
+
+                for (int i = 0; i < batchSize; i++) {
+                    assertEquals(i != 5, valid[i]);
+                    if (i == 5)
+                        continue;
+                    DMatrixRMaj LU = A.getMatrix(i, null);
+                    var L = new DMatrixRMaj(N, N);
+                    var U = new DMatrixRMaj(N, N);
+                    for (int row = 0; row < N; row++) {
+                        for (int col = 0; col < N; col++) {
+                            if (row > col)
+                                L.set(row, col, LU.get(row, col));
+                            else
+                                U.set(row, col, LU.get(row, col));
+                        }
+                        L.set(row, row, 1.0);
+                    }
+
+                    // apply the row swaps to the original matrix
+                    DMatrixRMaj PA = list.get(i).copy();
+                    for (int k = 0; k < N; k++) {
+                        int p = pivots[i*N + k];
+                        assertTrue(p >= k && p < N);
+                        for (int col = 0; col < N; col++) {
+                            double tmp = PA.get(k, col);
+                            PA.set(k, col, PA.get(p, col));
+                            PA.set(p, col, tmp);
+                        }
+                    }
+                    EjmlUnitTests.assertEquals(PA, CommonOps_DDRM.mult(L, U, null), UtilEjml.TEST_F64);
+                }
+            }
+        }
+    }
+
+    @Test void solveLU() {
+        for (BatchLayout layout : BatchLayout.values()) {
+            for (int N : new int[]{1, 3, 6}) {
+                List<DMatrixRMaj> listA = createList(N, N);
+                List<DMatrixRMaj> listB = createList(N, 3);
+
+                DMatrixBatch LU = createBatch(listA, layout);
+                DMatrixBatch B = createBatch(listB, layout);
+                var pivots = new int[batchSize*N];
+                assertTrue(BatchOps_DDRM.lu(LU, pivots, null));
+
+                var X = new DMatrixBatch(layout);
+                BatchOps_DDRM.solveLU(LU, pivots, B, X);
+                checkSolution(listA, listB, X);
+            }
+        }
+    }
+
+    @Test void solve() {
+        for (BatchLayout layout : BatchLayout.values()) {
+            for (int N : new int[]{1, 2, 3, 5, 9}) {
+                List<DMatrixRMaj> listA = createList(N, N);
+                List<DMatrixRMaj> listB = createList(N, 1);
+
+                DMatrixBatch A = createBatch(listA, layout);
+                DMatrixBatch B = createBatch(listB, layout);
+                DMatrixBatch A_copy = A.copy();
+
+                var X = new DMatrixBatch(layout);
+                var valid = new boolean[batchSize];
+                assertTrue(BatchOps_DDRM.solve(A, B, X, valid));
+                checkSolution(listA, listB, X);
+                for (int i = 0; i < batchSize; i++) {
+                    assertTrue(valid[i]);
+                }
+
+                // A should not be modified
+                assertArrayEquals(A_copy.data, A.data, 0.0);
+
+                // Singular matrix
+                A.setMatrix(2, new DMatrixRMaj(N, N));
+                assertFalse(BatchOps_DDRM.solve(A, B, X, valid));
+                assertFalse(valid[2]);
+                assertTrue(valid[3]);
+            }
+        }
+    }
+
+    @Test void invert() {
+        for (BatchLayout layout : BatchLayout.values()) {
+            // 2 to 4 are handled by special code
+            for (int N : new int[]{1, 2, 3, 4, 7}) {
+                List<DMatrixRMaj> list = createList(N, N);
+                list.get(9).zero();
+
+                DMatrixBatch A = createBatch(list, layout);
+                var Ainv = new DMatrixBatch(layout);
+                var valid = new boolean[batchSize];
+                assertFalse(BatchOps_DDRM.invert(A, Ainv, valid));
+
+                for (int i = 0; i < batchSize; i++) {
+                    assertEquals(i != 9, valid[i]);
+                    if (i == 9)
+                        continue;
+                    DMatrixRMaj expected = list.get(i).copy();
+                    CommonOps_DDRM.invert(expected);
+                    EjmlUnitTests.assertEquals(expected, Ainv.getMatrix(i, null), UtilEjml.TEST_F64);
+                }
+
+                // in place
+                assertFalse(BatchOps_DDRM.invert(A, A, null));
+                for (int i = 0; i < batchSize; i++) {
+                    if (i != 9)
+                        EjmlUnitTests.assertEquals(Ainv.getMatrix(i, null), A.getMatrix(i, null), 0.0);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks to see if A*X = B for every matrix
+     */
+    void checkSolution( List<DMatrixRMaj> listA, List<DMatrixRMaj> listB, DMatrixBatch X ) {
+        assertTrue(X.isShape(batchSize, listB.get(0).numRows, listB.get(0).numCols));
+        for (int i = 0; i < batchSize; i++) {
+            DMatrixRMaj found = CommonOps_DDRM.mult(listA.get(i), X.getMatrix(i, null), null);
+            EjmlUnitTests.assertEquals(listB.get(i), found, UtilEjml.TEST_F64);
+        }
+    }
+
+    List<DMatrixRMaj> createList( int numRows, int numCols ) {
+        List<DMatrixRMaj> list = new ArrayList<>();
+        for (int i = 0; i < batchSize; i++) {
+            list.add(RandomMatrices_DDRM.rectangle(numRows, numCols, -1, 1, rand));
+        }
+        return list;
+    }
+
+    static DMatrixBatch createBatch( List<DMatrixRMaj> list, BatchLayout layout ) {
+        DMatrixRMaj first = list.get(0);
+        var batch = new DMatrixBatch(list.size(), first.numRows, first.numCols, layout);
+        for (int i = 0; i < list.size(); i++) {
+            batch.setMatrix(i, list.get(i));
+        }
+        return batch;
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2020, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.batch;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.concurrency.EjmlConcurrency;
+import org.ejml.data.BatchLayout;
+import org.ejml.data.DMatrixBatch;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.CommonOps_DDRM;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the concurrent implementation against the single threaded one, which should produce identical
+ * results since each matrix is processed the same way
+ */
+public class TestBatchOps_MT_DDRM extends EjmlStandardJUnit {
+    int batchSize = 1000;
+    int originalThreads;
+
+    @BeforeEach void setThreads() {
+        originalThreads = EjmlConcurrency.getMaxThreads();
+        EjmlConcurrency.setMaxThreads(4);
+    }
+
+    @AfterEach void restoreThreads() {
+        EjmlConcurrency.setMaxThreads(originalThreads);
+    }
+
+    @Test void mult() {
+        for (BatchLayout layout : BatchLayout.values()) {
+            DMatrixBatch A = random(4, 3, layout);
+            DMatrixBatch B = random(3, 5, layout);
+            var expected = new DMatrixBatch(layout);
+            var found = new DMatrixBatch(layout);
+
+            BatchOps_DDRM.mult(A, B, expected);
+            BatchOps_MT_DDRM.mult(A, B, found);
+            assertBatchEquals(expected, found);
+        }
+    }
+
+    @Test void cholesky() {
+        for (BatchLayout layout : BatchLayout.values()) {
+            var A = new DMatrixBatch(batchSize, 5, 5, layout);
+            for (int i = 0; i < batchSize; i++) {
+                A.setMatrix(i, RandomMatrices_DDRM.symmetricPosDef(5, rand));
+            }
+            DMatrixRMaj negative = A.getMatrix(600, null);
+            CommonOps_DDRM.scale(-1.0, negative);
+            A.setMatrix(600, negative);
+            DMatrixBatch found = A.copy();
+
+            var validExpected = new boolean[batchSize];
+            var validFound = new boolean[batchSize];
+            assertFalse(BatchOps_DDRM.cholesky(A, validExpected));
+            assertFalse(BatchOps_MT_DDRM.cholesky(found, validFound));
+            assertBatchEquals(A, found);
+            assertArrayEquals(validExpected, validFound);
+
+            DMatrixBatch B = random(5, 2, layout);
+            var X_expected = new DMatrixBatch(layout);
+            var X_found = new DMatrixBatch(layout);
+            BatchOps_DDRM.solveCholesky(A, B, X_expected);
+            BatchOps_MT_DDRM.solveCholesky(A, B, X_found);
+            assertBatchEquals(X_expected, X_found);
+        }
+    }
+
+    @Test void lu() {
+        for (BatchLayout layout : BatchLayout.values()) {
+            DMatrixBatch A = random(6, 6, layout);
+            A.setMatrix(10, new DMatrixRMaj(6, 6));
+            DMatrixBatch found = A.copy();
+
+            var pivotsExpected = new int[batchSize*6];
+            var pivotsFound = new int[batchSize*6];
+            var validExpected = new boolean[batchSize];
+            var validFound = new boolean[batchSize];
+            assertFalse(BatchOps_DDRM.lu(A, pivotsExpected, validExpected));
+            assertFalse(BatchOps_MT_DDRM.lu(found, pivotsFound, validFound));
+            assertBatchEquals(A, found);
+            assertArrayEquals(pivotsExpected, pivotsFound);
+            assertArrayEquals(validExpected, validFound);
+
+            DMatrixBatch B = random(6, 3, layout);
+            var X_expected = new DMatrixBatch(layout);
+            var X_found = new DMatrixBatch(layout);
+            BatchOps_DDRM.solveLU(A, pivotsExpected, B, X_expected);
+            BatchOps_MT_DDRM.solveLU(A, pivotsExpected, B, X_found);
+            assertBatchEquals(X_expected, X_found);
+        }
+    }
+
+    @Test void solve() {
+        for (BatchLayout layout : BatchLayout.values()) {
+            DMatrixBatch A = random(4, 4, layout);
+            DMatrixBatch B = random(4, 1, layout);
+            var expected = new DMatrixBatch(layout);
+            var found = new DMatrixBatch(layout);
+
+            assertTrue(BatchOps_DDRM.solve(A, B, expected, null));
+            assertTrue(BatchOps_MT_DDRM.solve(A, B, found, null));
+            assertBatchEquals(expected, found);
+        }
+    }
+
+    @Test void invert() {
+        for (BatchLayout layout : BatchLayout.values()) {
+            for (int N : new int[]{3, 4, 5}) {
+                DMatrixBatch A = random(N, N, layout);
+                var expected = new DMatrixBatch(layout);
+                var found = new DMatrixBatch(layout);
+
+                assertTrue(BatchOps_DDRM.invert(A, expected, null));
+                assertTrue(BatchOps_MT_DDRM.invert(A, found, null));
+                assertBatchEquals(expected, found);
+            }
+        }
+    }
+
+    DMatrixBatch random( int numRows, int numCols, BatchLayout layout ) {
+        var batch = new DMatrixBatch(batchSize, numRows, numCols, layout);
+        for (int i = 0; i < batch.getDataLength(); i++) {
+            batch.data[i] = rand.nextDouble()*2.0 - 1.0;
+        }
+        return batch;
+    }
+
+    static void assertBatchEquals( DMatrixBatch expected, DMatrixBatch found ) {
+        assertTrue(found.isShape(expected.size, expected.numRows, expected.numCols));
+        for (int i = 0; i < expected.getDataLength(); i++) {
+            assertEquals(expected.data[i], found.data[i], 0.0);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.block.decomposition.chol;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.UtilEjml;
+import org.ejml.concurrency.EjmlConcurrency;
+import org.ejml.data.DMatrixRBlock;
+import org.ejml.dense.block.MatrixOps_DDRB;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.ejml.generic.GenericMatrixOps_F64;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestCholeskyOuterFormDag_MT_DDRB extends EjmlStandardJUnit {
+	// size of a block
+	int bl = 5;
+	int originalThreads;
+
+	@BeforeEach void setThreads() {
+		originalThreads = EjmlConcurrency.getMaxThreads();
+		EjmlConcurrency.setMaxThreads(4);
+	}
+
+	@AfterEach void restoreThreads() {
+		EjmlConcurrency.setMaxThreads(originalThreads);
+	}
+
+	@Test void compareToSingle() {
+		compareToSingle(true);
+		compareToSingle(false);
+	}
+
+	void compareToSingle( boolean lower ) {
+		// test against various different sizes
+		for (int N = 1; N <= 41; N += 4) {
+			DMatrixRBlock A = MatrixOps_DDRB.convert(RandomMatrices_DDRM.symmetricPosDef(N, rand), bl);
+			DMatrixRBlock B = A.copy();
+
+			var single = new CholeskyOuterForm_DDRB(lower);
+			var alg = new CholeskyOuterFormDag_MT_DDRB(lower);
+
+			assertTrue(single.decompose(A));
+			assertTrue(alg.decompose(B));
+
+			assertTrue(GenericMatrixOps_F64.isEquivalent(single.getT(null), alg.getT(null), UtilEjml.TEST_F64));
+			assertEquals(single.computeDeterminant().real, alg.computeDeterminant().real,
+					Math.abs(single.computeDeterminant().real)*UtilEjml.TEST_F64);
+		}
+	}
+
+	/**
+	 * The matrix is not positive definite in the last block
+	 */
+	@Test void notPositiveDefinite() {
+		for (boolean lower : new boolean[]{true, false}) {
+			DMatrixRBlock A = MatrixOps_DDRB.convert(RandomMatrices_DDRM.symmetricPosDef(23, rand), bl);
+			A.set(21, 21, -1000);
+
+			assertFalse(new CholeskyOuterFormDag_MT_DDRB(lower).decompose(A));
+		}
+	}
+}
@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) 2020, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.fixed;
+
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrix;
+import org.ejml.data.DMatrixFixed;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.CommonOps_DDRM;
+import org.ejml.dense.row.MatrixFeatures_DDRM;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.ejml.dense.row.SingularOps_DDRM;
+import org.ejml.dense.row.factory.DecompositionFactory_DDRM;
+import org.ejml.ops.DConvertMatrixStruct;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the decompositions in DecompositionOps_DDF by converting to and from DMatrixRMaj and checking the
+ * results against their definitions
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings("rawtypes")
+public abstract class CompareFixedToDecompositions_DDRM extends CompareFixed_DDRM {
+
+    protected CompareFixedToDecompositions_DDRM( Class classFixed ) {
+        super(classFixed, DecompositionFactory_DDRM.class);
+    }
+
+    @Test
+    public void solveCholL() {
+        DMatrixRMaj A = RandomMatrices_DDRM.symmetricPosDef(N, rand);
+        DMatrixRMaj b = RandomMatrices_DDRM.rectangle(N, 1, rand);
+
+        DMatrixFixed L = toFixed(A);
+        assertTrue((Boolean)invoke(commonOps(), "cholL", L));
+
+        DMatrixFixed x = vector();
+        invoke(classFixed, "solveCholL", L, toFixedVector(b), x);
+        checkSolution(A, b, toDense(x));
+
+        // b and x are the same instance
+        x = toFixedVector(b);
+        invoke(classFixed, "solveCholL", L, x, x);
+        checkSolution(A, b, toDense(x));
+    }
+
+    @Test
+    public void lu() {
+        var pivots = new int[N];
+        for (int trial = 0; trial < 10; trial++) {
+            DMatrixRMaj A = RandomMatrices_DDRM.rectangle(N, N, -1, 1, rand);
+            DMatrixFixed LU = toFixed(A);
+            assertTrue((Boolean)invoke(classFixed, "lu", LU, pivots));
+
+            DMatrixRMaj found = toDense(LU);
+            var L = new DMatrixRMaj(N, N);
+            var U = new DMatrixRMaj(N, N);
+            for (int row = 0; row < N; row++) {
+                for (int col = 0; col < N; col++) {
+                    if (row > col)
+                        L.set(row, col, found.get(row, col));
+                    else
+                        U.set(row, col, found.get(row, col));
+                }
+                L.set(row, row, 1.0);
+            }
+
+            // P*A = L*U
+            DMatrixRMaj PA = A.copy();
+            for (int k = 0; k < N; k++) {
+                int p = pivots[k];
+                assertTrue(p >= k && p < N);
+                for (int col = 0; col < N; col++) {
+                    double tmp = PA.get(k, col);
+                    PA.set(k, col, PA.get(p, col));
+                    PA.set(p, col, tmp);
+                }
+            }
+            assertTrue(MatrixFeatures_DDRM.isIdentical(PA, CommonOps_DDRM.mult(L, U, null), UtilEjml.TEST_F64));
+        }
+
+        // singular matrix
+        assertFalse((Boolean)invoke(classFixed, "lu", toFixed(new DMatrixRMaj(N, N)), pivots));
+    }
+
+    @Test
+    public void solveLU() {
+        var pivots = new int[N];
+        for (int trial = 0; trial < 10; trial++) {
+            DMatrixRMaj A = RandomMatrices_DDRM.rectangle(N, N, -1, 1, rand);
+            DMatrixRMaj b = RandomMatrices_DDRM.rectangle(N, 1, -1, 1, rand);
+
+            DMatrixFixed LU = toFixed(A);
+            assertTrue((Boolean)invoke(classFixed, "lu", LU, pivots));
+
+            DMatrixFixed x = vector();
+            invoke(classFixed, "solveLU", LU, pivots, toFixedVector(b), x);
+            checkSolution(A, b, toDense(x));
+
+            x = toFixedVector(b);
+            invoke(classFixed, "solveLU", LU, pivots, x, x);
+            checkSolution(A, b, toDense(x));
+        }
+    }
+
+    @Test
+    public void qr() {
+        for (int trial = 0; trial < 10; trial++) {
+            DMatrixRMaj A = RandomMatrices_DDRM.rectangle(N, N, -1, 1, rand);
+            // make a column zero to test that special case
+            if (trial == 1) {
+                for (int row = 0; row < N; row++) {
+                    A.set(row, 0, 0.0);
+                }
+            }
+
+            DMatrixFixed Q = matrix();
+            DMatrixFixed R = matrix();
+            invoke(classFixed, "qr", toFixed(A), Q, R);
+
+            DMatrixRMaj denseQ = toDense(Q);
+            DMatrixRMaj denseR = toDense(R);
+            assertTrue(MatrixFeatures_DDRM.isOrthogonal(denseQ, UtilEjml.TEST_F64));
+            assertTrue(MatrixFeatures_DDRM.isUpperTriangle(denseR, 0, 0.0));
+            assertTrue(MatrixFeatures_DDRM.isIdentical(A, CommonOps_DDRM.mult(denseQ, denseR, null), UtilEjml.TEST_F64));
+
+            // A and R are the same instance
+            DMatrixFixed AR = toFixed(A);
+            invoke(classFixed, "qr", AR, Q, AR);
+            assertTrue(MatrixFeatures_DDRM.isIdentical(denseR, toDense(AR), UtilEjml.TEST_F64));
+        }
+    }
+
+    @Test
+    public void eigenSymm() {
+        for (int trial = 0; trial < 10; trial++) {
+            DMatrixRMaj A = RandomMatrices_DDRM.symmetric(N, -1, 1, rand);
+            checkEigenSymm(A);
+        }
+
+        // repeated eigenvalues
+        double[] values = new double[N];
+        Arrays.fill(values, 2.0);
+        values[0] = -1.0;
+        checkEigenSymm(RandomMatrices_DDRM.symmetricWithEigenvalues(N, rand, values));
+
+        // already diagonal
+        checkEigenSymm(CommonOps_DDRM.diag(values));
+    }
+
+    void checkEigenSymm( DMatrixRMaj A ) {
+        DMatrixFixed values = vector();
+        DMatrixFixed vectors = matrix();
+        assertTrue((Boolean)invoke(classFixed, "eigenSymm", toFixed(A), values, vectors));
+        checkEigenSymm(A, toDense(values), toDense(vectors));
+    }
+
+    static void checkEigenSymm( DMatrixRMaj A, DMatrixRMaj values, DMatrixRMaj V ) {
+        assertTrue(MatrixFeatures_DDRM.isOrthogonal(V, UtilEjml.TEST_F64));
+        // A*V = V*D
+        DMatrixRMaj AV = CommonOps_DDRM.mult(A, V, null);
+        DMatrixRMaj VD = CommonOps_DDRM.mult(V, CommonOps_DDRM.diag(values.data), null);
+        assertTrue(MatrixFeatures_DDRM.isIdentical(AV, VD, UtilEjml.TEST_F64));
+    }
+
+    @Test
+    public void svd() {
+        for (int trial = 0; trial < 10; trial++) {
+            DMatrixRMaj A = RandomMatrices_DDRM.rectangle(N, N, -1, 1, rand);
+            checkSvd(A, true);
+        }
+
+        // rank deficient. Columns in U for zero singular values are zero
+        double[] sv = new double[N];
+        sv[0] = 2.0;
+        checkSvd(RandomMatrices_DDRM.singular(N, N, rand, sv), false);
+    }
+
+    void checkSvd( DMatrixRMaj A, boolean fullRank ) {
+        DMatrixFixed U = matrix();
+        DMatrixFixed W = vector();
+        DMatrixFixed V = matrix();
+        assertTrue((Boolean)invoke(classFixed, "svd", toFixed(A), U, W, V));
+
+        DMatrixRMaj denseU = toDense(U);
+        DMatrixRMaj denseW = toDense(W);
+        DMatrixRMaj denseV = toDense(V);
+        if (fullRank)
+            assertTrue(MatrixFeatures_DDRM.isOrthogonal(denseU, UtilEjml.TEST_F64));
+        assertTrue(MatrixFeatures_DDRM.isOrthogonal(denseV, UtilEjml.TEST_F64));
+
+        DMatrixRMaj found = CommonOps_DDRM.multTransB(
+                CommonOps_DDRM.mult(denseU, CommonOps_DDRM.diag(denseW.data), null), denseV, null);
+        assertTrue(MatrixFeatures_DDRM.isIdentical(A, found, UtilEjml.TEST_F64));
+
+        double[] expected = SingularOps_DDRM.singularValues(A);
+        double[] foundValues = denseW.data.clone();
+        Arrays.sort(expected);
+        Arrays.sort(foundValues);
+        assertArrayEquals(expected, foundValues, UtilEjml.TEST_F64);
+    }
+
+    static void checkSolution( DMatrixRMaj A, DMatrixRMaj b, DMatrixRMaj x ) {
+        DMatrixRMaj found = CommonOps_DDRM.mult(A, x, null);
+        assertTrue(MatrixFeatures_DDRM.isIdentical(b, found, UtilEjml.TEST_F64));
+    }
+
+    protected Object invoke( Class owner, String name, Object... args ) {
+        try {
+            for (Method m : owner.getMethods()) {
+                if (m.getName().equals(name) && m.getParameterCount() == args.length &&
+                        (args.length == 0 || m.getParameterTypes()[0].isInstance(args[0])))
+                    return m.invoke(null, args);
+            }
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new RuntimeException(e);
+        }
+        return fail("Method not found: " + name);
+    }
+
+    protected Class commonOps() {
+        try {
+            // Derived from a class reference so that the generated single precision tests look up the right class
+            String name = CommonOps_DDF2.class.getName();
+            return Class.forName(name.substring(0, name.length() - 1) + N);
+        } catch (ClassNotFoundException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    protected DMatrixFixed matrix() {
+        return create("org.ejml.data.DMatrix" + N + "x" + N);
+    }
+
+    protected DMatrixFixed vector() {
+        return create("org.ejml.data.DMatrix" + N);
+    }
+
+    private static DMatrixFixed create( String name ) {
+        try {
+            return (DMatrixFixed)Class.forName(name).getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    protected DMatrixFixed toFixed( DMatrixRMaj A ) {
+        DMatrixFixed found = matrix();
+        DConvertMatrixStruct.convert(A, found);
+        return found;
+    }
+
+    protected DMatrixFixed toFixedVector( DMatrixRMaj a ) {
+        DMatrixFixed found = vector();
+        DConvertMatrixStruct.convert(a, found);
+        return found;
+    }
+
+    protected static DMatrixRMaj toDense( DMatrix A ) {
+        var found = new DMatrixRMaj(A.getNumRows(), A.getNumCols());
+        DConvertMatrixStruct.convert(A, found);
+        return found;
+    }
+}
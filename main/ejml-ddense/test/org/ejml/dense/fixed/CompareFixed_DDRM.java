@@ -46,8 +46,12 @@ public class CompareFixed_DDRM extends EjmlStandardJUnit {
         this.classFixed = classFixed;
         this.classDense = classDense;
 
+        // the dimension is the number at the end of the class name
         String name = classFixed.getName();
-        N = Integer.parseInt(name.charAt(name.length()-1)+"");
+        int start = name.length();
+        while( Character.isDigit(name.charAt(start-1)) )
+            start--;
+        N = Integer.parseInt(name.substring(start));
     }
 
     /**
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2020, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.fixed;
+
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrix3;
+import org.ejml.data.DMatrix3x3;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestDecompositionOps_DDF3 extends CompareFixedToDecompositions_DDRM {
+    public TestDecompositionOps_DDF3() {
+        super(DecompositionOps_DDF3.class);
+    }
+
+    @Test void eigenvaluesSymm() {
+        for (int trial = 0; trial < 20; trial++) {
+            DMatrixRMaj A = RandomMatrices_DDRM.symmetric(3, -1, 1, rand);
+            var fixedA = (DMatrix3x3)toFixed(A);
+
+            var expected = new DMatrix3();
+            assertTrue(DecompositionOps_DDF3.eigenSymm(fixedA, expected, new DMatrix3x3()));
+            double[] sorted = new double[]{expected.a1, expected.a2, expected.a3};
+            Arrays.sort(sorted);
+
+            var found = new DMatrix3();
+            DecompositionOps_DDF3.eigenvaluesSymm(fixedA, found);
+            assertEquals(sorted[2], found.a1, UtilEjml.TEST_F64);
+            assertEquals(sorted[1], found.a2, UtilEjml.TEST_F64);
+            assertEquals(sorted[0], found.a3, UtilEjml.TEST_F64);
+        }
+
+        // All the eigenvalues are the same and large
+        var found = new DMatrix3();
+        DecompositionOps_DDF3.eigenvaluesSymm(new DMatrix3x3(1e30, 0, 0, 0, 1e30, 0, 0, 0, 1e30), found);
+        assertEquals(1.0, found.a1/1e30, UtilEjml.TEST_F64);
+        assertEquals(1.0, found.a2/1e30, UtilEjml.TEST_F64);
+        assertEquals(1.0, found.a3/1e30, UtilEjml.TEST_F64);
+
+        DecompositionOps_DDF3.eigenvaluesSymm(new DMatrix3x3(), found);
+        assertEquals(0.0, found.a1);
+        assertEquals(0.0, found.a3);
+    }
+
+    @Test void eigenSymmAnalytic() {
+        for (int trial = 0; trial < 20; trial++) {
+            checkAnalytic(RandomMatrices_DDRM.symmetric(3, -1, 1, rand));
+        }
+
+        // repeated eigenvalues will use the iterative algorithm
+        checkAnalytic(RandomMatrices_DDRM.symmetricWithEigenvalues(3, rand, 2.0, 2.0, -1.0));
+        checkAnalytic(RandomMatrices_DDRM.symmetricWithEigenvalues(3, rand, 1.0, -1.0, -1.0));
+        checkAnalytic(new DMatrixRMaj(3, 3));
+    }
+
+    void checkAnalytic( DMatrixRMaj A ) {
+        var values = new DMatrix3();
+        var vectors = new DMatrix3x3();
+        assertTrue(DecompositionOps_DDF3.eigenSymmAnalytic((DMatrix3x3)toFixed(A), values, vectors));
+        checkEigenSymm(A, toDense(values), toDense(vectors));
+    }
+}
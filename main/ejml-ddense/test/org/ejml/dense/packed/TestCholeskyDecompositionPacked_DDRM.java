@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.packed;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.EjmlUnitTests;
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixPacked;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.PackedShape;
+import org.ejml.dense.row.CommonOps_DDRM;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestCholeskyDecompositionPacked_DDRM extends EjmlStandardJUnit {
+    @Test void decompose() {
+        DMatrixRMaj A = RandomMatrices_DDRM.symmetricPosDef(7, rand);
+        DMatrixPacked P = PackedOps_DDRM.convert(A, PackedShape.SYMMETRIC, null);
+
+        var alg = new CholeskyDecompositionPacked_DDRM();
+        assertTrue(alg.decompose(P));
+        assertTrue(alg.isLower());
+        assertTrue(alg.inputModified());
+        assertSame(P, alg.getT());
+
+        // L*L^T = A
+        DMatrixRMaj L = PackedOps_DDRM.convert(alg.getT(null), null);
+        var found = new DMatrixRMaj(7, 7);
+        CommonOps_DDRM.multTransB(L, L, found);
+        EjmlUnitTests.assertEquals(A, found, UtilEjml.TEST_F64);
+
+        // storage is provided
+        var T = new DMatrixPacked(2);
+        assertSame(T, alg.getT(T));
+        assertSame(PackedShape.LOWER, T.shape);
+        assertArrayEquals(P.data, T.data, 0.0);
+    }
+
+    @Test void computeDeterminant() {
+        DMatrixRMaj A = RandomMatrices_DDRM.symmetricPosDef(6, rand);
+        var alg = new CholeskyDecompositionPacked_DDRM();
+        assertTrue(alg.decompose(PackedOps_DDRM.convert(A, PackedShape.SYMMETRIC, null)));
+
+        double expected = CommonOps_DDRM.det(A);
+        assertEquals(expected, alg.computeDeterminant().real, Math.abs(expected)*UtilEjml.TEST_F64);
+        assertEquals(0.0, alg.computeDeterminant().imaginary);
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.packed;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.EjmlUnitTests;
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixPacked;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.PackedShape;
+import org.ejml.dense.row.CommonOps_DDRM;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.ejml.dense.row.SpecializedOps_DDRM;
+import org.ejml.dense.row.decomposition.chol.CholeskyDecompositionInner_DDRM;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestLinearSolverCholPacked_DDRM extends EjmlStandardJUnit {
+    @Test void solve() {
+        DMatrixRMaj A = RandomMatrices_DDRM.symmetricPosDef(8, rand);
+        DMatrixRMaj B = RandomMatrices_DDRM.rectangle(8, 3, -1, 1, rand);
+
+        var solver = new LinearSolverCholPacked_DDRM();
+        assertTrue(solver.setA(PackedOps_DDRM.convert(A, PackedShape.SYMMETRIC, null)));
+        assertTrue(solver.modifiesA());
+        assertFalse(solver.modifiesB());
+
+        var X = new DMatrixRMaj(1, 1);
+        solver.solve(B, X);
+        EjmlUnitTests.assertEquals(B, CommonOps_DDRM.mult(A, X, null), UtilEjml.TEST_F64);
+
+        assertThrows(IllegalArgumentException.class, () -> solver.solve(new DMatrixRMaj(7, 3), X));
+    }
+
+    @Test void invert() {
+        DMatrixRMaj A = RandomMatrices_DDRM.symmetricPosDef(8, rand);
+        var solver = new LinearSolverCholPacked_DDRM();
+        assertTrue(solver.setA(PackedOps_DDRM.convert(A, PackedShape.SYMMETRIC, null)));
+
+        var found = new DMatrixPacked();
+        solver.invert(found);
+        DMatrixRMaj expected = A.copy();
+        assertTrue(CommonOps_DDRM.invert(expected));
+        EjmlUnitTests.assertRelativeEquals(expected, found, UtilEjml.TEST_F64);
+    }
+
+    /**
+     * Quality should be the same as the dense solver since it's computed from the same L
+     */
+    @Test void quality() {
+        DMatrixRMaj A = RandomMatrices_DDRM.symmetricPosDef(6, rand);
+        var chol = new CholeskyDecompositionInner_DDRM(true);
+        assertTrue(chol.decompose(A.copy()));
+        double expected = SpecializedOps_DDRM.qualityTriangular(chol.getT(null));
+
+        var solver = new LinearSolverCholPacked_DDRM();
+        assertTrue(solver.setA(PackedOps_DDRM.convert(A, PackedShape.SYMMETRIC, null)));
+        assertEquals(expected, solver.quality(), UtilEjml.TEST_F64);
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.packed;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.EjmlUnitTests;
+import org.ejml.MatrixDimensionException;
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixPacked;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.PackedShape;
+import org.ejml.dense.row.CommonOps_DDRM;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.ejml.dense.row.decomposition.chol.CholeskyDecompositionInner_DDRM;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestPackedOps_DDRM extends EjmlStandardJUnit {
+    // sizes which include one where the rank-k update has multiple blocks
+    int[] sizes = new int[]{1, 2, 5, 20, 150};
+
+    @Test void convert() {
+        DMatrixRMaj A = RandomMatrices_DDRM.symmetric(6, -1, 1, rand);
+        DMatrixPacked P = PackedOps_DDRM.convert(A, PackedShape.SYMMETRIC, null);
+        assertEquals(6, P.numRows);
+        EjmlUnitTests.assertEquals(A, PackedOps_DDRM.convert(P, null), 0.0);
+
+        // lower triangular should have zeros in the upper triangle
+        P.shape = PackedShape.LOWER;
+        DMatrixRMaj L = PackedOps_DDRM.convert(P, new DMatrixRMaj(1, 1));
+        for (int row = 0; row < 6; row++) {
+            for (int col = 0; col < 6; col++) {
+                assertEquals(col > row ? 0.0 : A.get(row, col), L.get(row, col));
+            }
+        }
+    }
+
+    @Test void multInner() {
+        for (int N : sizes) {
+            DMatrixRMaj A = RandomMatrices_DDRM.rectangle(N + 3, N, -1, 1, rand);
+            var expected = new DMatrixRMaj(N, N);
+            CommonOps_DDRM.multInner(A, expected);
+
+            var found = new DMatrixPacked(2, PackedShape.LOWER);
+            PackedOps_DDRM.multInner(A, found);
+            assertSame(PackedShape.SYMMETRIC, found.shape);
+            EjmlUnitTests.assertEquals(expected, found, UtilEjml.TEST_F64);
+
+            // c = c + alpha*A^T*A
+            DMatrixPacked C = found.copy();
+            PackedOps_DDRM.multAddInner(-0.5, A, C);
+            CommonOps_DDRM.scale(0.5, expected);
+            EjmlUnitTests.assertEquals(expected, C, UtilEjml.TEST_F64);
+        }
+    }
+
+    @Test void multOuter() {
+        for (int N : sizes) {
+            DMatrixRMaj A = RandomMatrices_DDRM.rectangle(N, N + 3, -1, 1, rand);
+            var expected = new DMatrixRMaj(N, N);
+            CommonOps_DDRM.multOuter(A, expected);
+
+            var found = new DMatrixPacked();
+            PackedOps_DDRM.multOuter(A, found);
+            EjmlUnitTests.assertEquals(expected, found, UtilEjml.TEST_F64);
+
+            DMatrixPacked C = found.copy();
+            PackedOps_DDRM.multAddOuter(2.0, A, C);
+            CommonOps_DDRM.scale(3.0, expected);
+            EjmlUnitTests.assertEquals(expected, C, UtilEjml.TEST_F64);
+        }
+    }
+
+    @Test void multAdd_badShape() {
+        DMatrixRMaj A = RandomMatrices_DDRM.rectangle(4, 3, -1, 1, rand);
+        assertThrows(MatrixDimensionException.class, () -> PackedOps_DDRM.multAddInner(1.0, A, new DMatrixPacked(4)));
+        assertThrows(IllegalArgumentException.class,
+                () -> PackedOps_DDRM.multAddOuter(1.0, A, new DMatrixPacked(4, PackedShape.LOWER)));
+    }
+
+    @Test void mult() {
+        for (int N : sizes) {
+            DMatrixRMaj S = RandomMatrices_DDRM.symmetric(N, -1, 1, rand);
+            // large enough for the largest size to expand 's' and use packed matrix multiplication
+            DMatrixRMaj B = RandomMatrices_DDRM.rectangle(N, N/2 + 3, -1, 1, rand);
+            DMatrixPacked P = PackedOps_DDRM.convert(S, PackedShape.SYMMETRIC, null);
+
+            DMatrixRMaj expected = CommonOps_DDRM.mult(S, B, null);
+            var found = new DMatrixRMaj(1, 1);
+            PackedOps_DDRM.mult(P, B, found);
+            EjmlUnitTests.assertEquals(expected, found, UtilEjml.TEST_F64);
+
+            PackedOps_DDRM.multAdd(-2.0, P, B, found);
+            CommonOps_DDRM.scale(-1.0, expected);
+            EjmlUnitTests.assertEquals(expected, found, UtilEjml.TEST_F64);
+        }
+
+        // must be symmetric
+        var L = new DMatrixPacked(3, PackedShape.LOWER);
+        assertThrows(IllegalArgumentException.class, () -> PackedOps_DDRM.mult(L, new DMatrixRMaj(3, 2), new DMatrixRMaj(1, 1)));
+    }
+
+    /**
+     * Should produce the same L as the dense inner product decomposition
+     */
+    @Test void cholesky() {
+        for (int N : sizes) {
+            DMatrixRMaj A = RandomMatrices_DDRM.symmetricPosDef(N, rand);
+            DMatrixPacked P = PackedOps_DDRM.convert(A, PackedShape.SYMMETRIC, null);
+
+            var chol = new CholeskyDecompositionInner_DDRM(true);
+            assertTrue(chol.decompose(A.copy()));
+            DMatrixRMaj expected = chol.getT(null);
+
+            assertTrue(PackedOps_DDRM.cholesky(P));
+            assertSame(PackedShape.LOWER, P.shape);
+            EjmlUnitTests.assertEquals(expected, P, UtilEjml.TEST_F64);
+        }
+    }
+
+    @Test void cholesky_notPositiveDefinite() {
+        DMatrixRMaj A = RandomMatrices_DDRM.symmetricPosDef(5, rand);
+        CommonOps_DDRM.scale(-1.0, A);
+        DMatrixPacked P = PackedOps_DDRM.convert(A, PackedShape.SYMMETRIC, null);
+        assertFalse(PackedOps_DDRM.cholesky(P));
+        assertSame(PackedShape.SYMMETRIC, P.shape);
+    }
+
+    @Test void solveCholesky() {
+        for (int N : sizes) {
+            DMatrixRMaj A = RandomMatrices_DDRM.symmetricPosDef(N, rand);
+            DMatrixRMaj B = RandomMatrices_DDRM.rectangle(N, 4, -1, 1, rand);
+            DMatrixPacked L = PackedOps_DDRM.convert(A, PackedShape.SYMMETRIC, null);
+            assertTrue(PackedOps_DDRM.cholesky(L));
+
+            var X = new DMatrixRMaj(1, 1);
+            PackedOps_DDRM.solveCholesky(L, B, X);
+            EjmlUnitTests.assertEquals(B, CommonOps_DDRM.mult(A, X, null), UtilEjml.TEST_F64*N);
+
+            // B and X can be the same instance
+            DMatrixRMaj B_copy = B.copy();
+            PackedOps_DDRM.solveCholesky(L, B_copy, B_copy);
+            EjmlUnitTests.assertEquals(X, B_copy, 0.0);
+        }
+    }
+
+    @Test void invertCholesky() {
+        for (int N : sizes) {
+            DMatrixRMaj A = RandomMatrices_DDRM.symmetricPosDef(N, rand);
+            DMatrixPacked L = PackedOps_DDRM.convert(A, PackedShape.SYMMETRIC, null);
+            assertTrue(PackedOps_DDRM.cholesky(L));
+
+            var found = new DMatrixPacked();
+            PackedOps_DDRM.invertCholesky(L, found);
+            assertSame(PackedShape.SYMMETRIC, found.shape);
+
+            DMatrixRMaj expected = A.copy();
+            assertTrue(CommonOps_DDRM.invert(expected));
+            EjmlUnitTests.assertRelativeEquals(expected, found, UtilEjml.TEST_F64*N);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.packed;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.UtilEjml;
+import org.ejml.concurrency.EjmlConcurrency;
+import org.ejml.data.DMatrixPacked;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.PackedShape;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the concurrent implementation against the single threaded one. Rank-k updates and solving should produce
+ * identical results since each element is computed the same way.
+ */
+public class TestPackedOps_MT_DDRM extends EjmlStandardJUnit {
+    int[] sizes = new int[]{1, 5, 100, 300};
+    int originalThreads;
+
+    @BeforeEach void setThreads() {
+        originalThreads = EjmlConcurrency.getMaxThreads();
+        EjmlConcurrency.setMaxThreads(4);
+    }
+
+    @AfterEach void restoreThreads() {
+        EjmlConcurrency.setMaxThreads(originalThreads);
+    }
+
+    @Test void multInner() {
+        for (int N : sizes) {
+            DMatrixRMaj A = RandomMatrices_DDRM.rectangle(N + 2, N, -1, 1, rand);
+            var expected = new DMatrixPacked();
+            var found = new DMatrixPacked();
+            PackedOps_DDRM.multInner(A, expected);
+            PackedOps_MT_DDRM.multInner(A, found);
+            assertPackedEquals(expected, found);
+
+            PackedOps_DDRM.multAddInner(0.5, A, expected);
+            PackedOps_MT_DDRM.multAddInner(0.5, A, found);
+            assertPackedEquals(expected, found);
+        }
+    }
+
+    @Test void multOuter() {
+        for (int N : sizes) {
+            DMatrixRMaj A = RandomMatrices_DDRM.rectangle(N, N + 2, -1, 1, rand);
+            var expected = new DMatrixPacked();
+            var found = new DMatrixPacked();
+            PackedOps_DDRM.multOuter(A, expected);
+            PackedOps_MT_DDRM.multOuter(A, found);
+            assertPackedEquals(expected, found);
+
+            PackedOps_DDRM.multAddOuter(0.5, A, expected);
+            PackedOps_MT_DDRM.multAddOuter(0.5, A, found);
+            assertPackedEquals(expected, found);
+        }
+    }
+
+    /**
+     * Blocks of rows can be different when multiplied with packed matrix multiplication, changing the order of operations
+     */
+    @Test void mult() {
+        for (int N : sizes) {
+            DMatrixPacked S = PackedOps_DDRM.convert(
+                    RandomMatrices_DDRM.symmetric(N, -1, 1, rand), PackedShape.SYMMETRIC, null);
+            DMatrixRMaj B = RandomMatrices_DDRM.rectangle(N, N/2 + 7, -1, 1, rand);
+            var expected = new DMatrixRMaj(1, 1);
+            var found = new DMatrixRMaj(1, 1);
+            PackedOps_DDRM.mult(S, B, expected);
+            PackedOps_MT_DDRM.mult(S, B, found);
+            assertArrayEquals(expected.data, found.data, UtilEjml.TEST_F64);
+
+            PackedOps_DDRM.multAdd(0.5, S, B, expected);
+            PackedOps_MT_DDRM.multAdd(0.5, S, B, found);
+            assertArrayEquals(expected.data, found.data, UtilEjml.TEST_F64);
+        }
+    }
+
+    @Test void solveCholesky() {
+        for (int N : sizes) {
+            DMatrixPacked L = PackedOps_DDRM.convert(
+                    RandomMatrices_DDRM.symmetricPosDef(N, rand), PackedShape.SYMMETRIC, null);
+            assertTrue(PackedOps_DDRM.cholesky(L));
+            DMatrixRMaj B = RandomMatrices_DDRM.rectangle(N, 20, -1, 1, rand);
+            var expected = new DMatrixRMaj(1, 1);
+            var found = new DMatrixRMaj(1, 1);
+            PackedOps_DDRM.solveCholesky(L, B, expected);
+            PackedOps_MT_DDRM.solveCholesky(L, B, found);
+            assertArrayEquals(expected.data, found.data, 0.0);
+        }
+    }
+
+    private static void assertPackedEquals( DMatrixPacked expected, DMatrixPacked found ) {
+        assertEquals(expected.numRows, found.numRows);
+        assertSame(expected.shape, found.shape);
+        for (int i = 0; i < expected.getDataLength(); i++) {
+            assertEquals(expected.data[i], found.data[i], 0.0);
+        }
+    }
+}
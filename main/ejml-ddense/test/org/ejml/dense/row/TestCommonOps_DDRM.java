@@ -64,6 +64,10 @@ public class TestCommonOps_DDRM extends EjmlStandardJUnit {
                 continue;
             if (name.equals("multRows") || name.equals("multCols"))
                 continue;
+            // variants with workspace are called by the ones without
+            Class<?>[] params = method.getParameterTypes();
+            if (params[params.length - 1] == DGrowArray.class)
+                continue;
 
             boolean hasAlpha = method.getGenericParameterTypes().length == 4;
 
@@ -116,6 +120,10 @@ public class TestCommonOps_DDRM extends EjmlStandardJUnit {
                 continue;
             if (name.equals("multRows") || name.equals("multCols"))
                 continue;
+            // variants with workspace are called by the ones without
+            Class<?>[] params = method.getParameterTypes();
+            if (params[params.length - 1] == DGrowArray.class)
+                continue;
             try {
 
                 boolean failed = !checkMultMethod(method, 6, 0, 0, 5);
@@ -227,6 +235,26 @@ public class TestCommonOps_DDRM extends EjmlStandardJUnit {
         return true;
     }
 
+    /**
+     * The same workspace is reused with matrices that have different shapes and are large enough to be packed
+     */
+    @Test void mult_workspace() {
+        var workA = new DGrowArray();
+        var workB = new DGrowArray();
+        for (int size : new int[]{60, 35, 80}) {
+            DMatrixRMaj a = RandomMatrices_DDRM.rectangle(size, size + 3, rand);
+            DMatrixRMaj b = RandomMatrices_DDRM.rectangle(size + 3, size + 1, rand);
+            DMatrixRMaj at = CommonOps_DDRM.transpose(a, null);
+            DMatrixRMaj bt = CommonOps_DDRM.transpose(b, null);
+
+            DMatrixRMaj expected = CommonOps_DDRM.mult(a, b, null);
+            EjmlUnitTests.assertEquals(expected, CommonOps_DDRM.mult(a, b, null, workA, workB), tol);
+            EjmlUnitTests.assertEquals(expected, CommonOps_DDRM.multTransA(at, b, null, workA, workB), tol);
+            EjmlUnitTests.assertEquals(expected, CommonOps_DDRM.multTransB(a, bt, null, workA, workB), tol);
+            EjmlUnitTests.assertEquals(expected, CommonOps_DDRM.multTransAB(at, bt, null, workA, workB), tol);
+        }
+    }
+
     private boolean checkMultMethod( Method method, int rowsA, int colsA, int rowsB, int colsB ) throws InvocationTargetException, IllegalAccessException {
 
         String name = method.getName();
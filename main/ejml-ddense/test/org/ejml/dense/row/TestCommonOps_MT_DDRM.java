@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.row;
+
+import org.ejml.CheckMultiThreadAgainstSingleThread;
+import org.ejml.EjmlParameters;
+import org.ejml.EjmlUnitTests;
+import org.ejml.MatrixDimensionException;
+import org.ejml.UtilEjml;
+import org.ejml.concurrency.EjmlConcurrency;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.ElementLocation;
+import org.ejml.dense.row.mult.MatrixMultStrassen_MT_DDRM;
+import org.ejml.ops.DOperatorUnary;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestCommonOps_MT_DDRM extends CheckMultiThreadAgainstSingleThread {
+    int originalThreads;
+
+    public TestCommonOps_MT_DDRM() {
+        super(CommonOps_DDRM.class, CommonOps_MT_DDRM.class, 62);
+        // Large enough that element-wise operations are split between threads
+        size = 250;
+    }
+
+    @BeforeEach void forceThreads() {
+        originalThreads = EjmlConcurrency.getMaxThreads();
+        EjmlConcurrency.setMaxThreads(4);
+    }
+
+    @AfterEach void restoreThreads() {
+        EjmlConcurrency.setMaxThreads(originalThreads);
+    }
+
+    @Override
+    protected void declareParamStandard( Class[] typesThreaded, Object[] inputsThreaded, Object[] inputsSingle ) {
+        super.declareParamStandard(typesThreaded, inputsThreaded, inputsSingle);
+        for (int i = 0; i < typesThreaded.length; i++) {
+            if (typesThreaded[i] == DOperatorUnary.class) {
+                DOperatorUnary func = x -> 2.0*x + 1.0;
+                inputsThreaded[i] = func;
+                inputsSingle[i] = func;
+            } else if (typesThreaded[i] == ElementLocation.class) {
+                inputsThreaded[i] = new ElementLocation();
+                inputsSingle[i] = new ElementLocation();
+            }
+        }
+    }
+
+    @Override
+    protected boolean isTestMethod( Method m ) {
+        // There is no single threaded version of Strassen
+        if (m.getName().equals("multStrassen"))
+            return false;
+        return super.isTestMethod(m);
+    }
+
+    @Override
+    protected boolean checkEquivalent( Object a, Object b ) {
+        if (a instanceof ElementLocation) {
+            var la = (ElementLocation)a;
+            var lb = (ElementLocation)b;
+            assertEquals(lb.row, la.row);
+            assertEquals(lb.col, la.col);
+            return true;
+        } else if (a instanceof DOperatorUnary) {
+            return a == b;
+        } else if (a instanceof Double) {
+            // the determinant can be very large so a relative tolerance is used
+            double valA = (Double)a;
+            double valB = (Double)b;
+            assertEquals(valB, valA, UtilEjml.TEST_F64*Math.max(1.0, Math.abs(valB)));
+            return true;
+        }
+        // The base class returns false without failing
+        assertTrue(super.checkEquivalent(a, b));
+        return true;
+    }
+
+    @Test void multStrassen() {
+        int originalCutoff = EjmlParameters.MULT_STRASSEN_CUTOFF;
+        EjmlParameters.MULT_STRASSEN_CUTOFF = 16;
+        try {
+            DMatrixRMaj A = RandomMatrices_DDRM.rectangle(101, 77, -1, 1, rand);
+            DMatrixRMaj B = RandomMatrices_DDRM.rectangle(77, 90, -1, 1, rand);
+
+            DMatrixRMaj expected = CommonOps_DDRM.mult(A, B, null);
+            DMatrixRMaj found = CommonOps_MT_DDRM.multStrassen(A, B, null);
+            EjmlUnitTests.assertEquals(expected, found, UtilEjml.TEST_F64);
+
+            // output should be reshaped
+            found = new DMatrixRMaj(1, 1);
+            CommonOps_MT_DDRM.multStrassen(A, B, found);
+            EjmlUnitTests.assertEquals(expected, found, UtilEjml.TEST_F64);
+
+            // workspace provided by the caller and then recycled
+            var workspace = new MatrixMultStrassen_MT_DDRM();
+            for (int trial = 0; trial < 2; trial++) {
+                found = CommonOps_MT_DDRM.multStrassen(A, B, null, workspace);
+                EjmlUnitTests.assertEquals(expected, found, UtilEjml.TEST_F64);
+            }
+
+            assertThrows(MatrixDimensionException.class, () -> CommonOps_MT_DDRM.multStrassen(A, A, null));
+        } finally {
+            EjmlParameters.MULT_STRASSEN_CUTOFF = originalCutoff;
+        }
+    }
+
+    /**
+     * The first element with the largest absolute value should be returned, even if there are ties in
+     * different blocks
+     */
+    @Test void elementMaxAbs_ties() {
+        var A = new DMatrixRMaj(300, 200);
+        A.set(250, 10, -5.0);
+        A.set(20, 3, 5.0);
+        A.set(120, 7, 5.0);
+
+        var loc = new ElementLocation();
+        assertEquals(5.0, CommonOps_MT_DDRM.elementMaxAbs(A, loc), UtilEjml.TEST_F64);
+        assertEquals(20, loc.row);
+        assertEquals(3, loc.col);
+    }
+
+    /**
+     * Row and column operations with shapes that don't split evenly
+     */
+    @Test void rowsAndCols_shapes() {
+        for (int[] shape : new int[][]{{1, 50_001}, {50_001, 1}, {313, 171}, {0, 5}}) {
+            DMatrixRMaj A = RandomMatrices_DDRM.rectangle(shape[0], shape[1], -1, 1, rand);
+
+            assertTrue(MatrixFeatures_DDRM.isIdentical(CommonOps_DDRM.sumRows(A, null),
+                    CommonOps_MT_DDRM.sumRows(A, null), UtilEjml.TEST_F64));
+            assertTrue(MatrixFeatures_DDRM.isIdentical(CommonOps_DDRM.sumCols(A, null),
+                    CommonOps_MT_DDRM.sumCols(A, null), UtilEjml.TEST_F64));
+            assertTrue(MatrixFeatures_DDRM.isIdentical(CommonOps_DDRM.minCols(A, null),
+                    CommonOps_MT_DDRM.minCols(A, null), 0.0));
+            assertTrue(MatrixFeatures_DDRM.isIdentical(CommonOps_DDRM.maxRows(A, null),
+                    CommonOps_MT_DDRM.maxRows(A, null), 0.0));
+            assertEquals(CommonOps_DDRM.elementSum(A), CommonOps_MT_DDRM.elementSum(A), UtilEjml.TEST_F64);
+        }
+    }
+}
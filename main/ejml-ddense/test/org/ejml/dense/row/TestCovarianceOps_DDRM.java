@@ -20,10 +20,16 @@ package org.ejml.dense.row;
 
 import org.ejml.EjmlStandardJUnit;
 import org.ejml.UtilEjml;
+import org.ejml.EjmlUnitTests;
+import org.ejml.data.DMatrixPacked;
 import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.PackedShape;
+import org.ejml.dense.packed.PackedOps_DDRM;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
 /**
@@ -60,4 +66,39 @@ public class TestCovarianceOps_DDRM extends EjmlStandardJUnit {
         m.set(2,1,-400);
         assertEquals(3, CovarianceOps_DDRM.isValid(m));
     }
+
+    @Test
+    public void isValid_packed() {
+        DMatrixPacked m = PackedOps_DDRM.convert(CommonOps_DDRM.identity(3), PackedShape.SYMMETRIC, null);
+        assertEquals(0, CovarianceOps_DDRM.isValid(m));
+
+        // negative diagonal term
+        m.set(1,1,-3);
+        assertEquals(1, CovarianceOps_DDRM.isValid(m));
+
+        // not positive definite
+        m = PackedOps_DDRM.convert(CommonOps_DDRM.identity(3), PackedShape.SYMMETRIC, null);
+        m.set(1,2,-400);
+        assertEquals(3, CovarianceOps_DDRM.isValid(m));
+    }
+
+    @Test
+    public void invert_packed() {
+        DMatrixRMaj cov = RandomMatrices_DDRM.symmetricPosDef(6, rand);
+        DMatrixRMaj expected = new DMatrixRMaj(6,6);
+        assertTrue(CovarianceOps_DDRM.invert(cov, expected));
+
+        DMatrixPacked m = PackedOps_DDRM.convert(cov, PackedShape.SYMMETRIC, null);
+        DMatrixPacked found = new DMatrixPacked();
+        assertTrue(CovarianceOps_DDRM.invert(m, found));
+        EjmlUnitTests.assertRelativeEquals(expected, found, UtilEjml.TEST_F64);
+
+        // in place
+        assertTrue(CovarianceOps_DDRM.invert(m, m));
+        EjmlUnitTests.assertRelativeEquals(expected, m, UtilEjml.TEST_F64);
+
+        // not positive definite
+        CommonOps_DDRM.scale(-1, cov);
+        assertFalse(CovarianceOps_DDRM.invert(PackedOps_DDRM.convert(cov, PackedShape.SYMMETRIC, null), found));
+    }
 }
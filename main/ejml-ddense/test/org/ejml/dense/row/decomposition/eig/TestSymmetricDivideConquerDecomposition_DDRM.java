@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.row.decomposition.eig;
+
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.ejml.dense.row.decomposition.eig.symm.SymmetricDivideConquer_DDRM;
+import org.ejml.dense.row.decomposition.hessenberg.TridiagonalDecompositionHouseholder_DDRM;
+import org.ejml.interfaces.decomposition.EigenDecomposition_F64;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestSymmetricDivideConquerDecomposition_DDRM extends GeneralEigenDecompositionCheck_DDRM {
+    // small leaves so that the test matrices are split up
+    int leafSize = 2;
+
+    @Override
+    public EigenDecomposition_F64 createDecomposition() {
+        return new SymmetricDivideConquerDecomposition_DDRM(new TridiagonalDecompositionHouseholder_DDRM(),
+                new SymmetricDivideConquer_DDRM(leafSize), computeVectors);
+    }
+
+    @Test void justSymmetricTests() {
+        for (int leafSize : new int[]{1, 2, 32}) {
+            this.leafSize = leafSize;
+            computeVectors = true;
+
+            checkSizeZero();
+            checkRandomSymmetric();
+            checkIdentity();
+            checkAllZeros();
+            checkWithSomeRepeatedValuesSymm();
+            checkWithSingularSymm();
+            checkSmallValue(true);
+            checkLargeValue(true);
+
+            computeVectors = false;
+            checkKnownSymmetric_JustValue();
+        }
+    }
+
+    /**
+     * Eigenvalues should be the same as the ones found by the QR algorithm on a larger matrix
+     */
+    @Test void compareToQrAlgorithm() {
+        leafSize = 16;
+        computeVectors = true;
+        int N = 150;
+        DMatrixRMaj A = RandomMatrices_DDRM.symmetric(N, -1, 1, rand);
+
+        var qr = new SymmetricQRAlgorithmDecomposition_DDRM(false);
+        EigenDecomposition_F64<DMatrixRMaj> alg = createDecomposition();
+        assertTrue(qr.decompose(A.copy()));
+        assertTrue(alg.decompose(A.copy()));
+
+        double[] expected = new double[N];
+        double[] found = new double[N];
+        for (int i = 0; i < N; i++) {
+            expected[i] = qr.getEigenvalue(i).real;
+            found[i] = alg.getEigenvalue(i).real;
+        }
+        Arrays.sort(expected);
+        Arrays.sort(found);
+        assertArrayEquals(expected, found, UtilEjml.TEST_F64);
+
+        performStandardTests(alg, A, N);
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.row.decomposition.eig.symm;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.CommonOps_DDRM;
+import org.ejml.dense.row.MatrixFeatures_DDRM;
+import org.ejml.dense.row.decomposition.eig.SymmetricQRAlgorithmDecomposition_DDRM;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestSecularEquation_DDRM extends EjmlStandardJUnit {
+    @Test void random() {
+        for (int k : new int[]{1, 2, 5, 30}) {
+            double[] d = new double[k];
+            double[] z = new double[k];
+            for (int i = 0; i < k; i++) {
+                d[i] = (i == 0 ? 0 : d[i - 1]) + 0.1 + rand.nextDouble();
+                z[i] = rand.nextDouble() - 0.5;
+            }
+            check(k, d, z, 0.5 + rand.nextDouble());
+        }
+    }
+
+    /**
+     * Poles which are very close together are difficult since the roots are squeezed between them
+     */
+    @Test void closePoles() {
+        int k = 20;
+        double[] d = new double[k];
+        double[] z = new double[k];
+        for (int i = 0; i < k; i++) {
+            d[i] = 1.0 + i*1e-8 + (i/5)*2.0;
+            z[i] = (rand.nextBoolean() ? 1 : -1)*(0.1 + rand.nextDouble());
+        }
+        check(k, d, z, 2.0);
+    }
+
+    /**
+     * Large differences in the magnitude of z
+     */
+    @Test void gradedZ() {
+        int k = 15;
+        double[] d = new double[k];
+        double[] z = new double[k];
+        for (int i = 0; i < k; i++) {
+            d[i] = i;
+            z[i] = Math.pow(10, -i/2.0);
+        }
+        check(k, d, z, 1.0);
+    }
+
+    private void check( int k, double[] d, double[] z, double rho ) {
+        var alg = new SecularEquation_DDRM();
+        var lambda = new double[k];
+        var U = new DMatrixRMaj(1, 1);
+        alg.process(k, d, z, rho, lambda, U);
+
+        // A = D + rho*z*z'
+        var A = CommonOps_DDRM.diag(d);
+        for (int i = 0; i < k; i++) {
+            for (int j = 0; j < k; j++) {
+                A.data[i*k + j] += rho*z[i]*z[j];
+            }
+        }
+
+        // eigenvalues should be increasing, interlace with d, and match a different algorithm
+        var qr = new SymmetricQRAlgorithmDecomposition_DDRM(false);
+        assertTrue(qr.decompose(A.copy()));
+        var expected = new double[k];
+        for (int i = 0; i < k; i++) {
+            expected[i] = qr.getEigenvalue(i).real;
+        }
+        Arrays.sort(expected);
+        double scale = CommonOps_DDRM.elementMaxAbs(A);
+        assertArrayEquals(expected, lambda, UtilEjml.TEST_F64*scale);
+        for (int i = 0; i < k; i++) {
+            assertTrue(lambda[i] >= d[i]);
+            if (i + 1 < k)
+                assertTrue(lambda[i] <= d[i + 1]);
+        }
+
+        // A*U = U*diag(lambda) and U is orthogonal
+        var AU = new DMatrixRMaj(k, k);
+        CommonOps_DDRM.mult(A, U, AU);
+        for (int row = 0; row < k; row++) {
+            for (int col = 0; col < k; col++) {
+                assertEquals(AU.get(row, col), U.get(row, col)*lambda[col], UtilEjml.TEST_F64*scale);
+            }
+        }
+        assertTrue(MatrixFeatures_DDRM.isOrthogonal(U, UtilEjml.TEST_F64));
+    }
+
+    @Test void svd_random() {
+        for (int k : new int[]{1, 2, 5, 30}) {
+            double[] d = new double[k];
+            double[] z = new double[k];
+            for (int i = 0; i < k; i++) {
+                d[i] = i == 0 ? 0 : d[i - 1] + 0.1 + rand.nextDouble();
+                z[i] = rand.nextDouble() - 0.5;
+            }
+            checkSvd(k, d, z);
+        }
+    }
+
+    /**
+     * Singular values which are close to each other and to zero
+     */
+    @Test void svd_closePoles() {
+        int k = 20;
+        double[] d = new double[k];
+        double[] z = new double[k];
+        for (int i = 1; i < k; i++) {
+            d[i] = 1e-6 + i*1e-8 + (i/5)*2.0;
+            z[i] = (rand.nextBoolean() ? 1 : -1)*(0.1 + rand.nextDouble());
+        }
+        z[0] = 0.5;
+        checkSvd(k, d, z);
+    }
+
+    private void checkSvd( int k, double[] d, double[] z ) {
+        var alg = new SecularEquation_DDRM();
+        var sigma = new double[k];
+        var U = new DMatrixRMaj(1, 1);
+        var V = new DMatrixRMaj(1, 1);
+        alg.processSvd(k, d, z, sigma, U, V);
+
+        // M = D + e_0*z'
+        var M = CommonOps_DDRM.diag(d);
+        System.arraycopy(z, 0, M.data, 0, k);
+
+        // singular values should be increasing and interlace with d
+        double scale = CommonOps_DDRM.elementMaxAbs(M);
+        for (int i = 0; i < k; i++) {
+            assertTrue(sigma[i] >= d[i]);
+            if (i + 1 < k)
+                assertTrue(sigma[i] <= d[i + 1]);
+        }
+
+        // M*V = U*diag(sigma) and both are orthogonal
+        var MV = new DMatrixRMaj(k, k);
+        CommonOps_DDRM.mult(M, V, MV);
+        for (int row = 0; row < k; row++) {
+            for (int col = 0; col < k; col++) {
+                assertEquals(MV.get(row, col), U.get(row, col)*sigma[col], UtilEjml.TEST_F64*scale);
+            }
+        }
+        assertTrue(MatrixFeatures_DDRM.isOrthogonal(U, UtilEjml.TEST_F64));
+        assertTrue(MatrixFeatures_DDRM.isOrthogonal(V, UtilEjml.TEST_F64));
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.row.decomposition.eig.symm;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.CommonOps_DDRM;
+import org.ejml.dense.row.MatrixFeatures_DDRM;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.ejml.dense.row.decomposition.hessenberg.TridiagonalDecompositionHouseholder_DDRM;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestSymmetricDivideConquer_DDRM extends EjmlStandardJUnit {
+    int[] leafSizes = {1, 3, 8};
+
+    public SymmetricDivideConquer_DDRM createAlg( int leafSize ) {
+        return new SymmetricDivideConquer_DDRM(leafSize);
+    }
+
+    @Test void random() {
+        for (int N : new int[]{1, 2, 3, 7, 20, 65}) {
+            double[] diag = new double[N];
+            double[] off = new double[N];
+            for (int i = 0; i < N; i++) {
+                diag[i] = rand.nextDouble() - 0.5;
+                off[i] = rand.nextDouble() - 0.5;
+            }
+            check(N, diag, off);
+        }
+    }
+
+    /**
+     * Zeros in the off diagonal mean the matrix is already split and everything is deflated
+     */
+    @Test void alreadyDiagonal() {
+        int N = 30;
+        double[] diag = new double[N];
+        double[] off = new double[N];
+        for (int i = 0; i < N; i++) {
+            diag[i] = rand.nextDouble();
+        }
+        check(N, diag, off);
+
+        // identity has repeated eigenvalues too
+        for (int i = 0; i < N; i++) {
+            diag[i] = 1.0;
+        }
+        check(N, diag, off);
+    }
+
+    /**
+     * Wilkinson's matrix has pairs of eigenvalues which are extremely close. Many of them are deflated using
+     * rotations.
+     */
+    @Test void wilkinson() {
+        int N = 41;
+        double[] diag = new double[N];
+        double[] off = new double[N];
+        for (int i = 0; i < N; i++) {
+            diag[i] = Math.abs(i - N/2);
+            off[i] = 1.0;
+        }
+        check(N, diag, off);
+    }
+
+    /**
+     * Tridiagonal matrix from a matrix with repeated eigenvalues
+     */
+    @Test void repeatedEigenvalues() {
+        int N = 40;
+        double[] ev = new double[N];
+        for (int i = 0; i < N; i++) {
+            ev[i] = i%4;
+        }
+        DMatrixRMaj A = RandomMatrices_DDRM.symmetricWithEigenvalues(N, rand, ev);
+        var tri = new TridiagonalDecompositionHouseholder_DDRM();
+        assertTrue(tri.decompose(A));
+        double[] diag = new double[N];
+        double[] off = new double[N];
+        tri.getDiagonal(diag, off);
+        check(N, diag, off);
+    }
+
+    private void check( int N, double[] diag, double[] off ) {
+        DMatrixRMaj T = CommonOps_DDRM.diag(diag);
+        for (int i = 0; i < N - 1; i++) {
+            T.set(i, i + 1, off[i]);
+            T.set(i + 1, i, off[i]);
+        }
+        double scale = Math.max(1.0, CommonOps_DDRM.elementMaxAbs(T));
+
+        for (int leafSize : leafSizes) {
+            SymmetricDivideConquer_DDRM alg = createAlg(leafSize);
+            assertTrue(alg.process(N, diag, off));
+
+            // T*Q = Q*diag(values) and Q is orthogonal
+            DMatrixRMaj Q = alg.getQ();
+            double[] values = alg.getEigenvalues();
+            DMatrixRMaj TQ = new DMatrixRMaj(N, N);
+            CommonOps_DDRM.mult(T, Q, TQ);
+            for (int row = 0; row < N; row++) {
+                for (int col = 0; col < N; col++) {
+                    assertEquals(TQ.get(row, col), Q.get(row, col)*values[col], UtilEjml.TEST_F64*scale);
+                }
+            }
+            assertTrue(MatrixFeatures_DDRM.isOrthogonal(Q, UtilEjml.TEST_F64));
+
+            // Q^T*B
+            DMatrixRMaj B = RandomMatrices_DDRM.rectangle(N, 3, rand);
+            DMatrixRMaj expected = new DMatrixRMaj(1, 1);
+            DMatrixRMaj found = new DMatrixRMaj(1, 1);
+            CommonOps_DDRM.multTransA(Q, B, expected);
+            alg.multTransQ(B, found);
+            assertTrue(MatrixFeatures_DDRM.isIdentical(expected, found, UtilEjml.TEST_F64));
+        }
+    }
+}
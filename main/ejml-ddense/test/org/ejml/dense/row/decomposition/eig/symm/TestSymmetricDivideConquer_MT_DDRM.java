@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.row.decomposition.eig.symm;
+
+import org.ejml.UtilEjml;
+import org.ejml.dense.row.MatrixFeatures_DDRM;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestSymmetricDivideConquer_MT_DDRM extends TestSymmetricDivideConquer_DDRM {
+    @Override public SymmetricDivideConquer_DDRM createAlg( int leafSize ) {
+        return new SymmetricDivideConquer_MT_DDRM(leafSize);
+    }
+
+    @Test void compareToSingle() {
+        int N = 100;
+        double[] diag = new double[N];
+        double[] off = new double[N];
+        for (int i = 0; i < N; i++) {
+            diag[i] = rand.nextDouble() - 0.5;
+            off[i] = rand.nextDouble() - 0.5;
+        }
+
+        var single = new SymmetricDivideConquer_DDRM(5);
+        var concurrent = new SymmetricDivideConquer_MT_DDRM(5);
+        assertTrue(single.process(N, diag, off));
+        assertTrue(concurrent.process(N, diag, off));
+
+        for (int i = 0; i < N; i++) {
+            assertEquals(single.getEigenvalues()[i], concurrent.getEigenvalues()[i], UtilEjml.TEST_F64);
+        }
+        assertTrue(MatrixFeatures_DDRM.isIdentical(single.getQ(), concurrent.getQ(), UtilEjml.TEST_F64));
+    }
+}
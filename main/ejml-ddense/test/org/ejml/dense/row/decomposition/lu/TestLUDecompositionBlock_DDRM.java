@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.row.decomposition.lu;
+
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.MatrixFeatures_DDRM;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestLUDecompositionBlock_DDRM extends GeneralLuDecompositionChecks_DDRM {
+    @Override
+    public LUDecompositionBase_DDRM create( int numRows, int numCols ) {
+        // small block so that the tests span multiple blocks
+        return new LUDecompositionBlock_DDRM(3);
+    }
+
+    /**
+     * Compare against the unblocked algorithm. Shapes are selected so that there is a partial block and
+     * the trailing update is done with the packed matrix multiplication
+     */
+    @Test void compareToAlt() {
+        int[][] shapes = {{1, 1}, {7, 7}, {50, 50}, {123, 123}, {150, 97}, {97, 150}};
+        for (int[] shape : shapes) {
+            DMatrixRMaj A = RandomMatrices_DDRM.rectangle(shape[0], shape[1], -1, 1, rand);
+
+            var expected = new LUDecompositionAlt_DDRM();
+            var found = new LUDecompositionBlock_DDRM(20);
+
+            assertTrue(expected.decompose(A));
+            assertTrue(found.decompose(A));
+
+            assertTrue(MatrixFeatures_DDRM.isIdentical(expected.getLU(), found.getLU(), UtilEjml.TEST_F64));
+            assertArrayEquals(expected.getRowPivotV(null), found.getRowPivotV(null));
+            int minLength = Math.min(shape[0], shape[1]);
+            for (int i = 0; i < minLength; i++) {
+                assertEquals(expected.getIndx()[i], found.getIndx()[i]);
+            }
+            if (shape[0] == shape[1]) {
+                assertEquals(expected.computeDeterminant().real, found.computeDeterminant().real,
+                        UtilEjml.TEST_F64*Math.abs(expected.computeDeterminant().real));
+            }
+        }
+    }
+
+    /**
+     * Columns of zeros will cause a zero pivot in the middle of a block
+     */
+    @Test void singularInsideBlock() {
+        DMatrixRMaj A = RandomMatrices_DDRM.rectangle(40, 40, -1, 1, rand);
+        for (int i = 0; i < A.numRows; i++) {
+            A.set(i, 5, 0.0);
+            A.set(i, 26, 0.0);
+        }
+
+        var expected = new LUDecompositionAlt_DDRM();
+        var found = new LUDecompositionBlock_DDRM(8);
+        assertTrue(expected.decompose(A));
+        assertTrue(found.decompose(A));
+
+        assertTrue(found.isSingular());
+        assertFalse(MatrixFeatures_DDRM.hasUncountable(found.getLU()));
+        assertTrue(MatrixFeatures_DDRM.isIdentical(expected.getLU(), found.getLU(), UtilEjml.TEST_F64));
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.row.decomposition.lu;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.UtilEjml;
+import org.ejml.concurrency.EjmlConcurrency;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.MatrixFeatures_DDRM;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestLUDecompositionDag_MT_DDRM extends EjmlStandardJUnit {
+    @Test void compare() {
+        int originalThreads = EjmlConcurrency.getMaxThreads();
+        EjmlConcurrency.setMaxThreads(4);
+        try {
+            for (int[] shape : new int[][]{{300, 300}, {301, 220}, {220, 301}, {20, 20}, {5, 40}}) {
+                DMatrixRMaj A = RandomMatrices_DDRM.rectangle(shape[0], shape[1], -1, 1, rand);
+
+                var single = new LUDecompositionBlock_DDRM(32);
+                var concurrent = new LUDecompositionDag_MT_DDRM(32);
+
+                assertTrue(single.decompose(A));
+                assertTrue(concurrent.decompose(A));
+
+                assertTrue(MatrixFeatures_DDRM.isIdentical(single.getLU(), concurrent.getLU(), UtilEjml.TEST_F64));
+                assertArrayEquals(single.getRowPivotV(null), concurrent.getRowPivotV(null));
+                if (shape[0] == shape[1])
+                    assertEquals(single.computeDeterminant().real, concurrent.computeDeterminant().real,
+                            Math.abs(single.computeDeterminant().real)*UtilEjml.TEST_F64);
+            }
+        } finally {
+            EjmlConcurrency.setMaxThreads(originalThreads);
+        }
+    }
+}
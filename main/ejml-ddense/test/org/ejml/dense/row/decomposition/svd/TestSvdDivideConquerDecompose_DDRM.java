@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.row.decomposition.svd;
+
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.MatrixFeatures_DDRM;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.ejml.dense.row.decomposition.svd.divideconquer.SvdDivideConquer_DDRM;
+import org.ejml.interfaces.decomposition.SingularValueDecomposition_F64;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestSvdDivideConquerDecompose_DDRM extends StandardSvdChecks_DDRM {
+    boolean compact;
+    boolean needU = true;
+    boolean needV = true;
+    int leafSize = 32;
+
+    @Override
+    public SingularValueDecomposition_F64<DMatrixRMaj> createSvd() {
+        return new SvdDivideConquerDecompose_DDRM(compact, needU, needV, false, new SvdDivideConquer_DDRM(leafSize));
+    }
+
+    @Test void checkCompact() {
+        compact = true;
+        for (int leafSize : new int[]{1, 4, 32}) {
+            this.leafSize = leafSize;
+            allTests();
+        }
+    }
+
+    @Test void checkNotCompact() {
+        compact = false;
+        for (int leafSize : new int[]{1, 4, 32}) {
+            this.leafSize = leafSize;
+            allTests();
+        }
+    }
+
+    /**
+     * When only U or V is requested the results should be the same as when both are computed
+     */
+    @Test void checkAllPermutations() {
+        leafSize = 3;
+        checkAllPermutations(20, 20);
+        checkAllPermutations(25, 20);
+        checkAllPermutations(20, 25);
+    }
+
+    private void checkAllPermutations( int numRows, int numCols ) {
+        DMatrixRMaj A = RandomMatrices_DDRM.rectangle(numRows, numCols, -1, 1, rand);
+        for (boolean compact : new boolean[]{true, false}) {
+            this.compact = compact;
+            needU = needV = true;
+            SingularValueDecomposition_F64<DMatrixRMaj> full = createSvd();
+            assertTrue(full.decompose(A.copy()));
+
+            for (int i = 0; i < 3; i++) {
+                needU = i != 1;
+                needV = i != 0;
+                SingularValueDecomposition_F64<DMatrixRMaj> alg = createSvd();
+                assertTrue(alg.decompose(A.copy()));
+                if (needU)
+                    assertTrue(MatrixFeatures_DDRM.isIdentical(full.getU(null, false), alg.getU(null, false), UtilEjml.TEST_F64));
+                if (needV)
+                    assertTrue(MatrixFeatures_DDRM.isIdentical(full.getV(null, false), alg.getV(null, false), UtilEjml.TEST_F64));
+            }
+
+            // Only singular values are computed using the QR algorithm
+            needU = needV = false;
+            SingularValueDecomposition_F64<DMatrixRMaj> alg = createSvd();
+            assertTrue(alg.decompose(A.copy()));
+            compareSorted(full, alg);
+        }
+        needU = needV = true;
+    }
+
+    @Test void compareToQrAlgorithm() {
+        leafSize = 4;
+        DMatrixRMaj A = RandomMatrices_DDRM.rectangle(60, 45, -1, 1, rand);
+        SingularValueDecomposition_F64<DMatrixRMaj> alg = createSvd();
+        var qr = new SvdImplicitQrDecompose_DDRM(false, true, true, false);
+        assertTrue(alg.decompose(A.copy()));
+        assertTrue(qr.decompose(A.copy()));
+        compareSorted(qr, alg);
+    }
+
+    private void compareSorted( SingularValueDecomposition_F64<DMatrixRMaj> expected,
+                                SingularValueDecomposition_F64<DMatrixRMaj> found ) {
+        double[] a = Arrays.copyOf(expected.getSingularValues(), expected.numberOfSingularValues());
+        double[] b = Arrays.copyOf(found.getSingularValues(), found.numberOfSingularValues());
+        Arrays.sort(a);
+        Arrays.sort(b);
+        assertArrayEquals(a, b, UtilEjml.TEST_F64);
+    }
+}
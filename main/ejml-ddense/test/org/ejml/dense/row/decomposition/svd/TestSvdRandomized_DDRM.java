@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.row.decomposition.svd;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.CommonOps_DDRM;
+import org.ejml.dense.row.MatrixFeatures_DDRM;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestSvdRandomized_DDRM extends EjmlStandardJUnit {
+
+    protected SvdRandomized_DDRM createSvd( int rank, int oversampling, int powerIterations ) {
+        return new SvdRandomized_DDRM(rank, oversampling, powerIterations, true, true);
+    }
+
+    /**
+     * If the matrix's rank is less than the number of samples the decomposition is exact
+     */
+    @Test void lowRank_exact() {
+        for (boolean tall : new boolean[]{true, false}) {
+            int rows = tall ? 60 : 25;
+            int cols = tall ? 25 : 60;
+            DMatrixRMaj A = RandomMatrices_DDRM.singular(rows, cols, rand, 9.0, 5.0, 3.0, 2.0, 1.0);
+
+            SvdRandomized_DDRM alg = createSvd(5, 3, 0);
+            assertTrue(alg.decompose(A));
+            assertEquals(5, alg.numberOfSingularValues());
+            assertArrayEquals(new double[]{9.0, 5.0, 3.0, 2.0, 1.0}, alg.getSingularValues(), UtilEjml.TEST_F64);
+
+            DMatrixRMaj found = reconstruct(alg);
+            assertTrue(MatrixFeatures_DDRM.isIdentical(A, found, UtilEjml.TEST_F64));
+        }
+    }
+
+    /**
+     * Only the largest singular values are computed and they should be sorted. Power iterations are needed since
+     * the singular values decay slowly.
+     */
+    @Test void truncated() {
+        double[] sv = new double[30];
+        for (int i = 0; i < sv.length; i++) {
+            sv[i] = 10.0*Math.pow(0.7, i);
+        }
+        DMatrixRMaj A = RandomMatrices_DDRM.singular(80, 40, rand, sv);
+
+        SvdRandomized_DDRM alg = createSvd(4, 10, 3);
+        assertTrue(alg.decompose(A));
+        assertEquals(4, alg.numberOfSingularValues());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(sv[i], alg.getSingularValues()[i], 1e-6);
+        }
+
+        DMatrixRMaj U = alg.getU(null, false);
+        DMatrixRMaj V = alg.getV(null, false);
+        assertEquals(80, U.numRows);
+        assertEquals(4, U.numCols);
+        assertEquals(40, V.numRows);
+        assertEquals(4, V.numCols);
+        assertTrue(MatrixFeatures_DDRM.isOrthogonal(U, UtilEjml.TEST_F64));
+        assertTrue(MatrixFeatures_DDRM.isOrthogonal(V, UtilEjml.TEST_F64));
+
+        // Each pair must be a singular triplet, A*v = s*u
+        DMatrixRMaj Av = new DMatrixRMaj(1, 1);
+        CommonOps_DDRM.mult(A, V, Av);
+        for (int i = 0; i < 4; i++) {
+            for (int row = 0; row < 80; row++) {
+                assertEquals(alg.getSingularValues()[i]*U.get(row, i), Av.get(row, i), 1e-6);
+            }
+        }
+    }
+
+    /**
+     * Power iterations should improve the accuracy
+     */
+    @Test void powerIterationsImprove() {
+        double[] sv = new double[40];
+        for (int i = 0; i < sv.length; i++) {
+            sv[i] = 1.0/(1 + i);
+        }
+        DMatrixRMaj A = RandomMatrices_DDRM.singular(100, 60, rand, sv);
+
+        double error0 = Math.abs(sv[0] - decomposeFirst(A, 0));
+        double error3 = Math.abs(sv[0] - decomposeFirst(A, 3));
+        assertTrue(error3 < error0);
+        assertEquals(sv[0], decomposeFirst(A, 3), 1e-4);
+    }
+
+    private double decomposeFirst( DMatrixRMaj A, int powerIterations ) {
+        SvdRandomized_DDRM alg = createSvd(3, 2, powerIterations);
+        assertTrue(alg.decompose(A));
+        return alg.getSingularValues()[0];
+    }
+
+    /**
+     * Requested rank is larger than the matrix
+     */
+    @Test void rankLargerThanMatrix() {
+        DMatrixRMaj A = RandomMatrices_DDRM.rectangle(6, 4, -1, 1, rand);
+        SvdRandomized_DDRM alg = createSvd(10, 5, 1);
+        assertTrue(alg.decompose(A));
+        assertEquals(4, alg.numberOfSingularValues());
+        assertTrue(MatrixFeatures_DDRM.isIdentical(A, reconstruct(alg), UtilEjml.TEST_F64));
+    }
+
+    @Test void getU_V_transposed() {
+        DMatrixRMaj A = RandomMatrices_DDRM.rectangle(20, 10, -1, 1, rand);
+        SvdRandomized_DDRM alg = createSvd(3, 5, 1);
+        assertTrue(alg.decompose(A));
+
+        DMatrixRMaj U = alg.getU(null, false);
+        DMatrixRMaj Ut = alg.getU(new DMatrixRMaj(1, 1), true);
+        assertTrue(MatrixFeatures_DDRM.isIdentical(CommonOps_DDRM.transpose(U, null), Ut, 0.0));
+        DMatrixRMaj V = alg.getV(null, false);
+        DMatrixRMaj Vt = alg.getV(null, true);
+        assertTrue(MatrixFeatures_DDRM.isIdentical(CommonOps_DDRM.transpose(V, null), Vt, 0.0));
+
+        DMatrixRMaj W = alg.getW(null);
+        assertEquals(3, W.numRows);
+        assertEquals(3, W.numCols);
+    }
+
+    @Test void notComputed() {
+        DMatrixRMaj A = RandomMatrices_DDRM.rectangle(20, 10, -1, 1, rand);
+        var alg = new SvdRandomized_DDRM(3, 5, 1, false, false);
+        assertTrue(alg.decompose(A));
+        assertThrows(IllegalArgumentException.class, () -> alg.getU(null, false));
+        assertThrows(IllegalArgumentException.class, () -> alg.getV(null, false));
+    }
+
+    @Test void sizeZero() {
+        assertFalse(createSvd(2, 2, 1).decompose(new DMatrixRMaj(0, 4)));
+    }
+
+    static DMatrixRMaj reconstruct( SvdRandomizedCommon_DDRM<?> alg ) {
+        DMatrixRMaj U = alg.getU(null, false);
+        DMatrixRMaj W = alg.getW(null);
+        DMatrixRMaj Vt = alg.getV(null, true);
+        DMatrixRMaj UW = CommonOps_DDRM.mult(U, W, null);
+        return CommonOps_DDRM.mult(UW, Vt, null);
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.row.decomposition.svd;
+
+import org.ejml.EjmlUnitTests;
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestSvdRandomized_MT_DDRM extends TestSvdRandomized_DDRM {
+    @Override
+    protected SvdRandomized_DDRM createSvd( int rank, int oversampling, int powerIterations ) {
+        return new SvdRandomized_MT_DDRM(rank, oversampling, powerIterations, true, true);
+    }
+
+    /**
+     * With the same random seed the results should be the same as the single threaded version
+     */
+    @Test void compareToSingleThread() {
+        DMatrixRMaj A = RandomMatrices_DDRM.rectangle(300, 120, -1, 1, rand);
+
+        var expected = new SvdRandomized_DDRM(5, 5, 2, true, true);
+        var found = new SvdRandomized_MT_DDRM(5, 5, 2, true, true);
+        expected.setRandom(new Random(3));
+        found.setRandom(new Random(3));
+        assertTrue(expected.decompose(A));
+        assertTrue(found.decompose(A));
+
+        assertArrayEquals(expected.getSingularValues(), found.getSingularValues(), UtilEjml.TEST_F64);
+        EjmlUnitTests.assertEquals(expected.getU(null, false), found.getU(null, false), UtilEjml.TEST_F64);
+        EjmlUnitTests.assertEquals(expected.getV(null, false), found.getV(null, false), UtilEjml.TEST_F64);
+    }
+}
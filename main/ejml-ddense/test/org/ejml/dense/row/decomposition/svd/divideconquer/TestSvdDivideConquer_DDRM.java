@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.row.decomposition.svd.divideconquer;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.CommonOps_DDRM;
+import org.ejml.dense.row.MatrixFeatures_DDRM;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.ejml.dense.row.decomposition.bidiagonal.BidiagonalDecompositionRow_DDRM;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestSvdDivideConquer_DDRM extends EjmlStandardJUnit {
+    int[] leafSizes = {1, 3, 8};
+
+    public SvdDivideConquer_DDRM createAlg( int leafSize ) {
+        return new SvdDivideConquer_DDRM(leafSize);
+    }
+
+    @Test void random() {
+        for (int N : new int[]{1, 2, 3, 4, 7, 20, 65}) {
+            double[] diag = new double[N];
+            double[] off = new double[N];
+            for (int i = 0; i < N; i++) {
+                diag[i] = rand.nextDouble() - 0.5;
+                off[i] = rand.nextDouble() - 0.5;
+            }
+            check(N, diag, off);
+        }
+    }
+
+    /**
+     * Zeros above the diagonal mean the matrix is already split and everything is deflated
+     */
+    @Test void alreadyDiagonal() {
+        int N = 30;
+        double[] diag = new double[N];
+        double[] off = new double[N];
+        for (int i = 0; i < N; i++) {
+            diag[i] = rand.nextDouble() - 0.5;
+        }
+        check(N, diag, off);
+
+        // identity has repeated singular values too
+        for (int i = 0; i < N; i++) {
+            diag[i] = 1.0;
+        }
+        check(N, diag, off);
+    }
+
+    @Test void zero() {
+        int N = 20;
+        check(N, new double[N], new double[N]);
+    }
+
+    /**
+     * Zeros on the diagonal create singular values which are zero
+     */
+    @Test void zerosOnDiagonal() {
+        int N = 30;
+        double[] diag = new double[N];
+        double[] off = new double[N];
+        for (int i = 0; i < N; i++) {
+            diag[i] = i%3 == 0 ? 0.0 : rand.nextDouble() - 0.5;
+            off[i] = rand.nextDouble() - 0.5;
+        }
+        check(N, diag, off);
+    }
+
+    /**
+     * Elements which vary by many orders of magnitude
+     */
+    @Test void graded() {
+        int N = 25;
+        double[] diag = new double[N];
+        double[] off = new double[N];
+        for (int i = 0; i < N; i++) {
+            diag[i] = Math.pow(10, -i/2.0);
+            off[i] = Math.pow(10, -i/2.0 - 0.25);
+        }
+        check(N, diag, off);
+    }
+
+    /**
+     * Bidiagonal matrix from a matrix with repeated singular values
+     */
+    @Test void repeatedSingularValues() {
+        int N = 40;
+        double[] sv = new double[N];
+        for (int i = 0; i < N; i++) {
+            sv[i] = i%4;
+        }
+        DMatrixRMaj A = RandomMatrices_DDRM.singular(N, N, rand, sv);
+        var bidiag = new BidiagonalDecompositionRow_DDRM();
+        assertTrue(bidiag.decompose(A));
+        double[] diag = new double[N];
+        double[] off = new double[N];
+        bidiag.getDiagonal(diag, off);
+        check(N, diag, off);
+    }
+
+    private void check( int N, double[] diag, double[] off ) {
+        DMatrixRMaj B = CommonOps_DDRM.diag(diag);
+        for (int i = 0; i < N - 1; i++) {
+            B.set(i, i + 1, off[i]);
+        }
+        double scale = Math.max(1.0, CommonOps_DDRM.elementMaxAbs(B));
+
+        for (int leafSize : leafSizes) {
+            SvdDivideConquer_DDRM alg = createAlg(leafSize);
+            assertTrue(alg.process(N, diag, off));
+
+            // B*V = U*diag(values), U and V are orthogonal, and the singular values are positive
+            DMatrixRMaj U = alg.getU();
+            DMatrixRMaj V = alg.getV();
+            double[] values = alg.getSingularValues();
+            DMatrixRMaj BV = new DMatrixRMaj(N, N);
+            CommonOps_DDRM.mult(B, V, BV);
+            for (int row = 0; row < N; row++) {
+                for (int col = 0; col < N; col++) {
+                    assertEquals(BV.get(row, col), U.get(row, col)*values[col], UtilEjml.TEST_F64*scale);
+                }
+            }
+            assertTrue(MatrixFeatures_DDRM.isOrthogonal(U, UtilEjml.TEST_F64));
+            assertTrue(MatrixFeatures_DDRM.isOrthogonal(V, UtilEjml.TEST_F64));
+            for (int i = 0; i < N; i++) {
+                assertTrue(values[i] >= 0.0);
+            }
+
+            // U^T*A and V^T*A
+            DMatrixRMaj A = RandomMatrices_DDRM.rectangle(N, 3, rand);
+            DMatrixRMaj expected = new DMatrixRMaj(1, 1);
+            DMatrixRMaj found = new DMatrixRMaj(1, 1);
+            CommonOps_DDRM.multTransA(U, A, expected);
+            alg.multTransU(A, found);
+            assertTrue(MatrixFeatures_DDRM.isIdentical(expected, found, UtilEjml.TEST_F64));
+            CommonOps_DDRM.multTransA(V, A, expected);
+            alg.multTransV(A, found);
+            assertTrue(MatrixFeatures_DDRM.isIdentical(expected, found, UtilEjml.TEST_F64));
+        }
+    }
+}
@@ -18,14 +18,19 @@
 
 package org.ejml.dense.row.factory;
 
+import org.ejml.EjmlParameters;
 import org.ejml.EjmlStandardJUnit;
 import org.ejml.UtilEjml;
 import org.ejml.data.DMatrixRMaj;
 import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.ejml.dense.row.decomposition.eig.SymmetricDivideConquerDecomposition_DDRM;
+import org.ejml.dense.row.decomposition.eig.SymmetricQRAlgorithmDecomposition_DDRM;
+import org.ejml.dense.row.decomposition.svd.SvdDivideConquerDecompose_DDRM;
 import org.ejml.interfaces.decomposition.EigenDecomposition_F64;
 import org.ejml.interfaces.decomposition.SingularValueDecomposition_F64;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
@@ -53,6 +58,22 @@ public class TestDecompositionFactory_DDRM extends EjmlStandardJUnit {
         assertTrue(origQuality < UtilEjml.TEST_F64);
     }
 
+    /**
+     * Large symmetric matrices should use divide and conquer when eigenvectors are needed
+     */
+    @Test
+    public void eig_symmetricSelection() {
+        int N = EjmlParameters.SWITCH_EIG_DIVIDE_CONQUER;
+        assertTrue(DecompositionFactory_DDRM.eig(N, true, true) instanceof SymmetricDivideConquerDecomposition_DDRM);
+        assertTrue(DecompositionFactory_DDRM.eig(N - 1, true, true) instanceof SymmetricQRAlgorithmDecomposition_DDRM);
+        assertTrue(DecompositionFactory_DDRM.eig(N, false, true) instanceof SymmetricQRAlgorithmDecomposition_DDRM);
+
+        DMatrixRMaj A = RandomMatrices_DDRM.symmetric(N, -1, 1, rand);
+        EigenDecomposition_F64<DMatrixRMaj> eig = DecompositionFactory_DDRM.eig(N, true, true);
+        assertTrue(eig.decompose(A.copy()));
+        assertTrue(DecompositionFactory_DDRM.quality(A, eig) < UtilEjml.TEST_F64);
+    }
+
     @Test
     public void quality_svd() {
         // I'm assuming it can process this matrix with no problems
@@ -72,4 +93,16 @@ public class TestDecompositionFactory_DDRM extends EjmlStandardJUnit {
         assertTrue(origQuality < modQuality);
         assertTrue(origQuality < UtilEjml.TEST_F64);
     }
+
+    /**
+     * Large matrices should use divide and conquer when U or V is needed
+     */
+    @Test
+    public void svd_selection() {
+        int N = EjmlParameters.SWITCH_SVD_DIVIDE_CONQUER;
+        assertTrue(DecompositionFactory_DDRM.svd(N + 5, N, true, true, false) instanceof SvdDivideConquerDecompose_DDRM);
+        assertTrue(DecompositionFactory_DDRM.svd(N, N + 5, false, true, true) instanceof SvdDivideConquerDecompose_DDRM);
+        assertFalse(DecompositionFactory_DDRM.svd(N - 1, N + 5, true, true, false) instanceof SvdDivideConquerDecompose_DDRM);
+        assertFalse(DecompositionFactory_DDRM.svd(N, N, false, false, false) instanceof SvdDivideConquerDecompose_DDRM);
+    }
 }
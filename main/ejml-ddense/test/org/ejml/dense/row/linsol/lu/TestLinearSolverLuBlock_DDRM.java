@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.row.linsol.lu;
+
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.CommonOps_DDRM;
+import org.ejml.dense.row.MatrixFeatures_DDRM;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.ejml.dense.row.decomposition.lu.LUDecompositionAlt_DDRM;
+import org.ejml.dense.row.decomposition.lu.LUDecompositionBlock_DDRM;
+import org.ejml.dense.row.linsol.GenericLinearSolverChecks_DDRM;
+import org.ejml.interfaces.linsol.LinearSolverDense;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestLinearSolverLuBlock_DDRM extends GenericLinearSolverChecks_DDRM {
+
+    public TestLinearSolverLuBlock_DDRM() {
+        shouldWorkRectangle = true;
+        shouldFailSingular = false;
+    }
+
+    @Override
+    protected LinearSolverDense<DMatrixRMaj> createSolver( DMatrixRMaj A ) {
+        return new LinearSolverLuBlock_DDRM(new LUDecompositionBlock_DDRM(3), 3);
+    }
+
+    @Override
+    public void rectangular() {
+        // it kinda works on rectangular matrices. skip this test
+    }
+
+    /**
+     * Compare against the solver which processes one column at a time. Sizes are selected so that the
+     * packed matrix multiplication is used and the last block is partial.
+     */
+    @Test void compareToColumnSolver() {
+        DMatrixRMaj A = RandomMatrices_DDRM.rectangle(130, 130, -1, 1, rand);
+        DMatrixRMaj B = RandomMatrices_DDRM.rectangle(130, 70, -1, 1, rand);
+
+        var expected = new LinearSolverLu_DDRM(new LUDecompositionAlt_DDRM());
+        var found = new LinearSolverLuBlock_DDRM(new LUDecompositionBlock_DDRM(16), 16);
+        assertTrue(expected.setA(A));
+        assertTrue(found.setA(A));
+
+        var X_expected = new DMatrixRMaj(1, 1);
+        var X_found = new DMatrixRMaj(1, 1);
+        expected.solve(B, X_expected);
+        found.solve(B, X_found);
+        assertTrue(MatrixFeatures_DDRM.isIdentical(X_expected, X_found, UtilEjml.TEST_F64));
+
+        // B and X can be the same matrix
+        found.solve(B, B);
+        assertTrue(MatrixFeatures_DDRM.isIdentical(X_expected, B, UtilEjml.TEST_F64));
+
+        var A_inv = new DMatrixRMaj(130, 130);
+        found.invert(A_inv);
+        var I = new DMatrixRMaj(130, 130);
+        CommonOps_DDRM.mult(A, A_inv, I);
+        assertTrue(MatrixFeatures_DDRM.isIdentity(I, UtilEjml.TEST_F64_SQ));
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.row.linsol.lu;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.UtilEjml;
+import org.ejml.concurrency.EjmlConcurrency;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.MatrixFeatures_DDRM;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.ejml.dense.row.decomposition.lu.LUDecompositionBlock_MT_DDRM;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestLinearSolverLuBlock_MT_DDRM extends EjmlStandardJUnit {
+    @Test void compare() {
+        int originalThreads = EjmlConcurrency.getMaxThreads();
+        EjmlConcurrency.setMaxThreads(4);
+        try {
+            DMatrixRMaj A = RandomMatrices_DDRM.rectangle(250, 250, -1, 1, rand);
+
+            for (int numCols : new int[]{1, 20, 250}) {
+                DMatrixRMaj B = RandomMatrices_DDRM.rectangle(250, numCols, -1, 1, rand);
+
+                var single = new LinearSolverLuBlock_DDRM(new LUDecompositionBlock_MT_DDRM(32), 32);
+                var concurrent = new LinearSolverLuBlock_MT_DDRM(new LUDecompositionBlock_MT_DDRM(32), 32);
+                assertTrue(single.setA(A));
+                assertTrue(concurrent.setA(A));
+
+                var X_single = new DMatrixRMaj(1, 1);
+                var X_concurrent = new DMatrixRMaj(1, 1);
+                single.solve(B, X_single);
+                concurrent.solve(B, X_concurrent);
+                assertTrue(MatrixFeatures_DDRM.isIdentical(X_single, X_concurrent, UtilEjml.TEST_F64));
+            }
+
+            var single = new LinearSolverLuBlock_DDRM(new LUDecompositionBlock_MT_DDRM(32), 32);
+            var concurrent = new LinearSolverLuBlock_MT_DDRM(new LUDecompositionBlock_MT_DDRM(32), 32);
+            assertTrue(single.setA(A));
+            assertTrue(concurrent.setA(A));
+            var inv_single = new DMatrixRMaj(250, 250);
+            var inv_concurrent = new DMatrixRMaj(250, 250);
+            single.invert(inv_single);
+            concurrent.invert(inv_concurrent);
+            assertTrue(MatrixFeatures_DDRM.isIdentical(inv_single, inv_concurrent, UtilEjml.TEST_F64));
+        } finally {
+            EjmlConcurrency.setMaxThreads(originalThreads);
+        }
+    }
+}
@@ -255,19 +255,16 @@ public class TestMatrixMatrixMult_DDRM extends EjmlStandardJUnit {
                                                DMatrixRMaj a, DMatrixRMaj b, @Nullable DMatrixRMaj c)
             throws IllegalAccessException, InvocationTargetException {
 
-        Object ret;
-        if( func.getParameterTypes().length == 3 ) {
-            ret = func.invoke(null, a, b, c);
-        } else {
-            if( func.getParameterTypes()[0] == double.class ) {
-                if( func.getParameterTypes().length == 4 )
-                    ret = func.invoke(null,alpha, a, b, c);
-                else
-                    ret = func.invoke(null,alpha, a, b, c,null);
-            } else {
-                ret = func.invoke(null, a, b, c,null);
-            }
-        }
+        // Any arguments after the matrices are optional workspace and are left as null
+        Object[] args = new Object[func.getParameterTypes().length];
+        int index = 0;
+        if( func.getParameterTypes()[0] == double.class )
+            args[index++] = alpha;
+        args[index++] = a;
+        args[index++] = b;
+        args[index] = c;
+
+        Object ret = func.invoke(null, args);
 
         if( ret instanceof DMatrixRMaj )
             return (DMatrixRMaj)ret;
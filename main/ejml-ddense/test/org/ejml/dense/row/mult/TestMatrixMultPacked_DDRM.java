@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.row.mult;
+
+import org.ejml.EjmlParameters;
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.EjmlUnitTests;
+import org.ejml.MatrixDimensionException;
+import org.ejml.UtilEjml;
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.CommonOps_DDRM;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestMatrixMultPacked_DDRM extends EjmlStandardJUnit {
+    int defaultMC, defaultKC, defaultNC;
+
+    @BeforeEach void saveBlockSizes() {
+        defaultMC = EjmlParameters.MULT_PACKED_MC;
+        defaultKC = EjmlParameters.MULT_PACKED_KC;
+        defaultNC = EjmlParameters.MULT_PACKED_NC;
+    }
+
+    @AfterEach void restoreBlockSizes() {
+        EjmlParameters.MULT_PACKED_MC = defaultMC;
+        EjmlParameters.MULT_PACKED_KC = defaultKC;
+        EjmlParameters.MULT_PACKED_NC = defaultNC;
+    }
+
+    /**
+     * Compare against a naive implementation for every combination of transposes with shapes that aren't
+     * multiples of the kernel size
+     */
+    @Test void gemm_compare() {
+        for (boolean transA : new boolean[]{false, true}) {
+            for (boolean transB : new boolean[]{false, true}) {
+                for (double beta : new double[]{0.0, 1.0, -0.5}) {
+                    checkGemm(1, 1, 1, 1.0, transA, transB, beta);
+                    checkGemm(7, 5, 3, 1.0, transA, transB, beta);
+                    checkGemm(13, 17, 11, 1.5, transA, transB, beta);
+                    checkGemm(40, 8, 33, -2.0, transA, transB, beta);
+                }
+            }
+        }
+    }
+
+    /**
+     * Make the block sizes small so that every loop is run more than once and partial blocks are encountered
+     */
+    @Test void gemm_multipleBlocks() {
+        EjmlParameters.MULT_PACKED_MC = 8;
+        EjmlParameters.MULT_PACKED_KC = 5;
+        EjmlParameters.MULT_PACKED_NC = 12;
+
+        for (boolean transA : new boolean[]{false, true}) {
+            for (boolean transB : new boolean[]{false, true}) {
+                checkGemm(30, 27, 23, 0.5, transA, transB, 0.0);
+                checkGemm(30, 27, 23, 0.5, transA, transB, 2.0);
+            }
+        }
+    }
+
+    void checkGemm( int m, int n, int k, double alpha, boolean transA, boolean transB, double beta ) {
+        DMatrixRMaj A = transA ? RandomMatrices_DDRM.rectangle(k, m, -1, 1, rand) :
+                RandomMatrices_DDRM.rectangle(m, k, -1, 1, rand);
+        DMatrixRMaj B = transB ? RandomMatrices_DDRM.rectangle(n, k, -1, 1, rand) :
+                RandomMatrices_DDRM.rectangle(k, n, -1, 1, rand);
+        DMatrixRMaj C = RandomMatrices_DDRM.rectangle(m, n, -1, 1, rand);
+
+        DMatrixRMaj expected = naive(alpha, A, transA, B, transB, beta, C);
+        MatrixMultPacked_DDRM.gemm(alpha, A, transA, B, transB, beta, C, null, null);
+
+        EjmlUnitTests.assertEquals(expected, C, UtilEjml.TEST_F64);
+    }
+
+    static DMatrixRMaj naive( double alpha, DMatrixRMaj A, boolean transA, DMatrixRMaj B, boolean transB,
+                              double beta, DMatrixRMaj C ) {
+        DMatrixRMaj opA = transA ? CommonOps_DDRM.transpose(A, null) : A;
+        DMatrixRMaj opB = transB ? CommonOps_DDRM.transpose(B, null) : B;
+
+        var found = new DMatrixRMaj(opA.numRows, opB.numCols);
+        MatrixMatrixMult_DDRM.mult_small(alpha, opA, opB, found);
+        if (beta != 0.0)
+            CommonOps_DDRM.addEquals(found, beta, C);
+        return found;
+    }
+
+    /**
+     * If beta is zero then C should be ignored, even if it contains NaN
+     */
+    @Test void betaZeroIgnoresC() {
+        DMatrixRMaj A = RandomMatrices_DDRM.rectangle(9, 6, -1, 1, rand);
+        DMatrixRMaj B = RandomMatrices_DDRM.rectangle(6, 7, -1, 1, rand);
+        var C = new DMatrixRMaj(9, 7);
+        CommonOps_DDRM.fill(C, Double.NaN);
+
+        MatrixMultPacked_DDRM.gemm(1.0, A, false, B, false, 0.0, C, null, null);
+        EjmlUnitTests.assertEquals(CommonOps_DDRM.mult(A, B, null), C, UtilEjml.TEST_F64);
+    }
+
+    /**
+     * The inner dimension is zero and C should just be scaled
+     */
+    @Test void innerZero() {
+        var A = new DMatrixRMaj(4, 0);
+        var B = new DMatrixRMaj(0, 5);
+        DMatrixRMaj C = RandomMatrices_DDRM.rectangle(4, 5, -1, 1, rand);
+        DMatrixRMaj expected = C.copy();
+        CommonOps_DDRM.scale(2.0, expected);
+
+        MatrixMultPacked_DDRM.gemm(1.0, A, false, B, false, 2.0, C, null, null);
+        EjmlUnitTests.assertEquals(expected, C, UtilEjml.TEST_F64);
+
+        MatrixMultPacked_DDRM.gemm(1.0, A, false, B, false, 0.0, C, null, null);
+        assertEquals(0.0, CommonOps_DDRM.elementMaxAbs(C));
+    }
+
+    /**
+     * Operate on sub-matrices inside larger arrays and make sure nothing outside of C is modified
+     */
+    @Test void gemm_subMatrix() {
+        int m = 10, n = 9, k = 7;
+        DMatrixRMaj bigA = RandomMatrices_DDRM.rectangle(m + 3, k + 4, -1, 1, rand);
+        DMatrixRMaj bigB = RandomMatrices_DDRM.rectangle(k + 2, n + 5, -1, 1, rand);
+        DMatrixRMaj bigC = RandomMatrices_DDRM.rectangle(m + 2, n + 3, -1, 1, rand);
+        DMatrixRMaj original = bigC.copy();
+
+        DMatrixRMaj A = CommonOps_DDRM.extract(bigA, 2, 2 + m, 1, 1 + k);
+        DMatrixRMaj B = CommonOps_DDRM.extract(bigB, 1, 1 + k, 3, 3 + n);
+        DMatrixRMaj C = CommonOps_DDRM.extract(bigC, 1, 1 + m, 2, 2 + n);
+        DMatrixRMaj expected = naive(1.0, A, false, B, false, 1.0, C);
+
+        MatrixMultPacked_DDRM.gemm(m, n, k, 1.0,
+                bigA.data, bigA.getIndex(2, 1), bigA.numCols, false,
+                bigB.data, bigB.getIndex(1, 3), bigB.numCols, false,
+                1.0, bigC.data, bigC.getIndex(1, 2), bigC.numCols, null, null);
+
+        for (int row = 0; row < bigC.numRows; row++) {
+            for (int col = 0; col < bigC.numCols; col++) {
+                boolean inside = row >= 1 && row < 1 + m && col >= 2 && col < 2 + n;
+                double value = inside ? expected.get(row - 1, col - 2) : original.get(row, col);
+                assertEquals(value, bigC.get(row, col), UtilEjml.TEST_F64);
+            }
+        }
+    }
+
+    /**
+     * Work arrays can be reused between calls with different shapes
+     */
+    @Test void reuseWorkArrays() {
+        var workA = new DGrowArray();
+        var workB = new DGrowArray();
+        for (int size : new int[]{20, 5, 33}) {
+            DMatrixRMaj A = RandomMatrices_DDRM.rectangle(size, size + 1, -1, 1, rand);
+            DMatrixRMaj B = RandomMatrices_DDRM.rectangle(size + 1, size, -1, 1, rand);
+            var C = new DMatrixRMaj(size, size);
+            MatrixMultPacked_DDRM.gemm(1.0, A, false, B, false, 0.0, C, workA, workB);
+            EjmlUnitTests.assertEquals(naive(1.0, A, false, B, false, 0.0, C), C, UtilEjml.TEST_F64);
+        }
+    }
+
+    @Test void checkShapes() {
+        var A = new DMatrixRMaj(4, 3);
+        var B = new DMatrixRMaj(3, 5);
+        assertThrows(MatrixDimensionException.class, () ->
+                MatrixMultPacked_DDRM.gemm(1.0, A, false, B, false, 0.0, new DMatrixRMaj(4, 4), null, null));
+        assertThrows(MatrixDimensionException.class, () ->
+                MatrixMultPacked_DDRM.gemm(1.0, A, true, B, false, 0.0, new DMatrixRMaj(3, 5), null, null));
+        assertThrows(IllegalArgumentException.class, () ->
+                MatrixMultPacked_DDRM.gemm(1.0, A, false, A, true, 0.0, A, null, null));
+    }
+}
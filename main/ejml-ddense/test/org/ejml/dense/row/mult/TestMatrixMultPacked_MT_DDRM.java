@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.row.mult;
+
+import org.ejml.EjmlParameters;
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.EjmlUnitTests;
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.junit.jupiter.api.Test;
+
+public class TestMatrixMultPacked_MT_DDRM extends EjmlStandardJUnit {
+    /**
+     * Compare against the single threaded implementation with block sizes which are small enough that every
+     * loop is run multiple times
+     */
+    @Test void compareToSingleThread() {
+        int defaultMC = EjmlParameters.MULT_PACKED_MC;
+        int defaultKC = EjmlParameters.MULT_PACKED_KC;
+        int defaultNC = EjmlParameters.MULT_PACKED_NC;
+        try {
+            for (int trial = 0; trial < 2; trial++) {
+                if (trial == 1) {
+                    EjmlParameters.MULT_PACKED_MC = 8;
+                    EjmlParameters.MULT_PACKED_KC = 5;
+                    EjmlParameters.MULT_PACKED_NC = 12;
+                }
+                for (boolean transA : new boolean[]{false, true}) {
+                    for (boolean transB : new boolean[]{false, true}) {
+                        check(45, 31, 27, transA, transB, 0.0);
+                        check(45, 31, 27, transA, transB, 1.5);
+                        check(3, 2, 5, transA, transB, 1.0);
+                    }
+                }
+            }
+        } finally {
+            EjmlParameters.MULT_PACKED_MC = defaultMC;
+            EjmlParameters.MULT_PACKED_KC = defaultKC;
+            EjmlParameters.MULT_PACKED_NC = defaultNC;
+        }
+    }
+
+    void check( int m, int n, int k, boolean transA, boolean transB, double beta ) {
+        DMatrixRMaj A = transA ? RandomMatrices_DDRM.rectangle(k, m, -1, 1, rand) :
+                RandomMatrices_DDRM.rectangle(m, k, -1, 1, rand);
+        DMatrixRMaj B = transB ? RandomMatrices_DDRM.rectangle(n, k, -1, 1, rand) :
+                RandomMatrices_DDRM.rectangle(k, n, -1, 1, rand);
+        DMatrixRMaj expected = RandomMatrices_DDRM.rectangle(m, n, -1, 1, rand);
+        DMatrixRMaj found = expected.copy();
+
+        MatrixMultPacked_DDRM.gemm(0.7, A, transA, B, transB, beta, expected, null, null);
+        MatrixMultPacked_MT_DDRM.gemm(0.7, A, transA, B, transB, beta, found, null, null);
+
+        EjmlUnitTests.assertEquals(expected, found, UtilEjml.TEST_F64);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.row.mult;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.EjmlUnitTests;
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.CommonOps_DDRM;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestMatrixMultStrassen_DDRM extends EjmlStandardJUnit {
+    /**
+     * Compare against the classical algorithm. The cutoff is small so that there are several levels of recursion
+     * and odd dimensions are encountered inside of it.
+     */
+    @Test void compareToClassical() {
+        for (int cutoff : new int[]{1, 2, 5, 16}) {
+            var alg = new MatrixMultStrassen_DDRM(cutoff);
+            check(alg, 32, 32, 32);
+            check(alg, 45, 31, 27);
+            check(alg, 27, 45, 31);
+            check(alg, 31, 27, 45);
+            check(alg, 1, 20, 20);
+            check(alg, 20, 1, 20);
+            check(alg, 20, 20, 1);
+            check(alg, 0, 5, 6);
+        }
+    }
+
+    void check( MatrixMultStrassen_DDRM alg, int m, int n, int k ) {
+        DMatrixRMaj A = RandomMatrices_DDRM.rectangle(m, k, -1, 1, rand);
+        DMatrixRMaj B = RandomMatrices_DDRM.rectangle(k, n, -1, 1, rand);
+        DMatrixRMaj expected = CommonOps_DDRM.mult(A, B, null);
+        // C should be overwritten
+        DMatrixRMaj found = RandomMatrices_DDRM.rectangle(m, n, -1, 1, rand);
+
+        alg.mult(A, B, found);
+
+        EjmlUnitTests.assertEquals(expected, found, UtilEjml.TEST_F64);
+    }
+
+    /**
+     * Multiply sub-matrices inside of larger arrays
+     */
+    @Test void subMatrices() {
+        int m = 21, n = 18, k = 23;
+        DMatrixRMaj A = RandomMatrices_DDRM.rectangle(m + 3, k + 2, -1, 1, rand);
+        DMatrixRMaj B = RandomMatrices_DDRM.rectangle(k + 1, n + 4, -1, 1, rand);
+        DMatrixRMaj C = RandomMatrices_DDRM.rectangle(m + 2, n + 5, -1, 1, rand);
+        DMatrixRMaj original = C.copy();
+
+        var alg = new MatrixMultStrassen_DDRM(3);
+        alg.mult(m, n, k, A.data, A.getIndex(3, 2), A.numCols, B.data, B.getIndex(1, 4), B.numCols,
+                C.data, C.getIndex(2, 5), C.numCols);
+
+        DMatrixRMaj expected = CommonOps_DDRM.mult(CommonOps_DDRM.extract(A, 3, 3 + m, 2, 2 + k),
+                CommonOps_DDRM.extract(B, 1, 1 + k, 4, 4 + n), null);
+        for (int row = 0; row < C.numRows; row++) {
+            for (int col = 0; col < C.numCols; col++) {
+                if (row >= 2 && col >= 5)
+                    assertEquals(expected.get(row - 2, col - 5), C.get(row, col), UtilEjml.TEST_F64);
+                else
+                    assertEquals(original.get(row, col), C.get(row, col));
+            }
+        }
+    }
+
+    /**
+     * The arena should be declared once and reused
+     */
+    @Test void reuseArena() {
+        var alg = new MatrixMultStrassen_DDRM(4);
+        DMatrixRMaj A = RandomMatrices_DDRM.rectangle(40, 40, -1, 1, rand);
+        DMatrixRMaj C = new DMatrixRMaj(40, 40);
+        alg.mult(A, A.copy(), C);
+        double[] arena = alg.arena.data;
+        assertTrue(arena.length > 0);
+        alg.mult(A, A.copy(), C);
+        assertSame(arena, alg.arena.data);
+    }
+
+    @Test void badCutoff() {
+        assertThrows(IllegalArgumentException.class, () -> new MatrixMultStrassen_DDRM(0));
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.row.mult;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.EjmlUnitTests;
+import org.ejml.UtilEjml;
+import org.ejml.concurrency.EjmlConcurrency;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.junit.jupiter.api.Test;
+
+public class TestMatrixMultStrassen_MT_DDRM extends EjmlStandardJUnit {
+    @Test void compareToSingleThread() {
+        int originalThreads = EjmlConcurrency.getMaxThreads();
+        EjmlConcurrency.setMaxThreads(4);
+        try {
+            for (int[] shape : new int[][]{{300, 300, 300}, {301, 220, 257}, {45, 31, 27}}) {
+                int m = shape[0], n = shape[1], k = shape[2];
+                DMatrixRMaj A = RandomMatrices_DDRM.rectangle(m, k, -1, 1, rand);
+                DMatrixRMaj B = RandomMatrices_DDRM.rectangle(k, n, -1, 1, rand);
+                DMatrixRMaj expected = new DMatrixRMaj(m, n);
+                DMatrixRMaj found = new DMatrixRMaj(m, n);
+
+                new MatrixMultStrassen_DDRM(20).mult(A, B, expected);
+                new MatrixMultStrassen_MT_DDRM(20).mult(A, B, found);
+
+                EjmlUnitTests.assertEquals(expected, found, UtilEjml.TEST_F64);
+            }
+        } finally {
+            EjmlConcurrency.setMaxThreads(originalThreads);
+        }
+    }
+}
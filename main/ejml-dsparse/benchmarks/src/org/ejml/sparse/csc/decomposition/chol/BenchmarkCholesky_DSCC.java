@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.decomposition.chol;
+
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.sparse.FillReducing;
+import org.ejml.sparse.csc.factory.FillReductionFactory_DSCC;
+import org.ejml.sparse.csc.misc.ApplyFillReductionPermutation_DSCC;
+import org.ejml.sparse.csc.misc.BenchmarkFillReducing_DSCC;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the up looking, concurrent up looking, and supernodal Cholesky decompositions on mesh matrices ordered with AMD. The
+ * structure is locked so that only the numerical factorization is measured.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+public class BenchmarkCholesky_DSCC {
+
+    @Param({"2D", "3D"})
+    private String grid;
+
+    DMatrixSparseCSC A;
+
+    CholeskyUpLooking_DSCC upLooking = new CholeskyUpLooking_DSCC();
+    CholeskyUpLooking_MT_DSCC upLooking_MT = new CholeskyUpLooking_MT_DSCC();
+    CholeskySupernodal_DSCC supernodal = new CholeskySupernodal_DSCC();
+
+    @Setup
+    public void setup() {
+        DMatrixSparseCSC L = grid.equals("2D") ?
+                BenchmarkFillReducing_DSCC.laplacian(300, 300, 1) : BenchmarkFillReducing_DSCC.laplacian(30, 30, 30);
+        var apply = new ApplyFillReductionPermutation_DSCC(FillReductionFactory_DSCC.create(FillReducing.AMD), true);
+        A = apply.apply(L).copy();
+
+        upLooking.setStructureLocked(true);
+        upLooking_MT.setStructureLocked(true);
+        supernodal.setStructureLocked(true);
+        if (!upLooking.decompose(A) || !upLooking_MT.decompose(A) || !supernodal.decompose(A))
+            throw new RuntimeException("Failed");
+    }
+
+    @Benchmark public void upLooking() {
+        if (!upLooking.decompose(A))
+            throw new RuntimeException("Failed");
+    }
+
+    @Benchmark public void upLooking_MT() {
+        if (!upLooking_MT.decompose(A))
+            throw new RuntimeException("Failed");
+    }
+
+    @Benchmark public void supernodal() {
+        if (!supernodal.decompose(A))
+            throw new RuntimeException("Failed");
+    }
+
+    public static void main( String[] args ) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(BenchmarkCholesky_DSCC.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
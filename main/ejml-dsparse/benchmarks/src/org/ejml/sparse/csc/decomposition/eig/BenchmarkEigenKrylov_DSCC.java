@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.sparse.csc.decomposition.eig;
+
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.sparse.FillReducing;
+import org.ejml.sparse.csc.decomposition.eig.EigenKrylov_DSCC.Target;
+import org.ejml.sparse.csc.factory.LinearSolverFactory_DSCC;
+import org.ejml.sparse.csc.misc.BenchmarkFillReducing_DSCC;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finds a few eigenvalues of a 2D mesh matrix using Krylov eigensolvers. The largest eigenvalues of a mesh are
+ * tightly clustered and need a large subspace, while shift-invert converges in a few iterations.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+public class BenchmarkEigenKrylov_DSCC {
+
+    @Param({"100"})
+    private int gridSize;
+
+    @Param({"6"})
+    private int numEigen;
+
+    DMatrixSparseCSC A;
+
+    @Setup
+    public void setup() {
+        A = BenchmarkFillReducing_DSCC.laplacian(gridSize, gridSize, 1);
+    }
+
+    @Benchmark public void lanczos_largest() {
+        var alg = new EigenLanczos_DSCC(numEigen, Target.LARGEST_REAL);
+        alg.setSubspaceSize(60);
+        alg.decompose(A);
+    }
+
+    @Benchmark public void lanczos_shiftInvert() {
+        var alg = new EigenLanczos_DSCC(numEigen, Target.SMALLEST_REAL);
+        alg.setShiftInvert(0.0, LinearSolverFactory_DSCC.cholesky(FillReducing.AMD));
+        alg.decompose(A);
+    }
+
+    @Benchmark public void arnoldi_largest() {
+        var alg = new EigenArnoldi_DSCC(numEigen, Target.LARGEST_REAL);
+        alg.setSubspaceSize(60);
+        alg.decompose(A);
+    }
+
+    @Benchmark public void arnoldi_shiftInvert() {
+        var alg = new EigenArnoldi_DSCC(numEigen, Target.SMALLEST_REAL);
+        alg.setShiftInvert(0.0);
+        alg.decompose(A);
+    }
+
+    public static void main( String[] args ) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(BenchmarkEigenKrylov_DSCC.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.sparse.csc.linsol;
+
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.ejml.sparse.csc.linsol.iterative.LinearSolverBiCGStab_DSCC;
+import org.ejml.sparse.csc.linsol.iterative.LinearSolverConjugateGradient_DSCC;
+import org.ejml.sparse.csc.linsol.iterative.LinearSolverGmres_DSCC;
+import org.ejml.sparse.csc.linsol.iterative.LinearSolverIterative_DSCC;
+import org.ejml.sparse.csc.linsol.iterative.PreconditionerIC0_DSCC;
+import org.ejml.sparse.csc.linsol.iterative.PreconditionerILU0_DSCC;
+import org.ejml.sparse.csc.linsol.iterative.PreconditionerJacobi_DSCC;
+import org.ejml.sparse.csc.misc.BenchmarkFillReducing_DSCC;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Iterative solvers on a 2D mesh matrix
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+public class BenchmarkLinearSolverIterative_DSCC {
+
+    @Param({"300"})
+    private int gridSize;
+
+    @Param({"false", "true"})
+    private boolean concurrent;
+
+    DMatrixSparseCSC A;
+    DMatrixRMaj B;
+    DMatrixRMaj X = new DMatrixRMaj(1, 1);
+
+    LinearSolverConjugateGradient_DSCC cg = new LinearSolverConjugateGradient_DSCC(new PreconditionerJacobi_DSCC());
+    LinearSolverGmres_DSCC gmres = new LinearSolverGmres_DSCC(30, 0, 1e-8, null, new PreconditionerJacobi_DSCC());
+    LinearSolverBiCGStab_DSCC bicgstab = new LinearSolverBiCGStab_DSCC(null, new PreconditionerJacobi_DSCC());
+    LinearSolverConjugateGradient_DSCC cgIC0 = new LinearSolverConjugateGradient_DSCC(new PreconditionerIC0_DSCC());
+    LinearSolverGmres_DSCC gmresILU0 = new LinearSolverGmres_DSCC(30, 0, 1e-8, null, new PreconditionerILU0_DSCC());
+
+    @Setup
+    public void setup() {
+        Random rand = new Random(345);
+        A = BenchmarkFillReducing_DSCC.laplacian(gridSize, gridSize, 1);
+        B = RandomMatrices_DDRM.rectangle(A.numRows, 1, rand);
+        for (LinearSolverIterative_DSCC solver : new LinearSolverIterative_DSCC[]{cg, gmres, bicgstab, cgIC0, gmresILU0}) {
+            solver.setConcurrent(concurrent);
+            if (!solver.setA(A))
+                throw new RuntimeException("Failed");
+        }
+    }
+
+    @Benchmark public void conjugateGradient() {
+        cg.solve(B, X);
+    }
+
+    @Benchmark public void gmres() {
+        gmres.solve(B, X);
+    }
+
+    @Benchmark public void bicgstab() {
+        bicgstab.solve(B, X);
+    }
+
+    @Benchmark public void conjugateGradient_IC0() {
+        cgIC0.solve(B, X);
+    }
+
+    @Benchmark public void gmres_ILU0() {
+        gmresILU0.solve(B, X);
+    }
+
+    public static void main( String[] args ) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(BenchmarkLinearSolverIterative_DSCC.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
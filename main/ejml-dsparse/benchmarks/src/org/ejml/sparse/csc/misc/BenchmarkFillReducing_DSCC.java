@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.misc;
+
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.data.DMatrixSparseTriplet;
+import org.ejml.ops.DConvertMatrixStruct;
+import org.ejml.sparse.FillReducing;
+import org.ejml.sparse.csc.decomposition.chol.CholeskyUpLooking_DSCC;
+import org.ejml.sparse.csc.decomposition.lu.LuUpLooking_DSCC;
+import org.ejml.sparse.csc.decomposition.qr.QrLeftLookingDecomposition_DSCC;
+import org.ejml.sparse.csc.factory.FillReductionFactory_DSCC;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the time to decompose a matrix with different fill reducing permutations. The number of non-zero
+ * elements in the factors is printed out during setup so the amount of fill in can be compared too.
+ *
+ * Test matrices are Laplacians on regular 2D (5-point stencil) and 3D (7-point stencil) grids, which are
+ * typical of finite-element and graph-Laplacian problems.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+public class BenchmarkFillReducing_DSCC {
+
+    @Param({"2D", "3D"})
+    private String grid;
+
+    @Param({"NONE", "AMD", "COLAMD", "NESTED_DISSECTION"})
+    private String ordering;
+
+    DMatrixSparseCSC A;
+
+    CholeskyUpLooking_DSCC cholesky = new CholeskyUpLooking_DSCC();
+    ApplyFillReductionPermutation_DSCC applyCholesky;
+    LuUpLooking_DSCC lu;
+    QrLeftLookingDecomposition_DSCC qr;
+
+    @Setup
+    public void setup() {
+        A = grid.equals("2D") ? laplacian(100, 100, 1) : laplacian(20, 20, 20);
+
+        FillReducing type = FillReducing.valueOf(ordering);
+        // AMD is a symmetric ordering and is what Cholesky should use
+        applyCholesky = new ApplyFillReductionPermutation_DSCC(
+                FillReductionFactory_DSCC.create(type == FillReducing.COLAMD ? FillReducing.AMD : type), true);
+        lu = new LuUpLooking_DSCC(FillReductionFactory_DSCC.create(type));
+        qr = new QrLeftLookingDecomposition_DSCC(FillReductionFactory_DSCC.create(type));
+
+        if (!cholesky.decompose(applyCholesky.apply(A)) || !lu.decompose(A) || !qr.decompose(A))
+            throw new RuntimeException("Failed");
+
+        System.out.printf("%n%s %s: nnz(A)=%d nnz(L_chol)=%d nnz(L+U)=%d nnz(R)=%d%n", grid, ordering, A.nz_length,
+                cholesky.getL().nz_length, lu.getL().nz_length + lu.getU().nz_length, qr.getR().nz_length);
+    }
+
+    @Benchmark public void cholesky() {
+        if (!cholesky.decompose(applyCholesky.apply(A)))
+            throw new RuntimeException("Failed");
+    }
+
+    @Benchmark public void lu() {
+        if (!lu.decompose(A))
+            throw new RuntimeException("Failed");
+    }
+
+    @Benchmark public void qr() {
+        if (!qr.decompose(A))
+            throw new RuntimeException("Failed");
+    }
+
+    /**
+     * Creates a Laplacian for a regular grid. Diagonal is made slightly dominant so that it's positive definite.
+     */
+    public static DMatrixSparseCSC laplacian( int nx, int ny, int nz ) {
+        int N = nx*ny*nz;
+        DMatrixSparseTriplet T = new DMatrixSparseTriplet(N, N, 7*N);
+        for (int z = 0; z < nz; z++) {
+            for (int y = 0; y < ny; y++) {
+                for (int x = 0; x < nx; x++) {
+                    int k = (z*ny + y)*nx + x;
+                    T.addItem(k, k, 6.1);
+                    if (x > 0) T.addItem(k, k - 1, -1);
+                    if (x < nx - 1) T.addItem(k, k + 1, -1);
+                    if (y > 0) T.addItem(k, k - nx, -1);
+                    if (y < ny - 1) T.addItem(k, k + nx, -1);
+                    if (z > 0) T.addItem(k, k - nx*ny, -1);
+                    if (z < nz - 1) T.addItem(k, k + nx*ny, -1);
+                }
+            }
+        }
+        return DConvertMatrixStruct.convert(T, (DMatrixSparseCSC)null);
+    }
+
+    public static void main( String[] args ) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(BenchmarkFillReducing_DSCC.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
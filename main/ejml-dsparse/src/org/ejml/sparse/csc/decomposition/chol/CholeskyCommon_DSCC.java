@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.decomposition.chol;
+
+import org.ejml.data.Complex_F64;
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.data.IGrowArray;
+import org.ejml.interfaces.decomposition.CholeskySparseDecomposition_F64;
+import org.ejml.sparse.csc.misc.ColumnCounts_DSCC;
+import org.ejml.sparse.csc.misc.TriangularSolver_DSCC;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Common code for sparse Cholesky decompositions which compute a lower triangular {@link DMatrixSparseCSC}.
+ * The structure of L is found from the elimination tree and column counts. Inside each column of L the diagonal
+ * element comes first.
+ *
+ * @author Peter Abeles
+ */
+public abstract class CholeskyCommon_DSCC implements CholeskySparseDecomposition_F64<DMatrixSparseCSC> {
+    protected int N;
+
+    // storage for decomposition
+    DMatrixSparseCSC L = new DMatrixSparseCSC(1, 1, 0);
+
+    // workspace storage
+    IGrowArray gw = new IGrowArray(1);
+    DGrowArray gx = new DGrowArray(1);
+    int[] parent = new int[1];
+    int[] post = new int[1];
+    int[] counts = new int[1];
+    ColumnCounts_DSCC columnCounter = new ColumnCounts_DSCC(false);
+
+    // true if it has successfully decomposed a matrix
+    private boolean decomposed = false;
+    // if true then the structure is locked and won't be computed again
+    private boolean locked = false;
+
+    @Override
+    public boolean decompose( DMatrixSparseCSC orig ) {
+        if (orig.numCols != orig.numRows)
+            throw new IllegalArgumentException("Must be a square matrix");
+
+        if (!locked || !decomposed)
+            performSymbolic(orig);
+
+        if (performDecomposition(orig)) {
+            decomposed = true;
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * Computes the elimination tree, its post ordering, and the number of elements in each column of L.
+     */
+    public void performSymbolic( DMatrixSparseCSC A ) {
+        init(A.numCols);
+
+        TriangularSolver_DSCC.eliminationTree(A, false, parent, gw);
+        TriangularSolver_DSCC.postorder(parent, N, post, gw);
+        columnCounter.process(A, parent, post, counts);
+        L.reshape(A.numRows, A.numCols, 0);
+        L.histogramToStructure(counts);
+    }
+
+    private void init( int N ) {
+        this.N = N;
+        if (parent.length < N) {
+            parent = new int[N];
+            post = new int[N];
+            counts = new int[N];
+            gw.reshape(3*N);
+        }
+    }
+
+    /**
+     * Computes the numerical values of L. The structure has already been computed.
+     *
+     * @return true if successful or false if the matrix is not positive definite
+     */
+    protected abstract boolean performDecomposition( DMatrixSparseCSC A );
+
+    @Override
+    public boolean inputModified() {
+        return false;
+    }
+
+    @Override
+    public boolean isLower() {
+        return true;
+    }
+
+    @Override
+    public DMatrixSparseCSC getT( @Nullable DMatrixSparseCSC T ) {
+        if (T == null) {
+            T = new DMatrixSparseCSC(L.numRows, L.numCols, L.nz_length);
+        }
+        T.setTo(L);
+        return T;
+    }
+
+    @Override
+    public Complex_F64 computeDeterminant() {
+        double value = 1;
+        for (int i = 0; i < N; i++) {
+            value *= L.nz_values[L.col_idx[i]];
+        }
+        return new Complex_F64(value*value, 0);
+    }
+
+    public DGrowArray getGx() {
+        return gx;
+    }
+
+    public DMatrixSparseCSC getL() {
+        return L;
+    }
+
+    public IGrowArray getGw() {
+        return gw;
+    }
+
+    @Override
+    public void setStructureLocked( boolean locked ) {
+        this.locked = locked;
+    }
+
+    @Override
+    public boolean isStructureLocked() {
+        return locked;
+    }
+}
@@ -0,0 +1,472 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.decomposition.chol;
+
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.data.IGrowArray;
+import org.ejml.dense.block.InnerTriangularSolver_DDRB;
+import org.ejml.dense.block.decomposition.chol.InnerCholesky_DDRB;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+import org.ejml.sparse.csc.misc.TriangularSolver_DSCC;
+
+import java.util.Arrays;
+
+import static org.ejml.UtilEjml.adjust;
+
+/**
+ * <p>Left-looking supernodal Cholesky decomposition of a {@link DMatrixSparseCSC}. Consecutive columns in L which
+ * form a chain in the elimination tree and share the same structure below the diagonal are grouped together into
+ * a supernode. Each supernode is stored as a dense row-major block. All the arithmetic is done on these dense
+ * blocks. The diagonal blocks are handled by the inner block kernels in {@link InnerCholesky_DDRB} and
+ * {@link InnerTriangularSolver_DDRB} and updates from descendants use a register blocked multiplication. This is
+ * much faster than the scalar operations in {@link CholeskyUpLooking_DSCC} when the factor has a lot of fill in.</p>
+ *
+ * <p>For each supernode J:</p>
+ * <ol>
+ *     <li>Copy the lower triangular part of A's columns into J's dense block</li>
+ *     <li>Subtract the update from each descendant supernode which has a row inside of J's columns</li>
+ *     <li>Cholesky decomposition of the dense diagonal block</li>
+ *     <li>Triangular solve for the rows below the diagonal block</li>
+ * </ol>
+ *
+ * <p>Supernodes are found using the elimination tree and column counts. A post ordered matrix, such as one
+ * permuted by AMD, will have larger supernodes. The result is the same L as computed by
+ * {@link CholeskyUpLooking_DSCC}.</p>
+ *
+ * <p>See chapter 9.1 in "Direct Methods for Sparse Linear Systems" by Tomothy A. Davis</p>
+ *
+ * @author Peter Abeles
+ */
+public class CholeskySupernodal_DSCC extends CholeskyCommon_DSCC {
+    // Number of supernodes
+    int numSuper;
+    // Supernode 's' contains columns superStart[s] to superStart[s+1]-1
+    IGrowArray gSuperStart = new IGrowArray();
+    // The supernode which each column belongs to
+    IGrowArray gColToSuper = new IGrowArray();
+    // Index of the first element of each supernode's block
+    IGrowArray gBlockStart = new IGrowArray();
+
+    // Dense row-major blocks for each supernode. A block has one row for each element in the supernode's first
+    // column of L and one column for each column in the supernode
+    DGrowArray gBlocks = new DGrowArray();
+    // Storage for a descendant's update
+    DGrowArray gC = new DGrowArray();
+    // Index of each row in the update inside the block being updated
+    IGrowArray gRowIndex = new IGrowArray();
+
+    // Linked lists of descendants which will update a supernode
+    IGrowArray gHead = new IGrowArray();
+    IGrowArray gNext = new IGrowArray();
+    // Row inside the descendant where the next update starts
+    IGrowArray gPos = new IGrowArray();
+    // maps a row in L into a row in the current supernode's block
+    IGrowArray gMap = new IGrowArray();
+    IGrowArray gs = new IGrowArray();
+
+    // transpose of the input matrix. Used to access rows in the lower triangle
+    DMatrixSparseCSC At = new DMatrixSparseCSC(1, 1, 0);
+    // Storage for the structure of L with relaxed supernodes
+    DMatrixSparseCSC Lrelaxed = new DMatrixSparseCSC(1, 1, 0);
+
+    // Supernodes with more columns than this are split
+    int maxWidth = 64;
+
+    // If true then small supernodes are merged together even if that adds explicit zeros to L
+    private final boolean relaxed;
+
+    /**
+     * @param relaxed If true then small supernodes will be merged together. This adds explicit zeros to L but
+     * improves performance by using larger dense blocks.
+     */
+    public CholeskySupernodal_DSCC( boolean relaxed ) {
+        this.relaxed = relaxed;
+    }
+
+    public CholeskySupernodal_DSCC() {
+        this(true);
+    }
+
+    @Override
+    public void performSymbolic( DMatrixSparseCSC A ) {
+        super.performSymbolic(A);
+        computeRowStructure(A);
+        findSupernodes();
+    }
+
+    /**
+     * Fills in the row indices of L using the row sub-trees of the elimination tree. Rows in each column are
+     * in increasing order.
+     */
+    private void computeRowStructure( DMatrixSparseCSC A ) {
+        int[] c = adjust(gw, N);
+        int[] s = adjust(gs, N);
+
+        System.arraycopy(L.col_idx, 0, c, 0, N);
+
+        for (int k = 0; k < N; k++) {
+            int top = TriangularSolver_DSCC.searchNzRowsElim(A, k, parent, s, c);
+            for (; top < N; top++) {
+                L.nz_rows[c[s[top]]++] = k;
+            }
+            L.nz_rows[c[k]++] = k;
+        }
+    }
+
+    /**
+     * Finds the fundamental supernodes. Column j-1 is added to the same supernode as j if it's the only child
+     * of j in the elimination tree and its structure is the same as j's, plus row j-1. Then if relaxed, small
+     * supernodes are merged with their parent.
+     */
+    private void findSupernodes() {
+        int[] superStart = adjust(gSuperStart, N + 1);
+        int[] children = adjust(gHead, N);
+        Arrays.fill(children, 0, N, 0);
+        for (int j = 0; j < N; j++) {
+            if (parent[j] != -1)
+                children[parent[j]]++;
+        }
+
+        numSuper = 0;
+        for (int j = 0; j < N; j++) {
+            if (j == 0 || parent[j - 1] != j || counts[j - 1] != counts[j] + 1 || children[j] != 1)
+                superStart[numSuper++] = j;
+        }
+        superStart[numSuper] = N;
+
+        if (relaxed)
+            relaxSupernodes();
+        splitWideSupernodes();
+
+        int[] colToSuper = adjust(gColToSuper, N);
+        int[] blockStart = adjust(gBlockStart, numSuper + 1);
+        blockStart[0] = 0;
+        for (int s = 0; s < numSuper; s++) {
+            int col0 = superStart[s];
+            int col1 = superStart[s + 1];
+            for (int j = col0; j < col1; j++) {
+                colToSuper[j] = s;
+            }
+            int height = L.col_idx[col0 + 1] - L.col_idx[col0];
+            blockStart[s + 1] = blockStart[s] + height*(col1 - col0);
+        }
+    }
+
+    /**
+     * Merges a supernode into its parent if it's small or adding the explicit zeros needed to make the two share
+     * the same structure wouldn't add much work. A supernode can only be merged with the supernode immediately
+     * after it, which will be its parent in a post ordered matrix. The structure of L is then recomputed.
+     * Based on the approach used by CHOLMOD.
+     */
+    private void relaxSupernodes() {
+        int[] superStart = gSuperStart.data;
+        int[] width = adjust(gNext, numSuper);
+        int[] height = adjust(gPos, numSuper);
+        // number of explicit zeros in the merged supernode
+        long[] zeros = new long[numSuper];
+        boolean[] merged = new boolean[numSuper];
+
+        for (int s = 0; s < numSuper; s++) {
+            width[s] = superStart[s + 1] - superStart[s];
+            height[s] = counts[superStart[s]];
+        }
+
+        // Go backwards so that a supernode is merged with its parent after the parent has been merged
+        for (int s = numSuper - 2; s >= 0; s--) {
+            int lastCol = superStart[s + 1] - 1;
+            if (parent[lastCol] == -1 || parent[lastCol] >= superStart[s + 2])
+                continue;
+
+            int mergedWidth = width[s] + width[s + 1];
+            int mergedHeight = width[s] + height[s + 1];
+            long mergedSize = blockSize(mergedWidth, mergedHeight);
+            long mergedZeros = mergedSize - (blockSize(width[s], height[s]) - zeros[s]) -
+                    (blockSize(width[s + 1], height[s + 1]) - zeros[s + 1]);
+            double fraction = mergedZeros/(double)mergedSize;
+
+            if (mergedWidth <= 4 || (mergedWidth <= 16 && fraction < 0.8) ||
+                    (mergedWidth <= 48 && fraction < 0.1) || fraction < 0.05) {
+                width[s] = mergedWidth;
+                height[s] = mergedHeight;
+                zeros[s] = mergedZeros;
+                merged[s + 1] = true;
+            }
+        }
+
+        // Remove the supernodes which were merged
+        int count = 0;
+        for (int s = 0; s < numSuper; s++) {
+            if (!merged[s])
+                superStart[count++] = superStart[s];
+        }
+        if (count == numSuper)
+            return;
+        numSuper = count;
+        superStart[numSuper] = N;
+
+        // Every column in a supernode has the same structure below the supernode
+        Lrelaxed.reshape(N, N, 0);
+        for (int s = 0; s < numSuper; s++) {
+            int col0 = superStart[s];
+            int col1 = superStart[s + 1];
+            int below = L.col_idx[col1] - L.col_idx[col1 - 1] - 1;
+            for (int j = col0; j < col1; j++) {
+                counts[j] = col1 - j + below;
+            }
+        }
+        Lrelaxed.histogramToStructure(counts);
+        for (int s = 0; s < numSuper; s++) {
+            int col0 = superStart[s];
+            int col1 = superStart[s + 1];
+            int belowIdx = L.col_idx[col1 - 1] + 1;
+            int below = L.col_idx[col1] - belowIdx;
+            for (int j = col0; j < col1; j++) {
+                int idx = Lrelaxed.col_idx[j];
+                for (int i = j; i < col1; i++) {
+                    Lrelaxed.nz_rows[idx++] = i;
+                }
+                System.arraycopy(L.nz_rows, belowIdx, Lrelaxed.nz_rows, idx, below);
+            }
+        }
+
+        DMatrixSparseCSC tmp = L;
+        L = Lrelaxed;
+        Lrelaxed = tmp;
+    }
+
+    /**
+     * Splits supernodes which are wider than {@link #maxWidth}. The diagonal block is factored with an unblocked
+     * algorithm, so for wide supernodes it's faster to let most of the work be done by the updates between
+     * the split supernodes.
+     */
+    private void splitWideSupernodes() {
+        int[] superStart = gSuperStart.data;
+        int count = 0;
+        for (int s = 0; s < numSuper; s++) {
+            count += (superStart[s + 1] - superStart[s] + maxWidth - 1)/maxWidth;
+        }
+        if (count == numSuper)
+            return;
+
+        // Go backwards so that nothing is overwritten before it has been read
+        int idx = count;
+        int col1 = N;
+        for (int s = numSuper - 1; s >= 0; s--) {
+            int col0 = superStart[s];
+            for (int col = col0 + ((col1 - col0 - 1)/maxWidth)*maxWidth; col >= col0; col -= maxWidth) {
+                superStart[--idx] = col;
+            }
+            col1 = col0;
+        }
+        numSuper = count;
+        superStart[numSuper] = N;
+    }
+
+    /**
+     * Number of elements in the lower trapezoidal part of a supernode
+     */
+    private static long blockSize( int width, int height ) {
+        return (long)width*height - (long)width*(width - 1)/2;
+    }
+
+    @Override
+    protected boolean performDecomposition( DMatrixSparseCSC A ) {
+        CommonOps_DSCC.transpose(A, At, gw);
+
+        int[] superStart = gSuperStart.data;
+        int[] colToSuper = gColToSuper.data;
+        int[] blockStart = gBlockStart.data;
+        double[] X = adjust(gBlocks, blockStart[numSuper]);
+        int[] head = adjust(gHead, numSuper);
+        int[] next = adjust(gNext, numSuper);
+        int[] pos = adjust(gPos, numSuper);
+        int[] map = adjust(gMap, N);
+        Arrays.fill(head, 0, numSuper, -1);
+
+        for (int J = 0; J < numSuper; J++) {
+            int col0 = superStart[J];
+            int col1 = superStart[J + 1];
+            int width = col1 - col0;
+            int rows0 = L.col_idx[col0];
+            int height = L.col_idx[col0 + 1] - rows0;
+            int offJ = blockStart[J];
+
+            //----- Copy the lower triangular part of A into the block
+            Arrays.fill(X, offJ, offJ + height*width, 0);
+            for (int i = 0; i < height; i++) {
+                map[L.nz_rows[rows0 + i]] = i;
+            }
+            for (int j = 0; j < width; j++) {
+                int col = col0 + j;
+                for (int p = At.col_idx[col]; p < At.col_idx[col + 1]; p++) {
+                    int row = At.nz_rows[p];
+                    if (row >= col)
+                        X[offJ + map[row]*width + j] = At.nz_values[p];
+                }
+            }
+
+            //----- Subtract the updates from descendants
+            int K = head[J];
+            while (K != -1) {
+                int nextK = next[K];
+                int widthK = superStart[K + 1] - superStart[K];
+                int rowsK = L.col_idx[superStart[K]];
+                int heightK = L.col_idx[superStart[K] + 1] - rowsK;
+                int offK = blockStart[K];
+
+                // rows p1 to p2-1 in K are inside of J's columns
+                int p1 = pos[K];
+                int p2 = p1;
+                while (p2 < heightK && L.nz_rows[rowsK + p2] < col1) {
+                    p2++;
+                }
+
+                // C' = L_K[p1:p2, :]*L_K[p1:, :]'
+                int heightC = heightK - p1;
+                int widthC = p2 - p1;
+                double[] Ct = adjust(gC, heightC*widthC);
+                multTransB(X, offK + p1*widthK, widthC, heightC, widthK, Ct);
+
+                // Scatter the lower triangular part of C into J
+                int[] rowIndexJ = adjust(gRowIndex, heightC);
+                for (int i = 0; i < heightC; i++) {
+                    rowIndexJ[i] = offJ + map[L.nz_rows[rowsK + p1 + i]]*width;
+                }
+                for (int j = 0; j < widthC; j++) {
+                    int colJ = L.nz_rows[rowsK + p1 + j] - col0;
+                    int indexC = j*heightC;
+                    for (int i = j; i < heightC; i++) {
+                        X[rowIndexJ[i] + colJ] -= Ct[indexC + i];
+                    }
+                }
+
+                // Move on to the next supernode this descendant will update
+                if (p2 < heightK) {
+                    pos[K] = p2;
+                    link(K, colToSuper[L.nz_rows[rowsK + p2]], head, next);
+                }
+                K = nextK;
+            }
+
+            //----- Factor the diagonal block then solve for the block below it
+            if (!InnerCholesky_DDRB.lower(X, offJ, width))
+                return false;
+            if (height > width)
+                InnerTriangularSolver_DDRB.solveLTransB(X, X, width, height - width, width, offJ, offJ + width*width);
+
+            //----- Copy the results into L
+            for (int j = 0; j < width; j++) {
+                int idx = L.col_idx[col0 + j];
+                for (int i = j; i < height; i++) {
+                    L.nz_values[idx++] = X[offJ + i*width + j];
+                }
+            }
+
+            if (height > width) {
+                pos[J] = width;
+                link(J, colToSuper[L.nz_rows[rows0 + width]], head, next);
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Computes C = A[0:m,:]*A' where A is a row-major matrix with n rows. Only the elements in C with
+     * row &le; column are computed. Rows and columns are processed in blocks of 4 so that each element loaded
+     * from A is used multiple times.
+     *
+     * @param A Array containing the row-major matrix
+     * @param indexA First element in A
+     * @param m Number of rows in C
+     * @param n Number of rows in A and columns in C
+     * @param width Number of columns in A
+     * @param C Storage for the m by n row-major output
+     */
+    static void multTransB( double[] A, int indexA, int m, int n, int width, double[] C ) {
+        int i = 0;
+        for (; i + 4 <= m; i += 4) {
+            int a0 = indexA + i*width, a1 = a0 + width, a2 = a1 + width, a3 = a2 + width;
+            int j = i;
+            for (; j + 4 <= n; j += 4) {
+                int b0 = indexA + j*width, b1 = b0 + width, b2 = b1 + width, b3 = b2 + width;
+                double c00 = 0, c01 = 0, c02 = 0, c03 = 0, c10 = 0, c11 = 0, c12 = 0, c13 = 0;
+                double c20 = 0, c21 = 0, c22 = 0, c23 = 0, c30 = 0, c31 = 0, c32 = 0, c33 = 0;
+                for (int k = 0; k < width; k++) {
+                    double va0 = A[a0 + k], va1 = A[a1 + k], va2 = A[a2 + k], va3 = A[a3 + k];
+                    double vb0 = A[b0 + k], vb1 = A[b1 + k], vb2 = A[b2 + k], vb3 = A[b3 + k];
+                    c00 += va0*vb0; c01 += va0*vb1; c02 += va0*vb2; c03 += va0*vb3;
+                    c10 += va1*vb0; c11 += va1*vb1; c12 += va1*vb2; c13 += va1*vb3;
+                    c20 += va2*vb0; c21 += va2*vb1; c22 += va2*vb2; c23 += va2*vb3;
+                    c30 += va3*vb0; c31 += va3*vb1; c32 += va3*vb2; c33 += va3*vb3;
+                }
+                int c = i*n + j;
+                C[c] = c00; C[c + 1] = c01; C[c + 2] = c02; C[c + 3] = c03;
+                c += n;
+                C[c] = c10; C[c + 1] = c11; C[c + 2] = c12; C[c + 3] = c13;
+                c += n;
+                C[c] = c20; C[c + 1] = c21; C[c + 2] = c22; C[c + 3] = c23;
+                c += n;
+                C[c] = c30; C[c + 1] = c31; C[c + 2] = c32; C[c + 3] = c33;
+            }
+            for (; j < n; j++) {
+                int b0 = indexA + j*width;
+                double c0 = 0, c1 = 0, c2 = 0, c3 = 0;
+                for (int k = 0; k < width; k++) {
+                    double vb = A[b0 + k];
+                    c0 += A[a0 + k]*vb;
+                    c1 += A[a1 + k]*vb;
+                    c2 += A[a2 + k]*vb;
+                    c3 += A[a3 + k]*vb;
+                }
+                C[i*n + j] = c0;
+                C[(i + 1)*n + j] = c1;
+                C[(i + 2)*n + j] = c2;
+                C[(i + 3)*n + j] = c3;
+            }
+        }
+        for (; i < m; i++) {
+            int a0 = indexA + i*width;
+            for (int j = i; j < n; j++) {
+                int b0 = indexA + j*width;
+                double sum = 0;
+                for (int k = 0; k < width; k++) {
+                    sum += A[a0 + k]*A[b0 + k];
+                }
+                C[i*n + j] = sum;
+            }
+        }
+    }
+
+    /**
+     * Adds the descendant to the list of supernodes which will update the target
+     */
+    private static void link( int descendant, int target, int[] head, int[] next ) {
+        next[descendant] = head[target];
+        head[target] = descendant;
+    }
+
+    /**
+     * Returns the number of supernodes found in the most recent decomposition
+     */
+    public int getNumberOfSupernodes() {
+        return numSuper;
+    }
+}
@@ -18,14 +18,9 @@
 
 package org.ejml.sparse.csc.decomposition.chol;
 
-import org.ejml.data.Complex_F64;
-import org.ejml.data.DGrowArray;
 import org.ejml.data.DMatrixSparseCSC;
 import org.ejml.data.IGrowArray;
-import org.ejml.interfaces.decomposition.CholeskySparseDecomposition_F64;
-import org.ejml.sparse.csc.misc.ColumnCounts_DSCC;
 import org.ejml.sparse.csc.misc.TriangularSolver_DSCC;
-import org.jetbrains.annotations.Nullable;
 
 import static org.ejml.UtilEjml.adjust;
 
@@ -36,64 +31,12 @@ import static org.ejml.UtilEjml.adjust;
  *
  * @author Peter Abeles
  */
-public class CholeskyUpLooking_DSCC implements
-        CholeskySparseDecomposition_F64<DMatrixSparseCSC> {
-    private int N;
-
-    // storage for decomposition
-    DMatrixSparseCSC L = new DMatrixSparseCSC(1, 1, 0);
-
+public class CholeskyUpLooking_DSCC extends CholeskyCommon_DSCC {
     // workspace storage
-    IGrowArray gw = new IGrowArray(1);
     IGrowArray gs = new IGrowArray(1);
-    DGrowArray gx = new DGrowArray(1);
-    int[] parent = new int[1];
-    int[] post = new int[1];
-    int[] counts = new int[1];
-    ColumnCounts_DSCC columnCounter = new ColumnCounts_DSCC(false);
-
-    // true if it has successfully decomposed a matrix
-    private boolean decomposed = false;
-    // if true then the structure is locked and won't be computed again
-    private boolean locked = false;
 
     @Override
-    public boolean decompose( DMatrixSparseCSC orig ) {
-        if (orig.numCols != orig.numRows)
-            throw new IllegalArgumentException("Must be a square matrix");
-
-        if (!locked || !decomposed)
-            performSymbolic(orig);
-
-        if (performDecomposition(orig)) {
-            decomposed = true;
-            return true;
-        } else {
-            return false;
-        }
-    }
-
-    public void performSymbolic( DMatrixSparseCSC A ) {
-        init(A.numCols);
-
-        TriangularSolver_DSCC.eliminationTree(A, false, parent, gw);
-        TriangularSolver_DSCC.postorder(parent, N, post, gw);
-        columnCounter.process(A, parent, post, counts);
-        L.reshape(A.numRows, A.numCols, 0);
-        L.histogramToStructure(counts);
-    }
-
-    private void init( int N ) {
-        this.N = N;
-        if (parent.length < N) {
-            parent = new int[N];
-            post = new int[N];
-            counts = new int[N];
-            gw.reshape(3*N);
-        }
-    }
-
-    private boolean performDecomposition( DMatrixSparseCSC A ) {
+    protected boolean performDecomposition( DMatrixSparseCSC A ) {
         int[] c = adjust(gw, N);
         int[] s = adjust(gs, N);
         double[] x = adjust(gx, N);
@@ -101,97 +44,66 @@ public class CholeskyUpLooking_DSCC implements
         System.arraycopy(L.col_idx, 0, c, 0, N);
 
         for (int k = 0; k < N; k++) {
-            //----  Nonzero pattern of L(k,:)
-            int top = TriangularSolver_DSCC.searchNzRowsElim(A, k, parent, s, c);
-
-            // x(0:k) is now zero
-            x[k] = 0;
-            int idx0 = A.col_idx[k];
-            int idx1 = A.col_idx[k + 1];
-
-            // x = full(triu(C(:,k)))
-            for (int p = idx0; p < idx1; p++) {
-                if (A.nz_rows[p] <= k) {
-                    x[A.nz_rows[p]] = A.nz_values[p];
-                }
-            }
-            double d = x[k]; // d = C(k,k)
-            x[k] = 0; // clear x for k+1 iteration
-
-            //---- Triangular Solve
-            for (; top < N; top++) {
-                int i = s[top];
-                double lki = x[i]/L.nz_values[L.col_idx[i]]; // L(k,i) = x(i) / L(i,i)
-                x[i] = 0;
-                for (int p = L.col_idx[i] + 1; p < c[i]; p++) {
-                    x[L.nz_rows[p]] -= L.nz_values[p]*lki;
-                }
-                d -= lki*lki; // d = d - L(k,i)**L(k,i)
-                int p = c[i]++;
-                L.nz_rows[p] = k;     // store L(k,i) in column i
-                L.nz_values[p] = lki;
-            }
-
-            //----- Compute L(k,k)
-            if (d <= 0) {
-                // it's not positive definite
+            if (!computeRow(A, L, k, parent, c, s, x))
                 return false;
-            }
-            int p = c[k]++;
-            L.nz_rows[p] = k;
-            L.nz_values[p] = Math.sqrt(d);
         }
 
         return true;
     }
 
-    @Override
-    public boolean inputModified() {
-        return false;
-    }
-
-    @Override
-    public boolean isLower() {
-        return true;
-    }
-
-    @Override
-    public DMatrixSparseCSC getT( @Nullable DMatrixSparseCSC T ) {
-        if (T == null) {
-            T = new DMatrixSparseCSC(L.numRows, L.numCols, L.nz_length);
+    /**
+     * Computes row k of L. All the rows which are descendants of k in the elimination tree must have already been
+     * computed. Rows in different sub trees of the elimination tree modify different elements in the arrays
+     * and can be computed at the same time.
+     *
+     * @param c Index of the next free element in each column of L
+     * @param s Workspace of length N
+     * @param x Workspace of length N. Must be all zeros. It will be all zeros when this function returns.
+     * @return true if successful or false if the matrix is not positive definite
+     */
+    static boolean computeRow( DMatrixSparseCSC A, DMatrixSparseCSC L, int k,
+                               int[] parent, int[] c, int[] s, double[] x ) {
+        int N = A.numCols;
+
+        //----  Nonzero pattern of L(k,:)
+        int top = TriangularSolver_DSCC.searchNzRowsElim(A, k, parent, s, c);
+
+        // x(0:k) is now zero
+        x[k] = 0;
+        int idx0 = A.col_idx[k];
+        int idx1 = A.col_idx[k + 1];
+
+        // x = full(triu(C(:,k)))
+        for (int p = idx0; p < idx1; p++) {
+            if (A.nz_rows[p] <= k) {
+                x[A.nz_rows[p]] = A.nz_values[p];
+            }
         }
-        T.setTo(L);
-        return T;
-    }
-
-    @Override
-    public Complex_F64 computeDeterminant() {
-        double value = 1;
-        for (int i = 0; i < N; i++) {
-            value *= L.nz_values[L.col_idx[i]];
+        double d = x[k]; // d = C(k,k)
+        x[k] = 0; // clear x for k+1 iteration
+
+        //---- Triangular Solve
+        for (; top < N; top++) {
+            int i = s[top];
+            double lki = x[i]/L.nz_values[L.col_idx[i]]; // L(k,i) = x(i) / L(i,i)
+            x[i] = 0;
+            for (int p = L.col_idx[i] + 1; p < c[i]; p++) {
+                x[L.nz_rows[p]] -= L.nz_values[p]*lki;
+            }
+            d -= lki*lki; // d = d - L(k,i)**L(k,i)
+            int p = c[i]++;
+            L.nz_rows[p] = k;     // store L(k,i) in column i
+            L.nz_values[p] = lki;
         }
-        return new Complex_F64(value*value, 0);
-    }
-
-    public DGrowArray getGx() {
-        return gx;
-    }
-
-    public DMatrixSparseCSC getL() {
-        return L;
-    }
-
-    public IGrowArray getGw() {
-        return gw;
-    }
-
-    @Override
-    public void setStructureLocked( boolean locked ) {
-        this.locked = locked;
-    }
 
-    @Override
-    public boolean isStructureLocked() {
-        return locked;
+        //----- Compute L(k,k)
+        if (d <= 0) {
+            // it's not positive definite
+            return false;
+        }
+        int p = c[k]++;
+        L.nz_rows[p] = k;
+        L.nz_values[p] = Math.sqrt(d);
+        return true;
     }
 }
@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.sparse.csc.decomposition.chol;
+
+import org.ejml.concurrency.EjmlConcurrency;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.data.IGrowArray;
+import org.ejml.sparse.csc.mult.Workspace_MT_DSCC;
+import pabeles.concurrency.GrowArray;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+import static org.ejml.UtilEjml.adjust;
+
+/**
+ * Concurrent implementation of {@link CholeskyUpLooking_DSCC}. Row k of L only depends on the rows which are
+ * its descendants in the elimination tree, which means rows in disjoint sub trees can be computed at the same time.
+ * The elimination tree is traversed from the top down. Sub trees with a large amount of work are turned into
+ * tasks and submitted to {@link EjmlConcurrency#getThreadPool() the thread pool}, while sub trees with a small
+ * amount of work are grouped together and processed sequentially in post order. A row is computed after all
+ * of its children have finished.
+ *
+ * @author Peter Abeles
+ */
+public class CholeskyUpLooking_MT_DSCC extends CholeskyUpLooking_DSCC {
+    /** Sub trees with less than this amount of work, measured in floating point operations, are not split */
+    public int minimumTaskWork = 20_000;
+
+    // Children of each node in the elimination tree. Node N is a virtual root whose children are the tree roots
+    IGrowArray gHead = new IGrowArray(1);
+    IGrowArray gNext = new IGrowArray(1);
+    // location of each node inside the post ordering
+    IGrowArray gPostLoc = new IGrowArray(1);
+    // Number of nodes inside each sub tree
+    IGrowArray gSize = new IGrowArray(1);
+    // Amount of work required to compute each sub tree
+    long[] work = new long[1];
+
+    // Workspace for each thread. Only one thread can use a workspace at any time
+    final GrowArray<Workspace_MT_DSCC> workspaces = new GrowArray<>(Workspace_MT_DSCC::new);
+    final List<Workspace_MT_DSCC> available = new ArrayList<>();
+
+    // References to internal work arrays used by the tasks
+    int[] head = new int[0];
+    int[] next = new int[0];
+    int[] postLoc = new int[0];
+    int[] size = new int[0];
+    int[] c = new int[0];
+    DMatrixSparseCSC A = new DMatrixSparseCSC(1, 1);
+    long threshold;
+    // Set to true when any row fails
+    volatile boolean failed;
+
+    @Override
+    protected boolean performDecomposition( DMatrixSparseCSC A ) {
+        if (!EjmlConcurrency.isUseConcurrent())
+            return super.performDecomposition(A);
+
+        this.A = A;
+        c = adjust(gw, N);
+        head = adjust(gHead, N + 1);
+        next = adjust(gNext, N);
+        postLoc = adjust(gPostLoc, N);
+        size = adjust(gSize, N);
+        if (work.length < N)
+            work = new long[N];
+
+        System.arraycopy(L.col_idx, 0, c, 0, N);
+
+        // build the list of children. Reverse order so that children are in increasing order
+        Arrays.fill(head, 0, N + 1, -1);
+        for (int j = N - 1; j >= 0; j--) {
+            int p = parent[j] == -1 ? N : parent[j];
+            next[j] = head[p];
+            head[p] = j;
+        }
+
+        // Size and work of each sub tree. Children always come before their parents in a post ordering
+        long totalWork = 0;
+        Arrays.fill(size, 0, N, 0);
+        Arrays.fill(work, 0, N, 0);
+        for (int loc = 0; loc < N; loc++) {
+            int j = post[loc];
+            postLoc[j] = loc;
+            size[j] += 1;
+            work[j] += (long)counts[j]*counts[j];
+            if (parent[j] != -1) {
+                size[parent[j]] += size[j];
+                work[parent[j]] += work[j];
+            } else {
+                totalWork += work[j];
+            }
+        }
+
+        threshold = Math.max(minimumTaskWork, totalWork/(8L*EjmlConcurrency.getMaxThreads()));
+
+        // reset the workspace for each thread
+        available.clear();
+        for (int i = 0; i < workspaces.size(); i++) {
+            Workspace_MT_DSCC ws = workspaces.get(i);
+            initializeWorkspace(ws);
+            available.add(ws);
+        }
+
+        failed = false;
+        EjmlConcurrency.getThreadPool().invoke(new SubtreeTask(N));
+
+        // discard references
+        this.A = new DMatrixSparseCSC(1, 1);
+
+        return !failed;
+    }
+
+    private void initializeWorkspace( Workspace_MT_DSCC ws ) {
+        ws.gw.reshape(N);
+        ws.gx.reshape(N);
+        Arrays.fill(ws.gx.data, 0, N, 0.0);
+    }
+
+    /**
+     * Computes the rows in the post ordering from loc0 to loc1-1, inclusive
+     */
+    void computeRows( int loc0, int loc1 ) {
+        Workspace_MT_DSCC ws = acquireWorkspace();
+        try {
+            for (int loc = loc0; loc < loc1 && !failed; loc++) {
+                if (!computeRow(A, L, post[loc], parent, c, ws.gw.data, ws.gx.data)) {
+                    failed = true;
+                }
+            }
+        } finally {
+            releaseWorkspace(ws);
+        }
+    }
+
+    Workspace_MT_DSCC acquireWorkspace() {
+        synchronized (available) {
+            if (!available.isEmpty())
+                return available.remove(available.size() - 1);
+            Workspace_MT_DSCC ws = workspaces.grow();
+            initializeWorkspace(ws);
+            return ws;
+        }
+    }
+
+    void releaseWorkspace( Workspace_MT_DSCC ws ) {
+        synchronized (available) {
+            available.add(ws);
+        }
+    }
+
+    /**
+     * Computes all the rows in the sub tree of the specified node.
+     */
+    @SuppressWarnings("serial")
+    class SubtreeTask extends RecursiveAction {
+        int node;
+
+        SubtreeTask( int node ) {this.node = node;}
+
+        @Override
+        protected void compute() {
+            // The virtual root has no row
+            int top = node;
+            int loc1 = node == N ? N : postLoc[node] + 1;
+
+            if (node != N && work[node] <= threshold) {
+                computeRows(loc1 - size[node], loc1);
+                return;
+            }
+
+            // Walk down a chain of nodes with a single child. These nodes can't be computed in parallel and
+            // come right after each other in the post ordering
+            while (top != N && head[top] != -1 && next[head[top]] == -1 && work[head[top]] > threshold) {
+                top = head[top];
+            }
+            int chain0 = top == N ? N : postLoc[top];
+
+            // Create tasks for all the children. Children with little work are grouped together. Since the
+            // sub trees of siblings are adjacent in the post ordering, each group is a continuous block
+            List<RecursiveAction> tasks = new ArrayList<>();
+            int groupLoc0 = -1, groupLoc1 = -1;
+            long groupWork = 0;
+            for (int child = head[top]; child != -1; child = next[child]) {
+                int childLoc0 = postLoc[child] + 1 - size[child];
+                if (work[child] > threshold) {
+                    tasks.add(new SubtreeTask(child));
+                    continue;
+                }
+                if (groupLoc0 != -1 && groupLoc1 != childLoc0) {
+                    tasks.add(new RowsTask(groupLoc0, groupLoc1));
+                    groupLoc0 = -1;
+                }
+                if (groupLoc0 == -1) {
+                    groupLoc0 = childLoc0;
+                    groupWork = 0;
+                }
+                groupLoc1 = postLoc[child] + 1;
+                groupWork += work[child];
+                if (groupWork > threshold) {
+                    tasks.add(new RowsTask(groupLoc0, groupLoc1));
+                    groupLoc0 = -1;
+                }
+            }
+            if (groupLoc0 != -1)
+                tasks.add(new RowsTask(groupLoc0, groupLoc1));
+
+            if (tasks.size() == 1) {
+                tasks.get(0).invoke();
+            } else if (!tasks.isEmpty()) {
+                invokeAll(tasks);
+            }
+
+            // All the descendants are done. Compute the rows along the chain
+            if (!failed && chain0 < loc1)
+                computeRows(chain0, loc1);
+        }
+    }
+
+    /**
+     * Sequentially computes a block of rows in the post ordering.
+     */
+    @SuppressWarnings("serial")
+    class RowsTask extends RecursiveAction {
+        int loc0, loc1;
+
+        RowsTask( int loc0, int loc1 ) {
+            this.loc0 = loc0;
+            this.loc1 = loc1;
+        }
+
+        @Override
+        protected void compute() {
+            computeRows(loc0, loc1);
+        }
+    }
+}
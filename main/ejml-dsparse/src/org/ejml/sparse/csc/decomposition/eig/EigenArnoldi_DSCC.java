@@ -0,0 +1,329 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.sparse.csc.decomposition.eig;
+
+import org.ejml.UtilEjml;
+import org.ejml.data.Complex_F64;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.CommonOps_DDRM;
+import org.ejml.dense.row.NormOps_DDRM;
+import org.ejml.dense.row.factory.DecompositionFactory_DDRM;
+import org.ejml.dense.row.factory.LinearSolverFactory_DDRM;
+import org.ejml.interfaces.decomposition.EigenDecomposition_F64;
+import org.ejml.interfaces.decomposition.QRDecomposition;
+import org.ejml.interfaces.linsol.LinearSolverDense;
+
+/**
+ * <p>
+ * Implicitly restarted Arnoldi for finding a few eigenpairs of a large sparse general matrix. The matrix is
+ * reduced to a small upper Hessenberg matrix H = V<sup>T</sup>*A*V using an Arnoldi basis V and the eigenvalues
+ * of H are found using a dense eigen decomposition. When the basis is full it's compressed by applying the
+ * unwanted eigenvalues as shifts in the QR algorithm, which filters their eigenvectors out of the starting
+ * vector. Complex conjugate shifts are applied as a pair using real arithmetic. Eigenvectors of H are found using
+ * inverse iteration.
+ * </p>
+ *
+ * <p>
+ * Sorensen, Danny C. "Implicit application of polynomial filters in a k-step Arnoldi method." SIAM Journal on
+ * Matrix Analysis and Applications 13.1 (1992): 357-385.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class EigenArnoldi_DSCC extends EigenKrylov_DSCC {
+    // Projected upper Hessenberg matrix
+    DMatrixRMaj H = new DMatrixRMaj(1, 1);
+    // Accumulated rotation from the shifts
+    DMatrixRMaj Q = new DMatrixRMaj(1, 1);
+    // workspace
+    DMatrixRMaj work = new DMatrixRMaj(1, 1);
+    DMatrixRMaj Qi = new DMatrixRMaj(1, 1);
+    DMatrixRMaj tmp = new DMatrixRMaj(1, 1);
+
+    EigenDecomposition_F64<DMatrixRMaj> eig = DecompositionFactory_DDRM.eig(false, false);
+    QRDecomposition<DMatrixRMaj> qr = DecompositionFactory_DDRM.qr();
+    LinearSolverDense<DMatrixRMaj> inverse = LinearSolverFactory_DDRM.lu(10);
+
+    // Eigenvalues of H
+    double[] real = new double[0];
+    double[] imaginary = new double[0];
+    Integer[] order = new Integer[0];
+    int[] columns = new int[0];
+
+    // Eigenvectors of H for the wanted eigenvalues. Real and imaginary components
+    DMatrixRMaj vectorsReal = new DMatrixRMaj(1, 1);
+    DMatrixRMaj vectorsImag = new DMatrixRMaj(1, 1);
+
+    public EigenArnoldi_DSCC( int numEigen, Target target ) {
+        super(numEigen, target);
+    }
+
+    @Override
+    protected int selectSubspaceSize() {
+        // Need room for a complex conjugate pair
+        int size = super.selectSubspaceSize();
+        return size < N ? Math.max(size, Math.min(N, numEigen + 3)) : size;
+    }
+
+    @Override
+    protected void process() {
+        H.reshape(m, m);
+        H.zero();
+        Q.reshape(m, m);
+        real = new double[m];
+        imaginary = new double[m];
+        order = new Integer[m];
+        columns = new int[m];
+        vectorsReal.reshape(m, numEigen + 1);
+        vectorsImag.reshape(m, numEigen + 1);
+
+        int k = 0;
+        while (true) {
+            double beta = expand(k);
+
+            // Ritz values
+            work.setTo(H);
+            if (!eig.decompose(work))
+                throw new RuntimeException("Dense eigen decomposition failed");
+            for (int i = 0; i < m; i++) {
+                Complex_F64 c = eig.getEigenvalue(i);
+                real[i] = c.real;
+                imaginary[i] = c.imaginary;
+            }
+            sortByTarget(real, imaginary, m, order);
+
+            // Don't split a complex conjugate pair
+            int numWanted = numEigen;
+            if (numWanted < m && imaginary[order[numWanted - 1]] > 0.0)
+                numWanted++;
+
+            // Residual of Ritz pair is |beta*y(m-1)|
+            double normH = NormOps_DDRM.normF(H);
+            int numConverged = 0;
+            for (int i = 0; i < numWanted; i++) {
+                double residual = beta*ritzVector(order[i], i);
+                double a = real[order[i]];
+                double b = imaginary[order[i]];
+                if (isConverged(residual, Math.sqrt(a*a + b*b), normH))
+                    numConverged++;
+            }
+
+            if (numConverged == numWanted || restarts >= maxRestarts || m == N) {
+                converged = numConverged == numWanted || m == N;
+                saveResults();
+                return;
+            }
+            restarts++;
+
+            k = Math.min(m - 1, numWanted + Math.max(numConverged, (m - numWanted)/2));
+            if (imaginary[order[k - 1]] > 0.0)
+                k = k + 1 < m ? k + 1 : k - 1;
+
+            applyShifts(k);
+
+            // f = V*Q(:,k)*H(k,k-1) + f*beta*Q(m-1,k-1)
+            for (int i = 0; i <= k; i++) {
+                columns[i] = i;
+            }
+            double[] residual = V[m];
+            double scaleA = H.unsafe_get(k, k - 1);
+            double scaleB = beta*Q.unsafe_get(m - 1, k - 1);
+            rotateBasis(Q, columns, m, k + 1);
+            double[] f = V[k];
+            for (int i = 0; i < N; i++) {
+                f[i] = f[i]*scaleA + residual[i]*scaleB;
+            }
+
+            // Reorthogonalize to avoid a slow loss of orthogonality across restarts
+            double normF = orthogonalize(f, k, h);
+            if (normF <= 1e-12*normH) {
+                randomVector(f, k);
+                normF = 0.0;
+            } else {
+                divide(f, normF);
+            }
+            for (int col = k; col < m; col++) {
+                for (int r = 0; r < m; r++) {
+                    H.unsafe_set(r, col, 0.0);
+                }
+            }
+            for (int r = k + 1; r < m; r++) {
+                H.unsafe_set(r, k - 1, 0.0);
+            }
+            H.unsafe_set(k, k - 1, normF);
+        }
+    }
+
+    /**
+     * Extends the Arnoldi basis from column k to m. The residual direction is saved in V[m].
+     *
+     * @return norm of the residual
+     */
+    private double expand( int k ) {
+        for (int j = k; j < m; j++) {
+            operator(V[j], w);
+            double beta = orthogonalize(w, j + 1, h);
+            for (int i = 0; i <= j; i++) {
+                H.unsafe_set(i, j, h[i]);
+            }
+
+            double[] next = V[j + 1];
+            if (j + 1 < m && beta <= 1e-12*Math.max(1.0, Math.abs(h[j]))) {
+                // Found an invariant subspace. Continue with a vector which isn't coupled to the subspace
+                randomVector(next, j + 1);
+                beta = 0.0;
+            } else if (beta == 0.0) {
+                return 0.0;
+            } else {
+                System.arraycopy(w, 0, next, 0, N);
+                divide(next, beta);
+            }
+            if (j + 1 < m) {
+                H.unsafe_set(j + 1, j, beta);
+            } else {
+                return beta;
+            }
+        }
+        throw new IllegalStateException("Should not be reached");
+    }
+
+    /**
+     * Applies the unwanted Ritz values as shifts. H = Q<sup>T</sup>*H*Q, where Q is accumulated. Shifted QR
+     * steps are done explicitly, which is simple and accurate enough for the small matrices used here.
+     */
+    private void applyShifts( int k ) {
+        CommonOps_DDRM.setIdentity(Q);
+        for (int i = k; i < m; i++) {
+            int idx = order[i];
+            double a = real[idx];
+            double b = imaginary[idx];
+            if (b < 0.0) {
+                // The conjugate is applied with the pair. If the pair was split then apply both here
+                if (i > k && imaginary[order[i - 1]] == -b)
+                    continue;
+                b = -b;
+            }
+
+            // M = H - a*I or M = (H - a*I)^2 + b^2*I
+            work.setTo(H);
+            for (int d = 0; d < m; d++) {
+                work.data[d*m + d] -= a;
+            }
+            if (b != 0.0) {
+                CommonOps_DDRM.mult(work, work, tmp);
+                for (int d = 0; d < m; d++) {
+                    tmp.data[d*m + d] += b*b;
+                }
+                work.setTo(tmp);
+            }
+            // M is singular when the shift is an eigenvalue of H, which is expected. QR will report a failure
+            // but Q is still orthogonal, so the returned value is ignored
+            qr.decompose(work);
+            qr.getQ(Qi, false);
+
+            CommonOps_DDRM.multTransA(Qi, H, tmp);
+            CommonOps_DDRM.mult(tmp, Qi, H);
+            CommonOps_DDRM.mult(Q, Qi, tmp);
+            Q.setTo(tmp);
+
+            // Remove numerical noise below the first sub-diagonal
+            for (int r = 2; r < m; r++) {
+                for (int c = 0; c < r - 1; c++) {
+                    H.unsafe_set(r, c, 0.0);
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes the eigenvector of H for eigenvalue 'idx' using inverse iteration and saves it into column
+     * 'col' of the vector storage.
+     *
+     * @return magnitude of the vector's last element
+     */
+    private double ritzVector( int idx, int col ) {
+        double a = real[idx];
+        double b = imaginary[idx];
+        // Perturb the eigenvalue so that the system isn't exactly singular
+        double delta = Math.sqrt(UtilEjml.EPS)*Math.max(NormOps_DDRM.normF(H), Double.MIN_NORMAL);
+        int n = b == 0.0 ? m : 2*m;
+
+        // [H - aI, bI; -bI, H - aI]*[u; v] = 0 for the eigenvector u + i*v
+        work.reshape(n, n);
+        work.zero();
+        for (int blk = 0; blk < n/m; blk++) {
+            int o = blk*m;
+            for (int r = 0; r < m; r++) {
+                for (int c = 0; c < m; c++) {
+                    work.unsafe_set(o + r, o + c, H.unsafe_get(r, c));
+                }
+                work.data[(o + r)*n + o + r] -= a + delta;
+            }
+        }
+        if (b != 0.0) {
+            for (int r = 0; r < m; r++) {
+                work.unsafe_set(r, m + r, b);
+                work.unsafe_set(m + r, r, -b);
+            }
+        }
+
+        if (!inverse.setA(work))
+            throw new RuntimeException("Inverse iteration failed");
+        var x = new DMatrixRMaj(n, 1);
+        var y = new DMatrixRMaj(n, 1);
+        CommonOps_DDRM.fill(x, 1.0);
+        for (int iter = 0; iter < 2; iter++) {
+            inverse.solve(x, y);
+            CommonOps_DDRM.divide(y, NormOps_DDRM.normF(y), x);
+        }
+
+        for (int r = 0; r < m; r++) {
+            vectorsReal.unsafe_set(r, col, x.data[r]);
+            vectorsImag.unsafe_set(r, col, b != 0.0 ? x.data[m + r] : 0.0);
+        }
+        double lastReal = vectorsReal.unsafe_get(m - 1, col);
+        double lastImag = vectorsImag.unsafe_get(m - 1, col);
+        return Math.sqrt(lastReal*lastReal + lastImag*lastImag);
+    }
+
+    /**
+     * Ritz vectors of the wanted eigenvalues are the eigenvectors estimates. Only real eigenvectors are saved.
+     */
+    private void saveResults() {
+        for (int i = 0; i < numEigen; i++) {
+            int idx = order[i];
+            saveEigenvalue(i, real[idx], imaginary[idx]);
+            if (imaginary[idx] != 0.0) {
+                eigenvectors[i] = null;
+                continue;
+            }
+
+            ritzVector(idx, i);
+            var x = new DMatrixRMaj(N, 1);
+            for (int j = 0; j < m; j++) {
+                double y = vectorsReal.unsafe_get(j, i);
+                double[] v = V[j];
+                for (int r = 0; r < N; r++) {
+                    x.data[r] += y*v[r];
+                }
+            }
+            CommonOps_DDRM.divide(x, NormOps_DDRM.normF(x));
+            eigenvectors[i] = x;
+        }
+    }
+}
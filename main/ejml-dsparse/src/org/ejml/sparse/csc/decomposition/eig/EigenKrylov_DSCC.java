@@ -0,0 +1,438 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.sparse.csc.decomposition.eig;
+
+import org.ejml.UtilEjml;
+import org.ejml.data.Complex_F64;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.interfaces.linsol.LinearSolverSparse;
+import org.ejml.sparse.FillReducing;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+import org.ejml.sparse.csc.factory.LinearSolverFactory_DSCC;
+import org.ejml.sparse.csc.mult.MatrixVectorMult_DSCC;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * <p>
+ * Base class for Krylov subspace eigensolvers which find a few eigenpairs of a large sparse matrix. A is only
+ * accessed through matrix-vector multiplication and the eigenvalues of the small projected matrix are found
+ * using a dense decomposition.
+ * </p>
+ *
+ * <p>
+ * Shift-invert mode finds the eigenvalues closest to &sigma; by applying the solver to (A - &sigma;I)<sup>-1</sup>,
+ * which is computed using a sparse factorization. Eigenvalues next to &sigma; become the largest eigenvalues
+ * of the inverse and converge quickly. This is the best way to find the smallest eigenvalues.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public abstract class EigenKrylov_DSCC {
+    /**
+     * Specifies which eigenvalues are wanted. Ignored in shift-invert mode, where the eigenvalues closest to
+     * &sigma; are found.
+     */
+    public enum Target {
+        LARGEST_MAGNITUDE,
+        SMALLEST_MAGNITUDE,
+        LARGEST_REAL,
+        SMALLEST_REAL
+    }
+
+    // Number of eigenvalues which are to be found
+    protected int numEigen;
+    protected Target target;
+
+    // Size of the Krylov subspace. If &le; 0 then it's selected automatically
+    protected int subspaceSize = 0;
+    // Relative tolerance of the residual for an eigenpair to be considered converged. EPS^(2/3) is about 4e-11
+    // in double precision and 6e-5 in single precision
+    protected double tolerance = Math.pow(UtilEjml.EPS, 2.0/3.0);
+    // Maximum number of times the subspace is restarted
+    protected int maxRestarts = 300;
+
+    // Shift-invert parameters
+    protected boolean shiftInvert = false;
+    protected double sigma;
+    protected @Nullable LinearSolverSparse<DMatrixSparseCSC, DMatrixRMaj> solver;
+
+    // Used to create the initial vector
+    protected Random rand = new Random(0xBEEF);
+
+    // Number of rows and columns in A
+    protected int N;
+    // Actual size of the subspace
+    protected int m;
+    protected DMatrixSparseCSC A = new DMatrixSparseCSC(1, 1);
+
+    // Orthonormal basis of the Krylov subspace. Has m+1 vectors with the last being the residual direction
+    protected double[][] V = new double[0][];
+    // workspace
+    protected double[] w = new double[0];
+    protected double[] h = new double[0];
+    protected double[] row = new double[0];
+    private double[] coef = new double[0];
+    private DMatrixRMaj vecB = new DMatrixRMaj(1, 1);
+    private DMatrixRMaj vecX = new DMatrixRMaj(1, 1);
+
+    // Found eigenvalues and eigenvectors
+    protected Complex_F64[] eigenvalues = new Complex_F64[0];
+    // Elements are null for complex eigenvalues
+    protected DMatrixRMaj[] eigenvectors = new DMatrixRMaj[0];
+    protected int restarts;
+    protected boolean converged;
+
+    protected EigenKrylov_DSCC( int numEigen, Target target ) {
+        if (numEigen <= 0)
+            throw new IllegalArgumentException("Must request at least one eigenvalue");
+        this.numEigen = numEigen;
+        this.target = target;
+    }
+
+    /**
+     * Finds the eigenvalues of A. A is not modified.
+     *
+     * @param A Square matrix
+     * @return true if all the requested eigenvalues converged or false if not
+     */
+    public boolean decompose( DMatrixSparseCSC A ) {
+        if (A.numRows != A.numCols)
+            throw new IllegalArgumentException("Must be a square matrix");
+        if (numEigen > A.numCols)
+            throw new IllegalArgumentException("Requested more eigenvalues than the matrix has");
+
+        this.A = A;
+        this.N = A.numCols;
+        this.m = selectSubspaceSize();
+
+        if (shiftInvert) {
+            if (solver == null)
+                solver = LinearSolverFactory_DSCC.lu(FillReducing.AMD);
+            DMatrixSparseCSC shifted = CommonOps_DSCC.add(1.0, A, -sigma, CommonOps_DSCC.identity(N), null, null, null);
+            if (!solver.setA(shifted))
+                throw new RuntimeException("Failed to factor (A - sigma*I). Is sigma an eigenvalue?");
+        }
+
+        if (V.length < m + 1 || V[0].length < N) {
+            V = new double[m + 1][N];
+            w = new double[N];
+        }
+        h = new double[m + 1];
+        row = new double[m + 1];
+        coef = new double[m + 1];
+
+        restarts = 0;
+        converged = false;
+        eigenvalues = new Complex_F64[numEigen];
+        eigenvectors = new DMatrixRMaj[numEigen];
+        for (int i = 0; i < numEigen; i++) {
+            eigenvalues[i] = new Complex_F64();
+        }
+
+        randomVector(V[0], 0);
+        process();
+        return converged;
+    }
+
+    /**
+     * Computes the eigenvalues using the basis which has already been initialized
+     */
+    protected abstract void process();
+
+    /**
+     * The default subspace size is large enough to keep the number of restarts small without using excessive
+     * memory.
+     */
+    protected int selectSubspaceSize() {
+        int size = subspaceSize > 0 ? subspaceSize : Math.max(2*numEigen + 1, 20);
+        size = Math.max(size, numEigen + 2);
+        return Math.min(size, N);
+    }
+
+    /**
+     * Applies the operator to x. y = A*x or y = inv(A - &sigma;I)*x in shift-invert mode
+     */
+    protected void operator( double[] x, double[] y ) {
+        if (shiftInvert) {
+            LinearSolverSparse<DMatrixSparseCSC, DMatrixRMaj> solver = Objects.requireNonNull(this.solver);
+            vecB.data = x;
+            vecB.numRows = N;
+            vecX.data = y;
+            vecX.numRows = N;
+            solver.solve(vecB, vecX);
+        } else {
+            MatrixVectorMult_DSCC.mult(A, x, 0, y, 0);
+        }
+    }
+
+    /**
+     * Orthogonalizes w against the first 'count' vectors in V using classical Gram-Schmidt applied twice. The
+     * coefficients are written into h.
+     *
+     * @return norm of w after orthogonalization
+     */
+    protected double orthogonalize( double[] w, int count, double[] h ) {
+        Arrays.fill(h, 0, count, 0.0);
+        for (int pass = 0; pass < 2; pass++) {
+            for (int i = 0; i < count; i++) {
+                double[] v = V[i];
+                double sum = 0;
+                for (int k = 0; k < N; k++) {
+                    sum += v[k]*w[k];
+                }
+                coef[i] = sum;
+            }
+            for (int i = 0; i < count; i++) {
+                double[] v = V[i];
+                double c = coef[i];
+                for (int k = 0; k < N; k++) {
+                    w[k] -= c*v[k];
+                }
+                h[i] += c;
+            }
+        }
+        return norm(w);
+    }
+
+    /**
+     * Fills v with a random unit vector that is orthogonal to the first 'count' vectors in V
+     */
+    protected void randomVector( double[] v, int count ) {
+        double norm = 0;
+        for (int attempt = 0; attempt < 5 && norm < 0.1; attempt++) {
+            for (int i = 0; i < N; i++) {
+                v[i] = rand.nextDouble() - 0.5;
+            }
+            double before = norm(v);
+            norm = orthogonalize(v, count, h)/before;
+        }
+        divide(v, norm(v));
+    }
+
+    /**
+     * V(:,0:cols) = V(:,0:rows)*Q(0:rows, columns). Computed in place one row at a time.
+     *
+     * @param Q Rotation matrix with at least 'rows' rows
+     * @param columns Which columns in Q are used
+     * @param cols Number of columns in V which are written to
+     */
+    protected void rotateBasis( DMatrixRMaj Q, int[] columns, int rows, int cols ) {
+        for (int k = 0; k < N; k++) {
+            for (int j = 0; j < rows; j++) {
+                row[j] = V[j][k];
+            }
+            for (int i = 0; i < cols; i++) {
+                int c = columns[i];
+                double sum = 0;
+                for (int j = 0; j < rows; j++) {
+                    sum += row[j]*Q.unsafe_get(j, c);
+                }
+                V[i][k] = sum;
+            }
+        }
+    }
+
+    /**
+     * Returns the priority of the eigenvalue for sorting. Wanted eigenvalues have the lowest score.
+     */
+    protected double score( double real, double imaginary ) {
+        if (shiftInvert)
+            return -(real*real + imaginary*imaginary);
+        switch (target) {
+            case LARGEST_MAGNITUDE: return -(real*real + imaginary*imaginary);
+            case SMALLEST_MAGNITUDE: return real*real + imaginary*imaginary;
+            case LARGEST_REAL: return -real;
+            case SMALLEST_REAL: return real;
+            default: throw new IllegalArgumentException("Unknown target " + target);
+        }
+    }
+
+    /**
+     * Sorts the indexes of eigenvalues so that the most wanted is first. Ties are broken so that complex
+     * conjugate pairs are next to each other with the positive imaginary first.
+     */
+    protected void sortByTarget( double[] real, double[] imaginary, int count, Integer[] order ) {
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, 0, count, ( a, b ) -> {
+            double sa = score(real[a], Math.abs(imaginary[a]));
+            double sb = score(real[b], Math.abs(imaginary[b]));
+            if (sa != sb)
+                return Double.compare(sa, sb);
+            if (real[a] != real[b])
+                return Double.compare(real[a], real[b]);
+            return Double.compare(imaginary[b], imaginary[a]);
+        });
+    }
+
+    /**
+     * Converts an eigenvalue of the operator into an eigenvalue of A
+     */
+    protected void saveEigenvalue( int index, double real, double imaginary ) {
+        if (shiftInvert) {
+            // lambda = sigma + 1/theta. Conjugates come in pairs, so the sign of the imaginary component is
+            // flipped to keep the positive imaginary eigenvalue first
+            double mag2 = real*real + imaginary*imaginary;
+            eigenvalues[index].setTo(sigma + real/mag2, imaginary/mag2);
+        } else {
+            eigenvalues[index].setTo(real, imaginary);
+        }
+    }
+
+    protected double norm( double[] v ) {
+        double sum = 0;
+        for (int i = 0; i < N; i++) {
+            sum += v[i]*v[i];
+        }
+        return Math.sqrt(sum);
+    }
+
+    protected void divide( double[] v, double value ) {
+        for (int i = 0; i < N; i++) {
+            v[i] /= value;
+        }
+    }
+
+    /**
+     * Enables shift-invert mode. The eigenvalues closest to sigma will be found. (A - &sigma;I) is factored
+     * using sparse LU with AMD ordering.
+     */
+    public void setShiftInvert( double sigma ) {
+        setShiftInvert(sigma, null);
+    }
+
+    /**
+     * Enables shift-invert mode using the specified solver to factor (A - &sigma;I)
+     *
+     * @param sigma The shift
+     * @param solver (Optional) Solver used to apply the inverse. If null then sparse LU with AMD ordering is used.
+     */
+    public void setShiftInvert( double sigma, @Nullable LinearSolverSparse<DMatrixSparseCSC, DMatrixRMaj> solver ) {
+        this.shiftInvert = true;
+        this.sigma = sigma;
+        this.solver = solver;
+    }
+
+    public void disableShiftInvert() {
+        this.shiftInvert = false;
+        this.solver = null;
+    }
+
+    public boolean isShiftInvert() {
+        return shiftInvert;
+    }
+
+    public double getSigma() {
+        return sigma;
+    }
+
+    /**
+     * Returns the number of eigenvalues found. This is the number requested, but not all might have converged.
+     */
+    public int getNumberOfEigenvalues() {
+        return numEigen;
+    }
+
+    /**
+     * Returns an eigenvalue. Eigenvalues are sorted with the most wanted first.
+     */
+    public Complex_F64 getEigenvalue( int index ) {
+        return eigenvalues[index];
+    }
+
+    /**
+     * Returns the eigenvector of a real eigenvalue as a unit column vector. Null is returned for complex
+     * eigenvalues.
+     */
+    public @Nullable DMatrixRMaj getEigenVector( int index ) {
+        return eigenvectors[index];
+    }
+
+    public boolean isConverged() {
+        return converged;
+    }
+
+    /**
+     * Number of times the subspace was restarted in the most recent call to {@link #decompose}
+     */
+    public int getRestarts() {
+        return restarts;
+    }
+
+    public int getNumEigen() {
+        return numEigen;
+    }
+
+    public void setNumEigen( int numEigen ) {
+        if (numEigen <= 0)
+            throw new IllegalArgumentException("Must request at least one eigenvalue");
+        this.numEigen = numEigen;
+    }
+
+    public Target getTarget() {
+        return target;
+    }
+
+    public void setTarget( Target target ) {
+        this.target = target;
+    }
+
+    public int getSubspaceSize() {
+        return subspaceSize;
+    }
+
+    /**
+     * Specifies the size of the Krylov subspace. Larger subspaces require fewer restarts but more memory.
+     *
+     * @param subspaceSize Number of basis vectors. If &le; 0 then it's selected automatically.
+     */
+    public void setSubspaceSize( int subspaceSize ) {
+        this.subspaceSize = subspaceSize;
+    }
+
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    public void setTolerance( double tolerance ) {
+        this.tolerance = tolerance;
+    }
+
+    public int getMaxRestarts() {
+        return maxRestarts;
+    }
+
+    public void setMaxRestarts( int maxRestarts ) {
+        this.maxRestarts = maxRestarts;
+    }
+
+    public void setRandom( Random rand ) {
+        this.rand = rand;
+    }
+
+    /** Used internally to check if a residual is small enough */
+    protected boolean isConverged( double residual, double magnitude, double normH ) {
+        return residual <= tolerance*Math.max(magnitude, UtilEjml.EPS*normH);
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.sparse.csc.decomposition.eig;
+
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.NormOps_DDRM;
+import org.ejml.dense.row.factory.DecompositionFactory_DDRM;
+import org.ejml.interfaces.decomposition.EigenDecomposition_F64;
+
+/**
+ * <p>
+ * Thick-restart Lanczos for finding a few eigenpairs of a large sparse symmetric matrix. The matrix is reduced
+ * to a small symmetric matrix T = V<sup>T</sup>*A*V using a Lanczos basis V. Eigenpairs of T are found using a
+ * dense symmetric eigen decomposition and used to approximate the eigenpairs of A. When the basis is full, the
+ * wanted Ritz vectors are kept and the basis is extended from them, which turns T into an arrowhead matrix
+ * plus a tridiagonal block. The basis is fully reorthogonalized at each step.
+ * </p>
+ *
+ * <p>
+ * Wu, Kesheng, and Horst Simon. "Thick-restart Lanczos method for large symmetric eigenvalue problems."
+ * SIAM Journal on Matrix Analysis and Applications 22.2 (2000): 602-616.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class EigenLanczos_DSCC extends EigenKrylov_DSCC {
+    // Projected matrix
+    DMatrixRMaj T = new DMatrixRMaj(1, 1);
+    DMatrixRMaj work = new DMatrixRMaj(1, 1);
+    // Eigenvectors of T
+    DMatrixRMaj Y = new DMatrixRMaj(1, 1);
+
+    EigenDecomposition_F64<DMatrixRMaj> eig = DecompositionFactory_DDRM.eig(true, true);
+
+    double[] theta = new double[0];
+    double[] zeros = new double[0];
+    Integer[] order = new Integer[0];
+    int[] columns = new int[0];
+
+    public EigenLanczos_DSCC( int numEigen, Target target ) {
+        super(numEigen, target);
+    }
+
+    @Override
+    protected void process() {
+        T.reshape(m, m);
+        T.zero();
+        Y.reshape(m, m);
+        theta = new double[m];
+        zeros = new double[m];
+        order = new Integer[m];
+        columns = new int[m];
+
+        // Number of vectors kept from the previous restart
+        int k = 0;
+        while (true) {
+            double beta = expand(k);
+
+            // Find Ritz values
+            work.setTo(T);
+            if (!eig.decompose(work))
+                throw new RuntimeException("Dense eigen decomposition failed");
+            for (int i = 0; i < m; i++) {
+                theta[i] = eig.getEigenvalue(i).real;
+                DMatrixRMaj y = eig.getEigenVector(i);
+                for (int j = 0; j < m; j++) {
+                    Y.unsafe_set(j, i, y.data[j]);
+                }
+            }
+            sortByTarget(theta, zeros, m, order);
+
+            // Residual of Ritz pair is |beta*Y(m-1,i)|
+            double normT = NormOps_DDRM.normF(T);
+            int numConverged = 0;
+            for (int i = 0; i < numEigen; i++) {
+                double residual = Math.abs(beta*Y.unsafe_get(m - 1, order[i]));
+                if (isConverged(residual, Math.abs(theta[order[i]]), normT))
+                    numConverged++;
+            }
+
+            if (numConverged == numEigen || restarts >= maxRestarts || m == N) {
+                converged = numConverged == numEigen || m == N;
+                saveResults();
+                return;
+            }
+            restarts++;
+
+            // Keep the wanted Ritz vectors and a few extra to speed up convergence
+            k = Math.min(m - 1, numEigen + Math.max(numConverged, (m - numEigen)/2));
+            for (int i = 0; i < k; i++) {
+                columns[i] = order[i];
+            }
+            double[] residual = V[m];
+            rotateBasis(Y, columns, m, k);
+            System.arraycopy(residual, 0, V[k], 0, N);
+
+            // T becomes diagonal with an arrowhead coupling the kept vectors to the residual
+            T.zero();
+            for (int i = 0; i < k; i++) {
+                double s = beta*Y.unsafe_get(m - 1, columns[i]);
+                T.unsafe_set(i, i, theta[columns[i]]);
+                T.unsafe_set(i, k, s);
+                T.unsafe_set(k, i, s);
+            }
+        }
+    }
+
+    /**
+     * Extends the Lanczos basis from column k to m. The residual direction is saved in V[m].
+     *
+     * @return norm of the residual
+     */
+    private double expand( int k ) {
+        for (int j = k; j < m; j++) {
+            operator(V[j], w);
+            double beta = orthogonalize(w, j + 1, h);
+            for (int i = 0; i <= j; i++) {
+                T.unsafe_set(i, j, h[i]);
+                T.unsafe_set(j, i, h[i]);
+            }
+
+            double[] next = V[j + 1];
+            if (j + 1 < m && beta <= 1e-12*Math.max(1.0, Math.abs(h[j]))) {
+                // Found an invariant subspace. Continue with a vector which isn't coupled to the subspace
+                randomVector(next, j + 1);
+                beta = 0.0;
+            } else if (beta == 0.0) {
+                // The basis spans the whole space
+                return 0.0;
+            } else {
+                System.arraycopy(w, 0, next, 0, N);
+                divide(next, beta);
+            }
+            if (j + 1 < m) {
+                T.unsafe_set(j + 1, j, beta);
+                T.unsafe_set(j, j + 1, beta);
+            } else {
+                return beta;
+            }
+        }
+        throw new IllegalStateException("Should not be reached");
+    }
+
+    /**
+     * Ritz vectors of the wanted eigenvalues are the eigenvectors estimates
+     */
+    private void saveResults() {
+        for (int i = 0; i < numEigen; i++) {
+            int c = order[i];
+            saveEigenvalue(i, theta[c], 0.0);
+
+            var x = new DMatrixRMaj(N, 1);
+            for (int j = 0; j < m; j++) {
+                double y = Y.unsafe_get(j, c);
+                double[] v = V[j];
+                for (int r = 0; r < N; r++) {
+                    x.data[r] += y*v[r];
+                }
+            }
+            double norm = NormOps_DDRM.normF(x);
+            for (int r = 0; r < N; r++) {
+                x.data[r] /= norm;
+            }
+            eigenvectors[i] = x;
+        }
+    }
+}
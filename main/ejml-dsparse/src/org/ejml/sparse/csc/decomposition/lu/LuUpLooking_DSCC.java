@@ -37,6 +37,9 @@ import static org.ejml.UtilEjml.permutationSign;
  * <p>NOTE: Based mostly on the algorithm described on page 86 in csparse. cs_lu</p>
  * <p>NOTE: See in code comment for a modification from csparse.</p>
  *
+ * <p>If a fill reducing permutation is specified then L*U = P*A*Q, where P is the row pivots (including any rows
+ * permuted by the fill reduction) and Q is the column permutation from the fill reduction.</p>
+ *
  * @author Peter Abeles
  */
 public class LuUpLooking_DSCC
@@ -65,7 +68,21 @@ public class LuUpLooking_DSCC
     @Override
     public boolean decompose( DMatrixSparseCSC A ) {
         initialize(A);
-        return performLU(applyReduce.apply(A));
+        if (!performLU(applyReduce.apply(A)))
+            return false;
+
+        // If the fill reduction permuted the rows then include that in the row pivots so that
+        // L*U = P*A*Q, where P is the row pivots and Q is the fill reduction column permutation
+        int[] pinvFill = applyReduce.getArrayPinv();
+        if (pinvFill != null) {
+            int m = A.numRows;
+            int[] tmp = UtilEjml.adjust(gw, m);
+            System.arraycopy(pinv, 0, tmp, 0, m);
+            for (int i = 0; i < m; i++) {
+                pinv[i] = tmp[pinvFill[i]];
+            }
+        }
+        return true;
     }
 
     private void initialize( DMatrixSparseCSC A ) {
@@ -93,7 +110,6 @@ public class LuUpLooking_DSCC
     private boolean performLU( DMatrixSparseCSC A ) {
         int m = A.numRows;
         int n = A.numCols;
-        int[] q = applyReduce.getArrayP();
 
         int[] w = UtilEjml.adjust(gw, m*2, m);
 
@@ -109,8 +125,7 @@ public class LuUpLooking_DSCC
             if (U.nz_length + n > U.nz_values.length)
                 U.growMaxLength(2*U.nz_values.length + n, true);
 
-            int col = q != null ? q[k] : k;
-            int top = TriangularSolver_DSCC.solveColB(L, true, A, col, x, pinv, gxi, w);
+            int top = TriangularSolver_DSCC.solveColB(L, true, A, k, x, pinv, gxi, w);
             int[] xi = gxi.data;
 
             //--------- Find the Next Pivot. That will be the row with the largest value
@@ -180,7 +195,10 @@ public class LuUpLooking_DSCC
     public Complex_F64 computeDeterminant() {
         // see dense algorithm. There is probably a faster way to compute the sign while decomposing
         // the matrix.
-        double value = permutationSign(pinv, U.numCols, gw.data);
+        double value = permutationSign(pinv, U.numCols, UtilEjml.adjust(gw, U.numCols));
+        int[] q = applyReduce.getArrayQ();
+        if (q != null)
+            value *= permutationSign(q, U.numCols, gw.data);
         for (int i = 0; i < U.numCols; i++) {
             value *= U.nz_values[U.col_idx[i + 1] - 1];
         }
@@ -258,8 +276,11 @@ public class LuUpLooking_DSCC
         return ret;
     }
 
+    /**
+     * Returns the fill reduction column permutation, Q in L*U = P*A*Q
+     */
     public int[] getReducePermutation() {
-        int[] ret = applyReduce.getArrayP();
+        int[] ret = applyReduce.getArrayQ();
         if (ret == null)
             throw new RuntimeException("Check to see if there is any fill reduce ordering to apply first");
         return ret;
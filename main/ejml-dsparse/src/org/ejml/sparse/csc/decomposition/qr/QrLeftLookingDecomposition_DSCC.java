@@ -37,6 +37,9 @@ import java.util.Arrays;
  *
  * <p>NOTE: See qr_left on page 71 and cs_qr() in csparse </p>
  *
+ * <p>If a fill reducing permutation is specified then the decomposition is of P*A*Q, where P and Q are the
+ * row and column permutations from the fill reduction.</p>
+ *
  * @author Peter Abeles
  */
 public class QrLeftLookingDecomposition_DSCC implements
@@ -98,7 +101,6 @@ public class QrLeftLookingDecomposition_DSCC implements
 
     private void performDecomposition( DMatrixSparseCSC A ) {
         int[] w = gwork.data;
-        int[] permCol = applyReduce.getArrayQ();
         int[] parent = structure.getParent();
         int[] leftmost = structure.getLeftMost();
         // permutation that was done to ensure all rows have non-zero elements
@@ -120,10 +122,9 @@ public class QrLeftLookingDecomposition_DSCC implements
             w[k] = k;
             V.nz_rows[V.nz_length++] = k;                       // Add V(k,k) to V's pattern
             int top = n;
-            int col = permCol != null ? permCol[k] : k;
 
-            int idx0 = A.col_idx[col];
-            int idx1 = A.col_idx[col + 1];
+            int idx0 = A.col_idx[k];
+            int idx1 = A.col_idx[k + 1];
 
             for (int p = idx0; p < idx1; p++) {
                 int i = leftmost[A.nz_rows[p]];
@@ -272,15 +273,28 @@ public class QrLeftLookingDecomposition_DSCC implements
         return beta[index];
     }
 
+    /**
+     * Returns the fill reduction column permutation, Q in Q*R = P*A*Q
+     */
     public int[] getFillPermutation() {
-        int[] ret = applyReduce.getArrayP();
+        int[] ret = applyReduce.getArrayQ();
         if (ret == null)
             throw new RuntimeException("No permutation. Should have called isFillPermuted()");
         return ret;
     }
 
+    /**
+     * Returns the inverse of the fill reduction row permutation or null if rows were not permuted
+     */
+    public @Nullable int[] getFillRowPermutationInv() {
+        return applyReduce.getArrayPinv();
+    }
+
+    /**
+     * True if the columns were permuted to reduce fill in
+     */
     public boolean isFillPermutated() {
-        return applyReduce.isApplied();
+        return applyReduce.getArrayQ() != null;
     }
 
     public boolean isSingular() {
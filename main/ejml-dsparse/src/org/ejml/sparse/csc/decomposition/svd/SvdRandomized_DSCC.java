@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.sparse.csc.decomposition.svd;
+
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.dense.row.decomposition.svd.SvdRandomizedCommon_DDRM;
+import org.ejml.interfaces.decomposition.DecompositionInterface;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+
+/**
+ * Randomized truncated SVD for sparse matrices. A is only used in sparse-dense multiplications and the singular
+ * vectors are returned as dense matrices. See {@link SvdRandomizedCommon_DDRM}.
+ *
+ * @author Peter Abeles
+ */
+public class SvdRandomized_DSCC extends SvdRandomizedCommon_DDRM<DMatrixSparseCSC>
+        implements DecompositionInterface<DMatrixSparseCSC> {
+
+    // workspace
+    protected final DGrowArray work = new DGrowArray();
+
+    public SvdRandomized_DSCC( int rank, int oversampling, int powerIterations,
+                               boolean computeU, boolean computeV ) {
+        super(rank, oversampling, powerIterations, computeU, computeV);
+    }
+
+    @Override
+    protected void multA( DMatrixSparseCSC A, DMatrixRMaj X, DMatrixRMaj Y ) {
+        CommonOps_DSCC.mult(A, X, Y);
+    }
+
+    @Override
+    protected void multTransA( DMatrixSparseCSC A, DMatrixRMaj X, DMatrixRMaj Y ) {
+        CommonOps_DSCC.multTransA(A, X, Y, work);
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.sparse.csc.decomposition.svd;
+
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.dense.row.CommonOps_MT_DDRM;
+import org.ejml.dense.row.decomposition.qr.QRDecompositionHouseholderColumn_MT_DDRM;
+import org.ejml.interfaces.decomposition.QRDecomposition;
+import org.ejml.sparse.csc.CommonOps_MT_DSCC;
+import pabeles.concurrency.GrowArray;
+
+/**
+ * <p>Concurrent version of {@link SvdRandomized_DSCC}</p>
+ *
+ * @author Peter Abeles
+ */
+public class SvdRandomized_MT_DSCC extends SvdRandomized_DSCC {
+    // workspace for each thread
+    protected final GrowArray<DGrowArray> workArrays = new GrowArray<>(DGrowArray::new);
+
+    public SvdRandomized_MT_DSCC( int rank, int oversampling, int powerIterations,
+                                  boolean computeU, boolean computeV ) {
+        super(rank, oversampling, powerIterations, computeU, computeV);
+    }
+
+    @Override
+    protected void multA( DMatrixSparseCSC A, DMatrixRMaj X, DMatrixRMaj Y ) {
+        CommonOps_MT_DSCC.mult(A, X, Y, workArrays);
+    }
+
+    @Override
+    protected void multTransA( DMatrixSparseCSC A, DMatrixRMaj X, DMatrixRMaj Y ) {
+        CommonOps_MT_DSCC.multTransA(A, X, Y, workArrays);
+    }
+
+    @Override
+    protected void mult( DMatrixRMaj A, DMatrixRMaj B, DMatrixRMaj C ) {
+        CommonOps_MT_DDRM.mult(A, B, C);
+    }
+
+    @Override
+    protected QRDecomposition<DMatrixRMaj> createQR() {
+        return new QRDecompositionHouseholderColumn_MT_DDRM();
+    }
+}
@@ -24,9 +24,14 @@ import org.ejml.interfaces.decomposition.LUSparseDecomposition_F64;
 import org.ejml.interfaces.decomposition.QRSparseDecomposition;
 import org.ejml.sparse.ComputePermutation;
 import org.ejml.sparse.FillReducing;
+import org.ejml.sparse.csc.decomposition.chol.CholeskySupernodal_DSCC;
 import org.ejml.sparse.csc.decomposition.chol.CholeskyUpLooking_DSCC;
+import org.ejml.sparse.csc.decomposition.eig.EigenArnoldi_DSCC;
+import org.ejml.sparse.csc.decomposition.eig.EigenKrylov_DSCC;
+import org.ejml.sparse.csc.decomposition.eig.EigenLanczos_DSCC;
 import org.ejml.sparse.csc.decomposition.lu.LuUpLooking_DSCC;
 import org.ejml.sparse.csc.decomposition.qr.QrLeftLookingDecomposition_DSCC;
+import org.ejml.sparse.csc.decomposition.svd.SvdRandomized_DSCC;
 
 /**
  * Factory for sparse matrix decompositions
@@ -38,6 +43,14 @@ public class DecompositionFactory_DSCC {
         return new CholeskyUpLooking_DSCC();
     }
 
+    /**
+     * Supernodal Cholesky decomposition. Dense blocks are used to process groups of columns which have the same
+     * structure. Faster than {@link #cholesky()} for large matrices with a lot of fill in.
+     */
+    public static CholeskySparseDecomposition_F64 choleskySupernodal() {
+        return new CholeskySupernodal_DSCC();
+    }
+
     public static QRSparseDecomposition<DMatrixSparseCSC> qr(FillReducing permutation) {
         ComputePermutation<DMatrixSparseCSC> cp = FillReductionFactory_DSCC.create(permutation);
         return new QrLeftLookingDecomposition_DSCC(cp);
@@ -47,4 +60,34 @@ public class DecompositionFactory_DSCC {
         ComputePermutation<DMatrixSparseCSC> cp = FillReductionFactory_DSCC.create(permutation);
         return new LuUpLooking_DSCC(cp);
     }
+
+    /**
+     * Finds a few eigenvalues of a large sparse matrix using a Krylov subspace method. See
+     * {@link EigenKrylov_DSCC#setShiftInvert} for finding eigenvalues close to a value.
+     *
+     * @param numEigen Number of eigenvalues which are to be found
+     * @param target Which eigenvalues are to be found
+     * @param symmetric If true then thick-restart Lanczos is used, which requires A to be symmetric. Otherwise
+     * implicitly restarted Arnoldi is used.
+     */
+    public static EigenKrylov_DSCC eig( int numEigen, EigenKrylov_DSCC.Target target, boolean symmetric ) {
+        if (symmetric)
+            return new EigenLanczos_DSCC(numEigen, target);
+        else
+            return new EigenArnoldi_DSCC(numEigen, target);
+    }
+
+    /**
+     * Randomized truncated SVD which only computes the largest singular values. Singular vectors are dense.
+     *
+     * @param rank Number of singular values which are computed
+     * @param oversampling Extra samples used to estimate the range of the matrix. Try 10.
+     * @param powerIterations Number of power iterations. Increase if singular values decay slowly. Try 2.
+     * @param needU Should it compute the U matrix
+     * @param needV Should it compute the V matrix
+     */
+    public static SvdRandomized_DSCC svdRandomized( int rank, int oversampling, int powerIterations,
+                                                    boolean needU, boolean needV ) {
+        return new SvdRandomized_DSCC(rank, oversampling, powerIterations, needU, needV);
+    }
 }
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.sparse.csc.factory;
+
+import org.ejml.interfaces.decomposition.CholeskySparseDecomposition_F64;
+import org.ejml.sparse.csc.decomposition.chol.CholeskyUpLooking_MT_DSCC;
+import org.ejml.sparse.csc.decomposition.svd.SvdRandomized_MT_DSCC;
+
+/**
+ * Contains concurrent implementations of sparse matrix decompositions.
+ *
+ * @author Peter Abeles
+ */
+public class DecompositionFactory_MT_DSCC {
+    /**
+     * Cholesky decomposition where independent sub trees of the elimination tree are computed in parallel.
+     */
+    public static CholeskySparseDecomposition_F64 cholesky() {
+        return new CholeskyUpLooking_MT_DSCC();
+    }
+
+    /**
+     * Randomized truncated SVD which only computes the largest singular values. Singular vectors are dense.
+     *
+     * @param rank Number of singular values which are computed
+     * @param oversampling Extra samples used to estimate the range of the matrix. Try 10.
+     * @param powerIterations Number of power iterations. Increase if singular values decay slowly. Try 2.
+     * @param needU Should it compute the U matrix
+     * @param needV Should it compute the V matrix
+     */
+    public static SvdRandomized_MT_DSCC svdRandomized( int rank, int oversampling, int powerIterations,
+                                                       boolean needU, boolean needV ) {
+        return new SvdRandomized_MT_DSCC(rank, oversampling, powerIterations, needU, needV);
+    }
+}
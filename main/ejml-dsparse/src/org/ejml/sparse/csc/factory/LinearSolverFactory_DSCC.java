@@ -23,12 +23,18 @@ import org.ejml.data.DMatrixSparseCSC;
 import org.ejml.interfaces.linsol.LinearSolverSparse;
 import org.ejml.sparse.ComputePermutation;
 import org.ejml.sparse.FillReducing;
+import org.ejml.sparse.csc.decomposition.chol.CholeskySupernodal_DSCC;
 import org.ejml.sparse.csc.decomposition.chol.CholeskyUpLooking_DSCC;
 import org.ejml.sparse.csc.decomposition.lu.LuUpLooking_DSCC;
 import org.ejml.sparse.csc.decomposition.qr.QrLeftLookingDecomposition_DSCC;
 import org.ejml.sparse.csc.linsol.chol.LinearSolverCholesky_DSCC;
+import org.ejml.sparse.csc.linsol.iterative.LinearSolverBiCGStab_DSCC;
+import org.ejml.sparse.csc.linsol.iterative.LinearSolverConjugateGradient_DSCC;
+import org.ejml.sparse.csc.linsol.iterative.LinearSolverGmres_DSCC;
+import org.ejml.sparse.csc.linsol.iterative.Preconditioner_DSCC;
 import org.ejml.sparse.csc.linsol.lu.LinearSolverLu_DSCC;
 import org.ejml.sparse.csc.linsol.qr.LinearSolverQrLeftLooking_DSCC;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Factory for sparse linear solvers
@@ -42,6 +48,16 @@ public class LinearSolverFactory_DSCC {
         return new LinearSolverCholesky_DSCC(chol,cp);
     }
 
+    /**
+     * Cholesky solver which uses {@link CholeskySupernodal_DSCC}. Faster for large matrices with a lot of fill in,
+     * such as those from 2D and 3D meshes.
+     */
+    public static LinearSolverSparse<DMatrixSparseCSC,DMatrixRMaj> choleskySupernodal(FillReducing permutation) {
+        ComputePermutation<DMatrixSparseCSC> cp = FillReductionFactory_DSCC.create(permutation);
+        CholeskySupernodal_DSCC chol = (CholeskySupernodal_DSCC)DecompositionFactory_DSCC.choleskySupernodal();
+        return new LinearSolverCholesky_DSCC(chol,cp);
+    }
+
     public static LinearSolverSparse<DMatrixSparseCSC,DMatrixRMaj> qr(FillReducing permutation) {
         ComputePermutation<DMatrixSparseCSC> cp = FillReductionFactory_DSCC.create(permutation);
         QrLeftLookingDecomposition_DSCC qr = new QrLeftLookingDecomposition_DSCC(cp);
@@ -53,4 +69,38 @@ public class LinearSolverFactory_DSCC {
         LuUpLooking_DSCC lu = new LuUpLooking_DSCC(cp);
         return new LinearSolverLu_DSCC(lu);
     }
+
+    /**
+     * Preconditioned Conjugate Gradient solver for symmetric positive definite matrices. Iterative solvers
+     * don't need to store a decomposition, making them suitable for very large systems.
+     *
+     * @param preconditioner The preconditioner. If null then none is used.
+     */
+    public static LinearSolverConjugateGradient_DSCC conjugateGradient( @Nullable Preconditioner_DSCC preconditioner ) {
+        return new LinearSolverConjugateGradient_DSCC(preconditioner);
+    }
+
+    /**
+     * Restarted GMRES solver for general square matrices. Memory usage is bounded by the restart parameter,
+     * which makes it suitable for systems where the fill in of a direct decomposition is too large.
+     *
+     * @param restart Number of iterations before it restarts. Try 30 if unsure.
+     * @param left Left preconditioner. Can be null.
+     * @param right Right preconditioner. Can be null.
+     */
+    public static LinearSolverGmres_DSCC gmres( int restart, @Nullable Preconditioner_DSCC left,
+                                                @Nullable Preconditioner_DSCC right ) {
+        return new LinearSolverGmres_DSCC(restart, left, right);
+    }
+
+    /**
+     * BiCGSTAB solver for general square matrices. Uses a fixed amount of memory, but it can break down.
+     *
+     * @param left Left preconditioner. Can be null.
+     * @param right Right preconditioner. Can be null.
+     */
+    public static LinearSolverBiCGStab_DSCC bicgstab( @Nullable Preconditioner_DSCC left,
+                                                     @Nullable Preconditioner_DSCC right ) {
+        return new LinearSolverBiCGStab_DSCC(left, right);
+    }
 }
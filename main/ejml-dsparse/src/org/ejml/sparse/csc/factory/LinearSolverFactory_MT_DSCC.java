@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.sparse.csc.factory;
+
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.interfaces.linsol.LinearSolverSparse;
+import org.ejml.sparse.ComputePermutation;
+import org.ejml.sparse.FillReducing;
+import org.ejml.sparse.csc.decomposition.chol.CholeskyUpLooking_MT_DSCC;
+import org.ejml.sparse.csc.linsol.chol.LinearSolverCholesky_DSCC;
+import org.ejml.sparse.csc.linsol.iterative.LinearSolverBiCGStab_DSCC;
+import org.ejml.sparse.csc.linsol.iterative.LinearSolverConjugateGradient_DSCC;
+import org.ejml.sparse.csc.linsol.iterative.LinearSolverGmres_DSCC;
+import org.ejml.sparse.csc.linsol.iterative.Preconditioner_DSCC;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Factory for concurrent sparse linear solvers
+ *
+ * @author Peter Abeles
+ */
+public class LinearSolverFactory_MT_DSCC {
+    public static LinearSolverSparse<DMatrixSparseCSC, DMatrixRMaj> cholesky( FillReducing permutation ) {
+        ComputePermutation<DMatrixSparseCSC> cp = FillReductionFactory_DSCC.create(permutation);
+        CholeskyUpLooking_MT_DSCC chol = (CholeskyUpLooking_MT_DSCC)DecompositionFactory_MT_DSCC.cholesky();
+        return new LinearSolverCholesky_DSCC(chol, cp);
+    }
+
+    /**
+     * Preconditioned Conjugate Gradient solver where matrix-vector multiplication is done using multiple threads.
+     *
+     * @param preconditioner The preconditioner. If null then none is used.
+     */
+    public static LinearSolverConjugateGradient_DSCC conjugateGradient( @Nullable Preconditioner_DSCC preconditioner ) {
+        var solver = new LinearSolverConjugateGradient_DSCC(preconditioner);
+        solver.setConcurrent(true);
+        return solver;
+    }
+
+    /**
+     * Restarted GMRES solver where matrix-vector multiplication is done using multiple threads.
+     *
+     * @param restart Number of iterations before it restarts. Try 30 if unsure.
+     * @param left Left preconditioner. Can be null.
+     * @param right Right preconditioner. Can be null.
+     */
+    public static LinearSolverGmres_DSCC gmres( int restart, @Nullable Preconditioner_DSCC left,
+                                                @Nullable Preconditioner_DSCC right ) {
+        var solver = new LinearSolverGmres_DSCC(restart, left, right);
+        solver.setConcurrent(true);
+        return solver;
+    }
+
+    /**
+     * BiCGSTAB solver where matrix-vector multiplication is done using multiple threads.
+     *
+     * @param left Left preconditioner. Can be null.
+     * @param right Right preconditioner. Can be null.
+     */
+    public static LinearSolverBiCGStab_DSCC bicgstab( @Nullable Preconditioner_DSCC left,
+                                                     @Nullable Preconditioner_DSCC right ) {
+        var solver = new LinearSolverBiCGStab_DSCC(left, right);
+        solver.setConcurrent(true);
+        return solver;
+    }
+}
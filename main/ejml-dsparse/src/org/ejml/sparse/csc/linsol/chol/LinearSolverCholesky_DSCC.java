@@ -27,11 +27,13 @@ import org.ejml.interfaces.decomposition.DecompositionInterface;
 import org.ejml.interfaces.linsol.LinearSolverSparse;
 import org.ejml.sparse.ComputePermutation;
 import org.ejml.sparse.csc.CommonOps_DSCC;
-import org.ejml.sparse.csc.decomposition.chol.CholeskyUpLooking_DSCC;
+import org.ejml.sparse.csc.decomposition.chol.CholeskyCommon_DSCC;
 import org.ejml.sparse.csc.misc.ApplyFillReductionPermutation_DSCC;
 import org.ejml.sparse.csc.misc.TriangularSolver_DSCC;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Objects;
+
 import static org.ejml.UtilEjml.adjust;
 
 /**
@@ -41,7 +43,7 @@ import static org.ejml.UtilEjml.adjust;
  */
 public class LinearSolverCholesky_DSCC implements LinearSolverSparse<DMatrixSparseCSC, DMatrixRMaj> {
 
-    CholeskyUpLooking_DSCC cholesky;
+    CholeskyCommon_DSCC cholesky;
 
     ApplyFillReductionPermutation_DSCC reduce;
 
@@ -50,11 +52,12 @@ public class LinearSolverCholesky_DSCC implements LinearSolverSparse<DMatrixSpar
     IGrowArray gw = new IGrowArray();
 
     DMatrixSparseCSC tmp = new DMatrixSparseCSC(1, 1, 1);
+    DMatrixSparseCSC Bp = new DMatrixSparseCSC(1, 1, 1);
 
     // Number of rows in A
     int AnumRows, AnumCols;
 
-    public LinearSolverCholesky_DSCC( CholeskyUpLooking_DSCC cholesky, @Nullable ComputePermutation<DMatrixSparseCSC> fillReduce ) {
+    public LinearSolverCholesky_DSCC( CholeskyCommon_DSCC cholesky, @Nullable ComputePermutation<DMatrixSparseCSC> fillReduce ) {
         this.cholesky = cholesky;
         this.reduce = new ApplyFillReductionPermutation_DSCC(fillReduce, true);
     }
@@ -83,8 +86,18 @@ public class LinearSolverCholesky_DSCC implements LinearSolverSparse<DMatrixSpar
         tmp.reshape(L.numRows, B.numCols, 1);
         int[] Pinv = reduce.getArrayPinv();
 
-        TriangularSolver_DSCC.solve(L, true, B, tmp, Pinv, gx, gw, gw1);
-        TriangularSolver_DSCC.solveTran(L, true, tmp, X, null, gx, gw, gw1);
+        if (Pinv != null) {
+            // Solve P*A*P'*(P*x) = P*b then undo the permutation
+            Bp.reshape(B.numRows, B.numCols, B.nz_length);
+            CommonOps_DSCC.permuteRowInv(Pinv, B, Bp);
+            TriangularSolver_DSCC.solve(L, true, Bp, tmp, null, gx, gw, gw1);
+            Bp.reshape(X.numRows, X.numCols, X.nz_values.length);
+            TriangularSolver_DSCC.solveTran(L, true, tmp, Bp, null, gx, gw, gw1);
+            CommonOps_DSCC.permuteRowInv(Objects.requireNonNull(reduce.getArrayP()), Bp, X);
+        } else {
+            TriangularSolver_DSCC.solve(L, true, B, tmp, null, gx, gw, gw1);
+            TriangularSolver_DSCC.solveTran(L, true, tmp, X, null, gx, gw, gw1);
+        }
     }
 
     @Override
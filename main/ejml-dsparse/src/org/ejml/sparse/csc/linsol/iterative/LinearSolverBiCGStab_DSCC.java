@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.sparse.csc.linsol.iterative;
+
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrixSparseCSC;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Biconjugate Gradient Stabilized (BiCGSTAB) solver for general square matrices. Unlike GMRES its memory and
+ * computational cost per iteration are fixed, two matrix-vector multiplications and seven vectors, but the
+ * residual doesn't decrease monotonically and it can break down.
+ * </p>
+ *
+ * <p>
+ * Left and right preconditioners are both optional. The system being solved is
+ * M<sub>L</sub><sup>-1</sup>*A*M<sub>R</sub><sup>-1</sup>*u = M<sub>L</sub><sup>-1</sup>*b where
+ * x = M<sub>R</sub><sup>-1</sup>*u.
+ * </p>
+ *
+ * <p>
+ * H. A. van der Vorst, "Bi-CGSTAB: A Fast and Smoothly Converging Variant of Bi-CG for the Solution of
+ * Nonsymmetric Linear Systems", SIAM J. Sci. Stat. Comput. 1992
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class LinearSolverBiCGStab_DSCC extends LinearSolverIterative_DSCC {
+    @Nullable Preconditioner_DSCC left;
+    @Nullable Preconditioner_DSCC right;
+
+    // residual. Also used to store the intermediate residual 's'
+    DGrowArray gr = new DGrowArray();
+    // initial residual, the shadow vector
+    DGrowArray grhat = new DGrowArray();
+    // search direction and with the right preconditioner applied
+    DGrowArray gp = new DGrowArray();
+    DGrowArray gphat = new DGrowArray();
+    // operator times the search direction
+    DGrowArray gv = new DGrowArray();
+    // s with the right preconditioner applied, and the operator times that
+    DGrowArray gshat = new DGrowArray();
+    DGrowArray gt = new DGrowArray();
+
+    /**
+     * @param maxIterations Maximum number of iterations for each column. If &le; 0 then the number of rows in A.
+     * @param tolerance Converged when the relative residual is &le; tolerance
+     * @param left Left preconditioner. Can be null.
+     * @param right Right preconditioner. Can be null.
+     */
+    public LinearSolverBiCGStab_DSCC( int maxIterations, double tolerance,
+                                      @Nullable Preconditioner_DSCC left, @Nullable Preconditioner_DSCC right ) {
+        super(maxIterations, tolerance, false);
+        this.left = left;
+        this.right = right;
+    }
+
+    public LinearSolverBiCGStab_DSCC( @Nullable Preconditioner_DSCC left, @Nullable Preconditioner_DSCC right ) {
+        this(0, DEFAULT_TOLERANCE, left, right);
+    }
+
+    @Override
+    protected boolean initialize( DMatrixSparseCSC A ) {
+        vector(gr);
+        vector(grhat);
+        vector(gp);
+        vector(gphat);
+        vector(gv);
+        vector(gshat);
+        vector(gt);
+
+        if (left != null && !left.setA(A))
+            return false;
+        return right == null || right.setA(A);
+    }
+
+    @Override
+    protected boolean iterate( double[] b, double[] x ) {
+        double[] r = gr.data;
+        double[] rhat = grhat.data;
+        double[] p = gp.data;
+        double[] phat = gphat.data;
+        double[] v = gv.data;
+        double[] shat = gshat.data;
+        double[] t = gt.data;
+
+        // The left preconditioned system is being solved, so its residual is used
+        if (left != null) {
+            left.solve(b, t);
+            normB = norm(t, N);
+        }
+
+        residual(b, x, r);
+        if (left != null)
+            left.solve(r, r);
+        if (checkConverged(norm(r, N)))
+            return true;
+
+        System.arraycopy(r, 0, rhat, 0, N);
+        Arrays.fill(p, 0, N, 0.0);
+        Arrays.fill(v, 0, N, 0.0);
+        double rho = 1, alpha = 1, omega = 1;
+
+        for (int iter = 0; iter < maxIter; iter++) {
+            double rhoNext = dot(rhat, r, N);
+            // breakdown
+            if (rhoNext == 0.0)
+                return false;
+
+            double beta = (rhoNext/rho)*(alpha/omega);
+            rho = rhoNext;
+            for (int i = 0; i < N; i++) {
+                p[i] = r[i] + beta*(p[i] - omega*v[i]);
+            }
+
+            applyOperator(p, phat, v);
+            double rhatV = dot(rhat, v, N);
+            if (rhatV == 0.0)
+                return false;
+            alpha = rho/rhatV;
+
+            // s = r - alpha*v
+            for (int i = 0; i < N; i++) {
+                r[i] -= alpha*v[i];
+            }
+            double normS = norm(r, N);
+            if (normS <= tolerance*normB) {
+                for (int i = 0; i < N; i++) {
+                    x[i] += alpha*phat[i];
+                }
+                return checkConverged(normS);
+            }
+
+            applyOperator(r, shat, t);
+            double tt = dot(t, t, N);
+            omega = tt == 0.0 ? 0.0 : dot(t, r, N)/tt;
+
+            double normR = 0;
+            for (int i = 0; i < N; i++) {
+                x[i] += alpha*phat[i] + omega*shat[i];
+                r[i] -= omega*t[i];
+                normR += r[i]*r[i];
+            }
+            if (checkConverged(Math.sqrt(normR)))
+                return true;
+
+            // Can't continue when omega is zero
+            if (omega == 0.0)
+                return false;
+        }
+
+        return false;
+    }
+
+    /**
+     * zhat = inv(M_R)*z, w = inv(M_L)*A*zhat
+     */
+    private void applyOperator( double[] z, double[] zhat, double[] w ) {
+        if (right != null) {
+            right.solve(z, zhat);
+        } else {
+            System.arraycopy(z, 0, zhat, 0, N);
+        }
+        mult(zhat, w);
+        if (left != null)
+            left.solve(w, w);
+    }
+
+    /**
+     * Locks the structure of the preconditioners, see {@link Preconditioner_DSCC#setStructureLocked}
+     */
+    @Override
+    public void setStructureLocked( boolean locked ) {
+        super.setStructureLocked(locked);
+        if (left != null)
+            left.setStructureLocked(locked);
+        if (right != null)
+            right.setStructureLocked(locked);
+    }
+
+    public @Nullable Preconditioner_DSCC getLeft() {
+        return left;
+    }
+
+    public @Nullable Preconditioner_DSCC getRight() {
+        return right;
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.sparse.csc.linsol.iterative;
+
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrixSparseCSC;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * <p>
+ * Preconditioned Conjugate Gradient (PCG) solver for symmetric positive definite matrices. Only the matrix, the
+ * preconditioner, and four vectors are stored in memory, making it suitable for systems which are too large for
+ * a direct decomposition. The number of iterations depends on the condition number of M<sup>-1</sup>*A and the
+ * distribution of its eigenvalues.
+ * </p>
+ *
+ * <p>
+ * See Algorithm 9.1 in "Iterative Methods for Sparse Linear Systems" 2nd Ed. by Yousef Saad
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class LinearSolverConjugateGradient_DSCC extends LinearSolverIterative_DSCC {
+    // The preconditioner. If null then no preconditioner is used
+    @Nullable Preconditioner_DSCC preconditioner;
+
+    // residual
+    DGrowArray gr = new DGrowArray();
+    // preconditioned residual
+    DGrowArray gz = new DGrowArray();
+    // search direction
+    DGrowArray gp = new DGrowArray();
+    // A times the search direction
+    DGrowArray gq = new DGrowArray();
+
+    /**
+     * @param maxIterations Maximum number of iterations for each column. If &le; 0 then the number of rows in A.
+     * @param tolerance Converged when ||b - A*x|| &le; tolerance*||b||
+     * @param preconditioner The preconditioner. If null then no preconditioner is used.
+     */
+    public LinearSolverConjugateGradient_DSCC( int maxIterations, double tolerance,
+                                               @Nullable Preconditioner_DSCC preconditioner ) {
+        super(maxIterations, tolerance, true);
+        this.preconditioner = preconditioner;
+    }
+
+    public LinearSolverConjugateGradient_DSCC( @Nullable Preconditioner_DSCC preconditioner ) {
+        this(0, DEFAULT_TOLERANCE, preconditioner);
+    }
+
+    public LinearSolverConjugateGradient_DSCC() {
+        this(null);
+    }
+
+    @Override
+    protected boolean initialize( DMatrixSparseCSC A ) {
+        vector(gr);
+        vector(gz);
+        vector(gp);
+        vector(gq);
+
+        return preconditioner == null || preconditioner.setA(A);
+    }
+
+    @Override
+    protected boolean iterate( double[] b, double[] x ) {
+        double[] r = gr.data;
+        double[] z = gz.data;
+        double[] p = gp.data;
+        double[] q = gq.data;
+
+        residual(b, x, r);
+        if (checkConverged(norm(r, N)))
+            return true;
+
+        applyPreconditioner(r, z);
+        System.arraycopy(z, 0, p, 0, N);
+        double rz = dot(r, z, N);
+
+        for (int iter = 0; iter < maxIter; iter++) {
+            mult(p, q);
+            double pq = dot(p, q, N);
+
+            // A is not positive definite or the search direction is zero
+            if (!(pq > 0.0))
+                return false;
+
+            double alpha = rz/pq;
+            double normR = 0;
+            for (int i = 0; i < N; i++) {
+                x[i] += alpha*p[i];
+                r[i] -= alpha*q[i];
+                normR += r[i]*r[i];
+            }
+            if (checkConverged(Math.sqrt(normR)))
+                return true;
+
+            applyPreconditioner(r, z);
+            double rzNext = dot(r, z, N);
+            double beta = rzNext/rz;
+            rz = rzNext;
+
+            for (int i = 0; i < N; i++) {
+                p[i] = z[i] + beta*p[i];
+            }
+        }
+
+        return false;
+    }
+
+    private void applyPreconditioner( double[] r, double[] z ) {
+        if (preconditioner == null) {
+            System.arraycopy(r, 0, z, 0, N);
+        } else {
+            preconditioner.solve(r, z);
+        }
+    }
+
+    /**
+     * Locks the structure of the preconditioner, see {@link Preconditioner_DSCC#setStructureLocked}
+     */
+    @Override
+    public void setStructureLocked( boolean locked ) {
+        super.setStructureLocked(locked);
+        if (preconditioner != null)
+            preconditioner.setStructureLocked(locked);
+    }
+
+    public @Nullable Preconditioner_DSCC getPreconditioner() {
+        return preconditioner;
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.sparse.csc.linsol.iterative;
+
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrixSparseCSC;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Restarted Generalized Minimal Residual, GMRES(m), solver for general square matrices. An orthogonal basis for
+ * the Krylov subspace is built using Arnoldi iterations with modified Gram-Schmidt, and x is selected to minimize
+ * the residual inside that subspace. To bound memory and computations the basis is discarded and the solver
+ * restarted after m iterations. Requires (m+1) vectors of length N.
+ * </p>
+ *
+ * <p>
+ * Left and right preconditioners are both optional. The system being solved is
+ * M<sub>L</sub><sup>-1</sup>*A*M<sub>R</sub><sup>-1</sup>*u = M<sub>L</sub><sup>-1</sup>*b where
+ * x = M<sub>R</sub><sup>-1</sup>*u. With only a right preconditioner the residual being minimized is the same as
+ * the unpreconditioned system's residual.
+ * </p>
+ *
+ * <p>
+ * See Algorithms 6.11, 9.4, and 9.5 in "Iterative Methods for Sparse Linear Systems" 2nd Ed. by Yousef Saad
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class LinearSolverGmres_DSCC extends LinearSolverIterative_DSCC {
+    // Number of iterations before it restarts
+    final int restart;
+
+    @Nullable Preconditioner_DSCC left;
+    @Nullable Preconditioner_DSCC right;
+
+    // Orthonormal basis of the Krylov subspace. Each row is a vector
+    double[][] V = new double[0][0];
+    // Upper Hessenberg matrix, (m+1) x m, which is reduced to upper triangular by Givens rotations
+    double[] H = new double[0];
+    // Givens rotations
+    double[] cs = new double[0];
+    double[] sn = new double[0];
+    // Right hand side of the least-squares problem, rotated
+    double[] g = new double[0];
+    // Solution to the least-squares problem
+    double[] y = new double[0];
+
+    // residual
+    DGrowArray gr = new DGrowArray();
+    // output of the operator
+    DGrowArray gt = new DGrowArray();
+    // input to the operator
+    DGrowArray gz = new DGrowArray();
+
+    /**
+     * @param restart Number of iterations before it restarts. Larger values improve convergence but require more
+     * memory and computations per iteration.
+     * @param maxIterations Maximum number of iterations for each column. If &le; 0 then the number of rows in A.
+     * @param tolerance Converged when the relative residual is &le; tolerance
+     * @param left Left preconditioner. Can be null.
+     * @param right Right preconditioner. Can be null.
+     */
+    public LinearSolverGmres_DSCC( int restart, int maxIterations, double tolerance,
+                                   @Nullable Preconditioner_DSCC left, @Nullable Preconditioner_DSCC right ) {
+        super(maxIterations, tolerance, false);
+        if (restart <= 0)
+            throw new IllegalArgumentException("restart must be more than zero");
+        this.restart = restart;
+        this.left = left;
+        this.right = right;
+    }
+
+    public LinearSolverGmres_DSCC( int restart, @Nullable Preconditioner_DSCC left, @Nullable Preconditioner_DSCC right ) {
+        this(restart, 0, DEFAULT_TOLERANCE, left, right);
+    }
+
+    @Override
+    protected boolean initialize( DMatrixSparseCSC A ) {
+        int m = restart;
+        if (V.length != m + 1 || V[0].length < N) {
+            V = new double[m + 1][N];
+        }
+        if (H.length != (m + 1)*m) {
+            H = new double[(m + 1)*m];
+            cs = new double[m];
+            sn = new double[m];
+            g = new double[m + 1];
+            y = new double[m];
+        }
+        vector(gr);
+        vector(gt);
+        vector(gz);
+
+        if (left != null && !left.setA(A))
+            return false;
+        return right == null || right.setA(A);
+    }
+
+    @Override
+    protected boolean iterate( double[] b, double[] x ) {
+        final int m = restart;
+        double[] r = gr.data;
+        double[] w = gt.data;
+        double[] z = gz.data;
+
+        // The left preconditioned system is being solved, so its residual is used
+        if (left != null) {
+            left.solve(b, w);
+            normB = norm(w, N);
+        }
+
+        int total = 0;
+        boolean first = true;
+        while (true) {
+            // Compute the true residual at the start of each cycle
+            residual(b, x, r);
+            if (left != null)
+                left.solve(r, r);
+            double beta = norm(r, N);
+
+            // The residual at a restart replaces the estimate from the previous cycle instead of being an iteration
+            boolean done = first ? checkConverged(beta) : updateConverged(beta);
+            first = false;
+            if (done)
+                return true;
+            if (total >= maxIter || beta == 0.0)
+                return false;
+
+            double[] v0 = V[0];
+            for (int i = 0; i < N; i++) {
+                v0[i] = r[i]/beta;
+            }
+            Arrays.fill(g, 0.0);
+            g[0] = beta;
+
+            int k = 0;
+            boolean converged = false;
+            boolean breakdown = false;
+            for (int j = 0; j < m && total < maxIter; j++) {
+                // w = inv(M_L)*A*inv(M_R)*v(j)
+                System.arraycopy(V[j], 0, z, 0, N);
+                applyOperator(z, w);
+
+                // Modified Gram-Schmidt
+                for (int i = 0; i <= j; i++) {
+                    double[] vi = V[i];
+                    double h = dot(w, vi, N);
+                    H[i*m + j] = h;
+                    for (int l = 0; l < N; l++) {
+                        w[l] -= h*vi[l];
+                    }
+                }
+                double hNext = norm(w, N);
+                if (hNext != 0.0) {
+                    double[] vNext = V[j + 1];
+                    for (int l = 0; l < N; l++) {
+                        vNext[l] = w[l]/hNext;
+                    }
+                }
+
+                // Apply the previous rotations to the new column
+                for (int i = 0; i < j; i++) {
+                    double a = H[i*m + j];
+                    double c = H[(i + 1)*m + j];
+                    H[i*m + j] = cs[i]*a + sn[i]*c;
+                    H[(i + 1)*m + j] = -sn[i]*a + cs[i]*c;
+                }
+
+                // Compute a new rotation which eliminates H(j+1,j)
+                double hjj = H[j*m + j];
+                double denom = Math.sqrt(hjj*hjj + hNext*hNext);
+                if (denom == 0.0) {
+                    // the operator is singular
+                    breakdown = true;
+                    break;
+                }
+                cs[j] = hjj/denom;
+                sn[j] = hNext/denom;
+                H[j*m + j] = denom;
+                g[j + 1] = -sn[j]*g[j];
+                g[j] = cs[j]*g[j];
+
+                k = j + 1;
+                total++;
+                converged = checkConverged(Math.abs(g[j + 1]));
+
+                // Stop early if it converged or the Krylov subspace is invariant
+                if (converged || hNext == 0.0)
+                    break;
+            }
+
+            updateSolution(k, x);
+
+            if (breakdown)
+                return false;
+            if (converged)
+                return true;
+        }
+    }
+
+    /**
+     * Solves the k by k triangular system for y and adds inv(M_R)*V*y to x
+     */
+    private void updateSolution( int k, double[] x ) {
+        if (k == 0)
+            return;
+        final int m = restart;
+        double[] z = gz.data;
+
+        // back substitution
+        for (int i = k - 1; i >= 0; i--) {
+            double sum = g[i];
+            for (int j = i + 1; j < k; j++) {
+                sum -= H[i*m + j]*y[j];
+            }
+            y[i] = sum/H[i*m + i];
+        }
+
+        Arrays.fill(z, 0, N, 0.0);
+        for (int i = 0; i < k; i++) {
+            double[] vi = V[i];
+            double yi = y[i];
+            for (int l = 0; l < N; l++) {
+                z[l] += yi*vi[l];
+            }
+        }
+        if (right != null)
+            right.solve(z, z);
+        for (int l = 0; l < N; l++) {
+            x[l] += z[l];
+        }
+    }
+
+    /**
+     * w = inv(M_L)*A*inv(M_R)*z. z is modified.
+     */
+    private void applyOperator( double[] z, double[] w ) {
+        if (right != null)
+            right.solve(z, z);
+        mult(z, w);
+        if (left != null)
+            left.solve(w, w);
+    }
+
+    /**
+     * Locks the structure of the preconditioners, see {@link Preconditioner_DSCC#setStructureLocked}
+     */
+    @Override
+    public void setStructureLocked( boolean locked ) {
+        super.setStructureLocked(locked);
+        if (left != null)
+            left.setStructureLocked(locked);
+        if (right != null)
+            right.setStructureLocked(locked);
+    }
+
+    public int getRestart() {
+        return restart;
+    }
+
+    public @Nullable Preconditioner_DSCC getLeft() {
+        return left;
+    }
+
+    public @Nullable Preconditioner_DSCC getRight() {
+        return right;
+    }
+}
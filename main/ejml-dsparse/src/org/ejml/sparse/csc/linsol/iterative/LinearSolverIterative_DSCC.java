@@ -0,0 +1,383 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.sparse.csc.linsol.iterative;
+
+import org.ejml.UtilEjml;
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.data.IGrowArray;
+import org.ejml.interfaces.decomposition.DecompositionInterface;
+import org.ejml.interfaces.linsol.LinearSolverSparse;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+import org.ejml.sparse.csc.mult.MatrixVectorMult_DSCC;
+import org.ejml.sparse.csc.mult.MatrixVectorMult_MT_DSCC;
+
+import java.util.Arrays;
+
+import static org.ejml.UtilEjml.adjust;
+
+/**
+ * <p>
+ * Base class for iterative linear solvers. Instead of decomposing A the solution is found by repeatedly
+ * multiplying vectors by A, which only requires enough memory to store A and a few vectors. Each column in B is
+ * solved independently. A column has converged when ||b - A*x|| &le; tolerance*||b||. When there's a left
+ * preconditioner M, the residual of the preconditioned system is used instead, ||M<sup>-1</sup>*(b - A*x)||
+ * &le; tolerance*||M<sup>-1</sup>*b||.
+ * </p>
+ *
+ * <p>
+ * All the workspace is declared in {@link #setA}, after which solving does not create new memory. The number of
+ * iterations for each column and the history of the relative residual, ||b - A*x||/||b||, are saved
+ * from the most recent call to {@link #solve}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public abstract class LinearSolverIterative_DSCC implements LinearSolverSparse<DMatrixSparseCSC, DMatrixRMaj> {
+    /** Default value for the relative tolerance */
+    public static final double DEFAULT_TOLERANCE = 1e-8;
+
+    // Maximum number of iterations for each column. If &le; 0 then the number of rows in A is used
+    protected int maxIterations;
+    // Relative tolerance of the residual
+    protected double tolerance;
+    // If true the value of X passed to solve is used as the initial estimate
+    protected boolean useInitialGuess = false;
+    // If true then matrix-vector multiplication will be done using multiple threads
+    protected boolean concurrent = false;
+    // If true then the solver assumes A is symmetric
+    protected final boolean symmetric;
+
+    protected DMatrixSparseCSC A = new DMatrixSparseCSC(1, 1);
+    // Transpose of A. Used in concurrent multiplication when A is not symmetric
+    protected final DMatrixSparseCSC At = new DMatrixSparseCSC(1, 1);
+    protected final IGrowArray gw = new IGrowArray();
+
+    // Maximum number of iterations for the current matrix
+    protected int maxIter;
+    // If multiplication should be concurrent for the current matrix
+    private boolean concurrentMult;
+    // Number of rows and columns in A
+    protected int N;
+
+    // storage for a single column in B and X
+    final DGrowArray gb = new DGrowArray();
+    final DGrowArray gx = new DGrowArray();
+
+    // Number of iterations for each column in the most recent solve
+    protected final IGrowArray iterations = new IGrowArray();
+    // History of the relative residual for all columns in the most recent solve
+    protected final DGrowArray residualHistory = new DGrowArray();
+    // true if all columns converged in the most recent solve
+    protected boolean converged;
+    // Norm of b for the current column. Solvers with a left preconditioner replace it with the norm of M<sup>-1</sup>*b
+    protected double normB;
+
+    private boolean locked = false;
+
+    protected LinearSolverIterative_DSCC( int maxIterations, double tolerance, boolean symmetric ) {
+        this.maxIterations = maxIterations;
+        this.tolerance = tolerance;
+        this.symmetric = symmetric;
+    }
+
+    @Override
+    public boolean setA( DMatrixSparseCSC A ) {
+        if (A.numRows != A.numCols)
+            throw new IllegalArgumentException("Must be a square matrix");
+
+        this.A = A;
+        this.N = A.numCols;
+        this.maxIter = maxIterations > 0 ? maxIterations : N;
+        this.concurrentMult = concurrent;
+        if (concurrent && !symmetric)
+            CommonOps_DSCC.transpose(A, At, gw);
+
+        gb.reshape(N);
+        gx.reshape(N);
+
+        return initialize(A);
+    }
+
+    /**
+     * Called by {@link #setA} after the common fields have been initialized. All the workspace should be
+     * declared here.
+     *
+     * @return true if successful
+     */
+    protected abstract boolean initialize( DMatrixSparseCSC A );
+
+    /**
+     * Solves for a single column. x contains the initial estimate. The relative residual needs to be passed to
+     * {@link #checkConverged} once before the first iteration and after every iteration.
+     *
+     * @param b (Input) Column in B. Must not be modified.
+     * @param x (Input/Output) Initial estimate and the solution.
+     * @return true if it converged.
+     */
+    protected abstract boolean iterate( double[] b, double[] x );
+
+    @Override
+    public void solve( DMatrixRMaj B, DMatrixRMaj X ) {
+        // If the initial guess is used then X must already have the correct shape
+        if (useInitialGuess && (X.numRows != N || X.numCols != B.numCols))
+            throw new IllegalArgumentException("X must have the expected shape when the initial guess is used");
+        UtilEjml.checkReshapeSolve(N, N, B, X);
+
+        startSolve();
+        double[] b = gb.data;
+        double[] x = gx.data;
+
+        for (int col = 0; col < B.numCols; col++) {
+            int index = col;
+            for (int i = 0; i < N; i++, index += B.numCols) b[i] = B.data[index];
+            if (useInitialGuess) {
+                index = col;
+                for (int i = 0; i < N; i++, index += X.numCols) x[i] = X.data[index];
+            } else {
+                Arrays.fill(x, 0, N, 0.0);
+            }
+
+            solveColumn(b, x);
+
+            index = col;
+            for (int i = 0; i < N; i++, index += X.numCols) X.data[index] = x[i];
+        }
+    }
+
+    /**
+     * Solves each column in B independently. The initial estimate is always zero.
+     */
+    @Override
+    public void solveSparse( DMatrixSparseCSC B, DMatrixSparseCSC X ) {
+        if (B.numRows != N)
+            throw new IllegalArgumentException("Unexpected number of rows in B based on shape of A. Found=" +
+                    B.numRows + " Expected=" + N);
+        X.reshape(N, B.numCols, X.nz_values.length);
+
+        startSolve();
+        double[] b = gb.data;
+        double[] x = gx.data;
+
+        for (int col = 0; col < B.numCols; col++) {
+            Arrays.fill(b, 0, N, 0.0);
+            Arrays.fill(x, 0, N, 0.0);
+            for (int p = B.col_idx[col]; p < B.col_idx[col + 1]; p++) {
+                b[B.nz_rows[p]] = B.nz_values[p];
+            }
+
+            solveColumn(b, x);
+
+            for (int i = 0; i < N; i++) {
+                if (x[i] == 0.0)
+                    continue;
+                if (X.nz_length == X.nz_values.length)
+                    X.growMaxLength(X.nz_length*2 + 1, true);
+                X.nz_rows[X.nz_length] = i;
+                X.nz_values[X.nz_length++] = x[i];
+            }
+            X.col_idx[col + 1] = X.nz_length;
+        }
+        X.indicesSorted = true;
+    }
+
+    private void startSolve() {
+        converged = true;
+        iterations.reshape(0);
+        residualHistory.reset();
+    }
+
+    private void solveColumn( double[] b, double[] x ) {
+        int start = residualHistory.length;
+
+        // Make sure no memory is created while iterating
+        if (residualHistory.data.length < start + maxIter + 1)
+            residualHistory.growInternal(start + maxIter + 1 - residualHistory.data.length);
+
+        normB = norm(b, N);
+        if (normB == 0.0) {
+            // The solution is trivial
+            Arrays.fill(x, 0, N, 0.0);
+            residualHistory.add(0.0);
+        } else {
+            converged &= iterate(b, x);
+        }
+        iterations.add(residualHistory.length - start - 1);
+    }
+
+    /**
+     * Saves the residual and checks to see if it has converged
+     *
+     * @param normR Euclidean norm of the residual
+     * @return true if converged
+     */
+    protected boolean checkConverged( double normR ) {
+        double relative = normR/normB;
+        residualHistory.add(relative);
+        return relative <= tolerance;
+    }
+
+    /**
+     * Replaces the most recently saved residual and checks to see if it has converged. Used when the residual
+     * is recomputed without performing another iteration, e.g. after a restart.
+     *
+     * @param normR Euclidean norm of the residual
+     * @return true if converged
+     */
+    protected boolean updateConverged( double normR ) {
+        double relative = normR/normB;
+        residualHistory.data[residualHistory.length - 1] = relative;
+        return relative <= tolerance;
+    }
+
+    /**
+     * y = A*x. Uses multiple threads if concurrent is true.
+     */
+    protected void mult( double[] x, double[] y ) {
+        if (concurrentMult) {
+            MatrixVectorMult_MT_DSCC.mult(x, 0, symmetric ? A : At, y, 0);
+        } else {
+            MatrixVectorMult_DSCC.mult(A, x, 0, y, 0);
+        }
+    }
+
+    /**
+     * r = b - A*x
+     */
+    protected void residual( double[] b, double[] x, double[] r ) {
+        mult(x, r);
+        for (int i = 0; i < N; i++) {
+            r[i] = b[i] - r[i];
+        }
+    }
+
+    protected static double dot( double[] a, double[] b, int length ) {
+        double sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += a[i]*b[i];
+        }
+        return sum;
+    }
+
+    protected static double norm( double[] a, int length ) {
+        return Math.sqrt(dot(a, a, length));
+    }
+
+    /**
+     * Declares a work vector with N elements
+     */
+    protected double[] vector( DGrowArray storage ) {
+        return adjust(storage, N);
+    }
+
+    /**
+     * Number of iterations that each column in the most recent solve required
+     */
+    public IGrowArray getIterations() {
+        return iterations;
+    }
+
+    /**
+     * History of the relative residual, ||b - A*x||/||b||, for all columns in the most recent solve. Each column
+     * has one more element than its number of iterations, for the initial estimate.
+     */
+    public DGrowArray getResidualHistory() {
+        return residualHistory;
+    }
+
+    /**
+     * Returns true if all the columns converged in the most recent solve
+     */
+    public boolean isConverged() {
+        return converged;
+    }
+
+    public int getMaxIterations() {
+        return maxIterations;
+    }
+
+    /**
+     * Specifies the maximum number of iterations for each column. If &le; 0 then the number of rows in A is used.
+     * Takes effect on the next call to {@link #setA}.
+     */
+    public void setMaxIterations( int maxIterations ) {
+        this.maxIterations = maxIterations;
+    }
+
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    public void setTolerance( double tolerance ) {
+        this.tolerance = tolerance;
+    }
+
+    public boolean isUseInitialGuess() {
+        return useInitialGuess;
+    }
+
+    /**
+     * If true then the values in X which are passed in to {@link #solve} are used as the initial estimate.
+     */
+    public void setUseInitialGuess( boolean useInitialGuess ) {
+        this.useInitialGuess = useInitialGuess;
+    }
+
+    public boolean isConcurrent() {
+        return concurrent;
+    }
+
+    /**
+     * If true then matrix-vector multiplication is done using multiple threads. Takes effect on the next call
+     * to {@link #setA}.
+     */
+    public void setConcurrent( boolean concurrent ) {
+        this.concurrent = concurrent;
+    }
+
+    @Override
+    public /**/double quality() {
+        throw new IllegalArgumentException("Not supported by this solver.");
+    }
+
+    @Override
+    public void setStructureLocked( boolean locked ) {
+        this.locked = locked;
+    }
+
+    @Override
+    public boolean isStructureLocked() {
+        return locked;
+    }
+
+    @Override
+    public boolean modifiesA() {
+        return false;
+    }
+
+    @Override
+    public boolean modifiesB() {
+        return false;
+    }
+
+    @Override
+    public <D extends DecompositionInterface> D getDecomposition() {
+        throw new RuntimeException("Not supported");
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.sparse.csc.linsol.iterative;
+
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.data.IGrowArray;
+import org.ejml.sparse.csc.misc.TriangularSolver_DSCC;
+
+import java.util.Arrays;
+
+import static org.ejml.UtilEjml.adjust;
+import static org.ejml.UtilEjml.adjustFill;
+
+/**
+ * <p>
+ * Incomplete Cholesky, IC(0), preconditioner for symmetric positive definite matrices. A &asymp; L*L<sup>T</sup>
+ * where L has the same non-zero pattern as the lower triangle of A, i.e. all fill in is discarded. Only the lower
+ * triangle of A is read. The factorization can fail for matrices which are not M-matrices, in which case a
+ * diagonal shift, A + shift*diag(A), can help.
+ * </p>
+ *
+ * <p>
+ * The pattern of L is saved when the structure is locked, skipping the symbolic analysis.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class PreconditionerIC0_DSCC implements Preconditioner_DSCC {
+    // Relative increase in diagonal elements
+    final double shift;
+
+    // The factorization. Diagonal element is the first element in each column and rows are sorted
+    DMatrixSparseCSC L = new DMatrixSparseCSC(1, 1, 0);
+
+    // Row structure of L excluding the diagonal. The column and the index inside L of each element
+    IGrowArray rowIdx = new IGrowArray();
+    IGrowArray rowCol = new IGrowArray();
+    IGrowArray rowPos = new IGrowArray();
+
+    // workspace
+    IGrowArray gmark = new IGrowArray();
+    DGrowArray gw = new DGrowArray();
+
+    private boolean locked = false;
+    private boolean computedStructure = false;
+
+    /**
+     * @param shift Each diagonal element is multiplied by (1 + shift). Set to zero for no shift.
+     */
+    public PreconditionerIC0_DSCC( double shift ) {
+        this.shift = shift;
+    }
+
+    public PreconditionerIC0_DSCC() {
+        this(0.0);
+    }
+
+    @Override
+    public boolean setA( DMatrixSparseCSC A ) {
+        if (A.numRows != A.numCols)
+            throw new IllegalArgumentException("Must be a square matrix");
+
+        if (!locked || !computedStructure) {
+            performSymbolic(A);
+            computedStructure = true;
+        }
+        return performNumeric(A);
+    }
+
+    /**
+     * Copies the pattern of the lower triangle of A into L and computes its row structure
+     */
+    void performSymbolic( DMatrixSparseCSC A ) {
+        int N = A.numCols;
+
+        // count elements in each column of L. The diagonal is always included
+        int[] counts = adjust(gmark, N);
+        for (int col = 0; col < N; col++) {
+            counts[col] = 1;
+            for (int p = A.col_idx[col]; p < A.col_idx[col + 1]; p++) {
+                if (A.nz_rows[p] > col)
+                    counts[col]++;
+            }
+        }
+        L.reshape(N, N, 0);
+        L.histogramToStructure(counts);
+
+        for (int col = 0; col < N; col++) {
+            int idx = L.col_idx[col];
+            L.nz_rows[idx++] = col;
+            for (int p = A.col_idx[col]; p < A.col_idx[col + 1]; p++) {
+                if (A.nz_rows[p] > col)
+                    L.nz_rows[idx++] = A.nz_rows[p];
+            }
+            Arrays.sort(L.nz_rows, L.col_idx[col] + 1, idx);
+        }
+        L.indicesSorted = true;
+
+        // row structure, excluding the diagonal
+        int[] rowIdx = adjust(this.rowIdx, N + 1, N + 1);
+        for (int col = 0; col < N; col++) {
+            for (int p = L.col_idx[col] + 1; p < L.col_idx[col + 1]; p++) {
+                rowIdx[L.nz_rows[p] + 1]++;
+            }
+        }
+        for (int row = 0; row < N; row++) {
+            rowIdx[row + 1] += rowIdx[row];
+        }
+        int[] rowCol = adjust(this.rowCol, L.nz_length - N);
+        int[] rowPos = adjust(this.rowPos, L.nz_length - N);
+        int[] next = adjust(gmark, N);
+        System.arraycopy(rowIdx, 0, next, 0, N);
+        for (int col = 0; col < N; col++) {
+            for (int p = L.col_idx[col] + 1; p < L.col_idx[col + 1]; p++) {
+                int row = L.nz_rows[p];
+                rowCol[next[row]] = col;
+                rowPos[next[row]++] = p;
+            }
+        }
+    }
+
+    /**
+     * Computes the values in L
+     *
+     * @return true if successful or false if a diagonal element isn't positive
+     */
+    boolean performNumeric( DMatrixSparseCSC A ) {
+        int N = A.numCols;
+        int[] mark = adjustFill(gmark, N, -1);
+        double[] w = adjust(gw, N);
+        Arrays.fill(w, 0, N, 0.0);
+        int[] rowIdx = this.rowIdx.data;
+        int[] rowPos = this.rowPos.data;
+
+        for (int j = 0; j < N; j++) {
+            int idx0 = L.col_idx[j];
+            int idx1 = L.col_idx[j + 1];
+            for (int p = idx0; p < idx1; p++) {
+                mark[L.nz_rows[p]] = j;
+            }
+
+            // w = A(j:N,j), elements outside the pattern of L are dropped
+            for (int p = A.col_idx[j]; p < A.col_idx[j + 1]; p++) {
+                int row = A.nz_rows[p];
+                if (row >= j && mark[row] == j)
+                    w[row] = A.nz_values[p];
+            }
+            w[j] *= 1.0 + shift;
+
+            // w = w - L(j:N,k)*L(j,k) for all k < j where L(j,k) is not zero
+            for (int r = rowIdx[j]; r < rowIdx[j + 1]; r++) {
+                int pos = rowPos[r];
+                int end = L.col_idx[rowCol.data[r] + 1];
+                double ljk = L.nz_values[pos];
+                for (int q = pos; q < end; q++) {
+                    int row = L.nz_rows[q];
+                    if (mark[row] == j)
+                        w[row] -= L.nz_values[q]*ljk;
+                }
+            }
+
+            double d = w[j];
+            w[j] = 0;
+            if (!(d > 0.0))
+                return false;
+            double ljj = Math.sqrt(d);
+            L.nz_values[idx0] = ljj;
+            for (int p = idx0 + 1; p < idx1; p++) {
+                int row = L.nz_rows[p];
+                L.nz_values[p] = w[row]/ljj;
+                w[row] = 0;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void solve( double[] b, double[] x ) {
+        if (b != x)
+            System.arraycopy(b, 0, x, 0, L.numCols);
+        TriangularSolver_DSCC.solveL(L, x);
+        TriangularSolver_DSCC.solveTranL(L, x);
+    }
+
+    @Override
+    public void setStructureLocked( boolean locked ) {
+        this.locked = locked;
+    }
+
+    @Override
+    public boolean isStructureLocked() {
+        return locked;
+    }
+
+    /**
+     * Returns the lower triangular factor
+     */
+    public DMatrixSparseCSC getL() {
+        return L;
+    }
+
+    public double getShift() {
+        return shift;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.sparse.csc.linsol.iterative;
+
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.data.IGrowArray;
+
+import java.util.Arrays;
+
+import static org.ejml.UtilEjml.adjust;
+
+/**
+ * <p>
+ * Incomplete LU preconditioner with zero fill in, ILU(0). The non-zero pattern of L and U is the same as
+ * the lower and upper triangular portions of A. Diagonal elements are always included.
+ * </p>
+ *
+ * <p>
+ * See Algorithm 10.4 in "Iterative Methods for Sparse Linear Systems" 2nd Ed. by Yousef Saad
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class PreconditionerILU0_DSCC extends PreconditionerILU_DSCC {
+    IGrowArray gcounts = new IGrowArray();
+
+    @Override
+    protected boolean performDecomposition( DMatrixSparseCSC A ) {
+        performSymbolic(A);
+        return performNumeric(A);
+    }
+
+    /**
+     * Splits the pattern of A into L and U
+     */
+    void performSymbolic( DMatrixSparseCSC A ) {
+        int N = A.numCols;
+
+        // count the number of elements in each column. Diagonal elements are always included
+        int[] countsL = adjust(gmark, N);
+        int[] countsU = adjust(gcounts, N);
+        for (int col = 0; col < N; col++) {
+            countsL[col] = countsU[col] = 1;
+            for (int p = A.col_idx[col]; p < A.col_idx[col + 1]; p++) {
+                int row = A.nz_rows[p];
+                if (row > col)
+                    countsL[col]++;
+                else if (row < col)
+                    countsU[col]++;
+            }
+        }
+        L.reshape(N, N, 0);
+        L.histogramToStructure(countsL);
+        U.reshape(N, N, 0);
+        U.histogramToStructure(countsU);
+
+        for (int col = 0; col < N; col++) {
+            int idxL = L.col_idx[col];
+            int idxU = U.col_idx[col];
+            L.nz_rows[idxL++] = col;
+            for (int p = A.col_idx[col]; p < A.col_idx[col + 1]; p++) {
+                int row = A.nz_rows[p];
+                if (row > col)
+                    L.nz_rows[idxL++] = row;
+                else if (row < col)
+                    U.nz_rows[idxU++] = row;
+            }
+            U.nz_rows[idxU] = col;
+            Arrays.sort(L.nz_rows, L.col_idx[col] + 1, idxL);
+            Arrays.sort(U.nz_rows, U.col_idx[col], idxU);
+        }
+        L.indicesSorted = true;
+        U.indicesSorted = true;
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.sparse.csc.linsol.iterative;
+
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.data.IGrowArray;
+
+import java.util.Arrays;
+
+import static org.ejml.UtilEjml.adjust;
+import static org.ejml.UtilEjml.adjustFill;
+
+/**
+ * <p>
+ * Incomplete LU preconditioner with threshold dropping, ILUT. Fill in is allowed, but an element is discarded if
+ * its magnitude is less than dropTolerance times the norm of its column in A. After dropping, the number of
+ * elements in each column of L and U is limited to the number in the same portion of A's column plus maxFill,
+ * keeping the largest elements. Smaller drop tolerances and larger fill produce a more accurate factorization at
+ * the cost of more memory.
+ * </p>
+ *
+ * <p>
+ * This is a column oriented version of Algorithm 10.6 in "Iterative Methods for Sparse Linear Systems" 2nd Ed.
+ * by Yousef Saad. When the structure is locked, dropping is only done on the first matrix and future matrices
+ * reuse its pattern.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class PreconditionerILUT_DSCC extends PreconditionerILU_DSCC {
+    // Relative magnitude below which elements are dropped
+    final double dropTolerance;
+    // Additional number of elements allowed in each column of L and U
+    final int maxFill;
+
+    // Rows which are not zero in the current column
+    IGrowArray gnz = new IGrowArray();
+    // Min heap of rows above the diagonal which still need to be eliminated
+    IGrowArray gheap = new IGrowArray();
+    // Rows which will be saved in L or U
+    IGrowArray gkeep = new IGrowArray();
+
+    /**
+     * @param dropTolerance Elements less than this times the norm of the column in A are dropped. Try 1e-3.
+     * @param maxFill Number of elements which can be added to each column in L and U. Try 10.
+     */
+    public PreconditionerILUT_DSCC( double dropTolerance, int maxFill ) {
+        if (dropTolerance < 0)
+            throw new IllegalArgumentException("dropTolerance must be non-negative");
+        if (maxFill < 0)
+            throw new IllegalArgumentException("maxFill must be non-negative");
+        this.dropTolerance = dropTolerance;
+        this.maxFill = maxFill;
+    }
+
+    @Override
+    protected boolean performDecomposition( DMatrixSparseCSC A ) {
+        int N = A.numCols;
+        int[] mark = adjustFill(gmark, N, -1);
+        double[] w = adjust(gw, N);
+        Arrays.fill(w, 0, N, 0.0);
+        int[] nz = adjust(gnz, N);
+        int[] heap = adjust(gheap, N);
+        int[] keep = adjust(gkeep, N);
+
+        L.reshape(N, N, Math.max(L.nz_values.length, A.nz_length + N));
+        U.reshape(N, N, Math.max(U.nz_values.length, A.nz_length + N));
+        L.indicesSorted = true;
+        U.indicesSorted = true;
+
+        for (int j = 0; j < N; j++) {
+            // w = A(:,j)
+            int numNZ = 0, heapSize = 0, countL = 0, countU = 0;
+            double normA = 0;
+            for (int p = A.col_idx[j]; p < A.col_idx[j + 1]; p++) {
+                int row = A.nz_rows[p];
+                double value = A.nz_values[p];
+                normA += value*value;
+                w[row] = value;
+                mark[row] = j;
+                nz[numNZ++] = row;
+                if (row < j) {
+                    heapSize = heapPush(heap, heapSize, row);
+                    countU++;
+                } else if (row > j) {
+                    countL++;
+                }
+            }
+            if (mark[j] != j) {
+                mark[j] = j;
+                w[j] = 0;
+                nz[numNZ++] = j;
+            }
+            normA = Math.sqrt(normA);
+            double threshold = dropTolerance*normA;
+
+            // Eliminate in increasing order of rows. Fill in can only add rows larger than the one being processed
+            while (heapSize > 0) {
+                int k = heap[0];
+                heapSize = heapPop(heap, heapSize);
+
+                double ukj = w[k];
+                if (Math.abs(ukj) < threshold) {
+                    w[k] = 0;
+                    continue;
+                }
+                for (int q = L.col_idx[k] + 1; q < L.col_idx[k + 1]; q++) {
+                    int row = L.nz_rows[q];
+                    if (mark[row] != j) {
+                        mark[row] = j;
+                        w[row] = 0;
+                        nz[numNZ++] = row;
+                        if (row < j)
+                            heapSize = heapPush(heap, heapSize, row);
+                    }
+                    w[row] -= L.nz_values[q]*ukj;
+                }
+            }
+
+            double d = w[j];
+            if (d == 0.0) {
+                for (int i = 0; i < numNZ; i++) w[nz[i]] = 0;
+                return false;
+            }
+
+            // Save U(:,j). The diagonal is last
+            int numKeep = selectLargest(nz, numNZ, true, j, threshold, w, countU + maxFill, keep);
+            growSpace(U, numKeep + 1);
+            for (int i = 0; i < numKeep; i++) {
+                U.nz_rows[U.nz_length] = keep[i];
+                U.nz_values[U.nz_length++] = w[keep[i]];
+            }
+            U.nz_rows[U.nz_length] = j;
+            U.nz_values[U.nz_length++] = d;
+            U.col_idx[j + 1] = U.nz_length;
+
+            // Save L(:,j). The diagonal is first
+            numKeep = selectLargest(nz, numNZ, false, j, threshold, w, countL + maxFill, keep);
+            growSpace(L, numKeep + 1);
+            L.nz_rows[L.nz_length] = j;
+            L.nz_values[L.nz_length++] = 1.0;
+            for (int i = 0; i < numKeep; i++) {
+                L.nz_rows[L.nz_length] = keep[i];
+                L.nz_values[L.nz_length++] = w[keep[i]]/d;
+            }
+            L.col_idx[j + 1] = L.nz_length;
+
+            for (int i = 0; i < numNZ; i++) {
+                w[nz[i]] = 0;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Selects rows above or below the diagonal whose magnitude is at least the threshold. If there are more than
+     * the limit then only the largest are kept. Selected rows are sorted in increasing order.
+     *
+     * @return Number of selected rows
+     */
+    static int selectLargest( int[] nz, int numNZ, boolean upper, int diag, double threshold,
+                              double[] w, int limit, int[] keep ) {
+        int count = 0;
+        for (int i = 0; i < numNZ; i++) {
+            int row = nz[i];
+            if (upper ? row >= diag : row <= diag)
+                continue;
+            if (Math.abs(w[row]) >= threshold && w[row] != 0.0)
+                keep[count++] = row;
+        }
+
+        if (count > limit) {
+            quickSelect(keep, 0, count - 1, limit, w);
+            count = limit;
+        }
+        Arrays.sort(keep, 0, count);
+        return count;
+    }
+
+    /**
+     * Partially sorts the rows so that the first k have the largest magnitude
+     */
+    static void quickSelect( int[] rows, int lo, int hi, int k, double[] w ) {
+        int target = k - 1;
+        while (lo < hi) {
+            double pivot = Math.abs(w[rows[(lo + hi) >>> 1]]);
+            int i = lo, j = hi;
+            while (i <= j) {
+                while (Math.abs(w[rows[i]]) > pivot) i++;
+                while (Math.abs(w[rows[j]]) < pivot) j--;
+                if (i <= j) {
+                    int tmp = rows[i];
+                    rows[i++] = rows[j];
+                    rows[j--] = tmp;
+                }
+            }
+            // elements lo..j are >= pivot, i..hi are <= pivot, and anything in between is equal to the pivot
+            if (target <= j) {
+                hi = j;
+            } else if (target >= i) {
+                lo = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private static void growSpace( DMatrixSparseCSC M, int amount ) {
+        if (M.nz_length + amount > M.nz_values.length)
+            M.growMaxLength(2*(M.nz_length + amount), true);
+    }
+
+    private static int heapPush( int[] heap, int size, int value ) {
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1)/2;
+            if (heap[parent] <= value)
+                break;
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = value;
+        return size;
+    }
+
+    private static int heapPop( int[] heap, int size ) {
+        int value = heap[--size];
+        int i = 0;
+        while (true) {
+            int child = 2*i + 1;
+            if (child >= size)
+                break;
+            if (child + 1 < size && heap[child + 1] < heap[child])
+                child++;
+            if (value <= heap[child])
+                break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = value;
+        return size;
+    }
+
+    public double getDropTolerance() {
+        return dropTolerance;
+    }
+
+    public int getMaxFill() {
+        return maxFill;
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.sparse.csc.linsol.iterative;
+
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.data.IGrowArray;
+import org.ejml.sparse.csc.misc.TriangularSolver_DSCC;
+
+import java.util.Arrays;
+
+import static org.ejml.UtilEjml.adjust;
+import static org.ejml.UtilEjml.adjustFill;
+
+/**
+ * <p>
+ * Base class for incomplete LU preconditioners, A &asymp; L*U. L is unit lower triangular and U is upper triangular.
+ * Implementations decide on the non-zero pattern of L and U. Once the pattern is known, the numerical values
+ * are found by Gaussian elimination where anything outside the pattern is discarded. This is done one column at
+ * a time, i.e. the JKI variant, since the matrices are stored in compressed column format.
+ * </p>
+ *
+ * <p>
+ * When the structure is locked the pattern of L and U from the first matrix is saved and only the numerical
+ * values are recomputed.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public abstract class PreconditionerILU_DSCC implements Preconditioner_DSCC {
+    // Lower triangular factor. The diagonal is the first element in each column and is always one.
+    DMatrixSparseCSC L = new DMatrixSparseCSC(1, 1, 0);
+    // Upper triangular factor. The diagonal is the last element in each column.
+    DMatrixSparseCSC U = new DMatrixSparseCSC(1, 1, 0);
+
+    // workspace
+    IGrowArray gmark = new IGrowArray();
+    DGrowArray gw = new DGrowArray();
+
+    private boolean locked = false;
+    private boolean computedStructure = false;
+
+    @Override
+    public boolean setA( DMatrixSparseCSC A ) {
+        if (A.numRows != A.numCols)
+            throw new IllegalArgumentException("Must be a square matrix");
+
+        if (locked && computedStructure)
+            return performNumeric(A);
+
+        computedStructure = true;
+        return performDecomposition(A);
+    }
+
+    /**
+     * Computes the pattern and values of L and U.
+     *
+     * @return true if successful or false if a zero pivot was encountered
+     */
+    protected abstract boolean performDecomposition( DMatrixSparseCSC A );
+
+    /**
+     * Computes the values of L and U using the existing pattern. Rows in each column must be sorted.
+     *
+     * @return true if successful or false if a zero pivot was encountered
+     */
+    protected boolean performNumeric( DMatrixSparseCSC A ) {
+        int N = A.numCols;
+        int[] mark = adjustFill(gmark, N, -1);
+        double[] w = adjust(gw, N);
+        Arrays.fill(w, 0, N, 0.0);
+
+        for (int j = 0; j < N; j++) {
+            int idxU0 = U.col_idx[j];
+            int idxU1 = U.col_idx[j + 1];
+            int idxL0 = L.col_idx[j];
+            int idxL1 = L.col_idx[j + 1];
+
+            for (int p = idxU0; p < idxU1; p++) {
+                mark[U.nz_rows[p]] = j;
+            }
+            for (int p = idxL0 + 1; p < idxL1; p++) {
+                mark[L.nz_rows[p]] = j;
+            }
+
+            // w = A(:,j) inside of the pattern
+            for (int p = A.col_idx[j]; p < A.col_idx[j + 1]; p++) {
+                int row = A.nz_rows[p];
+                if (mark[row] == j)
+                    w[row] = A.nz_values[p];
+            }
+
+            // Eliminate using the previous columns in increasing order
+            for (int p = idxU0; p < idxU1 - 1; p++) {
+                int k = U.nz_rows[p];
+                double ukj = w[k];
+                w[k] = 0;
+                U.nz_values[p] = ukj;
+                if (ukj == 0.0)
+                    continue;
+                for (int q = L.col_idx[k] + 1; q < L.col_idx[k + 1]; q++) {
+                    int row = L.nz_rows[q];
+                    if (mark[row] == j)
+                        w[row] -= L.nz_values[q]*ukj;
+                }
+            }
+
+            double d = w[j];
+            w[j] = 0;
+            if (d == 0.0)
+                return false;
+            U.nz_values[idxU1 - 1] = d;
+            L.nz_values[idxL0] = 1.0;
+            for (int p = idxL0 + 1; p < idxL1; p++) {
+                int row = L.nz_rows[p];
+                L.nz_values[p] = w[row]/d;
+                w[row] = 0;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void solve( double[] b, double[] x ) {
+        if (b != x)
+            System.arraycopy(b, 0, x, 0, L.numCols);
+        TriangularSolver_DSCC.solveL(L, x);
+        TriangularSolver_DSCC.solveU(U, x);
+    }
+
+    @Override
+    public void setStructureLocked( boolean locked ) {
+        this.locked = locked;
+    }
+
+    @Override
+    public boolean isStructureLocked() {
+        return locked;
+    }
+
+    /**
+     * Returns the unit lower triangular factor
+     */
+    public DMatrixSparseCSC getL() {
+        return L;
+    }
+
+    /**
+     * Returns the upper triangular factor
+     */
+    public DMatrixSparseCSC getU() {
+        return U;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.sparse.csc.linsol.iterative;
+
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrixSparseCSC;
+
+import java.util.Arrays;
+
+import static org.ejml.UtilEjml.adjust;
+
+/**
+ * Jacobi preconditioner. M is the diagonal of A. Inexpensive to compute and apply, but only effective when A
+ * is diagonally dominant.
+ *
+ * @author Peter Abeles
+ */
+public class PreconditionerJacobi_DSCC implements Preconditioner_DSCC {
+    // inverse of the diagonal elements
+    DGrowArray ginv = new DGrowArray();
+
+    // There is no structure to save, but the flag is kept so that it behaves the same as other preconditioners
+    private boolean locked = false;
+
+    @Override
+    public boolean setA( DMatrixSparseCSC A ) {
+        if (A.numRows != A.numCols)
+            throw new IllegalArgumentException("Must be a square matrix");
+        int N = A.numCols;
+        double[] inv = adjust(ginv, N);
+        Arrays.fill(inv, 0, N, 0.0);
+
+        for (int col = 0; col < N; col++) {
+            int idx0 = A.col_idx[col];
+            int idx1 = A.col_idx[col + 1];
+            for (int p = idx0; p < idx1; p++) {
+                if (A.nz_rows[p] == col) {
+                    inv[col] += A.nz_values[p];
+                }
+            }
+            if (inv[col] == 0.0)
+                return false;
+            inv[col] = 1.0/inv[col];
+        }
+        return true;
+    }
+
+    @Override
+    public void solve( double[] b, double[] x ) {
+        double[] inv = ginv.data;
+        for (int i = 0; i < ginv.length; i++) {
+            x[i] = b[i]*inv[i];
+        }
+    }
+
+    @Override
+    public void setStructureLocked( boolean locked ) {
+        this.locked = locked;
+    }
+
+    @Override
+    public boolean isStructureLocked() {
+        return locked;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.sparse.csc.linsol.iterative;
+
+import org.ejml.data.DMatrixSparseCSC;
+
+/**
+ * Preconditioner for iterative linear solvers. A preconditioner M approximates A and is used to transform
+ * the linear system into one which converges faster, e.g. M<sup>-1</sup>*A*x = M<sup>-1</sup>*b. Applying
+ * M<sup>-1</sup> to a vector needs to be much less expensive than solving the original system. When only the
+ * values in A change between calls to {@link #setA} the structure can be locked to skip the symbolic analysis.
+ *
+ * @author Peter Abeles
+ */
+public interface Preconditioner_DSCC {
+    /**
+     * Computes the preconditioner for the matrix A. A reference to A might be saved but it will not be modified.
+     *
+     * @param A (Input) Square matrix
+     * @return true if successful or false if it failed
+     */
+    boolean setA( DMatrixSparseCSC A );
+
+    /**
+     * Applies the preconditioner, x = M<sup>-1</sup>*b
+     *
+     * @param b (Input) vector. Not modified unless it's the same array as x.
+     * @param x (Output) vector. Can be the same array as b.
+     */
+    void solve( double[] b, double[] x );
+
+    /**
+     * If locked then the non-zero pattern computed from the next matrix is saved and reused by all future
+     * matrices, which must have the same non-zero pattern. Only the numerical values are recomputed.
+     */
+    void setStructureLocked( boolean locked );
+
+    /**
+     * Checks to see if the structure is locked.
+     *
+     * @return true if locked or false if not locked.
+     */
+    boolean isStructureLocked();
+}
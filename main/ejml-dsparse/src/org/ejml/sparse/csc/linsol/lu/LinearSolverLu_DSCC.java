@@ -83,7 +83,18 @@ public class LinearSolverLu_DSCC implements LinearSolverSparse<DMatrixSparseCSC,
         tmp.reshape(L.numRows, B.numCols, 1);
 
         TriangularSolver_DSCC.solve(L, true, Bp, tmp, null, gx, gw, gw1);
-        TriangularSolver_DSCC.solve(U, false, tmp, X, null, gx, gw, gw1);
+        if (isColumnPermuted()) {
+            // undo the fill reduction column permutation
+            Bp.reshape(X.numRows, X.numCols, X.nz_values.length);
+            TriangularSolver_DSCC.solve(U, false, tmp, Bp, null, gx, gw, gw1);
+            CommonOps_DSCC.permuteRowInv(decomposition.getReducePermutation(), Bp, X);
+        } else {
+            TriangularSolver_DSCC.solve(U, false, tmp, X, null, gx, gw, gw1);
+        }
+    }
+
+    private boolean isColumnPermuted() {
+        return decomposition.isReduceFill() && decomposition.getReduceFill().hasColumnPermutation();
     }
 
     @Override
@@ -108,7 +119,7 @@ public class LinearSolverLu_DSCC implements LinearSolverSparse<DMatrixSparseCSC,
         DMatrixSparseCSC L = decomposition.getL();
         DMatrixSparseCSC U = decomposition.getU();
 
-        final boolean reduceFill = decomposition.isReduceFill();
+        final boolean reduceFill = isColumnPermuted();
         final int[] q = reduceFill ? decomposition.getReducePermutation() : null;
 
         // process each column in X and B individually
@@ -121,7 +132,7 @@ public class LinearSolverLu_DSCC implements LinearSolverSparse<DMatrixSparseCSC,
             TriangularSolver_DSCC.solveU(U, x);
             double[] d;
             if (reduceFill) {
-                CommonOps_DSCC.permute(q, x, b, X.numRows);
+                CommonOps_DSCC.permuteInv(q, x, b, X.numRows);
                 d = b;
             } else {
                 d = x;
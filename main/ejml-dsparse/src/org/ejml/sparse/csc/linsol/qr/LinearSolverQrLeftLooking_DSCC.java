@@ -79,6 +79,15 @@ public class LinearSolverQrLeftLooking_DSCC implements LinearSolverSparse<DMatri
         DMatrixSparseCSC B_tmp = B.createLike();
         DMatrixSparseCSC swap;
 
+        // Apply fill reduction row permutation to B
+        int[] pinvFill = qr.getFillRowPermutationInv();
+        if (pinvFill != null) {
+            CommonOps_DSCC.permuteRowInv(pinvFill, B, B_tmp);
+            swap = B_tmp;
+            B_tmp = B;
+            B = swap;
+        }
+
         // Apply permutation to B
         int[] pinv = qr.getStructure().getPinv();
         CommonOps_DSCC.permuteRowInv(pinv, B, B_tmp);
@@ -97,7 +106,14 @@ public class LinearSolverQrLeftLooking_DSCC implements LinearSolverSparse<DMatri
 
         // Solve for X
         DMatrixSparseCSC R = qr.getR();
-        TriangularSolver_DSCC.solve(R, false, B, X, null, gx, gw, gw1);
+        if (qr.isFillPermutated()) {
+            // undo the fill reduction column permutation
+            B_tmp.reshape(X.numRows, X.numCols, X.nz_values.length);
+            TriangularSolver_DSCC.solve(R, false, B, B_tmp, null, gx, gw, gw1);
+            CommonOps_DSCC.permuteRowInv(qr.getFillPermutation(), B_tmp, X);
+        } else {
+            TriangularSolver_DSCC.solve(R, false, B, X, null, gx, gw, gw1);
+        }
     }
 
     @Override
@@ -119,6 +135,7 @@ public class LinearSolverQrLeftLooking_DSCC implements LinearSolverSparse<DMatri
         double[] x = adjust(gx, AnumCols);
 
         int[] pinv = qr.getStructure().getPinv();
+        int[] pinvFill = qr.getFillRowPermutationInv();
 
         // process each column in X and B individually
         for (int colX = 0; colX < B.numCols; colX++) {
@@ -126,7 +143,11 @@ public class LinearSolverQrLeftLooking_DSCC implements LinearSolverSparse<DMatri
             for (int i = 0; i < B.numRows; i++, index += X.numCols) b[i] = B.data[index];
 
             // apply row pivots
-            CommonOps_DSCC.permuteInv(pinv, b, bp, AnumRows);
+            if (pinvFill != null) {
+                for (int i = 0; i < AnumRows; i++) bp[pinv[pinvFill[i]]] = b[i];
+            } else {
+                CommonOps_DSCC.permuteInv(pinv, b, bp, AnumRows);
+            }
 
             // apply Householder reflectors
             for (int j = 0; j < AnumCols; j++) {
@@ -138,7 +159,7 @@ public class LinearSolverQrLeftLooking_DSCC implements LinearSolverSparse<DMatri
             // undo the permutation
             double[] out;
             if (qr.isFillPermutated()) {
-                CommonOps_DSCC.permute(qr.getFillPermutation(), bp, x, X.numRows);
+                CommonOps_DSCC.permuteInv(qr.getFillPermutation(), bp, x, X.numRows);
                 out = x;
             } else {
                 out = bp;
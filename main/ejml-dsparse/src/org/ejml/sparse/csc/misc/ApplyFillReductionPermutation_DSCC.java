@@ -27,7 +27,7 @@ import org.jetbrains.annotations.Nullable;
 /**
  * Applies the fill reduction row pivots to the input matrix to reduce fill in during decomposition/solve.
  *
- * P*A*Q where P are row pivots and Q are column pivots.
+ * P*A*Q where P are row pivots and Q are column pivots. For symmetric matrices P*A*P<sup>T</sup> is computed.
  *
  * @author Peter Abeles
  */
@@ -51,7 +51,8 @@ public class ApplyFillReductionPermutation_DSCC {
 
     /**
      * Computes and applies the fill reduction permutation. Either A is returned (unmodified) or the permutated
-     * version of A.
+     * version of A. If symmetric then P*A*P<sup>T</sup> is computed, otherwise P*A*Q where either P or Q can be
+     * the identity if the permutation doesn't provide them.
      *
      * @param A Input matrix. unmodified.
      * @return A permuted matrix. Might be A or a different matrix.
@@ -62,31 +63,57 @@ public class ApplyFillReductionPermutation_DSCC {
         fillReduce.process(A);
 
         IGrowArray gp = fillReduce.getRow();
-        if (gp == null)
-            throw new RuntimeException("No row permutation matrix");
+        if (symmetric) {
+            // A symmetric permutation can be specified using either vector
+            if (gp == null)
+                gp = fillReduce.getColumn();
+            if (gp == null)
+                throw new RuntimeException("No row permutation matrix");
+            computePinv(gp);
+            CommonOps_DSCC.permuteSymmetric(A, pinv, Aperm, gw);
+        } else {
+            if (gp != null)
+                computePinv(gp);
+            IGrowArray gq = fillReduce.getColumn();
+            CommonOps_DSCC.permute(gp == null ? null : pinv, A, gq == null ? null : gq.data, Aperm);
+        }
+        return Aperm;
+    }
 
-        if (pinv.length < gp.length)
+    private void computePinv( IGrowArray gp ) {
+        if (pinv.length != gp.length)
             pinv = new int[gp.length];
         CommonOps_DSCC.permutationInverse(gp.data, pinv, gp.length);
-        if (symmetric)
-            CommonOps_DSCC.permuteSymmetric(A, pinv, Aperm, gw);
-        else
-            CommonOps_DSCC.permuteRowInv(pinv, A, Aperm);
-        return Aperm;
     }
 
+    /**
+     * Returns the inverse of the row permutation or null if there is no row permutation
+     */
     public @Nullable int[] getArrayPinv() {
-        return fillReduce == null ? null : pinv;
+        return getArrayP() == null ? null : pinv;
     }
 
-    @SuppressWarnings("NullAway")
+    /**
+     * Returns the row permutation or null if there is no row permutation. For symmetric matrices this is
+     * also the column permutation.
+     */
     public @Nullable int[] getArrayP() {
-        return fillReduce == null ? null : fillReduce.getRow().data;
+        if (fillReduce == null)
+            return null;
+        IGrowArray gp = fillReduce.getRow();
+        if (gp == null && symmetric)
+            gp = fillReduce.getColumn();
+        return gp == null ? null : gp.data;
     }
 
-    @SuppressWarnings("NullAway")
+    /**
+     * Returns the column permutation or null if there is no column permutation. Not used with symmetric matrices.
+     */
     public @Nullable int[] getArrayQ() {
-        return fillReduce == null ? null : fillReduce.getColumn().data;
+        if (fillReduce == null)
+            return null;
+        IGrowArray gq = fillReduce.getColumn();
+        return gq == null ? null : gq.data;
     }
 
     public IGrowArray getGw() {
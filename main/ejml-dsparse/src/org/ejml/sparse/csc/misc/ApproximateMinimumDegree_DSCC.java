@@ -0,0 +1,597 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.misc;
+
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.data.IGrowArray;
+import org.ejml.sparse.ComputePermutation;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+
+import java.util.Arrays;
+
+/**
+ * <p>Approximate Minimum Degree (AMD) fill reducing ordering. The ordering is computed from a symmetric graph
+ * which is constructed from the non-zero pattern of the input matrix. Two graphs are supported:</p>
+ *
+ * <ul>
+ *     <li>symmetric = true: Graph of A+A<sup>T</sup>. Intended for Cholesky decomposition. The same permutation is
+ *     applied to rows and columns, e.g. P*A*P<sup>T</sup>.</li>
+ *     <li>symmetric = false: Graph of A<sup>T</sup>A with dense rows of A ignored. This orders the columns of A
+ *     and is intended for QR and LU decompositions, e.g. A*Q. Only a column permutation is computed.</li>
+ * </ul>
+ *
+ * <p>The algorithm operates on a quotient graph using element absorption, mass elimination, supernode detection,
+ * approximate external degrees and aggressive absorption. The resulting assembly tree is post ordered.</p>
+ *
+ * <p>See cs_amd() on page 106 of "Direct Methods for Sparse Linear Systems"</p>
+ *
+ * @author Peter Abeles
+ */
+public class ApproximateMinimumDegree_DSCC extends ComputePermutation<DMatrixSparseCSC> {
+    // If true the graph of A+A' is used otherwise the graph of A'A
+    private final boolean symmetric;
+
+    // transpose of the input matrix
+    private final DMatrixSparseCSC At = new DMatrixSparseCSC(1, 1, 0);
+
+    // Storage for the quotient graph. Cp has N+1 elements and Ci has extra "elbow room" for new elements
+    private final IGrowArray gCp = new IGrowArray();
+    private final IGrowArray gCi = new IGrowArray();
+
+    // workspace. contains len, nv, next, head, elen, degree, w, hhead
+    private final IGrowArray gw = new IGrowArray();
+    // output permutation with an extra element for the dense node
+    private final IGrowArray gP = new IGrowArray();
+
+    /**
+     * Specifies which graph the ordering is computed from
+     *
+     * @param symmetric If true then A+A<sup>T</sup> is ordered and the row and column permutation will be identical.
+     * If false then the columns of A<sup>T</sup>A are ordered and there is only a column permutation.
+     */
+    public ApproximateMinimumDegree_DSCC( boolean symmetric ) {
+        super(symmetric, true);
+        this.symmetric = symmetric;
+    }
+
+    @Override
+    @SuppressWarnings("NullAway") // constructor parameters ensures pcol is not null
+    public void process( DMatrixSparseCSC A ) {
+        if (symmetric && A.numRows != A.numCols)
+            throw new IllegalArgumentException("Symmetric ordering requires a square matrix");
+
+        int n = A.numCols;
+        pcol.reshape(n);
+
+        if (n == 0) {
+            if (prow != null)
+                prow.reshape(0);
+            return;
+        }
+
+        // Construct the graph with the diagonal removed
+        if (symmetric)
+            constructGraphSymmetric(A);
+        else
+            constructGraphAtA(A);
+
+        int[] P = order(n);
+        System.arraycopy(P, 0, pcol.data, 0, n);
+        if (prow != null) {
+            prow.reshape(n);
+            System.arraycopy(P, 0, prow.data, 0, n);
+        }
+    }
+
+    /**
+     * Computes the graph of A+A'. Diagonal elements are not included.
+     */
+    void constructGraphSymmetric( DMatrixSparseCSC A ) {
+        int n = A.numCols;
+        CommonOps_DSCC.transpose(A, At, gw);
+
+        int[] w = UtilEjml.adjust(gw, n);
+        Arrays.fill(w, 0, n, -1);
+
+        // count the number of elements in each column first
+        int[] Cp = UtilEjml.adjust(gCp, n + 1);
+        Cp[0] = 0;
+        for (int j = 0; j < n; j++) {
+            int count = 0;
+            count += markColumn(A, j, j, w);
+            count += markColumn(At, j, j, w);
+            Cp[j + 1] = Cp[j] + count;
+        }
+
+        int[] Ci = allocateGraph(n, Cp[n]);
+        Arrays.fill(w, 0, n, -1);
+        for (int j = 0; j < n; j++) {
+            int idx = Cp[j];
+            idx = copyColumn(A, j, j, w, Ci, idx);
+            copyColumn(At, j, j, w, Ci, idx);
+        }
+    }
+
+    /**
+     * Computes the graph of A'A with dense rows in A removed. Diagonal elements are not included.
+     */
+    void constructGraphAtA( DMatrixSparseCSC A ) {
+        int n = A.numCols;
+        int dense = denseThreshold(n);
+
+        // At is a row major view of A
+        CommonOps_DSCC.transpose(A, At, gw);
+
+        int[] w = UtilEjml.adjust(gw, n);
+        Arrays.fill(w, 0, n, -1);
+
+        // Column j in A'A is the union of all the rows in A which have an element in column j
+        int[] Cp = UtilEjml.adjust(gCp, n + 1);
+        Cp[0] = 0;
+        for (int j = 0; j < n; j++) {
+            int count = 0;
+            for (int p = A.col_idx[j]; p < A.col_idx[j + 1]; p++) {
+                int row = A.nz_rows[p];
+                if (At.col_idx[row + 1] - At.col_idx[row] > dense)
+                    continue;
+                count += markColumn(At, row, j, w);
+            }
+            Cp[j + 1] = Cp[j] + count;
+        }
+
+        int[] Ci = allocateGraph(n, Cp[n]);
+        Arrays.fill(w, 0, n, -1);
+        for (int j = 0; j < n; j++) {
+            int idx = Cp[j];
+            for (int p = A.col_idx[j]; p < A.col_idx[j + 1]; p++) {
+                int row = A.nz_rows[p];
+                if (At.col_idx[row + 1] - At.col_idx[row] > dense)
+                    continue;
+                idx = copyColumn(At, row, j, w, Ci, idx);
+            }
+        }
+    }
+
+    /**
+     * Marks rows in the specified column which have not already been marked and are not on the diagonal
+     *
+     * @return Number of newly marked rows
+     */
+    static int markColumn( DMatrixSparseCSC A, int col, int diag, int[] w ) {
+        int count = 0;
+        for (int p = A.col_idx[col]; p < A.col_idx[col + 1]; p++) {
+            int i = A.nz_rows[p];
+            if (i == diag || w[i] == diag)
+                continue;
+            w[i] = diag;
+            count++;
+        }
+        return count;
+    }
+
+    static int copyColumn( DMatrixSparseCSC A, int col, int diag, int[] w, int[] Ci, int idx ) {
+        for (int p = A.col_idx[col]; p < A.col_idx[col + 1]; p++) {
+            int i = A.nz_rows[p];
+            if (i == diag || w[i] == diag)
+                continue;
+            w[i] = diag;
+            Ci[idx++] = i;
+        }
+        return idx;
+    }
+
+    /**
+     * Allocates storage for the quotient graph with elbow room so that new elements can be appended
+     */
+    private int[] allocateGraph( int n, int cnz ) {
+        return UtilEjml.adjust(gCi, cnz + cnz/5 + 2*n);
+    }
+
+    /**
+     * Rows or nodes with more than this number of elements are considered dense
+     */
+    static int denseThreshold( int n ) {
+        int dense = (int)Math.max(16, 10*Math.sqrt(n));
+        return Math.min(n - 2, dense);
+    }
+
+    /**
+     * Computes the ordering from the graph stored in Cp and Ci
+     *
+     * @param n Number of nodes in the graph
+     * @return The permutation. Only the first n elements are valid.
+     */
+    int[] order( int n ) {
+        int[] Cp = gCp.data;
+        int[] Ci = gCi.data;
+        int nzmax = gCi.length;
+        int cnz = Cp[n];
+
+        int dense = denseThreshold(n);
+
+        int[] W = UtilEjml.adjust(gw, 8*(n + 1));
+        int[] P = UtilEjml.adjust(gP, n + 1);
+
+        final int len = 0;
+        final int nv = n + 1;
+        final int next = 2*(n + 1);
+        final int head = 3*(n + 1);
+        final int elen = 4*(n + 1);
+        final int degree = 5*(n + 1);
+        final int w = 6*(n + 1);
+        final int hhead = 7*(n + 1);
+        // use P as workspace for last
+        final int[] last = P;
+
+        int lemax = 0, mindeg = 0, nel = 0;
+
+        //------------- Initialize quotient graph
+        for (int k = 0; k < n; k++) {
+            W[len + k] = Cp[k + 1] - Cp[k];
+        }
+        W[len + n] = 0;
+        for (int i = 0; i <= n; i++) {
+            W[head + i] = -1; // degree list i is empty
+            last[i] = -1;
+            W[next + i] = -1;
+            W[hhead + i] = -1; // hash list i is empty
+            W[nv + i] = 1;     // node i is just one node
+            W[w + i] = 1;      // node i is alive
+            W[elen + i] = 0;   // Ek of node i is empty
+            W[degree + i] = W[len + i]; // degree of node i
+        }
+        int mark = clearW(0, 0, W, w, n);
+        W[elen + n] = -2; // n is a dead element
+        Cp[n] = -1;       // n is a root of assembly tree
+        W[w + n] = 0;     // n is a dead element
+
+        //------------- Initialize degree lists
+        for (int i = 0; i < n; i++) {
+            int d = W[degree + i];
+            if (d == 0) {
+                // node i is empty
+                W[elen + i] = -2; // element i is dead
+                nel++;
+                Cp[i] = -1;       // i is a root of assembly tree
+                W[w + i] = 0;
+            } else if (d > dense) {
+                // node i is dense. absorb i into element n
+                W[nv + i] = 0;
+                W[elen + i] = -1; // node i is dead
+                nel++;
+                Cp[i] = flip(n);
+                W[nv + n]++;
+            } else {
+                // put node i in degree list d
+                if (W[head + d] != -1)
+                    last[W[head + d]] = i;
+                W[next + i] = W[head + d];
+                W[head + d] = i;
+            }
+        }
+
+        while (nel < n) {
+            //------------- Select node of minimum approximate degree
+            int k = -1;
+            for (; mindeg < n && (k = W[head + mindeg]) == -1; mindeg++) {}
+            if (W[next + k] != -1)
+                last[W[next + k]] = -1;
+            W[head + mindeg] = W[next + k]; // remove k from degree list
+            int elenk = W[elen + k];        // elenk = |Ek|
+            int nvk = W[nv + k];            // # of nodes k represents
+            nel += nvk;                     // nv[k] nodes of A eliminated
+
+            //------------- Garbage collection
+            if (elenk > 0 && cnz + mindeg >= nzmax) {
+                for (int j = 0; j < n; j++) {
+                    int p = Cp[j];
+                    if (p >= 0) {
+                        // j is a live node or element
+                        Cp[j] = Ci[p];    // save first entry of object
+                        Ci[p] = flip(j);  // first entry is now flip(j)
+                    }
+                }
+                int q = 0;
+                for (int p = 0; p < cnz; ) {
+                    // scan all of memory
+                    int j = flip(Ci[p++]);
+                    if (j >= 0) {
+                        // found object j
+                        Ci[q] = Cp[j];    // restore first entry of object
+                        Cp[j] = q++;      // new pointer to object j
+                        for (int k3 = 0; k3 < W[len + j] - 1; k3++)
+                            Ci[q++] = Ci[p++];
+                    }
+                }
+                cnz = q; // Ci[cnz...nzmax-1] now free
+            }
+
+            //------------- Construct new element
+            int dk = 0;
+            W[nv + k] = -nvk; // flag k as in Lk
+            int p = Cp[k];
+            int pk1 = (elenk == 0) ? p : cnz; // do in place if elen[k] == 0
+            int pk2 = pk1;
+            for (int k1 = 1; k1 <= elenk + 1; k1++) {
+                int e, pj, ln;
+                if (k1 > elenk) {
+                    e = k;                      // search the nodes in k
+                    pj = p;                     // list of nodes starts at Ci[pj]
+                    ln = W[len + k] - elenk;    // length of list of nodes in k
+                } else {
+                    e = Ci[p++];                // search the nodes in e
+                    pj = Cp[e];
+                    ln = W[len + e];            // length of list of nodes in e
+                }
+                for (int k2 = 1; k2 <= ln; k2++) {
+                    int i = Ci[pj++];
+                    int nvi = W[nv + i];
+                    if (nvi <= 0)
+                        continue; // node i dead, or seen
+                    dk += nvi;                  // degree[Lk] += size of node i
+                    W[nv + i] = -nvi;           // negate nv[i] to denote i in Lk
+                    Ci[pk2++] = i;              // place i in Lk
+                    if (W[next + i] != -1)
+                        last[W[next + i]] = last[i];
+                    if (last[i] != -1) {
+                        // remove i from degree list
+                        W[next + last[i]] = W[next + i];
+                    } else {
+                        W[head + W[degree + i]] = W[next + i];
+                    }
+                }
+                if (e != k) {
+                    Cp[e] = flip(k); // absorb e into k
+                    W[w + e] = 0;    // e is now a dead element
+                }
+            }
+            if (elenk != 0)
+                cnz = pk2;           // Ci[cnz...nzmax] is free
+            W[degree + k] = dk;      // external degree of k - |Lk\i|
+            Cp[k] = pk1;             // element k is in Ci[pk1..pk2-1]
+            W[len + k] = pk2 - pk1;
+            W[elen + k] = -2;        // k is now an element
+
+            //------------- Find set differences
+            mark = clearW(mark, lemax, W, w, n);
+            for (int pk = pk1; pk < pk2; pk++) {
+                // scan 1: find |Le\Lk|
+                int i = Ci[pk];
+                int eln = W[elen + i];
+                if (eln <= 0)
+                    continue;            // skip if elen[i] empty
+                int nvi = -W[nv + i];    // nv[i] was negated
+                int wnvi = mark - nvi;
+                for (p = Cp[i]; p <= Cp[i] + eln - 1; p++) {
+                    // scan Ei
+                    int e = Ci[p];
+                    if (W[w + e] >= mark) {
+                        W[w + e] -= nvi;          // decrement |Le\Lk|
+                    } else if (W[w + e] != 0) {
+                        // ensure e is a live element, 1st time e seen in scan 1
+                        W[w + e] = W[degree + e] + wnvi;
+                    }
+                }
+            }
+
+            //------------- Degree update
+            for (int pk = pk1; pk < pk2; pk++) {
+                // scan2: degree update
+                int i = Ci[pk];           // consider node i in Lk
+                int p1 = Cp[i];
+                int p2 = p1 + W[elen + i] - 1;
+                int pn = p1;
+                long h = 0;
+                int d = 0;
+                for (p = p1; p <= p2; p++) {
+                    // scan Ei
+                    int e = Ci[p];
+                    if (W[w + e] != 0) {
+                        // e is an unabsorbed element
+                        int dext = W[w + e] - mark; // dext = |Le\Lk|
+                        if (dext > 0) {
+                            d += dext;            // sum up the set differences
+                            Ci[pn++] = e;         // keep e in Ei
+                            h += e;               // compute the hash of node i
+                        } else {
+                            Cp[e] = flip(k);      // aggressive absorb. e->k
+                            W[w + e] = 0;         // e is a dead element
+                        }
+                    }
+                }
+                W[elen + i] = pn - p1 + 1;        // elen[i] = |Ei|
+                int p3 = pn;
+                int p4 = p1 + W[len + i];
+                for (p = p2 + 1; p < p4; p++) {
+                    // prune edges in Ai
+                    int j = Ci[p];
+                    int nvj = W[nv + j];
+                    if (nvj <= 0)
+                        continue;                 // node j dead or in Lk
+                    d += nvj;                     // degree(i) += |j|
+                    Ci[pn++] = j;                 // place j in node list of i
+                    h += j;                       // compute hash for node i
+                }
+                if (d == 0) {
+                    // check for mass elimination
+                    Cp[i] = flip(k);              // absorb i into k
+                    int nvi = -W[nv + i];
+                    dk -= nvi;                    // |Lk| -= |i|
+                    nvk += nvi;                   // |k| += nv[i]
+                    nel += nvi;
+                    W[nv + i] = 0;
+                    W[elen + i] = -1;             // node i is dead
+                } else {
+                    W[degree + i] = Math.min(W[degree + i], d); // update degree(i)
+                    Ci[pn] = Ci[p3];              // move first node to end
+                    Ci[p3] = Ci[p1];              // move 1st el. to end of Ei
+                    Ci[p1] = k;                   // add k as 1st element in of Ei
+                    W[len + i] = pn - p1 + 1;     // new len of adj. list of node i
+                    int hash = (int)(Math.abs(h)%n); // finalize hash of i
+                    W[next + i] = W[hhead + hash]; // place i in hash bucket
+                    W[hhead + hash] = i;
+                    last[i] = hash;               // save hash of i in last[i]
+                }
+            }
+            W[degree + k] = dk;                   // finalize |Lk|
+            lemax = Math.max(lemax, dk);
+            mark = clearW(mark + lemax, lemax, W, w, n);
+
+            //------------- Supernode detection
+            for (int pk = pk1; pk < pk2; pk++) {
+                int i = Ci[pk];
+                if (W[nv + i] >= 0)
+                    continue;                     // skip if i is dead
+                int hash = last[i];               // scan hash bucket of node i
+                i = W[hhead + hash];
+                W[hhead + hash] = -1;             // hash bucket will be empty
+                for (; i != -1 && W[next + i] != -1; i = W[next + i], mark++) {
+                    int ln = W[len + i];
+                    int eln = W[elen + i];
+                    for (p = Cp[i] + 1; p <= Cp[i] + ln - 1; p++)
+                        W[w + Ci[p]] = mark;
+                    int jlast = i;
+                    for (int j = W[next + i]; j != -1; ) {
+                        // compare i with all j
+                        boolean ok = (W[len + j] == ln) && (W[elen + j] == eln);
+                        for (p = Cp[j] + 1; ok && p <= Cp[j] + ln - 1; p++) {
+                            if (W[w + Ci[p]] != mark)
+                                ok = false;       // compare i and j
+                        }
+                        if (ok) {
+                            // i and j are identical
+                            Cp[j] = flip(i);      // absorb j into i
+                            W[nv + i] += W[nv + j];
+                            W[nv + j] = 0;
+                            W[elen + j] = -1;     // node j is dead
+                            j = W[next + j];      // delete j from hash bucket
+                            W[next + jlast] = j;
+                        } else {
+                            jlast = j;            // j and i are different
+                            j = W[next + j];
+                        }
+                    }
+                }
+            }
+
+            //------------- Finalize new element
+            p = pk1;
+            for (int pk = pk1; pk < pk2; pk++) {
+                // finalize Lk
+                int i = Ci[pk];
+                int nvi = -W[nv + i];
+                if (nvi <= 0)
+                    continue;                     // skip if i is dead
+                W[nv + i] = nvi;                  // restore nv[i]
+                int d = W[degree + i] + dk - nvi; // compute external degree(i)
+                d = Math.min(d, n - nel - nvi);
+                if (W[head + d] != -1)
+                    last[W[head + d]] = i;
+                W[next + i] = W[head + d];        // put i back in degree list
+                last[i] = -1;
+                W[head + d] = i;
+                mindeg = Math.min(mindeg, d);     // find new minimum degree
+                W[degree + i] = d;
+                Ci[p++] = i;                      // place i in Lk
+            }
+            W[nv + k] = nvk;                      // # nodes absorbed into k
+            if ((W[len + k] = p - pk1) == 0) {
+                // length of adj list of element k
+                Cp[k] = -1;                       // k is a root of the tree
+                W[w + k] = 0;                     // k is now a dead element
+            }
+            if (elenk != 0)
+                cnz = p;                          // free unused space in Lk
+        }
+
+        //------------- Post ordering of the assembly tree
+        for (int i = 0; i < n; i++)
+            Cp[i] = flip(Cp[i]);                  // fix assembly tree
+        for (int j = 0; j <= n; j++)
+            W[head + j] = -1;
+        for (int j = n; j >= 0; j--) {
+            // place unordered nodes in lists
+            if (W[nv + j] > 0)
+                continue;                         // skip if j is an element
+            W[next + j] = W[head + Cp[j]];        // place j in list of its parent
+            W[head + Cp[j]] = j;
+        }
+        for (int e = n; e >= 0; e--) {
+            // place elements in lists
+            if (W[nv + e] <= 0)
+                continue;                         // skip unless e is an element
+            if (Cp[e] != -1) {
+                W[next + e] = W[head + Cp[e]];    // place e in list of its parent
+                W[head + Cp[e]] = e;
+            }
+        }
+        for (int k = 0, i = 0; i <= n; i++) {
+            // postorder the assembly tree
+            if (Cp[i] == -1)
+                k = depthFirstSearch(i, k, W, head, next, P, w);
+        }
+
+        return P;
+    }
+
+    /**
+     * Clears the w workspace if needed
+     */
+    private static int clearW( int mark, int lemax, int[] W, int w, int n ) {
+        if (mark < 2 || (mark + lemax < 0)) {
+            for (int k = 0; k < n; k++)
+                if (W[w + k] != 0)
+                    W[w + k] = 1;
+            mark = 2;
+        }
+        return mark; // at this point, w[0..n-1] < mark holds
+    }
+
+    /**
+     * Non-recursive depth first search of the assembly tree. Post orders the tree rooted at j. The stack is
+     * stored in W starting at index 'stack'
+     *
+     * <p>See cs_tdfs() on page 44</p>
+     */
+    private static int depthFirstSearch( int j, int k, int[] W, int head, int next, int[] post, int stack ) {
+        int top = 0;
+        W[stack] = j;
+        while (top >= 0) {
+            int p = W[stack + top];
+            int i = W[head + p];
+            if (i == -1) {
+                top--;
+                post[k++] = p;
+            } else {
+                W[head + p] = W[next + i];
+                W[stack + ++top] = i;
+            }
+        }
+        return k;
+    }
+
+    private static int flip( int i ) {
+        return -i - 2;
+    }
+
+    public boolean isSymmetric() {
+        return symmetric;
+    }
+}
@@ -0,0 +1,475 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.misc;
+
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.data.IGrowArray;
+import org.ejml.sparse.ComputePermutation;
+import org.ejml.sparse.SeparatorTree;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * <p>Nested dissection fill reducing ordering. The graph of A+A<sup>T</sup> is recursively split into two
+ * disconnected parts by removing a small set of vertices, the separator. Each part is ordered first and the
+ * separator is ordered last. Sub graphs which are smaller than the leaf size are ordered using
+ * {@link ApproximateMinimumDegree_DSCC}. The same permutation is applied to rows and columns, e.g. P*A*P<sup>T</sup>.
+ * For 2D and 3D meshes this keeps the fill in of a Cholesky factor close to O(n log n) and O(n<sup>4/3</sup>).</p>
+ *
+ * <p>Separators are found using a level structure, i.e. a breadth first search, which starts from a
+ * pseudo-peripheral vertex. The narrowest level that leaves both parts reasonably balanced is selected and only
+ * the vertices in that level which are connected to the next level are kept in the separator.</p>
+ *
+ * <p>The recursion is recorded in a {@link SeparatorTree}, see {@link #getSeparatorTree()}. Sub trees which don't
+ * contain each other can be factored independently.</p>
+ *
+ * <p>See chapter 7.6 of "Direct Methods for Sparse Linear Systems" and "Computer Solution of Large Sparse Positive
+ * Definite Systems" by George and Liu</p>
+ *
+ * @author Peter Abeles
+ */
+public class NestedDissection_DSCC extends ComputePermutation<DMatrixSparseCSC> {
+    /** Sub graphs with this number of vertices or fewer are not dissected any further */
+    private final int leafSize;
+
+    /** Separator tree from the most recent call to process() */
+    private final SeparatorTree tree = new SeparatorTree();
+
+    // Used to order the leafs
+    private final ApproximateMinimumDegree_DSCC amd = new ApproximateMinimumDegree_DSCC(true);
+    private final DMatrixSparseCSC leaf = new DMatrixSparseCSC(1, 1, 0);
+
+    // transpose of the input matrix
+    private final DMatrixSparseCSC At = new DMatrixSparseCSC(1, 1, 0);
+
+    // Graph of A+A' without the diagonal
+    private final IGrowArray gCp = new IGrowArray();
+    private final IGrowArray gCi = new IGrowArray();
+
+    // Vertices in the sub graph being processed are found in verts[lo:hi]
+    private final IGrowArray gVerts = new IGrowArray();
+    // Breadth first search queue. Shares the same [lo:hi] range as verts
+    private final IGrowArray gQueue = new IGrowArray();
+    // Which sub graph a vertex belongs to
+    private final IGrowArray gMember = new IGrowArray();
+    // Used to mark vertices which have been visited
+    private final IGrowArray gVisited = new IGrowArray();
+    // Level of each vertex in the level structure or its local index in a leaf
+    private final IGrowArray gLevel = new IGrowArray();
+    // Index in the queue where each level starts
+    private final IGrowArray levelStart = new IGrowArray();
+
+    // Internal references to work space arrays
+    private int[] Cp = new int[0], Ci = new int[0];
+    private int[] verts = new int[0], queue = new int[0], member = new int[0], visited = new int[0], level = new int[0];
+    private int[] perm = new int[0];
+
+    // counters used to create unique marks
+    private int memberMark, visitedMark;
+    // Number of vertices which have been ordered so far
+    private int numOrdered;
+
+    /**
+     * @param leafSize Sub graphs with this number of vertices or fewer are ordered using AMD. Try 128.
+     */
+    public NestedDissection_DSCC( int leafSize ) {
+        super(true, true);
+        if (leafSize < 1)
+            throw new IllegalArgumentException("leafSize must be at least 1");
+        this.leafSize = leafSize;
+    }
+
+    public NestedDissection_DSCC() {
+        this(128);
+    }
+
+    @Override
+    @SuppressWarnings("NullAway") // constructor parameters ensures these are not null
+    public void process( DMatrixSparseCSC A ) {
+        if (A.numRows != A.numCols)
+            throw new IllegalArgumentException("Nested dissection requires a square matrix");
+
+        int n = A.numCols;
+        tree.reset();
+        pcol.reshape(n);
+        perm = pcol.data;
+        numOrdered = 0;
+        if (n == 0) {
+            prow.reshape(0);
+            return;
+        }
+
+        constructGraph(A);
+
+        verts = UtilEjml.adjust(gVerts, n);
+        queue = UtilEjml.adjust(gQueue, n);
+        member = UtilEjml.adjust(gMember, n);
+        visited = UtilEjml.adjust(gVisited, n);
+        level = UtilEjml.adjust(gLevel, n);
+        Arrays.fill(member, 0, n, 0);
+        Arrays.fill(visited, 0, n, 0);
+        memberMark = visitedMark = 0;
+
+        for (int i = 0; i < n; i++) {
+            verts[i] = i;
+        }
+
+        dissectComponents(0, n);
+
+        prow.setTo(pcol);
+    }
+
+    /**
+     * Computes the graph of A+A'. Diagonal elements are not included.
+     */
+    void constructGraph( DMatrixSparseCSC A ) {
+        int n = A.numCols;
+        CommonOps_DSCC.transpose(A, At, gVisited);
+
+        int[] w = UtilEjml.adjust(gVisited, n);
+        Arrays.fill(w, 0, n, -1);
+
+        Cp = UtilEjml.adjust(gCp, n + 1);
+        Cp[0] = 0;
+        for (int j = 0; j < n; j++) {
+            int count = ApproximateMinimumDegree_DSCC.markColumn(A, j, j, w);
+            count += ApproximateMinimumDegree_DSCC.markColumn(At, j, j, w);
+            Cp[j + 1] = Cp[j] + count;
+        }
+
+        Ci = UtilEjml.adjust(gCi, Cp[n]);
+        Arrays.fill(w, 0, n, -1);
+        for (int j = 0; j < n; j++) {
+            int idx = ApproximateMinimumDegree_DSCC.copyColumn(A, j, j, w, Ci, Cp[j]);
+            ApproximateMinimumDegree_DSCC.copyColumn(At, j, j, w, Ci, idx);
+        }
+    }
+
+    /**
+     * Orders a sub graph which might not be connected. Each connected component is dissected independently.
+     * Small components are grouped together into a single leaf.
+     *
+     * @return Index of the node in the separator tree
+     */
+    private int dissectComponents( int lo, int hi ) {
+        int begin = numOrdered;
+        if (hi - lo <= leafSize)
+            return orderLeaf(lo, hi);
+
+        markMembers(lo, hi);
+        int found = breadthFirstSearch(verts[lo], lo, ++visitedMark);
+        if (found == hi - lo)
+            return dissect(lo, hi);
+
+        // Find the remaining components. They are written into the queue one after another
+        var componentEnds = new IGrowArray();
+        componentEnds.add(lo + found);
+        for (int i = lo; i < hi; i++) {
+            int v = verts[i];
+            if (visited[v] == visitedMark)
+                continue;
+            int start = componentEnds.data[componentEnds.length - 1];
+            componentEnds.add(start + breadthFirstSearch(v, start, visitedMark));
+        }
+        System.arraycopy(queue, lo, verts, lo, hi - lo);
+
+        // Components are grouped together until they are larger than a leaf. The groups are not connected to
+        // each other so the node has an empty separator
+        var children = new IGrowArray();
+        int groupStart = lo;
+        for (int i = 0; i < componentEnds.length; i++) {
+            int end = componentEnds.data[i];
+            boolean last = i + 1 == componentEnds.length;
+            if (!last && componentEnds.data[i + 1] - groupStart <= leafSize)
+                continue;
+            children.add(end - groupStart <= leafSize ? orderLeaf(groupStart, end) : dissect(groupStart, end));
+            groupStart = end;
+        }
+
+        return createNode(begin, children.data, children.length);
+    }
+
+    /**
+     * Splits a connected sub graph into two parts and a separator.
+     *
+     * @return Index of the node in the separator tree
+     */
+    private int dissect( int lo, int hi ) {
+        int begin = numOrdered;
+        int size = hi - lo;
+
+        markMembers(lo, hi);
+        int numLevels = pseudoPeripheralLevels(lo);
+        int L = selectSeparatorLevel(size, numLevels);
+        if (L < 0)
+            return orderLeaf(lo, hi);
+
+        // Part 1 is all the levels before L and the vertices in L not connected to L+1
+        // Part 2 is all the levels after L, and the separator gets written at the end
+        int idx1 = lo;
+        int idxS = hi;
+        int levelEnd = lo + levelStart.data[L + 1];
+        for (int i = lo; i < levelEnd; i++) {
+            int v = queue[i];
+            if (level[v] == L && isConnectedToLevel(v, L + 1))
+                verts[--idxS] = v;
+            else
+                verts[idx1++] = v;
+        }
+        int idx2 = idx1;
+        for (int i = levelEnd; i < hi; i++) {
+            verts[idx2++] = queue[i];
+        }
+
+        int child1 = dissectComponents(lo, idx1);
+        int child2 = dissectComponents(idx1, idx2);
+
+        int separator = numOrdered;
+        for (int i = idxS; i < hi; i++) {
+            perm[numOrdered++] = verts[i];
+        }
+        int node = tree.add(begin, separator, numOrdered);
+        tree.parent.data[child1] = node;
+        tree.parent.data[child2] = node;
+        return node;
+    }
+
+    /**
+     * Creates a node with an empty separator from its children
+     */
+    private int createNode( int begin, int[] children, int numChildren ) {
+        int node = tree.add(begin, numOrdered, numOrdered);
+        for (int i = 0; i < numChildren; i++) {
+            tree.parent.data[children[i]] = node;
+        }
+        return node;
+    }
+
+    /**
+     * Finds the level structure of a pseudo-peripheral vertex. Such a vertex has a large eccentricity and
+     * results in a long and narrow level structure. When finished the levels are in the queue.
+     *
+     * @return Number of levels
+     */
+    private int pseudoPeripheralLevels( int lo ) {
+        int root = verts[lo];
+        int numLevels = levelStructure(root, lo);
+
+        // Number of iterations is bounded since the eccentricity must increase each time
+        while (true) {
+            // Select the vertex in the last level with the smallest degree
+            int best = -1;
+            int bestDegree = Integer.MAX_VALUE;
+            for (int i = lo + levelStart.data[numLevels - 1]; i < lo + levelStart.data[numLevels]; i++) {
+                int v = queue[i];
+                int degree = memberDegree(v);
+                if (degree < bestDegree) {
+                    bestDegree = degree;
+                    best = v;
+                }
+            }
+
+            int candidateLevels = levelStructure(best, lo);
+            if (candidateLevels <= numLevels) {
+                // The queue needs to hold the level structure of the root
+                return levelStructure(root, lo);
+            }
+            root = best;
+            numLevels = candidateLevels;
+        }
+    }
+
+    /**
+     * Selects the level which will become the separator. The narrowest level which splits the graph into two
+     * parts that each contain at least 1/5 of the vertices is selected. If no level satisfies that requirement
+     * then the level containing the median vertex is used.
+     *
+     * @return The selected level or -1 if the graph can't be dissected
+     */
+    private int selectSeparatorLevel( int size, int numLevels ) {
+        // Both parts must contain at least one level
+        if (numLevels < 3)
+            return -1;
+
+        int minimum = size/5;
+        int best = -1;
+        int bestWidth = Integer.MAX_VALUE;
+        int median = -1;
+        for (int L = 1; L < numLevels - 1; L++) {
+            int before = levelStart.data[L];
+            int after = size - levelStart.data[L + 1];
+            int width = levelStart.data[L + 1] - before;
+            if (median < 0 && levelStart.data[L + 1] >= size/2)
+                median = L;
+            if (before < minimum || after < minimum)
+                continue;
+            if (width < bestWidth || (width == bestWidth && Math.abs(before - after) <
+                    Math.abs(levelStart.data[best] - size + levelStart.data[best + 1]))) {
+                bestWidth = width;
+                best = L;
+            }
+        }
+        if (best >= 0)
+            return best;
+        return median >= 0 ? median : numLevels - 2;
+    }
+
+    /**
+     * Computes the level structure rooted at the specified vertex
+     *
+     * @return Number of levels
+     */
+    private int levelStructure( int root, int lo ) {
+        levelStart.clear();
+        levelStart.add(0);
+        int size = breadthFirstSearch(root, lo, ++visitedMark);
+
+        int previous = 0;
+        for (int i = lo; i < lo + size; i++) {
+            int l = level[queue[i]];
+            if (l != previous) {
+                levelStart.add(i - lo);
+                previous = l;
+            }
+        }
+        levelStart.add(size);
+        return levelStart.length - 1;
+    }
+
+    /**
+     * Breadth first search through vertices in the current sub graph. Visited vertices are written to the queue
+     * starting at 'start' and their level is saved.
+     *
+     * @return Number of vertices found
+     */
+    private int breadthFirstSearch( int root, int start, int mark ) {
+        int memberId = member[root];
+        int head = start;
+        int tail = start;
+        queue[tail++] = root;
+        visited[root] = mark;
+        level[root] = 0;
+        while (head < tail) {
+            int v = queue[head++];
+            for (int p = Cp[v]; p < Cp[v + 1]; p++) {
+                int u = Ci[p];
+                if (member[u] != memberId || visited[u] == mark)
+                    continue;
+                visited[u] = mark;
+                level[u] = level[v] + 1;
+                queue[tail++] = u;
+            }
+        }
+        return tail - start;
+    }
+
+    private boolean isConnectedToLevel( int v, int L ) {
+        int memberId = member[v];
+        for (int p = Cp[v]; p < Cp[v + 1]; p++) {
+            int u = Ci[p];
+            if (member[u] == memberId && level[u] == L)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Number of neighbors which are in the same sub graph
+     */
+    private int memberDegree( int v ) {
+        int memberId = member[v];
+        int degree = 0;
+        for (int p = Cp[v]; p < Cp[v + 1]; p++) {
+            if (member[Ci[p]] == memberId)
+                degree++;
+        }
+        return degree;
+    }
+
+    /**
+     * Assigns a unique value to all the vertices in the sub graph
+     */
+    private void markMembers( int lo, int hi ) {
+        memberMark++;
+        for (int i = lo; i < hi; i++) {
+            member[verts[i]] = memberMark;
+        }
+    }
+
+    /**
+     * Orders the vertices using AMD on the induced sub graph
+     *
+     * @return Index of the node in the separator tree
+     */
+    private int orderLeaf( int lo, int hi ) {
+        int begin = numOrdered;
+        int size = hi - lo;
+        if (size <= 2) {
+            for (int i = lo; i < hi; i++) {
+                perm[numOrdered++] = verts[i];
+            }
+            return tree.add(begin, begin, numOrdered);
+        }
+
+        // Local index of each vertex is saved in level
+        markMembers(lo, hi);
+        int nz_length = 0;
+        for (int i = lo; i < hi; i++) {
+            int v = verts[i];
+            level[v] = i - lo;
+            nz_length += memberDegree(v);
+        }
+
+        // Only the structure matters to AMD
+        leaf.reshape(size, size, nz_length);
+        leaf.nz_length = nz_length;
+        int idx = 0;
+        for (int i = lo; i < hi; i++) {
+            int v = verts[i];
+            leaf.col_idx[i - lo] = idx;
+            for (int p = Cp[v]; p < Cp[v + 1]; p++) {
+                int u = Ci[p];
+                if (member[u] == memberMark)
+                    leaf.nz_rows[idx++] = level[u];
+            }
+        }
+        leaf.col_idx[size] = idx;
+
+        amd.process(leaf);
+        int[] local = Objects.requireNonNull(amd.getColumn()).data;
+        for (int i = 0; i < size; i++) {
+            perm[numOrdered++] = verts[lo + local[i]];
+        }
+        return tree.add(begin, begin, numOrdered);
+    }
+
+    /**
+     * Returns the separator tree from the most recently processed matrix.
+     */
+    public SeparatorTree getSeparatorTree() {
+        return tree;
+    }
+
+    public int getLeafSize() {
+        return leafSize;
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.decomposition.chol;
+
+import org.ejml.EjmlUnitTests;
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.data.DMatrixSparseTriplet;
+import org.ejml.interfaces.decomposition.CholeskySparseDecomposition_F64;
+import org.ejml.ops.DConvertMatrixStruct;
+import org.ejml.sparse.FillReducing;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+import org.ejml.sparse.csc.RandomMatrices_DSCC;
+import org.ejml.sparse.csc.factory.FillReductionFactory_DSCC;
+import org.ejml.sparse.csc.misc.ApplyFillReductionPermutation_DSCC;
+import org.junit.jupiter.api.Test;
+
+import static org.ejml.sparse.csc.misc.TestApproximateMinimumDegree_DSCC.gridLaplacian;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestCholeskySupernodal_DSCC extends GenericCholeskyTests_DSCC {
+
+    public TestCholeskySupernodal_DSCC() {
+        canR = false;
+    }
+
+    @Override
+    public CholeskySparseDecomposition_F64<DMatrixSparseCSC> create( boolean lower ) {
+        return new CholeskySupernodal_DSCC();
+    }
+
+    /**
+     * Compares against the up looking algorithm on a matrix which has large supernodes
+     */
+    @Test void compareToUpLooking_grid() {
+        var apply = new ApplyFillReductionPermutation_DSCC(FillReductionFactory_DSCC.create(FillReducing.AMD), true);
+        DMatrixSparseCSC A = apply.apply(gridLaplacian(30)).copy();
+
+        var expected = new CholeskyUpLooking_DSCC();
+        assertTrue(expected.decompose(A));
+
+        // Without relaxed supernodes the structure should be identical
+        var found = new CholeskySupernodal_DSCC(false);
+        assertTrue(found.decompose(A));
+        assertEquals(expected.getL().nz_length, found.getL().nz_length);
+        checkSameL(expected.getL(), found.getL());
+
+        // Relaxed will have explicit zeros and fewer supernodes
+        var relaxed = new CholeskySupernodal_DSCC(true);
+        assertTrue(relaxed.decompose(A));
+        assertTrue(relaxed.getL().nz_length > expected.getL().nz_length);
+        assertTrue(relaxed.getNumberOfSupernodes() < found.getNumberOfSupernodes());
+        assertTrue(relaxed.getNumberOfSupernodes()*2 < A.numCols);
+        checkSameL(expected.getL(), relaxed.getL());
+    }
+
+    /**
+     * Supernodes which are wider than the maximum width are split
+     */
+    @Test void splitWideSupernodes() {
+        DMatrixSparseCSC A = RandomMatrices_DSCC.symmetricPosDef(100, 1.0, rand);
+
+        var found = new CholeskySupernodal_DSCC();
+        found.maxWidth = 16;
+        assertTrue(found.decompose(A));
+        assertTrue(found.getNumberOfSupernodes() >= 100/16);
+
+        var expected = new CholeskyUpLooking_DSCC();
+        assertTrue(expected.decompose(A));
+        checkSameL(expected.getL(), found.getL());
+    }
+
+    @Test void multTransB() {
+        for (int m : new int[]{1, 3, 4, 9}) {
+            for (int n : new int[]{m, m + 1, m + 6}) {
+                int width = 5;
+                var A = new double[2 + n*width];
+                for (int i = 0; i < A.length; i++) {
+                    A[i] = rand.nextDouble();
+                }
+                var C = new double[m*n];
+                CholeskySupernodal_DSCC.multTransB(A, 2, m, n, width, C);
+
+                for (int i = 0; i < m; i++) {
+                    for (int j = i; j < n; j++) {
+                        double expected = 0;
+                        for (int k = 0; k < width; k++) {
+                            expected += A[2 + i*width + k]*A[2 + j*width + k];
+                        }
+                        assertEquals(expected, C[i*n + j], UtilEjml.TEST_F64);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Only the upper triangular portion of the input should be used, like with up looking
+     */
+    @Test void compareToUpLooking_upperOnly() {
+        for (int N : new int[]{1, 5, 40}) {
+            DMatrixSparseCSC A = RandomMatrices_DSCC.symmetricPosDef(N, 0.3, rand);
+            DMatrixSparseCSC U = upperTriangle(A);
+
+            var expected = new CholeskyUpLooking_DSCC();
+            var found = new CholeskySupernodal_DSCC();
+            assertTrue(expected.decompose(A));
+            assertTrue(found.decompose(U));
+            checkSameL(expected.getL(), found.getL());
+        }
+    }
+
+    /**
+     * Decompose multiple matrices with a locked structure
+     */
+    @Test void lockedStructure() {
+        DMatrixSparseCSC A = gridLaplacian(10);
+        var found = new CholeskySupernodal_DSCC();
+        found.setStructureLocked(true);
+        assertTrue(found.decompose(A));
+
+        CommonOps_DSCC.scale(2.0, A, A);
+        assertTrue(found.decompose(A));
+
+        var expected = new CholeskyUpLooking_DSCC();
+        assertTrue(expected.decompose(A));
+        checkSameL(expected.getL(), found.getL());
+    }
+
+    @Test void notPositiveDefinite() {
+        DMatrixSparseCSC A = gridLaplacian(10);
+        CommonOps_DSCC.scale(-1.0, A, A);
+        assertFalse(new CholeskySupernodal_DSCC().decompose(A));
+    }
+
+    private static DMatrixSparseCSC upperTriangle( DMatrixSparseCSC A ) {
+        var T = new DMatrixSparseTriplet(A.numRows, A.numCols, A.nz_length);
+        for (int col = 0; col < A.numCols; col++) {
+            for (int p = A.col_idx[col]; p < A.col_idx[col + 1]; p++) {
+                if (A.nz_rows[p] <= col)
+                    T.addItem(A.nz_rows[p], col, A.nz_values[p]);
+            }
+        }
+        return DConvertMatrixStruct.convert(T, (DMatrixSparseCSC)null);
+    }
+
+    private static void checkSameL( DMatrixSparseCSC expected, DMatrixSparseCSC found ) {
+        EjmlUnitTests.assertEquals(expected, found, UtilEjml.TEST_F64);
+    }
+}
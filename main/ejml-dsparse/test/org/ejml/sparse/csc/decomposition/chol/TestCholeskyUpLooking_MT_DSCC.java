@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.sparse.csc.decomposition.chol;
+
+import org.ejml.EjmlUnitTests;
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.interfaces.decomposition.CholeskySparseDecomposition_F64;
+import org.ejml.sparse.FillReducing;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+import org.ejml.sparse.csc.RandomMatrices_DSCC;
+import org.ejml.sparse.csc.factory.FillReductionFactory_DSCC;
+import org.ejml.sparse.csc.misc.ApplyFillReductionPermutation_DSCC;
+import org.junit.jupiter.api.Test;
+
+import static org.ejml.sparse.csc.misc.TestApproximateMinimumDegree_DSCC.gridLaplacian;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestCholeskyUpLooking_MT_DSCC extends GenericCholeskyTests_DSCC {
+
+    public TestCholeskyUpLooking_MT_DSCC() {
+        canR = false;
+    }
+
+    @Override
+    public CholeskySparseDecomposition_F64<DMatrixSparseCSC> create( boolean lower ) {
+        var alg = new CholeskyUpLooking_MT_DSCC();
+        // Make sure small matrices are split into tasks too
+        alg.minimumTaskWork = 10;
+        return alg;
+    }
+
+    /**
+     * Compares against the single thread algorithm with orderings that produce very different elimination trees
+     */
+    @Test void compareToSingleThread() {
+        for (FillReducing ordering : new FillReducing[]{FillReducing.NONE, FillReducing.AMD, FillReducing.NESTED_DISSECTION}) {
+            var apply = new ApplyFillReductionPermutation_DSCC(FillReductionFactory_DSCC.create(ordering), true);
+            DMatrixSparseCSC A = apply.apply(gridLaplacian(30)).copy();
+
+            var expected = new CholeskyUpLooking_DSCC();
+            assertTrue(expected.decompose(A));
+
+            for (int minimumWork : new int[]{1, 500, 100_000}) {
+                var found = new CholeskyUpLooking_MT_DSCC();
+                found.minimumTaskWork = minimumWork;
+                assertTrue(found.decompose(A));
+                EjmlUnitTests.assertEquals(expected.getL(), found.getL(), UtilEjml.TEST_F64);
+            }
+        }
+    }
+
+    /**
+     * Decompose multiple matrices and make sure the workspace is correctly reset each time
+     */
+    @Test void multipleCalls() {
+        var found = new CholeskyUpLooking_MT_DSCC();
+        found.minimumTaskWork = 1;
+        var expected = new CholeskyUpLooking_DSCC();
+
+        for (int trial = 0; trial < 5; trial++) {
+            DMatrixSparseCSC A = RandomMatrices_DSCC.symmetricPosDef(20 + trial*15, 0.1, rand);
+            assertTrue(expected.decompose(A));
+            assertTrue(found.decompose(A));
+            EjmlUnitTests.assertEquals(expected.getL(), found.getL(), UtilEjml.TEST_F64);
+        }
+    }
+
+    /**
+     * After a failure the next matrix should still be decomposed correctly
+     */
+    @Test void notPositiveDefinite() {
+        var found = new CholeskyUpLooking_MT_DSCC();
+        found.minimumTaskWork = 1;
+
+        DMatrixSparseCSC A = gridLaplacian(10);
+        CommonOps_DSCC.scale(-1.0, A, A);
+        assertFalse(found.decompose(A));
+
+        CommonOps_DSCC.scale(-1.0, A, A);
+        assertTrue(found.decompose(A));
+        var expected = new CholeskyUpLooking_DSCC();
+        assertTrue(expected.decompose(A));
+        EjmlUnitTests.assertEquals(expected.getL(), found.getL(), UtilEjml.TEST_F64);
+    }
+}
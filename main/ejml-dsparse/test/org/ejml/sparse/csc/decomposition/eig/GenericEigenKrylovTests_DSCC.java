@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.sparse.csc.decomposition.eig;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.UtilEjml;
+import org.ejml.data.Complex_F64;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.dense.row.factory.DecompositionFactory_DDRM;
+import org.ejml.interfaces.decomposition.EigenDecomposition_F64;
+import org.ejml.ops.DConvertMatrixStruct;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+import org.ejml.sparse.csc.decomposition.eig.EigenKrylov_DSCC.Target;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares Krylov eigensolvers against the dense eigen decomposition
+ *
+ * @author Peter Abeles
+ */
+public abstract class GenericEigenKrylovTests_DSCC extends EjmlStandardJUnit {
+    protected double tol = 10*UtilEjml.TEST_F64;
+
+    public abstract EigenKrylov_DSCC create( int numEigen, Target target );
+
+    /**
+     * Creates a matrix the algorithm can process
+     */
+    public abstract DMatrixSparseCSC createMatrix( int N );
+
+    /**
+     * All targets except for smallest magnitude, which requires shift-invert to converge in a reasonable time
+     */
+    @Test void targets() {
+        DMatrixSparseCSC A = createMatrix(100);
+        for (Target target : new Target[]{Target.LARGEST_MAGNITUDE, Target.LARGEST_REAL, Target.SMALLEST_REAL}) {
+            EigenKrylov_DSCC alg = create(4, target);
+            assertTrue(alg.decompose(A));
+            checkEigenvalues(A, alg, expected(A, c -> score(target, c)));
+            checkEigenvectors(A, alg);
+        }
+    }
+
+    /**
+     * The eigenvalues closest to sigma should be found
+     */
+    @Test void shiftInvert() {
+        DMatrixSparseCSC A = createMatrix(100);
+        for (double sigma : new double[]{0.0, 0.35}) {
+            EigenKrylov_DSCC alg = create(3, Target.LARGEST_REAL);
+            alg.setShiftInvert(sigma);
+            assertTrue(alg.decompose(A));
+            assertTrue(alg.getRestarts() < 20);
+            checkEigenvalues(A, alg, expected(A, c -> new Complex_F64(c.real - sigma, c.imaginary).getMagnitude()));
+            checkEigenvectors(A, alg);
+        }
+    }
+
+    /**
+     * The subspace is the entire matrix, so it should be solved in a single pass
+     */
+    @Test void smallMatrix() {
+        DMatrixSparseCSC A = createMatrix(8);
+        EigenKrylov_DSCC alg = create(3, Target.LARGEST_MAGNITUDE);
+        alg.setSubspaceSize(20);
+        assertTrue(alg.decompose(A));
+        assertEquals(0, alg.getRestarts());
+        checkEigenvalues(A, alg, expected(A, c -> score(Target.LARGEST_MAGNITUDE, c)));
+        checkEigenvectors(A, alg);
+    }
+
+    /**
+     * Hit the restart limit and see if it reports a failure
+     */
+    @Test void maxRestarts() {
+        DMatrixSparseCSC A = createMatrix(100);
+        EigenKrylov_DSCC alg = create(4, Target.LARGEST_MAGNITUDE);
+        alg.setMaxRestarts(1);
+        alg.setSubspaceSize(10);
+        alg.setTolerance(1e-14);
+        assertFalse(alg.decompose(A));
+        assertEquals(1, alg.getRestarts());
+        assertEquals(4, alg.getNumberOfEigenvalues());
+    }
+
+    /**
+     * Make sure it can be called multiple times with different matrices
+     */
+    @Test void multipleCalls() {
+        EigenKrylov_DSCC alg = create(2, Target.LARGEST_REAL);
+        for (int N : new int[]{50, 30, 60}) {
+            DMatrixSparseCSC A = createMatrix(N);
+            assertTrue(alg.decompose(A));
+            checkEigenvalues(A, alg, expected(A, c -> score(Target.LARGEST_REAL, c)));
+        }
+    }
+
+    static double score( Target target, Complex_F64 c ) {
+        switch (target) {
+            case LARGEST_MAGNITUDE: return -c.getMagnitude();
+            case SMALLEST_MAGNITUDE: return c.getMagnitude();
+            case LARGEST_REAL: return -c.real;
+            case SMALLEST_REAL: return c.real;
+            default: throw new IllegalArgumentException("Unknown");
+        }
+    }
+
+    interface Score {
+        double score( Complex_F64 c );
+    }
+
+    /**
+     * Computes all the eigenvalues with a dense decomposition and sorts them with the most wanted first
+     */
+    static List<Complex_F64> expected( DMatrixSparseCSC A, Score score ) {
+        DMatrixRMaj D = DConvertMatrixStruct.convert(A, (DMatrixRMaj)null);
+        EigenDecomposition_F64<DMatrixRMaj> eig = DecompositionFactory_DDRM.eig(false);
+        assertTrue(eig.decompose(D));
+        List<Complex_F64> values = new ArrayList<>();
+        for (int i = 0; i < eig.getNumberOfEigenvalues(); i++) {
+            values.add(eig.getEigenvalue(i));
+        }
+        values.sort(( a, b ) -> Double.compare(score.score(a), score.score(b)));
+        return values;
+    }
+
+    /**
+     * Each found eigenvalue must match a different wanted eigenvalue. One extra is allowed in case the last
+     * wanted eigenvalue is part of a complex conjugate pair.
+     */
+    void checkEigenvalues( DMatrixSparseCSC A, EigenKrylov_DSCC alg, List<Complex_F64> expected ) {
+        double scale = Math.max(1.0, CommonOps_DSCC.elementMaxAbs(A));
+        int numEigen = alg.getNumberOfEigenvalues();
+        List<Complex_F64> candidates = new ArrayList<>(expected.subList(0, Math.min(numEigen + 1, expected.size())));
+        for (int i = 0; i < numEigen; i++) {
+            Complex_F64 found = alg.getEigenvalue(i);
+            int best = -1;
+            double bestError = Double.MAX_VALUE;
+            for (int j = 0; j < candidates.size(); j++) {
+                double error = found.minus(candidates.get(j)).getMagnitude();
+                if (error < bestError) {
+                    bestError = error;
+                    best = j;
+                }
+            }
+            assertEquals(0.0, bestError, tol*scale, "eigenvalue " + i);
+            candidates.remove(best);
+        }
+    }
+
+    /**
+     * Checks A*x = lambda*x for real eigenvalues
+     */
+    void checkEigenvectors( DMatrixSparseCSC A, EigenKrylov_DSCC alg ) {
+        for (int i = 0; i < alg.getNumberOfEigenvalues(); i++) {
+            Complex_F64 lambda = alg.getEigenvalue(i);
+            DMatrixRMaj x = alg.getEigenVector(i);
+            if (!lambda.isReal()) {
+                assertNull(x);
+                continue;
+            }
+            assertNotNull(x);
+            DMatrixRMaj Ax = new DMatrixRMaj(A.numRows, 1);
+            CommonOps_DSCC.mult(A, x, Ax);
+            for (int j = 0; j < A.numRows; j++) {
+                assertEquals(lambda.real*x.data[j], Ax.data[j], tol*Math.max(1.0, Math.abs(lambda.real)));
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.sparse.csc.decomposition.eig;
+
+import org.ejml.UtilEjml;
+import org.ejml.data.Complex_F64;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.sparse.csc.RandomMatrices_DSCC;
+import org.ejml.sparse.csc.decomposition.eig.EigenKrylov_DSCC.Target;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestEigenArnoldi_DSCC extends GenericEigenKrylovTests_DSCC {
+    @Override public EigenKrylov_DSCC create( int numEigen, Target target ) {
+        return new EigenArnoldi_DSCC(numEigen, target);
+    }
+
+    @Override public DMatrixSparseCSC createMatrix( int N ) {
+        return RandomMatrices_DSCC.rectangle(N, N, Math.min(N*5, N*N/2), -1, 1, rand);
+    }
+
+    /**
+     * Complex eigenvalues should come in conjugate pairs with the positive imaginary first
+     */
+    @Test void complexConjugatePairs() {
+        DMatrixSparseCSC A = createMatrix(100);
+        var alg = new EigenArnoldi_DSCC(8, Target.LARGEST_MAGNITUDE);
+        assertTrue(alg.decompose(A));
+
+        int numComplex = 0;
+        for (int i = 0; i < 8; i++) {
+            Complex_F64 a = alg.getEigenvalue(i);
+            if (a.isReal())
+                continue;
+            numComplex++;
+            if (a.imaginary < 0)
+                continue;
+            if (i + 1 == 8)
+                break;
+            Complex_F64 b = alg.getEigenvalue(i + 1);
+            assertEquals(a.real, b.real, UtilEjml.TEST_F64);
+            assertEquals(a.imaginary, -b.imaginary, UtilEjml.TEST_F64);
+            assertNull(alg.getEigenVector(i));
+            assertNull(alg.getEigenVector(i + 1));
+        }
+        // make sure the test did something
+        assertTrue(numComplex > 0);
+    }
+}
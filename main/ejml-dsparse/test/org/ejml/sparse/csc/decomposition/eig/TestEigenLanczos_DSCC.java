@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.sparse.csc.decomposition.eig;
+
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.sparse.FillReducing;
+import org.ejml.sparse.csc.RandomMatrices_DSCC;
+import org.ejml.sparse.csc.decomposition.eig.EigenKrylov_DSCC.Target;
+import org.ejml.sparse.csc.factory.LinearSolverFactory_DSCC;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestEigenLanczos_DSCC extends GenericEigenKrylovTests_DSCC {
+    @Override public EigenKrylov_DSCC create( int numEigen, Target target ) {
+        return new EigenLanczos_DSCC(numEigen, target);
+    }
+
+    @Override public DMatrixSparseCSC createMatrix( int N ) {
+        return RandomMatrices_DSCC.symmetric(N, Math.min(N*5, N*N/4), -1, 1, rand);
+    }
+
+    /**
+     * Smallest eigenvalues of a Laplacian are found using shift-invert with a Cholesky factorization. This is
+     * a common task in spectral methods.
+     */
+    @Test void laplacian_smallest() {
+        int width = 30;
+        DMatrixSparseCSC A = laplacian(width);
+
+        var alg = new EigenLanczos_DSCC(4, Target.SMALLEST_MAGNITUDE);
+        alg.setShiftInvert(0.0, LinearSolverFactory_DSCC.cholesky(FillReducing.NONE));
+        assertTrue(alg.decompose(A));
+
+        // Eigenvalues of the Dirichlet Laplacian are known analytically
+        List<Double> expected = new ArrayList<>();
+        for (int i = 1; i <= width; i++) {
+            for (int j = 1; j <= width; j++) {
+                double a = 2*Math.sin(i*Math.PI/(2*(width + 1)));
+                double b = 2*Math.sin(j*Math.PI/(2*(width + 1)));
+                expected.add(a*a + b*b);
+            }
+        }
+        expected.sort(Double::compare);
+        for (int i = 0; i < 4; i++) {
+            assertEquals(expected.get(i), alg.getEigenvalue(i).real, UtilEjml.TEST_F64);
+        }
+        checkEigenvectors(A, alg);
+    }
+
+    /**
+     * 2D 5-point Laplacian on a square grid
+     */
+    static DMatrixSparseCSC laplacian( int width ) {
+        int N = width*width;
+        var A = new DMatrixSparseCSC(N, N, 5*N);
+        for (int y = 0; y < width; y++) {
+            for (int x = 0; x < width; x++) {
+                int i = y*width + x;
+                A.set(i, i, 4.0);
+                if (x > 0) A.set(i, i - 1, -1.0);
+                if (x + 1 < width) A.set(i, i + 1, -1.0);
+                if (y > 0) A.set(i, i - width, -1.0);
+                if (y + 1 < width) A.set(i, i + width, -1.0);
+            }
+        }
+        return A;
+    }
+}
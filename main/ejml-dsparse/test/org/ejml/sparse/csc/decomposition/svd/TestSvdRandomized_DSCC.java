@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.sparse.csc.decomposition.svd;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.dense.row.CommonOps_DDRM;
+import org.ejml.dense.row.MatrixFeatures_DDRM;
+import org.ejml.dense.row.SingularOps_DDRM;
+import org.ejml.dense.row.decomposition.svd.SvdRandomized_DDRM;
+import org.ejml.ops.DConvertMatrixStruct;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+import org.ejml.sparse.csc.RandomMatrices_DSCC;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestSvdRandomized_DSCC extends EjmlStandardJUnit {
+
+    protected SvdRandomized_DSCC createSvd( int rank, int oversampling, int powerIterations ) {
+        return new SvdRandomized_DSCC(rank, oversampling, powerIterations, true, true);
+    }
+
+    /**
+     * Only a few columns are not zero, so the matrix is low rank and the largest singular values can be found
+     * exactly. Compare against the dense SVD.
+     */
+    @Test void lowRank_compareToDense() {
+        for (boolean tall : new boolean[]{true, false}) {
+            DMatrixSparseCSC A = lowRank(120, 80, 8);
+            if (!tall)
+                A = CommonOps_DSCC.transpose(A, null, null);
+
+            SvdRandomized_DSCC alg = createSvd(3, 5, 1);
+            assertTrue(alg.decompose(A));
+            assertEquals(3, alg.numberOfSingularValues());
+
+            // singular values are returned with the largest first
+            DMatrixRMaj dense = DConvertMatrixStruct.convert(A, (DMatrixRMaj)null);
+            double[] expected = SingularOps_DDRM.singularValues(dense);
+            for (int i = 0; i < 3; i++) {
+                assertEquals(expected[i], alg.getSingularValues()[i], UtilEjml.TEST_F64);
+            }
+
+            // Check A*v = s*u
+            DMatrixRMaj U = alg.getU(null, false);
+            DMatrixRMaj V = alg.getV(null, false);
+            assertTrue(MatrixFeatures_DDRM.isOrthogonal(U, UtilEjml.TEST_F64));
+            assertTrue(MatrixFeatures_DDRM.isOrthogonal(V, UtilEjml.TEST_F64));
+            DMatrixRMaj Av = CommonOps_DDRM.mult(dense, V, null);
+            for (int i = 0; i < 3; i++) {
+                for (int row = 0; row < U.numRows; row++) {
+                    assertEquals(alg.getSingularValues()[i]*U.get(row, i), Av.get(row, i), UtilEjml.TEST_F64);
+                }
+            }
+        }
+    }
+
+    @Test void notComputed() {
+        DMatrixSparseCSC A = lowRank(30, 20, 5);
+        var alg = new SvdRandomized_DSCC(3, 2, 1, false, false);
+        assertTrue(alg.decompose(A));
+        assertEquals(3, alg.getSingularValues().length);
+        assertThrows(IllegalArgumentException.class, () -> alg.getU(null, false));
+        assertThrows(IllegalArgumentException.class, () -> alg.getV(null, false));
+    }
+
+    /**
+     * Sparse matrix where only 'rank' randomly selected columns have non-zero elements
+     */
+    DMatrixSparseCSC lowRank( int rows, int cols, int rank ) {
+        DMatrixSparseCSC A = new DMatrixSparseCSC(rows, cols, rows*rank/2);
+        for (int i = 0; i < rank; i++) {
+            int col = rand.nextInt(cols);
+            for (int row = 0; row < rows; row++) {
+                if (rand.nextDouble() < 0.5)
+                    A.set(row, col, (double)rand.nextGaussian());
+            }
+        }
+        return A;
+    }
+
+    /**
+     * Compare the results to the dense implementation using the same random seed
+     */
+    @Test void compareToDenseImplementation() {
+        DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(60, 40, 300, rand);
+        DMatrixRMaj dense = DConvertMatrixStruct.convert(A, (DMatrixRMaj)null);
+
+        SvdRandomized_DSCC alg = createSvd(4, 6, 2);
+        var expected = new SvdRandomized_DDRM(4, 6, 2, true, true);
+        alg.setRandom(new Random(2));
+        expected.setRandom(new Random(2));
+        assertTrue(alg.decompose(A));
+        assertTrue(expected.decompose(dense));
+
+        assertArrayEquals(expected.getSingularValues(), alg.getSingularValues(), UtilEjml.TEST_F64);
+        assertTrue(MatrixFeatures_DDRM.isIdentical(expected.getU(null, false), alg.getU(null, false), UtilEjml.TEST_F64));
+        assertTrue(MatrixFeatures_DDRM.isIdentical(expected.getV(null, false), alg.getV(null, false), UtilEjml.TEST_F64));
+    }
+}
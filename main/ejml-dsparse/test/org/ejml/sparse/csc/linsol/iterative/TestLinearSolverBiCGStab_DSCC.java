@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.sparse.csc.linsol.iterative;
+
+import org.ejml.EjmlUnitTests;
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.ejml.interfaces.linsol.LinearSolverSparse;
+import org.ejml.sparse.FillReducing;
+import org.ejml.sparse.csc.linsol.GenericLinearSolverSparseTests_DSCC;
+import org.junit.jupiter.api.Test;
+
+import static org.ejml.sparse.csc.linsol.iterative.TestLinearSolverConjugateGradient_DSCC.checkSolution;
+import static org.ejml.sparse.csc.linsol.iterative.TestLinearSolverGmres_DSCC.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestLinearSolverBiCGStab_DSCC extends GenericLinearSolverSparseTests_DSCC {
+
+    public TestLinearSolverBiCGStab_DSCC() {
+        canHandleWide = false;
+        canHandleTall = false;
+        canDecomposeZeros = true;
+        permutationTests = new FillReducing[]{FillReducing.NONE};
+    }
+
+    @Override
+    public LinearSolverSparse<DMatrixSparseCSC, DMatrixRMaj> createSolver( FillReducing permutation ) {
+        return new LinearSolverBiCGStab_DSCC(200, 1e-13, null, null);
+    }
+
+    @Override
+    public DMatrixSparseCSC createA( int N ) {
+        return createNonSymmetric(N, rand);
+    }
+
+    @Test void convectionDiffusion() {
+        DMatrixSparseCSC A = TestLinearSolverGmres_DSCC.convectionDiffusion(15, 1.0);
+        DMatrixRMaj B = RandomMatrices_DDRM.rectangle(A.numRows, 3, rand);
+        DMatrixRMaj X = new DMatrixRMaj(1, 1);
+
+        var alg = new LinearSolverBiCGStab_DSCC(0, 1e-10, null, null);
+        assertTrue(alg.setA(A));
+        alg.solve(B, X);
+        assertTrue(alg.isConverged());
+        checkSolution(A, B, X, 1e-8);
+
+        int total = 0;
+        for (int col = 0; col < 3; col++) {
+            total += alg.getIterations().get(col) + 1;
+        }
+        assertEquals(total, alg.getResidualHistory().length);
+    }
+
+    @Test void preconditioners() {
+        checkPreconditioners(( left, right ) -> new LinearSolverBiCGStab_DSCC(2000, 1e-10, left, right), rand);
+    }
+
+    @Test void concurrent() {
+        DMatrixSparseCSC A = TestLinearSolverGmres_DSCC.convectionDiffusion(12, 0.5);
+        DMatrixRMaj B = RandomMatrices_DDRM.rectangle(A.numRows, 2, rand);
+        DMatrixRMaj expected = new DMatrixRMaj(1, 1);
+        DMatrixRMaj found = new DMatrixRMaj(1, 1);
+
+        var single = new LinearSolverBiCGStab_DSCC(0, 1e-10, null, null);
+        var multi = new LinearSolverBiCGStab_DSCC(0, 1e-10, null, null);
+        multi.setConcurrent(true);
+
+        assertTrue(single.setA(A));
+        single.solve(B, expected);
+        assertTrue(multi.setA(A));
+        multi.solve(B, found);
+
+        EjmlUnitTests.assertEquals(expected, found, UtilEjml.TEST_F64);
+    }
+}
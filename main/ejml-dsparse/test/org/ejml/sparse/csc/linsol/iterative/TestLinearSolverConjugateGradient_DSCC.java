@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.sparse.csc.linsol.iterative;
+
+import org.ejml.EjmlUnitTests;
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.dense.row.CommonOps_DDRM;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.ejml.interfaces.linsol.LinearSolverSparse;
+import org.ejml.sparse.FillReducing;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+import org.ejml.sparse.csc.RandomMatrices_DSCC;
+import org.ejml.sparse.csc.linsol.GenericLinearSolverSparseTests_DSCC;
+import org.junit.jupiter.api.Test;
+
+import static org.ejml.sparse.csc.misc.TestApproximateMinimumDegree_DSCC.gridLaplacian;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestLinearSolverConjugateGradient_DSCC extends GenericLinearSolverSparseTests_DSCC {
+
+    public TestLinearSolverConjugateGradient_DSCC() {
+        canHandleWide = false;
+        canHandleTall = false;
+        // There's nothing to decompose without a preconditioner
+        canDecomposeZeros = true;
+        // The ordering has no effect on an iterative solver
+        permutationTests = new FillReducing[]{FillReducing.NONE};
+    }
+
+    @Override
+    public LinearSolverSparse<DMatrixSparseCSC, DMatrixRMaj> createSolver( FillReducing permutation ) {
+        return new LinearSolverConjugateGradient_DSCC(200, 1e-13, null);
+    }
+
+    @Override
+    public DMatrixSparseCSC createA( int N ) {
+        return RandomMatrices_DSCC.symmetricPosDef(N, 0.25, rand);
+    }
+
+    /**
+     * Checks the number of iterations and the residual history for each column
+     */
+    @Test void iterationsAndHistory() {
+        DMatrixSparseCSC A = gridLaplacian(10);
+        DMatrixRMaj B = RandomMatrices_DDRM.rectangle(A.numRows, 3, rand);
+        DMatrixRMaj X = new DMatrixRMaj(1, 1);
+
+        var alg = new LinearSolverConjugateGradient_DSCC(0, 1e-10, null);
+        assertTrue(alg.setA(A));
+        alg.solve(B, X);
+        assertTrue(alg.isConverged());
+
+        assertEquals(3, alg.getIterations().length);
+        int offset = 0;
+        for (int col = 0; col < 3; col++) {
+            int iterations = alg.getIterations().get(col);
+            assertTrue(iterations > 0 && iterations <= A.numRows);
+            // initial estimate is zero, so the residual is b
+            assertEquals(1.0, alg.getResidualHistory().get(offset), UtilEjml.TEST_F64);
+            offset += iterations;
+            assertTrue(alg.getResidualHistory().get(offset) <= 1e-10);
+            assertTrue(alg.getResidualHistory().get(offset - 1) > 1e-10);
+            offset += 1;
+        }
+        assertEquals(offset, alg.getResidualHistory().length);
+
+        checkSolution(A, B, X, 1e-8);
+    }
+
+    /**
+     * If it doesn't converge then it should say so
+     */
+    @Test void failToConverge() {
+        DMatrixSparseCSC A = gridLaplacian(10);
+        DMatrixRMaj B = RandomMatrices_DDRM.rectangle(A.numRows, 2, rand);
+
+        var alg = new LinearSolverConjugateGradient_DSCC(3, 1e-10, null);
+        assertTrue(alg.setA(A));
+        alg.solve(B, new DMatrixRMaj(1, 1));
+        assertFalse(alg.isConverged());
+        assertEquals(3, alg.getIterations().get(0));
+        assertEquals(3, alg.getIterations().get(1));
+    }
+
+    /**
+     * A good initial estimate should reduce the number of iterations
+     */
+    @Test void initialGuess() {
+        DMatrixSparseCSC A = gridLaplacian(10);
+        DMatrixRMaj B = RandomMatrices_DDRM.rectangle(A.numRows, 1, rand);
+        DMatrixRMaj X = new DMatrixRMaj(A.numRows, 1);
+
+        var alg = new LinearSolverConjugateGradient_DSCC(0, 1e-10, null);
+        assertTrue(alg.setA(A));
+        alg.solve(B, X);
+        int iterationsZero = alg.getIterations().get(0);
+
+        // start from the solution
+        alg.setUseInitialGuess(true);
+        DMatrixRMaj X_cpy = X.copy();
+        alg.solve(B, X);
+        assertEquals(0, alg.getIterations().get(0));
+        EjmlUnitTests.assertEquals(X_cpy, X, UtilEjml.TEST_F64);
+
+        // start close to the solution
+        for (int i = 0; i < X.getNumElements(); i++) {
+            X.data[i] += (double)(1e-6*rand.nextGaussian());
+        }
+        alg.solve(B, X);
+        assertTrue(alg.getIterations().get(0) < iterationsZero);
+        checkSolution(A, B, X, 1e-8);
+
+        // X must have the correct shape
+        assertThrows(IllegalArgumentException.class, () -> alg.solve(B, new DMatrixRMaj(1, 1)));
+    }
+
+    /**
+     * A badly scaled matrix should converge much faster with a Jacobi preconditioner
+     */
+    @Test void preconditioner() {
+        DMatrixSparseCSC A = gridLaplacian(10);
+        // D*A*D, where D is a diagonal matrix with a large range of values, is still SPD
+        double[] d = new double[A.numCols];
+        for (int i = 0; i < d.length; i++) {
+            d[i] = Math.pow(10, 3*rand.nextDouble());
+        }
+        DMatrixSparseCSC D = CommonOps_DSCC.diag(d);
+        A = CommonOps_DSCC.mult(D, CommonOps_DSCC.mult(A, D, null), null);
+        DMatrixRMaj B = RandomMatrices_DDRM.rectangle(A.numRows, 1, rand);
+
+        var none = new LinearSolverConjugateGradient_DSCC(1000, 1e-10, null);
+        var jacobi = new LinearSolverConjugateGradient_DSCC(1000, 1e-10, new PreconditionerJacobi_DSCC());
+        DMatrixRMaj X = new DMatrixRMaj(1, 1);
+
+        assertTrue(none.setA(A));
+        none.solve(B, X);
+        assertTrue(jacobi.setA(A));
+        jacobi.solve(B, X);
+        assertTrue(jacobi.isConverged());
+        checkSolution(A, B, X, 1e-8);
+
+        assertTrue(jacobi.getIterations().get(0)*2 < none.getIterations().get(0));
+    }
+
+    /**
+     * Results should be the same with concurrent multiplication
+     */
+    @Test void concurrent() {
+        DMatrixSparseCSC A = gridLaplacian(12);
+        DMatrixRMaj B = RandomMatrices_DDRM.rectangle(A.numRows, 2, rand);
+        DMatrixRMaj expected = new DMatrixRMaj(1, 1);
+        DMatrixRMaj found = new DMatrixRMaj(1, 1);
+
+        var single = new LinearSolverConjugateGradient_DSCC(0, 1e-10, null);
+        var multi = new LinearSolverConjugateGradient_DSCC(0, 1e-10, null);
+        multi.setConcurrent(true);
+
+        assertTrue(single.setA(A));
+        single.solve(B, expected);
+        assertTrue(multi.setA(A));
+        multi.solve(B, found);
+
+        EjmlUnitTests.assertEquals(expected, found, UtilEjml.TEST_F64);
+        assertEquals(single.getIterations().get(0), multi.getIterations().get(0));
+    }
+
+    /**
+     * The solution to b = 0 is x = 0 and no iterations are needed
+     */
+    @Test void zeroB() {
+        DMatrixSparseCSC A = gridLaplacian(5);
+        DMatrixRMaj X = RandomMatrices_DDRM.rectangle(A.numRows, 1, rand);
+
+        var alg = new LinearSolverConjugateGradient_DSCC();
+        assertTrue(alg.setA(A));
+        alg.solve(new DMatrixRMaj(A.numRows, 1), X);
+        assertTrue(alg.isConverged());
+        assertEquals(0, alg.getIterations().get(0));
+        assertEquals(0.0, CommonOps_DDRM.elementMaxAbs(X));
+    }
+
+    /**
+     * A matrix which is not positive definite should fail
+     */
+    @Test void notPositiveDefinite() {
+        DMatrixSparseCSC A = gridLaplacian(5);
+        CommonOps_DSCC.scale(-1, A, A);
+        DMatrixRMaj B = RandomMatrices_DDRM.rectangle(A.numRows, 1, rand);
+
+        var alg = new LinearSolverConjugateGradient_DSCC();
+        assertTrue(alg.setA(A));
+        alg.solve(B, new DMatrixRMaj(1, 1));
+        assertFalse(alg.isConverged());
+    }
+
+    static void checkSolution( DMatrixSparseCSC A, DMatrixRMaj B, DMatrixRMaj X, double tol ) {
+        DMatrixRMaj found = CommonOps_DSCC.mult(A, X, null);
+        double scale = CommonOps_DDRM.elementMaxAbs(B);
+        for (int i = 0; i < B.getNumElements(); i++) {
+            assertEquals(B.data[i], found.data[i], tol*scale);
+        }
+    }
+}
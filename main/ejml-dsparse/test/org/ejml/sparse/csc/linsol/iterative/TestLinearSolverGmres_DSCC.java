@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.sparse.csc.linsol.iterative;
+
+import org.ejml.EjmlUnitTests;
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.data.DMatrixSparseTriplet;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.ejml.interfaces.linsol.LinearSolverSparse;
+import org.ejml.ops.DConvertMatrixStruct;
+import org.ejml.sparse.FillReducing;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+import org.ejml.sparse.csc.RandomMatrices_DSCC;
+import org.ejml.sparse.csc.linsol.GenericLinearSolverSparseTests_DSCC;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.ejml.sparse.csc.linsol.iterative.TestLinearSolverConjugateGradient_DSCC.checkSolution;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestLinearSolverGmres_DSCC extends GenericLinearSolverSparseTests_DSCC {
+
+    public TestLinearSolverGmres_DSCC() {
+        canHandleWide = false;
+        canHandleTall = false;
+        canDecomposeZeros = true;
+        permutationTests = new FillReducing[]{FillReducing.NONE};
+    }
+
+    @Override
+    public LinearSolverSparse<DMatrixSparseCSC, DMatrixRMaj> createSolver( FillReducing permutation ) {
+        return new LinearSolverGmres_DSCC(30, 200, 1e-13, null, null);
+    }
+
+    @Override
+    public DMatrixSparseCSC createA( int N ) {
+        return createNonSymmetric(N, rand);
+    }
+
+    /**
+     * Restarting should still converge but require more iterations
+     */
+    @Test void restart() {
+        DMatrixSparseCSC A = convectionDiffusion(12, 0.5);
+        DMatrixRMaj B = RandomMatrices_DDRM.rectangle(A.numRows, 1, rand);
+        DMatrixRMaj X = new DMatrixRMaj(1, 1);
+
+        var full = new LinearSolverGmres_DSCC(A.numRows, 0, 1e-10, null, null);
+        assertTrue(full.setA(A));
+        full.solve(B, X);
+        assertTrue(full.isConverged());
+        checkSolution(A, B, X, 1e-8);
+
+        var restarted = new LinearSolverGmres_DSCC(5, 1000, 1e-10, null, null);
+        assertTrue(restarted.setA(A));
+        restarted.solve(B, X);
+        assertTrue(restarted.isConverged());
+        checkSolution(A, B, X, 1e-8);
+
+        int iterations = restarted.getIterations().get(0);
+        assertTrue(iterations > full.getIterations().get(0));
+        assertEquals(iterations + 1, restarted.getResidualHistory().length);
+
+        // without restarting the residual can't increase
+        DMatrixRMaj B2 = RandomMatrices_DDRM.rectangle(A.numRows, 1, rand);
+        full.solve(B2, X);
+        for (int i = 1; i < full.getResidualHistory().length; i++) {
+            assertTrue(full.getResidualHistory().get(i) <= full.getResidualHistory().get(i - 1)*(1.0 + 1e-8));
+        }
+    }
+
+    @Test void preconditioners() {
+        checkPreconditioners(( left, right ) -> new LinearSolverGmres_DSCC(10, 2000, 1e-10, left, right), rand);
+    }
+
+    @Test void concurrent() {
+        DMatrixSparseCSC A = convectionDiffusion(12, 0.5);
+        DMatrixRMaj B = RandomMatrices_DDRM.rectangle(A.numRows, 2, rand);
+        DMatrixRMaj expected = new DMatrixRMaj(1, 1);
+        DMatrixRMaj found = new DMatrixRMaj(1, 1);
+
+        var single = new LinearSolverGmres_DSCC(10, 0, 1e-10, null, null);
+        var multi = new LinearSolverGmres_DSCC(10, 0, 1e-10, null, null);
+        multi.setConcurrent(true);
+
+        assertTrue(single.setA(A));
+        single.solve(B, expected);
+        assertTrue(multi.setA(A));
+        multi.solve(B, found);
+
+        EjmlUnitTests.assertEquals(expected, found, UtilEjml.TEST_F64);
+    }
+
+    interface CreateSolver {
+        LinearSolverIterative_DSCC create( @Nullable Preconditioner_DSCC left, @Nullable Preconditioner_DSCC right );
+    }
+
+    /**
+     * The matrix is badly scaled, which a Jacobi preconditioner should fix. Rows are scaled for the left
+     * preconditioner and columns for the right.
+     */
+    static void checkPreconditioners( CreateSolver factory, Random rand ) {
+        double[] d = new double[100];
+        for (int i = 0; i < d.length; i++) {
+            d[i] = Math.pow(10, 3*rand.nextDouble());
+        }
+        DMatrixSparseCSC D = CommonOps_DSCC.diag(d);
+        DMatrixRMaj B = RandomMatrices_DDRM.rectangle(100, 1, rand);
+        DMatrixRMaj X = new DMatrixRMaj(1, 1);
+
+        for (boolean leftSide : new boolean[]{true, false}) {
+            DMatrixSparseCSC A = convectionDiffusion(10, 0.5);
+            A = leftSide ? CommonOps_DSCC.mult(D, A, null) : CommonOps_DSCC.mult(A, D, null);
+
+            LinearSolverIterative_DSCC none = factory.create(null, null);
+            assertTrue(none.setA(A));
+            none.solve(B, X);
+            int iterationsNone = none.getIterations().get(0);
+
+            var jacobi = new PreconditionerJacobi_DSCC();
+            LinearSolverIterative_DSCC alg = leftSide ? factory.create(jacobi, null) : factory.create(null, jacobi);
+            assertTrue(alg.setA(A));
+            alg.solve(B, X);
+            assertTrue(alg.isConverged());
+            // Left preconditioning only bounds the preconditioned residual, so the tolerance is relaxed
+            checkSolution(A, B, X, 1e-6);
+            assertTrue(alg.getIterations().get(0)*2 < iterationsNone,
+                    "left=" + leftSide + " " + alg.getIterations().get(0) + " " + iterationsNone);
+        }
+    }
+
+    /**
+     * Random non-symmetric matrix which is diagonally dominant
+     */
+    static DMatrixSparseCSC createNonSymmetric( int N, Random rand ) {
+        DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(N, N, N*N/4, -1, 1, rand);
+        DMatrixRMaj D = new DMatrixRMaj(N, 1);
+        for (int col = 0; col < N; col++) {
+            for (int p = A.col_idx[col]; p < A.col_idx[col + 1]; p++) {
+                D.data[A.nz_rows[p]] += Math.abs(A.nz_values[p]);
+            }
+        }
+        for (int i = 0; i < N; i++) {
+            D.data[i] += 1.0 + rand.nextDouble();
+        }
+        return CommonOps_DSCC.add(1.0, A, 1.0, CommonOps_DSCC.diag(D.data), null, null, null);
+    }
+
+    /**
+     * Convection-diffusion on a N by N grid. Central differences for diffusion and upwind differences for
+     * convection along the x-axis, which makes the matrix non-symmetric.
+     */
+    static DMatrixSparseCSC convectionDiffusion( int N, double velocity ) {
+        DMatrixSparseTriplet T = new DMatrixSparseTriplet(N*N, N*N, 5*N*N);
+        for (int i = 0; i < N; i++) {
+            for (int j = 0; j < N; j++) {
+                int k = i*N + j;
+                T.addItem(k, k, 4.0 + velocity);
+                if (i > 0) T.addItem(k, k - N, -1);
+                if (i < N - 1) T.addItem(k, k + N, -1);
+                if (j > 0) T.addItem(k, k - 1, -1 - velocity);
+                if (j < N - 1) T.addItem(k, k + 1, -1);
+            }
+        }
+        return DConvertMatrixStruct.convert(T, (DMatrixSparseCSC)null);
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.sparse.csc.linsol.iterative;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.EjmlUnitTests;
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+import org.ejml.sparse.csc.decomposition.chol.CholeskyUpLooking_DSCC;
+import org.ejml.sparse.csc.mult.MatrixVectorMult_DSCC;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.ejml.sparse.csc.misc.TestApproximateMinimumDegree_DSCC.gridLaplacian;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestPreconditionerIC0_DSCC extends EjmlStandardJUnit {
+    /**
+     * A tridiagonal matrix has no fill in, so the result should be the same as Cholesky
+     */
+    @Test void noFill_sameAsCholesky() {
+        DMatrixSparseCSC A = tridiagonal(20, rand);
+
+        var alg = new PreconditionerIC0_DSCC();
+        assertTrue(alg.setA(A));
+
+        var chol = new CholeskyUpLooking_DSCC();
+        assertTrue(chol.decompose(A));
+        EjmlUnitTests.assertEquals(chol.getL(), alg.getL(), UtilEjml.TEST_F64);
+
+        // applying it should solve the system exactly
+        double[] b = new double[20];
+        for (int i = 0; i < b.length; i++) {
+            b[i] = (double)rand.nextGaussian();
+        }
+        double[] x = new double[20];
+        alg.solve(b, x);
+        double[] found = new double[20];
+        MatrixVectorMult_DSCC.mult(A, x, 0, found, 0);
+        assertArrayEquals(b, found, UtilEjml.TEST_F64);
+    }
+
+    /**
+     * L*L' should be the same as A for all elements inside the pattern of A
+     */
+    @Test void matchesInsidePattern() {
+        DMatrixSparseCSC A = gridLaplacian(8);
+
+        var alg = new PreconditionerIC0_DSCC();
+        assertTrue(alg.setA(A));
+        DMatrixSparseCSC L = alg.getL();
+        assertEquals((A.nz_length + A.numCols)/2, L.nz_length);
+
+        DMatrixSparseCSC LLt = CommonOps_DSCC.mult(L, CommonOps_DSCC.transpose(L, null, null), null);
+        for (int col = 0; col < A.numCols; col++) {
+            for (int p = A.col_idx[col]; p < A.col_idx[col + 1]; p++) {
+                assertEquals(A.nz_values[p], LLt.get(A.nz_rows[p], col), UtilEjml.TEST_F64);
+            }
+        }
+    }
+
+    /**
+     * CG should converge much faster
+     */
+    @Test void reducesIterations() {
+        DMatrixSparseCSC A = gridLaplacian(20);
+        DMatrixRMaj B = RandomMatrices_DDRM.rectangle(A.numRows, 1, rand);
+        DMatrixRMaj X = new DMatrixRMaj(1, 1);
+
+        var none = new LinearSolverConjugateGradient_DSCC(0, 1e-10, null);
+        assertTrue(none.setA(A));
+        none.solve(B, X);
+
+        var ic0 = new LinearSolverConjugateGradient_DSCC(0, 1e-10, new PreconditionerIC0_DSCC());
+        assertTrue(ic0.setA(A));
+        ic0.solve(B, X);
+        assertTrue(ic0.isConverged());
+
+        assertTrue(ic0.getIterations().get(0)*2 < none.getIterations().get(0));
+    }
+
+    /**
+     * Locking the structure should produce the same results when the values change
+     */
+    @Test void lockedStructure() {
+        DMatrixSparseCSC A = gridLaplacian(8);
+
+        var locked = new PreconditionerIC0_DSCC();
+        locked.setStructureLocked(true);
+        assertTrue(locked.isStructureLocked());
+        assertTrue(locked.setA(A));
+
+        for (int trial = 0; trial < 3; trial++) {
+            for (int i = 0; i < A.numCols; i++) {
+                A.unsafe_set(i, i, 4.1 + rand.nextDouble());
+            }
+            assertTrue(locked.setA(A));
+            var expected = new PreconditionerIC0_DSCC();
+            assertTrue(expected.setA(A));
+            EjmlUnitTests.assertEquals(expected.getL(), locked.getL(), UtilEjml.TEST_F64);
+        }
+    }
+
+    /**
+     * Fails if it's not positive definite, unless the shift is large enough
+     */
+    @Test void notPositiveDefinite() {
+        DMatrixSparseCSC A = tridiagonal(10, rand);
+        A.unsafe_set(4, 4, 0.01);
+        A.unsafe_set(4, 3, 0.5);
+        A.unsafe_set(3, 4, 0.5);
+        assertFalse(new PreconditionerIC0_DSCC().setA(A));
+        assertTrue(new PreconditionerIC0_DSCC(100.0).setA(A));
+    }
+
+    static DMatrixSparseCSC tridiagonal( int N, Random rand ) {
+        DMatrixSparseCSC A = new DMatrixSparseCSC(N, N, 3*N);
+        for (int i = 0; i < N; i++) {
+            A.set(i, i, 3.0 + rand.nextDouble());
+            if (i > 0) {
+                double v = rand.nextDouble() - 0.5;
+                A.set(i, i - 1, v);
+                A.set(i - 1, i, v);
+            }
+        }
+        return A;
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.sparse.csc.linsol.iterative;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.EjmlUnitTests;
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+import org.ejml.sparse.csc.mult.MatrixVectorMult_DSCC;
+import org.junit.jupiter.api.Test;
+
+import static org.ejml.sparse.csc.linsol.iterative.TestLinearSolverGmres_DSCC.convectionDiffusion;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestPreconditionerILU0_DSCC extends EjmlStandardJUnit {
+    /**
+     * A tridiagonal matrix has no fill in, so the preconditioner will be the exact inverse
+     */
+    @Test void noFill_exact() {
+        int N = 20;
+        DMatrixSparseCSC A = new DMatrixSparseCSC(N, N, 3*N);
+        for (int i = 0; i < N; i++) {
+            A.set(i, i, 3.0 + rand.nextDouble());
+            if (i > 0) {
+                A.set(i, i - 1, rand.nextDouble() - 0.5);
+                A.set(i - 1, i, rand.nextDouble() - 0.5);
+            }
+        }
+
+        var alg = new PreconditionerILU0_DSCC();
+        assertTrue(alg.setA(A));
+        checkSolveExact(alg, A);
+    }
+
+    /**
+     * L*U should be the same as A for all elements inside the pattern of A
+     */
+    @Test void matchesInsidePattern() {
+        DMatrixSparseCSC A = convectionDiffusion(8, 0.7);
+
+        var alg = new PreconditionerILU0_DSCC();
+        assertTrue(alg.setA(A));
+        assertEquals(A.nz_length + A.numCols, alg.getL().nz_length + alg.getU().nz_length);
+
+        DMatrixSparseCSC LU = CommonOps_DSCC.mult(alg.getL(), alg.getU(), null);
+        for (int col = 0; col < A.numCols; col++) {
+            for (int p = A.col_idx[col]; p < A.col_idx[col + 1]; p++) {
+                assertEquals(A.nz_values[p], LU.get(A.nz_rows[p], col), UtilEjml.TEST_F64);
+            }
+        }
+    }
+
+    /**
+     * GMRES should converge much faster
+     */
+    @Test void reducesIterations() {
+        DMatrixSparseCSC A = convectionDiffusion(20, 0.7);
+        DMatrixRMaj B = RandomMatrices_DDRM.rectangle(A.numRows, 1, rand);
+        DMatrixRMaj X = new DMatrixRMaj(1, 1);
+
+        var none = new LinearSolverGmres_DSCC(30, 0, 1e-10, null, null);
+        assertTrue(none.setA(A));
+        none.solve(B, X);
+
+        var ilu = new LinearSolverGmres_DSCC(30, 0, 1e-10, null, new PreconditionerILU0_DSCC());
+        assertTrue(ilu.setA(A));
+        ilu.solve(B, X);
+        assertTrue(ilu.isConverged());
+
+        assertTrue(ilu.getIterations().get(0)*2 < none.getIterations().get(0));
+    }
+
+    /**
+     * Locking the structure should produce the same results when the values change. Locking is done through
+     * the solver.
+     */
+    @Test void lockedStructure() {
+        DMatrixSparseCSC A = convectionDiffusion(8, 0.7);
+
+        var locked = new PreconditionerILU0_DSCC();
+        var solver = new LinearSolverBiCGStab_DSCC(null, locked);
+        solver.setStructureLocked(true);
+        assertTrue(locked.isStructureLocked());
+        assertTrue(solver.setA(A));
+
+        for (int trial = 0; trial < 3; trial++) {
+            for (int p = 0; p < A.nz_length; p++) {
+                A.nz_values[p] *= 0.5 + rand.nextDouble();
+            }
+            assertTrue(solver.setA(A));
+            var expected = new PreconditionerILU0_DSCC();
+            assertTrue(expected.setA(A));
+            EjmlUnitTests.assertEquals(expected.getL(), locked.getL(), UtilEjml.TEST_F64);
+            EjmlUnitTests.assertEquals(expected.getU(), locked.getU(), UtilEjml.TEST_F64);
+        }
+    }
+
+    @Test void zeroPivot() {
+        DMatrixSparseCSC A = CommonOps_DSCC.diag(1, 2, 0, 4);
+        assertFalse(new PreconditionerILU0_DSCC().setA(A));
+    }
+
+    static void checkSolveExact( Preconditioner_DSCC alg, DMatrixSparseCSC A ) {
+        int N = A.numCols;
+        double[] b = new double[N];
+        for (int i = 0; i < N; i++) {
+            b[i] = i + 1;
+        }
+        double[] x = new double[N];
+        alg.solve(b, x);
+        double[] found = new double[N];
+        MatrixVectorMult_DSCC.mult(A, x, 0, found, 0);
+        assertArrayEquals(b, found, UtilEjml.TEST_F64);
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.sparse.csc.linsol.iterative;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.EjmlUnitTests;
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.junit.jupiter.api.Test;
+
+import static org.ejml.sparse.csc.linsol.iterative.TestLinearSolverGmres_DSCC.convectionDiffusion;
+import static org.ejml.sparse.csc.linsol.iterative.TestLinearSolverGmres_DSCC.createNonSymmetric;
+import static org.ejml.sparse.csc.linsol.iterative.TestPreconditionerILU0_DSCC.checkSolveExact;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestPreconditionerILUT_DSCC extends EjmlStandardJUnit {
+    /**
+     * Nothing is dropped, so it's a complete LU
+     */
+    @Test void noDropping_exact() {
+        DMatrixSparseCSC A = createNonSymmetric(30, rand);
+
+        var alg = new PreconditionerILUT_DSCC(0.0, 30);
+        assertTrue(alg.setA(A));
+        checkSolveExact(alg, A);
+    }
+
+    /**
+     * Increasing the drop tolerance or decreasing fill should reduce the number of non-zeros
+     */
+    @Test void dropping() {
+        DMatrixSparseCSC A = convectionDiffusion(15, 0.7);
+
+        int nzExact = countNZ(A, 0.0, A.numCols);
+        int nzDrop = countNZ(A, 1e-2, A.numCols);
+        int nzFill = countNZ(A, 0.0, 2);
+        assertTrue(nzDrop < nzExact);
+        assertTrue(nzFill < nzExact);
+        assertTrue(countNZ(A, 1e-1, A.numCols) < nzDrop);
+        // Can't be more than the pattern of A + fill in each column
+        assertTrue(nzFill <= A.nz_length + A.numCols*(1 + 2*2));
+    }
+
+    private static int countNZ( DMatrixSparseCSC A, double tol, int fill ) {
+        var alg = new PreconditionerILUT_DSCC(tol, fill);
+        assertTrue(alg.setA(A));
+        return alg.getL().nz_length + alg.getU().nz_length;
+    }
+
+    /**
+     * More fill should reduce the number of iterations compared to ILU(0)
+     */
+    @Test void reducesIterations() {
+        DMatrixSparseCSC A = convectionDiffusion(20, 0.7);
+        DMatrixRMaj B = RandomMatrices_DDRM.rectangle(A.numRows, 1, rand);
+        DMatrixRMaj X = new DMatrixRMaj(1, 1);
+
+        var ilu0 = new LinearSolverBiCGStab_DSCC(0, 1e-10, null, new PreconditionerILU0_DSCC());
+        assertTrue(ilu0.setA(A));
+        ilu0.solve(B, X);
+        assertTrue(ilu0.isConverged());
+
+        var ilut = new LinearSolverBiCGStab_DSCC(0, 1e-10, null, new PreconditionerILUT_DSCC(1e-4, 20));
+        assertTrue(ilut.setA(A));
+        ilut.solve(B, X);
+        assertTrue(ilut.isConverged());
+
+        assertTrue(ilut.getIterations().get(0) < ilu0.getIterations().get(0));
+    }
+
+    /**
+     * With a locked structure the pattern from the first matrix is reused
+     */
+    @Test void lockedStructure() {
+        DMatrixSparseCSC A = convectionDiffusion(10, 0.7);
+
+        var alg = new PreconditionerILUT_DSCC(1e-2, 5);
+        alg.setStructureLocked(true);
+        assertTrue(alg.setA(A));
+        int nzL = alg.getL().nz_length;
+        int nzU = alg.getU().nz_length;
+
+        // with the same values the results should be identical
+        DMatrixSparseCSC L0 = alg.getL().copy();
+        DMatrixSparseCSC U0 = alg.getU().copy();
+        assertTrue(alg.setA(A));
+        EjmlUnitTests.assertEquals(L0, alg.getL(), UtilEjml.TEST_F64);
+        EjmlUnitTests.assertEquals(U0, alg.getU(), UtilEjml.TEST_F64);
+
+        // change the values and the pattern should stay the same
+        for (int p = 0; p < A.nz_length; p++) {
+            A.nz_values[p] *= 0.5 + rand.nextDouble();
+        }
+        assertTrue(alg.setA(A));
+        assertEquals(nzL, alg.getL().nz_length);
+        assertEquals(nzU, alg.getU().nz_length);
+        for (int i = 0; i < nzL; i++) {
+            assertEquals(L0.nz_rows[i], alg.getL().nz_rows[i]);
+        }
+        for (int i = 0; i < nzU; i++) {
+            assertEquals(U0.nz_rows[i], alg.getU().nz_rows[i]);
+        }
+    }
+
+    @Test void quickSelect() {
+        for (int trial = 0; trial < 20; trial++) {
+            int N = 1 + rand.nextInt(30);
+            double[] w = new double[N];
+            int[] rows = new int[N];
+            for (int i = 0; i < N; i++) {
+                w[i] = (double)rand.nextGaussian();
+                // include duplicate values
+                if (i > 0 && rand.nextInt(4) == 0)
+                    w[i] = -w[i - 1];
+                rows[i] = i;
+            }
+            int k = 1 + rand.nextInt(N);
+            PreconditionerILUT_DSCC.quickSelect(rows, 0, N - 1, k, w);
+
+            double smallestKept = Double.MAX_VALUE;
+            for (int i = 0; i < k; i++) {
+                smallestKept = Math.min(smallestKept, Math.abs(w[rows[i]]));
+            }
+            for (int i = k; i < N; i++) {
+                assertTrue(Math.abs(w[rows[i]]) <= smallestKept);
+            }
+        }
+    }
+}
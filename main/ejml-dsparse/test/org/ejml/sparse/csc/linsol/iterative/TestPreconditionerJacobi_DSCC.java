@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.sparse.csc.linsol.iterative;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+import org.ejml.sparse.csc.RandomMatrices_DSCC;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestPreconditionerJacobi_DSCC extends EjmlStandardJUnit {
+    @Test void solve() {
+        DMatrixSparseCSC A = RandomMatrices_DSCC.symmetricPosDef(10, 0.3, rand);
+
+        var alg = new PreconditionerJacobi_DSCC();
+        assertTrue(alg.setA(A));
+
+        double[] b = new double[10];
+        double[] x = new double[10];
+        for (int i = 0; i < b.length; i++) {
+            b[i] = (double)rand.nextGaussian();
+        }
+        alg.solve(b, x);
+
+        for (int i = 0; i < b.length; i++) {
+            assertEquals(b[i]/A.get(i, i), x[i], UtilEjml.TEST_F64);
+        }
+
+        // in place
+        alg.solve(b, b);
+        assertArrayEquals(x, b, UtilEjml.TEST_F64);
+    }
+
+    @Test void zeroDiagonal() {
+        DMatrixSparseCSC A = CommonOps_DSCC.diag(1, 2, 0, 4);
+        assertFalse(new PreconditionerJacobi_DSCC().setA(A));
+    }
+}
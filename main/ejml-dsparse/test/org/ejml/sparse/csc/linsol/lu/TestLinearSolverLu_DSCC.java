@@ -42,6 +42,9 @@ public class TestLinearSolverLu_DSCC extends GenericLinearSolverSparseTests_DSCC
     public TestLinearSolverLu_DSCC() {
         canDecomposeZeros = false;
         canLockStructure = false;
+
+        permutationTests = new FillReducing[]{FillReducing.NONE, FillReducing.IDENTITY, FillReducing.RANDOM,
+                FillReducing.AMD, FillReducing.COLAMD};
     }
 
     @Override
@@ -18,27 +18,109 @@
 
 package org.ejml.sparse.csc.misc;
 
-
 import org.ejml.EjmlStandardJUnit;
-import org.junit.jupiter.api.Disabled;
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.sparse.ComputePermutation;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+import org.ejml.sparse.csc.RandomMatrices_DSCC;
+import org.jetbrains.annotations.Nullable;
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.fail;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * @author Peter Abeles
  */
 public class TestApplyFillReductionPermutation_DSCC extends EjmlStandardJUnit {
-    @Disabled
     @Test
     public void symmetric() {
-        fail("implement");
+        DMatrixSparseCSC A = RandomMatrices_DSCC.symmetricPosDef(10, 0.5, rand);
+        int[] perm = shuffled(10);
+
+        var alg = new ApplyFillReductionPermutation_DSCC(new FixedPermutation(perm, null), true);
+        DMatrixSparseCSC found = alg.apply(A);
+
+        // only the upper triangle is used by symmetric algorithms
+        for (int row = 0; row < 10; row++) {
+            for (int col = row; col < 10; col++) {
+                assertEquals(A.get(perm[row], perm[col]), found.get(row, col), UtilEjml.TEST_F64);
+            }
+        }
+
+        int[] pinv = Objects.requireNonNull(alg.getArrayPinv());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i, pinv[perm[i]]);
+        }
     }
 
-    @Disabled
     @Test
     public void non_symmetric() {
-        fail("implement");
+        DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(8, 6, 20, rand);
+        int[] permRow = shuffled(8);
+        int[] permCol = shuffled(6);
+
+        // Row and column permutations
+        var alg = new ApplyFillReductionPermutation_DSCC(new FixedPermutation(permRow, permCol), false);
+        DMatrixSparseCSC found = alg.apply(A);
+        for (int row = 0; row < 8; row++) {
+            for (int col = 0; col < 6; col++) {
+                assertEquals(A.get(permRow[row], permCol[col]), found.get(row, col), UtilEjml.TEST_F64);
+            }
+        }
+
+        // Only columns are permuted
+        alg = new ApplyFillReductionPermutation_DSCC(new FixedPermutation(null, permCol), false);
+        found = alg.apply(A);
+        assertNull(alg.getArrayP());
+        assertNull(alg.getArrayPinv());
+        for (int row = 0; row < 8; row++) {
+            for (int col = 0; col < 6; col++) {
+                assertEquals(A.get(row, permCol[col]), found.get(row, col), UtilEjml.TEST_F64);
+            }
+        }
     }
 
-}
\ No newline at end of file
+    @Test
+    public void noPermutation() {
+        DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(8, 6, 20, rand);
+        var alg = new ApplyFillReductionPermutation_DSCC(null, false);
+        assertSame(A, alg.apply(A));
+        assertFalse(alg.isApplied());
+    }
+
+    private int[] shuffled( int N ) {
+        int[] perm = new int[N];
+        for (int i = 0; i < N; i++) {
+            perm[i] = i;
+        }
+        UtilEjml.shuffle(perm, N, 0, N, rand);
+        return perm;
+    }
+
+    private static class FixedPermutation extends ComputePermutation<DMatrixSparseCSC> {
+        @Nullable int[] row;
+        @Nullable int[] col;
+
+        FixedPermutation( @Nullable int[] row, @Nullable int[] col ) {
+            super(row != null, col != null);
+            this.row = row;
+            this.col = col;
+        }
+
+        @Override
+        @SuppressWarnings("NullAway") // constructor parameters ensures these are not null
+        public void process( DMatrixSparseCSC m ) {
+            if (row != null) {
+                prow.reshape(row.length);
+                System.arraycopy(row, 0, prow.data, 0, row.length);
+            }
+            if (col != null) {
+                pcol.reshape(col.length);
+                System.arraycopy(col, 0, pcol.data, 0, col.length);
+            }
+        }
+    }
+}
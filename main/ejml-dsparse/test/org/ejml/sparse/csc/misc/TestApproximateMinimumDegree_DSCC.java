@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.misc;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.data.DMatrixSparseTriplet;
+import org.ejml.data.IGrowArray;
+import org.ejml.ops.DConvertMatrixStruct;
+import org.ejml.sparse.ComputePermutation;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+import org.ejml.sparse.csc.RandomMatrices_DSCC;
+import org.ejml.sparse.csc.decomposition.chol.CholeskyUpLooking_DSCC;
+import org.junit.jupiter.api.Test;
+
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestApproximateMinimumDegree_DSCC extends EjmlStandardJUnit {
+    /**
+     * The output should always be a valid permutation
+     */
+    @Test void validPermutation_symmetric() {
+        var alg = new ApproximateMinimumDegree_DSCC(true);
+
+        for (int N : new int[]{1, 2, 5, 20, 100}) {
+            for (int trial = 0; trial < 10; trial++) {
+                DMatrixSparseCSC A = RandomMatrices_DSCC.symmetricPosDef(N, 0.8, rand);
+                alg.process(A);
+
+                assertTrue(alg.hasRowPermutation());
+                assertTrue(alg.hasColumnPermutation());
+                IGrowArray row = Objects.requireNonNull(alg.getRow());
+                IGrowArray col = Objects.requireNonNull(alg.getColumn());
+                checkPermutation(row, N);
+                checkPermutation(col, N);
+                for (int i = 0; i < N; i++) {
+                    assertEquals(row.data[i], col.data[i]);
+                }
+            }
+        }
+    }
+
+    @Test void validPermutation_ata() {
+        var alg = new ApproximateMinimumDegree_DSCC(false);
+
+        for (int numRows : new int[]{1, 5, 30, 100}) {
+            for (int numCols : new int[]{1, 5, 30}) {
+                DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(numRows, numCols, numRows*numCols/4 + 1, rand);
+                alg.process(A);
+
+                assertFalse(alg.hasRowPermutation());
+                checkPermutation(Objects.requireNonNull(alg.getColumn()), numCols);
+            }
+        }
+    }
+
+    /**
+     * Makes sure a dense row, which would make A'A fully dense, doesn't prevent a valid ordering
+     */
+    @Test void denseRow() {
+        int N = 60;
+        DMatrixSparseTriplet T = new DMatrixSparseTriplet(N + 1, N, 3*N);
+        for (int i = 0; i < N; i++) {
+            T.addItem(i, i, 2.0);
+            if (i > 0)
+                T.addItem(i, i - 1, -1.0);
+            T.addItem(N, i, 1.0);
+        }
+        DMatrixSparseCSC A = DConvertMatrixStruct.convert(T, (DMatrixSparseCSC)null);
+
+        var alg = new ApproximateMinimumDegree_DSCC(false);
+        alg.process(A);
+        checkPermutation(Objects.requireNonNull(alg.getColumn()), N);
+    }
+
+    @Test void emptyMatrix() {
+        var alg = new ApproximateMinimumDegree_DSCC(true);
+        alg.process(new DMatrixSparseCSC(0, 0, 0));
+        assertEquals(0, Objects.requireNonNull(alg.getColumn()).length);
+
+        // no off diagonal elements
+        alg.process(CommonOps_DSCC.identity(5));
+        checkPermutation(Objects.requireNonNull(alg.getColumn()), 5);
+    }
+
+    @Test void notSquare_symmetric() {
+        var alg = new ApproximateMinimumDegree_DSCC(true);
+        assertThrows(IllegalArgumentException.class, () -> alg.process(new DMatrixSparseCSC(5, 4, 0)));
+    }
+
+    /**
+     * The classic example of an arrow matrix. In its natural order the dense row and column are at the start
+     * and the factorization is completely dense. A good ordering will move them to the end and have no fill in.
+     */
+    @Test void arrowMatrix_noFill() {
+        int N = 30;
+        DMatrixSparseTriplet T = new DMatrixSparseTriplet(N, N, 3*N);
+        T.addItem(0, 0, N);
+        for (int i = 1; i < N; i++) {
+            T.addItem(i, i, N);
+            T.addItem(0, i, 1);
+            T.addItem(i, 0, 1);
+        }
+        DMatrixSparseCSC A = DConvertMatrixStruct.convert(T, (DMatrixSparseCSC)null);
+
+        var alg = new ApproximateMinimumDegree_DSCC(true);
+        alg.process(A);
+
+        assertEquals(2*N - 1, countCholeskyNonZeros(A, alg));
+    }
+
+    /**
+     * Compare fill in on a 2D Laplacian against the natural ordering. AMD should be dramatically better
+     */
+    @Test void gridLaplacian_reducesFill() {
+        DMatrixSparseCSC A = gridLaplacian(25);
+
+        var cholesky = new CholeskyUpLooking_DSCC();
+        assertTrue(cholesky.decompose(A));
+        int naturalNZ = cholesky.getL().nz_length;
+
+        int amdNZ = countCholeskyNonZeros(A, new ApproximateMinimumDegree_DSCC(true));
+
+        assertTrue(amdNZ*2 < naturalNZ, "natural=" + naturalNZ + " amd=" + amdNZ);
+    }
+
+    static int countCholeskyNonZeros( DMatrixSparseCSC A, ComputePermutation<DMatrixSparseCSC> alg ) {
+        var apply = new ApplyFillReductionPermutation_DSCC(alg, true);
+        var cholesky = new CholeskyUpLooking_DSCC();
+        assertTrue(cholesky.decompose(apply.apply(A)));
+        return cholesky.getL().nz_length;
+    }
+
+    /**
+     * Creates a 5-point stencil Laplacian on a N by N grid
+     */
+    public static DMatrixSparseCSC gridLaplacian( int N ) {
+        DMatrixSparseTriplet T = new DMatrixSparseTriplet(N*N, N*N, 5*N*N);
+        for (int i = 0; i < N; i++) {
+            for (int j = 0; j < N; j++) {
+                int k = i*N + j;
+                T.addItem(k, k, 4.1);
+                if (i > 0) T.addItem(k, k - N, -1);
+                if (i < N - 1) T.addItem(k, k + N, -1);
+                if (j > 0) T.addItem(k, k - 1, -1);
+                if (j < N - 1) T.addItem(k, k + 1, -1);
+            }
+        }
+        return DConvertMatrixStruct.convert(T, (DMatrixSparseCSC)null);
+    }
+
+    static void checkPermutation( IGrowArray perm, int N ) {
+        assertEquals(N, perm.length);
+        boolean[] found = new boolean[N];
+        for (int i = 0; i < N; i++) {
+            int v = perm.data[i];
+            assertTrue(v >= 0 && v < N);
+            assertFalse(found[v]);
+            found[v] = true;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.misc;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.data.DMatrixSparseTriplet;
+import org.ejml.data.IGrowArray;
+import org.ejml.ops.DConvertMatrixStruct;
+import org.ejml.sparse.SeparatorTree;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+import org.ejml.sparse.csc.RandomMatrices_DSCC;
+import org.junit.jupiter.api.Test;
+
+import java.util.Objects;
+
+import static org.ejml.sparse.csc.misc.TestApproximateMinimumDegree_DSCC.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestNestedDissection_DSCC extends EjmlStandardJUnit {
+    @Test void validPermutation() {
+        var alg = new NestedDissection_DSCC(8);
+
+        for (int N : new int[]{1, 2, 5, 20, 100}) {
+            for (int trial = 0; trial < 10; trial++) {
+                DMatrixSparseCSC A = RandomMatrices_DSCC.symmetricPosDef(N, 0.1, rand);
+                alg.process(A);
+
+                IGrowArray row = Objects.requireNonNull(alg.getRow());
+                IGrowArray col = Objects.requireNonNull(alg.getColumn());
+                checkPermutation(row, N);
+                checkPermutation(col, N);
+                for (int i = 0; i < N; i++) {
+                    assertEquals(row.data[i], col.data[i]);
+                }
+                checkTree(alg.getSeparatorTree(), N);
+                checkSeparators(A, alg);
+            }
+        }
+    }
+
+    /**
+     * On a grid the graph should be dissected into multiple levels
+     */
+    @Test void gridLaplacian_separators() {
+        DMatrixSparseCSC A = gridLaplacian(40);
+        var alg = new NestedDissection_DSCC(16);
+        alg.process(A);
+
+        checkPermutation(Objects.requireNonNull(alg.getColumn()), A.numCols);
+        SeparatorTree tree = alg.getSeparatorTree();
+        checkTree(tree, A.numCols);
+        checkSeparators(A, alg);
+
+        // The root should have a small separator and two children of similar size
+        int root = tree.getRoot();
+        assertFalse(tree.isLeaf(root));
+        assertTrue(tree.getEnd(root) - tree.getSeparator(root) <= 2*40);
+        int[] sizes = new int[2];
+        int numChildren = 0;
+        for (int node = 0; node < tree.size(); node++) {
+            if (tree.getParent(node) == root)
+                sizes[numChildren++] = tree.getEnd(node) - tree.getBegin(node);
+        }
+        assertEquals(2, numChildren);
+        assertTrue(Math.min(sizes[0], sizes[1])*4 >= Math.max(sizes[0], sizes[1]));
+    }
+
+    @Test void gridLaplacian_reducesFill() {
+        DMatrixSparseCSC A = gridLaplacian(40);
+
+        int naturalNZ = countCholeskyNonZeros(A, new NestedDissection_DSCC(A.numCols));
+        int amdNZ = countCholeskyNonZeros(A, new ApproximateMinimumDegree_DSCC(true));
+        int ndNZ = countCholeskyNonZeros(A, new NestedDissection_DSCC(16));
+
+        // Sanity check. A leaf with the entire matrix is the same as AMD
+        assertEquals(amdNZ, naturalNZ);
+        // Nested dissection should be competitive with AMD on a grid
+        assertTrue(ndNZ < amdNZ*1.5, "amd=" + amdNZ + " nd=" + ndNZ);
+    }
+
+    /**
+     * Graph with several components that are not connected to each other
+     */
+    @Test void disconnected() {
+        int N = 30;
+        DMatrixSparseTriplet T = new DMatrixSparseTriplet(3*N, 3*N, 0);
+        // Two paths and a set of isolated vertices
+        for (int i = 0; i < 3*N; i++) {
+            T.addItem(i, i, 3);
+            if (i < 2*N && i % N != 0) {
+                T.addItem(i, i - 1, -1);
+                T.addItem(i - 1, i, -1);
+            }
+        }
+        DMatrixSparseCSC A = DConvertMatrixStruct.convert(T, (DMatrixSparseCSC)null);
+
+        var alg = new NestedDissection_DSCC(4);
+        alg.process(A);
+        checkPermutation(Objects.requireNonNull(alg.getColumn()), 3*N);
+        checkTree(alg.getSeparatorTree(), 3*N);
+        checkSeparators(A, alg);
+
+        // There are no connections between the components so the root has no separator
+        SeparatorTree tree = alg.getSeparatorTree();
+        assertEquals(tree.getEnd(tree.getRoot()), tree.getSeparator(tree.getRoot()));
+    }
+
+    @Test void emptyMatrix() {
+        var alg = new NestedDissection_DSCC();
+        alg.process(new DMatrixSparseCSC(0, 0, 0));
+        assertEquals(0, Objects.requireNonNull(alg.getColumn()).length);
+        assertEquals(0, alg.getSeparatorTree().size());
+
+        alg = new NestedDissection_DSCC(2);
+        alg.process(CommonOps_DSCC.identity(20));
+        checkPermutation(Objects.requireNonNull(alg.getColumn()), 20);
+        checkTree(alg.getSeparatorTree(), 20);
+    }
+
+    @Test void notSquare() {
+        var alg = new NestedDissection_DSCC();
+        assertThrows(IllegalArgumentException.class, () -> alg.process(new DMatrixSparseCSC(5, 4, 0)));
+    }
+
+    /**
+     * Checks the tree is in post order, each node's range is made up of its children and its separator, and that
+     * the root covers all the indexes
+     */
+    static void checkTree( SeparatorTree tree, int N ) {
+        if (N == 0)
+            return;
+        int root = tree.getRoot();
+        assertEquals(-1, tree.getParent(root));
+        assertEquals(0, tree.getBegin(root));
+        assertEquals(N, tree.getEnd(root));
+
+        int[] covered = new int[tree.size()];
+        for (int node = 0; node < tree.size(); node++) {
+            int begin = tree.getBegin(node);
+            int separator = tree.getSeparator(node);
+            int end = tree.getEnd(node);
+            assertTrue(begin <= separator && separator <= end);
+            covered[node] += end - separator;
+            assertEquals(end - begin, covered[node]);
+
+            if (node == root)
+                continue;
+            int parent = tree.getParent(node);
+            assertTrue(parent > node);
+            assertTrue(tree.getBegin(parent) <= begin && end <= tree.getSeparator(parent));
+            covered[parent] += end - begin;
+        }
+    }
+
+    /**
+     * If two indexes are connected then the node of one must be an ancestor of the other's node
+     */
+    static void checkSeparators( DMatrixSparseCSC A, NestedDissection_DSCC alg ) {
+        SeparatorTree tree = alg.getSeparatorTree();
+        int[] perm = Objects.requireNonNull(alg.getColumn()).data;
+        int N = A.numCols;
+
+        // node each original index belongs to
+        int[] owner = new int[N];
+        for (int node = 0; node < tree.size(); node++) {
+            for (int i = tree.getSeparator(node); i < tree.getEnd(node); i++) {
+                owner[perm[i]] = node;
+            }
+        }
+
+        for (int col = 0; col < N; col++) {
+            for (int p = A.col_idx[col]; p < A.col_idx[col + 1]; p++) {
+                int a = owner[A.nz_rows[p]];
+                int b = owner[col];
+                assertTrue(isAncestor(tree, a, b) || isAncestor(tree, b, a));
+            }
+        }
+    }
+
+    static boolean isAncestor( SeparatorTree tree, int ancestor, int node ) {
+        while (node != -1) {
+            if (node == ancestor)
+                return true;
+            node = tree.getParent(node);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.sparse.csc.mult;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.sparse.csc.RandomMatrices_DSCC;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+public class TestMatrixVectorMult_MT_DSCC extends EjmlStandardJUnit {
+    @Test void mult_v_A() {
+        for (int numCols : new int[]{1, 10, 1000}) {
+            DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(20, numCols, numCols*4, rand);
+
+            var v = new double[22];
+            for (int i = 0; i < v.length; i++) {
+                v[i] = (double)rand.nextGaussian();
+            }
+            var expected = new double[numCols + 1];
+            var found = new double[numCols + 1];
+
+            MatrixVectorMult_DSCC.mult(v, 2, A, expected, 1);
+            MatrixVectorMult_MT_DSCC.mult(v, 2, A, found, 1);
+
+            assertArrayEquals(expected, found, UtilEjml.TEST_F64);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.simd;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Implementation of {@link SimdKernels_F64} using the Vector API. The preferred species of the hardware is used
+ * for all the array operations. Elements which don't fill a whole vector are handled with scalar code.
+ *
+ * @author Peter Abeles
+ */
+public class SimdKernelsVector_F64 implements SimdKernels_F64 {
+    static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    static final int LANES = SPECIES.length();
+
+    // The 4x4 micro-kernel stores a row of C in a single vector
+    static final VectorSpecies<Double> SPECIES_4 = DoubleVector.SPECIES_256;
+    static final boolean NATIVE_4 = SPECIES.vectorBitSize() >= SPECIES_4.vectorBitSize();
+
+    @Override public int getLanes() {
+        return LANES;
+    }
+
+    @Override public double dot( double[] a, int offsetA, double[] b, int offsetB, int length ) {
+        // Two accumulators to hide the latency of FMA
+        DoubleVector sum0 = DoubleVector.zero(SPECIES);
+        DoubleVector sum1 = DoubleVector.zero(SPECIES);
+
+        int i = 0;
+        int bound2 = length - length%(2*LANES);
+        for (; i < bound2; i += 2*LANES) {
+            var va0 = DoubleVector.fromArray(SPECIES, a, offsetA + i);
+            var vb0 = DoubleVector.fromArray(SPECIES, b, offsetB + i);
+            var va1 = DoubleVector.fromArray(SPECIES, a, offsetA + i + LANES);
+            var vb1 = DoubleVector.fromArray(SPECIES, b, offsetB + i + LANES);
+            sum0 = va0.fma(vb0, sum0);
+            sum1 = va1.fma(vb1, sum1);
+        }
+        int bound = SPECIES.loopBound(length);
+        for (; i < bound; i += LANES) {
+            var va = DoubleVector.fromArray(SPECIES, a, offsetA + i);
+            var vb = DoubleVector.fromArray(SPECIES, b, offsetB + i);
+            sum0 = va.fma(vb, sum0);
+        }
+        double total = sum0.add(sum1).reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            total += a[offsetA + i]*b[offsetB + i];
+        }
+        return total;
+    }
+
+    @Override public void axpy( double alpha, double[] x, int offsetX, double[] y, int offsetY, int length ) {
+        var valpha = DoubleVector.broadcast(SPECIES, alpha);
+        int i = 0;
+        int bound = SPECIES.loopBound(length);
+        for (; i < bound; i += LANES) {
+            var vx = DoubleVector.fromArray(SPECIES, x, offsetX + i);
+            var vy = DoubleVector.fromArray(SPECIES, y, offsetY + i);
+            vx.fma(valpha, vy).intoArray(y, offsetY + i);
+        }
+        for (; i < length; i++) {
+            y[offsetY + i] += alpha*x[offsetX + i];
+        }
+    }
+
+    @Override public void add( double alpha, double[] a, double beta, double[] b, double[] c, int length ) {
+        var valpha = DoubleVector.broadcast(SPECIES, alpha);
+        var vbeta = DoubleVector.broadcast(SPECIES, beta);
+        int i = 0;
+        int bound = SPECIES.loopBound(length);
+        for (; i < bound; i += LANES) {
+            var va = DoubleVector.fromArray(SPECIES, a, i);
+            var vb = DoubleVector.fromArray(SPECIES, b, i);
+            va.fma(valpha, vb.mul(vbeta)).intoArray(c, i);
+        }
+        for (; i < length; i++) {
+            c[i] = alpha*a[i] + beta*b[i];
+        }
+    }
+
+    @Override public void elementMult( double[] a, double[] b, double[] c, int length ) {
+        int i = 0;
+        int bound = SPECIES.loopBound(length);
+        for (; i < bound; i += LANES) {
+            var va = DoubleVector.fromArray(SPECIES, a, i);
+            var vb = DoubleVector.fromArray(SPECIES, b, i);
+            va.mul(vb).intoArray(c, i);
+        }
+        for (; i < length; i++) {
+            c[i] = a[i]*b[i];
+        }
+    }
+
+    @Override public void scale( double alpha, double[] a, double[] c, int length ) {
+        int i = 0;
+        int bound = SPECIES.loopBound(length);
+        for (; i < bound; i += LANES) {
+            DoubleVector.fromArray(SPECIES, a, i).mul(alpha).intoArray(c, i);
+        }
+        for (; i < length; i++) {
+            c[i] = a[i]*alpha;
+        }
+    }
+
+    @Override public double sum( double[] a, int length ) {
+        DoubleVector total = DoubleVector.zero(SPECIES);
+        int i = 0;
+        int bound = SPECIES.loopBound(length);
+        for (; i < bound; i += LANES) {
+            total = total.add(DoubleVector.fromArray(SPECIES, a, i));
+        }
+        double sum = total.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            sum += a[i];
+        }
+        return sum;
+    }
+
+    @Override public void gemmKernel4x4( int kc, double alpha, double[] A, int indexA, double[] B, int indexB,
+                                         double beta, double[] C, int indexC, int strideC ) {
+        // Emulating 256-bit vectors is much slower than scalar code
+        if (!NATIVE_4) {
+            gemmKernel4x4_scalar(kc, alpha, A, indexA, B, indexB, beta, C, indexC, strideC);
+            return;
+        }
+
+        DoubleVector c0 = DoubleVector.zero(SPECIES_4);
+        DoubleVector c1 = DoubleVector.zero(SPECIES_4);
+        DoubleVector c2 = DoubleVector.zero(SPECIES_4);
+        DoubleVector c3 = DoubleVector.zero(SPECIES_4);
+
+        for (int p = 0; p < kc; p++, indexA += 4, indexB += 4) {
+            var b = DoubleVector.fromArray(SPECIES_4, B, indexB);
+            c0 = DoubleVector.broadcast(SPECIES_4, A[indexA]).fma(b, c0);
+            c1 = DoubleVector.broadcast(SPECIES_4, A[indexA + 1]).fma(b, c1);
+            c2 = DoubleVector.broadcast(SPECIES_4, A[indexA + 2]).fma(b, c2);
+            c3 = DoubleVector.broadcast(SPECIES_4, A[indexA + 3]).fma(b, c3);
+        }
+
+        store(c0, alpha, beta, C, indexC);
+        store(c1, alpha, beta, C, indexC + strideC);
+        store(c2, alpha, beta, C, indexC + 2*strideC);
+        store(c3, alpha, beta, C, indexC + 3*strideC);
+    }
+
+    private static void store( DoubleVector ab, double alpha, double beta, double[] C, int indexC ) {
+        if (beta == 0.0) {
+            ab.mul(alpha).intoArray(C, indexC);
+        } else {
+            var c = DoubleVector.fromArray(SPECIES_4, C, indexC);
+            ab.mul(alpha).add(c.mul(beta)).intoArray(C, indexC);
+        }
+    }
+
+    static void gemmKernel4x4_scalar( int kc, double alpha, double[] A, int indexA, double[] B, int indexB,
+                                      double beta, double[] C, int indexC, int strideC ) {
+        for (int i = 0; i < 4; i++) {
+            int rowC = indexC + i*strideC;
+            for (int j = 0; j < 4; j++) {
+                double ab = 0.0;
+                for (int p = 0; p < kc; p++) {
+                    ab += A[indexA + p*4 + i]*B[indexB + p*4 + j];
+                }
+                C[rowC + j] = beta == 0.0 ? alpha*ab : alpha*ab + beta*C[rowC + j];
+            }
+        }
+    }
+}
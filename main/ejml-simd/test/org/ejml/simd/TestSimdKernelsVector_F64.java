@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.simd;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.UtilEjml;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestSimdKernelsVector_F64 extends EjmlStandardJUnit {
+    SimdKernelsVector_F64 alg = new SimdKernelsVector_F64();
+
+    // Lengths which hit the vectorized loops, the unrolled loop, and the scalar tail
+    int[] lengths = new int[]{0, 1, 3, 8, 13, 16, 31, 64, 101};
+
+    @Test void found_by_service_loader() {
+        assertTrue(EjmlSimd.isAvailable());
+        assertTrue(EjmlSimd.getKernels_F64() instanceof SimdKernelsVector_F64);
+        assertTrue(alg.getLanes() >= 2);
+    }
+
+    @Test void dot() {
+        for (int length : lengths) {
+            double[] a = randomArray(length + 3);
+            double[] b = randomArray(length + 2);
+
+            double expected = 0;
+            for (int i = 0; i < length; i++) {
+                expected += a[3 + i]*b[2 + i];
+            }
+            assertEquals(expected, alg.dot(a, 3, b, 2, length), UtilEjml.TEST_F64);
+        }
+    }
+
+    @Test void axpy() {
+        for (int length : lengths) {
+            double[] x = randomArray(length + 1);
+            double[] y = randomArray(length + 2);
+            double[] expected = y.clone();
+            for (int i = 0; i < length; i++) {
+                expected[2 + i] += 1.5*x[1 + i];
+            }
+            alg.axpy(1.5, x, 1, y, 2, length);
+            assertArrayEquals(expected, y, UtilEjml.TEST_F64);
+        }
+    }
+
+    @Test void add() {
+        for (int length : lengths) {
+            double[] a = randomArray(length);
+            double[] b = randomArray(length);
+            double[] c = new double[length];
+            alg.add(1.5, a, -0.5, b, c, length);
+            for (int i = 0; i < length; i++) {
+                assertEquals(1.5*a[i] - 0.5*b[i], c[i], UtilEjml.TEST_F64);
+            }
+        }
+    }
+
+    @Test void elementMult() {
+        for (int length : lengths) {
+            double[] a = randomArray(length);
+            double[] b = randomArray(length);
+            double[] c = new double[length];
+            alg.elementMult(a, b, c, length);
+            for (int i = 0; i < length; i++) {
+                assertEquals(a[i]*b[i], c[i], UtilEjml.TEST_F64);
+            }
+        }
+    }
+
+    @Test void scale() {
+        for (int length : lengths) {
+            double[] a = randomArray(length);
+            double[] c = new double[length];
+            alg.scale(-2.5, a, c, length);
+            for (int i = 0; i < length; i++) {
+                assertEquals(-2.5*a[i], c[i], UtilEjml.TEST_F64);
+            }
+        }
+    }
+
+    @Test void sum() {
+        for (int length : lengths) {
+            double[] a = randomArray(length + 5);
+            double expected = 0;
+            for (int i = 0; i < length; i++) {
+                expected += a[i];
+            }
+            assertEquals(expected, alg.sum(a, length), UtilEjml.TEST_F64);
+        }
+    }
+
+    @Test void gemmKernel4x4() {
+        int kc = 11;
+        int strideC = 7;
+        for (double beta : new double[]{0.0, 1.0, -0.5}) {
+            double[] A = randomArray(4*kc + 2);
+            double[] B = randomArray(4*kc + 3);
+            double[] C = randomArray(strideC*4 + 1);
+            double[] expected = C.clone();
+            naive(kc, 2.0, A, 2, B, 3, beta, expected, 1, strideC);
+
+            // NaN in C should be ignored when beta is zero
+            if (beta == 0.0)
+                C[1] = Double.NaN;
+
+            alg.gemmKernel4x4(kc, 2.0, A, 2, B, 3, beta, C, 1, strideC);
+            assertArrayEquals(expected, C, UtilEjml.TEST_F64);
+
+            // The fallback for hardware which doesn't support 256-bit vectors
+            C = randomArray(strideC*4 + 1);
+            expected = C.clone();
+            naive(kc, 2.0, A, 2, B, 3, beta, expected, 1, strideC);
+            SimdKernelsVector_F64.gemmKernel4x4_scalar(kc, 2.0, A, 2, B, 3, beta, C, 1, strideC);
+            assertArrayEquals(expected, C, UtilEjml.TEST_F64);
+        }
+    }
+
+    static void naive( int kc, double alpha, double[] A, int indexA, double[] B, int indexB,
+                       double beta, double[] C, int indexC, int strideC ) {
+        for (int i = 0; i < 4; i++) {
+            for (int j = 0; j < 4; j++) {
+                double sum = 0;
+                for (int p = 0; p < kc; p++) {
+                    sum += A[indexA + p*4 + i]*B[indexB + p*4 + j];
+                }
+                int idx = indexC + i*strideC + j;
+                C[idx] = alpha*sum + (beta == 0.0 ? 0.0 : beta*C[idx]);
+            }
+        }
+    }
+
+    double[] randomArray( int length ) {
+        double[] a = new double[length];
+        for (int i = 0; i < length; i++) {
+            a[i] = rand.nextDouble()*2 - 1;
+        }
+        return a;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.simd;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.EjmlUnitTests;
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.CommonOps_DDRM;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that operations in ejml-ddense produce the same results with and without SIMD
+ */
+public class TestSimdOps_DDRM extends EjmlStandardJUnit {
+    @AfterEach void restore() {
+        EjmlSimd.USE_SIMD = true;
+    }
+
+    @Test void elementWise() {
+        // includes sizes above and below the length threshold
+        for (int rows : new int[]{2, 9, 40}) {
+            DMatrixRMaj A = RandomMatrices_DDRM.rectangle(rows, 7, -1, 1, rand);
+            DMatrixRMaj B = RandomMatrices_DDRM.rectangle(rows, 7, -1, 1, rand);
+
+            compare(() -> CommonOps_DDRM.add(A, B, null));
+            compare(() -> CommonOps_DDRM.add(0.5, A, -2.0, B, null));
+            compare(() -> CommonOps_DDRM.elementMult(A, B, null));
+            compare(() -> {
+                var C = A.copy();
+                CommonOps_DDRM.elementMult(C, B);
+                return C;
+            });
+            compare(() -> {
+                var C = A.createLike();
+                CommonOps_DDRM.scale(1.5, A, C);
+                return C;
+            });
+            compare(() -> {
+                var C = A.copy();
+                CommonOps_DDRM.scale(1.5, C);
+                return C;
+            });
+            compare(() -> new DMatrixRMaj(1, 1, true, CommonOps_DDRM.elementSum(A)));
+        }
+    }
+
+    @Test void matrixVector() {
+        for (int cols : new int[]{3, 45}) {
+            DMatrixRMaj A = RandomMatrices_DDRM.rectangle(20, cols, -1, 1, rand);
+            DMatrixRMaj x = RandomMatrices_DDRM.rectangle(cols, 1, -1, 1, rand);
+            DMatrixRMaj y = RandomMatrices_DDRM.rectangle(20, 1, -1, 1, rand);
+            DMatrixRMaj c = RandomMatrices_DDRM.rectangle(cols, 1, -1, 1, rand);
+
+            compare(() -> CommonOps_DDRM.mult(A, x, null));
+            compare(() -> CommonOps_DDRM.multTransA(A, y, null));
+            compare(() -> {
+                var C = y.copy();
+                CommonOps_DDRM.multAdd(A, x, C);
+                return C;
+            });
+            compare(() -> {
+                var C = c.copy();
+                CommonOps_DDRM.multAddTransA(A, y, C);
+                return C;
+            });
+            compare(() -> new DMatrixRMaj(1, 1, true, CommonOps_DDRM.dot(x, c)));
+        }
+    }
+
+    @Test void matrixMatrix() {
+        // Large enough to use the packed algorithm, with edges which don't fill a micro-kernel
+        DMatrixRMaj A = RandomMatrices_DDRM.rectangle(70, 45, -1, 1, rand);
+        DMatrixRMaj B = RandomMatrices_DDRM.rectangle(45, 62, -1, 1, rand);
+        DMatrixRMaj C = RandomMatrices_DDRM.rectangle(70, 62, -1, 1, rand);
+        DMatrixRMaj At = RandomMatrices_DDRM.rectangle(45, 70, -1, 1, rand);
+
+        compare(() -> CommonOps_DDRM.mult(A, B, null));
+        compare(() -> CommonOps_DDRM.multTransA(At, B, null));
+        compare(() -> {
+            var D = C.copy();
+            CommonOps_DDRM.multAdd(0.5, A, B, D);
+            return D;
+        });
+    }
+
+    void compare( Supplier<DMatrixRMaj> op ) {
+        EjmlSimd.USE_SIMD = false;
+        DMatrixRMaj expected = op.get();
+        EjmlSimd.USE_SIMD = true;
+        DMatrixRMaj found = op.get();
+        EjmlUnitTests.assertEquals(expected, found, UtilEjml.TEST_F64);
+    }
+}
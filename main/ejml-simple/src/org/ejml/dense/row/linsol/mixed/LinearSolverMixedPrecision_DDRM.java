@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.row.linsol.mixed;
+
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.FMatrixRMaj;
+import org.ejml.dense.row.CommonOps_DDRM;
+import org.ejml.dense.row.NormOps_DDRM;
+import org.ejml.dense.row.factory.LinearSolverFactory_DDRM;
+import org.ejml.dense.row.factory.LinearSolverFactory_FDRM;
+import org.ejml.dense.row.linsol.LinearSolverAbstract_DDRM;
+import org.ejml.interfaces.decomposition.DecompositionInterface;
+import org.ejml.interfaces.linsol.LinearSolverDense;
+import org.ejml.ops.ConvertMatrixData;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * <p>
+ * Linear solver which decomposes A in single precision and then uses iterative refinement to find a solution
+ * with double precision accuracy. The decomposition is the expensive O(n<sup>3</sup>) step, while each
+ * refinement step only requires computing the residual in double precision and a single precision solve, which are
+ * O(n<sup>2</sup>). For well conditioned matrices this converges in a few iterations.
+ * </p>
+ * <pre>
+ * x = A<sub>32</sub><sup>-1</sup>*b
+ * repeat until converged:
+ *     r = b - A*x                  (double)
+ *     x = x + A<sub>32</sub><sup>-1</sup>*r     (single)
+ * </pre>
+ *
+ * <p>
+ * The solution has converged when ||r||<sub>&#8734;</sub> &le; ||x||<sub>&#8734;</sub>*||A||<sub>&#8734;</sub>*EPS*sqrt(n),
+ * the same as LAPACK's dsgesv. If the condition number of A is close to 1/F_EPS or larger then refinement will
+ * stall or diverge. When that happens, or if A can't be converted into single precision or decomposed,
+ * A is decomposed in double precision and all future solutions are found using that decomposition until setA()
+ * is called again. A is not modified but a reference to it is saved, since it's needed to compute the residual.
+ * </p>
+ *
+ * <p>
+ * Langou, J., et. al. "Exploiting the performance of 32 bit floating point arithmetic in obtaining 64 bit accuracy."
+ * SC'06: Proceedings of the 2006 ACM/IEEE Conference on Supercomputing. 2006.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings("NullAway.Init")
+public class LinearSolverMixedPrecision_DDRM extends LinearSolverAbstract_DDRM {
+    /** Maximum number of refinement iterations before giving up and switching to double precision */
+    public int maxIterations = 30;
+
+    // Solvers which work in single and double precision
+    protected final LinearSolverDense<FMatrixRMaj> solverF32;
+    protected final LinearSolverDense<DMatrixRMaj> solverF64;
+
+    // true if the double precision solver is being used
+    protected boolean fallback;
+
+    // Number of refinement iterations in the last call to solve
+    protected int iterations;
+
+    // infinity norm of A
+    protected double normA;
+
+    // single precision copy of A and work space
+    protected FMatrixRMaj A32 = new FMatrixRMaj(1, 1);
+    protected FMatrixRMaj R32 = new FMatrixRMaj(1, 1);
+    protected FMatrixRMaj D32 = new FMatrixRMaj(1, 1);
+    protected DMatrixRMaj R = new DMatrixRMaj(1, 1);
+    protected @Nullable DMatrixRMaj copyB;
+    protected @Nullable DMatrixRMaj copyA;
+
+    /**
+     * Specifies the solvers which are used
+     *
+     * @param solverF32 Solver used to decompose A in single precision
+     * @param solverF64 Solver used if refinement fails
+     */
+    public LinearSolverMixedPrecision_DDRM( LinearSolverDense<FMatrixRMaj> solverF32,
+                                            LinearSolverDense<DMatrixRMaj> solverF64 ) {
+        this.solverF32 = solverF32;
+        this.solverF64 = solverF64;
+    }
+
+    /**
+     * Creates solvers using LU or Cholesky decomposition
+     *
+     * @param matrixSize The size of the matrix that the decomposition is optimized for.
+     * @param symmPosDef If true then A is assumed to be symmetric positive definite and Cholesky is used
+     */
+    public LinearSolverMixedPrecision_DDRM( int matrixSize, boolean symmPosDef ) {
+        this(symmPosDef ? LinearSolverFactory_FDRM.chol(matrixSize) : LinearSolverFactory_FDRM.lu(matrixSize),
+                symmPosDef ? LinearSolverFactory_DDRM.chol(matrixSize) : LinearSolverFactory_DDRM.lu(matrixSize));
+    }
+
+    @Override
+    public boolean setA( DMatrixRMaj A ) {
+        if (A.numRows != A.numCols)
+            throw new IllegalArgumentException("Matrix must be square");
+
+        _setA(A);
+        fallback = false;
+        normA = NormOps_DDRM.inducedPInf(A);
+
+        // Elements which are too large for a float can't be converted
+        A32.reshape(A.numRows, A.numCols);
+        final int N = A.getNumElements();
+        for (int i = 0; i < N; i++) {
+            double value = A.data[i];
+            if (Math.abs(value) > Float.MAX_VALUE)
+                return decomposeF64(A);
+            A32.data[i] = (float)value;
+        }
+
+        if (!solverF32.setA(A32))
+            return decomposeF64(A);
+        return true;
+    }
+
+    /**
+     * Switches to double precision and decomposes A
+     */
+    protected boolean decomposeF64( DMatrixRMaj A ) {
+        fallback = true;
+        if (solverF64.modifiesA()) {
+            copyA = UtilEjml.reshapeOrDeclare(copyA, A);
+            copyA.setTo(A);
+            return solverF64.setA(copyA);
+        }
+        return solverF64.setA(A);
+    }
+
+    @Override
+    public /**/double quality() {
+        return fallback ? solverF64.quality() : solverF32.quality();
+    }
+
+    /**
+     * Finds X in A*X = B. B and X can be the same instance.
+     *
+     * @param B A matrix that is n by m. Not modified.
+     * @param X An n by m matrix where the solution is written to. Modified.
+     */
+    @Override
+    public void solve( DMatrixRMaj B, DMatrixRMaj X ) {
+        DMatrixRMaj A = this.A;
+        if (A == null)
+            throw new RuntimeException("Must call setA() first");
+        UtilEjml.checkReshapeSolve(numRows, numCols, B, X);
+
+        iterations = 0;
+        if (fallback) {
+            solverF64.solve(B, X);
+            return;
+        }
+
+        // B is needed to compute the residual
+        if (B == X) {
+            copyB = UtilEjml.reshapeOrDeclare(copyB, B);
+            copyB.setTo(B);
+            B = copyB;
+        }
+
+        // initial solution from the single precision decomposition
+        R32.reshape(B.numRows, B.numCols);
+        ConvertMatrixData.convert(B, R32);
+        solverF32.solve(R32, D32);
+        ConvertMatrixData.convert(D32, X);
+
+        final double threshold = normA*UtilEjml.EPS*Math.sqrt(numCols);
+        double previous = Double.MAX_VALUE;
+        for (; iterations < maxIterations; iterations++) {
+            // R = B - A*X
+            CommonOps_DDRM.mult(A, X, R);
+            CommonOps_DDRM.subtract(B, R, R);
+
+            double error = relativeResidual(X, R);
+            if (error <= threshold)
+                return;
+
+            // if it's not getting smaller, or is NaN, then refinement has stalled
+            if (!(error < previous))
+                break;
+            previous = error;
+
+            ConvertMatrixData.convert(R, R32);
+            solverF32.solve(R32, D32);
+            final int length = X.getNumElements();
+            for (int i = 0; i < length; i++) {
+                X.data[i] += D32.data[i];
+            }
+        }
+
+        // switch to double precision. If that fails the solution will be garbage like the other solvers
+        decomposeF64(A);
+        solverF64.solve(B, X);
+    }
+
+    /**
+     * Returns the largest value of ||r||/||x|| for all the columns, using the infinity norm
+     */
+    private static double relativeResidual( DMatrixRMaj X, DMatrixRMaj R ) {
+        double worst = 0;
+        final int rows = X.numRows;
+        final int cols = X.numCols;
+        for (int col = 0; col < cols; col++) {
+            double normX = 0;
+            double normR = 0;
+            for (int row = 0; row < rows; row++) {
+                int index = row*cols + col;
+                normX = Math.max(normX, Math.abs(X.data[index]));
+                normR = Math.max(normR, Math.abs(R.data[index]));
+            }
+            if (normR == 0.0)
+                continue;
+            // NaN will propagate
+            worst = Math.max(worst, normR/normX);
+        }
+        return worst;
+    }
+
+    /**
+     * If true then refinement failed, or A couldn't be decomposed in single precision, and the double precision
+     * solver is being used.
+     */
+    public boolean isFallback() {
+        return fallback;
+    }
+
+    /**
+     * Number of refinement iterations in the last call to solve. Zero if the double precision solver was used.
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    public LinearSolverDense<FMatrixRMaj> getSolverF32() {
+        return solverF32;
+    }
+
+    public LinearSolverDense<DMatrixRMaj> getSolverF64() {
+        return solverF64;
+    }
+
+    @Override
+    public boolean modifiesA() {
+        return false;
+    }
+
+    @Override
+    public boolean modifiesB() {
+        return false;
+    }
+
+    /**
+     * Returns the decomposition which is currently being used, either the single or double precision one
+     */
+    @Override
+    public <D extends DecompositionInterface> D getDecomposition() {
+        return fallback ? solverF64.getDecomposition() : solverF32.getDecomposition();
+    }
+}
@@ -64,7 +64,11 @@ public class SimpleOperations_DDRM implements SimpleOperations<DMatrixRMaj> {
 
     @Override
     public void fill( DMatrixRMaj A, /**/double value ) {
-        CommonOps_DDRM.fill(A, (double)value);
+        if (EjmlConcurrency.useConcurrent(A)) {
+            CommonOps_MT_DDRM.fill(A, (double)value);
+        } else {
+            CommonOps_DDRM.fill(A, (double)value);
+        }
     }
 
     @Override
@@ -101,32 +105,56 @@ public class SimpleOperations_DDRM implements SimpleOperations<DMatrixRMaj> {
 
     @Override
     public void plus( DMatrixRMaj A, DMatrixRMaj B, DMatrixRMaj output ) {
-        CommonOps_DDRM.add(A, B, output);
+        if (EjmlConcurrency.useConcurrent(A)) {
+            CommonOps_MT_DDRM.add(A, B, output);
+        } else {
+            CommonOps_DDRM.add(A, B, output);
+        }
     }
 
     @Override
     public void minus( DMatrixRMaj A, DMatrixRMaj B, DMatrixRMaj output ) {
-        CommonOps_DDRM.subtract(A, B, output);
+        if (EjmlConcurrency.useConcurrent(A)) {
+            CommonOps_MT_DDRM.subtract(A, B, output);
+        } else {
+            CommonOps_DDRM.subtract(A, B, output);
+        }
     }
 
     @Override
     public void minus( DMatrixRMaj A, /**/double b, DMatrixRMaj output ) {
-        CommonOps_DDRM.subtract(A, (double)b, output);
+        if (EjmlConcurrency.useConcurrent(A)) {
+            CommonOps_MT_DDRM.subtract(A, (double)b, output);
+        } else {
+            CommonOps_DDRM.subtract(A, (double)b, output);
+        }
     }
 
     @Override
     public void plus( DMatrixRMaj A, /**/double b, DMatrixRMaj output ) {
-        CommonOps_DDRM.add(A, (double)b, output);
+        if (EjmlConcurrency.useConcurrent(A)) {
+            CommonOps_MT_DDRM.add(A, (double)b, output);
+        } else {
+            CommonOps_DDRM.add(A, (double)b, output);
+        }
     }
 
     @Override
     public void plus( DMatrixRMaj A, /**/double beta, DMatrixRMaj b, DMatrixRMaj output ) {
-        CommonOps_DDRM.add(A, (double)beta, b, output);
+        if (EjmlConcurrency.useConcurrent(A)) {
+            CommonOps_MT_DDRM.add(A, (double)beta, b, output);
+        } else {
+            CommonOps_DDRM.add(A, (double)beta, b, output);
+        }
     }
 
     @Override
     public void plus( /**/double alpha, DMatrixRMaj A, /**/double beta, DMatrixRMaj b, DMatrixRMaj output ) {
-        CommonOps_DDRM.add((double)alpha, A, (double)beta, b, output);
+        if (EjmlConcurrency.useConcurrent(A)) {
+            CommonOps_MT_DDRM.add((double)alpha, A, (double)beta, b, output);
+        } else {
+            CommonOps_DDRM.add((double)alpha, A, (double)beta, b, output);
+        }
     }
 
     @Override
@@ -136,16 +164,27 @@ public class SimpleOperations_DDRM implements SimpleOperations<DMatrixRMaj> {
 
     @Override
     public void scale( DMatrixRMaj A, /**/double val, DMatrixRMaj output ) {
-        CommonOps_DDRM.scale((double)val, A, output);
+        if (EjmlConcurrency.useConcurrent(A)) {
+            CommonOps_MT_DDRM.scale((double)val, A, output);
+        } else {
+            CommonOps_DDRM.scale((double)val, A, output);
+        }
     }
 
     @Override
     public void divide( DMatrixRMaj A, /**/double val, DMatrixRMaj output ) {
-        CommonOps_DDRM.divide(A, (double)val, output);
+        if (EjmlConcurrency.useConcurrent(A)) {
+            CommonOps_MT_DDRM.divide(A, (double)val, output);
+        } else {
+            CommonOps_DDRM.divide(A, (double)val, output);
+        }
     }
 
     @Override
     public boolean invert( DMatrixRMaj A, DMatrixRMaj output ) {
+        if (EjmlConcurrency.useConcurrent(A)) {
+            return CommonOps_MT_DDRM.invert(A, output);
+        }
         return CommonOps_DDRM.invert(A, output);
     }
 
@@ -161,6 +200,9 @@ public class SimpleOperations_DDRM implements SimpleOperations<DMatrixRMaj> {
 
     @Override
     public boolean solve( DMatrixRMaj A, DMatrixRMaj X, DMatrixRMaj B ) {
+        if (EjmlConcurrency.useConcurrent(A)) {
+            return CommonOps_MT_DDRM.solve(A, B, X);
+        }
         return CommonOps_DDRM.solve(A, B, X);
     }
 
@@ -181,6 +223,9 @@ public class SimpleOperations_DDRM implements SimpleOperations<DMatrixRMaj> {
 
     @Override
     public /**/double determinant( DMatrixRMaj A ) {
+        if (EjmlConcurrency.useConcurrent(A)) {
+            return CommonOps_MT_DDRM.det(A);
+        }
         return CommonOps_DDRM.det(A);
     }
 
@@ -230,7 +275,11 @@ public class SimpleOperations_DDRM implements SimpleOperations<DMatrixRMaj> {
 
     @Override
     public void changeSign( DMatrixRMaj a ) {
-        CommonOps_DDRM.changeSign(a);
+        if (EjmlConcurrency.useConcurrent(a)) {
+            CommonOps_MT_DDRM.changeSign(a);
+        } else {
+            CommonOps_DDRM.changeSign(a);
+        }
     }
 
     @Override
@@ -245,6 +294,9 @@ public class SimpleOperations_DDRM implements SimpleOperations<DMatrixRMaj> {
 
     @Override
     public /**/double elementMaxAbs( DMatrixRMaj A ) {
+        if (EjmlConcurrency.useConcurrent(A)) {
+            return CommonOps_MT_DDRM.elementMaxAbs(A);
+        }
         return CommonOps_DDRM.elementMaxAbs(A);
     }
 
@@ -255,37 +307,64 @@ public class SimpleOperations_DDRM implements SimpleOperations<DMatrixRMaj> {
 
     @Override
     public /**/double elementSum( DMatrixRMaj A ) {
+        if (EjmlConcurrency.useConcurrent(A)) {
+            return CommonOps_MT_DDRM.elementSum(A);
+        }
         return CommonOps_DDRM.elementSum(A);
     }
 
     @Override
     public void elementMult( DMatrixRMaj A, DMatrixRMaj B, DMatrixRMaj output ) {
-        CommonOps_DDRM.elementMult(A, B, output);
+        if (EjmlConcurrency.useConcurrent(A)) {
+            CommonOps_MT_DDRM.elementMult(A, B, output);
+        } else {
+            CommonOps_DDRM.elementMult(A, B, output);
+        }
     }
 
     @Override
     public void elementDiv( DMatrixRMaj A, DMatrixRMaj B, DMatrixRMaj output ) {
-        CommonOps_DDRM.elementDiv(A, B, output);
+        if (EjmlConcurrency.useConcurrent(A)) {
+            CommonOps_MT_DDRM.elementDiv(A, B, output);
+        } else {
+            CommonOps_DDRM.elementDiv(A, B, output);
+        }
     }
 
     @Override
     public void elementPower( DMatrixRMaj A, DMatrixRMaj B, DMatrixRMaj output ) {
-        CommonOps_DDRM.elementPower(A, B, output);
+        if (EjmlConcurrency.useConcurrent(A)) {
+            CommonOps_MT_DDRM.elementPower(A, B, output);
+        } else {
+            CommonOps_DDRM.elementPower(A, B, output);
+        }
     }
 
     @Override
     public void elementPower( DMatrixRMaj A, /**/double b, DMatrixRMaj output ) {
-        CommonOps_DDRM.elementPower(A, (double)b, output);
+        if (EjmlConcurrency.useConcurrent(A)) {
+            CommonOps_MT_DDRM.elementPower(A, (double)b, output);
+        } else {
+            CommonOps_DDRM.elementPower(A, (double)b, output);
+        }
     }
 
     @Override
     public void elementExp( DMatrixRMaj A, DMatrixRMaj output ) {
-        CommonOps_DDRM.elementExp(A, output);
+        if (EjmlConcurrency.useConcurrent(A)) {
+            CommonOps_MT_DDRM.elementExp(A, output);
+        } else {
+            CommonOps_DDRM.elementExp(A, output);
+        }
     }
 
     @Override
     public void elementLog( DMatrixRMaj A, DMatrixRMaj output ) {
-        CommonOps_DDRM.elementLog(A, output);
+        if (EjmlConcurrency.useConcurrent(A)) {
+            CommonOps_MT_DDRM.elementLog(A, output);
+        } else {
+            CommonOps_DDRM.elementLog(A, output);
+        }
     }
 
     @Override
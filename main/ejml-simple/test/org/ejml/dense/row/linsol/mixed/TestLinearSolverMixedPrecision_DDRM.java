@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2022, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.dense.row.linsol.mixed;
+
+import org.ejml.EjmlUnitTests;
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.CommonOps_DDRM;
+import org.ejml.dense.row.MatrixFeatures_DDRM;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.ejml.dense.row.factory.LinearSolverFactory_DDRM;
+import org.ejml.dense.row.linsol.GenericLinearSolverChecks_DDRM;
+import org.ejml.interfaces.linsol.LinearSolverDense;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestLinearSolverMixedPrecision_DDRM extends GenericLinearSolverChecks_DDRM {
+
+    public TestLinearSolverMixedPrecision_DDRM() {
+        shouldWorkRectangle = false;
+        shouldFailSingular = false;
+    }
+
+    @Override
+    protected LinearSolverDense<DMatrixRMaj> createSolver( DMatrixRMaj A ) {
+        return new LinearSolverMixedPrecision_DDRM(A.numRows, false);
+    }
+
+    @Override
+    public void solve_dimensionCheck() {
+        // only square matrices are supported
+        assertThrows(IllegalArgumentException.class, () ->
+                createSolver(new DMatrixRMaj(4, 4)).setA(new DMatrixRMaj(5, 4)));
+    }
+
+    /**
+     * Refinement should produce a solution as accurate as a double precision solver
+     */
+    @Test void compareToF64() {
+        for (boolean symmPosDef : new boolean[]{false, true}) {
+            for (int numCols : new int[]{1, 3}) {
+                int N = 60;
+                DMatrixRMaj A = symmPosDef ?
+                        RandomMatrices_DDRM.symmetricPosDef(N, rand) : RandomMatrices_DDRM.rectangle(N, N, rand);
+                DMatrixRMaj B = RandomMatrices_DDRM.rectangle(N, numCols, rand);
+
+                var alg = new LinearSolverMixedPrecision_DDRM(N, symmPosDef);
+                assertTrue(alg.setA(A));
+                var found = new DMatrixRMaj(1, 1);
+                alg.solve(B, found);
+
+                assertFalse(alg.isFallback());
+                assertTrue(alg.getIterations() > 0);
+                assertTrue(alg.getIterations() <= alg.maxIterations);
+
+                var expected = new DMatrixRMaj(1, 1);
+                assertTrue(CommonOps_DDRM.solve(A, B, expected));
+                double tol = UtilEjml.TEST_F64*CommonOps_DDRM.elementMaxAbs(expected);
+                EjmlUnitTests.assertEquals(expected, found, tol);
+
+                // the single precision solution is much less accurate, so refinement must have done something
+                var residual = new DMatrixRMaj(1, 1);
+                CommonOps_DDRM.mult(A, found, residual);
+                CommonOps_DDRM.subtractEquals(residual, B);
+                assertTrue(CommonOps_DDRM.elementMaxAbs(residual) < 1e-11);
+            }
+        }
+    }
+
+    /**
+     * B and X are the same instance
+     */
+    @Test void solve_sameInstance() {
+        DMatrixRMaj A = RandomMatrices_DDRM.rectangle(20, 20, rand);
+        DMatrixRMaj B = RandomMatrices_DDRM.rectangle(20, 2, rand);
+
+        var alg = new LinearSolverMixedPrecision_DDRM(20, false);
+        assertTrue(alg.setA(A));
+        var expected = new DMatrixRMaj(1, 1);
+        alg.solve(B, expected);
+        alg.solve(B, B);
+        EjmlUnitTests.assertEquals(expected, B, 0.0);
+    }
+
+    /**
+     * The matrix is so poorly conditioned that refinement will fail and it should switch to double precision
+     */
+    @Test void illConditioned_fallback() {
+        int N = 20;
+        var sv = new double[N];
+        for (int i = 0; i < N; i++) {
+            sv[i] = Math.pow(10, -10.0*i/(N - 1));
+        }
+        DMatrixRMaj A = RandomMatrices_DDRM.singular(N, N, rand, sv);
+        DMatrixRMaj B = RandomMatrices_DDRM.rectangle(N, 1, rand);
+
+        var alg = new LinearSolverMixedPrecision_DDRM(N, false);
+        assertTrue(alg.setA(A));
+        var found = new DMatrixRMaj(1, 1);
+        alg.solve(B, found);
+        assertTrue(alg.isFallback());
+
+        LinearSolverDense<DMatrixRMaj> solverF64 = LinearSolverFactory_DDRM.lu(N);
+        assertTrue(solverF64.setA(A.copy()));
+        var expected = new DMatrixRMaj(1, 1);
+        solverF64.solve(B, expected);
+        EjmlUnitTests.assertEquals(expected, found, UtilEjml.TEST_F64*CommonOps_DDRM.elementMaxAbs(expected));
+
+        // once it has switched it should stay in double until setA() is called again
+        alg.solve(B, found);
+        assertTrue(alg.isFallback());
+        assertEquals(0, alg.getIterations());
+        assertSame(alg.getSolverF64().getDecomposition(), alg.getDecomposition());
+
+        assertTrue(alg.setA(RandomMatrices_DDRM.rectangle(N, N, rand)));
+        assertFalse(alg.isFallback());
+        assertSame(alg.getSolverF32().getDecomposition(), alg.getDecomposition());
+    }
+
+    /**
+     * Values which can't be represented by a float
+     */
+    @Test void outsideFloatRange() {
+        DMatrixRMaj A = RandomMatrices_DDRM.rectangle(10, 10, rand);
+        CommonOps_DDRM.scale(1e50, A);
+        DMatrixRMaj original = A.copy();
+
+        var alg = new LinearSolverMixedPrecision_DDRM(10, false);
+        assertTrue(alg.setA(A));
+        assertTrue(alg.isFallback());
+        assertTrue(MatrixFeatures_DDRM.isIdentical(original, A, 0.0));
+
+        DMatrixRMaj B = RandomMatrices_DDRM.rectangle(10, 1, rand);
+        var X = new DMatrixRMaj(1, 1);
+        alg.solve(B, X);
+
+        var found = new DMatrixRMaj(1, 1);
+        CommonOps_DDRM.mult(A, X, found);
+        EjmlUnitTests.assertEquals(B, found, UtilEjml.TEST_F64);
+    }
+}